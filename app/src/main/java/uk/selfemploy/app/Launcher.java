@@ -72,6 +72,14 @@ public class Launcher extends Application {
         SettingsController.loadAndApplyStoredEnvironment();
         SettingsController.loadAndApplyStoredCredentials();
 
+        // Resume sending HMRC submissions queued before the last exit
+        try {
+            CoreServiceFactory.startSubmissionQueue();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING,
+                    "Could not start the HMRC submission queue; queued updates wait for the next submission", e);
+        }
+
         // Load the main FXML layout (with the message bundle so FXML can use %key text).
         FXMLLoader loader = Messages.loader(getClass().getResource("/fxml/main.fxml"));
         Parent root = loader.load();
@@ -89,6 +89,15 @@ public record Expense(
      *         otherwise the amount as recorded
      */
     public BigDecimal allowableAmount() {
+        return allowableAmount(amount, category, businessUsePercentage);
+    }
+
+    /**
+     * The claim rule of {@link #allowableAmount()}, for callers that hold an expense's figures
+     * without the record itself - a grouped query, for one - and must not restate the rule.
+     */
+    public static BigDecimal allowableAmount(BigDecimal amount, ExpenseCategory category,
+                                             int businessUsePercentage) {
         if (!category.isAllowable()) {
             return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
         }
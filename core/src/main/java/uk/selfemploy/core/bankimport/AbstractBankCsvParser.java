@@ -1,11 +1,6 @@
 package uk.selfemploy.core.bankimport;
 
-import java.io.BufferedReader;
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -43,33 +38,9 @@ public abstract class AbstractBankCsvParser implements BankCsvParser {
     }
 
     @Override
-    public List<ImportedTransaction> parse(Path csvFile, Charset charset) throws CsvParseException {
-        List<ImportedTransaction> transactions = new ArrayList<>();
-        String fileName = csvFile.getFileName().toString();
-        int lineNumber = 0;
-
-        try (BufferedReader reader = Files.newBufferedReader(csvFile, charset)) {
-            // Skip header line
-            String line = reader.readLine();
-            lineNumber++;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-
-                if (line.isBlank()) {
-                    continue;
-                }
-
-                ImportedTransaction transaction = parseLine(line, fileName, lineNumber);
-                if (transaction != null) {
-                    transactions.add(transaction);
-                }
-            }
-        } catch (IOException e) {
-            throw new CsvParseException("Failed to read CSV file", fileName, lineNumber, e);
-        }
-
-        return transactions;
+    public ImportedTransaction parseRow(String header, String line, String fileName, int lineNumber)
+            throws CsvParseException {
+        return parseLine(line, fileName, lineNumber);
     }
 
     /**
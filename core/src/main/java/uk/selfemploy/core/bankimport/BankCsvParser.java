@@ -1,8 +1,13 @@
 package uk.selfemploy.core.bankimport;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Strategy interface for parsing bank-specific CSV formats.
@@ -52,12 +57,100 @@ public interface BankCsvParser {
      *   <li>Optionally extract balance and reference</li>
      * </ul>
      *
+     * <p>By default the file is read through {@link #parse(BufferedReader, String, Consumer)},
+     * so a parser need only implement {@link #parseRow}.</p>
+     *
      * @param csvFile the path to the CSV file
      * @param charset the character encoding of the file
      * @return list of parsed transactions
      * @throws CsvParseException if the file cannot be parsed
      */
-    List<ImportedTransaction> parse(Path csvFile, Charset charset) throws CsvParseException;
+    default List<ImportedTransaction> parse(Path csvFile, Charset charset) throws CsvParseException {
+        List<ImportedTransaction> transactions = new ArrayList<>();
+        String fileName = csvFile.getFileName().toString();
+
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, charset)) {
+            parse(reader, fileName, transactions::add);
+        } catch (IOException e) {
+            throw new CsvParseException("Failed to read CSV file", fileName, 0, e);
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Parses CSV content from a reader positioned at the start of the file, handing each
+     * transaction to {@code sink} as soon as its row is parsed by {@link #parseRow}.
+     *
+     * <p>The reader is consumed to the end but not closed. Nothing is retained between
+     * lines, so memory use does not grow with the size of the input. Blank lines are
+     * skipped, as are rows for which {@link #parseRow} returns null.</p>
+     *
+     * @param reader the CSV content, starting with the header line if the format has one
+     * @param fileName the file name (for error messages)
+     * @param sink receives the parsed transactions in file order
+     * @return the number of transactions handed to the sink
+     * @throws CsvParseException if the content cannot be read or a row cannot be parsed
+     */
+    default int parse(BufferedReader reader, String fileName, Consumer<? super ImportedTransaction> sink)
+            throws CsvParseException {
+        int count = 0;
+        int lineNumber = 0;
+
+        try {
+            String header = null;
+            if (hasHeaderRow()) {
+                header = reader.readLine();
+                lineNumber++;
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ImportedTransaction transaction = parseRow(header, line, fileName, lineNumber);
+                if (transaction != null) {
+                    sink.accept(transaction);
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            throw new CsvParseException("Failed to read CSV file", fileName, lineNumber, e);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns whether files in this format start with a header line rather than data.
+     *
+     * @return true unless the format has no header line
+     */
+    default boolean hasHeaderRow() {
+        return true;
+    }
+
+    /**
+     * Parses a single data row of a CSV file whose header line has already been read.
+     *
+     * <p>This is the line-level counterpart of {@link #parse(Path, Charset)}: it works on
+     * in-memory text only, so callers that need per-row error reporting (see
+     * {@link ErrorTolerantCsvParser}) can parse a file row by row without touching the
+     * file system. A malformed row affects only that row.</p>
+     *
+     * @param header the file's header line, for formats whose columns depend on it
+     * @param line the data row to parse (never blank)
+     * @param fileName the file name (for error messages)
+     * @param lineNumber the 1-based line number of the row in the file (for error messages)
+     * @return the parsed transaction, or null if the row should be skipped
+     * @throws CsvParseException if the row cannot be parsed
+     */
+    ImportedTransaction parseRow(String header, String line, String fileName, int lineNumber)
+        throws CsvParseException;
 
     /**
      * Returns the expected column headers for this bank format.
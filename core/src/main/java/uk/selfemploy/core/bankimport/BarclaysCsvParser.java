@@ -2,12 +2,7 @@ package uk.selfemploy.core.bankimport;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
-import java.io.BufferedReader;
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -69,31 +64,9 @@ public class BarclaysCsvParser implements BankCsvParser {
     }
 
     @Override
-    public List<ImportedTransaction> parse(Path csvFile, Charset charset) throws CsvParseException {
-        List<ImportedTransaction> transactions = new ArrayList<>();
-        String fileName = csvFile.getFileName().toString();
-        int lineNumber = 0;
-
-        try (BufferedReader reader = Files.newBufferedReader(csvFile, charset)) {
-            // Skip header line
-            String line = reader.readLine();
-            lineNumber++;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-
-                if (line.isBlank()) {
-                    continue;
-                }
-
-                ImportedTransaction transaction = parseLine(line, fileName, lineNumber);
-                transactions.add(transaction);
-            }
-        } catch (IOException e) {
-            throw new CsvParseException("Failed to read CSV file", fileName, lineNumber, e);
-        }
-
-        return transactions;
+    public ImportedTransaction parseRow(String header, String line, String fileName, int lineNumber)
+            throws CsvParseException {
+        return parseLine(line, fileName, lineNumber);
     }
 
     private ImportedTransaction parseLine(String line, String fileName, int lineNumber) {
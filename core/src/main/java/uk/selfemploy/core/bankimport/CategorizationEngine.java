@@ -5,6 +5,18 @@ import jakarta.inject.Inject;
 import uk.selfemploy.common.domain.BankTransaction;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * Unified categorization engine for bank transactions.
@@ -19,10 +31,24 @@ import java.time.Instant;
  *
  * <p>Exclusion rules are evaluated first. If a transaction matches an exclusion
  * rule, no further classification is performed.</p>
+ *
+ * <p>The description is scanned once, by {@link DescriptionKeywords}, and that one
+ * scan feeds both the exclusion rules and the category suggestion.</p>
+ *
+ * <p>{@link #recommendAll} and {@link #applyRecommendations} categorize a whole batch,
+ * splitting it into chunks that run in parallel on the common fork-join pool. Results
+ * keep the input order, and a {@link CategorizationProgress} callback reports progress
+ * and can cancel the batch.</p>
  */
 @ApplicationScoped
 public class CategorizationEngine {
 
+    /**
+     * Number of transactions categorized by one fork-join task, and between two
+     * progress callbacks.
+     */
+    static final int BATCH_CHUNK_SIZE = 256;
+
     private final TransactionClassificationService classificationService;
     private final ExclusionRulesEngine exclusionEngine;
 
@@ -41,14 +67,16 @@ public class CategorizationEngine {
      * @return comprehensive categorization recommendation
      */
     public CategorizationRecommendation recommend(BankTransaction tx) {
+        DescriptionKeywords.Matches matches = DescriptionKeywords.scan(tx.description());
+
         // Check exclusion rules first
-        ExclusionResult exclusionResult = exclusionEngine.evaluate(tx);
+        ExclusionResult exclusionResult = exclusionEngine.evaluate(matches);
         if (exclusionResult.shouldExclude()) {
             return CategorizationRecommendation.excluded(tx.isIncome(), exclusionResult.reason());
         }
 
         // Classify the transaction
-        ClassificationResult classification = classificationService.classify(tx);
+        ClassificationResult classification = classificationService.classify(tx, matches);
 
         if (classification.isIncome()) {
             return CategorizationRecommendation.income(
@@ -80,4 +108,101 @@ public class CategorizationEngine {
 
         return tx.withSuggestion(rec.expenseCategory(), rec.confidenceScore(), timestamp);
     }
+
+    /**
+     * Produces recommendations for a batch of bank transactions, in parallel.
+     *
+     * @param transactions the transactions to analyze; not modified during the call
+     * @param progress     progress and cancellation callback (may be null)
+     * @return one recommendation per transaction, in input order (unmodifiable)
+     * @throws CancellationException if the callback cancelled the batch or the calling
+     *                               thread was interrupted
+     */
+    public List<CategorizationRecommendation> recommendAll(
+            List<BankTransaction> transactions, CategorizationProgress progress) {
+        return mapInParallel(transactions, this::recommend, progress);
+    }
+
+    /**
+     * Applies recommendations to a batch of bank transactions, in parallel.
+     *
+     * @param transactions the transactions to update; not modified during the call
+     * @param timestamp    the timestamp for the update
+     * @param progress     progress and cancellation callback (may be null)
+     * @return the updated transactions, in input order (unmodifiable)
+     * @throws CancellationException if the callback cancelled the batch or the calling
+     *                               thread was interrupted
+     * @see #applyRecommendation(BankTransaction, Instant)
+     */
+    public List<BankTransaction> applyRecommendations(
+            List<BankTransaction> transactions, Instant timestamp, CategorizationProgress progress) {
+        return mapInParallel(transactions, tx -> applyRecommendation(tx, timestamp), progress);
+    }
+
+    private static <R> List<R> mapInParallel(
+            List<BankTransaction> transactions,
+            Function<BankTransaction, R> categorize,
+            CategorizationProgress progress) {
+        Objects.requireNonNull(transactions, "transactions");
+        CategorizationProgress listener = progress != null ? progress : CategorizationProgress.NONE;
+        int total = transactions.size();
+        if (total == 0) {
+            return List.of();
+        }
+
+        Object[] results = new Object[total];
+        AtomicBoolean cancelled = new AtomicBoolean();
+        int[] completed = {0};
+
+        List<Callable<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < total; from += BATCH_CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + BATCH_CHUNK_SIZE, total);
+            chunks.add(() -> {
+                if (cancelled.get()) {
+                    return null;
+                }
+                for (int i = start; i < end; i++) {
+                    results[i] = categorize.apply(transactions.get(i));
+                }
+                // Serialized so the callback sees increasing counts, one call at a time
+                synchronized (completed) {
+                    completed[0] += end - start;
+                    if (!cancelled.get() && !listener.onProgress(completed[0], total)) {
+                        cancelled.set(true);
+                    }
+                }
+                return null;
+            });
+        }
+
+        try {
+            // invokeAll itself throws InterruptedException from JDK 22, so it sits inside the try too
+            for (Future<Void> future : ForkJoinPool.commonPool().invokeAll(chunks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+            throw new CancellationException("Categorization interrupted");
+        } catch (ExecutionException e) {
+            cancelled.set(true);
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Categorization failed", e.getCause());
+        }
+
+        if (cancelled.get()) {
+            throw new CancellationException(
+                "Categorization cancelled after " + completed[0] + " of " + total + " transactions");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> ordered = (List<R>) Arrays.asList(results);
+        return Collections.unmodifiableList(ordered);
+    }
 }
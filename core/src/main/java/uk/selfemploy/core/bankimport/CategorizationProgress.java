@@ -0,0 +1,25 @@
+package uk.selfemploy.core.bankimport;
+
+/**
+ * Progress and cancellation callback for the batch methods of {@link CategorizationEngine}.
+ *
+ * <p>Called after each chunk of transactions has been categorized, possibly from a worker
+ * thread but never concurrently, with counts that only increase. Returning {@code false}
+ * cancels the batch: chunks that have not started are skipped and the batch method throws
+ * {@link java.util.concurrent.CancellationException}.</p>
+ */
+@FunctionalInterface
+public interface CategorizationProgress {
+
+    /** A callback that ignores progress and never cancels. */
+    CategorizationProgress NONE = (completed, total) -> true;
+
+    /**
+     * Reports progress.
+     *
+     * @param completed number of transactions categorized so far
+     * @param total     number of transactions in the batch
+     * @return true to continue, false to cancel the batch
+     */
+    boolean onProgress(int completed, int total);
+}
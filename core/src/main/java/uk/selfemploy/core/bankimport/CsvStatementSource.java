@@ -1,9 +1,20 @@
 package uk.selfemploy.core.bankimport;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * A {@link StatementSource} backed by a bank CSV file.
@@ -13,6 +24,10 @@ import java.util.Objects;
  * returned as a {@link StatementBatch}. This is the first implementation of the source
  * port; a future Open Banking feed would be another implementation feeding the same
  * downstream processing unchanged.</p>
+ *
+ * <p>{@link #stream} reads the file exactly once: the bytes are hashed with SHA-256 as
+ * they are decoded, and each parsed row goes straight to the caller's sink, so neither
+ * the file content nor the parsed rows are held in memory.</p>
  */
 public final class CsvStatementSource implements StatementSource {
 
@@ -22,6 +37,7 @@ public final class CsvStatementSource implements StatementSource {
     private final Path csvFile;
     private final Charset charset;
     private final BankFormatDetector formatDetector;
+    private final BankCsvParser parser;
 
     /**
      * @param csvFile        the CSV file to read; required
@@ -32,6 +48,21 @@ public final class CsvStatementSource implements StatementSource {
         this.csvFile = Objects.requireNonNull(csvFile, "csvFile");
         this.charset = Objects.requireNonNull(charset, "charset");
         this.formatDetector = Objects.requireNonNull(formatDetector, "formatDetector");
+        this.parser = null;
+    }
+
+    /**
+     * Creates a source for a file whose format has already been detected.
+     *
+     * @param csvFile the CSV file to read; required
+     * @param charset the character encoding of the file; required
+     * @param parser  the parser matching the file's format; required
+     */
+    public CsvStatementSource(Path csvFile, Charset charset, BankCsvParser parser) {
+        this.csvFile = Objects.requireNonNull(csvFile, "csvFile");
+        this.charset = Objects.requireNonNull(charset, "charset");
+        this.formatDetector = null;
+        this.parser = Objects.requireNonNull(parser, "parser");
     }
 
     @Override
@@ -43,9 +74,7 @@ public final class CsvStatementSource implements StatementSource {
     public StatementBatch fetch() throws StatementSourceException {
         String fileName = String.valueOf(csvFile.getFileName());
         try {
-            BankCsvParser parser = formatDetector.detectFormat(csvFile, charset)
-                .orElseThrow(() -> new StatementSourceException(
-                    "No bank CSV format matched " + fileName));
+            BankCsvParser parser = resolveParser(fileName);
             List<ImportedTransaction> transactions = parser.parse(csvFile, charset);
             return new StatementBatch(SOURCE_TYPE, fileName, parser.getBankName(), transactions);
         } catch (CsvParseException e) {
@@ -56,4 +85,58 @@ public final class CsvStatementSource implements StatementSource {
             throw new StatementSourceException("Unexpected error reading " + fileName, e);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every parser is streamed through its row-level contract, see
+     * {@link BankCsvParser#parse(BufferedReader, String, Consumer)}. The summary's
+     * {@code contentSha256} is the hash of the whole file. A runtime
+     * exception thrown by {@code sink} aborts the read and is reported as the cause of
+     * the {@link StatementSourceException}.</p>
+     */
+    @Override
+    public StatementSummary stream(Consumer<? super ImportedTransaction> sink)
+            throws StatementSourceException {
+        Objects.requireNonNull(sink, "sink");
+        String fileName = String.valueOf(csvFile.getFileName());
+        try {
+            BankCsvParser parser = resolveParser(fileName);
+            MessageDigest digest = newSha256();
+            int count;
+            try (InputStream in = new DigestInputStream(Files.newInputStream(csvFile), digest)) {
+                // newDecoder() reports malformed input, as Files.newBufferedReader does
+                BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(in, charset.newDecoder()));
+                count = parser.parse(reader, fileName, sink);
+                // Hash any bytes the parser did not need to read
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return new StatementSummary(SOURCE_TYPE, fileName, parser.getBankName(), count,
+                HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e) {
+            throw new StatementSourceException("Failed to read " + fileName, e);
+        } catch (CsvParseException e) {
+            throw new StatementSourceException("Failed to parse " + fileName, e);
+        } catch (RuntimeException e) {
+            throw new StatementSourceException("Unexpected error reading " + fileName, e);
+        }
+    }
+
+    private BankCsvParser resolveParser(String fileName) throws StatementSourceException {
+        if (parser != null) {
+            return parser;
+        }
+        return formatDetector.detectFormat(csvFile, charset)
+            .orElseThrow(() -> new StatementSourceException(
+                "No bank CSV format matched " + fileName));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
 }
@@ -14,13 +14,16 @@ import java.util.Map;
  * and income categories for bank transactions.</p>
  *
  * <p>Keywords approved by /inga for UK self-employment tax categories.</p>
+ *
+ * <p>Keywords are matched as substrings; the first keyword in insertion order wins.
+ * Matching runs on the shared automaton of {@link DescriptionKeywords}.</p>
  */
 @ApplicationScoped
 public class DescriptionCategorizer {
 
     // Expense keywords mapped to categories (ordered by priority)
-    private static final Map<String, ExpenseCategory> EXPENSE_KEYWORDS = new LinkedHashMap<>();
-    private static final Map<String, IncomeCategory> INCOME_KEYWORDS = new LinkedHashMap<>();
+    static final Map<String, ExpenseCategory> EXPENSE_KEYWORDS = new LinkedHashMap<>();
+    static final Map<String, IncomeCategory> INCOME_KEYWORDS = new LinkedHashMap<>();
 
     static {
         // Office costs - Box 23
@@ -125,14 +128,16 @@ public class DescriptionCategorizer {
      * @return category suggestion with confidence level
      */
     public CategorySuggestion<ExpenseCategory> suggestExpenseCategory(String description) {
-        String normalized = normalizeDescription(description);
+        return suggestExpenseCategory(DescriptionKeywords.scan(description));
+    }
 
-        for (Map.Entry<String, ExpenseCategory> entry : EXPENSE_KEYWORDS.entrySet()) {
-            if (normalized.contains(entry.getKey())) {
-                return new CategorySuggestion<>(entry.getValue(), Confidence.HIGH);
-            }
+    /**
+     * Suggests an expense category for a description that has already been scanned.
+     */
+    CategorySuggestion<ExpenseCategory> suggestExpenseCategory(DescriptionKeywords.Matches matches) {
+        if (matches.expenseCategory() != null) {
+            return new CategorySuggestion<>(matches.expenseCategory(), Confidence.HIGH);
         }
-
         return new CategorySuggestion<>(ExpenseCategory.OTHER_EXPENSES, Confidence.LOW);
     }
 
@@ -143,25 +148,18 @@ public class DescriptionCategorizer {
      * @return category suggestion with confidence level
      */
     public CategorySuggestion<IncomeCategory> suggestIncomeCategory(String description) {
-        String normalized = normalizeDescription(description);
-
-        for (Map.Entry<String, IncomeCategory> entry : INCOME_KEYWORDS.entrySet()) {
-            if (normalized.contains(entry.getKey())) {
-                return new CategorySuggestion<>(entry.getValue(), Confidence.HIGH);
-            }
-        }
-
-        // Default to SALES for most income
-        return new CategorySuggestion<>(IncomeCategory.SALES, Confidence.MEDIUM);
+        return suggestIncomeCategory(DescriptionKeywords.scan(description));
     }
 
     /**
-     * Normalizes a description for keyword matching.
+     * Suggests an income category for a description that has already been scanned.
      */
-    private String normalizeDescription(String description) {
-        if (description == null) {
-            return "";
+    CategorySuggestion<IncomeCategory> suggestIncomeCategory(DescriptionKeywords.Matches matches) {
+        if (matches.incomeCategory() != null) {
+            return new CategorySuggestion<>(matches.incomeCategory(), Confidence.HIGH);
         }
-        return description.toLowerCase().trim().replaceAll("\\s+", " ");
+
+        // Default to SALES for most income
+        return new CategorySuggestion<>(IncomeCategory.SALES, Confidence.MEDIUM);
     }
 }
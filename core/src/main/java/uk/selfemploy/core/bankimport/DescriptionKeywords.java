@@ -0,0 +1,88 @@
+package uk.selfemploy.core.bankimport;
+
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.common.enums.IncomeCategory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The keyword tables of {@link ExclusionRulesEngine} and {@link DescriptionCategorizer},
+ * compiled together into one {@link KeywordAutomaton}.
+ *
+ * <p>A single {@link #scan} of a description answers all three questions the import
+ * pipeline asks of it: which exclusion rule applies, which expense category and which
+ * income category its keywords suggest. {@link CategorizationEngine#recommend} therefore
+ * reads each description once, however many rules there are.</p>
+ *
+ * <p>Priorities are those of the source tables: exclusion rules in list order, category
+ * keywords in map insertion order. Exclusion phrases are matched as whole words, category
+ * keywords as plain substrings.</p>
+ */
+final class DescriptionKeywords {
+
+    private static final int EXCLUSION = 0;
+    private static final int EXPENSE = 1;
+    private static final int INCOME = 2;
+
+    private static final KeywordAutomaton AUTOMATON;
+    private static final Object[] VALUES;
+
+    static {
+        KeywordAutomaton.Builder builder = KeywordAutomaton.builder(3);
+        List<Object> values = new ArrayList<>();
+
+        for (ExclusionRulesEngine.ExclusionRule rule : ExclusionRulesEngine.EXCLUSION_RULES) {
+            builder.add(rule.keyword(), true, EXCLUSION);
+            values.add(rule.reason());
+        }
+        for (Map.Entry<String, ExpenseCategory> entry : DescriptionCategorizer.EXPENSE_KEYWORDS.entrySet()) {
+            builder.add(entry.getKey(), false, EXPENSE);
+            values.add(entry.getValue());
+        }
+        for (Map.Entry<String, IncomeCategory> entry : DescriptionCategorizer.INCOME_KEYWORDS.entrySet()) {
+            builder.add(entry.getKey(), false, INCOME);
+            values.add(entry.getValue());
+        }
+
+        AUTOMATON = builder.build();
+        VALUES = values.toArray();
+    }
+
+    private DescriptionKeywords() {
+        // Utility class
+    }
+
+    /**
+     * Scans a raw transaction description once against every rule and keyword.
+     *
+     * @param description the description as imported (may be null)
+     * @return the highest-priority match of each table
+     */
+    static Matches scan(String description) {
+        int[] best = AUTOMATON.scan(KeywordAutomaton.normalize(description));
+        return new Matches(
+            (String) valueOf(best[EXCLUSION]),
+            (ExpenseCategory) valueOf(best[EXPENSE]),
+            (IncomeCategory) valueOf(best[INCOME]));
+    }
+
+    private static Object valueOf(int keywordId) {
+        return keywordId == KeywordAutomaton.NO_MATCH ? null : VALUES[keywordId];
+    }
+
+    /**
+     * What a description matched.
+     *
+     * @param exclusionReason the reason of the first matching exclusion rule, or null
+     * @param expenseCategory the category of the first matching expense keyword, or null
+     * @param incomeCategory  the category of the first matching income keyword, or null
+     */
+    record Matches(
+        String exclusionReason,
+        ExpenseCategory expenseCategory,
+        IncomeCategory incomeCategory
+    ) {
+    }
+}
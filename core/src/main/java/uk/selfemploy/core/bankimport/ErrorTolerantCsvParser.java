@@ -32,9 +32,10 @@ public final class ErrorTolerantCsvParser {
     /**
      * Parses a CSV file, collecting errors instead of throwing on malformed rows.
      *
-     * <p>The parser delegates to the provided BankCsvParser's line-level parsing
-     * logic but catches CsvParseException for individual rows. IO errors and
-     * structural issues (like missing headers) still throw exceptions.</p>
+     * <p>The file is read once. Each data row is handed, together with the header line,
+     * to the parser's line-level {@link BankCsvParser#parseRow} contract, and a
+     * CsvParseException for a row is recorded against that row's line number. IO errors
+     * and structural issues (like missing headers) still throw exceptions.</p>
      *
      * @param parser the bank-specific parser to use
      * @param csvFile path to the CSV file
@@ -43,26 +44,18 @@ public final class ErrorTolerantCsvParser {
      * @throws CsvParseException if the file cannot be read at all
      */
     public static CsvParseResult parse(BankCsvParser parser, Path csvFile, Charset charset) {
-        if (parser instanceof AbstractBankCsvParser abstractParser) {
-            return parseWithAbstractParser(abstractParser, csvFile, charset);
-        }
-        // For parsers that don't extend AbstractBankCsvParser (e.g., BarclaysCsvParser),
-        // use reflection-free line-by-line approach
-        return parseLineByLine(parser, csvFile, charset);
-    }
-
-    private static CsvParseResult parseWithAbstractParser(
-            AbstractBankCsvParser parser, Path csvFile, Charset charset) {
-
         List<ImportedTransaction> transactions = new ArrayList<>();
         List<CsvParseError> errors = new ArrayList<>();
         String fileName = csvFile.getFileName().toString();
         int lineNumber = 0;
 
         try (BufferedReader reader = Files.newBufferedReader(csvFile, charset)) {
-            // Skip header line
-            reader.readLine();
-            lineNumber++;
+            // Read and keep the header line for parsers whose columns depend on it
+            String header = null;
+            if (parser.hasHeaderRow()) {
+                header = reader.readLine();
+                lineNumber++;
+            }
 
             String line;
             while ((line = reader.readLine()) != null) {
@@ -73,7 +66,7 @@ public final class ErrorTolerantCsvParser {
                 }
 
                 try {
-                    ImportedTransaction tx = parser.parseLine(line, fileName, lineNumber);
+                    ImportedTransaction tx = parser.parseRow(header, line, fileName, lineNumber);
                     if (tx != null) {
                         transactions.add(tx);
                     }
@@ -87,51 +80,4 @@ public final class ErrorTolerantCsvParser {
 
         return new CsvParseResult(transactions, errors);
     }
-
-    private static CsvParseResult parseLineByLine(
-            BankCsvParser parser, Path csvFile, Charset charset) {
-
-        List<ImportedTransaction> transactions = new ArrayList<>();
-        List<CsvParseError> errors = new ArrayList<>();
-        String fileName = csvFile.getFileName().toString();
-        int lineNumber = 0;
-
-        try (BufferedReader reader = Files.newBufferedReader(csvFile, charset)) {
-            // Read and cache header line
-            String headerLine = reader.readLine();
-            lineNumber++;
-
-            // Read all remaining lines
-            List<String> dataLines = new ArrayList<>();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                if (!line.isBlank()) {
-                    dataLines.add(line);
-                }
-            }
-
-            // Try to parse each line individually by creating single-line temp files
-            for (int i = 0; i < dataLines.size(); i++) {
-                String dataLine = dataLines.get(i);
-                int originalLineNumber = i + 2; // +2 for 1-based + header
-                try {
-                    Path tempFile = Files.createTempFile("csv_parse_", ".csv");
-                    try {
-                        Files.writeString(tempFile, headerLine + "\n" + dataLine + "\n", charset);
-                        List<ImportedTransaction> parsed = parser.parse(tempFile, charset);
-                        transactions.addAll(parsed);
-                    } finally {
-                        Files.deleteIfExists(tempFile);
-                    }
-                } catch (CsvParseException e) {
-                    errors.add(new CsvParseError(originalLineNumber, dataLine, e.getMessage()));
-                }
-            }
-        } catch (IOException e) {
-            throw new CsvParseException("Failed to read CSV file", fileName, lineNumber, e);
-        }
-
-        return new CsvParseResult(transactions, errors);
-    }
 }
@@ -5,7 +5,6 @@ import uk.selfemploy.common.domain.BankTransaction;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * Evaluates bank transactions against exclusion rules to identify
@@ -20,17 +19,21 @@ import java.util.regex.Pattern;
  * Keywords use word-boundary matching to prevent false positives where
  * a keyword appears as a substring of a longer word (e.g., "atm" should
  * not match "atmosphere").</p>
+ *
+ * <p>The rules are compiled, together with the category keywords, into the
+ * automaton of {@link DescriptionKeywords}, so a description is scanned once
+ * whatever the number of rules.</p>
  */
 @ApplicationScoped
 public class ExclusionRulesEngine {
 
-    private record ExclusionRule(Pattern pattern, String reason) {}
+    record ExclusionRule(String keyword, String reason) {}
 
     /**
-     * Compiled exclusion rules with word-boundary regex patterns.
+     * Exclusion rules, matched as whole words.
      * Ordered by priority (most specific first).
      */
-    private static final List<ExclusionRule> EXCLUSION_RULES = new ArrayList<>();
+    static final List<ExclusionRule> EXCLUSION_RULES = new ArrayList<>();
 
     static {
         // Transfer indicators (inter-account movements, not P&L)
@@ -59,11 +62,9 @@ public class ExclusionRulesEngine {
     }
 
     private static void addRule(String keyword, String reason) {
-        // Use word boundaries (\b) to prevent substring false positives.
-        // Pattern.quote escapes any regex special characters in the keyword,
-        // then \b anchors at word boundaries on both sides.
-        Pattern pattern = Pattern.compile("\\b" + Pattern.quote(keyword) + "\\b");
-        EXCLUSION_RULES.add(new ExclusionRule(pattern, reason));
+        // Matched with word boundaries (\b) on both sides to prevent substring
+        // false positives; see KeywordAutomaton
+        EXCLUSION_RULES.add(new ExclusionRule(keyword, reason));
     }
 
     /**
@@ -73,21 +74,16 @@ public class ExclusionRulesEngine {
      * @return exclusion result indicating whether the transaction should be excluded
      */
     public ExclusionResult evaluate(BankTransaction tx) {
-        String normalized = normalizeDescription(tx.description());
-
-        for (ExclusionRule rule : EXCLUSION_RULES) {
-            if (rule.pattern().matcher(normalized).find()) {
-                return ExclusionResult.excluded(rule.reason());
-            }
-        }
-
-        return ExclusionResult.notExcluded();
+        return evaluate(DescriptionKeywords.scan(tx.description()));
     }
 
-    private String normalizeDescription(String description) {
-        if (description == null) {
-            return "";
+    /**
+     * Evaluates a description that has already been scanned.
+     */
+    ExclusionResult evaluate(DescriptionKeywords.Matches matches) {
+        if (matches.exclusionReason() != null) {
+            return ExclusionResult.excluded(matches.exclusionReason());
         }
-        return description.toLowerCase().trim().replaceAll("\\s+", " ");
+        return ExclusionResult.notExcluded();
     }
 }
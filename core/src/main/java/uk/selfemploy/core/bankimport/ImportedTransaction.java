@@ -1,5 +1,7 @@
 package uk.selfemploy.core.bankimport;
 
+import uk.selfemploy.core.reconciliation.NormalizedDescriptionCache;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Objects;
@@ -103,7 +105,7 @@ public record ImportedTransaction(
      * </ul>
      */
     private static String normalizeDescription(String desc) {
-        return desc.toLowerCase().trim().replaceAll("\\s+", " ");
+        return NormalizedDescriptionCache.shared().normalize(desc);
     }
 
     @Override
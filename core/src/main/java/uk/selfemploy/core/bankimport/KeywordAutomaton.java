@@ -0,0 +1,255 @@
+package uk.selfemploy.core.bankimport;
+
+import uk.selfemploy.core.reconciliation.MatchingUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Aho–Corasick automaton matching many keywords against a description in one pass.
+ *
+ * <p>Keywords are compiled once into a trie with failure links, so the cost of a scan
+ * depends on the length of the description, not on the number of keywords. Each keyword
+ * belongs to a group (for example "exclusion rules" or "expense keywords"); within a
+ * group, the keyword added first has the highest priority, and a scan reports the
+ * highest-priority match of every group.</p>
+ *
+ * <p>A keyword is either a plain substring, matched wherever it occurs, or a whole word,
+ * which must also sit on a regex {@code \b} word boundary at both ends, exactly as
+ * {@code Pattern.compile("\\b" + Pattern.quote(keyword) + "\\b")} would require.</p>
+ *
+ * <p>Instances are immutable and safe to share between threads.</p>
+ */
+final class KeywordAutomaton {
+
+    /** Returned for a group with no matching keyword. */
+    static final int NO_MATCH = -1;
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final int groupCount;
+    private final int[] keywordGroup;
+    private final int[] keywordLength;
+    private final boolean[] keywordWholeWord;
+
+    // Trie: per state, sorted transition chars and their target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // Keyword ids ending at each state, including those reached through failure links
+    private final int[][] outputs;
+
+    private KeywordAutomaton(Builder builder) {
+        int keywordCount = builder.keywords.size();
+        this.groupCount = builder.groupCount;
+        this.keywordGroup = new int[keywordCount];
+        this.keywordLength = new int[keywordCount];
+        this.keywordWholeWord = new boolean[keywordCount];
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+
+        for (int id = 0; id < keywordCount; id++) {
+            Keyword keyword = builder.keywords.get(id);
+            keywordGroup[id] = keyword.group();
+            keywordLength[id] = keyword.text().length();
+            keywordWholeWord[id] = keyword.wholeWord();
+
+            int state = 0;
+            for (int i = 0; i < keyword.text().length(); i++) {
+                char c = keyword.text().charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            ends.get(state).add(id);
+        }
+
+        int stateCount = trie.size();
+        this.transitionChars = new char[stateCount][];
+        this.transitionTargets = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> edges = trie.get(state);
+            char[] chars = new char[edges.size()];
+            int[] targets = new int[edges.size()];
+            int i = 0;
+            for (var edge : edges.entrySet()) {
+                chars[i] = edge.getKey();
+                targets[i] = edge.getValue();
+                i++;
+            }
+            transitionChars[state] = chars;
+            transitionTargets[state] = targets;
+        }
+
+        // Breadth-first: a state's failure link and outputs depend on shallower states only
+        this.failure = new int[stateCount];
+        this.outputs = new int[stateCount][];
+        outputs[0] = toSortedArray(ends.get(0), NO_OUTPUTS);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[0]) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = toSortedArray(ends.get(state), outputs[failure[state]]);
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int child = transitionTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != 0 && transition(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = transition(fallback, c);
+                failure[child] = target >= 0 ? target : 0;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Creates a builder with the given number of keyword groups.
+     *
+     * @param groupCount number of groups; keywords are added with a group in {@code [0, groupCount)}
+     */
+    static Builder builder(int groupCount) {
+        return new Builder(groupCount);
+    }
+
+    /**
+     * Scans a normalized description once and returns, per group, the id of the
+     * highest-priority keyword found, or {@link #NO_MATCH}.
+     *
+     * @param text the description, already passed through {@link #normalize}
+     * @return an array indexed by group holding keyword ids as returned by
+     *         {@link Builder#add}
+     */
+    int[] scan(String text) {
+        int[] best = new int[groupCount];
+        Arrays.fill(best, NO_MATCH);
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+
+            for (int id : outputs[state]) {
+                int group = keywordGroup[id];
+                if (best[group] != NO_MATCH && best[group] <= id) {
+                    continue;
+                }
+                int end = i + 1;
+                if (keywordWholeWord[id]
+                        && !(isWordBoundary(text, end - keywordLength[id]) && isWordBoundary(text, end))) {
+                    continue;
+                }
+                best[group] = id;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Normalizes a description for keyword matching: lower case, trimmed, and with every
+     * run of whitespace collapsed to one space, as {@link MatchingUtils#normalizeDescription}.
+     *
+     * @param description the raw description (may be null)
+     * @return the normalized description, empty for null
+     */
+    static String normalize(String description) {
+        return MatchingUtils.normalizeDescription(description);
+    }
+
+    private int transition(int state, char c) {
+        char[] chars = transitionChars[state];
+        int index = Arrays.binarySearch(chars, c);
+        return index >= 0 ? transitionTargets[state][index] : -1;
+    }
+
+    /**
+     * Mirrors regex {@code \b}: a word character on exactly one side of {@code position}.
+     */
+    private static boolean isWordBoundary(String text, int position) {
+        boolean before = position > 0 && isWordChar(text.charAt(position - 1));
+        boolean after = position < text.length() && isWordChar(text.charAt(position));
+        return before != after;
+    }
+
+    /**
+     * Regex {@code \w}: {@code [a-zA-Z_0-9]}.
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static int[] toSortedArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            merged[inherited.length + i] = own.get(i);
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private record Keyword(String text, boolean wholeWord, int group) {
+    }
+
+    /**
+     * Collects keywords in priority order and compiles them into an automaton.
+     */
+    static final class Builder {
+
+        private final int groupCount;
+        private final List<Keyword> keywords = new ArrayList<>();
+
+        private Builder(int groupCount) {
+            if (groupCount <= 0) {
+                throw new IllegalArgumentException("groupCount must be positive");
+            }
+            this.groupCount = groupCount;
+        }
+
+        /**
+         * Adds a keyword with lower priority than every keyword added before it.
+         *
+         * @param keyword   the keyword, in normalized (lower-case) form; must not be empty
+         * @param wholeWord true to require a word boundary at both ends of the match
+         * @param group     the group the keyword belongs to
+         * @return the keyword's id, reported by {@link KeywordAutomaton#scan}
+         */
+        int add(String keyword, boolean wholeWord, int group) {
+            if (keyword == null || keyword.isEmpty()) {
+                throw new IllegalArgumentException("keyword cannot be null or empty");
+            }
+            if (group < 0 || group >= groupCount) {
+                throw new IllegalArgumentException("group out of range: " + group);
+            }
+            keywords.add(new Keyword(keyword, wholeWord, group));
+            return keywords.size() - 1;
+        }
+
+        KeywordAutomaton build() {
+            return new KeywordAutomaton(this);
+        }
+    }
+}
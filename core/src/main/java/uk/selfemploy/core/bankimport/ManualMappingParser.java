@@ -1,16 +1,10 @@
 package uk.selfemploy.core.bankimport;
 
-import java.io.BufferedReader;
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
@@ -61,36 +55,19 @@ public class ManualMappingParser implements BankCsvParser {
     }
 
     @Override
-    public List<ImportedTransaction> parse(Path csvFile, Charset charset) throws CsvParseException {
-        List<ImportedTransaction> transactions = new ArrayList<>();
-        String fileName = csvFile.getFileName().toString();
-        int lineNumber = 0;
-
-        try (BufferedReader reader = Files.newBufferedReader(csvFile, charset)) {
-            // Skip header line if configured
-            if (mapping.hasHeaderRow()) {
-                reader.readLine();
-                lineNumber++;
-            }
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-
-                if (line.isBlank()) {
-                    continue;
-                }
-
-                ImportedTransaction transaction = parseLine(line, fileName, lineNumber);
-                if (transaction != null) {
-                    transactions.add(transaction);
-                }
-            }
-        } catch (IOException e) {
-            throw new CsvParseException("Failed to read CSV file", fileName, lineNumber, e);
-        }
+    public boolean hasHeaderRow() {
+        return mapping.hasHeaderRow();
+    }
 
-        return transactions;
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Columns are located by the configured indices, so the header is not consulted.</p>
+     */
+    @Override
+    public ImportedTransaction parseRow(String header, String line, String fileName, int lineNumber)
+            throws CsvParseException {
+        return parseLine(line, fileName, lineNumber);
     }
 
     private ImportedTransaction parseLine(String line, String fileName, int lineNumber) {
@@ -1,5 +1,7 @@
 package uk.selfemploy.core.bankimport;
 
+import java.util.function.Consumer;
+
 /**
  * A source-agnostic port that yields normalized bank transactions.
  *
@@ -30,4 +32,25 @@ public interface StatementSource {
      * @throws StatementSourceException if the source cannot be read or parsed
      */
     StatementBatch fetch() throws StatementSourceException;
+
+    /**
+     * Reads this source once, handing each normalized transaction to {@code sink} as
+     * soon as it is parsed instead of collecting them into a batch.
+     *
+     * <p>Use this for large statements: the caller decides what to keep, so memory is
+     * bounded by the caller rather than by the size of the source. The default
+     * implementation replays {@link #fetch()}; sources that can read incrementally
+     * override it.</p>
+     *
+     * @param sink receives the transactions in source order; required
+     * @return the provenance and transaction count of what was read, never null
+     * @throws StatementSourceException if the source cannot be read or parsed
+     */
+    default StatementSummary stream(Consumer<? super ImportedTransaction> sink)
+            throws StatementSourceException {
+        StatementBatch batch = fetch();
+        batch.transactions().forEach(sink);
+        return new StatementSummary(batch.sourceType(), batch.sourceReference(),
+            batch.detectedFormat(), batch.size(), null);
+    }
 }
@@ -0,0 +1,33 @@
+package uk.selfemploy.core.bankimport;
+
+/**
+ * Provenance and totals of a {@link StatementSource} that was consumed with
+ * {@link StatementSource#stream}, where the transactions themselves went to a sink
+ * instead of being collected into a {@link StatementBatch}.
+ *
+ * @param sourceType       the {@link StatementSource#sourceType()} that produced the
+ *                         transactions; required
+ * @param sourceReference  a human-meaningful reference for the specific source, such as
+ *                         a file name; may be null
+ * @param detectedFormat   the format/provider recognised for the source, such as the
+ *                         bank name for a CSV; may be null
+ * @param transactionCount the number of transactions handed to the sink
+ * @param contentSha256    lowercase hex SHA-256 of the raw bytes read, or null if the
+ *                         source has no byte content to hash
+ */
+public record StatementSummary(
+    String sourceType,
+    String sourceReference,
+    String detectedFormat,
+    int transactionCount,
+    String contentSha256
+) {
+    public StatementSummary {
+        if (sourceType == null || sourceType.isBlank()) {
+            throw new IllegalArgumentException("sourceType cannot be null or blank");
+        }
+        if (transactionCount < 0) {
+            throw new IllegalArgumentException("transactionCount cannot be negative");
+        }
+    }
+}
@@ -43,12 +43,19 @@ public class TransactionClassificationService {
      * @return classification result with direction, category, and confidence
      */
     public ClassificationResult classify(BankTransaction tx) {
+        return classify(tx, DescriptionKeywords.scan(tx.description()));
+    }
+
+    /**
+     * Classifies a bank transaction whose description has already been scanned.
+     */
+    ClassificationResult classify(BankTransaction tx, DescriptionKeywords.Matches matches) {
         boolean isIncome = tx.isIncome();
 
         if (isIncome) {
-            return classifyIncome(tx);
+            return classifyIncome(matches);
         } else {
-            return classifyExpense(tx);
+            return classifyExpense(matches);
         }
     }
 
@@ -64,17 +71,17 @@ public class TransactionClassificationService {
         return tx.withSuggestion(result.suggestedCategory(), result.confidenceScore(), timestamp);
     }
 
-    private ClassificationResult classifyIncome(BankTransaction tx) {
+    private ClassificationResult classifyIncome(DescriptionKeywords.Matches matches) {
         CategorySuggestion<uk.selfemploy.common.enums.IncomeCategory> suggestion =
-            categorizer.suggestIncomeCategory(tx.description());
+            categorizer.suggestIncomeCategory(matches);
 
         BigDecimal score = mapConfidenceToScore(suggestion.confidence());
         return new ClassificationResult(true, null, score, suggestion.confidence());
     }
 
-    private ClassificationResult classifyExpense(BankTransaction tx) {
+    private ClassificationResult classifyExpense(DescriptionKeywords.Matches matches) {
         CategorySuggestion<ExpenseCategory> suggestion =
-            categorizer.suggestExpenseCategory(tx.description());
+            categorizer.suggestExpenseCategory(matches);
 
         BigDecimal score = mapConfidenceToScore(suggestion.confidence());
         return new ClassificationResult(false, suggestion.category(), score, suggestion.confidence());
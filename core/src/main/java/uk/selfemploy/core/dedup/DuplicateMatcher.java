@@ -0,0 +1,219 @@
+package uk.selfemploy.core.dedup;
+
+import uk.selfemploy.core.bankimport.ImportedTransaction;
+import uk.selfemploy.core.reconciliation.MatchingUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sorted-window duplicate matching of imported transactions against existing records,
+ * implementing the 3-tier rules of ADR-10B-003 (see {@link MatchType}).
+ *
+ * <p>Every tier requires the same date, so the tolerance window of an import is the run
+ * of existing records on its date. Both sides are sorted by date and walked together:
+ * each window is visited once, for all the imports that share its date, and records on
+ * dates with no import are never keyed or normalized. Within a window:</p>
+ * <ul>
+ *   <li>EXACT is a hash lookup on {@link MatchingUtils#createExactKey}</li>
+ *   <li>LIKELY only computes description similarity for records of exactly the same
+ *       amount, found by binary search in the window sorted by amount</li>
+ *   <li>DATE_ONLY is the first record in the +/- 5% amount band, also by binary search</li>
+ * </ul>
+ *
+ * <p>Ties are broken by the order of the existing records as given, so the result is
+ * identical to comparing each import against every record in that order: the last record
+ * with a given exact key wins, and the first record wins among equally similar LIKELY
+ * candidates and among DATE_ONLY candidates.</p>
+ */
+public final class DuplicateMatcher {
+
+    private static final double FUZZY_MATCH_THRESHOLD = MatchingUtils.LIKELY_THRESHOLD;
+    private static final BigDecimal AMOUNT_TOLERANCE = new BigDecimal("0.05"); // 5%
+
+    private static final Comparator<Entry> BY_DATE =
+        Comparator.comparing((Entry e) -> e.record().date()).thenComparingInt(Entry::ordinal);
+
+    private static final Comparator<Entry> BY_AMOUNT =
+        Comparator.comparing((Entry e) -> e.record().amount()).thenComparingInt(Entry::ordinal);
+
+    private DuplicateMatcher() {
+        // Utility class
+    }
+
+    /**
+     * Matches each imported transaction against the existing records.
+     *
+     * @param imports  the imported transactions to check
+     * @param existing the existing income and expense records, amounts stored as positive
+     * @return one result per imported transaction, in input order
+     */
+    public static List<DuplicateMatch> match(List<ImportedTransaction> imports, List<ExistingRecord> existing) {
+        if (imports == null || imports.isEmpty()) {
+            return List.of();
+        }
+
+        Entry[] records = new Entry[existing == null ? 0 : existing.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new Entry(i, existing.get(i));
+        }
+        Arrays.sort(records, BY_DATE);
+
+        Integer[] order = new Integer[imports.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> imports.get(i).date()));
+
+        DuplicateMatch[] results = new DuplicateMatch[imports.size()];
+        int recordStart = 0;
+        int next = 0;
+        while (next < order.length) {
+            LocalDate date = imports.get(order[next]).date();
+            while (recordStart < records.length && records[recordStart].record().date().isBefore(date)) {
+                recordStart++;
+            }
+            int recordEnd = recordStart;
+            while (recordEnd < records.length && records[recordEnd].record().date().equals(date)) {
+                recordEnd++;
+            }
+
+            Window window = new Window(Arrays.copyOfRange(records, recordStart, recordEnd));
+            while (next < order.length && imports.get(order[next]).date().equals(date)) {
+                int index = order[next++];
+                results[index] = window.analyze(imports.get(index));
+            }
+            recordStart = recordEnd;
+        }
+        return List.of(results);
+    }
+
+    /**
+     * An existing income or expense record to match against.
+     *
+     * @param id          the record ID
+     * @param date        the record date
+     * @param amount      the record amount (stored as positive)
+     * @param description the record description
+     */
+    public record ExistingRecord(UUID id, LocalDate date, BigDecimal amount, String description) {
+
+        public ExistingRecord {
+            if (date == null) {
+                throw new IllegalArgumentException("date cannot be null");
+            }
+            if (amount == null) {
+                throw new IllegalArgumentException("amount cannot be null");
+            }
+        }
+    }
+
+    private record Entry(int ordinal, ExistingRecord record) {
+    }
+
+    /**
+     * The existing records of one date, keyed and sorted for the three tiers.
+     */
+    private static final class Window {
+
+        private final Map<String, ExistingRecord> exactMatches = new HashMap<>();
+        private final Entry[] byAmount;
+        private final String[] normalizedDescriptions;
+
+        Window(Entry[] entries) {
+            // Entries arrive in ordinal order, so a later duplicate key replaces an earlier one
+            for (Entry entry : entries) {
+                ExistingRecord record = entry.record();
+                exactMatches.put(
+                    MatchingUtils.createExactKey(record.date(), record.amount(), record.description()), record);
+            }
+            this.byAmount = entries.clone();
+            Arrays.sort(byAmount, BY_AMOUNT);
+            this.normalizedDescriptions = new String[byAmount.length];
+        }
+
+        DuplicateMatch analyze(ImportedTransaction imported) {
+            if (byAmount.length == 0) {
+                return DuplicateMatch.noMatch(imported);
+            }
+
+            ExistingRecord exact = exactMatches.get(
+                MatchingUtils.createExactKey(imported.date(), imported.amount().abs(), imported.description()));
+            if (exact != null) {
+                return DuplicateMatch.exactMatch(imported, exact.id(), exact.description());
+            }
+
+            BigDecimal importAmount = imported.amount().abs();
+            Entry likely = null;
+            double likelySimilarity = 0;
+            String normalizedImportDesc = null;
+            for (int i = firstAtLeast(importAmount);
+                    i < byAmount.length && byAmount[i].record().amount().compareTo(importAmount) == 0; i++) {
+                if (normalizedImportDesc == null) {
+                    normalizedImportDesc = MatchingUtils.normalizeDescription(imported.description());
+                }
+                double similarity = MatchingUtils.calculateSimilarity(
+                    normalizedImportDesc, normalizedDescription(i), FUZZY_MATCH_THRESHOLD);
+                if (similarity < FUZZY_MATCH_THRESHOLD) {
+                    continue;
+                }
+                if (likely == null || similarity > likelySimilarity
+                        || (similarity == likelySimilarity && byAmount[i].ordinal() < likely.ordinal())) {
+                    likely = byAmount[i];
+                    likelySimilarity = similarity;
+                }
+            }
+            if (likely != null) {
+                return DuplicateMatch.likelyMatch(imported, likelySimilarity,
+                    likely.record().id(), likely.record().description());
+            }
+
+            BigDecimal lowerBound = importAmount.multiply(BigDecimal.ONE.subtract(AMOUNT_TOLERANCE));
+            BigDecimal upperBound = importAmount.multiply(BigDecimal.ONE.add(AMOUNT_TOLERANCE));
+            Entry dateOnly = null;
+            for (int i = firstAtLeast(lowerBound);
+                    i < byAmount.length && byAmount[i].record().amount().compareTo(upperBound) <= 0; i++) {
+                if (dateOnly == null || byAmount[i].ordinal() < dateOnly.ordinal()) {
+                    dateOnly = byAmount[i];
+                }
+            }
+            if (dateOnly != null) {
+                return DuplicateMatch.dateOnlyMatch(imported, dateOnly.record().id(), dateOnly.record().description());
+            }
+
+            return DuplicateMatch.noMatch(imported);
+        }
+
+        private String normalizedDescription(int index) {
+            String normalized = normalizedDescriptions[index];
+            if (normalized == null) {
+                normalized = MatchingUtils.normalizeDescription(byAmount[index].record().description());
+                normalizedDescriptions[index] = normalized;
+            }
+            return normalized;
+        }
+
+        /**
+         * Index of the first record whose amount is not below {@code amount}.
+         */
+        private int firstAtLeast(BigDecimal amount) {
+            int low = 0;
+            int high = byAmount.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (byAmount[mid].record().amount().compareTo(amount) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
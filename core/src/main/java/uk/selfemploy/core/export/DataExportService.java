@@ -1,5 +1,6 @@
 package uk.selfemploy.core.export;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -9,15 +10,22 @@ import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -61,6 +69,10 @@ public class DataExportService {
     /**
      * Exports data to JSON format with filtering options.
      *
+     * <p>Records are written out as they are read, so a backup of many years needs no more memory
+     * than one of a single quarter. The file is written beside the target and moved into place once
+     * complete, so an export that fails part way leaves whatever was at that path before.
+     *
      * @param businessId The business ID
      * @param taxYears   The tax years to export
      * @param outputFile The output file path
@@ -68,24 +80,36 @@ public class DataExportService {
      * @return Export result
      */
     public ExportResult exportToJson(UUID businessId, TaxYear[] taxYears, Path outputFile, ExportOptions options) {
+        validateInputs(businessId, taxYears);
+
+        Path partial = outputFile.resolveSibling(outputFile.getFileName() + ".part");
         try {
-            JsonExport export = buildJsonExport(businessId, taxYears, options);
-            Files.write(outputFile, export.json());
-            return ExportResult.success(outputFile, export.incomeCount(), export.expenseCount());
+            JsonExportCounts counts;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                counts = writeJsonExport(businessId, taxYears, options, out);
+            }
+            Files.move(partial, outputFile, StandardCopyOption.REPLACE_EXISTING);
+            return ExportResult.success(outputFile, counts.incomeCount(), counts.expenseCount());
         } catch (IOException e) {
             return ExportResult.failure("Failed to export data: " + e.getMessage());
+        } finally {
+            deleteQuietly(partial);
         }
     }
 
     /** An export held in memory: the JSON itself, and what went into it. */
     public record JsonExport(byte[] json, int incomeCount, int expenseCount) {}
 
+    /** How many records a streamed export wrote. */
+    public record JsonExportCounts(int incomeCount, int expenseCount) {}
+
     /**
      * Builds the export without writing it anywhere.
      *
      * <p>Exists so a caller can encrypt the result before it reaches disk. Writing a plaintext file and
      * encrypting it afterwards would leave the very data being protected lying in the filesystem, however
-     * briefly, and the deletion would be best-effort.
+     * briefly, and the deletion would be best-effort. The whole export is held in memory; a caller that
+     * can consume it as it is produced should use {@link #writeJsonExport} instead.
      *
      * @param businessId The business ID
      * @param taxYears   The tax years to export
@@ -95,56 +119,114 @@ public class DataExportService {
      */
     public JsonExport buildJsonExport(UUID businessId, TaxYear[] taxYears, ExportOptions options)
             throws IOException {
-        validateInputs(businessId, taxYears);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonExportCounts counts = writeJsonExport(businessId, taxYears, options, out);
+        return new JsonExport(out.toByteArray(), counts.incomeCount(), counts.expenseCount());
+    }
 
-        List<Income> allIncomes = new ArrayList<>();
-        List<Expense> allExpenses = new ArrayList<>();
+    /**
+     * Writes the export to a stream, one record at a time.
+     *
+     * <p>Each tax year's records are read from the services in pages and written as they arrive, so
+     * nothing but the record in hand is held. The stream is flushed but not closed.
+     *
+     * @param businessId The business ID
+     * @param taxYears   The tax years to export
+     * @param options    Export options for filtering
+     * @param out        Where to write the JSON
+     * @return the record counts
+     * @throws IOException if the export cannot be written
+     */
+    public JsonExportCounts writeJsonExport(UUID businessId, TaxYear[] taxYears, ExportOptions options,
+                                            OutputStream out) throws IOException {
+        validateInputs(businessId, taxYears);
 
-        for (TaxYear taxYear : taxYears) {
-            List<Income> yearIncomes = incomeService.findByTaxYear(businessId, taxYear);
-            List<Expense> yearExpenses = expenseService.findByTaxYear(businessId, taxYear);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
 
+            // Metadata
+            generator.writeObjectFieldStart("metadata");
+            generator.writeStringField("appVersion", APP_VERSION);
+            generator.writeStringField("exportDate", LocalDateTime.now().toString());
+            generator.writeArrayFieldStart("taxYears");
+            for (TaxYear taxYear : taxYears) {
+                generator.writeString(taxYear.label());
+            }
+            generator.writeEndArray();
             if (options.hasDateFilter()) {
-                yearIncomes = yearIncomes.stream()
-                    .filter(i -> options.isWithinRange(i.date()))
-                    .collect(Collectors.toList());
-                yearExpenses = yearExpenses.stream()
-                    .filter(e -> options.isWithinRange(e.date()))
-                    .collect(Collectors.toList());
+                generator.writeStringField("filterStartDate",
+                    options.startDate() != null ? options.startDate().toString() : null);
+                generator.writeStringField("filterEndDate",
+                    options.endDate() != null ? options.endDate().toString() : null);
             }
+            generator.writeEndObject();
 
-            allIncomes.addAll(yearIncomes);
-            allExpenses.addAll(yearExpenses);
-        }
+            // Income data
+            generator.writeArrayFieldStart("incomes");
+            int incomeCount = 0;
+            for (TaxYear taxYear : taxYears) {
+                incomeCount += writeEach(generator, options,
+                    action -> incomeService.forEachInTaxYear(businessId, taxYear, action),
+                    Income::date, this::writeIncome);
+            }
+            generator.writeEndArray();
+
+            // Expense data
+            generator.writeArrayFieldStart("expenses");
+            int expenseCount = 0;
+            for (TaxYear taxYear : taxYears) {
+                expenseCount += writeEach(generator, options,
+                    action -> expenseService.forEachInTaxYear(businessId, taxYear, action),
+                    Expense::date, this::writeExpense);
+            }
+            generator.writeEndArray();
 
-        // Build export structure
-        Map<String, Object> exportData = new LinkedHashMap<>();
-
-        // Metadata
-        Map<String, Object> metadata = new LinkedHashMap<>();
-        metadata.put("appVersion", APP_VERSION);
-        metadata.put("exportDate", LocalDateTime.now().toString());
-        metadata.put("taxYears", Arrays.stream(taxYears)
-            .map(TaxYear::label)
-            .collect(Collectors.toList()));
-        if (options.hasDateFilter()) {
-            metadata.put("filterStartDate", options.startDate() != null ? options.startDate().toString() : null);
-            metadata.put("filterEndDate", options.endDate() != null ? options.endDate().toString() : null);
+            generator.writeEndObject();
+            return new JsonExportCounts(incomeCount, expenseCount);
         }
-        exportData.put("metadata", metadata);
+    }
 
-        // Income data
-        exportData.put("incomes", allIncomes.stream()
-            .map(this::incomeToMap)
-            .collect(Collectors.toList()));
+    /** Writes one JSON record. */
+    @FunctionalInterface
+    private interface RecordWriter<T> {
+        void write(JsonGenerator generator, T record) throws IOException;
+    }
 
-        // Expense data
-        exportData.put("expenses", allExpenses.stream()
-            .map(this::expenseToMap)
-            .collect(Collectors.toList()));
+    /**
+     * Writes every record a source hands over that falls within the export's dates.
+     *
+     * <p>The source takes a callback, which cannot throw a checked exception, so a write failure is
+     * carried out of it unchecked and unwrapped here.
+     */
+    private static <T> int writeEach(JsonGenerator generator, ExportOptions options,
+                                     Consumer<Consumer<T>> source, Function<T, LocalDate> date,
+                                     RecordWriter<T> writer) throws IOException {
+        int[] count = {0};
+        try {
+            source.accept(record -> {
+                if (options.hasDateFilter() && !options.isWithinRange(date.apply(record))) {
+                    return;
+                }
+                try {
+                    writer.write(generator, record);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
 
-        return new JsonExport(objectMapper.writeValueAsBytes(exportData),
-                    allIncomes.size(), allExpenses.size());
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Nothing more to do: a leftover partial file does not affect the export
+        }
     }
 
     /**
@@ -345,31 +427,31 @@ public class DataExportService {
         }
     }
 
-    private Map<String, Object> incomeToMap(Income income) {
-        Map<String, Object> map = new LinkedHashMap<>();
-        map.put("id", income.id().toString());
-        map.put("date", income.date().toString());
-        map.put("amount", income.amount().toPlainString());
-        map.put("description", income.description());
-        map.put("category", income.category().name());
-        map.put("reference", income.reference());
-        return map;
+    private void writeIncome(JsonGenerator generator, Income income) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", income.id().toString());
+        generator.writeStringField("date", income.date().toString());
+        generator.writeStringField("amount", income.amount().toPlainString());
+        generator.writeStringField("description", income.description());
+        generator.writeStringField("category", income.category().name());
+        generator.writeStringField("reference", income.reference());
+        generator.writeEndObject();
     }
 
-    private Map<String, Object> expenseToMap(Expense expense) {
-        Map<String, Object> map = new LinkedHashMap<>();
-        map.put("id", expense.id().toString());
-        map.put("date", expense.date().toString());
-        map.put("amount", expense.amount().toPlainString());
-        map.put("description", expense.description());
-        map.put("category", expense.category().name());
-        map.put("sa103Box", expense.category().getSa103Box());
-        map.put("allowable", expense.category().isAllowable());
-        map.put("businessUsePercentage", expense.businessUsePercentage());
-        map.put("allowableAmount", expense.allowableAmount().toPlainString());
-        map.put("receiptPath", expense.receiptPath());
-        map.put("notes", expense.notes());
-        return map;
+    private void writeExpense(JsonGenerator generator, Expense expense) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", expense.id().toString());
+        generator.writeStringField("date", expense.date().toString());
+        generator.writeStringField("amount", expense.amount().toPlainString());
+        generator.writeStringField("description", expense.description());
+        generator.writeStringField("category", expense.category().name());
+        generator.writeStringField("sa103Box", expense.category().getSa103Box());
+        generator.writeBooleanField("allowable", expense.category().isAllowable());
+        generator.writeNumberField("businessUsePercentage", expense.businessUsePercentage());
+        generator.writeStringField("allowableAmount", expense.allowableAmount().toPlainString());
+        generator.writeStringField("receiptPath", expense.receiptPath());
+        generator.writeStringField("notes", expense.notes());
+        generator.writeEndObject();
     }
 
     private String formatCsvRow(String... values) {
@@ -1,5 +1,7 @@
 package uk.selfemploy.core.export;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -10,14 +12,18 @@ import uk.selfemploy.common.enums.IncomeCategory;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +43,9 @@ public class DataImportService {
     private static final String[] INCOME_HEADERS = {"Date", "Amount", "Description", "Category", "Reference"};
     private static final String[] EXPENSE_HEADERS = {"Date", "Amount", "Description", "Category", "Notes"};
 
+    /** How many records a JSON import saves in one call. */
+    static final int IMPORT_CHUNK_SIZE = 500;
+
     private final IncomeService incomeService;
     private final ExpenseService expenseService;
     private final ObjectMapper objectMapper;
@@ -115,7 +124,11 @@ public class DataImportService {
      */
     public ImportPreview previewJsonImport(Path filePath) {
         validateFilePath(filePath);
-        return previewJsonImport(readAllBytes(filePath));
+        try (InputStream in = openFile(filePath)) {
+            return previewJsonImport(in);
+        } catch (IOException e) {
+            throw new ImportException("Failed to read file: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -127,67 +140,64 @@ public class DataImportService {
      * @return Import preview with validation results
      */
     public ImportPreview previewJsonImport(byte[] json) {
-        try {
-            JsonNode root = objectMapper.readTree(json);
-
-            List<String> errors = new ArrayList<>();
-            List<String> warnings = new ArrayList<>();
-
-            // Validate structure
-            if (!root.has("metadata")) {
-                errors.add("Missing 'metadata' section - invalid export file structure");
-            }
-            if (!root.has("incomes") && !root.has("expenses")) {
-                errors.add("Missing 'incomes' and 'expenses' sections - invalid export file structure");
-            }
-
-            if (!errors.isEmpty()) {
-                return ImportPreview.invalid(errors);
-            }
+        return previewJsonImport(new ByteArrayInputStream(json));
+    }
 
-            int incomeCount = root.has("incomes") ? root.get("incomes").size() : 0;
-            int expenseCount = root.has("expenses") ? root.get("expenses").size() : 0;
-            int totalCount = incomeCount + expenseCount;
+    /**
+     * Previews an export as it is read from a stream, one record at a time. The stream is not closed.
+     *
+     * @param json the export's JSON
+     * @return Import preview with validation results
+     */
+    public ImportPreview previewJsonImport(InputStream json) {
+        List<String> errors = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        int[] validCount = {0};
+        int[] invalidCount = {0};
 
-            // Validate each record
-            int validCount = 0;
-            int invalidCount = 0;
+        Set<String> sections;
+        try {
+            sections = readExport(json, new ExportVisitor() {
+                @Override
+                public void income(JsonNode income, int index) {
+                    count(validateJsonIncome(income, index));
+                }
 
-            if (root.has("incomes")) {
-                for (int i = 0; i < root.get("incomes").size(); i++) {
-                    JsonNode income = root.get("incomes").get(i);
-                    List<String> recordErrors = validateJsonIncome(income, i);
-                    if (recordErrors.isEmpty()) {
-                        validCount++;
-                    } else {
-                        invalidCount++;
-                        errors.addAll(recordErrors);
-                    }
+                @Override
+                public void expense(JsonNode expense, int index) {
+                    count(validateJsonExpense(expense, index));
                 }
-            }
 
-            if (root.has("expenses")) {
-                for (int i = 0; i < root.get("expenses").size(); i++) {
-                    JsonNode expense = root.get("expenses").get(i);
-                    List<String> recordErrors = validateJsonExpense(expense, i);
+                private void count(List<String> recordErrors) {
                     if (recordErrors.isEmpty()) {
-                        validCount++;
+                        validCount[0]++;
                     } else {
-                        invalidCount++;
+                        invalidCount[0]++;
                         errors.addAll(recordErrors);
                     }
                 }
-            }
-
-            if (invalidCount > 0) {
-                return ImportPreview.partial(validCount, invalidCount, warnings, errors);
-            }
-
-            return ImportPreview.valid(validCount, warnings);
-
+            });
         } catch (IOException e) {
             throw new ImportException("Failed to read JSON file: " + e.getMessage(), e);
         }
+
+        // Validate structure
+        List<String> structureErrors = new ArrayList<>();
+        if (!sections.contains("metadata")) {
+            structureErrors.add("Missing 'metadata' section - invalid export file structure");
+        }
+        if (!sections.contains("incomes") && !sections.contains("expenses")) {
+            structureErrors.add("Missing 'incomes' and 'expenses' sections - invalid export file structure");
+        }
+        if (!structureErrors.isEmpty()) {
+            return ImportPreview.invalid(structureErrors);
+        }
+
+        if (invalidCount[0] > 0) {
+            return ImportPreview.partial(validCount[0], invalidCount[0], warnings, errors);
+        }
+
+        return ImportPreview.valid(validCount[0], warnings);
     }
 
     /**
@@ -267,7 +277,7 @@ public class DataImportService {
      */
     public ImportResult importJson(UUID businessId, Path filePath, ImportOptions options) {
         validateFilePath(filePath);
-        return importJson(businessId, readAllBytes(filePath), options);
+        return importJson(businessId, () -> openFile(filePath), options);
     }
 
     /**
@@ -279,46 +289,44 @@ public class DataImportService {
      * @return Import result
      */
     public ImportResult importJson(UUID businessId, byte[] json, ImportOptions options) {
-        validateBusinessId(businessId);
-
-        try {
-            JsonNode root = objectMapper.readTree(json);
-
-            int importedCount = 0;
-            int skippedCount = 0;
-            List<String> errors = new ArrayList<>();
-
-            // Import incomes
-            if (root.has("incomes")) {
-                for (JsonNode income : root.get("incomes")) {
-                    try {
-                        importJsonIncome(businessId, income);
-                        importedCount++;
-                    } catch (Exception e) {
-                        skippedCount++;
-                        errors.add("Income: " + e.getMessage());
-                    }
-                }
-            }
-
-            // Import expenses
-            if (root.has("expenses")) {
-                for (JsonNode expense : root.get("expenses")) {
-                    try {
-                        importJsonExpense(businessId, expense);
-                        importedCount++;
-                    } catch (Exception e) {
-                        skippedCount++;
-                        errors.add("Expense: " + e.getMessage());
-                    }
-                }
-            }
+        return importJson(businessId, () -> new ByteArrayInputStream(json), options);
+    }
 
-            return ImportResult.partial(importedCount, skippedCount, 0, errors.size(), errors);
+    /**
+     * Imports an export as it is read from a source, opened once to check it and once to import it.
+     *
+     * <p>Records are parsed one at a time and saved in chunks of {@value #IMPORT_CHUNK_SIZE}, so a
+     * backup of many years is restored without ever being held whole. A chunk that fails is retried
+     * record by record, so one bad record is reported and skipped without losing its neighbours.
+     * The whole export is read through before the first chunk is saved, so a file that turns out to be
+     * malformed or cut short part way imports nothing rather than the records before the fault.
+     *
+     * @param businessId Business ID to import data for
+     * @param json       opens the export's JSON
+     * @param options    Import options
+     * @return Import result
+     */
+    public ImportResult importJson(UUID businessId, JsonSource json, ImportOptions options) {
+        validateBusinessId(businessId);
 
+        try (InputStream in = json.open()) {
+            readExport(in, SKIP);
         } catch (IOException e) {
             return ImportResult.failure("Failed to read JSON file: " + e.getMessage());
         }
+
+        JsonImport run = new JsonImport(businessId);
+        try (InputStream in = json.open()) {
+            readExport(in, run);
+            run.finish();
+        } catch (IOException e) {
+            // Read cleanly a moment ago, so the source itself changed or failed between the passes
+            List<String> errors = new ArrayList<>(run.errors);
+            errors.add("Failed to read JSON file: " + e.getMessage());
+            return new ImportResult(false, run.importedCount, run.skippedCount, 0, errors.size(), errors);
+        }
+
+        return ImportResult.partial(run.importedCount, run.skippedCount, 0, run.errors.size(), run.errors);
     }
 
     /**
@@ -330,7 +338,11 @@ public class DataImportService {
      */
     public ParsedJsonData parseJsonFile(Path filePath) {
         validateFilePath(filePath);
-        return parseJson(readAllBytes(filePath));
+        try (InputStream in = openFile(filePath)) {
+            return parseJson(in);
+        } catch (IOException e) {
+            throw new ImportException("Failed to read file: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -340,40 +352,42 @@ public class DataImportService {
      * @return Parsed data containing income and expense lists
      */
     public ParsedJsonData parseJson(byte[] json) {
-        try {
-            JsonNode root = objectMapper.readTree(json);
-            List<Income> incomes = new ArrayList<>();
-            List<Expense> expenses = new ArrayList<>();
+        return parseJson(new ByteArrayInputStream(json));
+    }
 
-            // Parse incomes
-            if (root.has("incomes")) {
-                for (JsonNode incomeNode : root.get("incomes")) {
+    /**
+     * Parses an export as it is read from a stream. The stream is not closed.
+     *
+     * @param json the export's JSON
+     * @return Parsed data containing income and expense lists
+     */
+    public ParsedJsonData parseJson(InputStream json) {
+        List<Income> incomes = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        try {
+            readExport(json, new ExportVisitor() {
+                @Override
+                public void income(JsonNode income, int index) {
                     try {
-                        Income income = parseJsonIncomeNode(incomeNode);
-                        incomes.add(income);
+                        incomes.add(parseJsonIncomeNode(income));
                     } catch (Exception e) {
                         // Skip invalid records
                     }
                 }
-            }
 
-            // Parse expenses
-            if (root.has("expenses")) {
-                for (JsonNode expenseNode : root.get("expenses")) {
+                @Override
+                public void expense(JsonNode expense, int index) {
                     try {
-                        Expense expense = parseJsonExpenseNode(expenseNode);
-                        expenses.add(expense);
+                        expenses.add(parseJsonExpenseNode(expense));
                     } catch (Exception e) {
                         // Skip invalid records
                     }
                 }
-            }
-
-            return new ParsedJsonData(incomes, expenses);
-
+            });
         } catch (IOException e) {
             throw new ImportException("Failed to read JSON file: " + e.getMessage(), e);
         }
+        return new ParsedJsonData(incomes, expenses);
     }
 
     /**
@@ -485,9 +499,9 @@ public class DataImportService {
 
     // Validation methods
 
-    private static byte[] readAllBytes(Path filePath) {
+    private static InputStream openFile(Path filePath) {
         try {
-            return Files.readAllBytes(filePath);
+            return new BufferedInputStream(Files.newInputStream(filePath));
         } catch (IOException e) {
             throw new ImportException("Failed to read file: " + e.getMessage(), e);
         }
@@ -636,7 +650,7 @@ public class DataImportService {
         expenseService.create(businessId, date, amount, description, category, null, notes);
     }
 
-    private void importJsonIncome(UUID businessId, JsonNode income) {
+    private static Income incomeDraft(UUID businessId, JsonNode income) {
         LocalDate date = LocalDate.parse(income.get("date").asText());
         BigDecimal amount = new BigDecimal(income.get("amount").asText());
         String description = income.get("description").asText();
@@ -644,10 +658,10 @@ public class DataImportService {
         String reference = income.has("reference") && !income.get("reference").isNull()
             ? income.get("reference").asText() : null;
 
-        incomeService.create(businessId, date, amount, description, category, reference);
+        return Income.create(businessId, date, amount, description, category, reference);
     }
 
-    private void importJsonExpense(UUID businessId, JsonNode expense) {
+    private static Expense expenseDraft(UUID businessId, JsonNode expense) {
         LocalDate date = LocalDate.parse(expense.get("date").asText());
         BigDecimal amount = new BigDecimal(expense.get("amount").asText());
         String description = expense.get("description").asText();
@@ -656,8 +670,148 @@ public class DataImportService {
             ? expense.get("notes").asText() : null;
         int businessUsePercentage = readBusinessUsePercentage(expense);
 
-        expenseService.create(businessId, date, amount, description, category, null, notes,
-            businessUsePercentage);
+        return new Expense(UUID.randomUUID(), businessId, date, amount, description, category, null, notes,
+            null, null, null, null, businessUsePercentage);
+    }
+
+    /**
+     * Where an export is read from. Opened afresh for each pass over it; each stream it opens is
+     * closed when that pass ends.
+     */
+    @FunctionalInterface
+    public interface JsonSource {
+
+        InputStream open() throws IOException;
+    }
+
+    /** Receives the records of an export as {@link #readExport} reads them. */
+    private interface ExportVisitor {
+
+        void income(JsonNode income, int index);
+
+        void expense(JsonNode expense, int index);
+    }
+
+    /** Reads an export through without doing anything with its records, to find whether it is whole. */
+    private static final ExportVisitor SKIP = new ExportVisitor() {
+        @Override
+        public void income(JsonNode income, int index) {
+        }
+
+        @Override
+        public void expense(JsonNode expense, int index) {
+        }
+    };
+
+    /**
+     * Reads an export with a streaming parser, handing each income and expense to the visitor as
+     * soon as it is read. Only the record in hand is held as a tree; other sections are skipped.
+     *
+     * @return the names of the export's top-level sections, for checking its structure
+     */
+    private Set<String> readExport(InputStream json, ExportVisitor visitor) throws IOException {
+        Set<String> sections = new HashSet<>();
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return sections;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.currentName();
+                JsonToken value = parser.nextToken();
+                sections.add(section);
+                boolean incomes = "incomes".equals(section);
+                if (value == JsonToken.START_ARRAY && (incomes || "expenses".equals(section))) {
+                    int index = 0;
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        JsonNode record = objectMapper.readTree(parser);
+                        if (incomes) {
+                            visitor.income(record, index++);
+                        } else {
+                            visitor.expense(record, index++);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * One streamed import: turns records into drafts and saves them a chunk at a time.
+     */
+    private final class JsonImport implements ExportVisitor {
+
+        private final UUID businessId;
+        private final List<Income> incomes = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        private final List<Expense> expenses = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        private final List<String> errors = new ArrayList<>();
+        private int importedCount;
+        private int skippedCount;
+
+        JsonImport(UUID businessId) {
+            this.businessId = businessId;
+        }
+
+        @Override
+        public void income(JsonNode income, int index) {
+            try {
+                incomes.add(incomeDraft(businessId, income));
+            } catch (Exception e) {
+                skippedCount++;
+                errors.add("Income: " + e.getMessage());
+                return;
+            }
+            if (incomes.size() == IMPORT_CHUNK_SIZE) {
+                save(incomes, incomeService::createAll, "Income: ");
+            }
+        }
+
+        @Override
+        public void expense(JsonNode expense, int index) {
+            try {
+                expenses.add(expenseDraft(businessId, expense));
+            } catch (Exception e) {
+                skippedCount++;
+                errors.add("Expense: " + e.getMessage());
+                return;
+            }
+            if (expenses.size() == IMPORT_CHUNK_SIZE) {
+                save(expenses, expenseService::createAll, "Expense: ");
+            }
+        }
+
+        void finish() {
+            save(incomes, incomeService::createAll, "Income: ");
+            save(expenses, expenseService::createAll, "Expense: ");
+        }
+
+        /**
+         * Saves a chunk in one call. createAll validates the whole chunk before writing any of it, so
+         * when it fails nothing was saved and each draft can be retried alone to find the bad ones.
+         */
+        private <T> void save(List<T> chunk, Function<List<T>, List<T>> createAll, String label) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                createAll.apply(List.copyOf(chunk));
+                importedCount += chunk.size();
+            } catch (Exception chunkFailed) {
+                for (T draft : chunk) {
+                    try {
+                        createAll.apply(List.of(draft));
+                        importedCount++;
+                    } catch (Exception e) {
+                        skippedCount++;
+                        errors.add(label + e.getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+        }
     }
 
     /**
@@ -85,6 +85,23 @@ public record ProfitTotals(
         return new ProfitTotals(turnover, gross, allowable, byCategory);
     }
 
+    /**
+     * Builds the totals from figures already aggregated per category, such as a store's grouped
+     * query returns. The two spend totals are summed from the breakdown, so they cannot disagree
+     * with it.
+     */
+    public static ProfitTotals fromCategories(BigDecimal turnover,
+                                              Map<ExpenseCategory, CategorySpend> byCategory) {
+        BigDecimal gross = BigDecimal.ZERO;
+        BigDecimal allowable = BigDecimal.ZERO;
+        Map<ExpenseCategory, CategorySpend> categories = byCategory == null ? Map.of() : byCategory;
+        for (CategorySpend spend : categories.values()) {
+            gross = gross.add(spend.spent());
+            allowable = allowable.add(spend.claimable());
+        }
+        return new ProfitTotals(turnover, gross, allowable, categories);
+    }
+
     /**
      * Turnover less what may be claimed — the figure a return is built on and tax is computed from.
      *
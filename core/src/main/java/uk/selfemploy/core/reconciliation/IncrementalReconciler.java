@@ -0,0 +1,280 @@
+package uk.selfemploy.core.reconciliation;
+
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keeps the reconciliation state of one business up to date as single records change,
+ * instead of re-running {@link ReconciliationService#reconcile} over the full lists.
+ *
+ * <p>Every tier requires the same date, so a bank transaction's matches depend only on
+ * the manual records of its date. A change therefore recomputes the matches of the
+ * affected bank transactions alone: the changed transaction itself, or for a manual
+ * record, the bank transactions on its old and new dates. Each recomputation applies the
+ * same rules as the full run, through {@code ReconciliationService.reconcile} on that
+ * one date's records.</p>
+ *
+ * <p>Each change returns a {@link Delta}: the current matches of the affected bank
+ * transactions, to be upserted, and the previous matches that no longer apply, to be
+ * retired.</p>
+ *
+ * <p>Instances are not thread-safe; callers serialise access.</p>
+ */
+public final class IncrementalReconciler {
+
+    private final UUID businessId;
+
+    private final Map<UUID, BankTransaction> bankTransactions = new HashMap<>();
+    private final Map<UUID, Income> incomes = new HashMap<>();
+    private final Map<UUID, Expense> expenses = new HashMap<>();
+
+    // Per date, in insertion order, so a recomputation sees records in list order
+    private final Map<LocalDate, Set<UUID>> bankByDate = new HashMap<>();
+    private final Map<LocalDate, Set<UUID>> incomesByDate = new HashMap<>();
+    private final Map<LocalDate, Set<UUID>> expensesByDate = new HashMap<>();
+
+    private final Map<UUID, List<ReconciliationMatch>> matchesByBankTransaction = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty reconciler for a business.
+     *
+     * @param businessId the business whose records are reconciled
+     */
+    public IncrementalReconciler(UUID businessId) {
+        if (businessId == null) {
+            throw new IllegalArgumentException("businessId cannot be null");
+        }
+        this.businessId = businessId;
+    }
+
+    /**
+     * Replaces the whole state with a full reconciliation of the given records.
+     *
+     * @param bankTransactions the bank transactions to check for duplicates
+     * @param incomes          the manually entered income records
+     * @param expenses         the manually entered expense records
+     * @param now              current timestamp for created_at
+     * @return every detected match, as {@link ReconciliationService#reconcile} returns them
+     */
+    public List<ReconciliationMatch> reset(List<BankTransaction> bankTransactions,
+                                           List<Income> incomes,
+                                           List<Expense> expenses,
+                                           Instant now) {
+        this.bankTransactions.clear();
+        this.incomes.clear();
+        this.expenses.clear();
+        bankByDate.clear();
+        incomesByDate.clear();
+        expensesByDate.clear();
+        matchesByBankTransaction.clear();
+
+        List<BankTransaction> bankList = bankTransactions != null ? bankTransactions : List.of();
+        for (BankTransaction tx : bankList) {
+            put(this.bankTransactions, bankByDate, tx.id(), tx, BankTransaction::date);
+        }
+        if (incomes != null) {
+            for (Income income : incomes) {
+                put(this.incomes, incomesByDate, income.id(), income, Income::date);
+            }
+        }
+        if (expenses != null) {
+            for (Expense expense : expenses) {
+                put(this.expenses, expensesByDate, expense.id(), expense, Expense::date);
+            }
+        }
+
+        List<ReconciliationMatch> matches =
+            ReconciliationService.reconcile(bankList, incomes, expenses, businessId, now);
+        for (ReconciliationMatch match : matches) {
+            matchesByBankTransaction.computeIfAbsent(match.bankTransactionId(), id -> new ArrayList<>()).add(match);
+        }
+        return matches;
+    }
+
+    /**
+     * Adds or replaces a bank transaction and recomputes its matches.
+     */
+    public Delta putBankTransaction(BankTransaction tx, Instant now) {
+        put(bankTransactions, bankByDate, tx.id(), tx, BankTransaction::date);
+        return recompute(Set.of(tx.id()), now);
+    }
+
+    /**
+     * Removes a bank transaction; all its matches are retired.
+     */
+    public Delta removeBankTransaction(UUID bankTransactionId, Instant now) {
+        remove(bankTransactions, bankByDate, bankTransactionId, BankTransaction::date);
+        return recompute(Set.of(bankTransactionId), now);
+    }
+
+    /**
+     * Adds or replaces an income record and recomputes the bank transactions on its
+     * old and new dates.
+     */
+    public Delta putIncome(Income income, Instant now) {
+        Income previous = put(incomes, incomesByDate, income.id(), income, Income::date);
+        return recompute(bankTransactionsOn(previous != null ? previous.date() : null, income.date()), now);
+    }
+
+    /**
+     * Removes an income record and recomputes the bank transactions on its date.
+     */
+    public Delta removeIncome(UUID incomeId, Instant now) {
+        Income previous = remove(incomes, incomesByDate, incomeId, Income::date);
+        return previous == null ? Delta.EMPTY : recompute(bankTransactionsOn(previous.date(), null), now);
+    }
+
+    /**
+     * Adds or replaces an expense record and recomputes the bank transactions on its
+     * old and new dates.
+     */
+    public Delta putExpense(Expense expense, Instant now) {
+        Expense previous = put(expenses, expensesByDate, expense.id(), expense, Expense::date);
+        return recompute(bankTransactionsOn(previous != null ? previous.date() : null, expense.date()), now);
+    }
+
+    /**
+     * Removes an expense record and recomputes the bank transactions on its date.
+     */
+    public Delta removeExpense(UUID expenseId, Instant now) {
+        Expense previous = remove(expenses, expensesByDate, expenseId, Expense::date);
+        return previous == null ? Delta.EMPTY : recompute(bankTransactionsOn(previous.date(), null), now);
+    }
+
+    /**
+     * Returns every current match, grouped by bank transaction.
+     */
+    public List<ReconciliationMatch> matches() {
+        List<ReconciliationMatch> all = new ArrayList<>();
+        matchesByBankTransaction.values().forEach(all::addAll);
+        return Collections.unmodifiableList(all);
+    }
+
+    private Set<UUID> bankTransactionsOn(LocalDate oldDate, LocalDate newDate) {
+        Set<UUID> affected = new LinkedHashSet<>();
+        if (oldDate != null) {
+            affected.addAll(bankByDate.getOrDefault(oldDate, Set.of()));
+        }
+        if (newDate != null) {
+            affected.addAll(bankByDate.getOrDefault(newDate, Set.of()));
+        }
+        return affected;
+    }
+
+    private Delta recompute(Set<UUID> affected, Instant now) {
+        if (affected.isEmpty()) {
+            return Delta.EMPTY;
+        }
+
+        List<ReconciliationMatch> current = new ArrayList<>();
+        List<ReconciliationMatch> retired = new ArrayList<>();
+        for (UUID bankTransactionId : affected) {
+            BankTransaction tx = bankTransactions.get(bankTransactionId);
+            List<ReconciliationMatch> matches = tx == null
+                ? List.of()
+                : ReconciliationService.reconcile(List.of(tx),
+                    valuesOn(incomes, incomesByDate, tx.date()),
+                    valuesOn(expenses, expensesByDate, tx.date()),
+                    businessId, now);
+
+            List<ReconciliationMatch> previous = matches.isEmpty()
+                ? matchesByBankTransaction.remove(bankTransactionId)
+                : matchesByBankTransaction.put(bankTransactionId, matches);
+            current.addAll(matches);
+
+            if (previous != null) {
+                Set<String> stillMatched = new HashSet<>();
+                for (ReconciliationMatch match : matches) {
+                    stillMatched.add(pairKey(match));
+                }
+                for (ReconciliationMatch match : previous) {
+                    if (!stillMatched.contains(pairKey(match))) {
+                        retired.add(match);
+                    }
+                }
+            }
+        }
+        return new Delta(List.copyOf(affected), List.copyOf(current), List.copyOf(retired));
+    }
+
+    /**
+     * Identifies a match by its pair, as the UNIQUE constraint of reconciliation_matches does.
+     *
+     * @param match the match
+     * @return bank transaction ID, manual transaction ID and type, pipe-delimited
+     */
+    public static String pairKey(ReconciliationMatch match) {
+        return match.bankTransactionId() + "|" + match.manualTransactionId()
+            + "|" + match.manualTransactionType();
+    }
+
+    private static <T> T put(Map<UUID, T> byId, Map<LocalDate, Set<UUID>> byDate,
+                             UUID id, T value, Function<T, LocalDate> dateOf) {
+        T previous = remove(byId, byDate, id, dateOf);
+        byId.put(id, value);
+        byDate.computeIfAbsent(dateOf.apply(value), d -> new LinkedHashSet<>()).add(id);
+        return previous;
+    }
+
+    private static <T> T remove(Map<UUID, T> byId, Map<LocalDate, Set<UUID>> byDate,
+                                UUID id, Function<T, LocalDate> dateOf) {
+        T previous = byId.remove(id);
+        if (previous != null) {
+            Set<UUID> ids = byDate.get(dateOf.apply(previous));
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+        return previous;
+    }
+
+    private static <T> List<T> valuesOn(Map<UUID, T> byId, Map<LocalDate, Set<UUID>> byDate, LocalDate date) {
+        Set<UUID> ids = byDate.get(date);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<T> values = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            values.add(byId.get(id));
+        }
+        return values;
+    }
+
+    /**
+     * The effect of one change on the match state.
+     *
+     * @param affectedBankTransactionIds the bank transactions whose matches were recomputed
+     * @param current                    their matches after the change, to be upserted
+     * @param retired                    their matches before the change that no longer apply
+     */
+    public record Delta(
+        List<UUID> affectedBankTransactionIds,
+        List<ReconciliationMatch> current,
+        List<ReconciliationMatch> retired
+    ) {
+        /** No bank transaction was affected. */
+        public static final Delta EMPTY = new Delta(List.of(), List.of(), List.of());
+
+        /**
+         * Returns true if no bank transaction was affected.
+         */
+        public boolean isEmpty() {
+            return affectedBankTransactionIds.isEmpty();
+        }
+    }
+}
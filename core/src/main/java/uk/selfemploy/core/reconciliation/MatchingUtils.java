@@ -5,6 +5,7 @@ import org.apache.commons.text.similarity.LevenshteinDistance;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.time.LocalDate;
+import java.util.Arrays;
 
 /**
  * Shared utility methods for transaction matching, extracted from the
@@ -17,6 +18,17 @@ public final class MatchingUtils {
 
     private static final LevenshteinDistance LEVENSHTEIN = new LevenshteinDistance();
 
+    /**
+     * Slack added to the distance bound derived from a similarity threshold, so that
+     * floating-point rounding never excludes a distance that meets the threshold.
+     */
+    private static final double BOUND_EPSILON = 1e-9;
+
+    /**
+     * Per-thread dynamic programming rows for {@link #boundedDistance}, grown on demand.
+     */
+    private static final ThreadLocal<int[][]> ROWS = ThreadLocal.withInitial(() -> new int[2][64]);
+
     /**
      * Minimum Levenshtein similarity for a "likely" match.
      */
@@ -40,6 +52,9 @@ public final class MatchingUtils {
      * Normalizes a description for comparison.
      * Lowercases, trims, and collapses whitespace.
      *
+     * <p>Equivalent to {@code description.toLowerCase().trim().replaceAll("\\s+", " ")},
+     * without the regex. An already-normalized description is returned as is.</p>
+     *
      * @param description the raw description
      * @return normalized description, empty string if null
      */
@@ -47,7 +62,43 @@ public final class MatchingUtils {
         if (description == null) {
             return "";
         }
-        return description.toLowerCase().trim().replaceAll("\\s+", " ");
+        String trimmed = description.toLowerCase().trim();
+        if (!needsCollapsing(trimmed)) {
+            return trimmed;
+        }
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        boolean inWhitespace = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!isRegexWhitespace(c)) {
+                normalized.append(c);
+                inWhitespace = false;
+            } else if (!inWhitespace) {
+                normalized.append(' ');
+                inWhitespace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * True if the text has a whitespace character other than a single space.
+     */
+    private static boolean needsCollapsing(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isRegexWhitespace(c) && (c != ' ' || (i > 0 && isRegexWhitespace(text.charAt(i - 1))))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Regex {@code \s}: {@code [ \t\n\x0B\f\r]}.
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     /**
@@ -75,6 +126,113 @@ public final class MatchingUtils {
         return 1.0 - ((double) distance / maxLength);
     }
 
+    /**
+     * Calculates string similarity like {@link #calculateSimilarity(String, String)}, but
+     * only exactly when it reaches {@code minSimilarity}.
+     *
+     * <p>The threshold bounds the edit distance that can still qualify, so the distance is
+     * computed on a diagonal band of that width and abandoned as soon as every cell of a
+     * row exceeds the bound. Use this wherever the similarity is only compared against a
+     * threshold: the decision is the same, at a fraction of the cost for dissimilar
+     * strings.</p>
+     *
+     * @param s1            first normalized string
+     * @param s2            second normalized string
+     * @param minSimilarity the threshold the caller compares against
+     * @return the similarity if it is at least {@code minSimilarity}, otherwise 0.0
+     */
+    public static double calculateSimilarity(String s1, String s2, double minSimilarity) {
+        if (s1 == null) s1 = "";
+        if (s2 == null) s2 = "";
+
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+
+        int maxLength = Math.max(s1.length(), s2.length());
+        int maxDistance = (int) Math.min(maxLength, Math.floor((1.0 - minSimilarity) * maxLength + BOUND_EPSILON));
+        if (maxDistance < 0) {
+            return 0.0;
+        }
+
+        int distance = boundedDistance(s1, s2, maxDistance);
+        if (distance < 0) {
+            return 0.0;
+        }
+        double similarity = 1.0 - ((double) distance / maxLength);
+        return similarity >= minSimilarity ? similarity : 0.0;
+    }
+
+    /**
+     * Levenshtein distance between two strings if it is at most {@code threshold}.
+     *
+     * <p>Only cells within {@code threshold} of the diagonal can hold a distance within the
+     * bound, so each row is computed on that band alone, using two reusable rows per
+     * thread. Cells outside the band are taken as {@code threshold + 1}, a lower bound of
+     * their true value that keeps every in-band result exact.</p>
+     *
+     * @return the distance, or -1 if it exceeds {@code threshold}
+     */
+    static int boundedDistance(CharSequence s1, CharSequence s2, int threshold) {
+        // Keep the shorter string on the rows, so the rows are as short as possible
+        CharSequence shorter = s1.length() <= s2.length() ? s1 : s2;
+        CharSequence longer = shorter == s1 ? s2 : s1;
+        int n = shorter.length();
+        int m = longer.length();
+
+        if (m - n > threshold) {
+            return -1;
+        }
+        if (n == 0) {
+            return m;
+        }
+
+        int[][] rows = ROWS.get();
+        if (rows[0].length < n + 1) {
+            rows = new int[2][Math.max(n + 1, rows[0].length * 2)];
+            ROWS.set(rows);
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        int outOfBand = threshold + 1;
+
+        int boundary = Math.min(n, threshold) + 1;
+        for (int i = 0; i < boundary; i++) {
+            previous[i] = i;
+        }
+        Arrays.fill(previous, boundary, n + 1, outOfBand);
+        Arrays.fill(current, 0, n + 1, outOfBand);
+
+        for (int j = 1; j <= m; j++) {
+            char c = longer.charAt(j - 1);
+            current[0] = j;
+
+            int from = Math.max(1, j - threshold);
+            int to = Math.min(n, j + threshold);
+            if (from > 1) {
+                current[from - 1] = outOfBand;
+            }
+
+            int rowMinimum = from > 1 ? outOfBand : j;
+            for (int i = from; i <= to; i++) {
+                int cost = shorter.charAt(i - 1) == c
+                    ? previous[i - 1]
+                    : 1 + Math.min(Math.min(current[i - 1], previous[i]), previous[i - 1]);
+                current[i] = Math.min(cost, outOfBand);
+                rowMinimum = Math.min(rowMinimum, current[i]);
+            }
+            if (rowMinimum > threshold) {
+                return -1;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[n] <= threshold ? previous[n] : -1;
+    }
+
     /**
      * Creates an exact match key from date, absolute amount, and normalized description.
      *
@@ -0,0 +1,167 @@
+package uk.selfemploy.core.reconciliation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of normalized descriptions, for the places where the same description
+ * is normalized again on later calls: import transaction hashes and the import review
+ * screen's fuzzy matching, which both run again on every preview or refresh.
+ *
+ * <p>Matching loops that see each description many times within one call, such as
+ * {@link ReconciliationIndex} and the duplicate matcher, memoize locally instead.</p>
+ *
+ * <p>Values are exactly {@link MatchingUtils#normalizeDescription}. Eviction is
+ * approximately least recently used: each entry carries the tick of its last use, the
+ * tick only advances on a miss, and a full cache drops the eighth of its entries with
+ * the oldest ticks. Lookups take no lock, and a working set a little larger than the
+ * capacity keeps most of its hits. Hits, misses and evictions are counted and exposed
+ * through {@link #stats()}.</p>
+ *
+ * <p>Instances are thread-safe. {@link #shared()} is the session-wide instance.</p>
+ */
+public final class NormalizedDescriptionCache {
+
+    /**
+     * Capacity of the shared cache: comfortably more than the distinct descriptions of
+     * a business's tax year of bank and manual records.
+     */
+    public static final int DEFAULT_CAPACITY = 20_000;
+
+    private static final NormalizedDescriptionCache SHARED = new NormalizedDescriptionCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final int evictionBatch;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong tick = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding at most {@code capacity} descriptions.
+     *
+     * @param capacity the maximum number of cached descriptions; must be positive
+     */
+    public NormalizedDescriptionCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.evictionBatch = Math.max(1, capacity / 8);
+    }
+
+    /**
+     * Returns the session-wide cache.
+     */
+    public static NormalizedDescriptionCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the normalized form of a description, computing it on a miss.
+     *
+     * @param description the raw description
+     * @return normalized description, empty string if null
+     */
+    public String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        Entry entry = entries.get(description);
+        if (entry != null) {
+            entry.lastUsed = tick.get();
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        // A concurrent miss on the same key computes an equal value; the first one stored wins
+        String normalized = MatchingUtils.normalizeDescription(description);
+        if (entries.size() >= capacity) {
+            evictLeastRecentlyUsed();
+        }
+        Entry raced = entries.putIfAbsent(description, new Entry(normalized, tick.incrementAndGet()));
+        return raced != null ? raced.value : normalized;
+    }
+
+    /**
+     * Returns the current counters.
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), capacity);
+    }
+
+    /**
+     * Returns the number of cached descriptions.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        evictionLock.lock();
+        try {
+            int size = entries.size();
+            if (size < capacity) {
+                return; // another thread evicted while this one waited
+            }
+            int toEvict = size - capacity + evictionBatch;
+            long[] ticks = entries.values().stream().mapToLong(entry -> entry.lastUsed).toArray();
+            Arrays.sort(ticks);
+            long cutoff = ticks[Math.min(toEvict, ticks.length) - 1];
+            toEvict -= evict(entry -> entry.lastUsed < cutoff, toEvict);
+            // Entries sharing the cutoff tick are only taken until the quota is met
+            evict(entry -> entry.lastUsed == cutoff, toEvict);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private int evict(Predicate<Entry> eligible, int limit) {
+        int evicted = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); evicted < limit && it.hasNext(); ) {
+            if (eligible.test(it.next())) {
+                it.remove();
+                evicted++;
+            }
+        }
+        evictions.add(evicted);
+        return evicted;
+    }
+
+    private static final class Entry {
+        final String value;
+        volatile long lastUsed;
+
+        Entry(String value, long lastUsed) {
+            this.value = value;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that normalized the description
+     * @param evictions descriptions evicted to stay within capacity
+     * @param size      descriptions currently cached
+     * @param capacity  maximum number of cached descriptions
+     */
+    public record Stats(long hits, long misses, long evictions, int size, int capacity) {
+
+        /**
+         * Fraction of lookups answered from the cache, 0.0 before the first lookup.
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
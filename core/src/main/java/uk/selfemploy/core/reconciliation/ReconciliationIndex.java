@@ -0,0 +1,245 @@
+package uk.selfemploy.core.reconciliation;
+
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Blocking-key index over the manual income and expense records of one business,
+ * used by {@link ReconciliationService} so that a bank transaction is only compared
+ * against the manual records that could possibly match it.
+ *
+ * <p>Manual records are bucketed by direction (income or expense) and by date, which is
+ * the whole date window of the tier rules: every tier requires the same date. Within a
+ * bucket, records are kept sorted by amount so that a lookup only visits the amount band
+ * {@code [amount - tolerance, amount + tolerance]}, where the tolerance is the larger of
+ * 1% of the bank amount and GBP 1.00. That band is a superset of every amount that can
+ * reach Tier 3, so the full tier rules are still applied to each candidate and the
+ * result is identical to comparing every pair.</p>
+ *
+ * <p>Only records of the indexed business are added. Normalized descriptions are
+ * computed once, when the index is built, rather than once per comparison.</p>
+ */
+public final class ReconciliationIndex {
+
+    private static final Comparator<Candidate> BY_AMOUNT =
+        Comparator.comparing(Candidate::amount).thenComparingInt(Candidate::ordinal);
+
+    private static final Comparator<Candidate> BY_ORDINAL =
+        Comparator.comparingInt(Candidate::ordinal);
+
+    private final UUID businessId;
+    private final Map<LocalDate, List<Candidate>> incomeBuckets;
+    private final Map<LocalDate, List<Candidate>> expenseBuckets;
+
+    private ReconciliationIndex(UUID businessId,
+                                Map<LocalDate, List<Candidate>> incomeBuckets,
+                                Map<LocalDate, List<Candidate>> expenseBuckets) {
+        this.businessId = businessId;
+        this.incomeBuckets = incomeBuckets;
+        this.expenseBuckets = expenseBuckets;
+    }
+
+    /**
+     * Builds an index over the given manual records. Records belonging to another
+     * business are ignored.
+     *
+     * @param incomes    the manually entered income records (may be null)
+     * @param expenses   the manually entered expense records (may be null)
+     * @param businessId the business whose records are indexed
+     * @return the index
+     */
+    public static ReconciliationIndex build(List<Income> incomes, List<Expense> expenses, UUID businessId) {
+        if (businessId == null) {
+            throw new IllegalArgumentException("businessId cannot be null");
+        }
+
+        Map<LocalDate, List<Candidate>> incomeBuckets = new HashMap<>();
+        if (incomes != null) {
+            int ordinal = 0;
+            for (Income income : incomes) {
+                int position = ordinal++;
+                if (!income.businessId().equals(businessId)) {
+                    continue;
+                }
+                incomeBuckets.computeIfAbsent(income.date(), date -> new ArrayList<>())
+                    .add(new Candidate(position, income.id(), income.amount(),
+                        MatchingUtils.normalizeDescription(income.description()),
+                        income.bankTransactionId()));
+            }
+        }
+
+        Map<LocalDate, List<Candidate>> expenseBuckets = new HashMap<>();
+        if (expenses != null) {
+            int ordinal = 0;
+            for (Expense expense : expenses) {
+                int position = ordinal++;
+                if (!expense.businessId().equals(businessId)) {
+                    continue;
+                }
+                expenseBuckets.computeIfAbsent(expense.date(), date -> new ArrayList<>())
+                    .add(new Candidate(position, expense.id(), expense.amount(),
+                        MatchingUtils.normalizeDescription(expense.description()),
+                        expense.bankTransactionId()));
+            }
+        }
+
+        incomeBuckets.values().forEach(bucket -> bucket.sort(BY_AMOUNT));
+        expenseBuckets.values().forEach(bucket -> bucket.sort(BY_AMOUNT));
+
+        return new ReconciliationIndex(businessId, incomeBuckets, expenseBuckets);
+    }
+
+    /**
+     * Returns the business this index was built for.
+     */
+    public UUID businessId() {
+        return businessId;
+    }
+
+    /**
+     * Matches one bank transaction against the indexed manual records of the same
+     * direction. Zero-amount transactions have no direction and never match.
+     *
+     * <p>Matches are returned in the order of the manual record lists the index was
+     * built from, as the pairwise comparison reported them.</p>
+     *
+     * @param bankTx the bank transaction to match
+     * @param now    current timestamp for created_at
+     * @return the detected matches, empty if none
+     */
+    public List<ReconciliationMatch> match(BankTransaction bankTx, Instant now) {
+        if (bankTx.isIncome()) {
+            return match(bankTx, incomeBuckets.get(bankTx.date()), "INCOME", now);
+        }
+        if (bankTx.isExpense()) {
+            return match(bankTx, expenseBuckets.get(bankTx.date()), "EXPENSE", now);
+        }
+        return Collections.emptyList();
+    }
+
+    private List<ReconciliationMatch> match(BankTransaction bankTx,
+                                            List<Candidate> bucket,
+                                            String manualTransactionType,
+                                            Instant now) {
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+
+        BigDecimal bankAbsAmount = bankTx.absoluteAmount();
+        List<Candidate> inBand = amountBand(bucket, bankAbsAmount);
+        if (inBand.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String bankNormDesc = MatchingUtils.normalizeDescription(bankTx.description());
+        List<ReconciliationMatch> matches = new ArrayList<>();
+
+        for (Candidate candidate : inBand) {
+            // Tier 0: the manual record is already linked to this bank transaction
+            if (bankTx.id().equals(candidate.bankTransactionId())) {
+                continue;
+            }
+
+            // Tier 1 / Tier 2: exact amount, graded by description similarity
+            if (MatchingUtils.isExactAmount(bankAbsAmount, candidate.amount())) {
+                double similarity = MatchingUtils.calculateSimilarity(
+                    bankNormDesc, candidate.normalizedDescription(), MatchingUtils.LIKELY_THRESHOLD);
+
+                if (similarity == 1.0) {
+                    matches.add(ReconciliationMatch.create(
+                        bankTx.id(), candidate.id(), manualTransactionType,
+                        1.0, MatchTier.EXACT, businessId, now));
+                    continue;
+                }
+
+                if (similarity >= MatchingUtils.LIKELY_THRESHOLD) {
+                    matches.add(ReconciliationMatch.create(
+                        bankTx.id(), candidate.id(), manualTransactionType,
+                        similarity, MatchTier.LIKELY, businessId, now));
+                    continue;
+                }
+            }
+
+            // Tier 3: amount within tolerance
+            if (MatchingUtils.isWithinTolerance(bankAbsAmount, candidate.amount())) {
+                matches.add(ReconciliationMatch.create(
+                    bankTx.id(), candidate.id(), manualTransactionType,
+                    MatchTier.POSSIBLE.getMinimumConfidence(), MatchTier.POSSIBLE,
+                    businessId, now));
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns the candidates of an amount-sorted bucket whose amount lies within the
+     * tolerance band around {@code amount}, in manual-list order.
+     */
+    private static List<Candidate> amountBand(List<Candidate> bucket, BigDecimal amount) {
+        BigDecimal tolerance = amount.multiply(MatchingUtils.RELATIVE_TOLERANCE)
+            .max(MatchingUtils.ABSOLUTE_TOLERANCE);
+        BigDecimal lower = amount.subtract(tolerance);
+        BigDecimal upper = amount.add(tolerance);
+
+        List<Candidate> inBand = new ArrayList<>();
+        for (int i = lowerBound(bucket, lower); i < bucket.size(); i++) {
+            Candidate candidate = bucket.get(i);
+            if (candidate.amount().compareTo(upper) > 0) {
+                break;
+            }
+            inBand.add(candidate);
+        }
+        if (inBand.size() > 1) {
+            inBand.sort(BY_ORDINAL);
+        }
+        return inBand;
+    }
+
+    /**
+     * Returns the index of the first candidate whose amount is not below {@code amount}.
+     */
+    private static int lowerBound(List<Candidate> bucket, BigDecimal amount) {
+        int low = 0;
+        int high = bucket.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucket.get(mid).amount().compareTo(amount) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A manual record as seen by the index.
+     *
+     * @param ordinal               position in the list the index was built from
+     * @param id                    the income or expense ID
+     * @param amount                the (always positive) amount
+     * @param normalizedDescription the description after {@link MatchingUtils#normalizeDescription}
+     * @param bankTransactionId     the linked bank transaction, or null
+     */
+    private record Candidate(
+        int ordinal,
+        UUID id,
+        BigDecimal amount,
+        String normalizedDescription,
+        UUID bankTransactionId
+    ) {
+    }
+}
@@ -5,10 +5,11 @@ import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.enums.ReviewStatus;
 
-import java.math.BigDecimal;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Detects and manages duplicate transactions between bank-imported records
@@ -29,6 +30,10 @@ import java.util.*;
  * <p>All queries are scoped to the same business_id to prevent cross-business
  * contamination.</p>
  *
+ * <p>Candidate lookup goes through a {@link ReconciliationIndex}, which buckets the
+ * manual records by direction, date and amount band, so the cost grows with the number
+ * of bank transactions rather than with bank transactions times manual records.</p>
+ *
  * <p>Manual entries are the source of truth and are never modified or deleted
  * by the reconciliation process.</p>
  */
@@ -65,8 +70,8 @@ public class ReconciliationService {
             throw new IllegalArgumentException("businessId cannot be null");
         }
 
-        // Build set of bank transaction IDs that are already linked to incomes/expenses
-        Set<UUID> linkedBankTxIds = buildLinkedBankTxIds(incomes, expenses);
+        // Bucket the manual records once, so each bank transaction only meets its candidates
+        ReconciliationIndex index = ReconciliationIndex.build(incomes, expenses, businessId);
 
         List<ReconciliationMatch> allMatches = new ArrayList<>();
 
@@ -86,185 +91,10 @@ public class ReconciliationService {
                 continue;
             }
 
-            // Direction-aware matching
-            if (bankTx.isIncome()) {
-                List<ReconciliationMatch> matches = matchAgainstIncomes(
-                    bankTx, incomes != null ? incomes : Collections.emptyList(),
-                    linkedBankTxIds, businessId, now);
-                allMatches.addAll(matches);
-            } else if (bankTx.isExpense()) {
-                List<ReconciliationMatch> matches = matchAgainstExpenses(
-                    bankTx, expenses != null ? expenses : Collections.emptyList(),
-                    linkedBankTxIds, businessId, now);
-                allMatches.addAll(matches);
-            }
-            // Zero-amount transactions are skipped (neither income nor expense)
+            // Direction-aware matching; zero-amount transactions are neither income nor expense
+            allMatches.addAll(index.match(bankTx, now));
         }
 
         return Collections.unmodifiableList(allMatches);
     }
-
-    /**
-     * Matches a single income bank transaction against manual income records.
-     */
-    private static List<ReconciliationMatch> matchAgainstIncomes(
-            BankTransaction bankTx,
-            List<Income> incomes,
-            Set<UUID> linkedBankTxIds,
-            UUID businessId,
-            Instant now) {
-
-        BigDecimal bankAbsAmount = bankTx.absoluteAmount();
-        LocalDate bankDate = bankTx.date();
-        String bankNormDesc = MatchingUtils.normalizeDescription(bankTx.description());
-
-        List<ReconciliationMatch> matches = new ArrayList<>();
-
-        for (Income income : incomes) {
-            // Skip incomes not belonging to same business
-            if (!income.businessId().equals(businessId)) {
-                continue;
-            }
-
-            // Tier 0: Check if this income is already linked to this bank transaction
-            if (income.bankTransactionId() != null
-                    && income.bankTransactionId().equals(bankTx.id())) {
-                // Already linked - not a duplicate candidate
-                continue;
-            }
-
-            // Only compare transactions on the same date
-            if (!income.date().equals(bankDate)) {
-                continue;
-            }
-
-            BigDecimal incomeAmount = income.amount(); // Always positive
-
-            // Tier 1: EXACT - same date + exact amount + identical normalized description
-            if (MatchingUtils.isExactAmount(bankAbsAmount, incomeAmount)) {
-                String incomeNormDesc = MatchingUtils.normalizeDescription(income.description());
-                double similarity = MatchingUtils.calculateSimilarity(bankNormDesc, incomeNormDesc);
-
-                if (similarity == 1.0) {
-                    matches.add(ReconciliationMatch.create(
-                        bankTx.id(), income.id(), "INCOME",
-                        1.0, MatchTier.EXACT, businessId, now));
-                    continue;
-                }
-
-                // Tier 2: LIKELY - same date + exact amount + Levenshtein >= 0.80
-                if (similarity >= MatchingUtils.LIKELY_THRESHOLD) {
-                    matches.add(ReconciliationMatch.create(
-                        bankTx.id(), income.id(), "INCOME",
-                        similarity, MatchTier.LIKELY, businessId, now));
-                    continue;
-                }
-            }
-
-            // Tier 3: POSSIBLE - same date + amount within tolerance
-            if (MatchingUtils.isWithinTolerance(bankAbsAmount, incomeAmount)) {
-                matches.add(ReconciliationMatch.create(
-                    bankTx.id(), income.id(), "INCOME",
-                    MatchTier.POSSIBLE.getMinimumConfidence(), MatchTier.POSSIBLE,
-                    businessId, now));
-            }
-        }
-
-        return matches;
-    }
-
-    /**
-     * Matches a single expense bank transaction against manual expense records.
-     */
-    private static List<ReconciliationMatch> matchAgainstExpenses(
-            BankTransaction bankTx,
-            List<Expense> expenses,
-            Set<UUID> linkedBankTxIds,
-            UUID businessId,
-            Instant now) {
-
-        BigDecimal bankAbsAmount = bankTx.absoluteAmount(); // Bank expense is negative, abs() makes positive
-        LocalDate bankDate = bankTx.date();
-        String bankNormDesc = MatchingUtils.normalizeDescription(bankTx.description());
-
-        List<ReconciliationMatch> matches = new ArrayList<>();
-
-        for (Expense expense : expenses) {
-            // Skip expenses not belonging to same business
-            if (!expense.businessId().equals(businessId)) {
-                continue;
-            }
-
-            // Tier 0: Check if this expense is already linked to this bank transaction
-            if (expense.bankTransactionId() != null
-                    && expense.bankTransactionId().equals(bankTx.id())) {
-                // Already linked - not a duplicate candidate
-                continue;
-            }
-
-            // Only compare transactions on the same date
-            if (!expense.date().equals(bankDate)) {
-                continue;
-            }
-
-            BigDecimal expenseAmount = expense.amount(); // Always positive
-
-            // Tier 1: EXACT - same date + exact amount + identical normalized description
-            if (MatchingUtils.isExactAmount(bankAbsAmount, expenseAmount)) {
-                String expenseNormDesc = MatchingUtils.normalizeDescription(expense.description());
-                double similarity = MatchingUtils.calculateSimilarity(bankNormDesc, expenseNormDesc);
-
-                if (similarity == 1.0) {
-                    matches.add(ReconciliationMatch.create(
-                        bankTx.id(), expense.id(), "EXPENSE",
-                        1.0, MatchTier.EXACT, businessId, now));
-                    continue;
-                }
-
-                // Tier 2: LIKELY - same date + exact amount + Levenshtein >= 0.80
-                if (similarity >= MatchingUtils.LIKELY_THRESHOLD) {
-                    matches.add(ReconciliationMatch.create(
-                        bankTx.id(), expense.id(), "EXPENSE",
-                        similarity, MatchTier.LIKELY, businessId, now));
-                    continue;
-                }
-            }
-
-            // Tier 3: POSSIBLE - same date + amount within tolerance
-            if (MatchingUtils.isWithinTolerance(bankAbsAmount, expenseAmount)) {
-                matches.add(ReconciliationMatch.create(
-                    bankTx.id(), expense.id(), "EXPENSE",
-                    MatchTier.POSSIBLE.getMinimumConfidence(), MatchTier.POSSIBLE,
-                    businessId, now));
-            }
-        }
-
-        return matches;
-    }
-
-    /**
-     * Builds a set of bank transaction IDs that are already linked to incomes/expenses
-     * via the bankTransactionId FK.
-     */
-    private static Set<UUID> buildLinkedBankTxIds(List<Income> incomes, List<Expense> expenses) {
-        Set<UUID> linked = new HashSet<>();
-
-        if (incomes != null) {
-            for (Income income : incomes) {
-                if (income.bankTransactionId() != null) {
-                    linked.add(income.bankTransactionId());
-                }
-            }
-        }
-
-        if (expenses != null) {
-            for (Expense expense : expenses) {
-                if (expense.bankTransactionId() != null) {
-                    linked.add(expense.bankTransactionId());
-                }
-            }
-        }
-
-        return linked;
-    }
 }
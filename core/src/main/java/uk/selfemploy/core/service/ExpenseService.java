@@ -5,13 +5,20 @@ import uk.selfemploy.common.domain.Quarter;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.core.exception.ValidationException;
+import uk.selfemploy.core.profit.CategorySpend;
+import uk.selfemploy.core.profit.ProfitTotals;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service contract for managing Expense entities.
@@ -58,6 +65,32 @@ public abstract class ExpenseService {
                           String description, ExpenseCategory category,
                           String receiptPath, String notes, int businessUsePercentage);
 
+    /**
+     * Creates several expenses, validating each as {@link #create} does. Each draft supplies the
+     * fields of one expense; implementations that keep the draft's id may save the whole batch in
+     * one write, others fall back to creating the expenses one at a time with fresh ids. Every draft
+     * is validated before any is created, so a draft that fails leaves none of the batch written.
+     *
+     * @param drafts The expenses to create
+     * @return The created expenses, in the order given
+     * @throws ValidationException if any expense fails validation
+     */
+    public List<Expense> createAll(List<Expense> drafts) {
+        for (Expense draft : drafts) {
+            validateBusinessId(draft.businessId());
+            validateDate(draft.date());
+            validateAmount(draft.amount());
+            validateDescription(draft.description());
+            validateCategory(draft.category());
+        }
+        List<Expense> created = new ArrayList<>(drafts.size());
+        for (Expense draft : drafts) {
+            created.add(create(draft.businessId(), draft.date(), draft.amount(), draft.description(),
+                draft.category(), draft.receiptPath(), draft.notes(), draft.businessUsePercentage()));
+        }
+        return created;
+    }
+
     /**
      * Finds an expense by ID.
      *
@@ -113,6 +146,23 @@ public abstract class ExpenseService {
      */
     public abstract List<Expense> findByTaxYear(UUID businessId, TaxYear taxYear);
 
+    /**
+     * Hands every expense for a business within a tax year to {@code action}, oldest first.
+     *
+     * <p>This default walks {@link #findByTaxYear}; a persistent implementation should read a page
+     * at a time instead, so a caller writing out years of records holds one page, not all of them.
+     *
+     * @param businessId The business ID
+     * @param taxYear    The tax year
+     * @param action     Receives each expense in turn
+     * @throws ValidationException if businessId or taxYear is null
+     */
+    public void forEachInTaxYear(UUID businessId, TaxYear taxYear, Consumer<? super Expense> action) {
+        findByTaxYear(businessId, taxYear).stream()
+                .sorted(Comparator.comparing(Expense::date))
+                .forEach(action);
+    }
+
     /**
      * Finds all expenses for a business by category.
      *
@@ -177,6 +227,54 @@ public abstract class ExpenseService {
      */
     public abstract Map<ExpenseCategory, BigDecimal> getTotalsByCategoryByQuarter(UUID businessId, TaxYear taxYear, Quarter quarter);
 
+    /**
+     * Gets what was spent and what may be claimed per category for a business within a tax year.
+     *
+     * <p>This default derives the split from {@link #findByTaxYear} through {@link ProfitTotals};
+     * a persistent implementation should group in its query instead, applying the same claim rule
+     * ({@link Expense#allowableAmount(BigDecimal, ExpenseCategory, int)}) to each row.
+     *
+     * @param businessId The business ID
+     * @param taxYear    The tax year
+     * @return Spend per category; categories without expenses are absent
+     * @throws ValidationException if businessId or taxYear is null
+     */
+    public Map<ExpenseCategory, CategorySpend> getCategorySpend(UUID businessId, TaxYear taxYear) {
+        return ProfitTotals.of(List.of(), findByTaxYear(businessId, taxYear)).byCategory();
+    }
+
+    /**
+     * Gets the total expenses (gross, before any claim rule) per calendar month of a tax year.
+     *
+     * @param businessId The business ID
+     * @param taxYear    The tax year
+     * @return Total per month, in month order; months without expenses are absent
+     * @throws ValidationException if businessId or taxYear is null
+     */
+    public Map<YearMonth, BigDecimal> getMonthlyTotals(UUID businessId, TaxYear taxYear) {
+        Map<YearMonth, BigDecimal> totals = new TreeMap<>();
+        for (Expense expense : findByTaxYear(businessId, taxYear)) {
+            totals.merge(YearMonth.from(expense.date()), expense.amount(), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    /**
+     * Finds the most recent expenses for a business within a tax year, newest first.
+     *
+     * @param businessId The business ID
+     * @param taxYear    The tax year
+     * @param limit      The most expenses to return
+     * @return Up to {@code limit} expenses, by date descending
+     * @throws ValidationException if businessId or taxYear is null
+     */
+    public List<Expense> findRecent(UUID businessId, TaxYear taxYear, int limit) {
+        return findByTaxYear(businessId, taxYear).stream()
+                .sorted(Comparator.comparing(Expense::date).reversed())
+                .limit(limit)
+                .toList();
+    }
+
     protected void validateBusinessId(UUID businessId) {
         if (businessId == null) {
             throw new ValidationException("businessId", "Business ID cannot be null");
@@ -9,9 +9,15 @@ import uk.selfemploy.core.exception.ValidationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service contract for managing Income entities.
@@ -63,6 +69,32 @@ public abstract class IncomeService {
                          String description, IncomeCategory category, String reference,
                          String clientName, IncomeStatus status);
 
+    /**
+     * Creates several income entries, validating each as {@link #create} does. Each draft supplies
+     * the fields of one entry; implementations that keep the draft's id may save the whole batch in
+     * one write, others fall back to creating the entries one at a time with fresh ids. Every draft
+     * is validated before any is created, so a draft that fails leaves none of the batch written.
+     *
+     * @param drafts The entries to create
+     * @return The created incomes, in the order given
+     * @throws ValidationException if any entry fails validation
+     */
+    public List<Income> createAll(List<Income> drafts) {
+        for (Income draft : drafts) {
+            validateBusinessId(draft.businessId());
+            validateDate(draft.date());
+            validateAmount(draft.amount());
+            validateDescription(draft.description());
+            validateCategory(draft.category());
+        }
+        List<Income> created = new ArrayList<>(drafts.size());
+        for (Income draft : drafts) {
+            created.add(create(draft.businessId(), draft.date(), draft.amount(), draft.description(),
+                draft.category(), draft.reference(), draft.clientName(), draft.status()));
+        }
+        return created;
+    }
+
     /**
      * Finds an income by ID.
      *
@@ -130,6 +162,23 @@ public abstract class IncomeService {
      */
     public abstract List<Income> findByTaxYear(UUID businessId, TaxYear taxYear);
 
+    /**
+     * Hands every income for a business within a tax year to {@code action}, oldest first.
+     *
+     * <p>This default walks {@link #findByTaxYear}; a persistent implementation should read a page
+     * at a time instead, so a caller writing out years of records holds one page, not all of them.
+     *
+     * @param businessId The business ID
+     * @param taxYear    The tax year
+     * @param action     Receives each income in turn
+     * @throws ValidationException if businessId or taxYear is null
+     */
+    public void forEachInTaxYear(UUID businessId, TaxYear taxYear, Consumer<? super Income> action) {
+        findByTaxYear(businessId, taxYear).stream()
+                .sorted(Comparator.comparing(Income::date))
+                .forEach(action);
+    }
+
     /**
      * Finds all incomes for a business by category.
      *
@@ -186,6 +235,41 @@ public abstract class IncomeService {
         return findByQuarter(businessId, taxYear, quarter).size();
     }
 
+    /**
+     * Gets the total income for a business per calendar month of a tax year.
+     *
+     * <p>This default totals {@link #findByTaxYear}; a persistent implementation should group in
+     * its query instead, so a dashboard refresh reads one row per month rather than every record.
+     *
+     * @param businessId The business ID
+     * @param taxYear    The tax year
+     * @return Total per month, in month order; months without income are absent
+     * @throws ValidationException if businessId or taxYear is null
+     */
+    public Map<YearMonth, BigDecimal> getMonthlyTotals(UUID businessId, TaxYear taxYear) {
+        Map<YearMonth, BigDecimal> totals = new TreeMap<>();
+        for (Income income : findByTaxYear(businessId, taxYear)) {
+            totals.merge(YearMonth.from(income.date()), income.amount(), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    /**
+     * Finds the most recent incomes for a business within a tax year, newest first.
+     *
+     * @param businessId The business ID
+     * @param taxYear    The tax year
+     * @param limit      The most incomes to return
+     * @return Up to {@code limit} incomes, by date descending
+     * @throws ValidationException if businessId or taxYear is null
+     */
+    public List<Income> findRecent(UUID businessId, TaxYear taxYear, int limit) {
+        return findByTaxYear(businessId, taxYear).stream()
+                .sorted(Comparator.comparing(Income::date).reversed())
+                .limit(limit)
+                .toList();
+    }
+
     protected void validateBusinessId(UUID businessId) {
         if (businessId == null) {
             throw new ValidationException("businessId", "Business ID cannot be null");
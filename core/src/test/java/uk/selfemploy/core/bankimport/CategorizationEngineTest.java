@@ -13,9 +13,14 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("CategorizationEngine")
 class CategorizationEngineTest {
@@ -214,4 +219,97 @@ class CategorizationEngineTest {
             assertThat(updated.exclusionReason()).isEqualTo("CASH_WITHDRAWAL");
         }
     }
+
+    @Nested
+    @DisplayName("Batch categorization")
+    class BatchCategorization {
+
+        private List<BankTransaction> batch(int size) {
+            String[] descriptions = {"UBER LONDON", "ATM WITHDRAWAL", "CLIENT PAYMENT LTD", "TESCO STORES"};
+            List<BankTransaction> transactions = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                String description = descriptions[i % descriptions.length] + " " + i;
+                BigDecimal amount = description.startsWith("CLIENT") ? new BigDecimal("100.00") : new BigDecimal("-10.00");
+                transactions.add(createTransaction(description, amount));
+            }
+            return transactions;
+        }
+
+        @Test
+        @DisplayName("returns recommendations in input order")
+        void preservesInputOrder() {
+            List<BankTransaction> transactions = batch(CategorizationEngine.BATCH_CHUNK_SIZE * 5 + 17);
+
+            List<CategorizationRecommendation> recommendations = engine.recommendAll(transactions, null);
+
+            assertThat(recommendations).hasSize(transactions.size());
+            for (int i = 0; i < transactions.size(); i++) {
+                assertThat(recommendations.get(i)).isEqualTo(engine.recommend(transactions.get(i)));
+            }
+        }
+
+        @Test
+        @DisplayName("applies recommendations in input order")
+        void appliesInInputOrder() {
+            List<BankTransaction> transactions = batch(CategorizationEngine.BATCH_CHUNK_SIZE * 3);
+            Instant later = NOW.plusSeconds(60);
+
+            List<BankTransaction> updated = engine.applyRecommendations(transactions, later, null);
+
+            assertThat(updated).hasSize(transactions.size());
+            for (int i = 0; i < transactions.size(); i++) {
+                assertThat(updated.get(i)).isEqualTo(engine.applyRecommendation(transactions.get(i), later));
+            }
+        }
+
+        @Test
+        @DisplayName("returns an empty list for an empty batch")
+        void emptyBatch() {
+            assertThat(engine.recommendAll(List.of(), CategorizationProgress.NONE)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("reports increasing progress up to the batch size")
+        void reportsProgress() {
+            List<BankTransaction> transactions = batch(CategorizationEngine.BATCH_CHUNK_SIZE * 4 + 1);
+            List<Integer> reported = new ArrayList<>();
+
+            engine.recommendAll(transactions, (completed, total) -> {
+                assertThat(total).isEqualTo(transactions.size());
+                reported.add(completed);
+                return true;
+            });
+
+            assertThat(reported).hasSize(5).isSorted();
+            assertThat(reported.get(reported.size() - 1)).isEqualTo(transactions.size());
+        }
+
+        @Test
+        @DisplayName("throws CancellationException when the callback cancels")
+        void cancels() {
+            List<BankTransaction> transactions = batch(CategorizationEngine.BATCH_CHUNK_SIZE * 8);
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThatThrownBy(() -> engine.recommendAll(transactions, (completed, total) -> {
+                calls.incrementAndGet();
+                return false;
+            })).isInstanceOf(CancellationException.class);
+            assertThat(calls.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("an interrupted caller gets CancellationException and keeps its interrupt")
+        void interruptedCallerCancels() {
+            List<BankTransaction> transactions = batch(CategorizationEngine.BATCH_CHUNK_SIZE * 2);
+
+            Thread.currentThread().interrupt();
+            try {
+                assertThatThrownBy(() -> engine.recommendAll(transactions, null))
+                    .isInstanceOf(CancellationException.class);
+                assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            } finally {
+                Thread.interrupted();
+            }
+        }
+    }
 }
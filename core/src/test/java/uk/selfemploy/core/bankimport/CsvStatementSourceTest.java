@@ -10,7 +10,10 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,6 +54,11 @@ class CsvStatementSourceTest {
             return output;
         }
 
+        @Override public ImportedTransaction parseRow(String header, String line, String fileName,
+                                                      int lineNumber) throws CsvParseException {
+            throw new UnsupportedOperationException("whole-file stub");
+        }
+
         @Override public String[] getExpectedHeaders() {
             return new String[] {"Date", "Amount", "Description"};
         }
@@ -125,6 +133,11 @@ class CsvStatementSourceTest {
                 throw new NumberFormatException("Character N is neither a decimal digit");
             }
 
+            @Override public ImportedTransaction parseRow(String header, String line, String fileName,
+                                                          int lineNumber) {
+                throw new NumberFormatException("Character N is neither a decimal digit");
+            }
+
             @Override public String[] getExpectedHeaders() {
                 return new String[] {"Date", "Amount", "Description"};
             }
@@ -137,4 +150,109 @@ class CsvStatementSourceTest {
             .hasMessageContaining("Unexpected error reading")
             .hasCauseInstanceOf(NumberFormatException.class);
     }
+
+    /** A line-level parser over "Date,Amount,Description" rows, exercising the streaming path. */
+    private static final class LineParser extends AbstractBankCsvParser {
+        @Override public String getBankName() {
+            return "LineBank";
+        }
+
+        @Override public String[] getExpectedHeaders() {
+            return new String[] {"Date", "Amount", "Description"};
+        }
+
+        @Override protected ImportedTransaction parseLine(String line, String fileName, int lineNumber) {
+            String[] fields = parseCsvLine(line);
+            return new ImportedTransaction(LocalDate.parse(fields[0]), new BigDecimal(fields[1]),
+                fields[2], null, null);
+        }
+    }
+
+    private static String sha256(String content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+            .digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("streams parsed rows to the sink and hashes the file in the same pass")
+    void streamsRowsAndHashesContent() throws Exception {
+        String content = "Date,Amount,Description\n2025-05-01,100.00,Payment\n\n2025-05-02,-20.00,Fuel\n";
+        Path file = tempDir.resolve("stream.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        CsvStatementSource source = new CsvStatementSource(file, StandardCharsets.UTF_8, new LineParser());
+        List<ImportedTransaction> received = new ArrayList<>();
+
+        StatementSummary summary = source.stream(received::add);
+
+        assertThat(received).extracting(ImportedTransaction::description).containsExactly("Payment", "Fuel");
+        assertThat(summary.transactionCount()).isEqualTo(2);
+        assertThat(summary.sourceType()).isEqualTo("csv");
+        assertThat(summary.sourceReference()).isEqualTo("stream.csv");
+        assertThat(summary.detectedFormat()).isEqualTo("LineBank");
+        assertThat(summary.contentSha256()).isEqualTo(sha256(content));
+    }
+
+    @Test
+    @DisplayName("streams a parser that only implements the row-level contract, never reading the whole file")
+    void streamsRowLevelParser() throws Exception {
+        BankCsvParser rowParser = new BankCsvParser() {
+            @Override public String getBankName() {
+                return "RowBank";
+            }
+
+            @Override public boolean canParse(String[] headers) {
+                return true;
+            }
+
+            @Override public List<ImportedTransaction> parse(Path csvFile, Charset charset) {
+                throw new AssertionError("streamed parsers are not asked for the whole file");
+            }
+
+            @Override public ImportedTransaction parseRow(String header, String line, String fileName,
+                                                          int lineNumber) {
+                assertThat(header).isEqualTo("Date,Amount,Description");
+                String[] fields = line.split(",");
+                return txn(fields[1], fields[2]);
+            }
+
+            @Override public String[] getExpectedHeaders() {
+                return new String[] {"Date", "Amount", "Description"};
+            }
+        };
+        CsvStatementSource source = new CsvStatementSource(csvWithHeader(), StandardCharsets.UTF_8, rowParser);
+        List<ImportedTransaction> received = new ArrayList<>();
+
+        StatementSummary summary = source.stream(received::add);
+
+        assertThat(received).extracting(ImportedTransaction::description).containsExactly("Payment");
+        assertThat(summary.contentSha256())
+            .isEqualTo(sha256("Date,Amount,Description\n2025-05-01,100.00,Payment\n"));
+    }
+
+    @Test
+    @DisplayName("streams a format without a header line from its first row")
+    void streamsHeaderlessFormat() throws Exception {
+        Path file = tempDir.resolve("headerless.csv");
+        Files.writeString(file, "15/06/2025,Coffee,-3.50\n16/06/2025,Client,200.00\n", StandardCharsets.UTF_8);
+        ManualMappingParser parser = new ManualMappingParser(new ManualMappingParser.ColumnMapping.Builder()
+            .dateColumn(0).descriptionColumn(1).amountColumn(2).hasHeaderRow(false).build());
+        List<ImportedTransaction> received = new ArrayList<>();
+
+        StatementSummary summary = new CsvStatementSource(file, StandardCharsets.UTF_8, parser).stream(received::add);
+
+        assertThat(summary.transactionCount()).isEqualTo(2);
+        assertThat(received).extracting(ImportedTransaction::description).containsExactly("Coffee", "Client");
+    }
+
+    @Test
+    @DisplayName("reports an exception thrown by the sink as the cause")
+    void wrapsSinkFailure() throws Exception {
+        CsvStatementSource source = new CsvStatementSource(csvWithHeader(), StandardCharsets.UTF_8, new LineParser());
+
+        assertThatThrownBy(() -> source.stream(tx -> {
+            throw new IllegalStateException("sink full");
+        }))
+            .isInstanceOf(StatementSourceException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
 }
@@ -211,6 +211,62 @@ class ErrorTolerantCsvParserTest {
         }
     }
 
+    @Nested
+    @DisplayName("Line-Level Contract Tests")
+    class LineLevelContractTests {
+
+        @Test
+        @DisplayName("should report file line numbers when blank lines precede an error")
+        void shouldReportFileLineNumbersAfterBlankLines() throws IOException {
+            String csv = """
+                Date,Description,Money Out,Money In,Balance
+
+                15/06/2025,VALID EXPENSE,10.00,,990.00
+
+                INVALID_DATE,BAD ROW,10.00,,990.00
+                """;
+            Path csvFile = createCsvFile(csv);
+
+            CsvParseResult result = ErrorTolerantCsvParser.parse(barclaysParser, csvFile, StandardCharsets.UTF_8);
+
+            assertThat(result.transactions()).hasSize(1);
+            assertThat(result.errors()).singleElement()
+                .extracting(CsvParseError::lineNumber).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("should parse manually mapped rows and collect errors per row")
+        void shouldParseManualMappingRows() throws IOException {
+            String csv = """
+                When,What,How Much
+                2025-06-15,CLIENT PAYMENT,150.00
+                2025-06-16,,20.00
+                2025-06-17,STATIONERY,-12.50
+                """;
+            Path csvFile = createCsvFile(csv);
+            ManualMappingParser parser = new ManualMappingParser(new ManualMappingParser.ColumnMapping.Builder()
+                .dateColumn(0).descriptionColumn(1).amountColumn(2).build());
+
+            CsvParseResult result = ErrorTolerantCsvParser.parse(parser, csvFile, StandardCharsets.UTF_8);
+
+            assertThat(result.transactions()).extracting(ImportedTransaction::amount)
+                .containsExactly(new BigDecimal("150.00"), new BigDecimal("-12.50"));
+            assertThat(result.errors()).singleElement()
+                .extracting(CsvParseError::lineNumber).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("should parse a single row from in-memory text")
+        void shouldParseSingleRowInMemory() {
+            ImportedTransaction tx = barclaysParser.parseRow(
+                "Date,Description,Money Out,Money In,Balance",
+                "15/06/2025,COFFEE,3.50,,996.50", "statement.csv", 2);
+
+            assertThat(tx.date()).isEqualTo(LocalDate.of(2025, 6, 15));
+            assertThat(tx.amount()).isEqualByComparingTo("-3.50");
+        }
+    }
+
     private Path createCsvFile(String content) throws IOException {
         Path file = tempDir.resolve("test.csv");
         Files.writeString(file, content, StandardCharsets.UTF_8);
@@ -0,0 +1,170 @@
+package uk.selfemploy.core.bankimport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.common.enums.IncomeCategory;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for KeywordAutomaton and the shared DescriptionKeywords tables.
+ *
+ * Tests cover:
+ * - Substring and whole-word matching
+ * - Priority within a group
+ * - Normalization equivalence with the regex it replaces
+ * - Equivalence with per-keyword substring and regex matching on generated descriptions
+ */
+@DisplayName("KeywordAutomaton Tests")
+class KeywordAutomatonTest {
+
+    @Nested
+    @DisplayName("Matching")
+    class Matching {
+
+        @Test
+        @DisplayName("should report the first-added keyword of each group")
+        void shouldReportHighestPriorityPerGroup() {
+            KeywordAutomaton.Builder builder = KeywordAutomaton.builder(2);
+            int train = builder.add("train", false, 0);
+            int trainline = builder.add("trainline", false, 0);
+            int line = builder.add("line", false, 1);
+            KeywordAutomaton automaton = builder.build();
+
+            assertThat(automaton.scan("trainline ticket")).containsExactly(train, line);
+            assertThat(trainline).isGreaterThan(train);
+        }
+
+        @Test
+        @DisplayName("should find keywords that are suffixes of other keywords")
+        void shouldFindOverlappingKeywords() {
+            KeywordAutomaton.Builder builder = KeywordAutomaton.builder(1);
+            builder.add("national rail", false, 0);
+            int rail = builder.add("rail", false, 0);
+            KeywordAutomaton automaton = builder.build();
+
+            assertThat(automaton.scan("nationwide rail")).containsExactly(rail);
+        }
+
+        @Test
+        @DisplayName("should require word boundaries for whole-word keywords")
+        void shouldRequireWordBoundaries() {
+            KeywordAutomaton.Builder builder = KeywordAutomaton.builder(1);
+            int atm = builder.add("atm", true, 0);
+            KeywordAutomaton automaton = builder.build();
+
+            assertThat(automaton.scan("atmosphere")).containsExactly(KeywordAutomaton.NO_MATCH);
+            assertThat(automaton.scan("hatm")).containsExactly(KeywordAutomaton.NO_MATCH);
+            assertThat(automaton.scan("atm")).containsExactly(atm);
+            assertThat(automaton.scan("lnk atm-123")).containsExactly(atm);
+        }
+
+        @Test
+        @DisplayName("should reject empty keywords and unknown groups")
+        void shouldRejectInvalidKeywords() {
+            KeywordAutomaton.Builder builder = KeywordAutomaton.builder(1);
+
+            assertThatThrownBy(() -> builder.add("", false, 0)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> builder.add("fee", false, 1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Normalization")
+    class Normalization {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "   ", "Tesco", "  TESCO   STORES  ", "a\tb", "a \t\n b", "x\u000Bx",
+            "\u0001 lead", "trail \u0001", "CARD  PAYMENT TO\r\nSHELL"})
+        @DisplayName("should match the regex normalization")
+        void shouldMatchRegexNormalization(String description) {
+            assertThat(KeywordAutomaton.normalize(description))
+                .isEqualTo(description.toLowerCase().trim().replaceAll("\\s+", " "));
+        }
+
+        @Test
+        @DisplayName("should normalize null to empty")
+        void shouldNormalizeNullToEmpty() {
+            assertThat(KeywordAutomaton.normalize(null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Equivalence with per-keyword matching")
+    class Equivalence {
+
+        @Test
+        @DisplayName("should agree with substring and regex matching on generated descriptions")
+        void shouldAgreeWithPerKeywordMatching() {
+            Random random = new Random(11);
+            String[] words = {
+                "tfr", "transfer", "fpi", "hmrc", "loan", "repayment", "payment", "cc", "credit", "card",
+                "atm", "atmosphere", "cash", "w/d", "cashpoint", "amazon", "bt", "ee", "three", "o2", "sky",
+                "coffee", "trainline", "national", "rail", "shell", "bp", "rent", "current", "water", "fee",
+                "interest", "refund", "dividend", "tesco", "stores", "ltd", "ref", "2231", "-", "/", "*"
+            };
+            String[] separators = {" ", "  ", "\t", "-", "", "*"};
+
+            for (int i = 0; i < 20_000; i++) {
+                StringBuilder description = new StringBuilder();
+                int count = 1 + random.nextInt(6);
+                for (int w = 0; w < count; w++) {
+                    if (w > 0) {
+                        description.append(separators[random.nextInt(separators.length)]);
+                    }
+                    String word = words[random.nextInt(words.length)];
+                    description.append(random.nextBoolean() ? word.toUpperCase() : word);
+                }
+                String text = description.toString();
+
+                DescriptionKeywords.Matches matches = DescriptionKeywords.scan(text);
+                assertThat(matches.exclusionReason()).as(text).isEqualTo(legacyExclusion(text));
+                assertThat(matches.expenseCategory()).as(text).isEqualTo(legacyExpense(text));
+                assertThat(matches.incomeCategory()).as(text).isEqualTo(legacyIncome(text));
+            }
+        }
+    }
+
+    private static String legacyNormalize(String description) {
+        return description.toLowerCase().trim().replaceAll("\\s+", " ");
+    }
+
+    private static String legacyExclusion(String description) {
+        String normalized = legacyNormalize(description);
+        for (ExclusionRulesEngine.ExclusionRule rule : ExclusionRulesEngine.EXCLUSION_RULES) {
+            if (Pattern.compile("\\b" + Pattern.quote(rule.keyword()) + "\\b").matcher(normalized).find()) {
+                return rule.reason();
+            }
+        }
+        return null;
+    }
+
+    private static ExpenseCategory legacyExpense(String description) {
+        String normalized = legacyNormalize(description);
+        for (Map.Entry<String, ExpenseCategory> entry : DescriptionCategorizer.EXPENSE_KEYWORDS.entrySet()) {
+            if (normalized.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static IncomeCategory legacyIncome(String description) {
+        String normalized = legacyNormalize(description);
+        for (Map.Entry<String, IncomeCategory> entry : DescriptionCategorizer.INCOME_KEYWORDS.entrySet()) {
+            if (normalized.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
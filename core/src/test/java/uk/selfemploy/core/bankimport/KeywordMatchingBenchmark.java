@@ -0,0 +1,131 @@
+package uk.selfemploy.core.bankimport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.enums.ExpenseCategory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * JMH benchmark for {@link CategorizationEngine#recommend} on 100k bank descriptions,
+ * against the per-rule matching it replaced: one {@code \b…\b} regex per exclusion
+ * rule and one {@code contains} per category keyword.
+ *
+ * <p>Descriptions are built from the shapes UK bank exports produce (card payments,
+ * faster payments, direct debits, standing orders) with merchant names that hit, miss
+ * and nearly hit the keyword tables. Not run by surefire — see the core pom for the
+ * command line.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeywordMatchingBenchmark {
+
+    private static final int DESCRIPTIONS = 100_000;
+    private static final UUID BUSINESS_ID = UUID.randomUUID();
+    private static final UUID IMPORT_AUDIT_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2025-06-15T10:00:00Z");
+
+    private static final String[] PREFIXES = {
+        "CARD PAYMENT TO ", "DD ", "SO ", "FPI ", "FPO ", "BGC ", "POS ", "CONTACTLESS ", "TFR ", ""
+    };
+    private static final String[] MERCHANTS = {
+        "TESCO STORES 2231", "AMAZON MKTP UK*AB12CD", "SHELL FUEL STATION", "TRAINLINE.COM", "UBER *TRIP",
+        "PREMIER INN LONDON", "BT GROUP PLC", "VODAFONE LTD", "OCTOPUS ENERGY", "BRITISH GAS SERVICES",
+        "HMRC SELF ASSESSMENT", "ACME LTD INVOICE 1042", "JOHN SMITH", "LINK ATM 0031", "ATMOSPHERE CAFE",
+        "COSTA COFFEE", "PRET A MANGER", "NATIONWIDE BS", "LOAN REPAYMENT 77", "ADOBE CREATIVE CLOUD",
+        "GOOGLE ADS 8812", "SAVINGS ACCOUNT", "INTEREST PAID", "PAYPAL *CLIENTCO", "STRIPE PAYOUT"
+    };
+    private static final String[] SUFFIXES = {"", " ON 15 JUN", " REF 00412", " GB", " LONDON GBR"};
+
+    private List<BankTransaction> transactions;
+    private CategorizationEngine engine;
+    private List<Pattern> legacyExclusionPatterns;
+    private List<String> legacyExclusionReasons;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(17);
+        transactions = new ArrayList<>(DESCRIPTIONS);
+        for (int i = 0; i < DESCRIPTIONS; i++) {
+            String description = PREFIXES[random.nextInt(PREFIXES.length)]
+                + MERCHANTS[random.nextInt(MERCHANTS.length)]
+                + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(50_000), 2);
+            transactions.add(BankTransaction.create(
+                BUSINESS_ID, IMPORT_AUDIT_ID, "csv-benchmark", LocalDate.of(2025, 6, 15),
+                random.nextInt(4) == 0 ? amount : amount.negate(), description,
+                null, null, "hash-" + i, NOW));
+        }
+
+        engine = new CategorizationEngine(
+            new TransactionClassificationService(new DescriptionCategorizer()), new ExclusionRulesEngine());
+
+        legacyExclusionPatterns = new ArrayList<>();
+        legacyExclusionReasons = new ArrayList<>();
+        for (ExclusionRulesEngine.ExclusionRule rule : ExclusionRulesEngine.EXCLUSION_RULES) {
+            legacyExclusionPatterns.add(Pattern.compile("\\b" + Pattern.quote(rule.keyword()) + "\\b"));
+            legacyExclusionReasons.add(rule.reason());
+        }
+    }
+
+    @Benchmark
+    public void automaton(Blackhole blackhole) {
+        for (BankTransaction tx : transactions) {
+            blackhole.consume(engine.recommend(tx));
+        }
+    }
+
+    @Benchmark
+    public void perRuleMatching(Blackhole blackhole) {
+        for (BankTransaction tx : transactions) {
+            blackhole.consume(legacyRecommend(tx));
+        }
+    }
+
+    /**
+     * The matching work of {@code recommend} before the automaton: the description was
+     * normalized and scanned once per exclusion rule, then again once per keyword.
+     */
+    private Object legacyRecommend(BankTransaction tx) {
+        String normalized = tx.description().toLowerCase().trim().replaceAll("\\s+", " ");
+        for (int i = 0; i < legacyExclusionPatterns.size(); i++) {
+            if (legacyExclusionPatterns.get(i).matcher(normalized).find()) {
+                return legacyExclusionReasons.get(i);
+            }
+        }
+
+        normalized = tx.description().toLowerCase().trim().replaceAll("\\s+", " ");
+        Map<String, ?> keywords = tx.isIncome()
+            ? DescriptionCategorizer.INCOME_KEYWORDS
+            : DescriptionCategorizer.EXPENSE_KEYWORDS;
+        for (Map.Entry<String, ?> entry : keywords.entrySet()) {
+            if (normalized.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return tx.isIncome() ? null : ExpenseCategory.OTHER_EXPENSES;
+    }
+}
@@ -0,0 +1,91 @@
+package uk.selfemploy.core.dedup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.selfemploy.core.bankimport.ImportedTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH regression benchmark for {@link DuplicateMatcher} against the full scan it
+ * replaced in DuplicateDetectionService, where every import was compared with every
+ * existing record in the imports' date range.
+ *
+ * <p>Existing records are spread over a tax year and imports cover the same year, the
+ * shape of re-importing a full-year statement. Not run by surefire — see the core pom
+ * for the command line.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DuplicateMatcherBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 4, 6);
+    private static final String[] MERCHANTS = {
+        "TESCO STORES", "AMAZON MKTP UK", "SHELL FUEL", "TRAINLINE", "ACME LTD INVOICE", "BT GROUP",
+        "ADOBE CREATIVE CLOUD", "COSTA COFFEE", "OCTOPUS ENERGY", "CLIENTCO PAYMENT"
+    };
+
+    @Param({"10000"})
+    private int existingRecords;
+
+    @Param({"500", "5000"})
+    private int importCount;
+
+    private List<DuplicateMatcher.ExistingRecord> records;
+    private List<ImportedTransaction> imports;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(31);
+        records = new ArrayList<>(existingRecords);
+        for (int i = 0; i < existingRecords; i++) {
+            records.add(new DuplicateMatcher.ExistingRecord(UUID.randomUUID(), START.plusDays(random.nextInt(365)),
+                BigDecimal.valueOf(100 + random.nextInt(20_000), 2), description(random, i)));
+        }
+        imports = new ArrayList<>(importCount);
+        for (int i = 0; i < importCount; i++) {
+            if (i % 4 == 0) {
+                // Re-imported record: exact or near-exact duplicate
+                DuplicateMatcher.ExistingRecord record = records.get(random.nextInt(records.size()));
+                imports.add(new ImportedTransaction(record.date(), record.amount().negate(),
+                    i % 8 == 0 ? record.description() : record.description() + "X", null, null));
+            } else {
+                imports.add(new ImportedTransaction(START.plusDays(random.nextInt(365)),
+                    BigDecimal.valueOf(100 + random.nextInt(20_000), 2).negate(), description(random, i), null, null));
+            }
+        }
+    }
+
+    private static String description(Random random, int i) {
+        return MERCHANTS[random.nextInt(MERCHANTS.length)] + " " + (i % 1000);
+    }
+
+    @Benchmark
+    public List<DuplicateMatch> sortedWindow() {
+        return DuplicateMatcher.match(imports, records);
+    }
+
+    @Benchmark
+    public List<DuplicateMatch> fullScan() {
+        return DuplicateMatcherTest.fullScan(imports, records);
+    }
+}
@@ -0,0 +1,207 @@
+package uk.selfemploy.core.dedup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import uk.selfemploy.core.bankimport.ImportedTransaction;
+import uk.selfemploy.core.reconciliation.MatchingUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for DuplicateMatcher.
+ *
+ * Tests cover:
+ * - Tier selection within a date window
+ * - Tie-breaking by the order of the existing records
+ * - Result order for unsorted imports
+ * - Equivalence with comparing every import against every record
+ */
+@DisplayName("DuplicateMatcher Tests")
+class DuplicateMatcherTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 15);
+
+    private static ImportedTransaction imported(LocalDate date, String amount, String description) {
+        return new ImportedTransaction(date, new BigDecimal(amount), description, null, null);
+    }
+
+    private static DuplicateMatcher.ExistingRecord existing(LocalDate date, String amount, String description) {
+        return new DuplicateMatcher.ExistingRecord(UUID.randomUUID(), date, new BigDecimal(amount), description);
+    }
+
+    @Nested
+    @DisplayName("Tiers")
+    class Tiers {
+
+        @Test
+        @DisplayName("should match by absolute amount within the import's date only")
+        void shouldMatchWithinDate() {
+            var sameDay = existing(DATE, "50.00", "Office Supplies");
+            var nextDay = existing(DATE.plusDays(1), "50.00", "Office Supplies");
+
+            List<DuplicateMatch> matches = DuplicateMatcher.match(
+                List.of(imported(DATE, "-50.00", "OFFICE  SUPPLIES"), imported(DATE.plusDays(2), "-50.00", "Office Supplies")),
+                List.of(nextDay, sameDay));
+
+            assertThat(matches.get(0).matchType()).isEqualTo(MatchType.EXACT);
+            assertThat(matches.get(0).existingRecordId()).isEqualTo(sameDay.id());
+            assertThat(matches.get(1).matchType()).isEqualTo(MatchType.NONE);
+        }
+
+        @Test
+        @DisplayName("should prefer the most similar LIKELY candidate, then the earliest record")
+        void shouldBreakLikelyTiesByRecordOrder() {
+            var first = existing(DATE, "100.00", "Acme Ltd Invoice 1");
+            var second = existing(DATE, "100.00", "Acme Ltd Invoice 2");
+            var closer = existing(DATE, "100.00", "Acme Ltd Invoice 12");
+
+            DuplicateMatch tie = DuplicateMatcher.match(
+                List.of(imported(DATE, "100.00", "Acme Ltd Invoice 3")), List.of(first, second)).get(0);
+            DuplicateMatch best = DuplicateMatcher.match(
+                List.of(imported(DATE, "100.00", "Acme Ltd Invoice 123")), List.of(first, closer)).get(0);
+
+            assertThat(tie.matchType()).isEqualTo(MatchType.LIKELY);
+            assertThat(tie.existingRecordId()).isEqualTo(first.id());
+            assertThat(best.existingRecordId()).isEqualTo(closer.id());
+        }
+
+        @Test
+        @DisplayName("should report the first record in the 5% band as DATE_ONLY")
+        void shouldReportFirstDateOnlyRecord() {
+            var outside = existing(DATE, "94.00", "Something");
+            var later = existing(DATE, "96.00", "Other");
+            var earlier = existing(DATE, "104.00", "Different");
+
+            DuplicateMatch match = DuplicateMatcher.match(
+                List.of(imported(DATE, "100.00", "Unrelated")), List.of(outside, earlier, later)).get(0);
+
+            assertThat(match.matchType()).isEqualTo(MatchType.DATE_ONLY);
+            assertThat(match.existingRecordId()).isEqualTo(earlier.id());
+        }
+
+        @Test
+        @DisplayName("should let the last record win for a repeated exact key")
+        void shouldKeepLastExactRecord() {
+            var first = existing(DATE, "10.00", "Coffee");
+            var last = existing(DATE, "10", "coffee");
+
+            DuplicateMatch match = DuplicateMatcher.match(
+                List.of(imported(DATE, "-10.00", "Coffee")), List.of(first, last)).get(0);
+
+            assertThat(match.existingRecordId()).isEqualTo(last.id());
+        }
+
+        @Test
+        @DisplayName("should return results in import order and handle empty inputs")
+        void shouldKeepImportOrder() {
+            List<ImportedTransaction> imports = List.of(
+                imported(DATE.plusDays(3), "1.00", "c"), imported(DATE, "1.00", "a"), imported(DATE.plusDays(1), "1.00", "b"));
+
+            List<DuplicateMatch> matches = DuplicateMatcher.match(imports, null);
+
+            assertThat(matches).extracting(DuplicateMatch::imported).containsExactlyElementsOf(imports);
+            assertThat(DuplicateMatcher.match(List.of(), List.of())).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Equivalence with comparing every pair")
+    class Equivalence {
+
+        @Test
+        @DisplayName("should agree with a full scan on generated data")
+        void shouldAgreeWithFullScan() {
+            Random random = new Random(23);
+            String[] words = {"Acme", "Ltd", "Invoice", "Tesco", "Stores", "Coffee", "Fuel", "Shell", "Rent", "Fee"};
+
+            for (int round = 0; round < 50; round++) {
+                List<DuplicateMatcher.ExistingRecord> records = new ArrayList<>();
+                for (int i = 0; i < 300; i++) {
+                    records.add(existing(DATE.plusDays(random.nextInt(20)), randomAmount(random),
+                        randomDescription(random, words)));
+                }
+                List<ImportedTransaction> imports = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    String amount = randomAmount(random);
+                    imports.add(imported(DATE.plusDays(random.nextInt(25)),
+                        random.nextBoolean() ? amount : "-" + amount, randomDescription(random, words)));
+                }
+
+                assertThat(DuplicateMatcher.match(imports, records)).isEqualTo(fullScan(imports, records));
+            }
+        }
+    }
+
+    private static String randomAmount(Random random) {
+        return BigDecimal.valueOf(95 + random.nextInt(11), 0)
+            .setScale(random.nextInt(3)).toPlainString();
+    }
+
+    private static String randomDescription(Random random, String[] words) {
+        StringBuilder description = new StringBuilder(words[random.nextInt(words.length)]);
+        for (int i = random.nextInt(3); i > 0; i--) {
+            description.append(random.nextBoolean() ? " " : "  ").append(words[random.nextInt(words.length)]);
+        }
+        return random.nextBoolean() ? description.toString().toUpperCase() : description.toString();
+    }
+
+    /**
+     * The detection rules applied by comparing each import with every record, as
+     * DuplicateDetectionService did before DuplicateMatcher.
+     */
+    static List<DuplicateMatch> fullScan(List<ImportedTransaction> imports,
+                                         List<DuplicateMatcher.ExistingRecord> records) {
+        Map<String, DuplicateMatcher.ExistingRecord> exact = new HashMap<>();
+        for (var record : records) {
+            exact.put(MatchingUtils.createExactKey(record.date(), record.amount(), record.description()), record);
+        }
+
+        List<DuplicateMatch> results = new ArrayList<>();
+        for (ImportedTransaction imported : imports) {
+            BigDecimal amount = imported.amount().abs();
+            var exactMatch = exact.get(MatchingUtils.createExactKey(imported.date(), amount, imported.description()));
+            if (exactMatch != null) {
+                results.add(DuplicateMatch.exactMatch(imported, exactMatch.id(), exactMatch.description()));
+                continue;
+            }
+
+            String normalized = MatchingUtils.normalizeDescription(imported.description());
+            record Scored(DuplicateMatcher.ExistingRecord record, double similarity) {}
+            Optional<Scored> likely = records.stream()
+                .filter(r -> r.date().equals(imported.date()))
+                .filter(r -> r.amount().compareTo(amount) == 0)
+                .map(r -> new Scored(r, MatchingUtils.calculateSimilarity(normalized,
+                    MatchingUtils.normalizeDescription(r.description()))))
+                .filter(s -> s.similarity() >= MatchingUtils.LIKELY_THRESHOLD)
+                .max(Comparator.comparingDouble(Scored::similarity));
+            if (likely.isPresent()) {
+                results.add(DuplicateMatch.likelyMatch(imported, likely.get().similarity(),
+                    likely.get().record().id(), likely.get().record().description()));
+                continue;
+            }
+
+            BigDecimal lower = amount.multiply(new BigDecimal("0.95"));
+            BigDecimal upper = amount.multiply(new BigDecimal("1.05"));
+            Optional<DuplicateMatcher.ExistingRecord> dateOnly = records.stream()
+                .filter(r -> r.date().equals(imported.date()))
+                .filter(r -> r.amount().compareTo(lower) >= 0 && r.amount().compareTo(upper) <= 0)
+                .findFirst();
+            results.add(dateOnly
+                .map(r -> DuplicateMatch.dateOnlyMatch(imported, r.id(), r.description()))
+                .orElseGet(() -> DuplicateMatch.noMatch(imported)));
+        }
+        return results;
+    }
+}
@@ -1,5 +1,7 @@
 package uk.selfemploy.core.export;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,6 +18,7 @@ import uk.selfemploy.common.enums.IncomeCategory;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
@@ -28,6 +31,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 /**
@@ -55,6 +59,9 @@ class DataExportServiceTest {
     @BeforeEach
     void setUp() {
         exportService = new DataExportService(incomeService, expenseService);
+        // The JSON export reads through forEachInTaxYear; its default walks the stubbed findByTaxYear
+        lenient().doCallRealMethod().when(incomeService).forEachInTaxYear(any(), any(), any());
+        lenient().doCallRealMethod().when(expenseService).forEachInTaxYear(any(), any(), any());
     }
 
     @Nested
@@ -752,6 +759,84 @@ class DataExportServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Streaming JSON Export Tests")
+    class StreamingJsonExportTests {
+
+        @Test
+        @DisplayName("should write every record to the stream and leave it open")
+        void shouldWriteToStreamWithoutClosingIt() throws IOException {
+            // Given
+            when(incomeService.findByTaxYear(eq(BUSINESS_ID), any(TaxYear.class)))
+                .thenReturn(List.of(createIncome("Invoice 1", "100.00"), createIncome("Invoice 2", "200.00")));
+            when(expenseService.findByTaxYear(eq(BUSINESS_ID), any(TaxYear.class)))
+                .thenReturn(List.of(createExpense("Printer ink", "30.00")));
+            boolean[] closed = {false};
+            ByteArrayOutputStream out = new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            };
+
+            // When
+            DataExportService.JsonExportCounts counts = exportService.writeJsonExport(
+                BUSINESS_ID, new TaxYear[]{TAX_YEAR_2025}, ExportOptions.noFilter(), out);
+
+            // Then
+            assertThat(counts.incomeCount()).isEqualTo(2);
+            assertThat(counts.expenseCount()).isEqualTo(1);
+            assertThat(closed[0]).isFalse();
+            JsonNode root = new ObjectMapper().readTree(out.toByteArray());
+            assertThat(root.get("incomes")).hasSize(2);
+            assertThat(root.get("expenses").get(0).get("description").asText()).isEqualTo("Printer ink");
+            assertThat(root.get("expenses").get(0).get("businessUsePercentage").asInt()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("should write records oldest first and leave out those outside the date filter")
+        void shouldOrderAndFilterRecords() throws IOException {
+            // Given
+            when(incomeService.findByTaxYear(eq(BUSINESS_ID), any(TaxYear.class)))
+                .thenReturn(List.of(
+                    createIncomeWithDate("August", "100.00", LocalDate.of(2025, 8, 1)),
+                    createIncomeWithDate("May", "100.00", LocalDate.of(2025, 5, 1)),
+                    createIncomeWithDate("January", "100.00", LocalDate.of(2026, 1, 10))));
+            when(expenseService.findByTaxYear(eq(BUSINESS_ID), any(TaxYear.class)))
+                .thenReturn(List.of());
+            ExportOptions options = new ExportOptions(LocalDate.of(2025, 4, 6), LocalDate.of(2025, 12, 31));
+
+            // When
+            DataExportService.JsonExport export =
+                exportService.buildJsonExport(BUSINESS_ID, new TaxYear[]{TAX_YEAR_2025}, options);
+
+            // Then
+            assertThat(export.incomeCount()).isEqualTo(2);
+            JsonNode incomes = new ObjectMapper().readTree(export.json()).get("incomes");
+            assertThat(incomes.get(0).get("description").asText()).isEqualTo("May");
+            assertThat(incomes.get(1).get("description").asText()).isEqualTo("August");
+        }
+
+        @Test
+        @DisplayName("should keep the previous file when the export fails part way")
+        void shouldKeepPreviousFileOnFailure() throws IOException {
+            // Given
+            Path outputFile = tempDir.resolve("export.json");
+            Files.writeString(outputFile, "previous backup");
+            when(incomeService.findByTaxYear(eq(BUSINESS_ID), any(TaxYear.class)))
+                .thenReturn(List.of(createIncome("Invoice 1", "100.00")));
+            when(expenseService.findByTaxYear(eq(BUSINESS_ID), any(TaxYear.class)))
+                .thenThrow(new IllegalStateException("database closed"));
+
+            // When / Then
+            assertThatThrownBy(() ->
+                exportService.exportToJson(BUSINESS_ID, new TaxYear[]{TAX_YEAR_2025}, outputFile)
+            ).isInstanceOf(IllegalStateException.class);
+            assertThat(Files.readString(outputFile)).isEqualTo("previous backup");
+            assertThat(tempDir.resolve("export.json.part")).doesNotExist();
+        }
+    }
+
     // Helper methods
 
     private Income createIncome(String description, String amount) {
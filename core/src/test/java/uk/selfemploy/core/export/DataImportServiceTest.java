@@ -14,14 +14,17 @@ import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.common.enums.IncomeCategory;
+import uk.selfemploy.core.exception.ValidationException;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -470,13 +473,8 @@ class DataImportServiceTest {
             Path jsonFile = tempDir.resolve("import.json");
             Files.writeString(jsonFile, jsonContent);
 
-            Income mockIncome = createMockIncome("Consulting", "1000.00");
-            Expense mockExpense = createMockExpense("Office supplies", "50.00");
-
-            when(incomeService.create(eq(BUSINESS_ID), any(), any(), anyString(), any(), any()))
-                .thenReturn(mockIncome);
-            when(expenseService.create(eq(BUSINESS_ID), any(), any(), anyString(), any(), any(), any(), anyInt()))
-                .thenReturn(mockExpense);
+            when(incomeService.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(expenseService.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
             ImportResult result = importService.importJson(
@@ -488,8 +486,11 @@ class DataImportServiceTest {
             // Then
             assertThat(result.success()).isTrue();
             assertThat(result.importedCount()).isEqualTo(2);
-            verify(incomeService, times(1)).create(any(), any(), any(), any(), any(), any());
-            verify(expenseService, times(1)).create(any(), any(), any(), any(), any(), any(), any(), anyInt());
+            verify(incomeService, times(1)).createAll(argThat(drafts -> drafts.size() == 1
+                && drafts.get(0).businessId().equals(BUSINESS_ID)
+                && drafts.get(0).reference().equals("INV-001")));
+            verify(expenseService, times(1)).createAll(argThat(drafts -> drafts.size() == 1
+                && drafts.get(0).notes().equals("Monthly order")));
         }
 
         @Test
@@ -513,6 +514,130 @@ class DataImportServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Streaming JSON Import Tests")
+    class StreamingJsonImportTests {
+
+        private String exportWithIncomes(int count) {
+            StringBuilder json = new StringBuilder("{\"metadata\": {\"appVersion\": \"0.1.0\"}, \"incomes\": [");
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"date\": \"2025-06-15\", \"amount\": \"10.00\", \"description\": \"Invoice ")
+                    .append(i).append("\", \"category\": \"SALES\"}");
+            }
+            return json.append("]}").toString();
+        }
+
+        @Test
+        @DisplayName("should save records in chunks rather than one at a time")
+        void shouldSaveInChunks() {
+            // Given
+            List<Integer> chunkSizes = new ArrayList<>();
+            when(incomeService.createAll(anyList())).thenAnswer(invocation -> {
+                List<Income> drafts = invocation.getArgument(0);
+                chunkSizes.add(drafts.size());
+                return drafts;
+            });
+            byte[] json = exportWithIncomes(DataImportService.IMPORT_CHUNK_SIZE + 1).getBytes();
+
+            // When
+            ImportResult result = importService.importJson(BUSINESS_ID, json, new ImportOptions(false, false));
+
+            // Then
+            assertThat(result.importedCount()).isEqualTo(DataImportService.IMPORT_CHUNK_SIZE + 1);
+            assertThat(chunkSizes).containsExactly(DataImportService.IMPORT_CHUNK_SIZE, 1);
+            verify(incomeService, never()).create(any(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should retry a rejected chunk record by record and skip only the bad one")
+        void shouldRetryRejectedChunkRecordByRecord() {
+            // Given
+            when(incomeService.createAll(anyList())).thenAnswer(invocation -> {
+                List<Income> drafts = invocation.getArgument(0);
+                if (drafts.stream().anyMatch(draft -> draft.description().equals("Invoice 1"))) {
+                    throw new ValidationException("description", "Description is not allowed");
+                }
+                return drafts;
+            });
+
+            // When
+            ImportResult result = importService.importJson(
+                BUSINESS_ID, exportWithIncomes(3).getBytes(), new ImportOptions(false, false));
+
+            // Then
+            assertThat(result.importedCount()).isEqualTo(2);
+            assertThat(result.skippedCount()).isEqualTo(1);
+            assertThat(result.errors()).containsExactly("Income: Description is not allowed");
+        }
+
+        @Test
+        @DisplayName("should import nothing when the file breaks off part way")
+        void shouldImportNothingWhenFileBreaksOff() {
+            // Given
+            String json = exportWithIncomes(DataImportService.IMPORT_CHUNK_SIZE + 5);
+            byte[] truncated = json.substring(0, json.length() - 20).getBytes();
+
+            // When
+            ImportResult result = importService.importJson(BUSINESS_ID, truncated, new ImportOptions(false, false));
+
+            // Then
+            assertThat(result.success()).isFalse();
+            assertThat(result.importedCount()).isZero();
+            assertThat(result.errors()).anyMatch(e -> e.startsWith("Failed to read JSON file"));
+            verify(incomeService, never()).createAll(anyList());
+        }
+
+        @Test
+        @DisplayName("should open the source once to check it and once to import it, closing each stream")
+        void shouldReadSourceTwice() {
+            // Given
+            when(incomeService.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            byte[] json = exportWithIncomes(2).getBytes();
+            List<boolean[]> closed = new ArrayList<>();
+            DataImportService.JsonSource source = () -> {
+                boolean[] streamClosed = {false};
+                closed.add(streamClosed);
+                return new ByteArrayInputStream(json) {
+                    @Override
+                    public void close() {
+                        streamClosed[0] = true;
+                    }
+                };
+            };
+
+            // When
+            ImportResult result = importService.importJson(BUSINESS_ID, source, new ImportOptions(false, false));
+
+            // Then
+            assertThat(result.importedCount()).isEqualTo(2);
+            assertThat(closed).hasSize(2).allMatch(streamClosed -> streamClosed[0]);
+        }
+
+        @Test
+        @DisplayName("should preview a stream without closing it")
+        void shouldPreviewStreamWithoutClosingIt() {
+            // Given
+            boolean[] closed = {false};
+            ByteArrayInputStream in = new ByteArrayInputStream(exportWithIncomes(2).getBytes()) {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            };
+
+            // When
+            ImportPreview preview = importService.previewJsonImport(in);
+
+            // Then
+            assertThat(preview.isValid()).isTrue();
+            assertThat(preview.validRecordCount()).isEqualTo(2);
+            assertThat(closed[0]).isFalse();
+        }
+    }
+
     // Helper methods
 
     private Path createIncomeCsv(String... lines) throws IOException {
@@ -1010,13 +1135,8 @@ class DataImportServiceTest {
             Path jsonFile = tempDir.resolve("import.json");
             Files.writeString(jsonFile, jsonContent);
 
-            Income mockIncome = createMockIncome("Consulting", "1000.00");
-            Expense mockExpense = createMockExpense("Office supplies", "50.00");
-
-            when(incomeService.create(eq(BUSINESS_ID), any(), any(), anyString(), any(), any()))
-                .thenReturn(mockIncome);
-            when(expenseService.create(eq(BUSINESS_ID), any(), any(), anyString(), any(), any(), any(), anyInt()))
-                .thenReturn(mockExpense);
+            when(incomeService.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(expenseService.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
             ImportResult result = importService.importJson(
@@ -0,0 +1,265 @@
+package uk.selfemploy.core.reconciliation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.common.enums.IncomeCategory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for IncrementalReconciler - per-change reconciliation state.
+ *
+ * Tests cover:
+ * - Deltas for added, edited and deleted manual records and bank transactions
+ * - Only bank transactions on the changed dates are recomputed
+ * - Equivalence with a full ReconciliationService run after random changes
+ */
+@DisplayName("IncrementalReconciler Tests")
+class IncrementalReconcilerTest {
+
+    private static final UUID BUSINESS_ID = UUID.randomUUID();
+    private static final UUID IMPORT_AUDIT_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2025-06-15T10:00:00Z");
+    private static final LocalDate TEST_DATE = LocalDate.of(2025, 6, 15);
+
+    private IncrementalReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new IncrementalReconciler(BUSINESS_ID);
+    }
+
+    @Nested
+    @DisplayName("Changes")
+    class Changes {
+
+        @Test
+        @DisplayName("should match a bank transaction when a matching income is added")
+        void shouldMatchAddedIncome() {
+            BankTransaction credit = bankTx(new BigDecimal("1850.00"), "Client payment", TEST_DATE);
+            reconciler.reset(List.of(credit), List.of(), List.of(), NOW);
+
+            Income income = income(UUID.randomUUID(), new BigDecimal("1850.00"), "Client payment", TEST_DATE);
+            IncrementalReconciler.Delta delta = reconciler.putIncome(income, NOW);
+
+            assertThat(delta.affectedBankTransactionIds()).containsExactly(credit.id());
+            assertThat(delta.current()).singleElement()
+                .satisfies(m -> {
+                    assertThat(m.manualTransactionId()).isEqualTo(income.id());
+                    assertThat(m.matchTier()).isEqualTo(MatchTier.EXACT);
+                });
+            assertThat(delta.retired()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should retire the match when an income moves to another date")
+        void shouldRetireMatchWhenIncomeMoves() {
+            BankTransaction credit = bankTx(new BigDecimal("1850.00"), "Client payment", TEST_DATE);
+            Income income = income(UUID.randomUUID(), new BigDecimal("1850.00"), "Client payment", TEST_DATE);
+            assertThat(reconciler.reset(List.of(credit), List.of(income), List.of(), NOW)).hasSize(1);
+
+            IncrementalReconciler.Delta delta = reconciler.putIncome(
+                income(income.id(), income.amount(), income.description(), TEST_DATE.plusDays(3)), NOW);
+
+            assertThat(delta.current()).isEmpty();
+            assertThat(delta.retired()).singleElement()
+                .satisfies(m -> assertThat(m.manualTransactionId()).isEqualTo(income.id()));
+            assertThat(reconciler.matches()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should retire the match when an expense is deleted")
+        void shouldRetireMatchWhenExpenseDeleted() {
+            BankTransaction debit = bankTx(new BigDecimal("-42.50"), "Office supplies", TEST_DATE);
+            Expense expense = expense(UUID.randomUUID(), new BigDecimal("42.50"), "Office supplies", TEST_DATE);
+            reconciler.reset(List.of(debit), List.of(), List.of(expense), NOW);
+
+            IncrementalReconciler.Delta delta = reconciler.removeExpense(expense.id(), NOW);
+
+            assertThat(delta.affectedBankTransactionIds()).containsExactly(debit.id());
+            assertThat(delta.retired()).hasSize(1);
+            assertThat(reconciler.matches()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should retire the matches of an excluded bank transaction")
+        void shouldRetireMatchesOfExcludedBankTransaction() {
+            BankTransaction credit = bankTx(new BigDecimal("1850.00"), "Client payment", TEST_DATE);
+            Income income = income(UUID.randomUUID(), new BigDecimal("1850.00"), "Client payment", TEST_DATE);
+            reconciler.reset(List.of(credit), List.of(income), List.of(), NOW);
+
+            IncrementalReconciler.Delta delta = reconciler.putBankTransaction(
+                credit.withExcluded("Personal", NOW), NOW);
+
+            assertThat(delta.current()).isEmpty();
+            assertThat(delta.retired()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should only recompute bank transactions on the changed dates")
+        void shouldOnlyRecomputeChangedDates() {
+            BankTransaction sameDay = bankTx(new BigDecimal("10.00"), "Refund", TEST_DATE);
+            BankTransaction otherDay = bankTx(new BigDecimal("10.00"), "Refund", TEST_DATE.plusDays(1));
+            reconciler.reset(List.of(sameDay, otherDay), List.of(), List.of(), NOW);
+
+            IncrementalReconciler.Delta delta = reconciler.putIncome(
+                income(UUID.randomUUID(), new BigDecimal("99.00"), "Unrelated", TEST_DATE), NOW);
+
+            assertThat(delta.affectedBankTransactionIds()).containsExactly(sameDay.id());
+        }
+
+        @Test
+        @DisplayName("should return an empty delta for an unknown record")
+        void shouldIgnoreUnknownRecord() {
+            reconciler.reset(List.of(), List.of(), List.of(), NOW);
+
+            assertThat(reconciler.removeIncome(UUID.randomUUID(), NOW).isEmpty()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Equivalence with a full run")
+    class Equivalence {
+
+        private final String[] descriptions = {
+            "TESCO STORES", "tesco store", "AMAZON UK", "amazon", "SHELL", "shell fuel", "ACME LTD", "acme ltd inv"
+        };
+
+        @Test
+        @DisplayName("should hold the matches a full run finds after random changes")
+        void shouldAgreeWithFullRun() {
+            Random random = new Random(5);
+            Map<UUID, BankTransaction> bank = new LinkedHashMap<>();
+            Map<UUID, Income> incomes = new LinkedHashMap<>();
+            Map<UUID, Expense> expenses = new LinkedHashMap<>();
+            for (int i = 0; i < 30; i++) {
+                BankTransaction tx = randomBankTx(random);
+                bank.put(tx.id(), tx);
+            }
+            for (int i = 0; i < 15; i++) {
+                Income income = randomIncome(random, UUID.randomUUID());
+                incomes.put(income.id(), income);
+                Expense expense = randomExpense(random, UUID.randomUUID());
+                expenses.put(expense.id(), expense);
+            }
+            reconciler.reset(new ArrayList<>(bank.values()), new ArrayList<>(incomes.values()),
+                new ArrayList<>(expenses.values()), NOW);
+
+            for (int change = 0; change < 500; change++) {
+                switch (random.nextInt(6)) {
+                    case 0 -> {
+                        BankTransaction tx = randomBankTx(random);
+                        bank.put(tx.id(), tx);
+                        reconciler.putBankTransaction(tx, NOW);
+                    }
+                    case 1 -> {
+                        UUID id = pick(random, bank);
+                        bank.remove(id);
+                        reconciler.removeBankTransaction(id, NOW);
+                    }
+                    case 2 -> {
+                        UUID id = random.nextBoolean() ? pick(random, incomes) : UUID.randomUUID();
+                        Income income = randomIncome(random, id);
+                        incomes.remove(id);
+                        incomes.put(id, income);
+                        reconciler.putIncome(income, NOW);
+                    }
+                    case 3 -> {
+                        UUID id = pick(random, incomes);
+                        incomes.remove(id);
+                        reconciler.removeIncome(id, NOW);
+                    }
+                    case 4 -> {
+                        UUID id = random.nextBoolean() ? pick(random, expenses) : UUID.randomUUID();
+                        Expense expense = randomExpense(random, id);
+                        expenses.remove(id);
+                        expenses.put(id, expense);
+                        reconciler.putExpense(expense, NOW);
+                    }
+                    default -> {
+                        UUID id = pick(random, expenses);
+                        expenses.remove(id);
+                        reconciler.removeExpense(id, NOW);
+                    }
+                }
+
+                List<ReconciliationMatch> full = ReconciliationService.reconcile(new ArrayList<>(bank.values()),
+                    new ArrayList<>(incomes.values()), new ArrayList<>(expenses.values()), BUSINESS_ID, NOW);
+                assertThat(scores(reconciler.matches())).as("change %d", change).isEqualTo(scores(full));
+            }
+        }
+
+        private BankTransaction randomBankTx(Random random) {
+            BigDecimal amount = randomAmount(random);
+            return bankTx(random.nextBoolean() ? amount : amount.negate(),
+                descriptions[random.nextInt(descriptions.length)], randomDate(random));
+        }
+
+        private Income randomIncome(Random random, UUID id) {
+            return income(id, randomAmount(random), descriptions[random.nextInt(descriptions.length)],
+                randomDate(random));
+        }
+
+        private Expense randomExpense(Random random, UUID id) {
+            return expense(id, randomAmount(random), descriptions[random.nextInt(descriptions.length)],
+                randomDate(random));
+        }
+
+        private BigDecimal randomAmount(Random random) {
+            return BigDecimal.valueOf(1000 + random.nextInt(6) * 10L, 2);
+        }
+
+        private LocalDate randomDate(Random random) {
+            return TEST_DATE.plusDays(random.nextInt(4));
+        }
+
+        private UUID pick(Random random, Map<UUID, ?> records) {
+            if (records.isEmpty()) {
+                return UUID.randomUUID();
+            }
+            return new ArrayList<>(records.keySet()).get(random.nextInt(records.size()));
+        }
+
+        private Map<String, String> scores(List<ReconciliationMatch> matches) {
+            Map<String, String> scores = new HashMap<>();
+            for (ReconciliationMatch match : matches) {
+                scores.put(IncrementalReconciler.pairKey(match), match.matchTier() + ":" + match.confidence());
+            }
+            return scores;
+        }
+    }
+
+    private static BankTransaction bankTx(BigDecimal amount, String description, LocalDate date) {
+        return BankTransaction.create(
+            BUSINESS_ID, IMPORT_AUDIT_ID, "csv-test", date,
+            amount, description, null, null,
+            date + "|" + amount + "|" + description + "|" + UUID.randomUUID(), NOW);
+    }
+
+    private static Income income(UUID id, BigDecimal amount, String description, LocalDate date) {
+        return new Income(id, BUSINESS_ID, date, amount, description, IncomeCategory.SALES,
+            null, null, null, null, null, null, null);
+    }
+
+    private static Expense expense(UUID id, BigDecimal amount, String description, LocalDate date) {
+        return new Expense(id, BUSINESS_ID, date, amount, description, ExpenseCategory.OTHER_EXPENSES,
+            null, null, null, null, null, null, Expense.FULLY_BUSINESS);
+    }
+}
@@ -3,9 +3,12 @@ package uk.selfemploy.core.reconciliation;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
@@ -57,6 +60,13 @@ class MatchingUtilsTest {
             assertThat(MatchingUtils.normalizeDescription("simple payment"))
                 .isEqualTo("simple payment");
         }
+
+        @ParameterizedTest
+        @ValueSource(strings = {" a  b ", "a\u000Bb", "\f\fx", "x \ty", "a \u00A0 b", "TAB\tEND\r\n"})
+        void shouldMatchRegexNormalization(String description) {
+            assertThat(MatchingUtils.normalizeDescription(description))
+                .isEqualTo(description.toLowerCase().trim().replaceAll("\\s+", " "));
+        }
     }
 
     @Nested
@@ -104,6 +114,66 @@ class MatchingUtilsTest {
         }
     }
 
+    @Nested
+    @DisplayName("calculateSimilarity with threshold")
+    class BoundedSimilarity {
+
+        @Test
+        void returnsExactSimilarityAtOrAboveThreshold() {
+            // 2 edits over 10 characters is exactly 0.80
+            assertThat(MatchingUtils.calculateSimilarity("abcdefghij", "abcdefghxy", MatchingUtils.LIKELY_THRESHOLD))
+                .isEqualTo(MatchingUtils.calculateSimilarity("abcdefghij", "abcdefghxy"))
+                .isGreaterThanOrEqualTo(MatchingUtils.LIKELY_THRESHOLD);
+        }
+
+        @Test
+        void returnsZeroBelowThreshold() {
+            assertThat(MatchingUtils.calculateSimilarity("acme ltd", "acme limited", MatchingUtils.LIKELY_THRESHOLD))
+                .isZero();
+            assertThat(MatchingUtils.calculateSimilarity("", "something", 0.5)).isZero();
+        }
+
+        @Test
+        void identicalAndNullStringsReturnOne() {
+            assertThat(MatchingUtils.calculateSimilarity("payment", "payment", 0.9)).isEqualTo(1.0);
+            assertThat(MatchingUtils.calculateSimilarity(null, "", 0.9)).isEqualTo(1.0);
+        }
+
+        @Test
+        void boundedDistanceStopsAboveThreshold() {
+            assertThat(MatchingUtils.boundedDistance("kitten", "sitting", 3)).isEqualTo(3);
+            assertThat(MatchingUtils.boundedDistance("kitten", "sitting", 2)).isEqualTo(-1);
+            assertThat(MatchingUtils.boundedDistance("", "abc", 3)).isEqualTo(3);
+            assertThat(MatchingUtils.boundedDistance("a", "abcdef", 2)).isEqualTo(-1);
+        }
+
+        @Test
+        void agreesWithUnboundedSimilarityOnGeneratedPairs() {
+            Random random = new Random(7);
+            double[] thresholds = {0.0, 0.5, MatchingUtils.LIKELY_THRESHOLD, 0.9, 1.0};
+            for (int i = 0; i < 20_000; i++) {
+                String s1 = randomString(random);
+                String s2 = randomString(random);
+                double full = MatchingUtils.calculateSimilarity(s1, s2);
+                for (double threshold : thresholds) {
+                    double bounded = MatchingUtils.calculateSimilarity(s1, s2, threshold);
+                    assertThat(bounded >= threshold).as("%s|%s|%s", s1, s2, threshold).isEqualTo(full >= threshold);
+                    if (full >= threshold) {
+                        assertThat(bounded).isEqualTo(full);
+                    }
+                }
+            }
+        }
+
+        private String randomString(Random random) {
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(16); i > 0; i--) {
+                text.append("ab c".charAt(random.nextInt(4)));
+            }
+            return text.toString();
+        }
+    }
+
     @Nested
     @DisplayName("createExactKey")
     class CreateExactKey {
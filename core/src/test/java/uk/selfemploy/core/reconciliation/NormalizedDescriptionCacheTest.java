@@ -0,0 +1,108 @@
+package uk.selfemploy.core.reconciliation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for NormalizedDescriptionCache - bounded LRU cache of normalized descriptions.
+ */
+@DisplayName("NormalizedDescriptionCache Tests")
+class NormalizedDescriptionCacheTest {
+
+    @Test
+    void shouldReturnSameValueAsNormalizeDescription() {
+        NormalizedDescriptionCache cache = new NormalizedDescriptionCache(10);
+
+        assertThat(cache.normalize("  ACME\tLTD  ")).isEqualTo(MatchingUtils.normalizeDescription("  ACME\tLTD  "));
+        assertThat(cache.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void shouldAnswerRepeatedDescriptionsFromTheCache() {
+        NormalizedDescriptionCache cache = new NormalizedDescriptionCache(10);
+
+        String first = cache.normalize("Tesco  Stores");
+        String second = cache.normalize("Tesco  Stores");
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNeverHoldMoreThanCapacity() {
+        NormalizedDescriptionCache cache = new NormalizedDescriptionCache(2);
+
+        for (String description : new String[] {"a", "b", "c", "d", "e"}) {
+            assertThat(cache.normalize(description)).isEqualTo(description);
+            assertThat(cache.size()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedDescriptionsFirst() {
+        NormalizedDescriptionCache cache = new NormalizedDescriptionCache(16);
+        for (int i = 0; i < 16; i++) {
+            cache.normalize("cold " + i);
+        }
+        cache.normalize("cold 0");
+        cache.normalize("cold 1");
+
+        cache.normalize("new arrival");
+        NormalizedDescriptionCache.Stats before = cache.stats();
+        cache.normalize("cold 0");
+        cache.normalize("cold 1");
+
+        assertThat(before.evictions()).isPositive();
+        assertThat(cache.stats().hits() - before.hits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepFrequentlyUsedDescriptionsWhileOneOffsOverflowTheCache() {
+        NormalizedDescriptionCache cache = new NormalizedDescriptionCache(100);
+        for (int hot = 0; hot < 30; hot++) {
+            cache.normalize("regular payee " + hot);
+        }
+        long hitsBefore = cache.stats().hits();
+
+        for (int step = 0; step < 1_000; step++) {
+            cache.normalize("regular payee " + step % 30);
+            cache.normalize("one-off payee " + step);
+        }
+
+        NormalizedDescriptionCache.Stats stats = cache.stats();
+        assertThat(stats.evictions()).isPositive();
+        assertThat(stats.hits() - hitsBefore).isEqualTo(1_000);
+    }
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        NormalizedDescriptionCache cache = new NormalizedDescriptionCache(10);
+
+        cache.normalize("Tesco");
+        cache.normalize("Tesco");
+        cache.normalize("Tesco");
+        cache.normalize("Amazon");
+
+        NormalizedDescriptionCache.Stats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.evictions()).isZero();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.capacity()).isEqualTo(10);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldReportZeroHitRateBeforeFirstLookup() {
+        assertThat(new NormalizedDescriptionCache(10).stats().hitRate()).isZero();
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThatThrownBy(() -> new NormalizedDescriptionCache(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
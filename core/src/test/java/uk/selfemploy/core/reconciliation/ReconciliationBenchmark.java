@@ -0,0 +1,101 @@
+package uk.selfemploy.core.reconciliation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.common.enums.IncomeCategory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for {@link ReconciliationService#reconcile} over several years of bank
+ * rows, with half as many manual records spread over the same dates.
+ *
+ * <p>With the blocking-key index the time per run should grow roughly in proportion to
+ * {@code bankRows}; compare the scores of the 10k and 100k parameters. Not run by
+ * surefire — see the core pom for the command line.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReconciliationBenchmark {
+
+    private static final UUID BUSINESS_ID = UUID.randomUUID();
+    private static final UUID IMPORT_AUDIT_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2025-06-15T10:00:00Z");
+    private static final LocalDate FIRST_DATE = LocalDate.of(2019, 4, 6);
+    private static final int DAYS = 6 * 365;
+
+    private static final String[] DESCRIPTIONS = {
+        "TESCO STORES 2231", "AMAZON MARKETPLACE", "AMZN MKTP UK", "SHELL FUEL", "TFL TRAVEL CHARGE",
+        "ACME LTD INVOICE", "CLIENT PAYMENT REF", "ADOBE CREATIVE CLOUD", "BT BROADBAND", "RENT"
+    };
+
+    @Param({"10000", "25000", "50000", "100000"})
+    public int bankRows;
+
+    private List<BankTransaction> bankTransactions;
+    private List<Income> incomes;
+    private List<Expense> expenses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        bankTransactions = new ArrayList<>(bankRows);
+        incomes = new ArrayList<>();
+        expenses = new ArrayList<>();
+
+        for (int i = 0; i < bankRows / 2; i++) {
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(DAYS));
+            BigDecimal amount = amount(random);
+            String description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+            if (random.nextInt(4) == 0) {
+                incomes.add(Income.create(BUSINESS_ID, date, amount, description, IncomeCategory.SALES, null));
+            } else {
+                expenses.add(Expense.create(BUSINESS_ID, date, amount, description,
+                    ExpenseCategory.OTHER_EXPENSES, null, null));
+            }
+        }
+
+        for (int i = 0; i < bankRows; i++) {
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(DAYS));
+            BigDecimal amount = amount(random);
+            String description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+            BigDecimal signed = random.nextInt(4) == 0 ? amount : amount.negate();
+            bankTransactions.add(BankTransaction.create(
+                BUSINESS_ID, IMPORT_AUDIT_ID, "csv-benchmark", date, signed, description,
+                null, null, "hash-" + i, NOW));
+        }
+    }
+
+    @Benchmark
+    public List<ReconciliationMatch> reconcile() {
+        return ReconciliationService.reconcile(bankTransactions, incomes, expenses, BUSINESS_ID, NOW);
+    }
+
+    private static BigDecimal amount(Random random) {
+        return BigDecimal.valueOf(1 + random.nextInt(500_00), 2);
+    }
+}
@@ -0,0 +1,237 @@
+package uk.selfemploy.core.reconciliation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.common.enums.IncomeCategory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for ReconciliationIndex - blocking-key candidate lookup.
+ *
+ * Tests cover:
+ * - Amount band boundaries (relative and absolute tolerance)
+ * - Date and direction bucketing
+ * - Equivalence with the pairwise comparison on generated data
+ */
+@DisplayName("ReconciliationIndex Tests")
+class ReconciliationIndexTest {
+
+    private static final UUID BUSINESS_ID = UUID.randomUUID();
+    private static final UUID IMPORT_AUDIT_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2025-06-15T10:00:00Z");
+    private static final LocalDate TEST_DATE = LocalDate.of(2025, 6, 15);
+
+    private BankTransaction bankTx(BigDecimal signedAmount, String description, LocalDate date) {
+        return BankTransaction.create(
+            BUSINESS_ID, IMPORT_AUDIT_ID, "csv-test", date,
+            signedAmount, description, null, null,
+            date + "|" + signedAmount + "|" + description, NOW);
+    }
+
+    private Income income(BigDecimal amount, String description, LocalDate date) {
+        return Income.create(BUSINESS_ID, date, amount, description, IncomeCategory.SALES, null);
+    }
+
+    private Expense expense(BigDecimal amount, String description, LocalDate date) {
+        return Expense.create(BUSINESS_ID, date, amount, description, ExpenseCategory.OTHER_EXPENSES, null, null);
+    }
+
+    @Test
+    void nullBusinessIdThrows() {
+        assertThatThrownBy(() -> ReconciliationIndex.build(List.of(), List.of(), null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Nested
+    @DisplayName("Amount band")
+    class AmountBand {
+
+        @Test
+        void shouldIncludeAbsoluteToleranceBoundary() {
+            ReconciliationIndex index = ReconciliationIndex.build(
+                List.of(income(new BigDecimal("51.00"), "Deposit", TEST_DATE)), List.of(), BUSINESS_ID);
+
+            List<ReconciliationMatch> matches = index.match(
+                bankTx(new BigDecimal("50.00"), "Client", TEST_DATE), NOW);
+
+            assertThat(matches).singleElement()
+                .extracting(ReconciliationMatch::matchTier).isEqualTo(MatchTier.POSSIBLE);
+        }
+
+        @Test
+        void shouldIncludeRelativeTolerance() {
+            ReconciliationIndex index = ReconciliationIndex.build(
+                List.of(), List.of(expense(new BigDecimal("4951.00"), "Laptop", TEST_DATE)), BUSINESS_ID);
+
+            List<ReconciliationMatch> matches = index.match(
+                bankTx(new BigDecimal("-5000.00"), "Apple store", TEST_DATE), NOW);
+
+            assertThat(matches).singleElement()
+                .extracting(ReconciliationMatch::matchTier).isEqualTo(MatchTier.POSSIBLE);
+        }
+
+        @Test
+        void shouldExcludeAmountsOutsideBand() {
+            ReconciliationIndex index = ReconciliationIndex.build(
+                List.of(income(new BigDecimal("48.99"), "Deposit", TEST_DATE),
+                    income(new BigDecimal("51.01"), "Deposit", TEST_DATE)),
+                List.of(), BUSINESS_ID);
+
+            assertThat(index.match(bankTx(new BigDecimal("50.00"), "Deposit", TEST_DATE), NOW)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Buckets")
+    class Buckets {
+
+        @Test
+        void shouldOnlyLookInSameDateAndDirection() {
+            ReconciliationIndex index = ReconciliationIndex.build(
+                List.of(income(new BigDecimal("100.00"), "Payment", TEST_DATE.plusDays(1))),
+                List.of(expense(new BigDecimal("100.00"), "Payment", TEST_DATE)),
+                BUSINESS_ID);
+
+            assertThat(index.match(bankTx(new BigDecimal("100.00"), "Payment", TEST_DATE), NOW)).isEmpty();
+        }
+
+        @Test
+        void shouldIgnoreRecordsOfOtherBusinesses() {
+            Income foreign = Income.create(UUID.randomUUID(), TEST_DATE, new BigDecimal("100.00"),
+                "Payment", IncomeCategory.SALES, null);
+            ReconciliationIndex index = ReconciliationIndex.build(List.of(foreign), List.of(), BUSINESS_ID);
+
+            assertThat(index.match(bankTx(new BigDecimal("100.00"), "Payment", TEST_DATE), NOW)).isEmpty();
+        }
+
+        @Test
+        void shouldReturnMatchesInManualListOrder() {
+            Income third = income(new BigDecimal("100.50"), "Other", TEST_DATE);
+            Income first = income(new BigDecimal("99.50"), "Other", TEST_DATE);
+            Income second = income(new BigDecimal("100.00"), "Payment", TEST_DATE);
+            ReconciliationIndex index = ReconciliationIndex.build(
+                List.of(third, first, second), List.of(), BUSINESS_ID);
+
+            List<ReconciliationMatch> matches = index.match(
+                bankTx(new BigDecimal("100.00"), "Payment", TEST_DATE), NOW);
+
+            assertThat(matches).extracting(ReconciliationMatch::manualTransactionId)
+                .containsExactly(third.id(), first.id(), second.id());
+        }
+    }
+
+    @Nested
+    @DisplayName("Equivalence with pairwise comparison")
+    class Equivalence {
+
+        @Test
+        void shouldProduceSameMatchesAsPairwiseComparison() {
+            Random random = new Random(42);
+            String[] descriptions = {
+                "ACME LTD PAYMENT", "acme ltd  payment", "Acme Ltd Paymnt", "TESCO STORES 2231",
+                "Tesco Stores", "Amazon Marketplace", "AMZN Mktp UK", "Client invoice 1001", "Rent"
+            };
+
+            List<Income> incomes = new ArrayList<>();
+            List<Expense> expenses = new ArrayList<>();
+            List<BankTransaction> bankTransactions = new ArrayList<>();
+            for (int i = 0; i < 600; i++) {
+                LocalDate date = TEST_DATE.plusDays(random.nextInt(20));
+                BigDecimal amount = BigDecimal.valueOf(50 + random.nextInt(400), 0)
+                    .add(BigDecimal.valueOf(random.nextInt(100), 2));
+                String description = descriptions[random.nextInt(descriptions.length)];
+                if (random.nextBoolean()) {
+                    incomes.add(income(amount, description, date));
+                } else {
+                    expenses.add(expense(amount, description, date));
+                }
+            }
+            for (int i = 0; i < 600; i++) {
+                LocalDate date = TEST_DATE.plusDays(random.nextInt(20));
+                BigDecimal amount = BigDecimal.valueOf(50 + random.nextInt(400), 0)
+                    .add(BigDecimal.valueOf(random.nextInt(100), 2));
+                String description = descriptions[random.nextInt(descriptions.length)];
+                bankTransactions.add(bankTx(random.nextBoolean() ? amount : amount.negate(), description, date));
+            }
+
+            List<ReconciliationMatch> indexed = ReconciliationService.reconcile(
+                bankTransactions, incomes, expenses, BUSINESS_ID, NOW);
+            List<ReconciliationMatch> pairwise = pairwise(bankTransactions, incomes, expenses);
+
+            assertThat(indexed).isNotEmpty();
+            assertThat(indexed.stream().map(ReconciliationIndexTest::signature).toList())
+                .containsExactlyElementsOf(pairwise.stream().map(ReconciliationIndexTest::signature).toList());
+        }
+    }
+
+    private static String signature(ReconciliationMatch match) {
+        return match.bankTransactionId() + "|" + match.manualTransactionId() + "|"
+            + match.manualTransactionType() + "|" + match.matchTier() + "|" + match.confidence();
+    }
+
+    /**
+     * Reference implementation: compares every bank transaction with every manual record.
+     */
+    private static List<ReconciliationMatch> pairwise(List<BankTransaction> bankTransactions,
+                                                      List<Income> incomes,
+                                                      List<Expense> expenses) {
+        List<ReconciliationMatch> matches = new ArrayList<>();
+        for (BankTransaction bankTx : bankTransactions) {
+            if (bankTx.isIncome()) {
+                for (Income income : incomes) {
+                    pairwiseMatch(bankTx, income.id(), income.date(), income.amount(),
+                        income.description(), "INCOME", matches);
+                }
+            } else if (bankTx.isExpense()) {
+                for (Expense expense : expenses) {
+                    pairwiseMatch(bankTx, expense.id(), expense.date(), expense.amount(),
+                        expense.description(), "EXPENSE", matches);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static void pairwiseMatch(BankTransaction bankTx, UUID manualId, LocalDate date,
+                                      BigDecimal amount, String description, String type,
+                                      List<ReconciliationMatch> matches) {
+        if (!date.equals(bankTx.date())) {
+            return;
+        }
+        BigDecimal bankAbsAmount = bankTx.absoluteAmount();
+        if (MatchingUtils.isExactAmount(bankAbsAmount, amount)) {
+            double similarity = MatchingUtils.calculateSimilarity(
+                MatchingUtils.normalizeDescription(bankTx.description()),
+                MatchingUtils.normalizeDescription(description));
+            if (similarity == 1.0) {
+                matches.add(ReconciliationMatch.create(bankTx.id(), manualId, type,
+                    1.0, MatchTier.EXACT, BUSINESS_ID, NOW));
+                return;
+            }
+            if (similarity >= MatchingUtils.LIKELY_THRESHOLD) {
+                matches.add(ReconciliationMatch.create(bankTx.id(), manualId, type,
+                    similarity, MatchTier.LIKELY, BUSINESS_ID, NOW));
+                return;
+            }
+        }
+        if (MatchingUtils.isWithinTolerance(bankAbsAmount, amount)) {
+            matches.add(ReconciliationMatch.create(bankTx.id(), manualId, type,
+                MatchTier.POSSIBLE.getMinimumConfidence(), MatchTier.POSSIBLE, BUSINESS_ID, NOW));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package uk.selfemploy.core.reconciliation;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the description matching of {@link MatchingUtils}: the
+ * threshold-bounded similarity against the full commons-text Levenshtein distance it
+ * replaced in reconciliation and dedup, and the regex-free normalization against
+ * {@code replaceAll("\\s+", " ")}.
+ *
+ * <p>Each benchmark compares 2,000 bank-style descriptions against 200 others. The
+ * setup fails if any pair gets a different LIKELY decision or a different similarity
+ * above the threshold, so a run also proves the two give identical decisions. Not run
+ * by surefire — see the core pom for the command line.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimilarityBenchmark {
+
+    private static final String[] WORDS = {
+        "card", "payment", "to", "tesco", "stores", "amazon", "mktp", "uk", "shell", "fuel", "acme", "ltd",
+        "invoice", "ref", "london", "gbr", "fpi", "dd", "so", "trainline", "uber", "trip", "costa", "coffee"
+    };
+
+    private final LevenshteinDistance levenshtein = new LevenshteinDistance();
+
+    private String[] rawDescriptions;
+    private String[] descriptions;
+    private String[] targets;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(41);
+        rawDescriptions = new String[2_000];
+        descriptions = new String[rawDescriptions.length];
+        for (int i = 0; i < rawDescriptions.length; i++) {
+            StringBuilder raw = new StringBuilder();
+            for (int w = 2 + random.nextInt(4); w > 0; w--) {
+                raw.append(WORDS[random.nextInt(WORDS.length)].toUpperCase()).append(random.nextBoolean() ? " " : "   ");
+            }
+            raw.append(random.nextInt(10_000));
+            rawDescriptions[i] = raw.toString();
+            descriptions[i] = MatchingUtils.normalizeDescription(rawDescriptions[i]);
+        }
+        targets = new String[200];
+        for (int i = 0; i < targets.length; i++) {
+            // Half near-duplicates, half unrelated descriptions
+            String base = descriptions[random.nextInt(descriptions.length)];
+            targets[i] = i % 2 == 0 ? base.substring(0, base.length() - 1) + "x" : descriptions[i];
+        }
+
+        for (String description : descriptions) {
+            for (String target : targets) {
+                double full = fullSimilarity(description, target);
+                double bounded = MatchingUtils.calculateSimilarity(description, target, MatchingUtils.LIKELY_THRESHOLD);
+                boolean fullLikely = full >= MatchingUtils.LIKELY_THRESHOLD;
+                if (fullLikely != bounded >= MatchingUtils.LIKELY_THRESHOLD || (fullLikely && full != bounded)) {
+                    throw new IllegalStateException("Decisions differ for '" + description + "' and '" + target + "'");
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int boundedSimilarity() {
+        int likely = 0;
+        for (String description : descriptions) {
+            for (String target : targets) {
+                if (MatchingUtils.calculateSimilarity(description, target, MatchingUtils.LIKELY_THRESHOLD)
+                        >= MatchingUtils.LIKELY_THRESHOLD) {
+                    likely++;
+                }
+            }
+        }
+        return likely;
+    }
+
+    @Benchmark
+    public int fullLevenshtein() {
+        int likely = 0;
+        for (String description : descriptions) {
+            for (String target : targets) {
+                if (fullSimilarity(description, target) >= MatchingUtils.LIKELY_THRESHOLD) {
+                    likely++;
+                }
+            }
+        }
+        return likely;
+    }
+
+    @Benchmark
+    public int normalize() {
+        int length = 0;
+        for (String description : rawDescriptions) {
+            length += MatchingUtils.normalizeDescription(description).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int normalizeWithRegex() {
+        int length = 0;
+        for (String description : rawDescriptions) {
+            length += description.toLowerCase().trim().replaceAll("\\s+", " ").length();
+        }
+        return length;
+    }
+
+    /**
+     * Similarity as computed before the threshold-bounded variant: the full distance
+     * from a fresh commons-text computation.
+     */
+    private double fullSimilarity(String s1, String s2) {
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+        int maxLength = Math.max(s1.length(), s2.length());
+        return 1.0 - ((double) levenshtein.apply(s1, s2) / maxLength);
+    }
+}
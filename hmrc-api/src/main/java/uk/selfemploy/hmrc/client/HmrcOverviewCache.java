@@ -0,0 +1,290 @@
+package uk.selfemploy.hmrc.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.selfemploy.common.domain.TaxYear;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Fetches what HMRC holds for a taxpayer and tax year — their individual details, their income
+ * sources and their obligations — and shares the answer between every caller that asks for it.
+ *
+ * <p>The three calls do not depend on each other, so they go out together and the overview is ready
+ * when the slowest answers rather than after all three in turn. How a call is made and what the
+ * overview looks like are left to a {@link Source}: the desktop app sends its own requests over
+ * {@link HmrcTransport}, the server goes through its REST clients, and both share this fan-out and
+ * cache.</p>
+ *
+ * <p>With {@link Legs#ALL_OR_NOTHING} a call that fails cancels the others and fails the overview.
+ * With {@link Legs#INDEPENDENT} each call's outcome is handed to the source as it came, so one outage
+ * does not hide what the other calls returned; the overview fails only when no call was answered.</p>
+ *
+ * <p>An overview is kept for {@link #TIME_TO_LIVE} per NINO and tax year, unless the source judges it
+ * not worth keeping. A caller that asks while a fetch for the same key is running waits for it rather
+ * than starting another. Failures are not kept. The access token is obtained before the cache is
+ * touched, since getting one may mean a blocking refresh. Blocking; call from a background thread.</p>
+ *
+ * @param <I> HMRC's answer to the individual details call
+ * @param <B> HMRC's answer to the business details call
+ * @param <O> HMRC's answer to the obligations call
+ * @param <V> the overview the source builds from the three
+ */
+public final class HmrcOverviewCache<I, B, O, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(HmrcOverviewCache.class);
+
+    /** How long a fetched overview is reused before HMRC is asked again. */
+    public static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    /** What a call that fails does to the others. */
+    public enum Legs {
+        /** A failed call cancels the others still running and fails the overview. */
+        ALL_OR_NOTHING,
+        /** Each call stands alone; the overview holds whatever was answered. */
+        INDEPENDENT
+    }
+
+    /**
+     * How the three calls are made and how their answers become an overview.
+     *
+     * @param <I> HMRC's answer to the individual details call
+     * @param <B> HMRC's answer to the business details call
+     * @param <O> HMRC's answer to the obligations call
+     * @param <V> the overview built from the three
+     */
+    public interface Source<I, B, O, V> {
+
+        /** Starts the Self Assessment Individual Details call. */
+        CompletionStage<I> individualDetails(String nino, String accessToken);
+
+        /** Starts the Business Details (list all businesses) call. */
+        CompletionStage<B> businessDetails(String nino, String accessToken);
+
+        /** Starts the Obligations (income and expenditure) call for the tax year. */
+        CompletionStage<O> obligations(String nino, TaxYear taxYear, String accessToken);
+
+        /** Builds the overview once every call has finished. */
+        V assemble(Leg<I> individualDetails, Leg<B> businessDetails, Leg<O> obligations, Instant fetchedAt);
+
+        /** Whether an overview may be reused; one holding an answer worth asking again for may not. */
+        default boolean worthKeeping(V overview) {
+            return true;
+        }
+
+        /** The exception to throw for a call that got no answer. */
+        default RuntimeException noAnswer(Throwable cause) {
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            return new IllegalStateException("Failed to fetch HMRC overview: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * One call's outcome: HMRC's answer, or why there was none.
+     *
+     * @param answer  the answer, or null when the call failed
+     * @param failure why the call got no answer, or null when it was answered
+     * @param <T>     the answer's type
+     */
+    public record Leg<T>(T answer, Throwable failure) {
+
+        /** Whether the call was answered. */
+        public boolean answered() {
+            return failure == null;
+        }
+
+        private static <T> Leg<T> of(CompletableFuture<T> call) {
+            try {
+                return new Leg<>(call.join(), null);
+            } catch (CompletionException | CancellationException e) {
+                return new Leg<>(null, unwrap(e));
+            }
+        }
+    }
+
+    private record Key(String nino, int taxYearStart) {
+    }
+
+    private final class Entry {
+
+        private final CompletableFuture<V> overview;
+        private final Instant expiresAt;
+
+        private Entry(CompletableFuture<V> overview, Instant expiresAt) {
+            this.overview = overview;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean usableAt(Instant now) {
+            if (!overview.isDone()) {
+                return true;
+            }
+            return !overview.isCompletedExceptionally() && source.worthKeeping(overview.join())
+                    && now.isBefore(expiresAt);
+        }
+    }
+
+    private final Source<I, B, O, V> source;
+    private final Supplier<String> tokenSource;
+    private final Legs legs;
+    private final Clock clock;
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param source      makes the calls and builds the overview
+     * @param tokenSource the access token for {@link #overview(String, TaxYear)}; may block to refresh
+     * @param legs        what a failed call does to the others
+     * @param clock       the clock overviews expire by
+     */
+    public HmrcOverviewCache(Source<I, B, O, V> source, Supplier<String> tokenSource, Legs legs, Clock clock) {
+        this.source = source;
+        this.tokenSource = tokenSource;
+        this.legs = legs;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the overview for a taxpayer and tax year, from the cache when a recent one is held,
+     * otherwise fetched with a token from the token source.
+     *
+     * @throws IllegalArgumentException if the NINO or tax year is missing
+     * @throws RuntimeException         the source's {@link Source#noAnswer} for a call that got no answer
+     */
+    public V overview(String nino, TaxYear taxYear) {
+        Key key = key(nino, taxYear);
+        Entry entry = cache.get(key);
+        if (entry == null || !entry.usableAt(clock.instant())) {
+            entry = fetchInto(key, taxYear, tokenSource.get(), false);
+        }
+        return await(key, entry);
+    }
+
+    /**
+     * Fetches the overview afresh with the given token and keeps it for the other callers.
+     *
+     * @throws IllegalArgumentException if the NINO or tax year is missing
+     * @throws RuntimeException         the source's {@link Source#noAnswer} for a call that got no answer
+     */
+    public V refresh(String nino, TaxYear taxYear, String accessToken) {
+        Key key = key(nino, taxYear);
+        return await(key, fetchInto(key, taxYear, accessToken, true));
+    }
+
+    /** Drops the overview held for a taxpayer and tax year, so the next request asks HMRC. */
+    public void invalidate(String nino, TaxYear taxYear) {
+        if (nino != null && !nino.isBlank() && taxYear != null
+                && cache.remove(new Key(nino.toUpperCase(), taxYear.startYear())) != null) {
+            log.debug("Discarded cached HMRC overview for tax year {}", taxYear.label());
+        }
+    }
+
+    /** Drops every overview held for a tax year, whoever it was for. */
+    public void invalidate(TaxYear taxYear) {
+        if (taxYear != null && cache.keySet().removeIf(key -> key.taxYearStart() == taxYear.startYear())) {
+            log.debug("Discarded cached HMRC overviews for tax year {}", taxYear.label());
+        }
+    }
+
+    private static Key key(String nino, TaxYear taxYear) {
+        if (nino == null || nino.isBlank()) {
+            throw new IllegalArgumentException("A National Insurance number is required");
+        }
+        if (taxYear == null) {
+            throw new IllegalArgumentException("A tax year is required");
+        }
+        return new Key(nino.toUpperCase(), taxYear.startYear());
+    }
+
+    private Entry fetchInto(Key key, TaxYear taxYear, String accessToken, boolean replace) {
+        return cache.compute(key, (k, held) ->
+                !replace && held != null && held.usableAt(clock.instant())
+                        ? held
+                        : new Entry(fetch(k.nino(), taxYear, accessToken), clock.instant().plus(TIME_TO_LIVE)));
+    }
+
+    private V await(Key key, Entry entry) {
+        try {
+            V overview = entry.overview.join();
+            if (!source.worthKeeping(overview)) {
+                cache.remove(key, entry);
+            }
+            return overview;
+        } catch (CompletionException | CancellationException e) {
+            cache.remove(key, entry);
+            throw source.noAnswer(unwrap(e));
+        }
+    }
+
+    private CompletableFuture<V> fetch(String nino, TaxYear taxYear, String accessToken) {
+        log.info("Fetching HMRC overview for tax year {}", taxYear.label());
+        CompletableFuture<I> individualDetails = start(() -> source.individualDetails(nino, accessToken));
+        CompletableFuture<B> businessDetails = start(() -> source.businessDetails(nino, accessToken));
+        CompletableFuture<O> obligations = start(() -> source.obligations(nino, taxYear, accessToken));
+        List<CompletableFuture<?>> calls = List.of(individualDetails, businessDetails, obligations);
+
+        CompletableFuture<Void> done = legs == Legs.ALL_OR_NOTHING ? allOrFirstFailure(calls) : allSettled(calls);
+        return done.thenApply(settled -> source.assemble(Leg.of(individualDetails), Leg.of(businessDetails),
+                Leg.of(obligations), clock.instant()));
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletionStage<T>> call) {
+        try {
+            return call.get().toCompletableFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Completes when every call has been answered, or as soon as one gets no answer; the calls still
+     * running are then cancelled.
+     */
+    private static CompletableFuture<Void> allOrFirstFailure(List<CompletableFuture<?>> calls) {
+        CompletableFuture<?>[] futures = calls.toArray(CompletableFuture<?>[]::new);
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures);
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((result, failure) -> {
+                if (failure != null && all.completeExceptionally(failure)) {
+                    for (CompletableFuture<?> sibling : futures) {
+                        sibling.cancel(true);
+                    }
+                }
+            });
+        }
+        return all;
+    }
+
+    /** Completes when every call has finished, failing with the first failure only if none was answered. */
+    private static CompletableFuture<Void> allSettled(List<CompletableFuture<?>> calls) {
+        CompletableFuture<?>[] settled = calls.stream()
+                .map(call -> call.handle((result, failure) -> null))
+                .toArray(CompletableFuture<?>[]::new);
+        return CompletableFuture.allOf(settled).thenRun(() -> {
+            if (calls.stream().allMatch(CompletableFuture::isCompletedExceptionally)) {
+                calls.get(0).join();
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,174 @@
+package uk.selfemploy.hmrc.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The one HTTP transport every HMRC call goes through.
+ *
+ * <p>A single {@link HttpClient} holds the TLS sessions and the pooled connections to the HMRC hosts,
+ * so a submit, a calculation trigger and the calculation fetch that follows all reuse one connection
+ * rather than each service shaking hands afresh. The client prefers HTTP/2, so concurrent calls to the
+ * same host share that connection as separate streams, and it runs its work on virtual threads.</p>
+ *
+ * <p>Each call names its {@link Endpoint}, which sets the request timeout and the bucket its
+ * {@link EndpointMetrics} are counted in. Services take {@link #shared()} in production; a test hands a
+ * stub client to {@link #HmrcTransport(HttpClient)}.</p>
+ */
+public final class HmrcTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(HmrcTransport.class);
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /** The HMRC calls the app makes, each with its own request timeout. */
+    public enum Endpoint {
+        TOKEN(Duration.ofSeconds(30)),
+        INDIVIDUAL_DETAILS(Duration.ofSeconds(30)),
+        BUSINESS_DETAILS(Duration.ofSeconds(30)),
+        OBLIGATIONS(Duration.ofSeconds(30)),
+        PERIODIC_UPDATE(Duration.ofSeconds(30)),
+        CALCULATION(Duration.ofSeconds(30)),
+        FINAL_DECLARATION(Duration.ofSeconds(30)),
+        CONNECTION_TEST(Duration.ofSeconds(15));
+
+        private final Duration timeout;
+
+        Endpoint(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration timeout() {
+            return timeout;
+        }
+    }
+
+    /**
+     * What one endpoint's calls have done since the transport was created.
+     *
+     * @param requests       calls made, answered or not
+     * @param failures       calls that got no response: timeouts, refused or dropped connections
+     * @param errorResponses calls HMRC answered with a 4xx or 5xx status
+     * @param totalMillis    time spent waiting for responses and failures, added up
+     * @param maxMillis      the longest single wait
+     */
+    public record EndpointMetrics(long requests, long failures, long errorResponses,
+                                  long totalMillis, long maxMillis) {
+
+        public static final EndpointMetrics NONE = new EndpointMetrics(0, 0, 0, 0, 0);
+
+        /** The mean wait per call, or zero before the first. */
+        public long averageMillis() {
+            return requests == 0 ? 0 : totalMillis / requests;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder requests = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder errorResponses = new LongAdder();
+        final LongAdder totalMillis = new LongAdder();
+        final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+        EndpointMetrics snapshot() {
+            return new EndpointMetrics(requests.sum(), failures.sum(), errorResponses.sum(),
+                totalMillis.sum(), maxMillis.get());
+        }
+    }
+
+    private static final class Shared {
+        static final HmrcTransport INSTANCE = new HmrcTransport(HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build());
+    }
+
+    private final HttpClient httpClient;
+    private final Map<Endpoint, Counters> counters = new EnumMap<>(Endpoint.class);
+
+    /**
+     * A transport over the given client. Production code uses {@link #shared()}; this is for tests
+     * and for callers that must supply their own client.
+     */
+    public HmrcTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+        for (Endpoint endpoint : Endpoint.values()) {
+            counters.put(endpoint, new Counters());
+        }
+    }
+
+    /** The application-wide transport, created on first use and kept for the life of the app. */
+    public static HmrcTransport shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Sends a request and waits for the response body as a string. The endpoint's timeout replaces
+     * any the builder carries.
+     *
+     * @throws IOException          if no response arrived, including an {@code HttpTimeoutException}
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public HttpResponse<String> send(Endpoint endpoint, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        HttpRequest built = request.timeout(endpoint.timeout()).build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(built, HttpResponse.BodyHandlers.ofString());
+            record(endpoint, built, start, response, null);
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            record(endpoint, built, start, null, e);
+            throw e;
+        }
+    }
+
+    /** Sends a request without blocking the caller. The endpoint's timeout replaces any the builder carries. */
+    public CompletableFuture<HttpResponse<String>> sendAsync(Endpoint endpoint, HttpRequest.Builder request) {
+        HttpRequest built = request.timeout(endpoint.timeout()).build();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(built, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, failure) -> record(endpoint, built, start, response, failure));
+    }
+
+    /** Each endpoint's figures so far; an endpoint not yet called reads {@link EndpointMetrics#NONE}. */
+    public Map<Endpoint, EndpointMetrics> metrics() {
+        Map<Endpoint, EndpointMetrics> snapshot = new EnumMap<>(Endpoint.class);
+        counters.forEach((endpoint, endpointCounters) -> snapshot.put(endpoint, endpointCounters.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private void record(Endpoint endpoint, HttpRequest request, long start,
+                        HttpResponse<?> response, Throwable failure) {
+        long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        Counters endpointCounters = counters.get(endpoint);
+        endpointCounters.requests.increment();
+        endpointCounters.totalMillis.add(millis);
+        endpointCounters.maxMillis.accumulate(millis);
+        if (response == null) {
+            endpointCounters.failures.increment();
+            log.debug("HMRC {} {} failed after {} ms: {}", endpoint, request.method(), millis,
+                failure == null ? "no response" : failure.getClass().getSimpleName());
+        } else {
+            if (response.statusCode() >= 400) {
+                endpointCounters.errorResponses.increment();
+            }
+            log.debug("HMRC {} {} answered {} in {} ms over {}", endpoint, request.method(),
+                response.statusCode(), millis, response.version());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package uk.selfemploy.hmrc.fraud;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.selfemploy.hmrc.logging.HmrcPiiRedactor;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A prebuilt, already-encoded set of fraud-prevention headers, reused across HMRC requests.
+ *
+ * <p>Building the headers enumerates every network interface twice (local IPs, then MAC
+ * addresses) and queries the screens, which takes tens of milliseconds on a machine with VPN or
+ * container interfaces. A snapshot is built once and served to every request until it is
+ * {@link #REFRESH_AFTER} old; the next request after that still gets the snapshot it has while a
+ * virtual thread rebuilds it, so a changed address or a newly attached screen shows up within a
+ * refresh without any request waiting for the enumeration. The owning service also calls
+ * {@link #refresh()} on a timer, so the snapshot stays fresh while no requests are made. A snapshot
+ * older than {@link #MAX_AGE} (the refresh kept failing) is rebuilt before it is served.</p>
+ *
+ * <p>Every snapshot comes from one build, so {@code Gov-Client-Local-IPs-Timestamp} always states
+ * when the {@code Gov-Client-Local-IPs} it travels with were read.</p>
+ */
+final class FraudHeaderSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudHeaderSnapshot.class);
+
+    /** How long a snapshot is served before it is rebuilt in the background. */
+    static final Duration REFRESH_AFTER = Duration.ofSeconds(60);
+
+    /** How old a snapshot may get before a request waits for a fresh one. */
+    static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private record Snapshot(Map<String, String> headers, long builtAt) {
+    }
+
+    private final Supplier<Map<String, String>> source;
+    private final LongSupplier nanoClock;
+    private final Executor refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot current;
+
+    FraudHeaderSnapshot(Supplier<Map<String, String>> source) {
+        this(source, System::nanoTime, task -> Thread.ofVirtual().name("fraud-headers-refresh").start(task));
+    }
+
+    FraudHeaderSnapshot(Supplier<Map<String, String>> source, LongSupplier nanoClock, Executor refresher) {
+        this.source = Objects.requireNonNull(source);
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        this.refresher = Objects.requireNonNull(refresher);
+    }
+
+    /**
+     * The headers to send now: unmodifiable, in the order they were built.
+     *
+     * @throws RuntimeException if no usable snapshot exists and building one fails
+     */
+    Map<String, String> headers() {
+        Snapshot snapshot = current;
+        long now = nanoClock.getAsLong();
+        if (snapshot == null || now - snapshot.builtAt() >= MAX_AGE.toNanos()) {
+            return rebuild().headers();
+        }
+        if (now - snapshot.builtAt() >= REFRESH_AFTER.toNanos() && refreshing.compareAndSet(false, true)) {
+            try {
+                refresher.execute(this::refreshInBackground);
+            } catch (RuntimeException e) {
+                refreshing.set(false);
+                log.debug("Could not start a fraud-header refresh", e);
+            }
+        }
+        return snapshot.headers();
+    }
+
+    /**
+     * Rebuilds the snapshot now, on the calling thread. If building fails the previous snapshot is
+     * kept, to be served until it reaches {@link #MAX_AGE}.
+     */
+    void refresh() {
+        try {
+            synchronized (this) {
+                build();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the fraud-prevention headers; keeping the previous set: {}",
+                HmrcPiiRedactor.redact(String.valueOf(e.getMessage())));
+        }
+    }
+
+    private synchronized Snapshot rebuild() {
+        // Another caller may have rebuilt while this one waited for the lock.
+        Snapshot snapshot = current;
+        if (snapshot != null && nanoClock.getAsLong() - snapshot.builtAt() < MAX_AGE.toNanos()) {
+            return snapshot;
+        }
+        return build();
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh();
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Snapshot build() {
+        Map<String, String> headers = Collections.unmodifiableMap(new LinkedHashMap<>(source.get()));
+        Snapshot previous = current;
+        Snapshot snapshot = new Snapshot(headers, nanoClock.getAsLong());
+        current = snapshot;
+        if (previous != null && networkChanged(previous.headers(), headers)) {
+            log.info("Network addresses changed; fraud-prevention headers updated");
+        }
+        return snapshot;
+    }
+
+    private static boolean networkChanged(Map<String, String> before, Map<String, String> after) {
+        return !Objects.equals(before.get(FraudPreventionHeaders.Headers.LOCAL_IPS),
+                after.get(FraudPreventionHeaders.Headers.LOCAL_IPS))
+            || !Objects.equals(before.get(FraudPreventionHeaders.Headers.MAC_ADDRESSES),
+                after.get(FraudPreventionHeaders.Headers.MAC_ADDRESSES));
+    }
+}
@@ -18,11 +18,21 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service for generating HMRC fraud prevention headers.
  * Collects device and environment information required by HMRC for all API calls.
  *
+ * <p>Requests should send {@link #currentHeaders()}, a snapshot rebuilt in the background about
+ * once a minute, rather than paying for {@link #generateHeaders()} and its network-interface
+ * enumeration on every call. The first call to {@link #currentHeaders()} starts a timer that runs
+ * {@link #refreshHeaders()} every {@link FraudHeaderSnapshot#REFRESH_AFTER} on a daemon virtual
+ * thread, so a request made after a quiet spell does not wait for the enumeration either.</p>
+ *
  * @see <a href="https://developer.service.hmrc.gov.uk/guides/fraud-prevention/connection-method/desktop-app-direct/">HMRC Fraud Prevention — DESKTOP_APP_DIRECT</a>
  */
 @ApplicationScoped
@@ -40,6 +50,9 @@ public class FraudPreventionService {
     private final UserIdsCollector userIdsCollector;
     private final UserAgentCollector userAgentCollector;
     private final String appVersion;
+    private final FraudHeaderSnapshot snapshot = new FraudHeaderSnapshot(this::generateHeaders);
+    private final ScheduledExecutorService refreshTimer;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
 
     @Inject
     public FraudPreventionService(
@@ -51,6 +64,21 @@ public class FraudPreventionService {
             UserIdsCollector userIdsCollector,
             UserAgentCollector userAgentCollector,
             @ConfigProperty(name = "quarkus.application.version", defaultValue = "0.1.0") String appVersion) {
+        this(deviceIdCollector, timezoneCollector, localIpsCollector, localIpsTimestampCollector,
+            macAddressesCollector, userIdsCollector, userAgentCollector, appVersion, RefreshTimer.INSTANCE);
+    }
+
+    FraudPreventionService(
+            DeviceIdCollector deviceIdCollector,
+            TimezoneCollector timezoneCollector,
+            LocalIpsCollector localIpsCollector,
+            LocalIpsTimestampCollector localIpsTimestampCollector,
+            MacAddressesCollector macAddressesCollector,
+            UserIdsCollector userIdsCollector,
+            UserAgentCollector userAgentCollector,
+            String appVersion,
+            ScheduledExecutorService refreshTimer) {
+        this.refreshTimer = refreshTimer;
         this.deviceIdCollector = deviceIdCollector;
         this.timezoneCollector = timezoneCollector;
         this.localIpsCollector = localIpsCollector;
@@ -62,7 +90,30 @@ public class FraudPreventionService {
     }
 
     /**
-     * Generates all required fraud prevention headers.
+     * The fraud prevention headers to send with a request, from the current snapshot.
+     *
+     * @return unmodifiable map of header names to already-encoded values
+     * @throws RuntimeException if no snapshot exists yet and a mandatory header cannot be collected
+     */
+    public Map<String, String> currentHeaders() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            long period = FraudHeaderSnapshot.REFRESH_AFTER.toNanos();
+            refreshTimer.scheduleWithFixedDelay(this::refreshHeaders, period, period, TimeUnit.NANOSECONDS);
+        }
+        return snapshot.headers();
+    }
+
+    /**
+     * Collects the headers afresh and makes them the current snapshot, keeping the previous one if
+     * collection fails. Runs on the refresh timer; call it directly when the device's network is
+     * known to have changed.
+     */
+    public void refreshHeaders() {
+        snapshot.refresh();
+    }
+
+    /**
+     * Generates all required fraud prevention headers, collecting every value now.
      *
      * @return Map of header names to values
      */
@@ -200,4 +251,10 @@ public class FraudPreventionService {
     private String encodeHeaderValue(String value) {
         return URLEncoder.encode(value, StandardCharsets.UTF_8);
     }
+
+    /** Refresh timer shared by every instance; its virtual thread starts with the first refresh scheduled. */
+    private static final class RefreshTimer {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("fraud-headers-refresh").factory());
+    }
 }
@@ -5,6 +5,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.selfemploy.hmrc.client.HmrcTransport;
 import uk.selfemploy.hmrc.config.HmrcConfig;
 import uk.selfemploy.hmrc.config.HmrcHosts;
 import uk.selfemploy.hmrc.exception.HmrcOAuthException;
@@ -17,35 +18,32 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * Default implementation of TokenExchangeClient using java.net.http.HttpClient.
+ * Default implementation of TokenExchangeClient, posting to HMRC's token endpoint through the
+ * shared {@link HmrcTransport}.
  */
 @ApplicationScoped
 public class DefaultTokenExchangeClient implements TokenExchangeClient {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultTokenExchangeClient.class);
-    private static final Duration TIMEOUT = Duration.ofSeconds(30);
 
     private final HmrcConfig config;
-    private final HttpClient httpClient;
+    private final HmrcTransport transport;
     private final ObjectMapper objectMapper;
 
     @Inject
     public DefaultTokenExchangeClient(HmrcConfig config) {
         this.config = config;
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(TIMEOUT)
-            .build();
+        this.transport = HmrcTransport.shared();
         this.objectMapper = new ObjectMapper();
     }
 
     // Constructor for testing
     DefaultTokenExchangeClient(HmrcConfig config, HttpClient httpClient, ObjectMapper objectMapper) {
         this.config = config;
-        this.httpClient = httpClient;
+        this.transport = new HmrcTransport(httpClient);
         this.objectMapper = objectMapper;
     }
 
@@ -146,15 +144,13 @@ public class DefaultTokenExchangeClient implements TokenExchangeClient {
                 new HmrcOAuthException(OAuthError.CONFIGURATION_ERROR,
                     "The configured HMRC token URL is not an official HMRC address."));
         }
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpRequest.Builder request = HttpRequest.newBuilder()
             .uri(tokenUri)
             .header("Content-Type", "application/x-www-form-urlencoded")
             .header("Accept", "application/json")
-            .timeout(TIMEOUT)
-            .POST(HttpRequest.BodyPublishers.ofString(body))
-            .build();
+            .POST(HttpRequest.BodyPublishers.ofString(body));
 
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        return transport.sendAsync(HmrcTransport.Endpoint.TOKEN, request)
             .thenApply(response -> handleTokenResponse(response));
     }
 
@@ -0,0 +1,128 @@
+package uk.selfemploy.hmrc.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.hmrc.client.HmrcOverviewCache.Leg;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("HmrcOverviewCache")
+class HmrcOverviewCacheTest {
+
+    private static final String NINO = "AA123456A";
+    private static final TaxYear TAX_YEAR = TaxYear.of(2025);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-12-01T10:00:00Z"), ZoneOffset.UTC);
+
+    /** Answers each call with the future given for it, counting the fetches. */
+    private static final class StubSource implements HmrcOverviewCache.Source<String, String, String, List<Leg<String>>> {
+
+        private final CompletableFuture<String> individualDetails;
+        private final CompletableFuture<String> businessDetails;
+        private final CompletableFuture<String> obligations;
+        private final AtomicInteger fetches = new AtomicInteger();
+
+        StubSource(CompletableFuture<String> individualDetails, CompletableFuture<String> businessDetails,
+                   CompletableFuture<String> obligations) {
+            this.individualDetails = individualDetails;
+            this.businessDetails = businessDetails;
+            this.obligations = obligations;
+        }
+
+        @Override
+        public CompletionStage<String> individualDetails(String nino, String accessToken) {
+            fetches.incrementAndGet();
+            return individualDetails;
+        }
+
+        @Override
+        public CompletionStage<String> businessDetails(String nino, String accessToken) {
+            return businessDetails;
+        }
+
+        @Override
+        public CompletionStage<String> obligations(String nino, TaxYear taxYear, String accessToken) {
+            return obligations;
+        }
+
+        @Override
+        public List<Leg<String>> assemble(Leg<String> individualDetails, Leg<String> businessDetails,
+                                          Leg<String> obligations, Instant fetchedAt) {
+            return List.of(individualDetails, businessDetails, obligations);
+        }
+
+        @Override
+        public boolean worthKeeping(List<Leg<String>> overview) {
+            return overview.stream().allMatch(Leg::answered);
+        }
+    }
+
+    @Test
+    @DisplayName("independent calls: a failure leaves the others' answers and is not kept")
+    void independentLegs() {
+        StubSource source = new StubSource(CompletableFuture.failedFuture(new IllegalStateException("down")),
+            CompletableFuture.completedFuture("businesses"), CompletableFuture.completedFuture("obligations"));
+        HmrcOverviewCache<String, String, String, List<Leg<String>>> cache =
+            new HmrcOverviewCache<>(source, () -> "token", HmrcOverviewCache.Legs.INDEPENDENT, CLOCK);
+
+        List<Leg<String>> overview = cache.overview(NINO, TAX_YEAR);
+
+        assertThat(overview.get(0).answered()).isFalse();
+        assertThat(overview.get(1).answer()).isEqualTo("businesses");
+        assertThat(overview.get(2).answer()).isEqualTo("obligations");
+        cache.overview(NINO, TAX_YEAR);
+        assertThat(source.fetches).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("independent calls: the overview fails when no call was answered")
+    void independentLegsAllFailed() {
+        IllegalStateException down = new IllegalStateException("down");
+        StubSource source = new StubSource(CompletableFuture.failedFuture(down),
+            CompletableFuture.failedFuture(new IllegalStateException("also down")),
+            CompletableFuture.failedFuture(new IllegalStateException("still down")));
+        HmrcOverviewCache<String, String, String, List<Leg<String>>> cache =
+            new HmrcOverviewCache<>(source, () -> "token", HmrcOverviewCache.Legs.INDEPENDENT, CLOCK);
+
+        assertThatThrownBy(() -> cache.overview(NINO, TAX_YEAR)).isSameAs(down);
+    }
+
+    @Test
+    @DisplayName("all or nothing: a failure cancels the calls still running and fails the overview")
+    void allOrNothing() {
+        IllegalStateException down = new IllegalStateException("down");
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        StubSource source = new StubSource(pending, CompletableFuture.failedFuture(down),
+            CompletableFuture.completedFuture("obligations"));
+        HmrcOverviewCache<String, String, String, List<Leg<String>>> cache =
+            new HmrcOverviewCache<>(source, () -> "token", HmrcOverviewCache.Legs.ALL_OR_NOTHING, CLOCK);
+
+        assertThatThrownBy(() -> cache.overview(NINO, TAX_YEAR)).isSameAs(down);
+        assertThat(pending).isCancelled();
+    }
+
+    @Test
+    @DisplayName("shares a kept overview between callers and drops it when invalidated")
+    void sharesAndInvalidates() {
+        StubSource source = new StubSource(CompletableFuture.completedFuture("individual"),
+            CompletableFuture.completedFuture("businesses"), CompletableFuture.completedFuture("obligations"));
+        HmrcOverviewCache<String, String, String, List<Leg<String>>> cache =
+            new HmrcOverviewCache<>(source, () -> "token", HmrcOverviewCache.Legs.INDEPENDENT, CLOCK);
+
+        List<Leg<String>> first = cache.overview(NINO, TAX_YEAR);
+        assertThat(cache.overview(NINO.toLowerCase(), TAX_YEAR)).isSameAs(first);
+
+        cache.invalidate(NINO, TAX_YEAR);
+        cache.overview(NINO, TAX_YEAR);
+        assertThat(source.fetches).hasValue(2);
+    }
+}
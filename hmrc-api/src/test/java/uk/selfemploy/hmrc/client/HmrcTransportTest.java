@@ -0,0 +1,73 @@
+package uk.selfemploy.hmrc.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("HmrcTransport")
+class HmrcTransportTest {
+
+    private static final URI HELLO = URI.create("https://test-api.service.hmrc.gov.uk/hello/world");
+
+    @Test
+    @DisplayName("the shared transport is one instance for the whole app")
+    void sharedIsSingleton() {
+        assertThat(HmrcTransport.shared()).isSameAs(HmrcTransport.shared());
+    }
+
+    @Test
+    @DisplayName("applies the endpoint's timeout in place of any the caller set")
+    @SuppressWarnings("unchecked")
+    void appliesEndpointTimeout() throws Exception {
+        HttpClient httpClient = mock(HttpClient.class);
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(httpClient.<String>send(any(HttpRequest.class), any())).thenReturn(response);
+        HmrcTransport transport = new HmrcTransport(httpClient);
+
+        transport.send(HmrcTransport.Endpoint.CONNECTION_TEST,
+            HttpRequest.newBuilder(HELLO).timeout(Duration.ofMinutes(5)).GET());
+
+        ArgumentCaptor<HttpRequest> sent = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(sent.capture(), any());
+        assertThat(sent.getValue().timeout()).contains(HmrcTransport.Endpoint.CONNECTION_TEST.timeout());
+    }
+
+    @Test
+    @DisplayName("counts requests, error responses and failures per endpoint")
+    @SuppressWarnings("unchecked")
+    void countsPerEndpoint() throws Exception {
+        HttpClient httpClient = mock(HttpClient.class);
+        HttpResponse<String> notFound = mock(HttpResponse.class);
+        when(notFound.statusCode()).thenReturn(404);
+        when(httpClient.<String>send(any(HttpRequest.class), any()))
+            .thenReturn(notFound)
+            .thenThrow(new HttpTimeoutException("request timed out"));
+        HmrcTransport transport = new HmrcTransport(httpClient);
+
+        transport.send(HmrcTransport.Endpoint.CALCULATION, HttpRequest.newBuilder(HELLO).GET());
+        assertThatThrownBy(() -> transport.send(HmrcTransport.Endpoint.CALCULATION,
+            HttpRequest.newBuilder(HELLO).GET())).isInstanceOf(HttpTimeoutException.class);
+
+        HmrcTransport.EndpointMetrics calculation = transport.metrics().get(HmrcTransport.Endpoint.CALCULATION);
+        assertThat(calculation.requests()).isEqualTo(2);
+        assertThat(calculation.errorResponses()).isEqualTo(1);
+        assertThat(calculation.failures()).isEqualTo(1);
+        assertThat(transport.metrics().get(HmrcTransport.Endpoint.TOKEN))
+            .isEqualTo(HmrcTransport.EndpointMetrics.NONE);
+    }
+}
@@ -0,0 +1,123 @@
+package uk.selfemploy.hmrc.fraud;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for FraudHeaderSnapshot, driven by a fake clock and a refresher that queues its work
+ * until the test runs it.
+ */
+@DisplayName("FraudHeaderSnapshot")
+class FraudHeaderSnapshotTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger builds = new AtomicInteger();
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private String localIps;
+    private RuntimeException failure;
+
+    private FraudHeaderSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        localIps = "192.168.1.10";
+        snapshot = new FraudHeaderSnapshot(this::build, clock::get, pendingRefreshes::add);
+    }
+
+    private Map<String, String> build() {
+        if (failure != null) {
+            throw failure;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(FraudPreventionHeaders.Headers.LOCAL_IPS, localIps);
+        headers.put(FraudPreventionHeaders.Headers.LOCAL_IPS_TIMESTAMP, "build-" + builds.incrementAndGet());
+        return headers;
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("builds once and serves the same unmodifiable headers until a refresh is due")
+    void reusesSnapshot() {
+        Map<String, String> first = snapshot.headers();
+        advance(Duration.ofSeconds(30));
+
+        assertThat(snapshot.headers()).isSameAs(first);
+        assertThat(builds).hasValue(1);
+        assertThat(pendingRefreshes).isEmpty();
+        assertThatThrownBy(() -> first.put("X", "Y")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("once due, serves the old headers while one background refresh replaces them")
+    void refreshesInBackground() {
+        snapshot.headers();
+        localIps = "10.0.0.5";
+        advance(FraudHeaderSnapshot.REFRESH_AFTER);
+
+        assertThat(snapshot.headers()).containsEntry(FraudPreventionHeaders.Headers.LOCAL_IPS, "192.168.1.10");
+        snapshot.headers();
+        assertThat(pendingRefreshes).hasSize(1);
+
+        pendingRefreshes.removeFirst().run();
+
+        assertThat(snapshot.headers())
+            .containsEntry(FraudPreventionHeaders.Headers.LOCAL_IPS, "10.0.0.5")
+            .containsEntry(FraudPreventionHeaders.Headers.LOCAL_IPS_TIMESTAMP, "build-2");
+    }
+
+    @Test
+    @DisplayName("a failed refresh keeps the previous headers until they are too old to send")
+    void failedRefreshKeepsPrevious() {
+        snapshot.headers();
+        failure = new IllegalStateException("no interfaces");
+        advance(FraudHeaderSnapshot.REFRESH_AFTER);
+        snapshot.headers();
+
+        pendingRefreshes.removeFirst().run();
+
+        assertThat(snapshot.headers()).containsEntry(FraudPreventionHeaders.Headers.LOCAL_IPS_TIMESTAMP, "build-1");
+        advance(FraudHeaderSnapshot.MAX_AGE);
+        assertThatThrownBy(snapshot::headers).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("refresh() rebuilds at once, IPs and timestamp together")
+    void refreshRebuilds() {
+        snapshot.headers();
+        localIps = "172.16.0.2";
+
+        snapshot.refresh();
+
+        assertThat(builds).hasValue(2);
+        assertThat(snapshot.headers())
+            .containsEntry(FraudPreventionHeaders.Headers.LOCAL_IPS, "172.16.0.2")
+            .containsEntry(FraudPreventionHeaders.Headers.LOCAL_IPS_TIMESTAMP, "build-2");
+        assertThat(pendingRefreshes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a failed refresh() keeps serving the previous headers")
+    void failedRefreshNowKeepsPrevious() {
+        snapshot.headers();
+        failure = new IllegalStateException("no interfaces");
+
+        snapshot.refresh();
+
+        assertThat(snapshot.headers()).containsEntry(FraudPreventionHeaders.Headers.LOCAL_IPS_TIMESTAMP, "build-1");
+    }
+}
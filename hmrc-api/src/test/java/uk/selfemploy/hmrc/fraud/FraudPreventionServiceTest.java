@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import uk.selfemploy.hmrc.fraud.collectors.DeviceIdCollector;
 import uk.selfemploy.hmrc.fraud.collectors.LocalIpsCollector;
 import uk.selfemploy.hmrc.fraud.collectors.LocalIpsTimestampCollector;
@@ -13,8 +14,14 @@ import uk.selfemploy.hmrc.fraud.collectors.UserAgentCollector;
 import uk.selfemploy.hmrc.fraud.collectors.UserIdsCollector;
 
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for FraudPreventionService.
@@ -185,4 +192,38 @@ class FraudPreventionServiceTest {
             assertThat(service.validateHeaders(headers)).isFalse();
         }
     }
+
+    @Nested
+    @DisplayName("Background Refresh")
+    class BackgroundRefresh {
+
+        @Test
+        @DisplayName("the first request schedules refreshHeaders once, every REFRESH_AFTER")
+        void firstRequestSchedulesRefresh() {
+            ScheduledExecutorService timer = mock(ScheduledExecutorService.class);
+            FraudPreventionService timed = new FraudPreventionService(
+                new DeviceIdCollector(),
+                new TimezoneCollector(),
+                new LocalIpsCollector(),
+                new LocalIpsTimestampCollector(),
+                new MacAddressesCollector(),
+                new UserIdsCollector(),
+                new UserAgentCollector(),
+                "1.0.0-TEST",
+                timer
+            );
+            ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+
+            Map<String, String> first = timed.currentHeaders();
+            timed.currentHeaders();
+
+            long period = FraudHeaderSnapshot.REFRESH_AFTER.toNanos();
+            verify(timer, times(1)).scheduleWithFixedDelay(
+                task.capture(), eq(period), eq(period), eq(TimeUnit.NANOSECONDS));
+
+            task.getValue().run();
+
+            assertThat(timed.currentHeaders()).isNotSameAs(first).containsOnlyKeys(first.keySet());
+        }
+    }
 }
@@ -7,8 +7,13 @@ import uk.selfemploy.common.enums.ReviewStatus;
 import uk.selfemploy.persistence.entity.BankTransactionEntity;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -21,6 +26,11 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class BankTransactionRepository implements PanacheRepositoryBase<BankTransactionEntity, UUID> {
 
+    /**
+     * Maximum number of hashes bound into one IN list by {@link #findExistingHashes}.
+     */
+    static final int HASH_LOOKUP_CHUNK_SIZE = 500;
+
     /**
      * Saves a new bank transaction.
      */
@@ -97,6 +107,30 @@ public class BankTransactionRepository implements PanacheRepositoryBase<BankTran
                 businessId, transactionHash) > 0;
     }
 
+    /**
+     * Returns the subset of the given hashes that already exist for a business.
+     * Used for duplicate detection during bulk import: one set-based query per
+     * {@value #HASH_LOOKUP_CHUNK_SIZE} hashes instead of one query per row.
+     */
+    public Set<String> findExistingHashes(UUID businessId, Collection<String> transactionHashes) {
+        if (transactionHashes == null || transactionHashes.isEmpty()) {
+            return Set.of();
+        }
+        List<String> hashes = new ArrayList<>(new LinkedHashSet<>(transactionHashes));
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < hashes.size(); from += HASH_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = hashes.subList(from, Math.min(from + HASH_LOOKUP_CHUNK_SIZE, hashes.size()));
+            existing.addAll(getEntityManager()
+                .createQuery("select b.transactionHash from BankTransactionEntity b "
+                        + "where b.businessId = :businessId and b.transactionHash in :hashes "
+                        + "and b.deletedAt is null", String.class)
+                .setParameter("businessId", businessId)
+                .setParameter("hashes", chunk)
+                .getResultList());
+        }
+        return existing;
+    }
+
     /**
      * Counts active transactions by review status for a business.
      */
@@ -124,11 +158,17 @@ public class BankTransactionRepository implements PanacheRepositoryBase<BankTran
     }
 
     /**
-     * Saves a batch of bank transactions.
+     * Saves a batch of bank transactions in the caller's transaction. The inserts are
+     * flushed together, so they go out as JDBC batches rather than one statement per row.
      */
     public List<BankTransaction> saveAll(List<BankTransaction> transactions) {
-        return transactions.stream()
-            .map(this::save)
+        List<BankTransactionEntity> entities = transactions.stream()
+            .map(BankTransactionEntity::fromDomain)
+            .collect(Collectors.toList());
+        persist(entities);
+        flush();
+        return entities.stream()
+            .map(BankTransactionEntity::toDomain)
             .collect(Collectors.toList());
     }
 }
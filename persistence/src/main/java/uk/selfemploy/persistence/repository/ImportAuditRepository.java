@@ -107,11 +107,38 @@ public class ImportAuditRepository implements PanacheRepositoryBase<ImportAuditE
             .collect(Collectors.toList());
     }
 
+    /**
+     * Completes the figures of an audit written before its import finished: the file
+     * hash and the record counts.
+     *
+     * <p>An import that streams its rows writes the audit as soon as the first rows
+     * referencing it are inserted, and calls this once the file has been read. It is
+     * called only inside that import's transaction, so the provisional figures are never
+     * visible to another reader and the record is still immutable once committed
+     * (COND-F9 requirement).</p>
+     */
+    public ImportAudit completeSummary(UUID id, String fileHash, int totalRecords,
+                                       int importedCount, int skippedCount) {
+        ImportAuditEntity entity = findById(id);
+        if (entity == null) {
+            throw new IllegalArgumentException("Import audit not found: " + id);
+        }
+
+        entity.setFileHash(fileHash);
+        entity.setTotalRecords(totalRecords);
+        entity.setImportedCount(importedCount);
+        entity.setSkippedCount(skippedCount);
+
+        persist(entity);
+        return entity.toDomain();
+    }
+
     /**
      * Updates the status of an import audit (for undo operation).
      *
-     * <p>This is the ONLY update operation allowed on audit records
-     * (COND-F9 requirement). It only changes status-related fields.</p>
+     * <p>Apart from {@link #completeSummary} within the creating import, this is the
+     * ONLY update operation allowed on audit records (COND-F9 requirement). It only
+     * changes status-related fields.</p>
      */
     public ImportAudit updateStatus(ImportAudit audit) {
         ImportAuditEntity entity = findById(audit.id());
@@ -15,6 +15,7 @@ import uk.selfemploy.common.enums.*;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -270,6 +271,44 @@ class BankTransactionRepositoryTest {
         assertThat(bankTransactionRepository.existsByHash(businessId, "del-hash")).isFalse();
     }
 
+    // --- findExistingHashes ---
+
+    @Test
+    @Transactional
+    @DisplayName("findExistingHashes: returns only the hashes already stored")
+    void findExistingHashesReturnsStoredSubset() {
+        bankTransactionRepository.save(createTransaction("TX1", new BigDecimal("10.00"), "stored-1"));
+        bankTransactionRepository.save(createTransaction("TX2", new BigDecimal("20.00"), "stored-2"));
+
+        assertThat(bankTransactionRepository.findExistingHashes(businessId,
+            List.of("stored-1", "new-1", "stored-2", "new-2")))
+            .containsExactlyInAnyOrder("stored-1", "stored-2");
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("findExistingHashes: ignores soft-deleted transactions")
+    void findExistingHashesIgnoresDeleted() {
+        bankTransactionRepository.save(createTransaction("TX", new BigDecimal("10.00"), "gone")
+            .withSoftDelete(NOW, "system", "test"));
+
+        assertThat(bankTransactionRepository.findExistingHashes(businessId, List.of("gone"))).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("findExistingHashes: looks up more hashes than fit in one chunk")
+    void findExistingHashesSpansChunks() {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < BankTransactionRepository.HASH_LOOKUP_CHUNK_SIZE + 10; i++) {
+            hashes.add("probe-" + i);
+        }
+        String last = hashes.get(hashes.size() - 1);
+        bankTransactionRepository.save(createTransaction("TX", new BigDecimal("10.00"), last));
+
+        assertThat(bankTransactionRepository.findExistingHashes(businessId, hashes)).containsExactly(last);
+    }
+
     // --- Counting ---
 
     @Test
@@ -1,5 +1,7 @@
 package uk.selfemploy.plugin.api;
 
+import java.util.List;
+
 /**
  * Core interface that all plugins must implement.
  *
@@ -49,8 +51,11 @@ package uk.selfemploy.plugin.api;
  * }</pre>
  *
  * <h2>Thread Safety</h2>
- * <p>Plugin lifecycle methods are called from the main application thread.
- * Plugins must be thread-safe if they perform background operations.</p>
+ * <p>At startup, {@link #onLoad(PluginContext)} is called on a background thread,
+ * possibly while other plugins are loading. A plugin's onLoad always runs after the
+ * onLoad of every plugin it declares in {@link #getDependencies()} has returned.
+ * Other lifecycle methods are called from the thread that requests them. Plugins
+ * must be thread-safe if they perform background operations.</p>
  *
  * @see PluginDescriptor
  * @see PluginContext
@@ -72,6 +77,19 @@ public interface Plugin {
      */
     PluginDescriptor getDescriptor();
 
+    /**
+     * Returns the other plugins this plugin depends on.
+     *
+     * <p>Dependencies are loaded first. A plugin whose required dependency is
+     * missing, has an incompatible version or fails to load is not loaded;
+     * a missing optional dependency is only logged.</p>
+     *
+     * @return the dependencies, empty by default
+     */
+    default List<PluginDependency> getDependencies() {
+        return List.of();
+    }
+
     /**
      * Called when the plugin is loaded.
      *
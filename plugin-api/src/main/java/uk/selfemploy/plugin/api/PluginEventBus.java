@@ -53,7 +53,9 @@ package uk.selfemploy.plugin.api;
  *
  * <h2>Event Hierarchy</h2>
  * <p>Subscriptions are type-specific. Subscribing to a base event type does not
- * receive subclass events. Subscribe to the exact event type you want to receive.</p>
+ * receive subclass events. Subscribe to the exact event type you want to receive.
+ * An implementation may offer delivery along the event's class hierarchy as an
+ * opt-in, in which case the host application enables it.</p>
  *
  * @see PluginEvent
  * @see EventHandler
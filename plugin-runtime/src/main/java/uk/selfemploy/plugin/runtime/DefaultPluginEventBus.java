@@ -9,17 +9,28 @@ import uk.selfemploy.plugin.api.Subscription;
 import uk.selfemploy.plugin.api.ThreadAffinity;
 
 import java.lang.ref.WeakReference;
-import java.util.Iterator;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 /**
  * Default thread-safe implementation of {@link PluginEventBus}.
@@ -34,12 +45,78 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *   <li>COND-1101-F: ThreadAffinity (UI_THREAD, BACKGROUND)</li>
  * </ul>
  *
+ * <h2>Dispatch</h2>
+ * <p>Each subscription has its own mailbox. Publishing appends the event to the mailbox of every
+ * matching subscriber, and a subscriber with waiting events has exactly one delivery task
+ * scheduled on its executor. That task hands up to {@code maxBatchSize} events to the handler in
+ * order, then yields and reschedules itself if more arrived. A burst of high-frequency events, such
+ * as one per imported transaction, therefore costs a UI-thread subscriber one
+ * {@code Platform.runLater} per batch rather than one per event, and each subscriber sees events in
+ * the order they were published.</p>
+ *
+ * <h2>Back-pressure</h2>
+ * <p>Mailboxes hold up to {@code mailboxCapacity} events. A publisher that finds a mailbox full
+ * waits up to {@code maxPublishWait} for the subscriber to catch up, then queues the event anyway
+ * and counts an overflow; events are never dropped. Publishers running inside a handler, or on the
+ * UI thread when a UI-thread check is configured, never wait, since the mailbox they would wait on
+ * may need their own thread to drain.</p>
+ *
+ * <h2>Event Hierarchy</h2>
+ * <p>By default subscriptions are type-specific, as {@link PluginEventBus} documents. A bus built
+ * with {@link Builder#deliverToSupertypes(boolean)} also delivers an event to subscribers of its
+ * superclasses, up to {@link PluginEvent} itself. The superclasses of each event class are
+ * resolved once and cached.</p>
+ *
+ * <h2>Housekeeping and Metrics</h2>
+ * <p>Subscriptions whose handler has been garbage collected are removed when a publish meets them,
+ * or by {@link #compact()}. {@link #getMetrics()} reports throughput, current and peak mailbox
+ * depth, and the latency between publishing an event and its handler starting.</p>
+ *
  * @see PluginEventBus
  */
 public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultPluginEventBus.class);
 
+    /** Default number of events a subscriber handles before yielding its thread. */
+    static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    /** Default number of events a subscriber's mailbox holds before publishers wait. */
+    static final int DEFAULT_MAILBOX_CAPACITY = 10_000;
+
+    /** Default longest a publisher waits for a full mailbox before queuing anyway. */
+    static final Duration DEFAULT_MAX_PUBLISH_WAIT = Duration.ofMillis(250);
+
+    /**
+     * Marks threads currently delivering events, so that a handler which publishes never waits on
+     * a mailbox that may need its own thread to drain.
+     */
+    private static final ThreadLocal<Boolean> DELIVERING = new ThreadLocal<>();
+
+    /**
+     * A point-in-time view of the bus's dispatch metrics.
+     *
+     * @param published             events accepted by {@link #publish(PluginEvent)}
+     * @param delivered             events handed to a handler
+     * @param failed                handler invocations that threw
+     * @param overflowed            events queued to a full mailbox after the publisher stopped waiting
+     * @param queueDepth            events waiting in all mailboxes now
+     * @param maxQueueDepth         the deepest any single mailbox has been
+     * @param meanDispatchLatency   mean time from publish to the handler starting
+     * @param maxDispatchLatency    longest time from publish to the handler starting
+     */
+    public record Metrics(
+        long published,
+        long delivered,
+        long failed,
+        long overflowed,
+        int queueDepth,
+        int maxQueueDepth,
+        Duration meanDispatchLatency,
+        Duration maxDispatchLatency
+    ) {
+    }
+
     /**
      * Map of event type to list of subscriptions.
      */
@@ -50,6 +127,11 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
      */
     private final Map<String, Set<SubscriptionEntry<?>>> pluginSubscriptions;
 
+    /**
+     * Cache of each published event class to the subscribable types it is delivered to.
+     */
+    private final Map<Class<?>, List<Class<?>>> deliveryTypes = new ConcurrentHashMap<>();
+
     /**
      * Executor service for background async event dispatch.
      */
@@ -60,17 +142,36 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
      */
     private final Executor uiThreadExecutor;
 
+    /**
+     * Tells whether the caller is on the UI thread, so it is never made to wait.
+     */
+    private final BooleanSupplier onUiThread;
+
+    private final boolean deliverToSupertypes;
+    private final int maxBatchSize;
+    private final int mailboxCapacity;
+    private final long maxPublishWaitNanos;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
     /**
      * Flag indicating if the event bus has been shut down.
      */
     private final AtomicBoolean shutdown;
 
     /**
-     * Creates a new DefaultPluginEventBus with a cached thread pool.
+     * Creates a new DefaultPluginEventBus that dispatches on virtual threads.
      *
      * <p>UI thread handlers will run on the background executor since no
      * UI executor is specified. Use {@link #DefaultPluginEventBus(ExecutorService, Executor)}
-     * to specify a UI thread executor.</p>
+     * or {@link #builder()} to specify a UI thread executor.</p>
      */
     public DefaultPluginEventBus() {
         this(createDefaultExecutor(), null);
@@ -97,20 +198,35 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
      * @param uiThreadExecutor   the executor for UI thread dispatch, or null to use background
      */
     public DefaultPluginEventBus(ExecutorService backgroundExecutor, Executor uiThreadExecutor) {
+        this(new Builder().backgroundExecutor(backgroundExecutor).uiThreadExecutor(uiThreadExecutor));
+    }
+
+    private DefaultPluginEventBus(Builder builder) {
         this.subscriptions = new ConcurrentHashMap<>();
         this.pluginSubscriptions = new ConcurrentHashMap<>();
-        this.backgroundExecutor = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor must not be null");
+        this.backgroundExecutor = Objects.requireNonNull(builder.backgroundExecutor,
+            "backgroundExecutor must not be null");
         // If no UI executor provided, use background executor
-        this.uiThreadExecutor = uiThreadExecutor != null ? uiThreadExecutor : backgroundExecutor;
+        this.uiThreadExecutor = builder.uiThreadExecutor != null ? builder.uiThreadExecutor : backgroundExecutor;
+        this.onUiThread = builder.onUiThread != null ? builder.onUiThread : () -> false;
+        this.deliverToSupertypes = builder.deliverToSupertypes;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.mailboxCapacity = builder.mailboxCapacity;
+        this.maxPublishWaitNanos = builder.maxPublishWait.toNanos();
         this.shutdown = new AtomicBoolean(false);
     }
 
     private static ExecutorService createDefaultExecutor() {
-        return Executors.newCachedThreadPool(r -> {
-            Thread t = new Thread(r, "plugin-event-bus");
-            t.setDaemon(true);
-            return t;
-        });
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("plugin-event-bus-", 0).factory());
+    }
+
+    /**
+     * Creates a new builder for DefaultPluginEventBus.
+     *
+     * @return a new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     @Override
@@ -133,11 +249,12 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
             this
         );
 
-        // Add to event type subscriptions
-        subscriptions.computeIfAbsent(
-            eventType,
-            k -> new CopyOnWriteArrayList<>()
-        ).add(entry);
+        // Add to event type subscriptions; compute, so a concurrent compaction cannot drop the list
+        subscriptions.compute(eventType, (type, entries) -> {
+            List<SubscriptionEntry<?>> list = entries != null ? entries : new CopyOnWriteArrayList<>();
+            list.add(entry);
+            return list;
+        });
 
         LOG.debug("Subscribed handler to {} (affinity: {})", eventType.getSimpleName(), affinity);
 
@@ -182,64 +299,132 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
             return;
         }
 
-        Class<?> eventType = event.getClass();
-        List<SubscriptionEntry<?>> handlers = subscriptions.get(eventType);
-
-        if (handlers == null || handlers.isEmpty()) {
-            LOG.trace("No handlers for event type: {}", eventType.getSimpleName());
-            return;
-        }
-
-        LOG.debug("Publishing {} to {} handler(s)", eventType.getSimpleName(), handlers.size());
-
-        // Clean up dead references and dispatch to live handlers
-        Iterator<SubscriptionEntry<?>> iterator = handlers.iterator();
-        while (iterator.hasNext()) {
-            SubscriptionEntry<?> entry = iterator.next();
+        published.increment();
+        long publishedAt = System.nanoTime();
+        long waitDeadline = 0;
+        boolean mayWait = maxPublishWaitNanos > 0 && DELIVERING.get() == null && !onUiThread.getAsBoolean();
+        int matched = 0;
 
-            if (!entry.isActive()) {
-                // Handler was garbage collected or unsubscribed
+        for (Class<?> type : deliveryTypesOf(event.getClass())) {
+            List<SubscriptionEntry<?>> handlers = subscriptions.get(type);
+            if (handlers == null) {
                 continue;
             }
+            for (SubscriptionEntry<?> entry : handlers) {
+                if (!entry.isActive()) {
+                    // Handler was garbage collected or unsubscribed: drop it from the lists
+                    entry.unsubscribe();
+                    continue;
+                }
+                if (mayWait && entry.isFull(mailboxCapacity)) {
+                    if (waitDeadline == 0) {
+                        waitDeadline = publishedAt + maxPublishWaitNanos;
+                    }
+                    if (!entry.awaitSpace(mailboxCapacity, waitDeadline)) {
+                        overflowed.increment();
+                        mayWait = false;   // already late; do not wait again for the next subscriber
+                    }
+                }
+                enqueue(entry, event, publishedAt);
+                matched++;
+            }
+        }
 
-            dispatchToHandler(entry, event);
+        if (matched == 0) {
+            LOG.trace("No handlers for event type: {}", event.getClass().getSimpleName());
+        } else {
+            LOG.debug("Published {} to {} handler(s)", event.getClass().getSimpleName(), matched);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private <T extends PluginEvent> void dispatchToHandler(
-            SubscriptionEntry<?> entry,
-            PluginEvent event) {
-
-        SubscriptionEntry<T> typedEntry = (SubscriptionEntry<T>) entry;
-        EventHandler<T> handler = typedEntry.getHandler();
-
-        if (handler == null) {
-            // Handler was garbage collected
-            entry.unsubscribe();
-            return;
+    /**
+     * Returns the subscribable types an event class is delivered to, resolving it on first use.
+     */
+    private List<Class<?>> deliveryTypesOf(Class<?> eventClass) {
+        if (!deliverToSupertypes) {
+            return List.of(eventClass);
         }
-
-        Runnable task = () -> {
-            try {
-                handler.handle((T) event);
-            } catch (Exception e) {
-                // COND-1101-C: Exception in one handler doesn't affect others
-                LOG.error(
-                    "Exception in event handler for {}: {}",
-                    event.getClass().getSimpleName(),
-                    e.getMessage(),
-                    e
-                );
+        return deliveryTypes.computeIfAbsent(eventClass, type -> {
+            List<Class<?>> types = new ArrayList<>();
+            // PluginEvent is a class, so only the superclass chain can carry subscriptions
+            for (Class<?> c = type; c != null && PluginEvent.class.isAssignableFrom(c); c = c.getSuperclass()) {
+                types.add(c);
             }
-        };
+            return List.copyOf(types);
+        });
+    }
 
+    private void enqueue(SubscriptionEntry<?> entry, PluginEvent event, long publishedAt) {
+        int depth = entry.offer(new Envelope(event, publishedAt));
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        queueDepth.incrementAndGet();
+        if (entry.claimDelivery()) {
+            schedule(entry);
+        }
+    }
+
+    /**
+     * Schedules the delivery task for a subscriber that has just claimed it.
+     */
+    private void schedule(SubscriptionEntry<?> entry) {
         // COND-1101-F: Dispatch based on thread affinity
-        if (entry.getAffinity() == ThreadAffinity.UI_THREAD) {
-            uiThreadExecutor.execute(task);
-        } else {
+        Executor executor = entry.getAffinity() == ThreadAffinity.UI_THREAD ? uiThreadExecutor : backgroundExecutor;
+        try {
             // COND-1101-B: Async dispatch via ExecutorService
-            backgroundExecutor.execute(task);
+            executor.execute(entry.deliveryTask());
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Event delivery rejected for {}: bus is shutting down", entry.getEventType().getSimpleName());
+            queueDepth.addAndGet(-entry.discardPending());
+            entry.releaseDelivery();
+        }
+    }
+
+    /**
+     * Hands up to one batch of a subscriber's waiting events to its handler, then reschedules
+     * itself if more are waiting.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends PluginEvent> void deliver(SubscriptionEntry<T> entry) {
+        DELIVERING.set(Boolean.TRUE);
+        try {
+            EventHandler<T> handler = entry.getHandler();
+            int handled = 0;
+            Envelope envelope;
+            while (handled < maxBatchSize && (envelope = entry.poll()) != null) {
+                queueDepth.decrementAndGet();
+                if (handler == null || !entry.isActive()) {
+                    continue;   // unsubscribed or collected while queued: discard
+                }
+                long latency = System.nanoTime() - envelope.publishedAt();
+                totalLatencyNanos.add(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                delivered.increment();
+                handled++;
+                try {
+                    handler.handle((T) envelope.event());
+                } catch (Exception e) {
+                    // COND-1101-C: Exception in one handler doesn't affect others
+                    failed.increment();
+                    LOG.error(
+                        "Exception in event handler for {}: {}",
+                        envelope.event().getClass().getSimpleName(),
+                        e.getMessage(),
+                        e
+                    );
+                }
+            }
+            entry.signalSpace();
+            if (handler == null) {
+                entry.unsubscribe();
+            }
+        } finally {
+            DELIVERING.remove();
+            entry.releaseDelivery();
+            // Events that arrived after the last poll: claim delivery again, or leave it to the
+            // publisher that is about to
+            if (entry.hasPending() && !shutdown.get() && entry.claimDelivery()) {
+                schedule(entry);
+            }
         }
     }
 
@@ -275,24 +460,70 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
     }
 
     /**
-     * Removes a subscription from tracking.
+     * Removes every subscription whose handler has been garbage collected.
+     *
+     * <p>Publishing removes the dead subscriptions it meets, so this only matters for event types
+     * that are rarely published.</p>
+     *
+     * @return the number of subscriptions removed
+     */
+    public int compact() {
+        int removed = 0;
+        for (List<SubscriptionEntry<?>> handlers : subscriptions.values()) {
+            for (SubscriptionEntry<?> entry : handlers) {
+                if (!entry.isActive()) {
+                    entry.unsubscribe();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            LOG.debug("Compacted {} dead event subscriptions", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes a subscription from tracking, dropping lists and sets it leaves empty.
      */
     void removeSubscription(SubscriptionEntry<?> entry) {
-        Class<?> eventType = entry.getEventType();
-        List<SubscriptionEntry<?>> handlers = subscriptions.get(eventType);
-        if (handlers != null) {
+        subscriptions.computeIfPresent(entry.getEventType(), (type, handlers) -> {
             handlers.remove(entry);
-        }
+            return handlers.isEmpty() ? null : handlers;
+        });
+        queueDepth.addAndGet(-entry.discardPending());
 
         String pluginId = entry.getPluginId();
         if (pluginId != null) {
-            Set<SubscriptionEntry<?>> pluginEntries = pluginSubscriptions.get(pluginId);
-            if (pluginEntries != null) {
+            pluginSubscriptions.computeIfPresent(pluginId, (id, pluginEntries) -> {
                 pluginEntries.remove(entry);
-            }
+                return pluginEntries.isEmpty() ? null : pluginEntries;
+            });
         }
     }
 
+    /**
+     * Returns a snapshot of the dispatch metrics.
+     *
+     * @return the metrics
+     */
+    public Metrics getMetrics() {
+        long deliveredCount = delivered.sum();
+        Duration meanLatency = deliveredCount == 0
+            ? Duration.ZERO
+            : Duration.ofNanos(totalLatencyNanos.sum() / deliveredCount);
+        return new Metrics(
+            published.sum(),
+            deliveredCount,
+            failed.sum(),
+            overflowed.sum(),
+            Math.max(0, queueDepth.get()),
+            maxQueueDepth.get(),
+            meanLatency,
+            Duration.ofNanos(maxLatencyNanos.get())
+        );
+    }
+
     /**
      * Shuts down the event bus and releases resources.
      *
@@ -304,6 +535,7 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
             backgroundExecutor.shutdown();
             subscriptions.clear();
             pluginSubscriptions.clear();
+            deliveryTypes.clear();
         }
     }
 
@@ -326,7 +558,13 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
     }
 
     /**
-     * Internal subscription entry that tracks handler with weak reference.
+     * An event waiting in a mailbox, with when it was published.
+     */
+    private record Envelope(PluginEvent event, long publishedAt) {
+    }
+
+    /**
+     * Internal subscription entry that tracks handler with weak reference and holds its mailbox.
      */
     private static class SubscriptionEntry<T extends PluginEvent> implements Subscription {
 
@@ -337,6 +575,13 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
         private final AtomicBoolean active;
         private volatile String pluginId;
 
+        private final Queue<Envelope> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+        private final ReentrantLock spaceLock = new ReentrantLock();
+        private final Condition spaceAvailable = spaceLock.newCondition();
+        private final Runnable deliveryTask;
+
         SubscriptionEntry(
                 Class<T> eventType,
                 EventHandler<T> handler,
@@ -348,6 +593,8 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
             this.affinity = affinity;
             this.eventBus = eventBus;
             this.active = new AtomicBoolean(true);
+            // One task per subscription, reused for every batch
+            this.deliveryTask = () -> eventBus.deliver(this);
         }
 
         @Override
@@ -355,6 +602,7 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
             if (active.compareAndSet(true, false)) {
                 eventBus.removeSubscription(this);
                 handlerRef.clear();
+                signalSpace();
                 LOG.trace("Unsubscribed from {}", eventType.getSimpleName());
             }
         }
@@ -383,5 +631,206 @@ public class DefaultPluginEventBus implements PluginEventBus, AutoCloseable {
         void setPluginId(String pluginId) {
             this.pluginId = pluginId;
         }
+
+        Runnable deliveryTask() {
+            return deliveryTask;
+        }
+
+        /**
+         * Appends an event to the mailbox.
+         *
+         * @return the mailbox depth including this event
+         */
+        int offer(Envelope envelope) {
+            mailbox.offer(envelope);
+            return pending.incrementAndGet();
+        }
+
+        Envelope poll() {
+            Envelope envelope = mailbox.poll();
+            if (envelope != null) {
+                pending.decrementAndGet();
+            }
+            return envelope;
+        }
+
+        boolean hasPending() {
+            return !mailbox.isEmpty();
+        }
+
+        boolean isFull(int capacity) {
+            return pending.get() >= capacity;
+        }
+
+        /**
+         * Empties the mailbox without delivering.
+         *
+         * @return the number of events discarded
+         */
+        int discardPending() {
+            int discarded = 0;
+            while (poll() != null) {
+                discarded++;
+            }
+            signalSpace();
+            return discarded;
+        }
+
+        /** Claims the right to schedule delivery; true if no delivery task was scheduled. */
+        boolean claimDelivery() {
+            return deliveryScheduled.compareAndSet(false, true);
+        }
+
+        void releaseDelivery() {
+            deliveryScheduled.set(false);
+        }
+
+        /**
+         * Waits until the mailbox has room, the subscription ends or the deadline passes.
+         *
+         * @param deadline a {@link System#nanoTime()} value
+         * @return true if there is room
+         */
+        boolean awaitSpace(int capacity, long deadline) {
+            spaceLock.lock();
+            try {
+                while (isFull(capacity) && active.get()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    spaceAvailable.awaitNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(10)));
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                spaceLock.unlock();
+            }
+        }
+
+        void signalSpace() {
+            spaceLock.lock();
+            try {
+                spaceAvailable.signalAll();
+            } finally {
+                spaceLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Builder for DefaultPluginEventBus.
+     */
+    public static class Builder {
+        private ExecutorService backgroundExecutor;
+        private Executor uiThreadExecutor;
+        private BooleanSupplier onUiThread;
+        private boolean deliverToSupertypes;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private int mailboxCapacity = DEFAULT_MAILBOX_CAPACITY;
+        private Duration maxPublishWait = DEFAULT_MAX_PUBLISH_WAIT;
+
+        /**
+         * Sets the executor for background dispatch. Defaults to one virtual thread per delivery.
+         *
+         * @param backgroundExecutor the executor service
+         * @return this builder
+         */
+        public Builder backgroundExecutor(ExecutorService backgroundExecutor) {
+            this.backgroundExecutor = backgroundExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the executor for UI thread dispatch, e.g. {@code Platform::runLater}.
+         *
+         * @param uiThreadExecutor the executor, or null to use the background executor
+         * @return this builder
+         */
+        public Builder uiThreadExecutor(Executor uiThreadExecutor) {
+            this.uiThreadExecutor = uiThreadExecutor;
+            return this;
+        }
+
+        /**
+         * Sets how to tell whether the caller is on the UI thread, e.g.
+         * {@code Platform::isFxApplicationThread}. A publisher on the UI thread never waits for a
+         * full mailbox.
+         *
+         * @param onUiThread the check, or null if publishers are never on the UI thread
+         * @return this builder
+         */
+        public Builder uiThreadCheck(BooleanSupplier onUiThread) {
+            this.onUiThread = onUiThread;
+            return this;
+        }
+
+        /**
+         * Sets whether events are also delivered to subscribers of their superclasses.
+         *
+         * @param deliverToSupertypes true to deliver along the event's class hierarchy
+         * @return this builder
+         */
+        public Builder deliverToSupertypes(boolean deliverToSupertypes) {
+            this.deliverToSupertypes = deliverToSupertypes;
+            return this;
+        }
+
+        /**
+         * Sets how many events a subscriber handles before yielding its thread.
+         *
+         * @param maxBatchSize the batch size, at least 1
+         * @return this builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be at least 1");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how many events a subscriber's mailbox holds before publishers wait.
+         *
+         * @param mailboxCapacity the capacity, at least 1
+         * @return this builder
+         */
+        public Builder mailboxCapacity(int mailboxCapacity) {
+            if (mailboxCapacity < 1) {
+                throw new IllegalArgumentException("mailboxCapacity must be at least 1");
+            }
+            this.mailboxCapacity = mailboxCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the longest a publisher waits for a full mailbox before queuing anyway.
+         *
+         * @param maxPublishWait the wait, zero to never wait
+         * @return this builder
+         */
+        public Builder maxPublishWait(Duration maxPublishWait) {
+            Objects.requireNonNull(maxPublishWait, "maxPublishWait must not be null");
+            if (maxPublishWait.isNegative()) {
+                throw new IllegalArgumentException("maxPublishWait must not be negative");
+            }
+            this.maxPublishWait = maxPublishWait;
+            return this;
+        }
+
+        /**
+         * Builds the DefaultPluginEventBus.
+         *
+         * @return a new DefaultPluginEventBus instance
+         */
+        public DefaultPluginEventBus build() {
+            if (backgroundExecutor == null) {
+                backgroundExecutor = createDefaultExecutor();
+            }
+            return new DefaultPluginEventBus(this);
+        }
     }
 }
@@ -72,6 +72,7 @@ public final class DependencyResolver {
         Map<String, Set<String>> graph = new HashMap<>();
         Map<String, Integer> inDegree = new HashMap<>();
         Map<String, String> blocked = new HashMap<>();
+        Map<String, Set<String>> required = new HashMap<>();
         List<String> warnings = new ArrayList<>();
 
         // Initialize all plugins with 0 in-degree
@@ -118,13 +119,36 @@ public final class DependencyResolver {
                 }
 
                 // Add edge: dependency -> dependent (dependency must load first)
-                graph.computeIfAbsent(dependencyId, k -> new HashSet<>()).add(dependentId);
-                inDegree.merge(dependentId, 1, Integer::sum);
+                if (graph.computeIfAbsent(dependencyId, k -> new HashSet<>()).add(dependentId)) {
+                    inDegree.merge(dependentId, 1, Integer::sum);
+                }
+                if (dep.isRequired()) {
+                    required.computeIfAbsent(dependentId, k -> new HashSet<>()).add(dependencyId);
+                }
+            }
+        }
+
+        // A plugin that requires a blocked plugin is blocked too, however far down the chain
+        Deque<String> pending = new ArrayDeque<>(blocked.keySet());
+        while (!pending.isEmpty()) {
+            String blockedId = pending.poll();
+            for (String dependent : graph.getOrDefault(blockedId, Set.of())) {
+                if (!blocked.containsKey(dependent)
+                        && required.getOrDefault(dependent, Set.of()).contains(blockedId)) {
+                    blocked.put(dependent, "Required dependency is blocked: " + blockedId);
+                    pending.add(dependent);
+                }
             }
         }
 
         // Remove blocked plugins from graph
         for (String blockedId : blocked.keySet()) {
+            // Dependents left are optional ones; they no longer wait for the blocked plugin
+            for (String dependent : graph.getOrDefault(blockedId, Set.of())) {
+                if (!blocked.containsKey(dependent)) {
+                    inDegree.merge(dependent, -1, Integer::sum);
+                }
+            }
             graph.remove(blockedId);
             inDegree.remove(blockedId);
             // Remove edges pointing to blocked plugins
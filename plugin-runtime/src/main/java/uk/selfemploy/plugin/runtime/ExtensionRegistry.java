@@ -14,6 +14,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Registry for managing extension point implementations.
@@ -39,6 +41,13 @@ import java.util.concurrent.CopyOnWriteArrayList;
  *     extensionRegistry.getExtensions(NavigationExtension.class);
  * }</pre>
  *
+ * <p>Lookups are cached. The resolved list for each extension type and policy is
+ * kept until an extension of that type is registered or unregistered, so repeated
+ * lookups return the same immutable list without copying or sorting. Priorities
+ * are therefore read when the list is first resolved after a change; an extension
+ * whose priority changes while registered is not reordered until its type next
+ * changes.</p>
+ *
  * <h2>Thread Safety</h2>
  * <p>This class is fully thread-safe. It uses concurrent data structures
  * to support concurrent registration and lookup operations.</p>
@@ -64,6 +73,12 @@ public class ExtensionRegistry {
     private final Map<String, Set<ExtensionEntry<?>>> extensionsByPlugin =
         new ConcurrentHashMap<>();
 
+    /**
+     * Resolved lookups per extension type, invalidated by bumping the type's version.
+     */
+    private final Map<Class<? extends ExtensionPoint>, LookupCache> lookupCaches =
+        new ConcurrentHashMap<>();
+
     /**
      * Conflict resolver for ordering extensions.
      * COND-1105-D: Resolver is injected.
@@ -134,6 +149,7 @@ public class ExtensionRegistry {
             extensionsByPlugin.computeIfAbsent(pluginId, k -> ConcurrentHashMap.newKeySet())
                 .add(entry);
         }
+        invalidate(type);
 
         LOG.debug("Registered extension: type={}, plugin={}, class={}",
             type.getSimpleName(),
@@ -162,6 +178,7 @@ public class ExtensionRegistry {
         boolean removed = entries.removeIf(e -> e.extension().equals(extension));
 
         if (removed) {
+            invalidate(type);
             LOG.debug("Unregistered extension: type={}, class={}",
                 type.getSimpleName(),
                 extension.getClass().getName()
@@ -194,6 +211,7 @@ public class ExtensionRegistry {
         for (ExtensionEntry<?> entry : pluginExtensions) {
             List<ExtensionEntry<?>> entries = extensions.get(entry.type());
             if (entries != null && entries.remove(entry)) {
+                invalidate(entry.type());
                 count++;
             }
         }
@@ -222,8 +240,10 @@ public class ExtensionRegistry {
     /**
      * Returns all registered extensions of the given type, sorted by the specified policy.
      *
-     * <p>The returned list is unmodifiable. Extensions are ordered according to
-     * the specified conflict resolution policy.</p>
+     * <p>The returned list is immutable. Extensions are ordered according to
+     * the specified conflict resolution policy. The list is resolved once per
+     * change to the registered extensions of this type and then shared between
+     * callers.</p>
      *
      * @param <T>    the extension point type
      * @param type   the extension point class
@@ -237,20 +257,31 @@ public class ExtensionRegistry {
         Objects.requireNonNull(type, "type must not be null");
         Objects.requireNonNull(policy, "policy must not be null");
 
+        LookupCache cache = lookupCaches.computeIfAbsent(type, k -> new LookupCache());
+        // Read the version before the entries: a change made in between leaves a
+        // snapshot tagged with the old version, which the next lookup replaces
+        long version = cache.version.get();
+        Snapshot snapshot = cache.byPolicy.get(policy.ordinal());
+        if (snapshot != null && snapshot.version() == version) {
+            return (List<T>) snapshot.extensions();
+        }
+
+        List<T> resolved;
         List<ExtensionEntry<?>> entries = extensions.get(type);
         if (entries == null || entries.isEmpty()) {
-            return Collections.emptyList();
-        }
+            resolved = List.of();
+        } else {
+            // Extract extensions from entries
+            List<T> unsorted = new ArrayList<>(entries.size());
+            for (ExtensionEntry<?> entry : entries) {
+                unsorted.add((T) entry.extension());
+            }
 
-        // Extract extensions from entries
-        List<T> unsorted = new ArrayList<>(entries.size());
-        for (ExtensionEntry<?> entry : entries) {
-            unsorted.add((T) entry.extension());
+            // Apply conflict resolution
+            resolved = List.copyOf(conflictResolver.resolve(unsorted, policy));
         }
-
-        // Apply conflict resolution
-        List<T> sorted = conflictResolver.resolve(unsorted, policy);
-        return Collections.unmodifiableList(sorted);
+        cache.byPolicy.set(policy.ordinal(), new Snapshot(version, resolved));
+        return resolved;
     }
 
     /**
@@ -330,6 +361,7 @@ public class ExtensionRegistry {
     public void clear() {
         extensions.clear();
         extensionsByPlugin.clear();
+        lookupCaches.values().forEach(cache -> cache.version.incrementAndGet());
         LOG.debug("Cleared all registered extensions");
     }
 
@@ -361,6 +393,27 @@ public class ExtensionRegistry {
         this.defaultPolicy = Objects.requireNonNull(policy, "policy must not be null");
     }
 
+    /**
+     * Discards the cached lookups for a type. Called after its entries change.
+     */
+    private void invalidate(Class<? extends ExtensionPoint> type) {
+        lookupCaches.computeIfAbsent(type, k -> new LookupCache()).version.incrementAndGet();
+    }
+
+    /**
+     * Cached lookups for one extension type, one slot per conflict resolution policy.
+     */
+    private static final class LookupCache {
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicReferenceArray<Snapshot> byPolicy =
+            new AtomicReferenceArray<>(ConflictResolutionPolicy.values().length);
+    }
+
+    /**
+     * A resolved lookup and the version of the type's entries it was resolved from.
+     */
+    private record Snapshot(long version, List<?> extensions) {}
+
     /**
      * Internal record to hold extension registration information.
      */
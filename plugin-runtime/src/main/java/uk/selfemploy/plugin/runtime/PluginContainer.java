@@ -26,6 +26,7 @@ public class PluginContainer {
 
     private final Plugin plugin;
     private final PluginDescriptor descriptor;
+    private final PluginSignatureVerifier.VerificationResult signatureVerification;
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     private PluginState state;
@@ -41,11 +42,23 @@ public class PluginContainer {
      * @throws NullPointerException if plugin is null
      */
     public PluginContainer(Plugin plugin) {
+        this(plugin, null);
+    }
+
+    /**
+     * Creates a new PluginContainer for a plugin whose JAR was checked before it was instantiated.
+     *
+     * @param plugin                the plugin instance, must not be null
+     * @param signatureVerification the result of checking the plugin's JAR, or null if it was not checked
+     * @throws NullPointerException if plugin is null
+     */
+    PluginContainer(Plugin plugin, PluginSignatureVerifier.VerificationResult signatureVerification) {
         this.plugin = Objects.requireNonNull(plugin, "plugin must not be null");
         this.descriptor = Objects.requireNonNull(
             plugin.getDescriptor(),
             "plugin descriptor must not be null"
         );
+        this.signatureVerification = signatureVerification;
         this.state = PluginState.DISCOVERED;
     }
 
@@ -76,6 +89,15 @@ public class PluginContainer {
         return descriptor.id();
     }
 
+    /**
+     * Returns the result of checking the signature of the JAR this plugin was loaded from.
+     *
+     * @return the verification result, or null if the JAR was not checked
+     */
+    PluginSignatureVerifier.VerificationResult getSignatureVerification() {
+        return signatureVerification;
+    }
+
     /**
      * Returns the current state of the plugin.
      *
@@ -5,9 +5,20 @@ import org.slf4j.LoggerFactory;
 import uk.selfemploy.plugin.api.Plugin;
 import uk.selfemploy.plugin.api.PluginDescriptor;
 
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Loads plugins using Java's ServiceLoader mechanism.
@@ -29,6 +40,13 @@ import java.util.ServiceLoader;
  *       in native-image configuration</li>
  * </ul>
  *
+ * <h2>Signature Checks</h2>
+ * <p>When created with a {@link PluginSignatureVerifier}, the loader checks the JAR each
+ * provider class comes from before that provider is instantiated. ServiceLoader locates
+ * provider classes without initializing them, so a plugin from a rejected JAR never has its
+ * static initializers, constructor or any other code run. The JARs are checked in parallel,
+ * and the verifier's cache answers for JARs that have not changed since the last launch.</p>
+ *
  * <h2>Thread Safety</h2>
  * <p>This class is thread-safe. Discovery operations are synchronized to
  * prevent concurrent issues.</p>
@@ -55,6 +73,7 @@ public class PluginLoader {
     }
 
     private final ClassLoader classLoader;
+    private final PluginSignatureVerifier signatureVerifier;
 
     /**
      * Creates a new PluginLoader using the context class loader.
@@ -69,7 +88,18 @@ public class PluginLoader {
      * @param classLoader the class loader to use for plugin discovery
      */
     public PluginLoader(ClassLoader classLoader) {
+        this(classLoader, null);
+    }
+
+    /**
+     * Creates a new PluginLoader that checks plugin JAR signatures before instantiating plugins.
+     *
+     * @param classLoader       the class loader to use for plugin discovery
+     * @param signatureVerifier the verifier for plugin JARs, or null to load without checking
+     */
+    public PluginLoader(ClassLoader classLoader, PluginSignatureVerifier signatureVerifier) {
         this.classLoader = classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+        this.signatureVerifier = signatureVerifier;
     }
 
     /**
@@ -79,7 +109,8 @@ public class PluginLoader {
      * creates container objects for each discovered plugin.</p>
      *
      * <p>Errors during individual plugin discovery are logged but do not
-     * prevent other plugins from being loaded.</p>
+     * prevent other plugins from being loaded. With a signature verifier, providers
+     * from a JAR that fails its check are logged and never instantiated.</p>
      *
      * @return list of discovered plugins wrapped in containers
      */
@@ -88,9 +119,19 @@ public class PluginLoader {
 
         List<PluginContainer> discovered = new ArrayList<>();
         ServiceLoader<Plugin> serviceLoader = ServiceLoader.load(Plugin.class, classLoader);
+        List<ServiceLoader.Provider<Plugin>> providers = serviceLoader.stream().toList();
+        Map<Path, JarCheck> checks = checkJars(providers);
 
-        for (ServiceLoader.Provider<Plugin> provider : serviceLoader.stream().toList()) {
+        for (ServiceLoader.Provider<Plugin> provider : providers) {
             try {
+                Path jar = jarOf(provider.type());
+                JarCheck check = jar != null ? checks.get(jar) : null;
+                if (check != null && check.rejection() != null) {
+                    LOG.error("Not loading plugin {} from {}: {}",
+                        provider.type().getName(), jar, check.rejection());
+                    continue;
+                }
+
                 Plugin plugin = provider.get();
                 PluginDescriptor descriptor = plugin.getDescriptor();
 
@@ -100,7 +141,7 @@ public class PluginLoader {
                     descriptor.id()
                 );
 
-                discovered.add(new PluginContainer(plugin));
+                discovered.add(new PluginContainer(plugin, check != null ? check.result() : null));
             } catch (Exception e) {
                 LOG.error("Failed to instantiate plugin from provider: {}",
                     provider.type().getName(), e);
@@ -111,6 +152,73 @@ public class PluginLoader {
         return discovered;
     }
 
+    /**
+     * The outcome of checking one JAR: the verifier's result, and why the JAR was rejected if it was.
+     */
+    private record JarCheck(PluginSignatureVerifier.VerificationResult result, String rejection) {
+    }
+
+    /**
+     * Checks the signature of every JAR the providers come from, in parallel.
+     *
+     * @return the check for each JAR, empty if there is no verifier
+     */
+    private Map<Path, JarCheck> checkJars(List<ServiceLoader.Provider<Plugin>> providers) {
+        if (signatureVerifier == null) {
+            return Map.of();
+        }
+        Set<Path> jars = new LinkedHashSet<>();
+        for (ServiceLoader.Provider<Plugin> provider : providers) {
+            Path jar = jarOf(provider.type());
+            if (jar != null) {
+                jars.add(jar);
+            } else {
+                LOG.debug("Plugin {} was not loaded from a JAR; skipping signature check",
+                    provider.type().getName());
+            }
+        }
+
+        Map<Path, JarCheck> checks = new ConcurrentHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path jar : jars) {
+                executor.execute(() -> checks.put(jar, checkJar(jar)));
+            }
+        }
+        return checks;
+    }
+
+    private JarCheck checkJar(Path jar) {
+        try {
+            PluginSignatureVerifier.VerificationResult result = signatureVerifier.verify(jar);
+            if (result.isValid()) {
+                return new JarCheck(result, null);
+            }
+            String reason = result.getStatus() == PluginSignatureVerifier.SignatureStatus.UNSIGNED
+                ? "JAR is not signed"
+                : "invalid signature: " + result.getErrorMessage();
+            return new JarCheck(result, reason);
+        } catch (RuntimeException e) {
+            LOG.debug("Signature check of {} failed", jar, e);
+            return new JarCheck(null, "signature check failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the JAR a class was loaded from, or null if it did not come from a JAR.
+     */
+    static Path jarOf(Class<?> type) {
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            return null;
+        }
+        try {
+            Path path = Path.of(source.getLocation().toURI());
+            return Files.isRegularFile(path) ? path : null;
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
     /**
      * Discovers plugins and applies filtering based on version compatibility.
      *
@@ -4,12 +4,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.selfemploy.plugin.api.Plugin;
 import uk.selfemploy.plugin.api.PluginContext;
+import uk.selfemploy.plugin.api.PluginDependency;
+import uk.selfemploy.plugin.api.PluginDescriptor;
 import uk.selfemploy.plugin.extension.ExtensionPoint;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -34,6 +47,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *   <li>Call {@link #shutdown()} when application exits</li>
  * </ol>
  *
+ * <h2>Startup</h2>
+ * <p>{@link #initialize()} loads plugins in parallel, in the order given by the
+ * {@link DependencyResolver}: each plugin's onLoad runs once every plugin it depends on
+ * has loaded. Plugin JAR signatures are checked by the {@link PluginLoader} during
+ * discovery, before any plugin is instantiated, so no code from a rejected JAR runs.
+ * How long each plugin took is available from {@link #getStartupTimings()}.</p>
+ *
  * <h2>Thread Safety</h2>
  * <p>This class is fully thread-safe. All state modifications are synchronized
  * and concurrent access is supported.</p>
@@ -67,22 +87,66 @@ public class PluginManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(PluginManager.class);
 
+    /**
+     * File name of the signature verification cache, kept in the plugin data directory.
+     */
+    static final String VERIFICATION_CACHE_FILE = "plugin-verification-cache.json";
+
+    /**
+     * How long one plugin took to start.
+     *
+     * @param pluginId           the plugin ID
+     * @param verification       time spent checking the plugin JAR's signature, zero if not checked
+     * @param verifiedFromCache  true if the signature check was answered by the verification cache
+     * @param load               time spent in the plugin's onLoad, zero if it never ran
+     */
+    public record StartupTiming(String pluginId, Duration verification, boolean verifiedFromCache, Duration load) {
+
+        /**
+         * Returns the time the plugin itself accounted for, excluding any wait for its dependencies.
+         *
+         * @return verification plus load time
+         */
+        public Duration total() {
+            return verification.plus(load);
+        }
+    }
+
     private final String appVersion;
     private final Path pluginDataDirectory;
     private final PluginLoader loader;
     private final PluginRegistry registry;
     private final ExtensionRegistry extensionRegistry;
+    private final DependencyResolver dependencyResolver = new DependencyResolver();
+    private final Map<String, StartupTiming> startupTimings = new ConcurrentHashMap<>();
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
     /**
      * Creates a new PluginManager.
      *
+     * <p>Plugin JARs are checked with a default {@link PluginSignatureVerifier}, which accepts
+     * unsigned JARs but rejects tampered ones, and whose verification cache is kept in the plugin
+     * data directory so that unchanged JARs are not verified again on every launch.</p>
+     *
      * @param appVersion          the application version for compatibility checks
      * @param pluginDataDirectory the base directory for plugin data storage
      */
     public PluginManager(String appVersion, Path pluginDataDirectory) {
-        this(appVersion, pluginDataDirectory, new PluginLoader(), new PluginRegistry(), new ExtensionRegistry());
+        this(appVersion, pluginDataDirectory, defaultVerifier(pluginDataDirectory));
+    }
+
+    /**
+     * Creates a new PluginManager that checks plugin JAR signatures before instantiating plugins.
+     *
+     * @param appVersion          the application version for compatibility checks
+     * @param pluginDataDirectory the base directory for plugin data storage
+     * @param signatureVerifier   the verifier for plugin JARs, or null to load without checking
+     */
+    public PluginManager(String appVersion, Path pluginDataDirectory, PluginSignatureVerifier signatureVerifier) {
+        this(appVersion, pluginDataDirectory,
+            new PluginLoader(Thread.currentThread().getContextClassLoader(), signatureVerifier),
+            new PluginRegistry(), new ExtensionRegistry());
     }
 
     /**
@@ -109,16 +173,30 @@ public class PluginManager {
             "extensionRegistry must not be null");
     }
 
+    /**
+     * Returns the verifier used when none is given, caching its results in the plugin data directory.
+     */
+    private static PluginSignatureVerifier defaultVerifier(Path pluginDataDirectory) {
+        if (pluginDataDirectory == null) {
+            return null;    // rejected by the constructor
+        }
+        return new PluginSignatureVerifier(Set.of(), false,
+            pluginDataDirectory.resolve(VERIFICATION_CACHE_FILE));
+    }
+
     /**
      * Initializes the plugin system.
      *
      * <p>This method:</p>
      * <ol>
-     *   <li>Discovers available plugins via ServiceLoader</li>
+     *   <li>Discovers available plugins via ServiceLoader, skipping any whose JAR fails its signature check</li>
      *   <li>Filters incompatible plugins</li>
-     *   <li>Loads compatible plugins (calls onLoad)</li>
+     *   <li>Resolves their dependencies, failing plugins that cannot be satisfied</li>
+     *   <li>Loads the rest in parallel, dependencies first (calls onLoad)</li>
      * </ol>
      *
+     * <p>Returns once every plugin has loaded or failed.</p>
+     *
      * <p>This method is idempotent - calling it multiple times has no effect.</p>
      *
      * @throws PluginException if initialization fails
@@ -137,19 +215,134 @@ public class PluginManager {
 
         LOG.info("Discovered {} compatible plugins", discovered.size());
 
-        // Load each discovered plugin
+        long started = System.nanoTime();
+        bootstrap(discovered);
+
+        int loaded = registry.getLoaded().size();
+        int failed = registry.getFailed().size();
+        LOG.info("Plugin initialization complete in {} ms: {} loaded, {} failed",
+            Duration.ofNanos(System.nanoTime() - started).toMillis(), loaded, failed);
+    }
+
+    /**
+     * Loads the discovered plugins concurrently, each after its dependencies.
+     *
+     * <p>Every plugin here has already passed its signature check in the loader. A plugin's
+     * onLoad is chained after the loads of the plugins it depends on, which the resolver's
+     * dependency-first order guarantees have already been scheduled.</p>
+     */
+    private void bootstrap(List<PluginContainer> discovered) {
+        Map<String, PluginContainer> containers = new LinkedHashMap<>();
+        Map<String, PluginDescriptor> descriptors = new HashMap<>();
+        Map<String, List<PluginDependency>> dependencies = new HashMap<>();
         for (PluginContainer container : discovered) {
-            try {
-                loadPluginInternal(container);
-            } catch (Exception e) {
-                LOG.error("Failed to load plugin: {}", container.getId(), e);
-                container.markFailed(e);
+            containers.put(container.getId(), container);
+            descriptors.put(container.getId(), container.getDescriptor());
+            dependencies.put(container.getId(), dependenciesOf(container));
+        }
+
+        DependencyResolver.ResolutionResult resolution = resolve(containers, descriptors, dependencies);
+        resolution.warnings().forEach(LOG::warn);
+        resolution.blocked().forEach((pluginId, reason) -> {
+            LOG.error("Cannot load plugin {}: {}", pluginId, reason);
+            containers.get(pluginId).markFailed(new PluginLoadException(pluginId, reason));
+        });
+
+        Map<String, CompletableFuture<Boolean>> loads = new HashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String pluginId : resolution.loadOrder()) {
+                PluginContainer container = containers.get(pluginId);
+                Map<String, CompletableFuture<Boolean>> required = new LinkedHashMap<>();
+                List<CompletableFuture<?>> prerequisites = new ArrayList<>();
+                for (PluginDependency dependency : dependencies.get(pluginId)) {
+                    CompletableFuture<Boolean> dependencyLoad = loads.get(dependency.pluginId());
+                    if (dependencyLoad != null) {
+                        prerequisites.add(dependencyLoad);
+                        if (dependency.isRequired()) {
+                            required.put(dependency.pluginId(), dependencyLoad);
+                        }
+                    }
+                }
+
+                loads.put(pluginId, CompletableFuture.allOf(prerequisites.toArray(CompletableFuture[]::new))
+                    .thenApplyAsync(ignored -> start(container, required), executor));
             }
+            CompletableFuture.allOf(loads.values().toArray(CompletableFuture[]::new)).join();
         }
+    }
 
-        int loaded = registry.getLoaded().size();
-        int failed = registry.getFailed().size();
-        LOG.info("Plugin initialization complete: {} loaded, {} failed", loaded, failed);
+    /**
+     * Resolves load order, failing any plugins caught in a dependency cycle and resolving the rest.
+     */
+    private DependencyResolver.ResolutionResult resolve(
+            Map<String, PluginContainer> containers,
+            Map<String, PluginDescriptor> descriptors,
+            Map<String, List<PluginDependency>> dependencies) {
+        try {
+            return dependencyResolver.resolve(descriptors, dependencies);
+        } catch (DependencyResolver.CircularDependencyException e) {
+            for (String pluginId : dependencyResolver.detectCycles(descriptors, dependencies)) {
+                PluginContainer container = containers.get(pluginId);
+                if (container != null) {
+                    LOG.error("Cannot load plugin {}: {}", pluginId, e.getMessage());
+                    container.markFailed(new PluginLoadException(pluginId, e.getMessage()));
+                    descriptors.remove(pluginId);
+                }
+            }
+            return dependencyResolver.resolve(descriptors, dependencies);
+        }
+    }
+
+    /**
+     * Loads one plugin once its dependencies are done, recording its timings.
+     *
+     * @param required the loads of the plugins this one requires, by plugin ID; all are complete
+     * @return true if the plugin loaded
+     */
+    private boolean start(PluginContainer container, Map<String, CompletableFuture<Boolean>> required) {
+        String pluginId = container.getId();
+        PluginSignatureVerifier.VerificationResult verification = container.getSignatureVerification();
+        Duration verificationTime = verification != null ? verification.getVerificationTime() : Duration.ZERO;
+        boolean fromCache = verification != null && verification.isFromCache();
+        startupTimings.put(pluginId, new StartupTiming(pluginId, verificationTime, fromCache, Duration.ZERO));
+
+        if (container.isFailed()) {
+            return false;
+        }
+        for (Map.Entry<String, CompletableFuture<Boolean>> dependency : required.entrySet()) {
+            if (!dependency.getValue().join()) {
+                String reason = "Required dependency failed to load: " + dependency.getKey();
+                LOG.error("Cannot load plugin {}: {}", pluginId, reason);
+                container.markFailed(new PluginLoadException(pluginId, reason));
+                return false;
+            }
+        }
+
+        long started = System.nanoTime();
+        try {
+            loadPluginInternal(container);
+            return true;
+        } catch (Exception e) {
+            LOG.error("Failed to load plugin: {}", pluginId, e);
+            container.markFailed(e);
+            return false;
+        } finally {
+            Duration load = Duration.ofNanos(System.nanoTime() - started);
+            startupTimings.put(pluginId, new StartupTiming(pluginId, verificationTime, fromCache, load));
+            LOG.info("Started plugin {} in {} ms (signature {} ms{}, onLoad {} ms)", pluginId,
+                verificationTime.plus(load).toMillis(), verificationTime.toMillis(),
+                fromCache ? ", cached" : "", load.toMillis());
+        }
+    }
+
+    private static List<PluginDependency> dependenciesOf(PluginContainer container) {
+        try {
+            List<PluginDependency> declared = container.getPlugin().getDependencies();
+            return declared != null ? List.copyOf(declared) : List.of();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not read dependencies of plugin {}", container.getId(), e);
+            return List.of();
+        }
     }
 
     /**
@@ -462,6 +655,15 @@ public class PluginManager {
         return extensionRegistry.getExtensions(extensionType);
     }
 
+    /**
+     * Returns how long each plugin took to start during {@link #initialize()}.
+     *
+     * @return unmodifiable map of plugin ID to timing, empty before initialization
+     */
+    public Map<String, StartupTiming> getStartupTimings() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(startupTimings));
+    }
+
     /**
      * Returns the extension registry.
      *
@@ -524,6 +726,7 @@ public class PluginManager {
     public static class Builder {
         private String appVersion;
         private Path pluginDataDirectory;
+        private PluginSignatureVerifier signatureVerifier;
 
         /**
          * Sets the application version.
@@ -547,13 +750,28 @@ public class PluginManager {
             return this;
         }
 
+        /**
+         * Sets the verifier that checks each plugin JAR before it is loaded.
+         *
+         * <p>Without one, the manager uses its default verifier.</p>
+         *
+         * @param signatureVerifier the verifier, or null for the default
+         * @return this builder
+         */
+        public Builder signatureVerifier(PluginSignatureVerifier signatureVerifier) {
+            this.signatureVerifier = signatureVerifier;
+            return this;
+        }
+
         /**
          * Builds the PluginManager.
          *
          * @return the new PluginManager instance
          */
         public PluginManager build() {
-            return new PluginManager(appVersion, pluginDataDirectory);
+            return signatureVerifier != null
+                ? new PluginManager(appVersion, pluginDataDirectory, signatureVerifier)
+                : new PluginManager(appVersion, pluginDataDirectory);
         }
     }
 }
@@ -7,9 +7,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.CodeSigner;
 import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.jar.JarEntry;
@@ -30,6 +33,13 @@ import java.util.jar.JarFile;
  *   <li>Check if the signer is in the trusted publishers list</li>
  * </ol>
  *
+ * <h2>Verification Cache</h2>
+ * <p>Full verification reads and digests every entry of the JAR. When a cache file is
+ * configured with {@link Builder#verificationCache(Path)}, the signer found in each JAR is
+ * remembered against the JAR's path, size, modification time and SHA-256 digest, and a JAR that
+ * still matches on a later launch is only digested, not verified again. Trust is always decided
+ * from the current settings. See {@link VerificationCache}.</p>
+ *
  * <h2>Signature Requirements</h2>
  * <p>By default, unsigned plugins are allowed for development flexibility.
  * In production environments, enable {@code requireSignature} to enforce
@@ -78,6 +88,7 @@ public class PluginSignatureVerifier {
 
     private final Set<String> trustedPublishers;
     private final boolean requireSignature;
+    private final VerificationCache cache;
 
     /**
      * Creates a new PluginSignatureVerifier with default settings.
@@ -104,15 +115,31 @@ public class PluginSignatureVerifier {
      * @param requireSignature  whether to require all plugins to be signed
      */
     public PluginSignatureVerifier(Set<String> trustedPublishers, boolean requireSignature) {
+        this(trustedPublishers, requireSignature, null);
+    }
+
+    /**
+     * Creates a new PluginSignatureVerifier that caches what it finds in each JAR.
+     *
+     * @param trustedPublishers the set of trusted publisher Distinguished Names
+     * @param requireSignature  whether to require all plugins to be signed
+     * @param cacheFile         where to keep the verification cache, or null for none
+     */
+    public PluginSignatureVerifier(Set<String> trustedPublishers, boolean requireSignature, Path cacheFile) {
         this.trustedPublishers = new CopyOnWriteArraySet<>(
             trustedPublishers != null ? trustedPublishers : Collections.emptySet()
         );
         this.requireSignature = requireSignature;
+        this.cache = cacheFile != null ? VerificationCache.open(cacheFile) : null;
     }
 
     /**
      * Verifies the signature of a plugin JAR file.
      *
+     * <p>With a cache configured, a JAR whose path, size, modification time and digest match a
+     * previous verification is not verified again. The result reports how long verification took
+     * and whether it came from the cache.</p>
+     *
      * @param jarPath the path to the JAR file to verify
      * @return the verification result
      * @throws PluginSecurityException if the JAR cannot be read or is invalid
@@ -128,9 +155,32 @@ public class PluginSignatureVerifier {
             );
         }
 
-        try (JarFile jarFile = new JarFile(jarPath.toFile(), true)) {
-            return verifyJarSignatures(jarFile, jarPath);
-        } catch (IOException e) {
+        long started = System.nanoTime();
+        try {
+            if (cache == null) {
+                return timed(verifyJar(jarPath), started, false, jarPath);
+            }
+
+            // Attributes and digest are taken before verification, so a JAR replaced while it is
+            // being verified is cached under its old digest and simply verified again next time.
+            BasicFileAttributes attributes = Files.readAttributes(jarPath, BasicFileAttributes.class);
+            VerificationCache.Entry cached = cache.lookup(jarPath, attributes);
+            String digest = VerificationCache.digest(jarPath);
+            if (cached != null && cached.digest().equals(digest)) {
+                VerificationResult result = fromCache(cached, jarPath);
+                if (result != null) {
+                    return timed(result, started, true, jarPath);
+                }
+            }
+
+            VerificationResult result = verifyJar(jarPath);
+            if (result.getStatus() != SignatureStatus.INVALID) {
+                cache.put(jarPath, new VerificationCache.Entry(attributes.size(),
+                    attributes.lastModifiedTime().toMillis(), digest, result.getSignerDN(),
+                    VerificationCache.encode(result.getCertificateChain())));
+            }
+            return timed(result, started, false, jarPath);
+        } catch (IOException | CertificateException e) {
             throw new PluginSecurityException(
                 jarPath.getFileName().toString(),
                 PluginSecurityException.SecurityViolationType.GENERAL,
@@ -140,6 +190,46 @@ public class PluginSignatureVerifier {
         }
     }
 
+    /**
+     * Opens a JAR file with verification enabled and verifies its signatures.
+     */
+    private VerificationResult verifyJar(Path jarPath) throws IOException {
+        try (JarFile jarFile = new JarFile(jarPath.toFile(), true)) {
+            return verifyJarSignatures(jarFile, jarPath);
+        }
+    }
+
+    /**
+     * Rebuilds a result from what an earlier verification found, applying the current settings.
+     *
+     * @return the result, or null if the cached entry can no longer be used
+     */
+    private VerificationResult fromCache(VerificationCache.Entry cached, Path jarPath) {
+        if (!cached.isSigned()) {
+            return requireSignature ? VerificationResult.unsigned() : VerificationResult.unsignedValid();
+        }
+        List<Certificate> chain;
+        try {
+            chain = cached.certificateChain();
+        } catch (CertificateException e) {
+            LOG.debug("Cached certificates for {} no longer parse; verifying again", jarPath.getFileName(), e);
+            return null;
+        }
+        return trustedPublishers.contains(cached.signerDN())
+            ? VerificationResult.trusted(cached.signerDN(), chain)
+            : VerificationResult.untrusted(cached.signerDN(), chain);
+    }
+
+    /**
+     * Stamps a result with how long it took to produce.
+     */
+    private VerificationResult timed(VerificationResult result, long started, boolean fromCache, Path jarPath) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        LOG.debug("Verified {} in {} ms{}: {}", jarPath.getFileName(), elapsed.toMillis(),
+            fromCache ? " (cached)" : "", result.getStatus());
+        return result.withTiming(elapsed, fromCache);
+    }
+
     /**
      * Verifies the signatures within a JAR file.
      *
@@ -150,6 +240,7 @@ public class PluginSignatureVerifier {
     private VerificationResult verifyJarSignatures(JarFile jarFile, Path jarPath) throws IOException {
         List<CodeSigner> signers = new ArrayList<>();
         boolean hasSignedEntries = false;
+        byte[] buffer = new byte[8192];
 
         Enumeration<JarEntry> entries = jarFile.entries();
         while (entries.hasMoreElements()) {
@@ -162,7 +253,6 @@ public class PluginSignatureVerifier {
 
             // Read the entry to trigger signature verification
             try (InputStream is = jarFile.getInputStream(entry)) {
-                byte[] buffer = new byte[8192];
                 while (is.read(buffer) != -1) {
                     // Just consume the stream to verify signature
                 }
@@ -281,6 +371,15 @@ public class PluginSignatureVerifier {
         return Collections.unmodifiableSet(trustedPublishers);
     }
 
+    /**
+     * Returns whether verification results are cached between launches.
+     *
+     * @return true if a cache file is configured
+     */
+    public boolean isCaching() {
+        return cache != null;
+    }
+
     /**
      * Returns whether signature verification is required.
      *
@@ -305,6 +404,7 @@ public class PluginSignatureVerifier {
     public static class Builder {
         private final Set<String> trustedPublishers = new HashSet<>();
         private boolean requireSignature = false;
+        private Path verificationCache;
 
         /**
          * Sets whether signature verification is required.
@@ -342,13 +442,24 @@ public class PluginSignatureVerifier {
             return this;
         }
 
+        /**
+         * Sets where to cache verification results between launches.
+         *
+         * @param cacheFile the cache file, or null for no cache
+         * @return this builder
+         */
+        public Builder verificationCache(Path cacheFile) {
+            this.verificationCache = cacheFile;
+            return this;
+        }
+
         /**
          * Builds the PluginSignatureVerifier.
          *
          * @return a new PluginSignatureVerifier instance
          */
         public PluginSignatureVerifier build() {
-            return new PluginSignatureVerifier(trustedPublishers, requireSignature);
+            return new PluginSignatureVerifier(trustedPublishers, requireSignature, verificationCache);
         }
     }
 
@@ -362,10 +473,18 @@ public class PluginSignatureVerifier {
         private final String signerDN;
         private final List<Certificate> certificateChain;
         private final String errorMessage;
+        private final Duration verificationTime;
+        private final boolean fromCache;
 
         private VerificationResult(SignatureStatus status, boolean valid, boolean trusted,
                                    String signerDN, List<Certificate> certificateChain,
                                    String errorMessage) {
+            this(status, valid, trusted, signerDN, certificateChain, errorMessage, Duration.ZERO, false);
+        }
+
+        private VerificationResult(SignatureStatus status, boolean valid, boolean trusted,
+                                   String signerDN, List<Certificate> certificateChain,
+                                   String errorMessage, Duration verificationTime, boolean fromCache) {
             this.status = status;
             this.valid = valid;
             this.trusted = trusted;
@@ -373,6 +492,16 @@ public class PluginSignatureVerifier {
             this.certificateChain = certificateChain != null ?
                 Collections.unmodifiableList(certificateChain) : Collections.emptyList();
             this.errorMessage = errorMessage;
+            this.verificationTime = verificationTime;
+            this.fromCache = fromCache;
+        }
+
+        /**
+         * Returns a copy of this result carrying how it was produced.
+         */
+        VerificationResult withTiming(Duration verificationTime, boolean fromCache) {
+            return new VerificationResult(status, valid, trusted, signerDN, certificateChain,
+                errorMessage, verificationTime, fromCache);
         }
 
         /**
@@ -484,6 +613,25 @@ public class PluginSignatureVerifier {
             return errorMessage;
         }
 
+        /**
+         * Returns how long verification took, including reading the JAR.
+         *
+         * @return the elapsed time, or zero for a result not produced by
+         *         {@link PluginSignatureVerifier#verify(Path)}
+         */
+        public Duration getVerificationTime() {
+            return verificationTime;
+        }
+
+        /**
+         * Returns whether the result was rebuilt from the verification cache.
+         *
+         * @return true if the JAR was unchanged since an earlier verification
+         */
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
         @Override
         public String toString() {
             return String.format("VerificationResult[status=%s, valid=%s, trusted=%s, signer=%s]",
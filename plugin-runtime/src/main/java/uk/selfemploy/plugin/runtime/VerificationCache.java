@@ -0,0 +1,289 @@
+package uk.selfemploy.plugin.runtime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Remembers what {@link PluginSignatureVerifier} found in each plugin JAR, so an unchanged JAR is
+ * not verified again on the next launch.
+ *
+ * <p>Entries are keyed by the JAR's absolute path and hold its size, modification time and SHA-256
+ * digest alongside the signer that verification found. A JAR only counts as unchanged when all
+ * three still match: size and modification time rule out most changes without reading the file,
+ * and the digest, taken in one sequential pass, rules out the rest. That pass is far cheaper than
+ * full verification, which inflates and digests every entry and checks the signature files.</p>
+ *
+ * <p>Only the signer is cached, not the verdict: whether that signer is trusted, and whether an
+ * unsigned JAR is acceptable, is decided again from the verifier's current settings. JARs whose
+ * verification failed are not cached.</p>
+ *
+ * <p>The cache file is as trustworthy as the directory it lives in. Keep it with the application's
+ * own configuration, not beside the plugins, so that whoever can drop a JAR into the plugins
+ * directory cannot also vouch for it.</p>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>This class is thread-safe. Lookups and updates are synchronized, and each update rewrites the
+ * file through a temporary file so a crash never leaves it half written.</p>
+ *
+ * @see PluginSignatureVerifier
+ */
+final class VerificationCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VerificationCache.class);
+
+    /** Format version of the cache file; a file with any other version is ignored. */
+    static final int FORMAT_VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * A JAR as it was when verified, and what verification found in it.
+     *
+     * @param size         the file size in bytes
+     * @param lastModified the modification time in milliseconds since the epoch
+     * @param digest       the SHA-256 digest of the whole file, in lowercase hex
+     * @param signerDN     the signer's Distinguished Name, or null if the JAR is unsigned
+     * @param certificates the signer's certificate chain, DER-encoded
+     */
+    record Entry(long size, long lastModified, String digest, String signerDN, List<byte[]> certificates) {
+
+        Entry {
+            Objects.requireNonNull(digest, "digest must not be null");
+            certificates = certificates != null ? List.copyOf(certificates) : List.of();
+        }
+
+        boolean isSigned() {
+            return signerDN != null;
+        }
+
+        /**
+         * Decodes the cached certificate chain.
+         *
+         * @throws CertificateException if a cached certificate no longer parses
+         */
+        List<Certificate> certificateChain() throws CertificateException {
+            CertificateFactory factory = CertificateFactory.getInstance("X.509");
+            List<Certificate> chain = new ArrayList<>(certificates.size());
+            for (byte[] encoded : certificates) {
+                chain.add(factory.generateCertificate(new ByteArrayInputStream(encoded)));
+            }
+            return chain;
+        }
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+
+    private VerificationCache(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens the cache stored at {@code file}.
+     *
+     * <p>A missing, unreadable or outdated file gives an empty cache rather than an error: the cost
+     * is one full verification per plugin, which is what happens without a cache.</p>
+     *
+     * @param file where the cache is kept
+     * @return the cache
+     */
+    static VerificationCache open(Path file) {
+        Objects.requireNonNull(file, "file must not be null");
+        Map<String, Entry> entries = new TreeMap<>();
+        if (Files.exists(file)) {
+            try {
+                JsonModel model = MAPPER.readValue(file.toFile(), JsonModel.class);
+                if (model.version != null && model.version == FORMAT_VERSION && model.entries != null) {
+                    model.entries.forEach((path, entry) -> entries.put(path, entry.toEntry()));
+                } else {
+                    LOG.info("Ignoring plugin verification cache in an unknown format: {}", file);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Ignoring unreadable plugin verification cache: {}", file, e);
+                entries.clear();
+            }
+        }
+        return new VerificationCache(file, entries);
+    }
+
+    /**
+     * Returns the entry for a JAR if its size and modification time still match.
+     *
+     * <p>The caller must still compare the digest before relying on the entry.</p>
+     *
+     * @param jarPath    the JAR, as an absolute path
+     * @param attributes the JAR's current attributes
+     * @return the entry, or null if there is none or the JAR has visibly changed
+     */
+    synchronized Entry lookup(Path jarPath, BasicFileAttributes attributes) {
+        Entry entry = entries.get(key(jarPath));
+        if (entry == null
+                || entry.size() != attributes.size()
+                || entry.lastModified() != attributes.lastModifiedTime().toMillis()) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Records what verification found in a JAR and writes the cache back to disk.
+     *
+     * <p>A failure to write is logged and otherwise ignored; the entry is still used for the rest of
+     * this run.</p>
+     */
+    synchronized void put(Path jarPath, Entry entry) {
+        entries.put(key(jarPath), entry);
+        try {
+            save();
+        } catch (IOException e) {
+            LOG.warn("Could not write plugin verification cache: {}", file, e);
+        }
+    }
+
+    /**
+     * Returns the number of cached JARs.
+     *
+     * @return the entry count
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void save() throws IOException {
+        JsonModel model = new JsonModel();
+        model.version = FORMAT_VERSION;
+        model.entries = new TreeMap<>();
+        entries.forEach((path, entry) -> model.entries.put(path, EntryModel.fromEntry(entry)));
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        MAPPER.writeValue(temp.toFile(), model);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String key(Path jarPath) {
+        return jarPath.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Computes the SHA-256 digest of a whole file.
+     *
+     * @param path the file to digest
+     * @return the digest in lowercase hex
+     * @throws IOException if the file cannot be read
+     */
+    static String digest(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is guaranteed to be available in all Java implementations
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * DER-encodes a certificate chain for caching.
+     *
+     * @throws CertificateEncodingException if a certificate cannot be encoded
+     */
+    static List<byte[]> encode(List<Certificate> chain) throws CertificateEncodingException {
+        List<byte[]> encoded = new ArrayList<>(chain.size());
+        for (Certificate certificate : chain) {
+            encoded.add(certificate.getEncoded());
+        }
+        return encoded;
+    }
+
+    /**
+     * Internal JSON model for serialization/deserialization.
+     */
+    private static class JsonModel {
+        @JsonProperty("version")
+        Integer version;
+
+        @JsonProperty("entries")
+        Map<String, EntryModel> entries;
+    }
+
+    /**
+     * Internal JSON model for a cached JAR.
+     */
+    private static class EntryModel {
+        @JsonProperty("size")
+        long size;
+
+        @JsonProperty("lastModified")
+        long lastModified;
+
+        @JsonProperty("sha256")
+        String digest;
+
+        @JsonProperty("signer")
+        String signerDN;
+
+        @JsonProperty("certificates")
+        List<String> certificates;
+
+        static EntryModel fromEntry(Entry entry) {
+            EntryModel model = new EntryModel();
+            model.size = entry.size();
+            model.lastModified = entry.lastModified();
+            model.digest = entry.digest();
+            model.signerDN = entry.signerDN();
+            model.certificates = entry.certificates().stream()
+                .map(Base64.getEncoder()::encodeToString)
+                .toList();
+            return model;
+        }
+
+        Entry toEntry() {
+            List<byte[]> decoded = certificates != null
+                ? certificates.stream().map(Base64.getDecoder()::decode).toList()
+                : List.of();
+            return new Entry(size, lastModified, digest, signerDN, decoded);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import uk.selfemploy.plugin.api.PluginEvent;
 import uk.selfemploy.plugin.api.Subscription;
 import uk.selfemploy.plugin.api.ThreadAffinity;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +48,12 @@ class DefaultPluginEventBusTest {
         }
     }
 
+    static class DetailedEvent extends TestEvent {
+        DetailedEvent(String sourcePluginId, String message) {
+            super(sourcePluginId, message);
+        }
+    }
+
     static class AnotherEvent extends PluginEvent {
         private final int value;
 
@@ -575,4 +582,187 @@ class DefaultPluginEventBusTest {
             assertThat(eventBus.getTotalSubscriptionCount()).isZero();
         }
     }
+
+    @Nested
+    @DisplayName("High-throughput dispatch")
+    class HighThroughputTests {
+
+        @Test
+        @DisplayName("should deliver to supertype subscribers only when enabled")
+        void shouldDeliverToSupertypesWhenEnabled() throws InterruptedException {
+            CountDownLatch latch = new CountDownLatch(3);
+            List<String> received = Collections.synchronizedList(new ArrayList<>());
+            EventHandler<TestEvent> testHandler = event -> {
+                received.add("test:" + event.getMessage());
+                latch.countDown();
+            };
+            EventHandler<PluginEvent> anyHandler = event -> {
+                received.add("any");
+                latch.countDown();
+            };
+            EventHandler<DetailedEvent> detailedHandler = event -> {
+                received.add("detailed");
+                latch.countDown();
+            };
+
+            try (var bus = DefaultPluginEventBus.builder()
+                    .backgroundExecutor(Executors.newSingleThreadExecutor())
+                    .deliverToSupertypes(true)
+                    .build()) {
+                bus.subscribe(TestEvent.class, testHandler);
+                bus.subscribe(PluginEvent.class, anyHandler);
+                bus.subscribe(DetailedEvent.class, detailedHandler);
+
+                bus.publish(new DetailedEvent("source", "hello"));
+
+                assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+                assertThat(received).containsExactlyInAnyOrder("detailed", "test:hello", "any");
+            }
+        }
+
+        @Test
+        @DisplayName("should deliver only the exact type by default")
+        void shouldDeliverExactTypeByDefault() throws InterruptedException {
+            AtomicBoolean baseHandled = new AtomicBoolean(false);
+            CountDownLatch latch = new CountDownLatch(1);
+            EventHandler<TestEvent> baseHandler = event -> baseHandled.set(true);
+            EventHandler<DetailedEvent> detailedHandler = event -> latch.countDown();
+            eventBus.subscribe(TestEvent.class, baseHandler);
+            eventBus.subscribe(DetailedEvent.class, detailedHandler);
+
+            eventBus.publish(new DetailedEvent("source", "hello"));
+
+            assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(baseHandled.get()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should deliver a burst in order, in batches")
+        void shouldDeliverBurstInOrderInBatches() throws InterruptedException {
+            int count = 1_000;
+            List<Runnable> tasks = new ArrayList<>();
+            List<String> received = new ArrayList<>();
+            EventHandler<TestEvent> handler = event -> received.add(event.getMessage());
+
+            try (var bus = DefaultPluginEventBus.builder()
+                    .backgroundExecutor(testExecutor)
+                    .uiThreadExecutor(tasks::add)
+                    .maxBatchSize(100)
+                    .build()) {
+                bus.subscribe(TestEvent.class, handler, ThreadAffinity.UI_THREAD);
+                for (int i = 0; i < count; i++) {
+                    bus.publish(new TestEvent("source", "msg-" + i));
+                }
+
+                // One UI-thread task for the whole burst, rescheduling itself per batch
+                int batches = 0;
+                while (!tasks.isEmpty()) {
+                    tasks.remove(0).run();
+                    batches++;
+                }
+
+                assertThat(batches).isEqualTo(count / 100);
+                assertThat(received).hasSize(count);
+                assertThat(received.get(0)).isEqualTo("msg-0");
+                assertThat(received.get(count - 1)).isEqualTo("msg-" + (count - 1));
+                assertThat(bus.getMetrics().delivered()).isEqualTo(count);
+                assertThat(bus.getMetrics().maxQueueDepth()).isEqualTo(count);
+                assertThat(bus.getMetrics().queueDepth()).isZero();
+            }
+        }
+
+        @Test
+        @DisplayName("should wait for a full mailbox, then queue anyway and count the overflow")
+        void shouldApplyBackPressure() {
+            List<Runnable> tasks = new ArrayList<>();
+            EventHandler<TestEvent> handler = event -> {};
+
+            try (var bus = DefaultPluginEventBus.builder()
+                    .backgroundExecutor(testExecutor)
+                    .uiThreadExecutor(tasks::add)
+                    .mailboxCapacity(2)
+                    .maxPublishWait(Duration.ofMillis(20))
+                    .build()) {
+                bus.subscribe(TestEvent.class, handler, ThreadAffinity.UI_THREAD);
+                for (int i = 0; i < 3; i++) {
+                    bus.publish(new TestEvent("source", "msg-" + i));
+                }
+
+                assertThat(bus.getMetrics().overflowed()).isEqualTo(1);
+                assertThat(bus.getMetrics().queueDepth()).isEqualTo(3);
+            }
+        }
+
+        @Test
+        @DisplayName("should never make the UI thread wait")
+        void shouldNotBlockUiThread() {
+            List<Runnable> tasks = new ArrayList<>();
+            EventHandler<TestEvent> handler = event -> {};
+
+            try (var bus = DefaultPluginEventBus.builder()
+                    .backgroundExecutor(testExecutor)
+                    .uiThreadExecutor(tasks::add)
+                    .uiThreadCheck(() -> true)
+                    .mailboxCapacity(1)
+                    .maxPublishWait(Duration.ofSeconds(10))
+                    .build()) {
+                bus.subscribe(TestEvent.class, handler, ThreadAffinity.UI_THREAD);
+                long start = System.nanoTime();
+                for (int i = 0; i < 5; i++) {
+                    bus.publish(new TestEvent("source", "msg-" + i));
+                }
+
+                assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+                assertThat(bus.getMetrics().queueDepth()).isEqualTo(5);
+                assertThat(tasks).hasSize(1);
+            }
+        }
+
+        @Test
+        @DisplayName("should compact subscriptions whose handler was garbage collected")
+        void shouldCompactDeadSubscriptions() throws InterruptedException {
+            AtomicInteger calls = new AtomicInteger();
+            EventHandler<AnotherEvent> kept = event -> calls.incrementAndGet();
+            eventBus.subscribe(AnotherEvent.class, kept);
+            subscribeUnreachableHandler(calls);
+
+            int removed = 0;
+            for (int attempt = 0; attempt < 50 && removed == 0; attempt++) {
+                System.gc();
+                Thread.sleep(20);
+                removed = eventBus.compact();
+            }
+
+            assertThat(removed).isEqualTo(1);
+            assertThat(eventBus.getSubscriptionCount(TestEvent.class)).isZero();
+            assertThat(eventBus.getSubscriptionCount(AnotherEvent.class)).isEqualTo(1);
+        }
+
+        private void subscribeUnreachableHandler(AtomicInteger calls) {
+            eventBus.subscribe(TestEvent.class, event -> calls.incrementAndGet());
+        }
+
+        @Test
+        @DisplayName("should count published, delivered and failed events")
+        void shouldReportMetrics() throws Exception {
+            CountDownLatch latch = new CountDownLatch(2);
+            EventHandler<TestEvent> failing = event -> {
+                latch.countDown();
+                throw new IllegalStateException("boom");
+            };
+            EventHandler<TestEvent> working = event -> latch.countDown();
+            eventBus.subscribe(TestEvent.class, failing);
+            eventBus.subscribe(TestEvent.class, working);
+
+            eventBus.publish(new TestEvent("source", "test"));
+            assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+            testExecutor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+
+            DefaultPluginEventBus.Metrics metrics = eventBus.getMetrics();
+            assertThat(metrics.published()).isEqualTo(1);
+            assertThat(metrics.delivered()).isEqualTo(2);
+            assertThat(metrics.failed()).isEqualTo(1);
+            assertThat(metrics.maxDispatchLatency()).isGreaterThanOrEqualTo(metrics.meanDispatchLatency());
+        }
+    }
 }
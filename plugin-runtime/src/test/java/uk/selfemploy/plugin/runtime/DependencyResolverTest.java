@@ -132,6 +132,27 @@ class DependencyResolverTest {
             assertThat(result.loadOrder()).doesNotContain("plugin.a");
         }
 
+        @Test
+        @DisplayName("should block plugins that require a blocked plugin, but not optional dependents")
+        void shouldBlockTransitiveDependents() {
+            Map<String, PluginDescriptor> plugins = Map.of(
+                "plugin.a", createDescriptor("plugin.a", "1.0.0"),
+                "plugin.b", createDescriptor("plugin.b", "1.0.0"),
+                "plugin.c", createDescriptor("plugin.c", "1.0.0")
+            );
+            Map<String, List<PluginDependency>> deps = Map.of(
+                "plugin.a", List.of(new PluginDependency("plugin.missing", "^1.0.0", false)),
+                "plugin.b", List.of(new PluginDependency("plugin.a", "^1.0.0", false)),
+                "plugin.c", List.of(new PluginDependency("plugin.a", "^1.0.0", true))
+            );
+
+            var result = resolver.resolve(plugins, deps);
+
+            assertThat(result.blocked()).containsOnlyKeys("plugin.a", "plugin.b");
+            assertThat(result.blocked().get("plugin.b")).contains("Required dependency is blocked: plugin.a");
+            assertThat(result.loadOrder()).containsExactly("plugin.c");
+        }
+
         @Test
         @DisplayName("should warn but not block for missing optional dependency")
         void shouldWarnButNotBlockForMissingOptionalDependency() {
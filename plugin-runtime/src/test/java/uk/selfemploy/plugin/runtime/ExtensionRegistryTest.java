@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
+import uk.selfemploy.plugin.extension.ConflictResolutionPolicy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -174,6 +175,69 @@ class ExtensionRegistryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cached lookups")
+    class CachedLookups {
+
+        @Test
+        @DisplayName("Returns the same list until the type changes")
+        void reusesResolvedList() {
+            registry.register(TestExtension.class, createExtension("First"));
+
+            List<TestExtension> first = registry.getExtensions(TestExtension.class);
+
+            assertThat(registry.getExtensions(TestExtension.class)).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Resolves again after register, unregister and unregisterAll")
+        void invalidatesOnChange() {
+            TestExtension ext1 = createExtension("First");
+            TestExtension ext2 = createExtension("Second");
+            registry.register("plugin.a", TestExtension.class, ext1);
+            List<TestExtension> before = registry.getExtensions(TestExtension.class);
+
+            registry.register("plugin.b", TestExtension.class, ext2);
+            List<TestExtension> afterRegister = registry.getExtensions(TestExtension.class);
+            registry.unregister(TestExtension.class, ext1);
+            List<TestExtension> afterUnregister = registry.getExtensions(TestExtension.class);
+            registry.unregisterAll("plugin.b");
+
+            assertThat(before).containsExactly(ext1);
+            assertThat(afterRegister).containsExactly(ext1, ext2);
+            assertThat(afterUnregister).containsExactly(ext2);
+            assertThat(registry.getExtensions(TestExtension.class)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Keeps a separate list per policy")
+        void cachesPerPolicy() {
+            TestExtension zed = createExtension("Zed");
+            TestExtension alpha = createExtension("Alpha");
+            registry.register(TestExtension.class, zed);
+            registry.register(TestExtension.class, alpha);
+
+            List<TestExtension> registration =
+                registry.getExtensions(TestExtension.class, ConflictResolutionPolicy.REGISTRATION_ORDER);
+            registry.getExtensions(TestExtension.class, ConflictResolutionPolicy.ALPHABETICAL);
+
+            assertThat(registry.getExtensions(TestExtension.class, ConflictResolutionPolicy.REGISTRATION_ORDER))
+                .isSameAs(registration)
+                .containsExactly(zed, alpha);
+        }
+
+        @Test
+        @DisplayName("Forgets cached lists on clear")
+        void invalidatesOnClear() {
+            registry.register(TestExtension.class, createExtension("Test"));
+            registry.getExtensions(TestExtension.class);
+
+            registry.clear();
+
+            assertThat(registry.getExtensions(TestExtension.class)).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("Query methods")
     class QueryMethods {
@@ -4,8 +4,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.selfemploy.plugin.api.Plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @DisplayName("PluginLoader")
 class PluginLoaderTest {
@@ -186,4 +203,110 @@ class PluginLoaderTest {
             assertThat(result).isNotNull();
         }
     }
+
+    @Nested
+    @DisplayName("Signature checks")
+    class SignatureChecks {
+
+        @TempDir
+        Path tempDir;
+
+        private Path jar;
+        private ClassLoader pluginClassLoader;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            jar = Files.createFile(tempDir.resolve("probe.jar"));
+            Path services = Files.writeString(tempDir.resolve("services"), ProbePlugin.class.getName());
+            pluginClassLoader = new JarBackedClassLoader(jar, services);
+            System.clearProperty(ProbePlugin.INITIALIZED);
+        }
+
+        @Test
+        @DisplayName("Does not instantiate or initialize a plugin whose JAR is rejected")
+        void rejectedJarIsNeverInstantiated() {
+            PluginSignatureVerifier verifier = mock(PluginSignatureVerifier.class);
+            when(verifier.verify(jar)).thenReturn(PluginSignatureVerifier.VerificationResult.invalid("tampered"));
+
+            List<PluginContainer> discovered = new PluginLoader(pluginClassLoader, verifier).discoverPlugins();
+
+            assertThat(discovered).isEmpty();
+            assertThat(System.getProperty(ProbePlugin.INITIALIZED)).isNull();
+            verify(verifier).verify(jar);
+        }
+
+        @Test
+        @DisplayName("Instantiates a plugin whose JAR passes and keeps the result")
+        void acceptedJarIsInstantiated() {
+            PluginSignatureVerifier verifier = mock(PluginSignatureVerifier.class);
+            PluginSignatureVerifier.VerificationResult passed =
+                PluginSignatureVerifier.VerificationResult.unsignedValid();
+            when(verifier.verify(jar)).thenReturn(passed);
+
+            List<PluginContainer> discovered = new PluginLoader(pluginClassLoader, verifier).discoverPlugins();
+
+            assertThat(discovered).singleElement()
+                .satisfies(container -> assertThat(container.getSignatureVerification()).isSameAs(passed));
+            assertThat(System.getProperty(ProbePlugin.INITIALIZED)).isNotNull();
+        }
+    }
+
+    /**
+     * A plugin that records when its class is initialized.
+     */
+    public static class ProbePlugin extends TestPlugin {
+
+        static final String INITIALIZED = "uk.selfemploy.plugin.runtime.probe.initialized";
+
+        static {
+            System.setProperty(INITIALIZED, "true");
+        }
+
+        public ProbePlugin() {
+            super("probe", "Probe", "1.0.0", "0.1.0");
+        }
+    }
+
+    /**
+     * Defines {@link ProbePlugin} as if it came from the given JAR, and lists it as the only plugin.
+     */
+    private static final class JarBackedClassLoader extends ClassLoader {
+
+        private final Path jar;
+        private final Path services;
+
+        JarBackedClassLoader(Path jar, Path services) {
+            super(PluginLoaderTest.class.getClassLoader());
+            this.jar = jar;
+            this.services = services;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(ProbePlugin.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    byte[] bytes = in.readAllBytes();
+                    CodeSource source = new CodeSource(jar.toUri().toURL(), (Certificate[]) null);
+                    return defineClass(name, bytes, 0, bytes.length, new ProtectionDomain(source, null));
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (name.equals("META-INF/services/" + Plugin.class.getName())) {
+                return Collections.enumeration(List.of(services.toUri().toURL()));
+            }
+            return super.getResources(name);
+        }
+    }
 }
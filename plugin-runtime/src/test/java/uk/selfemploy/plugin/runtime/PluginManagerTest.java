@@ -7,11 +7,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import uk.selfemploy.plugin.api.PluginDependency;
 
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -129,6 +131,94 @@ class PluginManagerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Parallel startup")
+    class ParallelStartup {
+
+        @Test
+        @DisplayName("Loads dependencies before the plugins that need them")
+        void loadsDependenciesFirst() {
+            TestPlugin base = new TestPlugin("base", "Base", "1.2.0", "0.1.0");
+            TestPlugin middle = new TestPlugin("middle", "Middle", "1.0.0", "0.1.0");
+            TestPlugin top = new TestPlugin("top", "Top", "1.0.0", "0.1.0");
+            middle.setDependencies(new PluginDependency("base", "^1.0.0", false));
+            top.setDependencies(new PluginDependency("middle", "^1.0.0", false));
+            List<String> loadOrder = new CopyOnWriteArrayList<>();
+            base.setLoadHook(() -> loadOrder.add("base"));
+            middle.setLoadHook(() -> loadOrder.add("middle"));
+            top.setLoadHook(() -> loadOrder.add("top"));
+
+            when(mockLoader.discoverCompatiblePlugins(anyString())).thenReturn(List.of(
+                new PluginContainer(top), new PluginContainer(middle), new PluginContainer(base)));
+
+            manager.initialize();
+
+            assertThat(loadOrder).containsExactly("base", "middle", "top");
+            assertThat(manager.getLoadedPlugins()).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Fails a plugin whose required dependency failed to load")
+        void failsDependentOfFailedPlugin() {
+            TestPlugin base = new TestPlugin("base", "Base", "1.0.0", "0.1.0");
+            base.setLoadException(new RuntimeException("Load failed"));
+            TestPlugin needsBase = new TestPlugin("needs-base", "Needs Base", "1.0.0", "0.1.0");
+            needsBase.setDependencies(new PluginDependency("base", "^1.0.0", false));
+            TestPlugin prefersBase = new TestPlugin("prefers-base", "Prefers Base", "1.0.0", "0.1.0");
+            prefersBase.setDependencies(new PluginDependency("base", "^1.0.0", true));
+
+            when(mockLoader.discoverCompatiblePlugins(anyString())).thenReturn(List.of(
+                new PluginContainer(base), new PluginContainer(needsBase), new PluginContainer(prefersBase)));
+
+            manager.initialize();
+
+            assertThat(needsBase.isLoaded()).isFalse();
+            assertThat(registry.getOrThrow("needs-base").getFailureCause())
+                .hasMessageContaining("Required dependency failed to load: base");
+            assertThat(prefersBase.isLoaded()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Fails plugins that cannot be resolved and loads the rest")
+        void failsUnresolvablePlugins() {
+            TestPlugin first = new TestPlugin("first", "First", "1.0.0", "0.1.0");
+            TestPlugin second = new TestPlugin("second", "Second", "1.0.0", "0.1.0");
+            first.setDependencies(new PluginDependency("second", "^1.0.0", false));
+            second.setDependencies(new PluginDependency("first", "^1.0.0", false));
+            TestPlugin orphan = new TestPlugin("orphan", "Orphan", "1.0.0", "0.1.0");
+            orphan.setDependencies(new PluginDependency("missing", "^1.0.0", false));
+            TestPlugin standalone = new TestPlugin("standalone", "Standalone", "1.0.0", "0.1.0");
+
+            when(mockLoader.discoverCompatiblePlugins(anyString())).thenReturn(List.of(
+                new PluginContainer(first), new PluginContainer(second),
+                new PluginContainer(orphan), new PluginContainer(standalone)));
+
+            manager.initialize();
+
+            assertThat(registry.getOrThrow("first").isFailed()).isTrue();
+            assertThat(registry.getOrThrow("second").isFailed()).isTrue();
+            assertThat(registry.getOrThrow("orphan").getFailureCause())
+                .hasMessageContaining("Missing required dependency: missing");
+            assertThat(standalone.isLoaded()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Records how long each plugin took to start")
+        void recordsStartupTimings() {
+            TestPlugin plugin = new TestPlugin("timed", "Timed", "1.0.0", "0.1.0");
+            when(mockLoader.discoverCompatiblePlugins(anyString()))
+                .thenReturn(List.of(new PluginContainer(plugin)));
+
+            manager.initialize();
+
+            assertThat(manager.getStartupTimings()).containsOnlyKeys("timed");
+            PluginManager.StartupTiming timing = manager.getStartupTimings().get("timed");
+            assertThat(timing.verification()).isZero();
+            assertThat(timing.verifiedFromCache()).isFalse();
+            assertThat(timing.total()).isEqualTo(timing.load());
+        }
+    }
+
     @Nested
     @DisplayName("Shutdown")
     class Shutdown {
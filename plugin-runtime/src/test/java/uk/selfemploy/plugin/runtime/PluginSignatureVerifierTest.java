@@ -9,6 +9,7 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.FileOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.cert.Certificate;
@@ -266,6 +267,97 @@ class PluginSignatureVerifierTest {
         }
     }
 
+    @Nested
+    @DisplayName("Verification cache")
+    class VerificationCacheTests {
+
+        @Test
+        @DisplayName("Unchanged JAR is answered from the cache on the next launch")
+        void unchangedJarIsCached() throws Exception {
+            Path jar = createUnsignedJar("cached-plugin.jar");
+            Path cacheFile = tempDir.resolve("cache/plugin-verification.json");
+
+            PluginSignatureVerifier.VerificationResult first = PluginSignatureVerifier.builder()
+                .verificationCache(cacheFile)
+                .build()
+                .verify(jar);
+            PluginSignatureVerifier.VerificationResult second = PluginSignatureVerifier.builder()
+                .verificationCache(cacheFile)
+                .build()
+                .verify(jar);
+
+            assertThat(cacheFile).exists();
+            assertThat(first.isFromCache()).isFalse();
+            assertThat(second.isFromCache()).isTrue();
+            assertThat(second.getStatus()).isEqualTo(PluginSignatureVerifier.SignatureStatus.UNSIGNED);
+            assertThat(second.getVerificationTime()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Cached JAR is judged by the current settings")
+        void cachedJarUsesCurrentSettings() throws Exception {
+            Path jar = createUnsignedJar("cached-plugin.jar");
+            Path cacheFile = tempDir.resolve("plugin-verification.json");
+            PluginSignatureVerifier.builder().verificationCache(cacheFile).build().verify(jar);
+
+            PluginSignatureVerifier.VerificationResult result = PluginSignatureVerifier.builder()
+                .requireSignature(true)
+                .verificationCache(cacheFile)
+                .build()
+                .verify(jar);
+
+            assertThat(result.isFromCache()).isTrue();
+            assertThat(result.isValid()).isFalse();
+        }
+
+        @Test
+        @DisplayName("JAR with the same size and timestamp but different content is verified again")
+        void changedContentIsVerifiedAgain() throws Exception {
+            Path jar = createUnsignedJar("cached-plugin.jar");
+            Path cacheFile = tempDir.resolve("plugin-verification.json");
+            PluginSignatureVerifier.builder().verificationCache(cacheFile).build().verify(jar);
+
+            FileTime modified = Files.getLastModifiedTime(jar);
+            byte[] content = Files.readAllBytes(jar);
+            content[content.length - 1] ^= 0x01;
+            Files.write(jar, content);
+            Files.setLastModifiedTime(jar, modified);
+
+            PluginSignatureVerifier cachingVerifier = PluginSignatureVerifier.builder()
+                .verificationCache(cacheFile)
+                .build();
+
+            assertThatThrownBy(() -> cachingVerifier.verify(jar))
+                .isInstanceOf(PluginSecurityException.class);
+        }
+
+        @Test
+        @DisplayName("Unreadable cache file is ignored")
+        void unreadableCacheIsIgnored() throws Exception {
+            Path jar = createUnsignedJar("cached-plugin.jar");
+            Path cacheFile = tempDir.resolve("plugin-verification.json");
+            Files.writeString(cacheFile, "{ not json");
+
+            PluginSignatureVerifier.VerificationResult result = PluginSignatureVerifier.builder()
+                .verificationCache(cacheFile)
+                .build()
+                .verify(jar);
+
+            assertThat(result.isFromCache()).isFalse();
+            assertThat(result.isValid()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Verifier without a cache never reports a cached result")
+        void noCacheByDefault() throws Exception {
+            Path jar = createUnsignedJar("plugin.jar");
+
+            assertThat(verifier.isCaching()).isFalse();
+            assertThat(verifier.verify(jar).isFromCache()).isFalse();
+            assertThat(verifier.verify(jar).isFromCache()).isFalse();
+        }
+    }
+
     // Helper methods
 
     private Path createUnsignedJar(String name) throws Exception {
@@ -2,8 +2,10 @@ package uk.selfemploy.plugin.runtime;
 
 import uk.selfemploy.plugin.api.Plugin;
 import uk.selfemploy.plugin.api.PluginContext;
+import uk.selfemploy.plugin.api.PluginDependency;
 import uk.selfemploy.plugin.api.PluginDescriptor;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -25,6 +27,8 @@ public class TestPlugin implements Plugin {
     private PluginContext context;
     private RuntimeException loadException;
     private RuntimeException unloadException;
+    private List<PluginDependency> dependencies = List.of();
+    private Runnable loadHook;
 
     public TestPlugin() {
         this("uk.selfemploy.plugin.test", "Test Plugin", "1.0.0", "0.1.0");
@@ -42,8 +46,16 @@ public class TestPlugin implements Plugin {
         return new PluginDescriptor(id, name, version, "A test plugin", "Test Author", minAppVersion);
     }
 
+    @Override
+    public List<PluginDependency> getDependencies() {
+        return dependencies;
+    }
+
     @Override
     public void onLoad(PluginContext context) {
+        if (loadHook != null) {
+            loadHook.run();
+        }
         if (loadException != null) {
             throw loadException;
         }
@@ -91,6 +103,14 @@ public class TestPlugin implements Plugin {
         this.unloadException = e;
     }
 
+    public void setDependencies(PluginDependency... dependencies) {
+        this.dependencies = List.of(dependencies);
+    }
+
+    public void setLoadHook(Runnable hook) {
+        this.loadHook = hook;
+    }
+
     public void reset() {
         loaded.set(false);
         unloaded.set(false);
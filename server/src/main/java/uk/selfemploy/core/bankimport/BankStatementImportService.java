@@ -5,6 +5,7 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import uk.selfemploy.common.domain.BankTransaction;
 import uk.selfemploy.common.domain.ImportAudit;
+import uk.selfemploy.common.enums.ImportAuditStatus;
 import uk.selfemploy.common.enums.ImportAuditType;
 import uk.selfemploy.persistence.repository.BankTransactionRepository;
 import uk.selfemploy.persistence.repository.ImportAuditRepository;
@@ -18,6 +19,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Service for importing bank statements into the staging review workflow.
@@ -29,16 +31,30 @@ import java.util.*;
  * <p>Import flow:
  * <ol>
  *   <li>Auto-detect bank CSV format</li>
- *   <li>Parse CSV into ImportedTransaction records</li>
- *   <li>Detect duplicates via transaction hash</li>
- *   <li>Create BankTransaction staging records (PENDING)</li>
- *   <li>Create ImportAudit record for audit trail</li>
+ *   <li>Stream the file once through {@link CsvStatementSource#stream}, hashing its bytes
+ *       for the audit trail while the rows are parsed</li>
+ *   <li>Detect duplicates via transaction hash (one set-based lookup per chunk of rows)</li>
+ *   <li>Create BankTransaction staging records (PENDING), applying exclusion rules, and
+ *       insert each chunk's records in one batch</li>
+ *   <li>Create the ImportAudit record for the audit trail before the first rows that
+ *       reference it</li>
  * </ol>
+ *
+ * <p>Neither the file content nor the parsed rows are held in memory: at most one chunk
+ * of rows is, plus the hashes seen so far. A file that fits in one chunk gets its audit
+ * written once, with its final counts. A longer file's audit is written when the first
+ * chunk is inserted and its hash and counts are completed once the file has been read,
+ * all within the import's transaction.</p>
  */
 @ApplicationScoped
 public class BankStatementImportService {
 
-    static final long MAX_FILE_SIZE_BYTES = 10 * 1024 * 1024;
+    static final long MAX_FILE_SIZE_BYTES = 100 * 1024 * 1024;
+
+    /**
+     * Number of parsed rows resolved against existing hashes in one lookup.
+     */
+    static final int DEDUP_CHUNK_SIZE = 500;
 
     /**
      * Retention period in years for bank import data.
@@ -92,81 +108,26 @@ public class BankStatementImportService {
                 "Unknown CSV format. Please check the file format or use manual column mapping."));
 
         String bankName = parser.getBankName();
-        String sourceFormatId = toSourceFormatId(bankName);
         Instant now = clock.instant();
 
-        List<ImportedTransaction> allTransactions = parser.parse(csvFile, charset);
-
-        // Detect duplicates against existing staged transactions and within the batch
-        Set<String> seenHashes = new HashSet<>();
-        List<ImportedTransaction> uniqueTransactions = new ArrayList<>();
-        int duplicateCount = 0;
-
-        for (ImportedTransaction tx : allTransactions) {
-            String hash = tx.transactionHash();
-            if (bankTransactionRepository.existsByHash(businessId, hash) || seenHashes.contains(hash)) {
-                duplicateCount++;
-            } else {
-                uniqueTransactions.add(tx);
-                seenHashes.add(hash);
-            }
-        }
-
-        // Create ImportAudit with full audit trail for HMRC compliance
-        // Retention period: 6 years from import date (TMA 1970 s.12B)
-        String fileName = csvFile.getFileName().toString();
-        String fileHash = computeFileHash(csvFile);
-        LocalDate importDate = LocalDate.ofInstant(now, ZoneId.systemDefault());
-        LocalDate retentionUntil = importDate.plusYears(RETENTION_YEARS);
-        String originalFilePath = csvFile.toAbsolutePath().toString();
-
-        ImportAudit audit = importAuditRepository.save(ImportAudit.createWithAuditTrail(
-            businessId, now, fileName, fileHash,
-            ImportAuditType.BANK_CSV,
-            allTransactions.size(),
-            uniqueTransactions.size(),
-            duplicateCount,
-            List.of(),
-            originalFilePath,
-            false,  // File encryption deferred to future sprint
-            retentionUntil,
-            LOCAL_USER_IDENTITY
-        ));
-
-        // Stage unique transactions as PENDING BankTransactions,
-        // applying auto-exclusion rules for non-P&L patterns
-        List<UUID> transactionIds = new ArrayList<>();
-        for (ImportedTransaction tx : uniqueTransactions) {
-            BankTransaction bankTx = BankTransaction.create(
-                businessId,
-                audit.id(),
-                sourceFormatId,
-                tx.date(),
-                tx.amount(),
-                tx.description(),
-                null,  // accountLastFour - not available from CSV
-                tx.reference(),
-                tx.transactionHash(),
-                now
-            );
-
-            // Apply auto-exclusion for non-P&L patterns (transfers, HMRC, loans, ATM)
-            ExclusionResult exclusionResult = exclusionRulesEngine.evaluate(bankTx);
-            if (exclusionResult.shouldExclude()) {
-                bankTx = bankTx.withExcluded(
-                    "Auto-excluded: " + exclusionResult.reason(), now);
-            }
+        // The audit id is reserved up front so rows can be staged as they are parsed
+        UUID auditId = UUID.randomUUID();
+        StagingSink staging = new StagingSink(businessId, auditId, toSourceFormatId(bankName), csvFile, now);
 
-            bankTransactionRepository.save(bankTx);
-            transactionIds.add(bankTx.id());
+        StatementSummary summary;
+        try {
+            summary = new CsvStatementSource(csvFile, charset, parser).stream(staging);
+        } catch (StatementSourceException e) {
+            throw toCsvParseException(e);
         }
+        staging.finish(summary);
 
         return new BankStatementImportResult(
-            audit.id(),
+            auditId,
             bankName,
-            allTransactions.size(),
-            uniqueTransactions.size(),
-            duplicateCount,
+            summary.transactionCount(),
+            staging.stagedCount,
+            staging.duplicateCount,
             0
         );
     }
@@ -192,25 +153,148 @@ public class BankStatementImportService {
         }
     }
 
-    private String computeFileHash(Path csvFile) {
-        try {
-            byte[] content = Files.readAllBytes(csvFile);
-            var digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(content);
-            return bytesToHex(hash);
-        } catch (java.security.NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 algorithm not available", e);
-        } catch (IOException e) {
-            throw new CsvParseException(
-                    "Failed to compute file hash for audit trail: " + csvFile.getFileName(), e);
+    /**
+     * Unwraps the source's checked exception: parse failures and runtime errors raised
+     * while staging are rethrown as they were, anything else becomes a CsvParseException.
+     */
+    private static RuntimeException toCsvParseException(StatementSourceException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
         }
+        return new CsvParseException(e.getMessage(), e.getCause() != null ? e.getCause() : e);
     }
 
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+    /**
+     * Receives parsed rows from the statement source and stages the unique ones.
+     *
+     * <p>Rows are buffered until {@link #DEDUP_CHUNK_SIZE} have arrived, then resolved
+     * against the stored hashes in one lookup and the unique ones inserted in one batch.
+     * Repeats within the file are caught by the set of hashes seen so far.</p>
+     */
+    private final class StagingSink implements Consumer<ImportedTransaction> {
+
+        private final UUID businessId;
+        private final UUID auditId;
+        private final String sourceFormatId;
+        private final Path csvFile;
+        private final Instant now;
+        private final List<ImportedTransaction> pending = new ArrayList<>(DEDUP_CHUNK_SIZE);
+        private final Set<String> seenHashes = new HashSet<>();
+        private boolean auditSaved;
+        private int stagedCount;
+        private int duplicateCount;
+
+        StagingSink(UUID businessId, UUID auditId, String sourceFormatId, Path csvFile, Instant now) {
+            this.businessId = businessId;
+            this.auditId = auditId;
+            this.sourceFormatId = sourceFormatId;
+            this.csvFile = csvFile;
+            this.now = now;
+        }
+
+        @Override
+        public void accept(ImportedTransaction tx) {
+            pending.add(tx);
+            if (pending.size() >= DEDUP_CHUNK_SIZE) {
+                List<BankTransaction> chunk = resolvePending();
+                if (!chunk.isEmpty()) {
+                    if (!auditSaved) {
+                        // The file hash and totals are not known until the stream ends
+                        importAuditRepository.save(audit(null, 0));
+                        auditSaved = true;
+                    }
+                    bankTransactionRepository.saveAll(chunk);
+                }
+            }
+        }
+
+        /**
+         * Stages the last rows and writes the audit's final figures, before the rows when the
+         * audit has not been written yet.
+         */
+        void finish(StatementSummary summary) {
+            List<BankTransaction> chunk = resolvePending();
+            if (auditSaved) {
+                importAuditRepository.completeSummary(auditId, summary.contentSha256(),
+                    summary.transactionCount(), stagedCount, duplicateCount);
+            } else {
+                importAuditRepository.save(audit(summary.contentSha256(), summary.transactionCount()));
+                auditSaved = true;
+            }
+            if (!chunk.isEmpty()) {
+                bankTransactionRepository.saveAll(chunk);
+            }
+        }
+
+        private List<BankTransaction> resolvePending() {
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+
+            // Detect duplicates against existing staged transactions and within the file
+            Set<String> existingHashes = bankTransactionRepository.findExistingHashes(
+                businessId, pending.stream().map(ImportedTransaction::transactionHash).toList());
+
+            List<BankTransaction> chunk = new ArrayList<>(pending.size());
+            for (ImportedTransaction tx : pending) {
+                String hash = tx.transactionHash();
+                if (existingHashes.contains(hash) || !seenHashes.add(hash)) {
+                    duplicateCount++;
+                } else {
+                    chunk.add(stage(tx));
+                }
+            }
+            stagedCount += chunk.size();
+            pending.clear();
+            return chunk;
+        }
+
+        // Create ImportAudit with full audit trail for HMRC compliance
+        // Retention period: 6 years from import date (TMA 1970 s.12B)
+        private ImportAudit audit(String fileHash, int totalRecords) {
+            LocalDate importDate = LocalDate.ofInstant(now, ZoneId.systemDefault());
+            return new ImportAudit(
+                auditId,
+                businessId,
+                now,
+                csvFile.getFileName().toString(),
+                fileHash,
+                ImportAuditType.BANK_CSV,
+                totalRecords,
+                stagedCount,
+                duplicateCount,
+                List.of(),
+                ImportAuditStatus.ACTIVE,
+                null,
+                null,
+                csvFile.toAbsolutePath().toString(),
+                false,  // File encryption deferred to future sprint
+                importDate.plusYears(RETENTION_YEARS),
+                LOCAL_USER_IDENTITY
+            );
+        }
+
+        private BankTransaction stage(ImportedTransaction tx) {
+            BankTransaction bankTx = BankTransaction.create(
+                businessId,
+                auditId,
+                sourceFormatId,
+                tx.date(),
+                tx.amount(),
+                tx.description(),
+                null,  // accountLastFour - not available from CSV
+                tx.reference(),
+                tx.transactionHash(),
+                now
+            );
+
+            // Apply auto-exclusion for non-P&L patterns (transfers, HMRC, loans, ATM)
+            ExclusionResult exclusionResult = exclusionRulesEngine.evaluate(bankTx);
+            if (exclusionResult.shouldExclude()) {
+                bankTx = bankTx.withExcluded(
+                    "Auto-excluded: " + exclusionResult.reason(), now);
+            }
+            return bankTx;
         }
-        return sb.toString();
     }
 }
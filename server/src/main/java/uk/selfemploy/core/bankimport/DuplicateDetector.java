@@ -58,19 +58,29 @@ public class DuplicateDetector {
             .max(LocalDate::compareTo)
             .orElse(LocalDate.now());
 
+        // Only records on a date that has an import can match; skip keying the rest
+        Set<LocalDate> importDates = new HashSet<>();
+        for (ImportedTransaction tx : imports) {
+            importDates.add(tx.date());
+        }
+
         // Build set of existing transaction hashes
         Set<String> existingHashes = new HashSet<>();
 
         // Load existing incomes in date range
         List<Income> existingIncomes = incomeRepository.findByDateRange(businessId, minDate, maxDate);
         for (Income income : existingIncomes) {
-            existingHashes.add(createIncomeHash(income));
+            if (importDates.contains(income.date())) {
+                existingHashes.add(createIncomeHash(income));
+            }
         }
 
         // Load existing expenses in date range
         List<Expense> existingExpenses = expenseRepository.findByDateRange(businessId, minDate, maxDate);
         for (Expense expense : existingExpenses) {
-            existingHashes.add(createExpenseHash(expense));
+            if (importDates.contains(expense.date())) {
+                existingHashes.add(createExpenseHash(expense));
+            }
         }
 
         // Check each import against existing and previously seen imports
@@ -81,11 +91,10 @@ public class DuplicateDetector {
         for (ImportedTransaction tx : imports) {
             String hash = tx.transactionHash();
 
-            if (existingHashes.contains(hash) || seenInBatch.contains(hash)) {
+            if (existingHashes.contains(hash) || !seenInBatch.add(hash)) {
                 duplicateTransactions.add(tx);
             } else {
                 uniqueTransactions.add(tx);
-                seenInBatch.add(hash);
             }
         }
 
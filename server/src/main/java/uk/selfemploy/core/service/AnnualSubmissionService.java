@@ -50,6 +50,7 @@ public class AnnualSubmissionService {
     private final HmrcResilienceDecorator resilienceDecorator;
     private final TokenProvider tokenProvider;
     private final DeclarationAuditLog declarationAuditLog;
+    private final HmrcOverviewService overviewService;
 
     @Inject
     public AnnualSubmissionService(
@@ -58,13 +59,15 @@ public class AnnualSubmissionService {
             @RestClient SelfAssessmentDeclarationClient declarationClient,
             HmrcResilienceDecorator resilienceDecorator,
             TokenProvider tokenProvider,
-            DeclarationAuditLog declarationAuditLog) {
+            DeclarationAuditLog declarationAuditLog,
+            HmrcOverviewService overviewService) {
         this.repository = repository;
         this.calculationClient = calculationClient;
         this.declarationClient = declarationClient;
         this.resilienceDecorator = resilienceDecorator;
         this.tokenProvider = tokenProvider;
         this.declarationAuditLog = declarationAuditLog;
+        this.overviewService = overviewService;
     }
 
     /**
@@ -362,6 +365,7 @@ public class AnnualSubmissionService {
         // Transition to COMPLETED
         AnnualSubmissionSaga completedSaga = saga.withCompleted(response.chargeReference());
         repository.save(completedSaga);
+        overviewService.invalidate(saga.nino(), saga.taxYear());
 
         log.info("Declaration completed for saga {}, charge reference: {}",
                 saga.id(), response.chargeReference());
@@ -0,0 +1,145 @@
+package uk.selfemploy.core.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.core.auth.TokenProvider;
+import uk.selfemploy.core.exception.ValidationException;
+import uk.selfemploy.hmrc.client.BusinessDetailsClient;
+import uk.selfemploy.hmrc.client.HmrcOverviewCache;
+import uk.selfemploy.hmrc.client.HmrcOverviewCache.Leg;
+import uk.selfemploy.hmrc.client.ObligationsClient;
+import uk.selfemploy.hmrc.client.SaIndividualDetailsClient;
+import uk.selfemploy.hmrc.client.dto.BusinessDetailsV2Response;
+import uk.selfemploy.hmrc.client.dto.ObligationsResponse;
+import uk.selfemploy.hmrc.client.dto.SaIndividualDetailsResponse;
+import uk.selfemploy.hmrc.exception.HmrcApiException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Fetches what the HMRC connection, quarterly update and annual submission screens show about a
+ * taxpayer and tax year — their individual details, their income sources and their obligations —
+ * and shares the result between those screens.
+ *
+ * <p>The fan-out and the cache are {@link HmrcOverviewCache}'s, shared with the desktop app; this
+ * class makes the three calls through the REST clients. The calls are all or nothing: if any fails
+ * the others are cancelled and the first failure is thrown, so no call outlives the request that
+ * started it. The submission services call {@link #invalidate(String, TaxYear)} once HMRC accepts a
+ * submission, since it changes the obligations.</p>
+ */
+@ApplicationScoped
+public class HmrcOverviewService {
+
+    /** How long a fetched overview is reused before HMRC is asked again. */
+    static final Duration TIME_TO_LIVE = HmrcOverviewCache.TIME_TO_LIVE;
+
+    /**
+     * What HMRC holds for a taxpayer and tax year.
+     *
+     * @param individualDetails the taxpayer's ITSA status and enrolment
+     * @param businessDetails   the taxpayer's income sources, including their business IDs
+     * @param obligations       the periods due and fulfilled within the tax year
+     * @param fetchedAt         when HMRC answered
+     */
+    public record HmrcOverview(
+            SaIndividualDetailsResponse individualDetails,
+            BusinessDetailsV2Response businessDetails,
+            ObligationsResponse obligations,
+            Instant fetchedAt) {
+    }
+
+    /** Makes the three calls through the REST clients. */
+    private record ClientSource(
+            SaIndividualDetailsClient individualDetailsClient,
+            BusinessDetailsClient businessDetailsClient,
+            ObligationsClient obligationsClient)
+            implements HmrcOverviewCache.Source<SaIndividualDetailsResponse, BusinessDetailsV2Response,
+                    ObligationsResponse, HmrcOverview> {
+
+        @Override
+        public CompletionStage<SaIndividualDetailsResponse> individualDetails(String nino, String bearerToken) {
+            return individualDetailsClient.getIndividualDetails(nino, bearerToken);
+        }
+
+        @Override
+        public CompletionStage<BusinessDetailsV2Response> businessDetails(String nino, String bearerToken) {
+            return businessDetailsClient.listIncomeSources(nino, bearerToken);
+        }
+
+        @Override
+        public CompletionStage<ObligationsResponse> obligations(String nino, TaxYear taxYear, String bearerToken) {
+            return obligationsClient.listObligations(
+                nino, taxYear.startDate().toString(), taxYear.endDate().toString(), null, bearerToken);
+        }
+
+        // All or nothing, so every leg here was answered
+        @Override
+        public HmrcOverview assemble(Leg<SaIndividualDetailsResponse> individualDetails,
+                                     Leg<BusinessDetailsV2Response> businessDetails,
+                                     Leg<ObligationsResponse> obligations, Instant fetchedAt) {
+            return new HmrcOverview(individualDetails.answer(), businessDetails.answer(), obligations.answer(),
+                fetchedAt);
+        }
+
+        @Override
+        public RuntimeException noAnswer(Throwable cause) {
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            return new HmrcApiException("Failed to fetch HMRC overview: " + cause.getMessage(), cause);
+        }
+    }
+
+    private final HmrcOverviewCache<SaIndividualDetailsResponse, BusinessDetailsV2Response, ObligationsResponse,
+            HmrcOverview> cache;
+
+    @Inject
+    public HmrcOverviewService(
+            @RestClient SaIndividualDetailsClient individualDetailsClient,
+            @RestClient BusinessDetailsClient businessDetailsClient,
+            @RestClient ObligationsClient obligationsClient,
+            TokenProvider tokenProvider) {
+        this(individualDetailsClient, businessDetailsClient, obligationsClient, tokenProvider, Clock.systemUTC());
+    }
+
+    HmrcOverviewService(
+            SaIndividualDetailsClient individualDetailsClient,
+            BusinessDetailsClient businessDetailsClient,
+            ObligationsClient obligationsClient,
+            TokenProvider tokenProvider,
+            Clock clock) {
+        this.cache = new HmrcOverviewCache<>(
+            new ClientSource(individualDetailsClient, businessDetailsClient, obligationsClient),
+            tokenProvider::getValidToken, HmrcOverviewCache.Legs.ALL_OR_NOTHING, clock);
+    }
+
+    /**
+     * Returns the overview for a taxpayer and tax year, from the cache when a recent one is held.
+     * Blocking; call from a background thread.
+     *
+     * @param nino    National Insurance Number
+     * @param taxYear the tax year whose obligations to include
+     * @return the overview
+     * @throws ValidationException if the NINO or tax year is missing
+     * @throws HmrcApiException    if any of the calls failed
+     */
+    public HmrcOverview overview(String nino, TaxYear taxYear) {
+        if (nino == null || nino.isBlank()) {
+            throw new ValidationException("nino", "nino: NINO cannot be null or empty");
+        }
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "taxYear: Tax year cannot be null");
+        }
+        return cache.overview(nino, taxYear);
+    }
+
+    /** Drops the cached overview for a taxpayer and tax year, so the next request asks HMRC. */
+    public void invalidate(String nino, TaxYear taxYear) {
+        cache.invalidate(nino, taxYear);
+    }
+}
@@ -52,6 +52,7 @@ public class QuarterlySubmissionService {
     private final SubmissionRepository submissionRepository;
     private final MtdPeriodicUpdateClient mtdClient;
     private final TokenProvider tokenProvider;
+    private final HmrcOverviewService overviewService;
 
     @Inject
     public QuarterlySubmissionService(
@@ -59,12 +60,14 @@ public class QuarterlySubmissionService {
             ExpenseRepository expenseRepository,
             SubmissionRepository submissionRepository,
             @RestClient MtdPeriodicUpdateClient mtdClient,
-            TokenProvider tokenProvider) {
+            TokenProvider tokenProvider,
+            HmrcOverviewService overviewService) {
         this.incomeRepository = incomeRepository;
         this.expenseRepository = expenseRepository;
         this.submissionRepository = submissionRepository;
         this.mtdClient = mtdClient;
         this.tokenProvider = tokenProvider;
+        this.overviewService = overviewService;
     }
 
     /**
@@ -172,6 +175,8 @@ public class QuarterlySubmissionService {
             // Update submission with success
             Submission acceptedSubmission = submission.withAccepted(response.hmrcReference());
             submissionRepository.save(acceptedSubmission);
+            // The quarter's obligation is now met; screens must not keep showing it as due.
+            overviewService.invalidate(nino, taxYear);
 
             log.info("Successfully submitted {} {} with HMRC reference: {} (declaration at: {})",
                     quarter, taxYear.label(), response.hmrcReference(), declarationAcceptedAt);
@@ -256,6 +261,8 @@ public class QuarterlySubmissionService {
             // Update submission with success
             Submission acceptedSubmission = submission.withAccepted(response.hmrcReference());
             submissionRepository.save(acceptedSubmission);
+            // The quarter's obligation is now met; screens must not keep showing it as due.
+            overviewService.invalidate(nino, taxYear);
 
             log.info("Successfully submitted {} {} with HMRC reference: {}",
                     quarter, taxYear.label(), response.hmrcReference());
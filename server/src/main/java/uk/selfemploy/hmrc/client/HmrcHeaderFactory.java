@@ -79,7 +79,7 @@ public class HmrcHeaderFactory implements ClientHeadersFactory {
 
     private void addFraudPreventionHeaders(MultivaluedMap<String, String> headers) {
         try {
-            Map<String, String> fraudHeaders = fraudPreventionService.generateHeaders();
+            Map<String, String> fraudHeaders = fraudPreventionService.currentHeaders();
 
             for (Map.Entry<String, String> entry : fraudHeaders.entrySet()) {
                 if (!headers.containsKey(entry.getKey())) {
@@ -615,10 +615,10 @@ class BankImportUnitTestGapCoverageTest {
         }
 
         @Test
-        @DisplayName("MAX_FILE_SIZE_BYTES is 10MB")
-        void maxFileSizeIs10Mb() {
+        @DisplayName("MAX_FILE_SIZE_BYTES is 100MB")
+        void maxFileSizeIs100Mb() {
             assertThat(BankStatementImportService.MAX_FILE_SIZE_BYTES)
-                    .isEqualTo(10 * 1024 * 1024);
+                    .isEqualTo(100 * 1024 * 1024);
         }
     }
 
@@ -72,6 +72,9 @@ class AnnualSubmissionIntegrationTest {
     @Mock
     private TokenProvider tokenProvider;
 
+    @Mock
+    private HmrcOverviewService overviewService;
+
     @Mock
     private DeclarationAuditLog declarationAuditLog;
 
@@ -93,7 +96,8 @@ class AnnualSubmissionIntegrationTest {
                 declarationClient,
                 resilienceDecorator,
                 tokenProvider,
-                declarationAuditLog
+                declarationAuditLog,
+                overviewService
         );
 
         // Default behavior: resilience decorator just passes through
@@ -53,6 +53,7 @@ class AnnualSubmissionServiceTest {
     private HmrcResilienceDecorator resilienceDecorator;
     private TokenProvider tokenProvider;
     private DeclarationAuditLog declarationAuditLog;
+    private HmrcOverviewService overviewService;
 
     private static final String TEST_NINO = "AA123456A";
     private static final TaxYear TEST_TAX_YEAR = TaxYear.of(2024);
@@ -70,6 +71,7 @@ class AnnualSubmissionServiceTest {
         resilienceDecorator = mock(HmrcResilienceDecorator.class);
         tokenProvider = mock(TokenProvider.class);
         declarationAuditLog = mock(DeclarationAuditLog.class);
+        overviewService = mock(HmrcOverviewService.class);
 
         service = new AnnualSubmissionService(
             repository,
@@ -77,7 +79,8 @@ class AnnualSubmissionServiceTest {
             declarationClient,
             resilienceDecorator,
             tokenProvider,
-            declarationAuditLog
+            declarationAuditLog,
+            overviewService
         );
 
         // Default behavior: resilience decorator just passes through
@@ -0,0 +1,219 @@
+package uk.selfemploy.core.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.core.auth.TokenProvider;
+import uk.selfemploy.core.exception.ValidationException;
+import uk.selfemploy.hmrc.client.BusinessDetailsClient;
+import uk.selfemploy.hmrc.client.ObligationsClient;
+import uk.selfemploy.hmrc.client.SaIndividualDetailsClient;
+import uk.selfemploy.hmrc.client.dto.BusinessDetailsV2Response;
+import uk.selfemploy.hmrc.client.dto.ObligationsResponse;
+import uk.selfemploy.hmrc.client.dto.SaIndividualDetailsResponse;
+import uk.selfemploy.hmrc.exception.HmrcServerException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for HmrcOverviewService.
+ */
+@DisplayName("HmrcOverviewService")
+class HmrcOverviewServiceTest {
+
+    private static final String NINO = "AA123456A";
+    private static final TaxYear TAX_YEAR = TaxYear.of(2025);
+    private static final String BEARER_TOKEN = "Bearer test-access-token";
+
+    private SaIndividualDetailsClient individualDetailsClient;
+    private BusinessDetailsClient businessDetailsClient;
+    private ObligationsClient obligationsClient;
+    private MutableClock clock;
+    private HmrcOverviewService service;
+
+    private final SaIndividualDetailsResponse individualDetails =
+        new SaIndividualDetailsResponse(NINO, "XAIT00000000001", null, null, null, List.of());
+    private final BusinessDetailsV2Response businessDetails =
+        new BusinessDetailsV2Response(NINO, "XAIT00000000001", List.of(), List.of());
+    private final ObligationsResponse obligations = new ObligationsResponse(List.of());
+
+    @BeforeEach
+    void setUp() {
+        individualDetailsClient = mock(SaIndividualDetailsClient.class);
+        businessDetailsClient = mock(BusinessDetailsClient.class);
+        obligationsClient = mock(ObligationsClient.class);
+        TokenProvider tokenProvider = mock(TokenProvider.class);
+        when(tokenProvider.getValidToken()).thenReturn(BEARER_TOKEN);
+        clock = new MutableClock(Instant.parse("2026-01-15T09:00:00Z"));
+
+        service = new HmrcOverviewService(
+            individualDetailsClient, businessDetailsClient, obligationsClient, tokenProvider, clock);
+    }
+
+    private void answerAll() {
+        when(individualDetailsClient.getIndividualDetails(NINO, BEARER_TOKEN))
+            .thenReturn(CompletableFuture.completedFuture(individualDetails));
+        when(businessDetailsClient.listIncomeSources(NINO, BEARER_TOKEN))
+            .thenReturn(CompletableFuture.completedFuture(businessDetails));
+        when(obligationsClient.listObligations(eq(NINO), anyString(), anyString(), isNull(), eq(BEARER_TOKEN)))
+            .thenReturn(CompletableFuture.completedFuture(obligations));
+    }
+
+    @Nested
+    @DisplayName("Fetching")
+    class Fetching {
+
+        @Test
+        @DisplayName("issues all three calls before any has answered")
+        void issuesCallsTogether() {
+            CompletableFuture<SaIndividualDetailsResponse> slowIndividual = new CompletableFuture<>();
+            when(individualDetailsClient.getIndividualDetails(NINO, BEARER_TOKEN)).thenReturn(slowIndividual);
+            when(businessDetailsClient.listIncomeSources(NINO, BEARER_TOKEN))
+                .thenReturn(CompletableFuture.completedFuture(businessDetails));
+            when(obligationsClient.listObligations(eq(NINO), anyString(), anyString(), isNull(), eq(BEARER_TOKEN)))
+                .thenReturn(CompletableFuture.completedFuture(obligations));
+
+            CompletableFuture<HmrcOverviewService.HmrcOverview> overview =
+                CompletableFuture.supplyAsync(() -> service.overview(NINO, TAX_YEAR));
+
+            verify(businessDetailsClient, timeout(5_000)).listIncomeSources(NINO, BEARER_TOKEN);
+            verify(obligationsClient, timeout(5_000))
+                .listObligations(NINO, "2025-04-06", "2026-04-05", null, BEARER_TOKEN);
+            assertThat(overview).isNotDone();
+
+            slowIndividual.complete(individualDetails);
+
+            assertThat(overview.join().individualDetails()).isEqualTo(individualDetails);
+            assertThat(overview.join().businessDetails()).isEqualTo(businessDetails);
+            assertThat(overview.join().obligations()).isEqualTo(obligations);
+        }
+
+        @Test
+        @DisplayName("throws the first failure and cancels the calls still running")
+        void failsFast() {
+            CompletableFuture<SaIndividualDetailsResponse> pending = new CompletableFuture<>();
+            HmrcServerException failure = new HmrcServerException("HMRC unavailable", "SERVER_ERROR", 503);
+            when(individualDetailsClient.getIndividualDetails(NINO, BEARER_TOKEN)).thenReturn(pending);
+            when(businessDetailsClient.listIncomeSources(NINO, BEARER_TOKEN))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+            when(obligationsClient.listObligations(eq(NINO), anyString(), anyString(), isNull(), eq(BEARER_TOKEN)))
+                .thenReturn(CompletableFuture.completedFuture(obligations));
+
+            assertThatThrownBy(() -> service.overview(NINO, TAX_YEAR)).isSameAs(failure);
+            assertThat(pending).isCancelled();
+        }
+
+        @Test
+        @DisplayName("rejects a missing NINO")
+        void rejectsMissingNino() {
+            assertThatThrownBy(() -> service.overview(" ", TAX_YEAR)).isInstanceOf(ValidationException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class Caching {
+
+        @Test
+        @DisplayName("reuses the overview within its time to live")
+        void reusesWithinTtl() {
+            answerAll();
+
+            HmrcOverviewService.HmrcOverview first = service.overview(NINO, TAX_YEAR);
+            clock.advance(HmrcOverviewService.TIME_TO_LIVE.minusSeconds(1));
+
+            assertThat(service.overview(NINO, TAX_YEAR)).isSameAs(first);
+            verify(businessDetailsClient, times(1)).listIncomeSources(any(), any());
+        }
+
+        @Test
+        @DisplayName("asks HMRC again once the time to live has passed")
+        void refetchesAfterTtl() {
+            answerAll();
+
+            service.overview(NINO, TAX_YEAR);
+            clock.advance(HmrcOverviewService.TIME_TO_LIVE);
+            service.overview(NINO, TAX_YEAR);
+
+            verify(businessDetailsClient, times(2)).listIncomeSources(any(), any());
+        }
+
+        @Test
+        @DisplayName("keeps each tax year separately and drops only the invalidated one")
+        void invalidatesOneKey() {
+            answerAll();
+
+            service.overview(NINO, TAX_YEAR);
+            service.overview(NINO, TAX_YEAR.previous());
+            service.invalidate(NINO, TAX_YEAR);
+            service.overview(NINO, TAX_YEAR);
+            service.overview(NINO, TAX_YEAR.previous());
+
+            verify(businessDetailsClient, times(3)).listIncomeSources(any(), any());
+        }
+
+        @Test
+        @DisplayName("does not keep a failure")
+        void doesNotCacheFailure() {
+            when(individualDetailsClient.getIndividualDetails(NINO, BEARER_TOKEN))
+                .thenReturn(CompletableFuture.failedFuture(new HmrcServerException("HMRC unavailable", "SERVER_ERROR", 503)))
+                .thenReturn(CompletableFuture.completedFuture(individualDetails));
+            when(businessDetailsClient.listIncomeSources(NINO, BEARER_TOKEN))
+                .thenReturn(CompletableFuture.completedFuture(businessDetails));
+            when(obligationsClient.listObligations(eq(NINO), anyString(), anyString(), isNull(), eq(BEARER_TOKEN)))
+                .thenReturn(CompletableFuture.completedFuture(obligations));
+
+            assertThatThrownBy(() -> service.overview(NINO, TAX_YEAR)).isInstanceOf(HmrcServerException.class);
+
+            assertThat(service.overview(NINO, TAX_YEAR).individualDetails()).isEqualTo(individualDetails);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -68,6 +68,9 @@ class QuarterlySubmissionIntegrationTest {
     @Mock
     private TokenProvider tokenProvider;
 
+    @Mock
+    private HmrcOverviewService overviewService;
+
     private QuarterlySubmissionService service;
 
     private UUID businessId;
@@ -81,7 +84,8 @@ class QuarterlySubmissionIntegrationTest {
                 expenseRepository,
                 submissionRepository,
                 mtdClient,
-                tokenProvider
+                tokenProvider,
+                overviewService
         );
 
         businessId = UUID.randomUUID();
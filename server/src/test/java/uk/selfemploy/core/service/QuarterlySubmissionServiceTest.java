@@ -65,6 +65,9 @@ class QuarterlySubmissionServiceTest {
     @Mock
     private TokenProvider tokenProvider;
 
+    @Mock
+    private HmrcOverviewService overviewService;
+
     private QuarterlySubmissionService service;
 
     private UUID businessId;
@@ -80,7 +83,8 @@ class QuarterlySubmissionServiceTest {
                 expenseRepository,
                 submissionRepository,
                 mtdClient,
-                tokenProvider
+                tokenProvider,
+                overviewService
         );
 
         businessId = UUID.randomUUID();
@@ -55,7 +55,7 @@ class HmrcHeaderFactoryTest {
             // Given
             OAuthTokens tokens = createValidTokens();
             when(tokenStorageService.loadTokens()).thenReturn(Optional.of(tokens));
-            when(fraudPreventionService.generateHeaders()).thenReturn(new LinkedHashMap<>());
+            when(fraudPreventionService.currentHeaders()).thenReturn(new LinkedHashMap<>());
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             MultivaluedMap<String, String> outgoingHeaders = new MultivaluedHashMap<>();
@@ -73,7 +73,7 @@ class HmrcHeaderFactoryTest {
         void shouldNotAddAuthorizationHeaderWhenNoTokens() {
             // Given
             when(tokenStorageService.loadTokens()).thenReturn(Optional.empty());
-            when(fraudPreventionService.generateHeaders()).thenReturn(new LinkedHashMap<>());
+            when(fraudPreventionService.currentHeaders()).thenReturn(new LinkedHashMap<>());
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             MultivaluedMap<String, String> outgoingHeaders = new MultivaluedHashMap<>();
@@ -95,7 +95,7 @@ class HmrcHeaderFactoryTest {
             fraudHeaders.put(FraudPreventionHeaders.Headers.CONNECTION_METHOD, "DESKTOP_APP_DIRECT");
             fraudHeaders.put(FraudPreventionHeaders.Headers.DEVICE_ID, "device-123");
             fraudHeaders.put(FraudPreventionHeaders.Headers.TIMEZONE, "UTC+00:00");
-            when(fraudPreventionService.generateHeaders()).thenReturn(fraudHeaders);
+            when(fraudPreventionService.currentHeaders()).thenReturn(fraudHeaders);
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             MultivaluedMap<String, String> outgoingHeaders = new MultivaluedHashMap<>();
@@ -117,7 +117,7 @@ class HmrcHeaderFactoryTest {
         void shouldPreserveIncomingHeaders() {
             // Given
             when(tokenStorageService.loadTokens()).thenReturn(Optional.empty());
-            when(fraudPreventionService.generateHeaders()).thenReturn(new LinkedHashMap<>());
+            when(fraudPreventionService.currentHeaders()).thenReturn(new LinkedHashMap<>());
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             incomingHeaders.add("X-Custom-Header", "custom-value");
@@ -136,7 +136,7 @@ class HmrcHeaderFactoryTest {
         void shouldNotAddDefaultAcceptHeader() {
             // Given — no client has supplied an Accept header (factory should leave it absent)
             when(tokenStorageService.loadTokens()).thenReturn(Optional.empty());
-            when(fraudPreventionService.generateHeaders()).thenReturn(new LinkedHashMap<>());
+            when(fraudPreventionService.currentHeaders()).thenReturn(new LinkedHashMap<>());
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             MultivaluedMap<String, String> outgoingHeaders = new MultivaluedHashMap<>();
@@ -158,7 +158,7 @@ class HmrcHeaderFactoryTest {
         void shouldPreserveClientSuppliedAcceptHeader() {
             // Given — a REST client interface has declared its Accept header (e.g. Calculations v8)
             when(tokenStorageService.loadTokens()).thenReturn(Optional.empty());
-            when(fraudPreventionService.generateHeaders()).thenReturn(new LinkedHashMap<>());
+            when(fraudPreventionService.currentHeaders()).thenReturn(new LinkedHashMap<>());
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             MultivaluedMap<String, String> outgoingHeaders = new MultivaluedHashMap<>();
@@ -181,7 +181,7 @@ class HmrcHeaderFactoryTest {
             Map<String, String> fraudHeaders = new LinkedHashMap<>();
             fraudHeaders.put(FraudPreventionHeaders.Headers.CONNECTION_METHOD, "DESKTOP_APP_DIRECT");
             fraudHeaders.put(FraudPreventionHeaders.Headers.DEVICE_ID, "device-456");
-            when(fraudPreventionService.generateHeaders()).thenReturn(fraudHeaders);
+            when(fraudPreventionService.currentHeaders()).thenReturn(fraudHeaders);
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             MultivaluedMap<String, String> outgoingHeaders = new MultivaluedHashMap<>();
@@ -204,7 +204,7 @@ class HmrcHeaderFactoryTest {
             // Given
             OAuthTokens tokens = createValidTokens();
             when(tokenStorageService.loadTokens()).thenReturn(Optional.of(tokens));
-            when(fraudPreventionService.generateHeaders()).thenReturn(new LinkedHashMap<>());
+            when(fraudPreventionService.currentHeaders()).thenReturn(new LinkedHashMap<>());
 
             MultivaluedMap<String, String> incomingHeaders = new MultivaluedHashMap<>();
             incomingHeaders.add("Authorization", "Bearer existing_token");
@@ -13,6 +13,7 @@ import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.legal.Disclaimers;
 import uk.selfemploy.core.calculator.TaxLiabilityCalculator;
 import uk.selfemploy.core.calculator.TaxLiabilityResult;
+import uk.selfemploy.hmrc.client.dto.ObligationsResponse.ObligationDetail;
 import uk.selfemploy.ui.service.CoreServiceFactory;
 import uk.selfemploy.ui.service.HmrcCalculationComparison;
 import uk.selfemploy.ui.service.HmrcCalculationService;
@@ -20,6 +21,7 @@ import uk.selfemploy.ui.service.HmrcCalculationService.CalculationOutcome;
 import uk.selfemploy.ui.service.HmrcFinalDeclarationService;
 import uk.selfemploy.ui.service.HmrcFinalDeclarationService.DeclarationConfirmation;
 import uk.selfemploy.ui.service.HmrcFinalDeclarationService.DeclarationOutcome;
+import uk.selfemploy.ui.service.HmrcOverviewService;
 import uk.selfemploy.ui.service.OAuthServiceFactory;
 import uk.selfemploy.ui.service.SqliteDataStore;
 import uk.selfemploy.ui.service.SqliteSubmissionRepository;
@@ -35,9 +37,12 @@ import javafx.stage.Stage;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -155,6 +160,7 @@ public class AnnualSubmissionController {
     // the OAuth service or database.
     private HmrcCalculationService calculationService;
     private HmrcFinalDeclarationService declarationService;
+    private HmrcOverviewService overviewService;
 
     // The real HMRC reference from the last successful declaration, shown on the
     // success panel. Never fabricated.
@@ -174,6 +180,13 @@ public class AnnualSubmissionController {
         return declarationService;
     }
 
+    HmrcOverviewService overviewService() {
+        if (overviewService == null) {
+            overviewService = HmrcOverviewService.getInstance();
+        }
+        return overviewService;
+    }
+
     /** Visible for testing: inject stubbed HMRC clients. */
     void setHmrcServices(HmrcCalculationService calculationService,
                          HmrcFinalDeclarationService declarationService) {
@@ -483,6 +496,10 @@ public class AnnualSubmissionController {
         viewModel.setLoading(true);
 
         Thread.startVirtualThread(() -> {
+            // HMRC's obligations are fetched alongside the calculation, which takes longer, so the
+            // taxpayer can be told of quarters still open before declaring.
+            CompletableFuture<List<ObligationDetail>> openObligations = CompletableFuture.supplyAsync(
+                () -> overviewService().overview(nino, taxYear).openObligations(), Thread::startVirtualThread);
             CalculationOutcome calcOutcome;
             try {
                 calcOutcome = calculationService().calculate(nino, taxYear, true);
@@ -491,8 +508,12 @@ public class AnnualSubmissionController {
                 failOnFxThread("Unexpected error requesting your HMRC calculation: " + e.getMessage());
                 return;
             }
+            List<ObligationDetail> open = openObligations.exceptionally(failure -> {
+                LOG.info("Could not load HMRC obligations: " + failure.getMessage());
+                return List.of();
+            }).join();
             CalculationOutcome outcome = calcOutcome;
-            javafx.application.Platform.runLater(() -> onCalculationReady(nino, taxYear, outcome));
+            javafx.application.Platform.runLater(() -> onCalculationReady(nino, taxYear, outcome, open));
         });
     }
 
@@ -502,7 +523,8 @@ public class AnnualSubmissionController {
      * sent. When the two calculations diverge the taxpayer is warned explicitly.
      * Declining leaves the return undeclared and returns to the review step.
      */
-    private void onCalculationReady(String nino, TaxYear taxYear, CalculationOutcome calcOutcome) {
+    private void onCalculationReady(String nino, TaxYear taxYear, CalculationOutcome calcOutcome,
+                                    List<ObligationDetail> openObligations) {
         if (calcOutcome instanceof CalculationOutcome.Failure failure) {
             failOnFxThread("HMRC could not calculate your return: " + failure.message());
             return;
@@ -520,7 +542,7 @@ public class AnnualSubmissionController {
         boolean confirmed = AppDialog.confirm(
             comparison.hasMismatch() ? "HMRC's figures differ — review before declaring"
                                      : "Confirm HMRC's figures",
-            buildHmrcFiguresMessage(comparison),
+            buildHmrcFiguresMessage(comparison) + buildOpenObligationsMessage(openObligations),
             "Declare these figures to HMRC", "Cancel");
         if (!confirmed) {
             viewModel.setCurrentState(AnnualSubmissionState.CALCULATED);
@@ -557,6 +579,7 @@ public class AnnualSubmissionController {
                 return;
             }
             String reference = ((DeclarationOutcome.Success) declOutcome).hmrcReference();
+            overviewService().invalidate(taxYear);
             boolean persisted = persistSubmission(taxYear, reference);
             javafx.application.Platform.runLater(() -> onDeclarationComplete(reference, persisted));
         });
@@ -599,6 +622,28 @@ public class AnnualSubmissionController {
         return sb.toString();
     }
 
+    /**
+     * Warns of the periods HMRC still holds as open for the year, which HMRC expects to be updated
+     * before it accepts a final declaration. Empty when there are none or they could not be fetched.
+     */
+    private String buildOpenObligationsMessage(List<ObligationDetail> openObligations) {
+        if (openObligations.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("\nHMRC has not yet received an update for:\n");
+        for (ObligationDetail obligation : openObligations) {
+            sb.append("  ").append(formatDate(obligation.periodStartDate()))
+                .append(" to ").append(formatDate(obligation.periodEndDate()))
+                .append(", due ").append(formatDate(obligation.dueDate())).append('\n');
+        }
+        sb.append("HMRC may reject the declaration until these are submitted.\n");
+        return sb.toString();
+    }
+
+    private String formatDate(LocalDate date) {
+        return date == null ? "—" : date.format(DATE_FORMATTER);
+    }
+
     private String formatFigure(BigDecimal amount) {
         return amount == null ? "—" : formatCurrency(amount);
     }
@@ -12,6 +12,8 @@ import uk.selfemploy.ui.i18n.Messages;
 import uk.selfemploy.ui.service.security.BackupEncryption;
 import uk.selfemploy.ui.service.security.WrongPassphraseException;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -22,6 +24,9 @@ import java.util.logging.Logger;
  * <p>Unrelated to the app-lock screen despite the resemblance: this opens a file, not the database, and
  * the passphrase is whatever the backup was written under — which may have been on another machine, or
  * before the current vault existed. Deriving the key is deliberately slow, so it runs off the FX thread.
+ *
+ * <p>Unlocking only proves the passphrase opens the file; nothing is decrypted and kept here. The caller
+ * takes the passphrase and reads the backup as a stream, as often as the restore needs to.
  */
 public class BackupUnlockController implements DialogStageAware {
 
@@ -33,8 +38,8 @@ public class BackupUnlockController implements DialogStageAware {
     @FXML private Hyperlink cancelLink;
 
     private Stage dialogStage;
-    private byte[] encryptedBackup;
-    private byte[] decrypted;
+    private Path encryptedBackup;
+    private char[] passphrase;
 
     @Override
     public void setDialogStage(Stage dialogStage) {
@@ -42,13 +47,16 @@ public class BackupUnlockController implements DialogStageAware {
     }
 
     /** The file to open. Must be set before the dialog is shown. */
-    public void setEncryptedBackup(byte[] encryptedBackup) {
+    public void setEncryptedBackup(Path encryptedBackup) {
         this.encryptedBackup = encryptedBackup;
     }
 
-    /** The decrypted export, or {@code null} if the user closed the screen without unlocking it. */
-    public byte[] getDecrypted() {
-        return decrypted;
+    /**
+     * The passphrase that opened the backup, or {@code null} if the user closed the screen without
+     * unlocking it. The caller owns it from here and should zero it once the restore is done.
+     */
+    public char[] getPassphrase() {
+        return passphrase;
     }
 
     @FXML
@@ -56,23 +64,25 @@ public class BackupUnlockController implements DialogStageAware {
         if (encryptedBackup == null || passphraseField.getText().isEmpty()) {
             return;
         }
-        char[] passphrase = passphraseField.getText().toCharArray();
+        char[] entered = passphraseField.getText().toCharArray();
         setBusy(true);
         hideError();
 
-        Task<byte[]> task = new Task<>() {
+        Task<Void> task = new Task<>() {
             @Override
-            protected byte[] call() throws Exception {
-                return BackupEncryption.decrypt(encryptedBackup, passphrase);
+            protected Void call() throws Exception {
+                // Opening checks the first chunk, which is as far as a wrong passphrase gets
+                try (InputStream opened = BackupEncryption.decryptingStream(encryptedBackup, entered)) {
+                    return null;
+                }
             }
         };
         task.setOnSucceeded(e -> {
-            Arrays.fill(passphrase, '\0');
-            decrypted = task.getValue();
+            passphrase = entered;
             close();
         });
         task.setOnFailed(e -> {
-            Arrays.fill(passphrase, '\0');
+            Arrays.fill(entered, '\0');
             setBusy(false);
             Throwable failure = task.getException();
             if (failure instanceof WrongPassphraseException) {
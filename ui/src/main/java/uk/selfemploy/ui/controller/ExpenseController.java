@@ -159,6 +159,7 @@ public class ExpenseController implements Initializable, MainController.TaxYearA
         // Initialize ViewModel
         if (expenseService != null) {
             viewModel = new ExpenseListViewModel(expenseService);
+            viewModel.setOnResultsChangedCallback(this::updateTableData);
             viewModel.setBusinessId(businessId);
             viewModel.setCisBusiness(cisBusiness);
             if (receiptStorageService != null) {
@@ -252,9 +253,9 @@ public class ExpenseController implements Initializable, MainController.TaxYearA
             }
         });
 
-        // Description column - use lambda for record accessors
+        // Description column - while searching, the snippet that matched
         descriptionColumn.setCellValueFactory(cellData ->
-            new SimpleStringProperty(cellData.getValue().description()));
+            new SimpleStringProperty(viewModel.getDescriptionText(cellData.getValue())));
 
         // Category column with color dot - use lambda for record accessors
         categoryColumn.setCellValueFactory(cellData ->
@@ -491,7 +492,7 @@ public class ExpenseController implements Initializable, MainController.TaxYearA
     }
 
     private void setupSearch() {
-        // Debounced search (simplified - in production would use a proper debounce)
+        // The view model debounces the database query and calls back when the results land
         searchField.textProperty().addListener((obs, oldVal, newVal) -> {
             if (viewModel != null) {
                 viewModel.setSearchText(newVal != null ? newVal : "");
@@ -825,6 +826,7 @@ public class ExpenseController implements Initializable, MainController.TaxYearA
         this.expenseService = expenseService;
         if (viewModel == null && expenseService != null) {
             viewModel = new ExpenseListViewModel(expenseService);
+            viewModel.setOnResultsChangedCallback(this::updateTableData);
             viewModel.setBusinessId(businessId);
             viewModel.setCisBusiness(cisBusiness);
             if (taxYear != null) {
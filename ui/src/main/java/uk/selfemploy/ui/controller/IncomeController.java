@@ -175,10 +175,9 @@ public class IncomeController implements Initializable, MainController.TaxYearAw
     }
 
     private void setupSearchField() {
-        // Debounced search
+        // The view model debounces the database query and calls back when the results land
         searchField.textProperty().addListener((obs, oldVal, newVal) -> {
             if (viewModel != null) {
-                // Simple debounce using Platform.runLater
                 Platform.runLater(() -> {
                     viewModel.setSearchText(newVal);
                     updateTable();
@@ -220,9 +219,9 @@ public class IncomeController implements Initializable, MainController.TaxYearAw
             }
         });
 
-        // Description column
+        // Description column - while searching, the snippet that matched
         descriptionColumn.setCellValueFactory(cellData ->
-            new SimpleStringProperty(cellData.getValue().description()));
+            new SimpleStringProperty(viewModel.getDescriptionText(cellData.getValue())));
         descriptionColumn.setCellFactory(column -> new TableCell<>() {
             @Override
             protected void updateItem(String item, boolean empty) {
@@ -652,6 +651,7 @@ public class IncomeController implements Initializable, MainController.TaxYearAw
 
         if (incomeService != null && businessId != null) {
             viewModel = new IncomeListViewModel(incomeService, businessId);
+            viewModel.setOnResultsChangedCallback(this::updateTable);
             setupBindings();
             viewModel.loadIncome(taxYear);
             updateTable();
@@ -7,12 +7,8 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
-import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.Quarter;
 import uk.selfemploy.common.domain.TaxYear;
-import uk.selfemploy.common.enums.ExpenseCategory;
-import uk.selfemploy.core.profit.CategorySpend;
-import uk.selfemploy.core.profit.ProfitTotals;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 import uk.selfemploy.ui.component.QuarterInfoDialog;
@@ -21,8 +17,9 @@ import uk.selfemploy.hmrc.oauth.HmrcOAuthService;
 import uk.selfemploy.ui.service.AutoOAuthSubmissionService;
 import uk.selfemploy.ui.service.CoreServiceFactory;
 import uk.selfemploy.ui.service.HmrcConnectionService;
+import uk.selfemploy.ui.service.HmrcOverviewService;
 import uk.selfemploy.ui.service.OAuthServiceFactory;
-import uk.selfemploy.ui.viewmodel.CategorySummary;
+import uk.selfemploy.ui.service.UiQuarterlySubmissionService;
 import uk.selfemploy.ui.viewmodel.QuarterState;
 import uk.selfemploy.ui.viewmodel.QuarterStatus;
 import uk.selfemploy.ui.viewmodel.QuarterViewModel;
@@ -34,15 +31,12 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Controller for the Quarterly Updates dashboard.
@@ -119,6 +113,7 @@ public class QuarterlyUpdatesController implements Initializable, MainController
     // Services
     private IncomeService incomeService;
     private ExpenseService expenseService;
+    private UiQuarterlySubmissionService quarterlySubmissionService;
     private UUID businessId;
 
     // State
@@ -126,6 +121,12 @@ public class QuarterlyUpdatesController implements Initializable, MainController
     private Clock clock = Clock.systemDefaultZone();
     private List<QuarterViewModel> quarterViewModels = new ArrayList<>();
 
+    // HMRC's obligations for the tax year; null in tests, where no HMRC call is made
+    private HmrcOverviewService overviewService;
+    // Quarters HMRC reports as received, for the tax year starting in receivedTaxYearStart
+    private Set<Quarter> quartersReceivedByHmrc = EnumSet.noneOf(Quarter.class);
+    private int receivedTaxYearStart;
+
     // Callback for navigation
     private Runnable onBack;
     private Runnable navigateToSettings;
@@ -216,9 +217,15 @@ public class QuarterlyUpdatesController implements Initializable, MainController
         if (expenseService == null) {
             expenseService = CoreServiceFactory.getExpenseService();
         }
+        if (quarterlySubmissionService == null) {
+            quarterlySubmissionService = CoreServiceFactory.getQuarterlySubmissionService();
+        }
         if (businessId == null) {
             businessId = CoreServiceFactory.getDefaultBusinessId();
         }
+        if (overviewService == null) {
+            overviewService = HmrcOverviewService.getInstance();
+        }
     }
 
     /**
@@ -231,6 +238,14 @@ public class QuarterlyUpdatesController implements Initializable, MainController
         this.businessId = businessId;
     }
 
+    /**
+     * Sets the service the review data is summarised by.
+     * Package-private for testing.
+     */
+    void setQuarterlySubmissionService(UiQuarterlySubmissionService quarterlySubmissionService) {
+        this.quarterlySubmissionService = quarterlySubmissionService;
+    }
+
     /**
      * Sets the clock for testing time-dependent behavior.
      * Package-private for testing.
@@ -264,14 +279,19 @@ public class QuarterlyUpdatesController implements Initializable, MainController
     }
 
     /**
-     * Refreshes quarter data from services.
+     * Refreshes quarter data from services, then asks HMRC in the background which quarters it has
+     * received.
      */
     private void refreshQuarterData() {
         if (taxYear == null) {
             LOG.warning("Cannot refresh quarter data - tax year not set");
             return;
         }
+        rebuildQuarterViewModels();
+        loadObligationsFromHmrc();
+    }
 
+    private void rebuildQuarterViewModels() {
         LOG.info("Refreshing quarter data for tax year: " + taxYear.label());
         quarterViewModels.clear();
 
@@ -311,12 +331,58 @@ public class QuarterlyUpdatesController implements Initializable, MainController
     }
 
     /**
-     * Determines the status of a quarter based on the current date.
+     * Determines the status of a quarter: submitted when HMRC reports its obligation received,
+     * otherwise from the current date.
      */
     private QuarterStatus determineStatus(Quarter quarter, LocalDate today) {
+        if (receivedTaxYearStart == taxYear.startYear() && quartersReceivedByHmrc.contains(quarter)) {
+            return QuarterStatus.SUBMITTED;
+        }
         return QuarterState.resolveStatus(quarter, taxYear, today, hasDataForQuarter(quarter));
     }
 
+    /**
+     * Fetches HMRC's obligations for the tax year off the FX thread, through the overview the
+     * connection and annual submission screens share, and redraws the cards if the quarters HMRC
+     * has received differ from those shown. Does nothing when not connected; a failed fetch leaves
+     * the locally derived statuses in place.
+     */
+    private void loadObligationsFromHmrc() {
+        if (overviewService == null) {
+            return;
+        }
+        HmrcConnectionService connection = HmrcConnectionService.getInstance();
+        if (!connection.isConnected()) {
+            return;
+        }
+        TaxYear requested = taxYear;
+        HmrcOverviewService overviews = overviewService;
+        Thread.startVirtualThread(() -> {
+            Set<Quarter> received;
+            try {
+                String nino = connection.getNino();
+                if (nino == null || nino.isBlank()) {
+                    return;
+                }
+                received = overviews.overview(nino, requested).quartersReceived(requested);
+            } catch (RuntimeException e) {
+                LOG.info("Could not load HMRC obligations for " + requested.label() + ": " + e.getMessage());
+                return;
+            }
+            javafx.application.Platform.runLater(() -> {
+                if (taxYear == null || taxYear.startYear() != requested.startYear()) {
+                    return;
+                }
+                if (receivedTaxYearStart == requested.startYear() && received.equals(quartersReceivedByHmrc)) {
+                    return;
+                }
+                receivedTaxYearStart = requested.startYear();
+                quartersReceivedByHmrc = received;
+                rebuildQuarterViewModels();
+            });
+        });
+    }
+
     /**
      * Checks if there is any financial data for the quarter.
      */
@@ -780,72 +846,17 @@ public class QuarterlyUpdatesController implements Initializable, MainController
     }
 
     /**
-     * Aggregates review data for the Quarterly Review Dialog.
+     * Aggregates review data for the Quarterly Review Dialog: the quarter's income, and its
+     * claimable expenses by category, with the number of records behind each.
      *
      * @param quarter the quarter to aggregate data for
      * @return the aggregated review data
      */
     QuarterlyReviewData aggregateReviewData(Quarter quarter) {
         LOG.fine("Aggregating review data for " + quarter);
-
-        LocalDate periodStart = quarter.getStartDate(taxYear);
-        LocalDate periodEnd = quarter.getEndDate(taxYear);
-
-        // Get income data
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        int incomeTransactionCount = 0;
-        try {
-            totalIncome = incomeService.getTotalByQuarter(businessId, taxYear, quarter);
-            if (totalIncome == null) {
-                totalIncome = BigDecimal.ZERO;
-            }
-            incomeTransactionCount = incomeService.countByQuarter(businessId, taxYear, quarter);
-        } catch (Exception e) {
-            LOG.warning("Failed to get income data for " + quarter + ": " + e.getMessage());
-        }
-
-        // Get expense data grouped by category
-        Map<ExpenseCategory, CategorySummary> expensesByCategory = new EnumMap<>(ExpenseCategory.class);
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-        int expenseTransactionCount = 0;
-        try {
-            List<Expense> expenses = expenseService.findByQuarter(businessId, taxYear, quarter);
-
-            // The money comes from the shared derivation, so what is filed cannot differ from what
-            // the Tax Summary showed. Only the transaction counts are computed here, because they
-            // are a property of the records rather than of the totals.
-            ProfitTotals totals = ProfitTotals.of(List.of(), expenses);
-            Map<ExpenseCategory, Long> counts = expenses.stream()
-                    .filter(Expense::isAllowable)
-                    .collect(Collectors.groupingBy(Expense::category, Collectors.counting()));
-
-            for (Map.Entry<ExpenseCategory, CategorySpend> entry : totals.byCategory().entrySet()) {
-                // A category HMRC disallows is reported on the return but claimed for nothing, and
-                // the quarterly payload carries claims — so it contributes no line here.
-                if (!entry.getKey().isAllowable()) {
-                    continue;
-                }
-                BigDecimal categoryTotal = entry.getValue().claimable();
-                int categoryCount = counts.getOrDefault(entry.getKey(), 0L).intValue();
-                expensesByCategory.put(entry.getKey(), new CategorySummary(categoryTotal, categoryCount));
-                totalExpenses = totalExpenses.add(categoryTotal);
-                expenseTransactionCount += categoryCount;
-            }
-        } catch (Exception e) {
-            LOG.warning("Failed to get expense data for " + quarter + ": " + e.getMessage());
-        }
-
-        return QuarterlyReviewData.builder()
-                .quarter(quarter)
-                .taxYear(taxYear)
-                .periodStart(periodStart)
-                .periodEnd(periodEnd)
-                .totalIncome(totalIncome)
-                .incomeTransactionCount(incomeTransactionCount)
-                .expensesByCategory(expensesByCategory)
-                .totalExpenses(totalExpenses)
-                .expenseTransactionCount(expenseTransactionCount)
-                .build();
+        // Read from the ledger summary, the figures the submission itself is built from, so the
+        // quarter's records are not loaded and re-added to show them.
+        return quarterlySubmissionService.summariseQuarter(businessId, taxYear, quarter);
     }
 
     /**
@@ -12,8 +12,13 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.ui.component.AppDialog;
+import uk.selfemploy.ui.service.LedgerChangeEvents;
+import uk.selfemploy.ui.service.LedgerChangeListener;
 import uk.selfemploy.ui.service.ReconciliationCoordinator;
 import uk.selfemploy.ui.service.ReconciliationCoordinator.ReconciliationSummary;
 import uk.selfemploy.ui.viewmodel.*;
@@ -89,9 +94,14 @@ public class ReconciliationDashboardController implements Initializable, MainCon
         setupKeyboardNavigation();
     }
 
-    /** Sets the reconciliation data source; the run itself happens lazily via {@link #refresh()}. */
+    /**
+     * Sets the reconciliation data source; the run itself happens lazily via {@link #refresh()}.
+     * Single-record ledger changes are forwarded to it on the worker, so stored matches stay
+     * current between runs without blocking the edit.
+     */
     public void setCoordinator(ReconciliationCoordinator coordinator) {
         this.coordinator = coordinator;
+        forwardLedgerChanges(coordinator);
     }
 
     @Override
@@ -112,6 +122,62 @@ public class ReconciliationDashboardController implements Initializable, MainCon
         return t;
     });
 
+    // One forwarding listener at a time: a dashboard loaded again replaces the previous coordinator.
+    private static LedgerChangeListener ledgerListener;
+
+    private static synchronized void forwardLedgerChanges(ReconciliationCoordinator coordinator) {
+        if (ledgerListener != null) {
+            LedgerChangeEvents.unregister(ledgerListener);
+            ledgerListener = null;
+        }
+        if (coordinator == null) {
+            return;
+        }
+        ledgerListener = new LedgerChangeListener() {
+            @Override
+            public void incomeSaved(Income income) {
+                submit(() -> coordinator.onIncomeSaved(income));
+            }
+
+            @Override
+            public void incomeDeleted(UUID incomeId) {
+                submit(() -> coordinator.onIncomeDeleted(incomeId));
+            }
+
+            @Override
+            public void expenseSaved(Expense expense) {
+                submit(() -> coordinator.onExpenseSaved(expense));
+            }
+
+            @Override
+            public void expenseDeleted(UUID expenseId) {
+                submit(() -> coordinator.onExpenseDeleted(expenseId));
+            }
+
+            @Override
+            public void bankTransactionSaved(BankTransaction transaction) {
+                submit(() -> coordinator.onBankTransactionSaved(transaction));
+            }
+
+            @Override
+            public void bankTransactionDeleted(UUID transactionId) {
+                submit(() -> coordinator.onBankTransactionDeleted(transactionId));
+            }
+        };
+        LedgerChangeEvents.register(ledgerListener);
+    }
+
+    private static void submit(Runnable change) {
+        WORKER.submit(() -> {
+            try {
+                change.run();
+            } catch (Exception e) {
+                // The next full run on showing the tab brings the stored matches back in line.
+                LOG.warn("Incremental reconciliation failed: {}", e.toString());
+            }
+        });
+    }
+
     /** Runs reconciliation off the FX thread and applies the result back on it. */
     private void runReconciliation() {
         if (coordinator == null || taxYear == null) {
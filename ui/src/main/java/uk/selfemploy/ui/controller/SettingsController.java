@@ -38,6 +38,7 @@ import uk.selfemploy.core.service.TermsAcceptanceService;
 import uk.selfemploy.hmrc.oauth.dto.OAuthTokens;
 import uk.selfemploy.ui.service.security.AppLockService;
 import uk.selfemploy.ui.service.security.BackupEncryption;
+import uk.selfemploy.ui.service.security.WrongPassphraseException;
 import uk.selfemploy.ui.viewmodel.AutoLockViewModel;
 import uk.selfemploy.ui.viewmodel.HmrcConnectionWizardViewModel;
 import uk.selfemploy.ui.viewmodel.SecuritySettingsViewModel;
@@ -57,6 +58,7 @@ import uk.selfemploy.ui.service.HmrcConnectionService;
 import uk.selfemploy.ui.service.OAuthServiceFactory;
 import uk.selfemploy.ui.service.InstallType;
 import uk.selfemploy.ui.service.SqliteDataStore;
+import uk.selfemploy.ui.service.SqliteLedgerSummary;
 import uk.selfemploy.ui.service.UiDuplicateDetectionService;
 import uk.selfemploy.ui.service.UpdateCheckService;
 import uk.selfemploy.ui.viewmodel.ImportAction;
@@ -71,11 +73,16 @@ import javafx.scene.paint.Color;
 import org.kordamp.ikonli.javafx.FontIcon;
 import uk.selfemploy.ui.util.BrowserUtil;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.net.URL;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -153,6 +160,7 @@ public class SettingsController implements Initializable, MainController.TaxYear
     @FXML private Button saveNinoButton;
     @FXML private Button exportButton;
     @FXML private Button importButton;
+    @FXML private Button verifyLedgerButton;
     @FXML private Button termsButton;
     @FXML private Button privacyButton;
     @FXML private Button disclaimerButton;
@@ -1710,28 +1718,16 @@ public class SettingsController implements Initializable, MainController.TaxYear
                 Path filePath = file.toPath();
                 String fileName = file.getName().toLowerCase();
 
+                if (fileName.endsWith(".json")) {
+                    restoreJson(importService, businessId, filePath);
+                    return;
+                }
+
                 // Step 1: Parse and validate the file
                 List<Income> importedIncomes;
                 List<Expense> importedExpenses;
 
-                if (fileName.endsWith(".json")) {
-                    // An encrypted backup is unwrapped here; a plain export reads exactly as it always
-                    // did, so files written before backups could be encrypted still restore.
-                    byte[] json = readBackupJson(filePath);
-                    if (json == null) {
-                        return;     // could not be read, or the user closed the passphrase prompt
-                    }
-                    ImportPreview preview = importService.previewJsonImport(json);
-                    if (!preview.isValid() && preview.errors() != null && !preview.errors().isEmpty()) {
-                        int maxErrors = Math.min(5, preview.errors().size());
-                        showError("Import Validation Failed",
-                            "Found validation errors:\n" + String.join("\n", preview.errors().subList(0, maxErrors)));
-                        return;
-                    }
-                    var parsedData = importService.parseJson(json);
-                    importedIncomes = parsedData.incomes();
-                    importedExpenses = parsedData.expenses();
-                } else if (fileName.endsWith(".csv")) {
+                if (fileName.endsWith(".csv")) {
                     // For CSV, default to income (could add dialog to choose)
                     ImportPreview preview = importService.previewCsvImport(filePath, ImportType.INCOME);
                     if (!preview.isValid() && preview.errors() != null && !preview.errors().isEmpty()) {
@@ -1774,6 +1770,48 @@ public class SettingsController implements Initializable, MainController.TaxYear
         }
     }
 
+    /**
+     * Checks the pre-aggregated ledger totals against the records off the UI thread, rebuilding
+     * them if they disagree, and reports what was found. The totals feed the dashboard and the
+     * quarterly submission, so this is the way back when they have drifted from the records.
+     */
+    @FXML
+    void handleVerifyLedgerTotals(ActionEvent event) {
+        if (verifyLedgerButton != null) {
+            verifyLedgerButton.setDisable(true);
+        }
+        UUID businessId = CoreServiceFactory.getDefaultBusinessId();
+        Thread.startVirtualThread(() -> {
+            List<String> repaired = null;
+            Exception failure = null;
+            try {
+                repaired = new SqliteLedgerSummary().verifyAndRepair(businessId);
+            } catch (Exception e) {
+                LOG.log(Level.SEVERE, "Ledger totals check failed", e);
+                failure = e;
+            } finally {
+                List<String> finalRepaired = repaired;
+                Exception finalFailure = failure;
+                Platform.runLater(() -> completeLedgerCheck(finalRepaired, finalFailure));
+            }
+        });
+    }
+
+    private void completeLedgerCheck(List<String> repaired, Exception failure) {
+        if (verifyLedgerButton != null) {
+            verifyLedgerButton.setDisable(false);
+        }
+        if (repaired == null) {
+            showError("Verify Ledger Totals", "Could not check the ledger totals"
+                + (failure != null ? ": " + failure.getMessage() : "."));
+        } else if (repaired.isEmpty()) {
+            showInfo("Verify Ledger Totals", "Your income and expense totals match your records.");
+        } else {
+            showInfo("Verify Ledger Totals", String.format(
+                "%d total(s) did not match your records and have been recalculated.", repaired.size()));
+        }
+    }
+
     /**
      * Shows the Import Review dialog for user to review duplicate detection results.
      * BUG-10B-002: Integration fix - Settings import now uses Import Review UI.
@@ -1994,9 +2032,11 @@ public class SettingsController implements Initializable, MainController.TaxYear
     /**
      * Writes a JSON backup, encrypted if the user asks for it.
      *
-     * <p>The export is built in memory and encrypted before anything is written, so the plaintext never
-     * reaches the filesystem. Writing it first and encrypting afterwards would leave the very records
-     * being protected lying on disk, and the cleanup would be best-effort.
+     * <p>The export is streamed through the cipher as it is built, so the plaintext never reaches the
+     * filesystem and no more than one chunk of it is held at a time. Writing it first and encrypting
+     * afterwards would leave the very records being protected lying on disk, and the cleanup would be
+     * best-effort. The file is written beside the target and moved into place once complete, so a
+     * backup that fails part way leaves whatever was there before.
      *
      * @return the result, or null if the user closed the dialog without choosing
      */
@@ -2009,17 +2049,15 @@ public class SettingsController implements Initializable, MainController.TaxYear
         }
 
         char[] passphrase = choice.getPassphrase();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
         try {
-            DataExportService.JsonExport export =
-                    exportService.buildJsonExport(businessId, taxYears, ExportOptions.noFilter());
-            byte[] content = backupContent(choice.isEncrypting(), export.json(), passphrase);
-            Files.write(target, content);
-            if (choice.isEncrypting()) {
-                // The records only had to exist in the clear long enough to be encrypted. Best effort,
-                // as ever with the JVM, but consistent with how key material is treated elsewhere.
-                Arrays.fill(export.json(), (byte) 0);
+            DataExportService.JsonExportCounts counts;
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(partial));
+                 OutputStream out = backupStream(choice.isEncrypting(), file, passphrase)) {
+                counts = exportService.writeJsonExport(businessId, taxYears, ExportOptions.noFilter(), out);
             }
-            return ExportResult.success(target, export.incomeCount(), export.expenseCount());
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            return ExportResult.success(target, counts.incomeCount(), counts.expenseCount());
         } catch (IOException | RuntimeException e) {
             LOG.log(Level.SEVERE, "Failed to write the backup", e);
             return ExportResult.failure("Failed to export data: " + e.getMessage());
@@ -2027,58 +2065,120 @@ public class SettingsController implements Initializable, MainController.TaxYear
             if (passphrase != null) {
                 Arrays.fill(passphrase, '\0');
             }
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not remove an unfinished backup file", e);
+            }
         }
     }
 
     /**
-     * Reads a backup, decrypting it if it is one of ours.
+     * Restores a JSON export or backup as it is read, so a backup of many years is never held whole. The
+     * file is read once for the summary the user confirms, then again by the import, which reads it through
+     * before saving anything.
      *
      * <p>Whether a file is encrypted is read from the file rather than from its name, so a user who
-     * renamed it still gets the right treatment. Plaintext exports are returned untouched: files written
+     * renamed it still gets the right treatment. Plaintext exports are read as they are: files written
      * before backups could be encrypted have to keep restoring.
-     *
-     * @return the export's JSON, or null if it could not be read or the user closed the prompt
      */
-    private byte[] readBackupJson(Path filePath) {
-        byte[] fileBytes;
+    private void restoreJson(DataImportService importService, UUID businessId, Path filePath) {
+        char[] passphrase = null;
         try {
-            fileBytes = Files.readAllBytes(filePath);
+            DataImportService.JsonSource source;
+            switch (BackupEncryption.kindOf(filePath)) {
+                case DAMAGED -> {
+                    showError(Messages.get("backupUnlock.title"), Messages.get("backup.error.damaged"));
+                    return;
+                }
+                case ENCRYPTED -> {
+                    BackupUnlockController prompt = showSecurityDialog(
+                            "/fxml/backup-unlock.fxml", "backupUnlock.title", BackupUnlockController.class,
+                            controller -> controller.setEncryptedBackup(filePath));
+                    passphrase = prompt == null ? null : prompt.getPassphrase();
+                    if (passphrase == null) {
+                        return;     // the user closed the passphrase prompt
+                    }
+                    char[] unlocked = passphrase;
+                    source = () -> openDecrypted(filePath, unlocked);
+                }
+                default -> source = () -> new BufferedInputStream(Files.newInputStream(filePath));
+            }
+
+            ImportPreview preview;
+            try (InputStream in = source.open()) {
+                preview = importService.previewJsonImport(in);
+            }
+            if (!preview.isValid() && preview.errors() != null && !preview.errors().isEmpty()) {
+                int maxErrors = Math.min(5, preview.errors().size());
+                showError("Import Validation Failed",
+                    "Found validation errors:\n" + String.join("\n", preview.errors().subList(0, maxErrors)));
+                return;
+            }
+            if (preview.validRecordCount() == 0) {
+                showInfo("Import Empty", "No records found in the file to import.");
+                return;
+            }
+            if (!AppDialog.confirm("Import Data", String.format(
+                    "Import %d income and expense records from %s?", preview.validRecordCount(),
+                    filePath.getFileName()), "Import", "Cancel")) {
+                LOG.info("Import cancelled by user");
+                return;
+            }
+
+            ImportResult result = importService.importJson(businessId, source, ImportOptions.defaults());
+            LOG.info("Import completed: " + result.importedCount() + " imported, "
+                + result.skippedCount() + " skipped");
+            if (result.success()) {
+                showInfo("Import Successful",
+                    String.format("Import completed successfully.\nImported: %d\nSkipped: %d",
+                        result.importedCount(), result.skippedCount()));
+            } else {
+                showError("Import Failed", String.join("\n",
+                    result.errors().subList(0, Math.min(5, result.errors().size()))));
+            }
+        } catch (ImportException e) {
+            LOG.log(Level.WARNING, "Import validation failed", e);
+            showError("Import Error", e.getMessage());
         } catch (IOException e) {
             LOG.log(Level.SEVERE, "Could not read the backup file", e);
             showError("Import Error", "Failed to read file: " + e.getMessage());
-            return null;
-        }
-        if (!BackupEncryption.isEncrypted(fileBytes)) {
-            if (BackupEncryption.looksLikeDamagedBackup(fileBytes)) {
-                showError(Messages.get("backupUnlock.title"), Messages.get("backup.error.damaged"));
-                return null;
+        } finally {
+            if (passphrase != null) {
+                Arrays.fill(passphrase, '\0');
             }
-            return fileBytes;
         }
+    }
 
-        BackupUnlockController prompt = showSecurityDialog(
-                "/fxml/backup-unlock.fxml", "backupUnlock.title", BackupUnlockController.class,
-                controller -> controller.setEncryptedBackup(fileBytes));
-        return prompt == null ? null : prompt.getDecrypted();
+    /** Opens an encrypted backup with the passphrase the unlock screen has already checked. */
+    private static InputStream openDecrypted(Path filePath, char[] passphrase) throws IOException {
+        try {
+            return BackupEncryption.decryptingStream(filePath, passphrase);
+        } catch (WrongPassphraseException e) {
+            // It opened with this passphrase a moment ago, so the file has changed since
+            throw new IOException("The backup no longer opens with the passphrase given", e);
+        }
     }
 
     /**
-     * Turns the user's choice into the bytes that get written.
+     * Turns the user's choice into the stream the export is written through.
      *
      * <p>Small and package-private because it is the decision that actually matters: whether the file
      * leaving the app carries the records in the clear. Everything around it needs a JavaFX dialog, which
      * would put this behind a test the pipeline skips.
      *
+     * @param file       where the backup goes; closing the returned stream closes it
      * @param passphrase required when encrypting, ignored otherwise
      */
-    static byte[] backupContent(boolean encrypting, byte[] json, char[] passphrase) {
+    static OutputStream backupStream(boolean encrypting, OutputStream file, char[] passphrase)
+            throws IOException {
         if (!encrypting) {
-            return json;
+            return file;
         }
         if (passphrase == null || passphrase.length == 0) {
             throw new IllegalArgumentException("Cannot encrypt a backup without a passphrase");
         }
-        return BackupEncryption.encrypt(json, passphrase);
+        return BackupEncryption.encryptingStream(file, passphrase);
     }
 
     private Window getOwnerWindow() {
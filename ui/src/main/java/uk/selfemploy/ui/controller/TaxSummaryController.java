@@ -332,15 +332,18 @@ public class TaxSummaryController implements Initializable, MainController.TaxYe
         viewModel.clearExpenseBreakdown();
         viewModel.setTurnover(BigDecimal.ZERO);
 
-        var incomes = incomeService.findByTaxYear(businessId, taxYear);
-        var expenses = expenseService.findByTaxYear(businessId, taxYear);
-        hasData = !incomes.isEmpty() || !expenses.isEmpty();
-
-        // Derived in core, by the same code the quarterly submission uses, so the two cannot apply
-        // the claim rule differently. They still report different quantities from it — this screen
-        // shows what was spent in every category, the submission files what is claimed in the
-        // allowable ones — but those now differ by choice rather than by two loops drifting.
-        viewModel.setTotals(ProfitTotals.of(incomes, expenses));
+        // Aggregated by the services (grouped in SQL for the desktop store) rather than loaded
+        // record by record. The claim rule is still the one in core that the quarterly submission
+        // uses, so the two cannot apply it differently. They still report different quantities
+        // from it — this screen shows what was spent in every category, the submission files what
+        // is claimed in the allowable ones — but those differ by choice rather than by drift.
+        BigDecimal turnover = incomeService.getTotalByTaxYear(businessId, taxYear);
+        var byCategory = expenseService.getCategorySpend(businessId, taxYear);
+        ProfitTotals totals = ProfitTotals.fromCategories(turnover, byCategory);
+        // Income amounts are always positive, so a zero turnover means no income records
+        hasData = totals.turnover().signum() != 0 || !totals.byCategory().isEmpty();
+
+        viewModel.setTotals(totals);
 
         // Calculate tax with the loaded data
         viewModel.calculateTax();
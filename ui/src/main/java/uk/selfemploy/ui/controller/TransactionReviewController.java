@@ -29,6 +29,7 @@ import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ReviewStatus;
 import uk.selfemploy.ui.service.CoreServiceFactory;
 import uk.selfemploy.ui.service.SqliteBankTransactionService;
+import uk.selfemploy.ui.service.SqliteLedgerSearch;
 import uk.selfemploy.ui.viewmodel.TransactionReviewTableRow;
 import uk.selfemploy.ui.viewmodel.TransactionReviewViewModel;
 import uk.selfemploy.ui.i18n.Messages;
@@ -42,6 +43,9 @@ import java.net.URL;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -85,7 +89,8 @@ public class TransactionReviewController implements Initializable, MainControlle
     @FXML private Button batchExcludeBtn;
     @FXML private Label selectedCountLabel;
 
-    // Undo / Export
+    // Suggest / Undo / Export
+    @FXML private Button suggestBtn;
     @FXML private Button undoBtn;
     @FXML private MenuButton exportBtn;
 
@@ -112,6 +117,8 @@ public class TransactionReviewController implements Initializable, MainControlle
 
     private TransactionReviewViewModel viewModel;
     private TaxYear currentTaxYear;
+    /** Set while a suggestion run is in progress; the suggest button then cancels it. */
+    private AtomicBoolean suggestionCancel;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -121,6 +128,7 @@ public class TransactionReviewController implements Initializable, MainControlle
         setupAmountFields();
         setupTableColumns();
         setupKeyboardShortcuts();
+        applyLabelledControl(suggestBtn, "review.suggest.hint");
     }
 
     private void setupStatusFilter() {
@@ -243,9 +251,9 @@ public class TransactionReviewController implements Initializable, MainControlle
         dateCol.setCellValueFactory(cellData ->
             new SimpleStringProperty(cellData.getValue().getFormattedDate()));
 
-        // Description column
+        // Description column - while searching, the snippet that matched
         descCol.setCellValueFactory(cellData ->
-            new SimpleStringProperty(cellData.getValue().description()));
+            new SimpleStringProperty(viewModel.getDescriptionText(cellData.getValue())));
 
         // Amount column - colored by income/expense
         amountCol.setCellValueFactory(cellData ->
@@ -562,6 +570,63 @@ public class TransactionReviewController implements Initializable, MainControlle
     @FXML
     void handleUndo(ActionEvent event) { handleUndoAction(); }
 
+    /**
+     * Suggests categories for every pending transaction in scope. The work runs off the FX thread,
+     * reporting progress in the progress label; the table reloads when it finishes, and the whole
+     * run can be reverted with Undo. While it runs the button reads Cancel, and pressing it stops
+     * the run before anything is saved.
+     */
+    @FXML
+    void handleSuggestCategories(ActionEvent event) {
+        if (viewModel == null) return;
+        if (suggestionCancel != null) {
+            suggestionCancel.set(true);
+            suggestBtn.setDisable(true);
+            return;
+        }
+        AtomicBoolean cancel = new AtomicBoolean();
+        suggestionCancel = cancel;
+        suggestBtn.setText(Messages.get("review.suggest.cancel"));
+        try {
+            viewModel.suggestCategoriesForPending(
+                    (completed, total) -> {
+                        Platform.runLater(() ->
+                            progressLabel.setText("Suggesting categories: " + completed + " of " + total));
+                        return !cancel.get();
+                    },
+                    Thread::startVirtualThread)
+                .whenComplete((updated, error) -> Platform.runLater(() -> onSuggestionsDone(updated, error)));
+        } catch (DataStoreException e) {
+            onSuggestionsDone(null, e);
+        }
+    }
+
+    private void onSuggestionsDone(Integer updated, Throwable error) {
+        suggestionCancel = null;
+        suggestBtn.setText(Messages.get("review.suggest"));
+        suggestBtn.setDisable(false);
+        viewModel.loadTransactions();
+        updateTable();
+        progressLabel.setText(viewModel.getReviewedCount() + " of " + viewModel.getTotalCount() + " reviewed");
+        if (error == null) {
+            showInfo("Suggested categories for " + updated + " pending transactions.");
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            showInfo("Category suggestions cancelled. No transactions were changed.");
+            return;
+        }
+        LOG.log(Level.SEVERE, "Category suggestion failed", cause);
+        if (cause instanceof DataStoreException unavailable) {
+            showError("The suggestions could not be saved because the database is currently unavailable. "
+                + "Please try again.", unavailable);
+        } else {
+            AppDialog.error("Error", "Categories could not be suggested.\n\n" + cause.getMessage());
+        }
+    }
+
     @FXML
     void handleExportCsv(ActionEvent event) {
         FileChooser fileChooser = new FileChooser();
@@ -724,6 +789,8 @@ public class TransactionReviewController implements Initializable, MainControlle
         SqliteBankTransactionService service = CoreServiceFactory.getBankTransactionService();
         viewModel = new TransactionReviewViewModel(service);
         viewModel.setCommitService(CoreServiceFactory.getTransactionReviewCommitService());
+        viewModel.setCategorizationEngine(CoreServiceFactory.getCategorizationEngine());
+        viewModel.setLedgerSearch(new SqliteLedgerSearch());
         setupBindings();
         viewModel.loadTransactions();
         updateTable();
@@ -19,6 +19,8 @@ public interface BankTransactionRepository {
 
     void save(BankTransaction tx);
 
+    void saveAll(List<BankTransaction> transactions);
+
     Optional<BankTransaction> findById(UUID id);
 
     List<BankTransaction> findAll();
@@ -36,7 +38,14 @@ public interface BankTransactionRepository {
     void logModification(UUID bankTransactionId, String modificationType, String fieldName,
                          String previousValue, String newValue, String modifiedBy);
 
+    void logModifications(List<Modification> modifications);
+
     List<Map<String, String>> findModificationLogs(UUID bankTransactionId);
 
     UUID getBusinessId();
+
+    /** One entry for the transaction audit log, as recorded by {@link #logModifications}. */
+    record Modification(UUID bankTransactionId, String modificationType, String fieldName,
+                        String previousValue, String newValue, String modifiedBy) {
+    }
 }
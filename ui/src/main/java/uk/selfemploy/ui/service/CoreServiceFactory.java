@@ -1,5 +1,9 @@
 package uk.selfemploy.ui.service;
 
+import uk.selfemploy.core.bankimport.CategorizationEngine;
+import uk.selfemploy.core.bankimport.DescriptionCategorizer;
+import uk.selfemploy.core.bankimport.ExclusionRulesEngine;
+import uk.selfemploy.core.bankimport.TransactionClassificationService;
 import uk.selfemploy.core.export.DataExportService;
 import uk.selfemploy.core.export.DataImportService;
 import uk.selfemploy.core.service.ExpenseService;
@@ -36,6 +40,7 @@ public final class CoreServiceFactory {
     private static SqliteBankTransactionService bankTransactionService;
     private static ImportOrchestrationService importOrchestrationService;
     private static TransactionReviewCommitService transactionReviewCommitService;
+    private static CategorizationEngine categorizationEngine;
     private static UUID defaultBusinessId;
 
     private CoreServiceFactory() {
@@ -219,6 +224,23 @@ public final class CoreServiceFactory {
         return transactionReviewCommitService;
     }
 
+    /**
+     * Gets or creates the singleton CategorizationEngine instance, which suggests categories and
+     * exclusions for imported bank transactions.
+     *
+     * @return The CategorizationEngine instance
+     */
+    public static synchronized CategorizationEngine getCategorizationEngine() {
+        if (categorizationEngine == null) {
+            LOG.info("Creating CategorizationEngine");
+            categorizationEngine = new CategorizationEngine(
+                new TransactionClassificationService(new DescriptionCategorizer()),
+                new ExclusionRulesEngine()
+            );
+        }
+        return categorizationEngine;
+    }
+
     /**
      * Gets or creates the singleton UiQuarterlySubmissionService instance.
      * Configured with NINO from SQLite settings and the default business ID.
@@ -246,6 +268,16 @@ public final class CoreServiceFactory {
         return quarterlySubmissionService;
     }
 
+    /**
+     * Starts sending queued HMRC submissions in the background. Creating the quarterly submission
+     * service starts the app's {@link OutboundSubmissionQueue} and registers where its outcomes go,
+     * so updates queued before a restart are retried without waiting for the next submission.
+     * Call once the data store is open.
+     */
+    public static void startSubmissionQueue() {
+        getQuarterlySubmissionService();
+    }
+
     /**
      * Gets the default business ID for standalone mode.
      * The business ID is persisted to SQLite so it remains constant across app restarts.
@@ -313,6 +345,7 @@ public final class CoreServiceFactory {
         quarterlySubmissionService = null;
         bankTransactionService = null;
         importOrchestrationService = null;
+        categorizationEngine = null;
         defaultBusinessId = null;
         LOG.info("CoreServiceFactory shutdown - data persisted");
     }
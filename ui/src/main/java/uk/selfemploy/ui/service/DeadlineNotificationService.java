@@ -84,6 +84,18 @@ public class DeadlineNotificationService {
         }
     }
 
+    private void persistAll(Map<String, NotificationStateStore.PersistedState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        persistedState.putAll(states);
+        try {
+            stateStore.saveAll(states);
+        } catch (RuntimeException e) {
+            LOG.warning("Failed to persist notification state: " + e.getMessage());
+        }
+    }
+
     private DeadlineNotification applyPersistedState(DeadlineNotification notification) {
         NotificationStateStore.PersistedState state = persistedState.get(notification.stableKey());
         if (state == null) {
@@ -313,14 +325,17 @@ public class DeadlineNotificationService {
      * Marks all notifications as read.
      */
     public void markAllAsRead() {
+        Map<String, NotificationStateStore.PersistedState> changed = new LinkedHashMap<>();
         for (int i = 0; i < history.size(); i++) {
             DeadlineNotification notification = history.get(i);
             if (!notification.isRead()) {
                 DeadlineNotification updated = notification.markAsRead();
                 history.set(i, updated);
-                persist(updated);
+                changed.put(updated.stableKey(),
+                    new NotificationStateStore.PersistedState(updated.isRead(), updated.snoozeUntil()));
             }
         }
+        persistAll(changed);
         updateUnreadCount();
     }
 
@@ -3,9 +3,11 @@ package uk.selfemploy.ui.service;
 import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.core.profit.CategorySpend;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,6 +23,8 @@ public interface ExpenseRepository {
 
     Expense save(Expense expense);
 
+    void saveAll(List<Expense> expenses);
+
     Optional<Expense> findById(UUID id);
 
     List<Expense> findAll();
@@ -41,9 +45,37 @@ public interface ExpenseRepository {
 
     Map<ExpenseCategory, BigDecimal> getTotalsByCategoryForTaxYear(TaxYear taxYear);
 
+    /** What was spent and what may be claimed per category, grouped by the store. */
+    Map<ExpenseCategory, CategorySpend> getCategorySpendForDateRange(LocalDate startDate, LocalDate endDate);
+
+    /** Gross spend per calendar month, in month order, grouped by the store. */
+    Map<YearMonth, BigDecimal> getMonthlyTotalsForDateRange(LocalDate startDate, LocalDate endDate);
+
+    /** The {@code limit} most recent expenses in the range, newest first. */
+    List<Expense> findRecentInDateRange(LocalDate startDate, LocalDate endDate, int limit);
+
+    /**
+     * How many records the range holds, how many claim something and how many leave something
+     * unclaimed. An expense claimed in part is in both of the last two.
+     */
+    ClaimCounts countClaimsForDateRange(LocalDate startDate, LocalDate endDate);
+
+    /** The page of the range's matching records after {@code after} (null for the first page). */
+    LedgerPage<Expense> findPageInDateRange(LocalDate startDate, LocalDate endDate,
+                                            LedgerQuery<ExpenseCategory> query, LedgerQuery.Cursor after, int limit);
+
+    /** How many of the range's records match the query's search and filter. */
+    int countMatchingInDateRange(LocalDate startDate, LocalDate endDate, LedgerQuery<ExpenseCategory> query);
+
     boolean delete(UUID id);
 
     long count();
 
     UUID getBusinessId();
+
+    /** Record counts behind the expense list's summary cards. */
+    record ClaimCounts(int records, int claimed, int unclaimed) {
+
+        public static final ClaimCounts NONE = new ClaimCounts(0, 0, 0);
+    }
 }
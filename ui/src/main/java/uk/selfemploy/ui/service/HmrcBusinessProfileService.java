@@ -3,13 +3,11 @@ package uk.selfemploy.ui.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.hmrc.logging.HmrcPiiRedactor;
 
-import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.time.Clock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,13 +41,8 @@ public class HmrcBusinessProfileService {
     // HMRC's published businessId pattern (Business Details API v2): the second character may be
     // upper or lower case.
     private static final String BUSINESS_ID_PATTERN = "^X[a-zA-Z0-9]{1}IS[0-9]{11}$";
-    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(30);
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    /** Shared across instances so multiple controllers do not each spawn a connection pool. */
-    private static final HttpClient SHARED_CLIENT =
-            HttpClient.newBuilder().connectTimeout(HTTP_TIMEOUT).build();
-
     /**
      * The outcome of resolving the business profile, from the app's point of view.
      */
@@ -84,20 +77,31 @@ public class HmrcBusinessProfileService {
     public record Result(Outcome outcome, String businessId, String previousNino, boolean sandbox) {
     }
 
-    private final HttpClient httpClient;
+    private final HmrcOverviewService overviewService;
 
     public HmrcBusinessProfileService() {
-        this(SHARED_CLIENT);
+        this(HmrcOverviewService.getInstance());
     }
 
     HmrcBusinessProfileService(HttpClient httpClient) {
-        this.httpClient = httpClient;
+        this(new HmrcOverviewService(httpClient, () -> {
+            throw new IllegalStateException("The business profile is fetched with the connection's own token");
+        }, Clock.systemUTC()));
+    }
+
+    private HmrcBusinessProfileService(HmrcOverviewService overviewService) {
+        this.overviewService = overviewService;
     }
 
     /**
      * Fetches the business profile from HMRC and persists the result per the class policy.
      * Blocking; call from a background thread.
      *
+     * <p>The profile comes from a fresh {@link HmrcOverviewService} fetch for the current tax year,
+     * which asks for the individual details and obligations alongside the business details, so the
+     * quarterly and annual screens opened after connecting find them already held. Only the business
+     * details call decides the outcome: the other two failing does not stop it being persisted.</p>
+     *
      * @param nino        the NINO the user is connecting with
      * @param accessToken the OAuth access token for the session
      * @return the outcome and the details needed to present it
@@ -105,24 +109,16 @@ public class HmrcBusinessProfileService {
     public Result fetchAndPersist(String nino, String accessToken) {
         String apiBaseUrl = System.getProperty("HMRC_API_BASE_URL", DEFAULT_API_BASE_URL);
         boolean sandbox = isSandbox(apiBaseUrl);
-        // Business Details API v2 — List All Businesses. Returns the customer's MTD businesses; the
-        // businessId of the self-employment one is what every other MTD ITSA API refers to.
-        String url = apiBaseUrl + "/individuals/business/details/" + nino + "/list";
-        LOG.info("Fetching business details from: " + HmrcPiiRedactor.redact(url));
+        LOG.info("Fetching business details from: "
+                + HmrcPiiRedactor.redact(apiBaseUrl + "/individuals/business/details/" + nino + "/list"));
 
         try {
-            HttpRequest.Builder builder = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(HTTP_TIMEOUT)
-                    .header("Authorization", "Bearer " + accessToken)
-                    .header("Accept", "application/vnd.hmrc.2.0+json")
-                    .GET();
-            HmrcFraudHeaders.apply(builder);
-            HttpRequest request = builder.build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            LOG.info("Business details response: " + response.statusCode());
-            return applyResponse(response.statusCode(), response.body(), nino, sandbox);
+            // Business Details API v2 — List All Businesses. Returns the customer's MTD businesses; the
+            // businessId of the self-employment one is what every other MTD ITSA API refers to.
+            HmrcOverviewService.Answer response =
+                    overviewService.refresh(nino, TaxYear.current(), accessToken).businessDetails();
+            LOG.info("Business details response: " + response.status());
+            return applyResponse(response.status(), response.body(), nino, sandbox);
         } catch (Exception e) {
             LOG.log(Level.WARNING, "Failed to fetch business profile", e);
             return persistPending(nino, sandbox);
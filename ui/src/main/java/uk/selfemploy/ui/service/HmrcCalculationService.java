@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.hmrc.client.HmrcTransport;
 import uk.selfemploy.hmrc.client.dto.CalculationResponse;
 import uk.selfemploy.hmrc.client.dto.TriggerCalculationRequest;
 import uk.selfemploy.hmrc.client.dto.TriggerCalculationResponse;
@@ -15,7 +16,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -35,9 +35,8 @@ public final class HmrcCalculationService {
     private static final String DEFAULT_BASE_URL = "https://test-api.service.hmrc.gov.uk";
     /** Individual Calculations API version (v5/6/7 retired in production 2026-03-24). */
     static final String ACCEPT_HEADER = "application/vnd.hmrc.8.0+json";
-    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
 
-    private final HttpClient httpClient;
+    private final HmrcTransport transport;
     private final HmrcOAuthService oauthService;
     private final ObjectMapper objectMapper;
 
@@ -45,12 +44,15 @@ public final class HmrcCalculationService {
     private long pollDelayMillis = 2000;
 
     public HmrcCalculationService() {
-        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build(),
-             OAuthServiceFactory.getOAuthService());
+        this(HmrcTransport.shared(), OAuthServiceFactory.getOAuthService());
     }
 
     HmrcCalculationService(HttpClient httpClient, HmrcOAuthService oauthService) {
-        this.httpClient = httpClient;
+        this(new HmrcTransport(httpClient), oauthService);
+    }
+
+    private HmrcCalculationService(HmrcTransport transport, HmrcOAuthService oauthService) {
+        this.transport = transport;
         this.oauthService = oauthService;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
@@ -135,13 +137,11 @@ public final class HmrcCalculationService {
 
         HttpResponse<String> response = send(HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .timeout(REQUEST_TIMEOUT)
             .header("Content-Type", "application/json"), token, "POST", body);
 
         if (response.statusCode() == 401) {
             response = send(HttpRequest.newBuilder()
                 .uri(URI.create(url))
-                .timeout(REQUEST_TIMEOUT)
                 .header("Content-Type", "application/json"),
                 bearerToken(true), "POST", body);
         }
@@ -188,13 +188,11 @@ public final class HmrcCalculationService {
         String url = buildRetrieveUrl(baseUrl(), nino, taxYear, calculationId);
 
         HttpResponse<String> response = send(HttpRequest.newBuilder()
-            .uri(URI.create(url))
-            .timeout(REQUEST_TIMEOUT), token, "GET", null);
+            .uri(URI.create(url)), token, "GET", null);
 
         if (response.statusCode() == 401) {
             response = send(HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(REQUEST_TIMEOUT), bearerToken(true), "GET", null);
+                .uri(URI.create(url)), bearerToken(true), "GET", null);
         }
 
         int status = response.statusCode();
@@ -225,7 +223,7 @@ public final class HmrcCalculationService {
             builder.GET();
         }
         try {
-            return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            return transport.send(HmrcTransport.Endpoint.CALCULATION, builder);
         } catch (java.net.http.HttpTimeoutException e) {
             throw new CalcException(CalculationOutcome.Reason.TIMEOUT,
                 "The request to HMRC timed out. Please try again.", 0);
@@ -1,5 +1,6 @@
 package uk.selfemploy.ui.service;
 
+import uk.selfemploy.hmrc.client.HmrcTransport;
 import uk.selfemploy.hmrc.config.HmrcHosts;
 
 import java.io.IOException;
@@ -9,7 +10,6 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.List;
 
 /**
@@ -31,26 +31,21 @@ import java.util.List;
  */
 public final class HmrcConnectionSelfTest {
 
-    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
-
     private static final String SANDBOX_BASE = "https://test-api.service.hmrc.gov.uk";
     private static final String PRODUCTION_BASE = "https://api.service.hmrc.gov.uk";
 
-    /**
-     * Shared across self-tests so repeated saves don't each leak an {@link HttpClient} (every
-     * instance owns a selector thread that lives until GC).
-     */
-    private static final HttpClient SHARED_CLIENT =
-        HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
-
-    private final HttpClient httpClient;
+    private final HmrcTransport transport;
 
     public HmrcConnectionSelfTest() {
-        this(SHARED_CLIENT);
+        this(HmrcTransport.shared());
     }
 
     HmrcConnectionSelfTest(HttpClient httpClient) {
-        this.httpClient = httpClient;
+        this(new HmrcTransport(httpClient));
+    }
+
+    private HmrcConnectionSelfTest(HmrcTransport transport) {
+        this.transport = transport;
     }
 
     /** Whether a URL is one the self-test may contact. Delegates to the shared HMRC allowlist. */
@@ -124,13 +119,11 @@ public final class HmrcConnectionSelfTest {
             return new Check("HMRC reachable", CheckStatus.FAIL,
                 "The configured HMRC address is not an official HMRC host; refusing to connect.");
         }
-        HttpRequest request = HttpRequest.newBuilder(uri)
-            .timeout(REQUEST_TIMEOUT)
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
             .header("Accept", "application/vnd.hmrc.1.0+json")
-            .GET()
-            .build();
+            .GET();
         try {
-            httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            transport.send(HmrcTransport.Endpoint.CONNECTION_TEST, request);
             return new Check("HMRC reachable", CheckStatus.PASS, "Reached HMRC's service.");
         } catch (IOException e) {
             return new Check("HMRC reachable", CheckStatus.FAIL,
@@ -150,14 +143,12 @@ public final class HmrcConnectionSelfTest {
         String body = "grant_type=client_credentials"
             + "&client_id=" + enc(clientId)
             + "&client_secret=" + enc(clientSecret);
-        HttpRequest request = HttpRequest.newBuilder(uri)
-            .timeout(REQUEST_TIMEOUT)
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
             .header("Content-Type", "application/x-www-form-urlencoded")
             .header("Accept", "application/vnd.hmrc.1.0+json")
-            .POST(HttpRequest.BodyPublishers.ofString(body))
-            .build();
+            .POST(HttpRequest.BodyPublishers.ofString(body));
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = transport.send(HmrcTransport.Endpoint.CONNECTION_TEST, request);
             return roundtripResult(response.statusCode());
         } catch (IOException e) {
             return new Check("OAuth round-trip", CheckStatus.FAIL,
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.hmrc.client.HmrcTransport;
 import uk.selfemploy.hmrc.client.dto.FinalDeclarationRequest;
 import uk.selfemploy.hmrc.oauth.HmrcOAuthService;
 import uk.selfemploy.hmrc.oauth.dto.OAuthTokens;
@@ -13,7 +14,6 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -35,19 +35,21 @@ public final class HmrcFinalDeclarationService {
     private static final Logger LOG = Logger.getLogger(HmrcFinalDeclarationService.class.getName());
     private static final String DEFAULT_BASE_URL = "https://test-api.service.hmrc.gov.uk";
     static final String ACCEPT_HEADER = "application/vnd.hmrc.8.0+json";
-    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
 
-    private final HttpClient httpClient;
+    private final HmrcTransport transport;
     private final HmrcOAuthService oauthService;
     private final ObjectMapper objectMapper;
 
     public HmrcFinalDeclarationService() {
-        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build(),
-             OAuthServiceFactory.getOAuthService());
+        this(HmrcTransport.shared(), OAuthServiceFactory.getOAuthService());
     }
 
     HmrcFinalDeclarationService(HttpClient httpClient, HmrcOAuthService oauthService) {
-        this.httpClient = httpClient;
+        this(new HmrcTransport(httpClient), oauthService);
+    }
+
+    private HmrcFinalDeclarationService(HmrcTransport transport, HmrcOAuthService oauthService) {
+        this.transport = transport;
         this.oauthService = oauthService;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
@@ -154,14 +156,13 @@ public final class HmrcFinalDeclarationService {
     private HttpResponse<String> send(String url, String token, String body) {
         HttpRequest.Builder builder = HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .timeout(REQUEST_TIMEOUT)
             .header("Authorization", "Bearer " + token)
             .header("Accept", ACCEPT_HEADER)
             .header("Content-Type", "application/json");
         addFraudPreventionHeaders(builder);
         builder.POST(HttpRequest.BodyPublishers.ofString(body == null ? "" : body));
         try {
-            return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            return transport.send(HmrcTransport.Endpoint.FINAL_DECLARATION, builder);
         } catch (java.net.http.HttpTimeoutException e) {
             throw new DeclarationException(DeclarationOutcome.Reason.TIMEOUT,
                 "The request to HMRC timed out. Please try again.", 0);
@@ -21,6 +21,10 @@ import java.util.logging.Logger;
  * runtime clients send the same complete, spec-correct headers (device id, MAC
  * addresses, local IPs and their timestamp, DST-aware timezone, user agent, …)
  * rather than a hand-rolled subset.
+ *
+ * <p>The headers come from the service's cached snapshot, so a request does not
+ * re-enumerate the network interfaces; the snapshot refreshes itself in the
+ * background.</p>
  */
 final class HmrcFraudHeaders {
 
@@ -50,7 +54,7 @@ final class HmrcFraudHeaders {
     static void apply(HttpRequest.Builder builder) {
         Map<String, String> headers;
         try {
-            headers = service().generateHeaders();
+            headers = service().currentHeaders();
         } catch (RuntimeException e) {
             LOG.log(Level.SEVERE, "Could not assemble mandatory HMRC fraud-prevention headers", e);
             throw new IllegalStateException(
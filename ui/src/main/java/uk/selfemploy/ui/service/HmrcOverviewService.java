@@ -0,0 +1,322 @@
+package uk.selfemploy.ui.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import uk.selfemploy.common.domain.Quarter;
+import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.hmrc.client.HmrcOverviewCache;
+import uk.selfemploy.hmrc.client.HmrcOverviewCache.Leg;
+import uk.selfemploy.hmrc.client.HmrcTransport;
+import uk.selfemploy.hmrc.client.dto.ObligationsResponse;
+import uk.selfemploy.hmrc.client.dto.ObligationsResponse.ObligationDetail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Fetches what the HMRC connection, quarterly updates and annual submission screens need to know
+ * about a taxpayer and tax year — their individual details, their income sources and their
+ * obligations — and shares the answers between those screens.
+ *
+ * <p>The fan-out and the cache are {@link HmrcOverviewCache}'s, shared with the server; this class
+ * makes the three calls over the shared {@link HmrcTransport} and keeps HMRC's answer to each as it
+ * came, status and body, so each screen decides for itself what a 404 or a 403 means. The calls
+ * stand alone: one that gets no answer at all throws only when its own answer is asked for, so an
+ * obligations outage does not hide business details that came back fine.</p>
+ *
+ * <p>Overviews holding an answer worth asking again for — a server error, a rate limit, a refused
+ * token, or no answer — are not kept. Blocking; call from a background thread.</p>
+ */
+public final class HmrcOverviewService {
+
+    private static final Logger LOG = Logger.getLogger(HmrcOverviewService.class.getName());
+
+    private static final String DEFAULT_API_BASE_URL = "https://test-api.service.hmrc.gov.uk";
+
+    /** How long a fetched overview is reused before HMRC is asked again. */
+    static final Duration TIME_TO_LIVE = HmrcOverviewCache.TIME_TO_LIVE;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static HmrcOverviewService instance;
+
+    /**
+     * HMRC's answer to one call.
+     *
+     * @param status the HTTP status
+     * @param body   the response body, possibly empty
+     */
+    public record Answer(int status, String body) {
+
+        /** Whether HMRC answered with a 2xx status. */
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        /** Whether asking again soon could get a different answer. */
+        boolean worthRetrying() {
+            return status >= 500 || status == 401 || status == 429;
+        }
+    }
+
+    /**
+     * What HMRC holds for a taxpayer and tax year: Self Assessment Individual Details (the
+     * taxpayer's ITSA status), Business Details (their income sources) and Obligations (income and
+     * expenditure) for the tax year.
+     */
+    public static final class HmrcOverview {
+
+        private final Leg<Answer> individualDetails;
+        private final Leg<Answer> businessDetails;
+        private final Leg<Answer> obligations;
+        private final Instant fetchedAt;
+
+        HmrcOverview(Leg<Answer> individualDetails, Leg<Answer> businessDetails, Leg<Answer> obligations,
+                     Instant fetchedAt) {
+            this.individualDetails = individualDetails;
+            this.businessDetails = businessDetails;
+            this.obligations = obligations;
+            this.fetchedAt = fetchedAt;
+        }
+
+        /**
+         * HMRC's answer to the individual details call.
+         *
+         * @throws UncheckedIOException if the call got no answer
+         */
+        public Answer individualDetails() {
+            return answer(individualDetails);
+        }
+
+        /**
+         * HMRC's answer to the business details call.
+         *
+         * @throws UncheckedIOException if the call got no answer
+         */
+        public Answer businessDetails() {
+            return answer(businessDetails);
+        }
+
+        /**
+         * HMRC's answer to the obligations call.
+         *
+         * @throws UncheckedIOException if the call got no answer
+         */
+        public Answer obligations() {
+            return answer(obligations);
+        }
+
+        /** When HMRC answered. */
+        public Instant fetchedAt() {
+            return fetchedAt;
+        }
+
+        /**
+         * The obligations HMRC returned, or empty when it did not answer with a 2xx or the body is unreadable.
+         *
+         * @throws UncheckedIOException if the obligations call got no answer
+         */
+        public Optional<ObligationsResponse> parsedObligations() {
+            Answer answer = obligations();
+            if (!answer.ok() || answer.body() == null || answer.body().isBlank()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(MAPPER.readValue(answer.body(), ObligationsResponse.class));
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Could not read HMRC obligations", e);
+                return Optional.empty();
+            }
+        }
+        /** The obligation periods HMRC has not yet received an update for. */
+        public List<ObligationDetail> openObligations() {
+            return details().filter(ObligationDetail::isOpen).toList();
+        }
+
+        /** The quarters of the tax year whose obligation HMRC reports as received. */
+        public Set<Quarter> quartersReceived(TaxYear taxYear) {
+            Set<Quarter> received = EnumSet.noneOf(Quarter.class);
+            details().filter(ObligationDetail::isFulfilled).forEach(detail -> {
+                Quarter quarter = quarterStarting(detail.periodStartDate(), taxYear);
+                if (quarter != null) {
+                    received.add(quarter);
+                }
+            });
+            return received;
+        }
+
+        private Stream<ObligationDetail> details() {
+            return parsedObligations().stream()
+                    .flatMap(response -> response.obligationsOrEmpty().stream())
+                    .filter(group -> group.obligationDetails() != null)
+                    .flatMap(group -> group.obligationDetails().stream());
+        }
+
+        // A taxpayer who elected calendar quarters has periods starting on the 1st, up to five days
+        // before the standard quarter starts on the 6th, so either start date matches the quarter.
+        private static Quarter quarterStarting(LocalDate periodStart, TaxYear taxYear) {
+            if (periodStart == null) {
+                return null;
+            }
+            for (Quarter quarter : Quarter.values()) {
+                LocalDate start = quarter.getStartDate(taxYear);
+                if (!periodStart.isBefore(start.minusDays(5)) && !periodStart.isAfter(start)) {
+                    return quarter;
+                }
+            }
+            return null;
+        }
+
+        boolean worthKeeping() {
+            return Stream.of(individualDetails, businessDetails, obligations)
+                    .allMatch(leg -> leg.answered() && !leg.answer().worthRetrying());
+        }
+
+        private static Answer answer(Leg<Answer> leg) {
+            if (!leg.answered()) {
+                throw noAnswer(leg.failure());
+            }
+            return leg.answer();
+        }
+    }
+
+    /** Sends the three calls over the transport and keeps each answer as it came. */
+    private static final class TransportSource implements HmrcOverviewCache.Source<Answer, Answer, Answer, HmrcOverview> {
+
+        private final HmrcTransport transport;
+
+        private TransportSource(HmrcTransport transport) {
+            this.transport = transport;
+        }
+
+        @Override
+        public CompletableFuture<Answer> individualDetails(String nino, String accessToken) {
+            return send(HmrcTransport.Endpoint.INDIVIDUAL_DETAILS, "/individuals/details/" + nino,
+                    "application/vnd.hmrc.2.0+json", accessToken);
+        }
+
+        @Override
+        public CompletableFuture<Answer> businessDetails(String nino, String accessToken) {
+            return send(HmrcTransport.Endpoint.BUSINESS_DETAILS, "/individuals/business/details/" + nino + "/list",
+                    "application/vnd.hmrc.2.0+json", accessToken);
+        }
+
+        @Override
+        public CompletableFuture<Answer> obligations(String nino, TaxYear taxYear, String accessToken) {
+            return send(HmrcTransport.Endpoint.OBLIGATIONS, "/obligations/details/" + nino
+                            + "/income-and-expenditure?from=" + taxYear.startDate() + "&to=" + taxYear.endDate(),
+                    "application/vnd.hmrc.3.0+json", accessToken);
+        }
+
+        @Override
+        public HmrcOverview assemble(Leg<Answer> individualDetails, Leg<Answer> businessDetails,
+                                     Leg<Answer> obligations, Instant fetchedAt) {
+            return new HmrcOverview(individualDetails, businessDetails, obligations, fetchedAt);
+        }
+
+        @Override
+        public boolean worthKeeping(HmrcOverview overview) {
+            return overview.worthKeeping();
+        }
+
+        @Override
+        public RuntimeException noAnswer(Throwable cause) {
+            return HmrcOverviewService.noAnswer(cause);
+        }
+
+        private CompletableFuture<Answer> send(HmrcTransport.Endpoint endpoint, String path, String accept,
+                                               String accessToken) {
+            String apiBaseUrl = System.getProperty("HMRC_API_BASE_URL", DEFAULT_API_BASE_URL);
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .uri(URI.create(apiBaseUrl + path))
+                    .header("Authorization", "Bearer " + accessToken)
+                    .header("Accept", accept)
+                    .GET();
+            HmrcFraudHeaders.apply(builder);
+            return transport.sendAsync(endpoint, builder)
+                    .thenApply((HttpResponse<String> response) -> new Answer(response.statusCode(), response.body()));
+        }
+    }
+
+    private final HmrcOverviewCache<Answer, Answer, Answer, HmrcOverview> cache;
+
+    private HmrcOverviewService() {
+        this(HmrcTransport.shared(), () -> UiQuarterlySubmissionService.bearerToken(false), Clock.systemUTC());
+    }
+
+    HmrcOverviewService(HttpClient httpClient, Supplier<String> tokenSource, Clock clock) {
+        this(new HmrcTransport(httpClient), tokenSource, clock);
+    }
+
+    private HmrcOverviewService(HmrcTransport transport, Supplier<String> tokenSource, Clock clock) {
+        this.cache = new HmrcOverviewCache<>(new TransportSource(transport), tokenSource,
+                HmrcOverviewCache.Legs.INDEPENDENT, clock);
+    }
+
+    /** The application-wide service, whose cache every screen shares. */
+    public static synchronized HmrcOverviewService getInstance() {
+        if (instance == null) {
+            instance = new HmrcOverviewService();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the overview for a taxpayer and tax year, from the cache when a recent one is held,
+     * otherwise fetched with the connected session's token.
+     *
+     * @throws IllegalArgumentException if the NINO or tax year is missing
+     * @throws UncheckedIOException     if no call got an answer
+     * @throws RuntimeException         if no token could be obtained
+     */
+    public HmrcOverview overview(String nino, TaxYear taxYear) {
+        return cache.overview(nino, taxYear);
+    }
+
+    /**
+     * Fetches the overview afresh with the given token and keeps it for the other screens. Used when
+     * a connection is made, since the answers held for an earlier session may no longer hold.
+     *
+     * @throws IllegalArgumentException if the NINO or tax year is missing
+     * @throws UncheckedIOException     if no call got an answer
+     */
+    public HmrcOverview refresh(String nino, TaxYear taxYear, String accessToken) {
+        return cache.refresh(nino, taxYear, accessToken);
+    }
+
+    /** Drops every overview held for a tax year, so the next request asks HMRC. */
+    public void invalidate(TaxYear taxYear) {
+        cache.invalidate(taxYear);
+    }
+
+    private static RuntimeException noAnswer(Throwable cause) {
+        if (cause instanceof IOException io) {
+            return new UncheckedIOException("Failed to fetch HMRC overview: " + io.getMessage(), io);
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException("Failed to fetch HMRC overview: " + cause.getMessage(), cause);
+    }
+}
@@ -289,11 +289,11 @@ public class ImportOrchestrationService {
 
         UUID batchId = UUID.randomUUID();
         Instant now = Instant.now();
-        int staged = 0;
         int skipped = 0;
         int errors = 0;
         int total = transactions.size();
         List<UUID> stagedIds = new ArrayList<>();
+        List<BankTransaction> toStage = new ArrayList<>();
 
         // How many rows in this statement have already used each key. A statement can legitimately
         // contain the same payment twice — two identical coffees on one day — and those rows are
@@ -321,9 +321,7 @@ public class ImportOrchestrationService {
                     if (row.type() == TransactionType.EXPENSE) {
                         tx = applyExpenseSuggestion(tx, row, now);
                     }
-                    bankTransactionService.save(tx);
-                    stagedIds.add(tx.id());
-                    staged++;
+                    toStage.add(tx);
                 }
             } catch (Exception e) {
                 LOG.warn("Failed to stage transaction: {}", row.description(), e);
@@ -336,6 +334,9 @@ public class ImportOrchestrationService {
             }
         }
 
+        errors += stage(toStage, stagedIds);
+        int staged = stagedIds.size();
+
         LOG.info("Import staged: {} new, {} duplicate(s) skipped, {} error(s) out of {} total",
                 staged, skipped, errors, total);
 
@@ -356,6 +357,33 @@ public class ImportOrchestrationService {
         return new ImportResult(staged, errors, skipped, batchId);
     }
 
+    /**
+     * Saves the staged transactions as one batched write. If the batch fails, falls back to saving
+     * them one at a time, so a single bad row counts as an error instead of losing the whole import.
+     *
+     * @return the number of transactions that could not be saved
+     */
+    private int stage(List<BankTransaction> toStage, List<UUID> stagedIds) {
+        try {
+            bankTransactionService.saveAll(toStage);
+            toStage.forEach(tx -> stagedIds.add(tx.id()));
+            return 0;
+        } catch (RuntimeException e) {
+            LOG.warn("Batched staging failed; saving {} transaction(s) one at a time", toStage.size(), e);
+        }
+        int errors = 0;
+        for (BankTransaction tx : toStage) {
+            try {
+                bankTransactionService.save(tx);
+                stagedIds.add(tx.id());
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to stage transaction: {}", tx.description(), e);
+                errors++;
+            }
+        }
+        return errors;
+    }
+
     /**
      * The stored key for the {@code occurrence}-th row in a statement carrying {@code baseKey}.
      *
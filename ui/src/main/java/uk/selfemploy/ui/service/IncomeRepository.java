@@ -3,10 +3,13 @@ package uk.selfemploy.ui.service;
 import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.IncomeCategory;
+import uk.selfemploy.common.enums.IncomeStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +23,8 @@ public interface IncomeRepository {
 
     Income save(Income income);
 
+    void saveAll(List<Income> incomes);
+
     Optional<Income> findById(UUID id);
 
     List<Income> findAll();
@@ -34,6 +39,22 @@ public interface IncomeRepository {
 
     BigDecimal getTotalForDateRange(LocalDate startDate, LocalDate endDate);
 
+    /** Income per calendar month, in month order, grouped by the store. */
+    Map<YearMonth, BigDecimal> getMonthlyTotalsForDateRange(LocalDate startDate, LocalDate endDate);
+
+    /** The {@code limit} most recent incomes in the range, newest first. */
+    List<Income> findRecentInDateRange(LocalDate startDate, LocalDate endDate, int limit);
+
+    /** Count and amount per payment status; a record with no stored status counts as paid. */
+    Map<IncomeStatus, SqliteLedgerSummary.Line> getStatusTotalsForDateRange(LocalDate startDate, LocalDate endDate);
+
+    /** The page of the range's matching records after {@code after} (null for the first page). */
+    LedgerPage<Income> findPageInDateRange(LocalDate startDate, LocalDate endDate,
+                                           LedgerQuery<IncomeStatus> query, LedgerQuery.Cursor after, int limit);
+
+    /** How many of the range's records match the query's search and filter. */
+    int countMatchingInDateRange(LocalDate startDate, LocalDate endDate, LedgerQuery<IncomeStatus> query);
+
     boolean delete(UUID id);
 
     long count();
@@ -0,0 +1,76 @@
+package uk.selfemploy.ui.service;
+
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes single-record ledger changes from the SQLite services to registered
+ * {@link LedgerChangeListener}s.
+ *
+ * <p>The services are constructed wherever they are needed, so listeners are held here
+ * rather than on each instance. A failing listener is logged and does not fail the write
+ * that has already been committed.</p>
+ */
+public final class LedgerChangeEvents {
+
+    private static final Logger LOG = Logger.getLogger(LedgerChangeEvents.class.getName());
+
+    private static final List<LedgerChangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private LedgerChangeEvents() {
+        // Static publisher
+    }
+
+    public static void register(LedgerChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        LISTENERS.add(listener);
+    }
+
+    public static void unregister(LedgerChangeListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    static void incomeSaved(Income income) {
+        publish(listener -> listener.incomeSaved(income));
+    }
+
+    static void incomeDeleted(UUID incomeId) {
+        publish(listener -> listener.incomeDeleted(incomeId));
+    }
+
+    static void expenseSaved(Expense expense) {
+        publish(listener -> listener.expenseSaved(expense));
+    }
+
+    static void expenseDeleted(UUID expenseId) {
+        publish(listener -> listener.expenseDeleted(expenseId));
+    }
+
+    static void bankTransactionSaved(BankTransaction transaction) {
+        publish(listener -> listener.bankTransactionSaved(transaction));
+    }
+
+    static void bankTransactionDeleted(UUID transactionId) {
+        publish(listener -> listener.bankTransactionDeleted(transactionId));
+    }
+
+    private static void publish(Consumer<LedgerChangeListener> event) {
+        for (LedgerChangeListener listener : LISTENERS) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Ledger change listener failed", e);
+            }
+        }
+    }
+}
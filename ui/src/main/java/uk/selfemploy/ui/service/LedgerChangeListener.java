@@ -0,0 +1,34 @@
+package uk.selfemploy.ui.service;
+
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+
+import java.util.UUID;
+
+/**
+ * Receives single-record changes to the income, expense and bank-transaction stores, after
+ * they are written. Registered through {@link LedgerChangeEvents}.
+ *
+ * <p>Callbacks run on the writing thread; a listener with real work to do hands it off.</p>
+ */
+public interface LedgerChangeListener {
+
+    default void incomeSaved(Income income) {
+    }
+
+    default void incomeDeleted(UUID incomeId) {
+    }
+
+    default void expenseSaved(Expense expense) {
+    }
+
+    default void expenseDeleted(UUID expenseId) {
+    }
+
+    default void bankTransactionSaved(BankTransaction transaction) {
+    }
+
+    default void bankTransactionDeleted(UUID transactionId) {
+    }
+}
@@ -0,0 +1,64 @@
+package uk.selfemploy.ui.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One page of an income or expense list, and where the next page starts.
+ *
+ * @param items the rows on this page, in order
+ * @param next  the cursor to pass for the following page, or null if this is the last
+ * @param <T>   the row type
+ */
+public record LedgerPage<T>(List<T> items, LedgerQuery.Cursor next) {
+
+    private static final Logger LOG = Logger.getLogger(LedgerPage.class.getName());
+
+    public LedgerPage {
+        items = List.copyOf(items);
+    }
+
+    public static <T> LedgerPage<T> empty() {
+        return new LedgerPage<>(List.of(), null);
+    }
+
+    public boolean hasMore() {
+        return next != null;
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Reads a page from a query that asked for {@code limit + 1} rows and selected {@code id} and
+     * {@code sort_key}. The extra row only says whether another page follows. A row that cannot be
+     * mapped is skipped, but the cursor still moves past it so the next page does not return it.
+     */
+    static <T> LedgerPage<T> read(ResultSet rs, int limit, RowMapper<T> mapper) throws SQLException {
+        List<T> items = new ArrayList<>(limit);
+        LedgerQuery.Cursor last = null;
+        LedgerQuery.Cursor next = null;
+        int seen = 0;
+        while (rs.next()) {
+            if (seen == limit) {
+                next = last;
+                break;
+            }
+            seen++;
+            last = new LedgerQuery.Cursor(rs.getString("sort_key"), UUID.fromString(rs.getString("id")));
+            try {
+                items.add(mapper.map(rs));
+            } catch (RuntimeException unreadableRow) {
+                LOG.log(Level.WARNING, "Skipping an unreadable row in a list page: " + last.id(), unreadableRow);
+            }
+        }
+        return new LedgerPage<>(items, next);
+    }
+}
@@ -0,0 +1,50 @@
+package uk.selfemploy.ui.service;
+
+import uk.selfemploy.common.domain.TaxYear;
+
+import java.util.List;
+
+/**
+ * A ledger that can be listed a page at a time, searched, filtered and sorted by the database.
+ *
+ * <p>Implemented by the SQLite income and expense services so the list screens hold one page of
+ * rows, however many years of records there are. A list screen pages whenever its service
+ * implements this interface.</p>
+ *
+ * @param <T> the record type
+ * @param <F> the filter type: income status or expense category
+ * @param <S> the figures behind the list's summary cards
+ */
+public interface LedgerPages<T, F, S> {
+
+    /**
+     * Returns the page of a tax year's records that follows {@code after}.
+     *
+     * @param after the cursor of the previous page, or null for the first page
+     * @param limit the most rows to return; must be positive
+     */
+    LedgerPage<T> findPage(TaxYear taxYear, LedgerQuery<F> query, LedgerQuery.Cursor after, int limit);
+
+    /** Counts the tax year's records that match the query's search and filter. */
+    int countMatching(TaxYear taxYear, LedgerQuery<F> query);
+
+    /** The tax year's figures for the list's summary cards, grouped by the store. */
+    S summarise(TaxYear taxYear);
+
+    /**
+     * The tax year's records that best match the text, best first, from the full-text index.
+     *
+     * @param limit the most matches to return; must be positive
+     * @return the matches; empty when the text has no words to search for
+     */
+    List<Match<T>> search(TaxYear taxYear, String text, int limit);
+
+    /**
+     * A record found by {@link #search}.
+     *
+     * @param record  the record
+     * @param snippet the stretch of its text that matched best, matched words in square brackets
+     */
+    record Match<T>(T record, String snippet) {
+    }
+}
@@ -0,0 +1,67 @@
+package uk.selfemploy.ui.service;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * What an income or expense list shows: a search, an optional filter and an order.
+ *
+ * <p>Handed to {@link LedgerPages} so the search, filter and sort run in SQL and only one page of
+ * rows is loaded at a time. The search matches case-insensitively anywhere in the searched text,
+ * using {@link #fold} on both sides.
+ * The filter is the income status or the expense category, or null for everything.</p>
+ *
+ * @param <F> the filter type
+ */
+public record LedgerQuery<F>(String search, F filter, Sort sort, boolean ascending) {
+
+    /** The orders a list can be shown in. {@code CLIENT_NAME} applies to income only. */
+    public enum Sort { DATE, AMOUNT, CLIENT_NAME }
+
+    /**
+     * Where a page ends: the last row's sort key, as SQL computed it, and its id. The id breaks ties
+     * between equal keys, so the next page neither skips nor repeats a row.
+     */
+    public record Cursor(String sortKey, UUID id) {
+
+        public Cursor {
+            Objects.requireNonNull(id, "id");
+        }
+    }
+
+    public LedgerQuery {
+        Objects.requireNonNull(sort, "sort");
+    }
+
+    /** Newest first, with no search or filter: how the lists open. */
+    public static <F> LedgerQuery<F> newestFirst() {
+        return new LedgerQuery<>("", null, Sort.DATE, false);
+    }
+
+    /** The search as it is matched: trimmed and {@linkplain #fold folded}, or empty for none. */
+    public String searchTerm() {
+        return search == null ? "" : fold(search.strip());
+    }
+
+    /**
+     * Lower-cases text for a case-insensitive search, across all of Unicode and the same in every
+     * locale. The list screens' in-memory search and the SQL {@code casefold} function both use it,
+     * so paged and unpaged lists match the same rows.
+     */
+    public static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    public LedgerQuery<F> withSearch(String search) {
+        return new LedgerQuery<>(search, filter, sort, ascending);
+    }
+
+    public LedgerQuery<F> withFilter(F filter) {
+        return new LedgerQuery<>(search, filter, sort, ascending);
+    }
+
+    public LedgerQuery<F> sortedBy(Sort sort, boolean ascending) {
+        return new LedgerQuery<>(search, filter, sort, ascending);
+    }
+}
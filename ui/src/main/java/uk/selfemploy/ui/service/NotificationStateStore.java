@@ -17,6 +17,11 @@ public interface NotificationStateStore {
     /** Records the current read/snooze state for a reminder key. */
     void save(String key, boolean read, LocalDateTime snoozeUntil);
 
+    /** Records several reminders' states at once; stores that can write them together override this. */
+    default void saveAll(Map<String, PersistedState> states) {
+        states.forEach((key, state) -> save(key, state.read(), state.snoozeUntil()));
+    }
+
     /** Loads all persisted reminder states, keyed by reminder key. */
     Map<String, PersistedState> loadAll();
 
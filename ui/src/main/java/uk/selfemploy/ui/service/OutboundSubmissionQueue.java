@@ -0,0 +1,797 @@
+package uk.selfemploy.ui.service;
+
+import uk.selfemploy.hmrc.client.HmrcTransport;
+import uk.selfemploy.ui.service.sql.NamedSql;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sends submissions to HMRC through a queue held in the {@code outbound_submissions} table, so a
+ * submission made while HMRC is unreachable is sent once it is reachable again rather than lost.
+ *
+ * <p>Each submission is keyed by an idempotency key derived from what is sent: the kind, the method,
+ * the URL (which carries the NINO, the HMRC business ID and the tax year) and the body (which carries
+ * the period and figures). Sending the same submission again reuses its row, and once HMRC has
+ * accepted it the stored answer is returned without contacting HMRC. HMRC's APIs take no idempotency
+ * header, so the key only stops this app from sending twice.</p>
+ *
+ * <p>{@link #enqueue(Request)} makes the first attempt straight away on a virtual thread. If HMRC
+ * answers with anything but a transient failure, that answer completes the returned future. If it
+ * cannot be reached, times out, or answers 408, 429 or 5xx, the row stays queued with a jittered,
+ * exponentially growing delay and the future fails with a {@link NotDeliveredException}. A background
+ * drainer retries due rows in the order they were queued, one at a time per business and kind so a
+ * later quarter never overtakes an earlier one, and hands each outcome to the {@link Listener}
+ * registered for its kind. After {@link #MAX_ATTEMPTS} the row is given up; an attempt that could not
+ * be made because there was no HMRC session does not count towards them.</p>
+ *
+ * <p>Every attempt first claims its row by moving its attempt count on from the count it read. A
+ * row that was delivered, refused, given up or dropped since it was read cannot be claimed, so it is
+ * never sent twice, however the drainer's passes and callers overlap.</p>
+ *
+ * <p>Each HMRC endpoint has a circuit breaker: after {@link CircuitBreaker#FAILURE_THRESHOLD}
+ * transient failures in a row, nothing is sent to it for {@link CircuitBreaker#OPEN_FOR}, then one
+ * attempt decides whether it is back. Access tokens are fetched for each attempt and never stored; a
+ * 401 renews the token and retries once.</p>
+ */
+public final class OutboundSubmissionQueue {
+
+    private static final Logger LOG = Logger.getLogger(OutboundSubmissionQueue.class.getName());
+
+    private static final NamedSql SQL = NamedSql.load("/sql/outbound-submissions.sql");
+
+    /** Attempts made before a submission is given up. */
+    static final int MAX_ATTEMPTS = 12;
+
+    /** The delay before the first retry; each later retry waits up to twice as long. */
+    static final Duration BASE_DELAY = Duration.ofSeconds(30);
+
+    /** The longest a retry waits. */
+    static final Duration MAX_DELAY = Duration.ofMinutes(30);
+
+    private static final Duration DRAIN_INTERVAL = Duration.ofMinutes(1);
+
+    /** How long a background row waits before checking again for an HMRC session. */
+    static final Duration NO_SESSION_DELAY = Duration.ofMinutes(5);
+
+    private static final String PENDING = "PENDING";
+    private static final String DELIVERED = "DELIVERED";
+    private static final String FAILED = "FAILED";
+
+    /** What is being submitted; decides the endpoint whose timeout and circuit breaker apply. */
+    public enum Kind {
+        QUARTERLY_UPDATE(HmrcTransport.Endpoint.PERIODIC_UPDATE);
+
+        private final HmrcTransport.Endpoint endpoint;
+
+        Kind(HmrcTransport.Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public HmrcTransport.Endpoint endpoint() {
+            return endpoint;
+        }
+    }
+
+    /**
+     * A submission to send.
+     *
+     * @param businessId   the local business it belongs to
+     * @param kind         what is being submitted
+     * @param method       the HTTP method, {@code POST} or {@code PUT}
+     * @param url          the full HMRC URL
+     * @param accept       the versioned Accept header
+     * @param body         the JSON body
+     * @param submissionId the id of the local submission record the outcome belongs to
+     */
+    public record Request(UUID businessId, Kind kind, String method, String url, String accept,
+                          String body, String submissionId) {
+
+        /** SHA-256 over everything sent, so the same submission always has the same key. */
+        public String idempotencyKey() {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (String part : List.of(kind.name(), method, url, body)) {
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+
+    /**
+     * HMRC's definite answer to a submission.
+     *
+     * @param submissionId the local submission record it belongs to
+     * @param status       the HTTP status
+     * @param body         the response body, possibly null
+     */
+    public record Delivery(String submissionId, int status, String body) {
+
+        public boolean accepted() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    /** Receives the outcome of a submission that was queued after its first attempt. */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param request  the submission
+         * @param delivery HMRC's answer, or its last answer (status 0 if none) when given up
+         * @param failure  why it was given up; null when HMRC gave a definite answer
+         */
+        void settled(Request request, Delivery delivery, String failure);
+    }
+
+    /** Supplies the bearer token for an attempt. */
+    @FunctionalInterface
+    public interface TokenSource {
+
+        /**
+         * @param forceRefresh renew the token even if it looks valid
+         * @throws RuntimeException if there is no usable HMRC session
+         */
+        String bearerToken(boolean forceRefresh);
+    }
+
+    /** Why a submission was not delivered by the attempt a caller waited for. */
+    public static final class NotDeliveredException extends RuntimeException {
+
+        private final String submissionId;
+        private final Instant nextAttemptAt;
+
+        NotDeliveredException(String message, String submissionId, Instant nextAttemptAt) {
+            super(message);
+            this.submissionId = submissionId;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+
+        /** The local submission record the outcome will belong to. */
+        public String submissionId() {
+            return submissionId;
+        }
+
+        /** Whether the submission is still queued; false once it has been given up. */
+        public boolean queued() {
+            return nextAttemptAt != null;
+        }
+
+        /** When the next attempt is due, or null once given up. */
+        public Instant nextAttemptAt() {
+            return nextAttemptAt;
+        }
+    }
+
+    /** A queued row as stored. */
+    private record Row(long sequence, String key, Request request, String state, int attempts,
+                       Instant nextAttemptAt, int lastStatus, String lastError, String responseBody) {
+
+        /** A caller was told this row was queued, so its outcome goes to the listener. */
+        boolean deferred() {
+            return lastError != null;
+        }
+
+        String lane() {
+            return request.businessId() + "/" + request.kind();
+        }
+    }
+
+    private static OutboundSubmissionQueue instance;
+
+    private final SqliteDataStore dataStore;
+    private final HmrcTransport transport;
+    private final TokenSource tokens;
+    private final Clock clock;
+    private final RandomGenerator random;
+    private final Executor dispatcher;
+    private final Map<HmrcTransport.Endpoint, CircuitBreaker> breakers = new EnumMap<>(HmrcTransport.Endpoint.class);
+    private final Map<String, CompletableFuture<Delivery>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Kind, Listener> listeners = new ConcurrentHashMap<>();
+    private final Set<String> drainingLanes = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService drainer;
+
+    /**
+     * The app's queue, on the shared transport and the shared data store. Its drainer starts with it,
+     * and a queue left on a data store that has since been replaced is stopped and rebuilt.
+     */
+    public static synchronized OutboundSubmissionQueue getInstance() {
+        SqliteDataStore dataStore = SqliteDataStore.getInstance();
+        if (instance == null || instance.dataStore != dataStore) {
+            if (instance != null) {
+                instance.stop();
+            }
+            instance = new OutboundSubmissionQueue(dataStore, HmrcTransport.shared());
+            instance.start();
+        }
+        return instance;
+    }
+
+    /**
+     * A queue with the app's token source and virtual-thread dispatch, whose drainer is not started.
+     * Visible for testing.
+     */
+    OutboundSubmissionQueue(SqliteDataStore dataStore, HmrcTransport transport) {
+        this(dataStore, transport, UiQuarterlySubmissionService::bearerToken, Clock.systemUTC(),
+            RandomGenerator.getDefault(), task -> Thread.ofVirtual().name("hmrc-outbound").start(task));
+    }
+
+    OutboundSubmissionQueue(SqliteDataStore dataStore, HmrcTransport transport, TokenSource tokens,
+                            Clock clock, RandomGenerator random, Executor dispatcher) {
+        this.dataStore = dataStore;
+        this.transport = transport;
+        this.tokens = tokens;
+        this.clock = clock;
+        this.random = random;
+        this.dispatcher = dispatcher;
+        for (HmrcTransport.Endpoint endpoint : HmrcTransport.Endpoint.values()) {
+            breakers.put(endpoint, new CircuitBreaker(clock));
+        }
+    }
+
+    /**
+     * Registers where the outcomes of queued submissions of a kind go. Rows of a kind without a
+     * listener are not drained, so none of their outcomes is lost.
+     */
+    public void onSettled(Kind kind, Listener listener) {
+        listeners.put(kind, listener);
+    }
+
+    /**
+     * Queues a submission and starts its first attempt.
+     *
+     * @return completes with HMRC's definite answer; fails with {@link NotDeliveredException} if the
+     *         submission had to stay queued, or with the token source's exception if there is no
+     *         HMRC session (the submission is then not kept)
+     */
+    public CompletableFuture<Delivery> enqueue(Request request) {
+        Row row;
+        try {
+            row = insert(request);
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to queue a submission for HMRC", e);
+            return CompletableFuture.failedFuture(new DataStoreException("Failed to queue the submission", e));
+        }
+        if (DELIVERED.equals(row.state())) {
+            LOG.info("HMRC already accepted this submission; returning its answer without sending it again");
+            return CompletableFuture.completedFuture(
+                new Delivery(row.request().submissionId(), row.lastStatus(), row.responseBody()));
+        }
+        try {
+            if (hasEarlierPending(row)) {
+                NotDeliveredException waiting = new NotDeliveredException(
+                    "An earlier submission is still waiting to be sent; this one will follow it",
+                    row.request().submissionId(), row.nextAttemptAt());
+                reschedule(row, row.attempts(), row.nextAttemptAt(), row.lastStatus(), waiting.getMessage());
+                return CompletableFuture.failedFuture(waiting);
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to read the submission queue", e);
+            return CompletableFuture.failedFuture(new DataStoreException("Failed to queue the submission", e));
+        }
+        return dispatch(row, true);
+    }
+
+    /** Starts the background drainer. */
+    synchronized void start() {
+        if (drainer == null) {
+            drainer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "hmrc-outbound-drainer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            drainer.scheduleWithFixedDelay(this::drainSafely, 0, DRAIN_INTERVAL.toSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    /** Stops the background drainer; attempts already running finish. */
+    synchronized void stop() {
+        if (drainer != null) {
+            drainer.shutdownNow();
+            drainer = null;
+        }
+    }
+
+    /**
+     * Retries every queued submission that is due. Rows are taken per business and kind in the order
+     * they were queued; a lane stops at its first row that is not yet due or not delivered, and lanes
+     * run side by side. A lane still being drained by an earlier pass is left to it.
+     */
+    void drainDue() throws SQLException {
+        Map<String, List<Row>> lanes = new LinkedHashMap<>();
+        for (Row row : pending()) {
+            if (listeners.containsKey(row.request().kind())) {
+                lanes.computeIfAbsent(row.lane(), lane -> new ArrayList<>()).add(row);
+            }
+        }
+        lanes.forEach((name, lane) -> {
+            if (!drainingLanes.add(name)) {
+                return;
+            }
+            try {
+                dispatcher.execute(() -> {
+                    try {
+                        drainLane(lane);
+                    } finally {
+                        drainingLanes.remove(name);
+                    }
+                });
+            } catch (RuntimeException e) {
+                drainingLanes.remove(name);
+                throw e;
+            }
+        });
+    }
+
+    /** How many submissions are waiting to be sent. */
+    public int pendingCount() {
+        try {
+            return pending().size();
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Failed to count queued submissions", e);
+            return 0;
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            drainDue();
+        } catch (SQLException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Failed to drain the HMRC submission queue", e);
+        }
+    }
+
+    private void drainLane(List<Row> lane) {
+        for (Row row : lane) {
+            if (row.nextAttemptAt().isAfter(clock.instant())) {
+                return;
+            }
+            try {
+                dispatch(row, false).join();
+            } catch (CompletionException e) {
+                return;
+            }
+        }
+    }
+
+    /** Runs one attempt for a row, sharing an attempt already running for the same key. */
+    private CompletableFuture<Delivery> dispatch(Row row, boolean interactive) {
+        CompletableFuture<Delivery> attempt = new CompletableFuture<>();
+        CompletableFuture<Delivery> running = inFlight.putIfAbsent(row.key(), attempt);
+        if (running != null) {
+            return running;
+        }
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    attempt(row, interactive, attempt);
+                } catch (RuntimeException e) {
+                    LOG.log(Level.SEVERE, "Unexpected failure sending a queued submission", e);
+                    attempt.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(row.key(), attempt);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(row.key(), attempt);
+            attempt.completeExceptionally(e);
+        }
+        return attempt;
+    }
+
+    private void attempt(Row row, boolean interactive, CompletableFuture<Delivery> result) {
+        Request request = row.request();
+        try {
+            if (!claim(row)) {
+                alreadyHandled(row, result);
+                return;
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to claim a queued submission", e);
+            result.completeExceptionally(new DataStoreException("Failed to read the submission queue", e));
+            return;
+        }
+        CircuitBreaker breaker = breakers.get(request.kind().endpoint());
+        Instant blockedUntil = breaker.blockedUntil();
+        if (blockedUntil != null) {
+            defer(row, row.attempts(), blockedUntil, row.lastStatus(),
+                "HMRC has been failing; the next attempt waits until it has had time to recover", result);
+            return;
+        }
+
+        String token;
+        try {
+            token = tokens.bearerToken(false);
+        } catch (RuntimeException e) {
+            noSession(row, interactive, e, result);
+            return;
+        }
+
+        int attempts = row.attempts() + 1;
+        HttpResponse<String> response;
+        try {
+            response = send(request, token);
+            if (response.statusCode() == 401) {
+                LOG.info("HMRC answered 401 - renewing the token and retrying once");
+                response = send(request, tokens.bearerToken(true));
+            }
+        } catch (HttpTimeoutException e) {
+            breaker.failed();
+            retryLater(row, attempts, 0, "HMRC did not answer in time", null, result);
+            return;
+        } catch (IOException e) {
+            breaker.failed();
+            retryLater(row, attempts, 0, "HMRC could not be reached: " + e.getMessage(), null, result);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            breaker.released();
+            defer(row, row.attempts(), clock.instant(), row.lastStatus(), "The attempt was interrupted", result);
+            return;
+        } catch (RuntimeException e) {
+            noSession(row, interactive, e, result);
+            return;
+        }
+
+        int status = response.statusCode();
+        if (isTransient(status)) {
+            breaker.failed();
+            retryLater(row, attempts, status, "HMRC answered HTTP " + status, response.body(), result);
+            return;
+        }
+        breaker.succeeded();
+
+        Delivery delivery = new Delivery(request.submissionId(), status, response.body());
+        try {
+            if (delivery.accepted()) {
+                update(SQL.get("markOutboundSubmissionDelivered"), attempts, status, response.body(), now(),
+                    row.key());
+            } else {
+                update(SQL.get("markOutboundSubmissionFailed"), attempts, status, null, response.body(), now(),
+                    row.key());
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "HMRC answered a queued submission but the answer could not be recorded", e);
+        }
+        LOG.info("HMRC answered queued " + request.kind() + " with HTTP " + status + " after " + attempts
+            + " attempt(s)");
+        if (row.deferred()) {
+            settle(request, delivery, null);
+        }
+        result.complete(delivery);
+    }
+
+    /**
+     * No token could be had. A caller is told at once and a submission never sent is dropped, since
+     * the caller was not told it is queued; in the background the row waits for the user to reconnect,
+     * checking every {@link #NO_SESSION_DELAY} without using up its attempts.
+     */
+    private void noSession(Row row, boolean interactive, RuntimeException e, CompletableFuture<Delivery> result) {
+        breakers.get(row.request().kind().endpoint()).released();
+        if (interactive) {
+            forgetIfNeverSent(row);
+            result.completeExceptionally(e);
+        } else {
+            defer(row, row.attempts(), clock.instant().plus(NO_SESSION_DELAY), row.lastStatus(),
+                "Waiting for an HMRC session: " + e.getMessage(), result);
+        }
+    }
+
+    /**
+     * Completes an attempt whose row another attempt got to first: with HMRC's stored answer if there
+     * is one, otherwise with where the row now stands.
+     */
+    private void alreadyHandled(Row row, CompletableFuture<Delivery> result) throws SQLException {
+        Row current = select(row.key());
+        if (current != null && (DELIVERED.equals(current.state())
+                || (FAILED.equals(current.state()) && !current.deferred() && current.lastStatus() != 0))) {
+            result.complete(new Delivery(current.request().submissionId(), current.lastStatus(),
+                current.responseBody()));
+            return;
+        }
+        boolean queued = current != null && PENDING.equals(current.state());
+        result.completeExceptionally(new NotDeliveredException(
+            queued ? "This submission is already being sent" : "This submission is no longer queued",
+            row.request().submissionId(), queued ? current.nextAttemptAt() : null));
+    }
+
+    private HttpResponse<String> send(Request request, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+            .uri(URI.create(request.url()))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "application/json")
+            .header("Accept", request.accept());
+        HmrcFraudHeaders.apply(builder);
+        builder.method(request.method(), HttpRequest.BodyPublishers.ofString(request.body()));
+        return transport.send(request.kind().endpoint(), builder);
+    }
+
+    private void retryLater(Row row, int attempts, int status, String error, String body,
+                            CompletableFuture<Delivery> result) {
+        if (attempts >= MAX_ATTEMPTS) {
+            String failure = "Gave up after " + attempts + " attempts: " + error;
+            LOG.warning("Giving up on queued " + row.request().kind() + ": " + error);
+            try {
+                update(SQL.get("markOutboundSubmissionFailed"), attempts, status, failure, body, now(), row.key());
+            } catch (SQLException e) {
+                LOG.log(Level.SEVERE, "Failed to record a given-up submission", e);
+            }
+            settle(row.request(), new Delivery(row.request().submissionId(), status, body), failure);
+            result.completeExceptionally(new NotDeliveredException(failure, row.request().submissionId(), null));
+            return;
+        }
+        defer(row, attempts, clock.instant().plus(backoff(attempts)), status, error, result);
+    }
+
+    private void defer(Row row, int attempts, Instant nextAttemptAt, int status, String error,
+                       CompletableFuture<Delivery> result) {
+        LOG.info("Queued " + row.request().kind() + " not delivered (" + error + "); next attempt at " + nextAttemptAt);
+        reschedule(row, attempts, nextAttemptAt, status, error);
+        result.completeExceptionally(new NotDeliveredException(error, row.request().submissionId(), nextAttemptAt));
+    }
+
+    private void reschedule(Row row, int attempts, Instant nextAttemptAt, int status, String error) {
+        try {
+            update(SQL.get("rescheduleOutboundSubmission"), attempts, nextAttemptAt.toEpochMilli(),
+                status == 0 ? null : status, error, now(), row.key());
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to reschedule a queued submission", e);
+        }
+    }
+
+    /**
+     * The delay before attempt {@code attempts + 1}: half of an exponentially growing ceiling, plus a
+     * random share of the other half, so clients that failed together do not retry together.
+     */
+    Duration backoff(int attempts) {
+        long ceiling = Math.min(MAX_DELAY.toMillis(), BASE_DELAY.toMillis() << Math.min(attempts - 1, 16));
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + random.nextLong(half + 1));
+    }
+
+    private void settle(Request request, Delivery delivery, String failure) {
+        Listener listener = listeners.get(request.kind());
+        if (listener == null) {
+            LOG.warning("No listener for queued " + request.kind() + "; its outcome is only in the queue");
+            return;
+        }
+        try {
+            listener.settled(request, delivery, failure);
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Failed to apply the outcome of a queued " + request.kind(), e);
+        }
+    }
+
+    private static boolean isTransient(int status) {
+        return status >= 500 || status == 408 || status == 429;
+    }
+
+    // === Persistence ===
+
+    private Row insert(Request request) throws SQLException {
+        String key = request.idempotencyKey();
+        String now = now();
+        dataStore.write(() -> {
+            try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("insertOutboundSubmission"))) {
+                pstmt.setString(1, key);
+                pstmt.setString(2, request.businessId().toString());
+                pstmt.setString(3, request.kind().name());
+                pstmt.setString(4, request.method());
+                pstmt.setString(5, request.url());
+                pstmt.setString(6, request.accept());
+                pstmt.setString(7, request.body());
+                pstmt.setString(8, request.submissionId());
+                pstmt.setLong(9, clock.millis());
+                pstmt.setString(10, now);
+                pstmt.setString(11, now);
+                pstmt.executeUpdate();
+            }
+        });
+        Row row = select(key);
+        if (row == null) {
+            throw new SQLException("Queued submission " + key + " was not stored");
+        }
+        return row;
+    }
+
+    private Row select(String key) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("selectOutboundSubmission"))) {
+            pstmt.setString(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? readRow(rs) : null;
+            }
+        }
+    }
+
+    /** Takes the row for one attempt; false if it is no longer pending as it was read. */
+    private boolean claim(Row row) throws SQLException {
+        return update(SQL.get("claimOutboundSubmission"), now(), row.key(), row.attempts(),
+            row.nextAttemptAt().toEpochMilli()) == 1;
+    }
+
+    private boolean hasEarlierPending(Row row) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("countEarlierPendingOutboundSubmissions"))) {
+            pstmt.setString(1, row.request().businessId().toString());
+            pstmt.setString(2, row.request().kind().name());
+            pstmt.setLong(3, row.sequence());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    private List<Row> pending() throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("selectPendingOutboundSubmissions"));
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                Row row = readRow(rs);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void forgetIfNeverSent(Row row) {
+        if (row.attempts() > 0 || row.deferred()) {
+            return;
+        }
+        try {
+            update(SQL.get("deleteOutboundSubmission"), row.key());
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Failed to drop an unsent submission from the queue", e);
+        }
+    }
+
+    private int update(String sql, Object... values) throws SQLException {
+        int[] updated = new int[1];
+        dataStore.write(() -> {
+            try (PreparedStatement pstmt = dataStore.prepareWrite(sql)) {
+                for (int i = 0; i < values.length; i++) {
+                    pstmt.setObject(i + 1, values[i]);
+                }
+                updated[0] = pstmt.executeUpdate();
+            }
+        });
+        return updated[0];
+    }
+
+    private static Row readRow(ResultSet rs) throws SQLException {
+        Kind kind;
+        try {
+            kind = Kind.valueOf(rs.getString("kind"));
+        } catch (IllegalArgumentException e) {
+            LOG.warning("Skipping a queued submission of unknown kind: " + rs.getString("kind"));
+            return null;
+        }
+        Request request = new Request(
+            UUID.fromString(rs.getString("business_id")),
+            kind,
+            rs.getString("http_method"),
+            rs.getString("url"),
+            rs.getString("accept"),
+            rs.getString("body"),
+            rs.getString("submission_id"));
+        return new Row(
+            rs.getLong("sequence"),
+            rs.getString("idempotency_key"),
+            request,
+            rs.getString("state"),
+            rs.getInt("attempts"),
+            Instant.ofEpochMilli(rs.getLong("next_attempt_at")),
+            rs.getInt("last_status"),
+            rs.getString("last_error"),
+            rs.getString("response_body"));
+    }
+
+    private String now() {
+        return clock.instant().toString();
+    }
+
+    /**
+     * Stops sending to an HMRC endpoint that keeps failing. Closed, every attempt goes through;
+     * {@link #FAILURE_THRESHOLD} transient failures in a row open it for {@link #OPEN_FOR}, after which
+     * it is half-open: one attempt goes through, and its outcome closes or reopens it.
+     */
+    static final class CircuitBreaker {
+
+        static final int FAILURE_THRESHOLD = 5;
+        static final Duration OPEN_FOR = Duration.ofMinutes(2);
+
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final Clock clock;
+        private State state = State.CLOSED;
+        private int failures;
+        private Instant openUntil;
+        private boolean trialRunning;
+
+        CircuitBreaker(Clock clock) {
+            this.clock = clock;
+        }
+
+        /** Null if an attempt may go ahead now; otherwise when to try again. */
+        synchronized Instant blockedUntil() {
+            Instant now = clock.instant();
+            if (state == State.OPEN && !now.isBefore(openUntil)) {
+                state = State.HALF_OPEN;
+            }
+            return switch (state) {
+                case CLOSED -> null;
+                case OPEN -> openUntil;
+                case HALF_OPEN -> {
+                    if (trialRunning) {
+                        yield now.plus(BASE_DELAY);
+                    }
+                    trialRunning = true;
+                    yield null;
+                }
+            };
+        }
+
+        /** HMRC gave a definite answer, so the endpoint is up. */
+        synchronized void succeeded() {
+            state = State.CLOSED;
+            failures = 0;
+            trialRunning = false;
+        }
+
+        /** HMRC could not be reached or failed transiently. */
+        synchronized void failed() {
+            failures++;
+            trialRunning = false;
+            if (state == State.HALF_OPEN || failures >= FAILURE_THRESHOLD) {
+                state = State.OPEN;
+                openUntil = clock.instant().plus(OPEN_FOR);
+                LOG.warning("HMRC circuit opened after " + failures + " failure(s); holding submissions until "
+                    + openUntil);
+            }
+        }
+
+        /** The attempt ended without saying anything about HMRC. */
+        synchronized void released() {
+            trialRunning = false;
+        }
+
+        synchronized State state() {
+            return state;
+        }
+    }
+}
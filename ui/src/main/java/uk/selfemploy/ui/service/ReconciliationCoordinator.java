@@ -4,8 +4,9 @@ import uk.selfemploy.common.domain.BankTransaction;
 import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.core.reconciliation.IncrementalReconciler;
 import uk.selfemploy.core.reconciliation.ReconciliationMatch;
-import uk.selfemploy.core.reconciliation.ReconciliationService;
+import uk.selfemploy.core.reconciliation.ReconciliationStatus;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 import uk.selfemploy.ui.viewmodel.ReconciliationIssue;
@@ -13,10 +14,10 @@ import uk.selfemploy.ui.viewmodel.ReconciliationIssue;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -26,14 +27,28 @@ import java.util.stream.Collectors;
  * persistence. For a tax year it reconciles imported bank transactions against manually entered
  * records, saves the resulting matches, and returns the summary the dashboard renders. This is the
  * glue the dashboard previously lacked — before, it only showed hard-coded sample data.
+ *
+ * <p>After a full {@link #reconcile(TaxYear)}, the coordinator keeps the year's match state in an
+ * {@link IncrementalReconciler}. The {@code on…} methods then apply a single added, edited or
+ * deleted record: only the bank transactions it can affect are re-matched, and their rows are
+ * upserted or retired in the repository. Matches are never deleted; a match that no longer applies
+ * is dismissed with {@link #RETIRED_BY}, and reopened if it applies again. A match the user has
+ * confirmed or dismissed keeps its resolution either way.</p>
  */
 public class ReconciliationCoordinator {
 
+    /** The {@code resolvedBy} of matches dismissed because their records no longer match. */
+    public static final String RETIRED_BY = "system:reconciliation";
+
     private final UUID businessId;
     private final IncomeService incomeService;
     private final ExpenseService expenseService;
     private final ReconciliationMatchRepository matchRepository;
     private final Supplier<List<BankTransaction>> bankTransactionSupplier;
+    private final IncrementalReconciler reconciler;
+
+    // The tax year of the last full run; null until then, and incremental changes are ignored
+    private TaxYear taxYear;
 
     public ReconciliationCoordinator(UUID businessId,
                                      IncomeService incomeService,
@@ -45,28 +60,35 @@ public class ReconciliationCoordinator {
         this.expenseService = Objects.requireNonNull(expenseService);
         this.matchRepository = Objects.requireNonNull(matchRepository);
         this.bankTransactionSupplier = Objects.requireNonNull(bankTransactionSupplier);
+        this.reconciler = new IncrementalReconciler(businessId);
     }
 
     /**
      * Reconciles the tax year's manual records against the imported bank transactions, persists the
      * matches, and returns the dashboard summary.
      */
-    public ReconciliationSummary reconcile(TaxYear taxYear) {
+    public synchronized ReconciliationSummary reconcile(TaxYear taxYear) {
         List<Income> incomes = incomeService.findByTaxYear(businessId, taxYear);
         List<Expense> expenses = expenseService.findByTaxYear(businessId, taxYear);
         List<BankTransaction> bankTransactions = bankTransactionSupplier.get();
 
-        List<ReconciliationMatch> candidates = ReconciliationService.reconcile(
-            bankTransactions, incomes, expenses, businessId, Instant.now());
+        List<ReconciliationMatch> candidates = reconciler.reset(
+            bankTransactions, incomes, expenses, Instant.now());
+        this.taxYear = taxYear;
 
         // Persist only pairs not already recorded, so a match the user has confirmed or dismissed
-        // keeps its resolution instead of being reset to UNRESOLVED on every run.
-        Set<String> existing = matchRepository.findByBusinessId(businessId).stream()
-            .map(ReconciliationCoordinator::pairKey)
-            .collect(Collectors.toSet());
-        List<ReconciliationMatch> fresh = candidates.stream()
-            .filter(m -> !existing.contains(pairKey(m)))
-            .toList();
+        // keeps its resolution instead of being reset to UNRESOLVED on every run. A retired match
+        // that applies again is reopened.
+        Map<String, ReconciliationMatch> existing = byPair(matchRepository.findByBusinessId(businessId));
+        List<ReconciliationMatch> fresh = new ArrayList<>();
+        for (ReconciliationMatch candidate : candidates) {
+            ReconciliationMatch recorded = existing.get(IncrementalReconciler.pairKey(candidate));
+            if (recorded == null) {
+                fresh.add(candidate);
+            } else if (isRetired(recorded)) {
+                fresh.add(reopen(recorded, candidate));
+            }
+        }
         matchRepository.saveAll(fresh);
 
         BigDecimal totalIncome = sum(incomes.stream().map(Income::amount).toList());
@@ -86,9 +108,122 @@ public class ReconciliationCoordinator {
             incomes.size(), expenses.size(), unresolved, 0, issues);
     }
 
-    private static String pairKey(ReconciliationMatch match) {
-        return match.bankTransactionId() + "|" + match.manualTransactionId()
-            + "|" + match.manualTransactionType();
+    /** Applies an added or edited income record; one outside the reconciled tax year counts as removed. */
+    public synchronized void onIncomeSaved(Income income) {
+        if (taxYear == null || !businessId.equals(income.businessId())) {
+            return;
+        }
+        Instant now = Instant.now();
+        apply(taxYear.contains(income.date())
+            ? reconciler.putIncome(income, now)
+            : reconciler.removeIncome(income.id(), now), now);
+    }
+
+    /** Applies a deleted income record. */
+    public synchronized void onIncomeDeleted(UUID incomeId) {
+        if (taxYear == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        apply(reconciler.removeIncome(incomeId, now), now);
+    }
+
+    /** Applies an added or edited expense record; one outside the reconciled tax year counts as removed. */
+    public synchronized void onExpenseSaved(Expense expense) {
+        if (taxYear == null || !businessId.equals(expense.businessId())) {
+            return;
+        }
+        Instant now = Instant.now();
+        apply(taxYear.contains(expense.date())
+            ? reconciler.putExpense(expense, now)
+            : reconciler.removeExpense(expense.id(), now), now);
+    }
+
+    /** Applies a deleted expense record. */
+    public synchronized void onExpenseDeleted(UUID expenseId) {
+        if (taxYear == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        apply(reconciler.removeExpense(expenseId, now), now);
+    }
+
+    /** Applies an added or updated bank transaction; a soft-deleted one counts as removed. */
+    public synchronized void onBankTransactionSaved(BankTransaction transaction) {
+        if (taxYear == null || !businessId.equals(transaction.businessId())) {
+            return;
+        }
+        Instant now = Instant.now();
+        apply(transaction.deletedAt() == null
+            ? reconciler.putBankTransaction(transaction, now)
+            : reconciler.removeBankTransaction(transaction.id(), now), now);
+    }
+
+    /** Applies a deleted bank transaction. */
+    public synchronized void onBankTransactionDeleted(UUID transactionId) {
+        if (taxYear == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        apply(reconciler.removeBankTransaction(transactionId, now), now);
+    }
+
+    /**
+     * Brings the stored rows of each affected bank transaction in line with its current matches:
+     * new pairs are inserted, unresolved rows take the new tier and confidence, retired rows that
+     * match again are reopened, and unresolved rows that no longer match are retired.
+     */
+    private void apply(IncrementalReconciler.Delta delta, Instant now) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        List<ReconciliationMatch> upserts = new ArrayList<>();
+        for (UUID bankTransactionId : delta.affectedBankTransactionIds()) {
+            Map<String, ReconciliationMatch> recorded = byPair(
+                matchRepository.findByBankTransactionId(bankTransactionId).stream()
+                    .filter(m -> businessId.equals(m.businessId()))
+                    .toList());
+
+            for (ReconciliationMatch match : delta.current()) {
+                if (!match.bankTransactionId().equals(bankTransactionId)) {
+                    continue;
+                }
+                ReconciliationMatch row = recorded.remove(IncrementalReconciler.pairKey(match));
+                if (row == null) {
+                    upserts.add(match);
+                } else if (isRetired(row)) {
+                    upserts.add(reopen(row, match));
+                } else if (row.isUnresolved()
+                        && (row.matchTier() != match.matchTier() || row.confidence() != match.confidence())) {
+                    upserts.add(reopen(row, match));
+                }
+            }
+            for (ReconciliationMatch row : recorded.values()) {
+                if (row.isUnresolved()) {
+                    matchRepository.updateStatus(row.id(), ReconciliationStatus.DISMISSED, now, RETIRED_BY);
+                }
+            }
+        }
+        matchRepository.saveAll(upserts);
+    }
+
+    private static boolean isRetired(ReconciliationMatch match) {
+        return match.isDismissed() && RETIRED_BY.equals(match.resolvedBy());
+    }
+
+    /** The recorded row, keeping its ID and detection time, as an unresolved match with the new scores. */
+    private static ReconciliationMatch reopen(ReconciliationMatch row, ReconciliationMatch match) {
+        return new ReconciliationMatch(row.id(), row.bankTransactionId(), row.manualTransactionId(),
+            row.manualTransactionType(), match.confidence(), match.matchTier(),
+            ReconciliationStatus.UNRESOLVED, row.businessId(), row.createdAt(), null, null);
+    }
+
+    private static Map<String, ReconciliationMatch> byPair(List<ReconciliationMatch> matches) {
+        Map<String, ReconciliationMatch> byPair = new HashMap<>();
+        for (ReconciliationMatch match : matches) {
+            byPair.put(IncrementalReconciler.pairKey(match), match);
+        }
+        return byPair;
     }
 
     private static BigDecimal sum(List<BigDecimal> values) {
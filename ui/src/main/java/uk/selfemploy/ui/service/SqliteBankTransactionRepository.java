@@ -51,34 +51,8 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
         if (tx == null) {
             throw new IllegalArgumentException("Transaction cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("insertBankTransaction"))) {
-            pstmt.setString(1, tx.id().toString());
-            pstmt.setString(2, tx.businessId().toString());
-            pstmt.setString(3, tx.importAuditId().toString());
-            pstmt.setString(4, tx.sourceFormatId());
-            pstmt.setString(5, tx.date().toString());
-            pstmt.setString(6, tx.amount().toPlainString());
-            pstmt.setString(7, tx.description());
-            pstmt.setString(8, tx.accountLastFour());
-            pstmt.setString(9, tx.bankTransactionId());
-            pstmt.setString(10, tx.transactionHash());
-            pstmt.setString(11, tx.reviewStatus().name());
-            pstmt.setString(12, tx.incomeId() != null ? tx.incomeId().toString() : null);
-            pstmt.setString(13, tx.expenseId() != null ? tx.expenseId().toString() : null);
-            pstmt.setString(14, tx.exclusionReason());
-            if (tx.isBusiness() != null) {
-                pstmt.setInt(15, tx.isBusiness() ? 1 : 0);
-            } else {
-                pstmt.setNull(15, Types.INTEGER);
-            }
-            pstmt.setString(16, tx.confidenceScore() != null ? tx.confidenceScore().toPlainString() : null);
-            pstmt.setString(17, tx.suggestedCategory() != null ? tx.suggestedCategory().name() : null);
-            pstmt.setString(18, tx.createdAt().toString());
-            pstmt.setString(19, tx.updatedAt() != null ? tx.updatedAt().toString() : tx.createdAt().toString());
-            pstmt.setString(20, tx.deletedAt() != null ? tx.deletedAt().toString() : null);
-            pstmt.setString(21, tx.deletedBy());
-            pstmt.setString(22, tx.deletionReason());
-            pstmt.executeUpdate();
+        try {
+            dataStore.write(() -> insert(tx));
             LOG.fine("Saved bank transaction: " + tx.id());
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to save bank transaction: " + tx.id(), e);
@@ -86,9 +60,27 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
         }
     }
 
+    @Override
+    public void saveAll(List<BankTransaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            return;
+        }
+        try {
+            dataStore.write(() -> {
+                for (BankTransaction tx : transactions) {
+                    insert(tx);
+                }
+            });
+            LOG.fine("Saved " + transactions.size() + " bank transactions");
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to save " + transactions.size() + " bank transactions", e);
+            throw new DataStoreException("Failed to save bank transactions", e);
+        }
+    }
+
     @Override
     public Optional<BankTransaction> findById(UUID id) {
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("findBankTransactionById"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("findBankTransactionById"))) {
             pstmt.setString(1, id.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -103,7 +95,7 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
     @Override
     public List<BankTransaction> findAll() {
         List<BankTransaction> transactions = new ArrayList<>();
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("findBankTransactionsByBusiness"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("findBankTransactionsByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -119,7 +111,7 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
     public List<BankTransaction> findByImportAuditId(UUID importAuditId) {
         List<BankTransaction> transactions = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findBankTransactionsByBusinessAndBatch"))) {
+                 dataStore.prepareRead(SQL.get("findBankTransactionsByBusinessAndBatch"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setString(2, importAuditId.toString());
             ResultSet rs = pstmt.executeQuery();
@@ -135,7 +127,7 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
     @Override
     public long countByStatus(String status) {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("countBankTransactionsByBusinessAndStatus"))) {
+                 dataStore.prepareRead(SQL.get("countBankTransactionsByBusinessAndStatus"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setString(2, status);
             ResultSet rs = pstmt.executeQuery();
@@ -151,7 +143,7 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
     @Override
     public long count() {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("countBankTransactionsByBusiness"))) {
+                 dataStore.prepareRead(SQL.get("countBankTransactionsByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -166,7 +158,7 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
     @Override
     public boolean existsByHash(String hash) {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("existsByBusinessAndTransactionHash"))) {
+                 dataStore.prepareRead(SQL.get("existsByBusinessAndTransactionHash"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setString(2, hash);
             ResultSet rs = pstmt.executeQuery();
@@ -181,7 +173,7 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
 
     @Override
     public boolean softDelete(UUID id) {
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("softDeleteBankTransaction"))) {
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("softDeleteBankTransaction"))) {
             pstmt.setString(1, Instant.now().toString());
             pstmt.setString(2, "local-user");
             pstmt.setString(3, "User-initiated deletion");
@@ -196,18 +188,25 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
     @Override
     public void logModification(UUID bankTransactionId, String modificationType, String fieldName,
                                 String previousValue, String newValue, String modifiedBy) {
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("insertModificationLog"))) {
-            pstmt.setString(1, UUID.randomUUID().toString());
-            pstmt.setString(2, bankTransactionId.toString());
-            pstmt.setString(3, modificationType);
-            pstmt.setString(4, fieldName);
-            pstmt.setString(5, previousValue);
-            pstmt.setString(6, newValue);
-            pstmt.setString(7, modifiedBy);
-            pstmt.setString(8, Instant.now().toString());
-            pstmt.executeUpdate();
+        logModifications(List.of(new Modification(
+            bankTransactionId, modificationType, fieldName, previousValue, newValue, modifiedBy)));
+    }
+
+    @Override
+    public void logModifications(List<Modification> modifications) {
+        if (modifications == null || modifications.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        try {
+            dataStore.write(() -> {
+                for (Modification modification : modifications) {
+                    insertModificationLog(modification, now);
+                }
+            });
         } catch (SQLException e) {
-            LOG.log(Level.WARNING, "Failed to log transaction modification for: " + bankTransactionId, e);
+            LOG.log(Level.WARNING, "Failed to log transaction modification(s) for: "
+                + modifications.get(0).bankTransactionId(), e);
         }
     }
 
@@ -215,7 +214,7 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
     public List<Map<String, String>> findModificationLogs(UUID bankTransactionId) {
         List<Map<String, String>> logs = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findModificationLogsByBankTransaction"))) {
+                 dataStore.prepareRead(SQL.get("findModificationLogsByBankTransaction"))) {
             pstmt.setString(1, bankTransactionId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -241,6 +240,52 @@ public class SqliteBankTransactionRepository implements BankTransactionRepositor
         return businessId;
     }
 
+    private void insertModificationLog(Modification modification, Instant now) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("insertModificationLog"))) {
+            pstmt.setString(1, UUID.randomUUID().toString());
+            pstmt.setString(2, modification.bankTransactionId().toString());
+            pstmt.setString(3, modification.modificationType());
+            pstmt.setString(4, modification.fieldName());
+            pstmt.setString(5, modification.previousValue());
+            pstmt.setString(6, modification.newValue());
+            pstmt.setString(7, modification.modifiedBy());
+            pstmt.setString(8, now.toString());
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void insert(BankTransaction tx) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("insertBankTransaction"))) {
+            pstmt.setString(1, tx.id().toString());
+            pstmt.setString(2, tx.businessId().toString());
+            pstmt.setString(3, tx.importAuditId().toString());
+            pstmt.setString(4, tx.sourceFormatId());
+            pstmt.setString(5, tx.date().toString());
+            pstmt.setString(6, tx.amount().toPlainString());
+            pstmt.setString(7, tx.description());
+            pstmt.setString(8, tx.accountLastFour());
+            pstmt.setString(9, tx.bankTransactionId());
+            pstmt.setString(10, tx.transactionHash());
+            pstmt.setString(11, tx.reviewStatus().name());
+            pstmt.setString(12, tx.incomeId() != null ? tx.incomeId().toString() : null);
+            pstmt.setString(13, tx.expenseId() != null ? tx.expenseId().toString() : null);
+            pstmt.setString(14, tx.exclusionReason());
+            if (tx.isBusiness() != null) {
+                pstmt.setInt(15, tx.isBusiness() ? 1 : 0);
+            } else {
+                pstmt.setNull(15, Types.INTEGER);
+            }
+            pstmt.setString(16, tx.confidenceScore() != null ? tx.confidenceScore().toPlainString() : null);
+            pstmt.setString(17, tx.suggestedCategory() != null ? tx.suggestedCategory().name() : null);
+            pstmt.setString(18, tx.createdAt().toString());
+            pstmt.setString(19, tx.updatedAt() != null ? tx.updatedAt().toString() : tx.createdAt().toString());
+            pstmt.setString(20, tx.deletedAt() != null ? tx.deletedAt().toString() : null);
+            pstmt.setString(21, tx.deletedBy());
+            pstmt.setString(22, tx.deletionReason());
+            pstmt.executeUpdate();
+        }
+    }
+
     private BankTransaction mapBankTransaction(ResultSet rs) throws SQLException {
         String incomeIdStr = rs.getString("income_id");
         String expenseIdStr = rs.getString("expense_id");
@@ -4,6 +4,7 @@ import uk.selfemploy.common.domain.BankTransaction;
 import uk.selfemploy.common.enums.ReviewStatus;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +65,18 @@ public class SqliteBankTransactionService {
             throw new IllegalArgumentException("Transaction cannot be null");
         }
         repository.save(tx);
+        LedgerChangeEvents.bankTransactionSaved(tx);
+    }
+
+    /**
+     * Saves several bank transactions in one batched write.
+     */
+    public void saveAll(List<BankTransaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            return;
+        }
+        repository.saveAll(transactions);
+        transactions.forEach(LedgerChangeEvents::bankTransactionSaved);
     }
 
     /**
@@ -97,6 +110,33 @@ public class SqliteBankTransactionService {
         LOG.fine("Categorized transaction " + txId + " as income " + incomeId);
     }
 
+    /**
+     * Batch form of {@link #categorizeAsIncome}/{@link #categorizeAsExpense}: links each transaction
+     * to the record created for it (an income for a credit, an expense for a debit), then saves the
+     * updates and their audit-log entries as two batched writes rather than two writes per row.
+     *
+     * @param transactions the transactions as currently stored
+     * @param recordIds    the created income or expense id, by transaction id
+     */
+    public void categorizeAll(List<BankTransaction> transactions, Map<UUID, UUID> recordIds, Instant now) {
+        List<BankTransaction> categorized = new ArrayList<>(transactions.size());
+        List<BankTransactionRepository.Modification> modifications = new ArrayList<>(transactions.size());
+        for (BankTransaction tx : transactions) {
+            UUID recordId = recordIds.get(tx.id());
+            if (recordId == null) {
+                throw new IllegalArgumentException("No record to link for transaction: " + tx.id());
+            }
+            categorized.add(tx.isIncome()
+                ? tx.withCategorizedAsIncome(recordId, now)
+                : tx.withCategorizedAsExpense(recordId, now));
+            modifications.add(new BankTransactionRepository.Modification(tx.id(), "CATEGORIZED",
+                "review_status", tx.reviewStatus().name(), "CATEGORIZED", "local-user"));
+        }
+        saveAll(categorized);
+        repository.logModifications(modifications);
+        LOG.fine("Categorized " + categorized.size() + " transactions");
+    }
+
     /**
      * Excludes a transaction from accounting with a reason.
      */
@@ -180,6 +220,7 @@ public class SqliteBankTransactionService {
         boolean deleted = repository.softDelete(id);
         if (deleted) {
             logModification(id, "EXCLUDED", "deleted_at", null, "soft-deleted");
+            LedgerChangeEvents.bankTransactionDeleted(id);
         }
         return deleted;
     }
@@ -0,0 +1,37 @@
+package uk.selfemploy.ui.service;
+
+import org.sqlite.Function;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The {@code casefold(text)} SQL function: lower-cases text exactly as {@link LedgerQuery#fold}
+ * does, so a search run in SQL matches the same rows as one run over rows held in memory.
+ * SQLite's own {@code lower()} folds ASCII letters only, which would leave "ÉCLAIR" unmatched by
+ * "éclair". NULL stays NULL.
+ *
+ * <p>Registered on every connection the store opens. Each registration gets its own instance,
+ * since a function carries the state of the call it is serving.</p>
+ */
+final class SqliteCaseFold extends Function {
+
+    static final String NAME = "casefold";
+
+    private SqliteCaseFold() {
+    }
+
+    static void register(Connection conn) throws SQLException {
+        Function.create(conn, NAME, new SqliteCaseFold(), 1, Function.FLAG_DETERMINISTIC);
+    }
+
+    @Override
+    protected void xFunc() throws SQLException {
+        String text = value_text(0);
+        if (text == null) {
+            result();
+        } else {
+            result(LedgerQuery.fold(text));
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package uk.selfemploy.ui.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of SQLite connections for {@link SqliteDataStore}: one writer and up to a fixed number
+ * of read-only WAL readers, each with its own cache of prepared statements.
+ *
+ * <p>SQLite allows a single writer at a time, so every write goes through the one writer connection,
+ * held by a reentrant lock for as long as a leased statement is open (or for a whole
+ * {@link SqliteDataStore#executeInTransaction transaction}). In WAL mode readers do not block the
+ * writer or each other, so reads lease any idle reader instead and proceed concurrently. A thread
+ * that holds the writer reads through it too, so it sees its own uncommitted writes; a thread that
+ * already holds a reader reuses it for nested reads, so it can never wait on itself.</p>
+ *
+ * <p>{@link #prepareRead} and {@link #prepareWrite} return a statement that holds its connection
+ * lease until it is closed, so callers keep the usual try-with-resources shape. Closing returns the
+ * underlying statement to its connection's cache, keyed by SQL text, instead of finalizing it; any
+ * result set it produced is closed at the same time, which resets the statement and ends its read
+ * snapshot.</p>
+ *
+ * <p>With no readers (the in-memory store, whose database is private to one connection) every lease
+ * is on the writer.</p>
+ */
+final class SqliteConnectionPool {
+
+    private static final Logger LOG = Logger.getLogger(SqliteConnectionPool.class.getName());
+
+    /** Readers for a file-mode store: enough for the FX thread plus the background workers. */
+    static final int DEFAULT_READERS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /** Prepared statements kept per connection; comfortably above the named statements in use. */
+    static final int STATEMENT_CACHE_SIZE = 96;
+
+    /** Opens a configured connection; {@code readOnly} connections only ever serve reads. */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection open(boolean readOnly) throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final PooledConnection writer;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final int maxReaders;
+    private final Semaphore readerPermits;
+    private final BlockingQueue<PooledConnection> idleReaders = new LinkedBlockingQueue<>();
+    private final List<PooledConnection> readers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ReadLease> readLease = new ThreadLocal<>();
+
+    private volatile boolean closed;
+
+    /**
+     * @param writer     the writer connection, already configured and migrated
+     * @param maxReaders the most reader connections to open; 0 serves reads on the writer
+     * @param factory    opens reader connections on demand
+     */
+    SqliteConnectionPool(Connection writer, int maxReaders, ConnectionFactory factory) {
+        if (writer == null) {
+            throw new IllegalArgumentException("writer cannot be null");
+        }
+        if (maxReaders < 0) {
+            throw new IllegalArgumentException("maxReaders cannot be negative");
+        }
+        this.writer = new PooledConnection(writer);
+        this.maxReaders = maxReaders;
+        this.readerPermits = new Semaphore(maxReaders, true);
+        this.factory = factory;
+    }
+
+    /** The writer connection, for the schema, transactions and the in-memory store. */
+    Connection writerConnection() {
+        return writer.connection;
+    }
+
+    /** Acquires the writer for the calling thread; reentrant, and paired with {@link #unlockWriter()}. */
+    void lockWriter() throws SQLException {
+        ensureOpen();
+        writeLock.lock();
+    }
+
+    void unlockWriter() {
+        writeLock.unlock();
+    }
+
+    /** Whether the calling thread holds the writer. */
+    boolean holdsWriter() {
+        return writeLock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Prepares (or reuses) a statement on the writer, which the calling thread holds until the
+     * statement is closed.
+     */
+    PreparedStatement prepareWrite(String sql) throws SQLException {
+        lockWriter();
+        try {
+            return writer.lease(sql, this::unlockWriter);
+        } catch (SQLException | RuntimeException e) {
+            unlockWriter();
+            throw e;
+        }
+    }
+
+    /**
+     * Prepares (or reuses) a statement on a reader, which the calling thread holds until the
+     * statement is closed. Served by the writer when there are no readers or the thread holds it.
+     */
+    PreparedStatement prepareRead(String sql) throws SQLException {
+        if (maxReaders == 0 || holdsWriter()) {
+            return prepareWrite(sql);
+        }
+        ensureOpen();
+        ReadLease lease = readLease.get();
+        if (lease == null) {
+            lease = new ReadLease(acquireReader());
+            readLease.set(lease);
+        }
+        lease.depth++;
+        try {
+            return lease.connection.lease(sql, this::releaseRead);
+        } catch (SQLException | RuntimeException e) {
+            releaseRead();
+            throw e;
+        }
+    }
+
+    /** Closes every connection and its cached statements; later leases fail. */
+    void close() {
+        closed = true;
+        writer.close();
+        for (PooledConnection reader : readers) {
+            reader.close();
+        }
+        readers.clear();
+        idleReaders.clear();
+    }
+
+    /** Reader connections opened so far. */
+    int readerCount() {
+        return readers.size();
+    }
+
+    private PooledConnection acquireReader() throws SQLException {
+        try {
+            readerPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database reader", e);
+        }
+        PooledConnection reader = idleReaders.poll();
+        if (reader != null) {
+            return reader;
+        }
+        try {
+            reader = new PooledConnection(factory.open(true));
+        } catch (SQLException | RuntimeException e) {
+            readerPermits.release();
+            throw e;
+        }
+        readers.add(reader);
+        if (closed) {
+            // Lost a race with close(); don't leave the new connection open
+            reader.close();
+            readerPermits.release();
+            throw new SQLException("The connection pool is closed");
+        }
+        return reader;
+    }
+
+    private void releaseRead() {
+        ReadLease lease = readLease.get();
+        if (lease == null || --lease.depth > 0) {
+            return;
+        }
+        readLease.remove();
+        if (closed) {
+            lease.connection.close();
+        } else {
+            idleReaders.offer(lease.connection);
+        }
+        readerPermits.release();
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("The connection pool is closed");
+        }
+    }
+
+    private static final class ReadLease {
+        final PooledConnection connection;
+        int depth;
+
+        ReadLease(PooledConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * A connection with an LRU cache of its prepared statements. Used by one thread at a time, under
+     * the writer lock or a reader lease.
+     */
+    private static final class PooledConnection {
+
+        final Connection connection;
+        private final LinkedHashMap<String, CachedStatement> statements =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= STATEMENT_CACHE_SIZE) {
+                        return false;
+                    }
+                    // An evicted statement still in use is closed when its lease ends
+                    eldest.getValue().evicted = true;
+                    if (!eldest.getValue().inUse) {
+                        closeQuietly(eldest.getValue().statement);
+                    }
+                    return true;
+                }
+            };
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        PreparedStatement lease(String sql, Runnable release) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached == null) {
+                cached = new CachedStatement(connection.prepareStatement(sql));
+                statements.put(sql, cached);
+            } else if (cached.inUse) {
+                // The same SQL is open further up this thread's stack; give this use its own statement
+                return LeasedStatement.wrap(new CachedStatement(connection.prepareStatement(sql)), false, release);
+            }
+            cached.inUse = true;
+            return LeasedStatement.wrap(cached, true, release);
+        }
+
+        void close() {
+            for (CachedStatement cached : new ArrayList<>(statements.values())) {
+                closeQuietly(cached.statement);
+            }
+            statements.clear();
+            try {
+                if (!connection.isClosed()) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                LOG.log(Level.WARNING, "Error closing SQLite connection", e);
+            }
+        }
+    }
+
+    private static final class CachedStatement {
+        final PreparedStatement statement;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * The statement handed to callers: delegates to the pooled statement, tracks the result sets it
+     * opens, and on close returns the statement to its cache and ends the connection lease.
+     */
+    private static final class LeasedStatement implements InvocationHandler {
+
+        private final CachedStatement cached;
+        private final boolean reusable;
+        private final Runnable release;
+        private final List<ResultSet> resultSets = new ArrayList<>(1);
+        private boolean closed;
+
+        private LeasedStatement(CachedStatement cached, boolean reusable, Runnable release) {
+            this.cached = cached;
+            this.reusable = reusable;
+            this.release = release;
+        }
+
+        static PreparedStatement wrap(CachedStatement cached, boolean reusable, Runnable release) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                new LeasedStatement(cached, reusable, release));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    close();
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "LeasedStatement[" + cached.statement + "]";
+                }
+                default -> {
+                    // fall through to the delegate
+                }
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            Object result;
+            try {
+                result = method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet rs) {
+                resultSets.add(rs);
+            }
+            return result;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                for (ResultSet rs : resultSets) {
+                    closeQuietly(rs);
+                }
+                if (reusable && !cached.evicted && resetQuietly(cached.statement)) {
+                    cached.inUse = false;
+                } else {
+                    cached.inUse = false;
+                    cached.evicted = true;
+                    closeQuietly(cached.statement);
+                }
+            } finally {
+                release.run();
+            }
+        }
+
+        private static boolean resetQuietly(PreparedStatement statement) {
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                return !statement.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Error closing pooled SQLite resource", e);
+        }
+    }
+}
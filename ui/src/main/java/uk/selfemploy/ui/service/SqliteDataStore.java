@@ -12,6 +12,7 @@ import java.sql.*;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -41,20 +42,31 @@ public final class SqliteDataStore {
     private final CredentialEncryption credentialEncryption;
 
     /**
-     * The primary connection: used for schema init/migration, and the sole connection in in-memory
-     * (test) mode. In file mode it also serves the thread that constructed the store.
+     * The primary connection: used for schema init/migration, and the pool's single writer. In
+     * in-memory (test) mode it is the only connection.
      */
     private Connection connection;
 
     /**
-     * File mode only: each thread gets its own connection so concurrent threads (e.g. a background
-     * CSV-import thread writing while the JavaFX thread reads) never share one non-thread-safe
-     * {@link Connection}. In-memory mode keeps the single shared {@link #connection}, since a
-     * {@code :memory:} database is private to its connection.
+     * The writer plus, in file mode, the bounded set of WAL readers behind {@link #prepareRead} and
+     * {@link #prepareWrite}. Replaced on {@link #reopen(DbKey)}.
+     */
+    private volatile SqliteConnectionPool pool;
+
+    /**
+     * Applies queued writes on one writer thread, grouping them into shared transactions. Created
+     * with the pool and closed (after committing what is queued) before it.
+     */
+    private volatile SqliteWriteQueue writeQueue;
+
+    /**
+     * File mode only: the connection {@link #connection()} hands each thread that asks for a raw
+     * connection outside the pool, so concurrent threads never share one non-thread-safe
+     * {@link Connection}.
      */
     private final ThreadLocal<Connection> threadConnection = new ThreadLocal<>();
 
-    /** Every connection handed out, tracked so {@link #close()} can release them all. */
+    /** Every raw per-thread connection handed out, tracked so {@link #close()} can release them all. */
     private final List<Connection> openConnections = new CopyOnWriteArrayList<>();
 
     /**
@@ -109,6 +121,8 @@ public final class SqliteDataStore {
     public synchronized void lock() {
         close();
         connection = null;
+        pool = null;
+        writeQueue = null;
         threadConnection.remove();
         DbKey key;
         if (usesSharedKey) {
@@ -255,7 +269,7 @@ public final class SqliteDataStore {
     /**
      * Opens a raw connection to the database — keyed (SQLCipher) when an encryption key is present,
      * plaintext otherwise. Every seam (primary + per-thread) routes through here so the on-disk cipher
-     * is applied consistently.
+     * and the {@code casefold} SQL function are applied consistently.
      */
     private Connection openRawConnection() throws SQLException {
         String url = inMemory ? "jdbc:sqlite::memory:" : "jdbc:sqlite:" + databasePath.toAbsolutePath();
@@ -268,10 +282,16 @@ public final class SqliteDataStore {
             throw new IllegalStateException(
                     "The database is passphrase-protected but no key has been provisioned; unlock first");
         }
-        if (inMemory || key == null) {
-            return DriverManager.getConnection(url);
+        Connection conn = inMemory || key == null
+            ? DriverManager.getConnection(url)
+            : SqlCipherSupport.openEncrypted(url, key);
+        try {
+            SqliteCaseFold.register(conn);
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw e;
         }
-        return SqlCipherSupport.openEncrypted(url, key);
+        return conn;
     }
 
     /**
@@ -285,11 +305,11 @@ public final class SqliteDataStore {
             configureSqlite();
             new SqliteMigrationRunner(connection).run(migrations());
 
-            if (!inMemory) {
-                // The constructing thread reuses the primary connection; other threads open their own.
-                openConnections.add(connection);
-                threadConnection.set(connection);
-            }
+            // A :memory: database is private to its connection, so the in-memory store has no readers.
+            pool = new SqliteConnectionPool(connection,
+                inMemory ? 0 : SqliteConnectionPool.DEFAULT_READERS, this::openConfiguredConnection);
+            writeQueue = new SqliteWriteQueue(pool,
+                SqliteWriteQueue.DEFAULT_MAX_BATCH, SqliteWriteQueue.DEFAULT_LINGER);
         } catch (SQLException | RuntimeException e) {
             // Includes migration failures (e.g. a missing/unreadable migration resource surfaces as a
             // RuntimeException). Fail fast rather than leaving a silently broken schema that would
@@ -312,7 +332,11 @@ public final class SqliteDataStore {
             SqliteMigrationRunner.java(3, "honest submission history", this::migrateSubmissionHonesty),
             SqliteMigrationRunner.script(4, "import audit trail", "/db/migration-sqlite/V4__import_audit.sql"),
             SqliteMigrationRunner.script(5, "notification state", "/db/migration-sqlite/V5__notification_state.sql"),
-            SqliteMigrationRunner.java(6, "business use share on expenses", this::addBusinessUseColumn)
+            SqliteMigrationRunner.java(6, "business use share on expenses", this::addBusinessUseColumn),
+            SqliteMigrationRunner.script(7, "ledger summary", "/db/migration-sqlite/V7__ledger_summary.sql"),
+            SqliteMigrationRunner.java(8, "ledger summary from existing records", SqliteLedgerSummary::rebuildAll),
+            SqliteMigrationRunner.java(9, "ledger search index", SqliteLedgerSearch::install),
+            SqliteMigrationRunner.script(10, "outbound submission queue", "/db/migration-sqlite/V10__outbound_submissions.sql")
         );
     }
 
@@ -519,7 +543,7 @@ public final class SqliteDataStore {
         if (value == null) {
             // Delete the setting if value is null (to clear it)
             String sql = "DELETE FROM settings WHERE key = ?";
-            try (PreparedStatement pstmt = connection().prepareStatement(sql)) {
+            try (PreparedStatement pstmt = prepareWrite(sql)) {
                 pstmt.setString(1, key);
                 pstmt.executeUpdate();
             } catch (SQLException e) {
@@ -527,7 +551,7 @@ public final class SqliteDataStore {
             }
         } else {
             String sql = "INSERT OR REPLACE INTO settings (key, value) VALUES (?, ?)";
-            try (PreparedStatement pstmt = connection().prepareStatement(sql)) {
+            try (PreparedStatement pstmt = prepareWrite(sql)) {
                 pstmt.setString(1, key);
                 pstmt.setString(2, value);
                 pstmt.executeUpdate();
@@ -539,7 +563,7 @@ public final class SqliteDataStore {
 
     private String loadSetting(String key) {
         String sql = "SELECT value FROM settings WHERE key = ?";
-        try (PreparedStatement pstmt = connection().prepareStatement(sql)) {
+        try (PreparedStatement pstmt = prepareRead(sql)) {
             pstmt.setString(1, key);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -1062,9 +1086,9 @@ public final class SqliteDataStore {
      * Ensures a business record exists for the given ID.
      * Required for FK constraints.
      */
-    public synchronized void ensureBusinessExists(UUID businessId) {
+    public void ensureBusinessExists(UUID businessId) {
         String sql = "INSERT OR IGNORE INTO business (id) VALUES (?)";
-        try (PreparedStatement pstmt = connection().prepareStatement(sql)) {
+        try (PreparedStatement pstmt = prepareWrite(sql)) {
             pstmt.setString(1, businessId.toString());
             pstmt.executeUpdate();
         } catch (SQLException e) {
@@ -1075,11 +1099,19 @@ public final class SqliteDataStore {
     // === Transaction Support ===
 
     /**
-     * Executes a runnable within a transaction.
+     * Executes a runnable within a transaction on the writer, which the calling thread holds
+     * throughout, so every statement the action prepares joins the transaction.
      * Rolls back on any exception.
      */
-    public synchronized boolean executeInTransaction(Runnable action) {
-        Connection conn = connection();
+    public boolean executeInTransaction(Runnable action) {
+        SqliteConnectionPool writerPool = pool();
+        try {
+            writerPool.lockWriter();
+        } catch (SQLException e) {
+            LOG.log(Level.WARNING, "Transaction could not start", e);
+            return false;
+        }
+        Connection conn = writerPool.writerConnection();
         try {
             conn.setAutoCommit(false);
             action.run();
@@ -1099,6 +1131,7 @@ public final class SqliteDataStore {
             } catch (SQLException e) {
                 LOG.log(Level.WARNING, "Failed to restore auto-commit", e);
             }
+            writerPool.unlockWriter();
         }
     }
 
@@ -1114,7 +1147,7 @@ public final class SqliteDataStore {
     /**
      * Returns the current journal mode.
      */
-    public synchronized String getJournalMode() {
+    public String getJournalMode() {
         try (Statement stmt = connection().createStatement();
              ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
             if (rs.next()) {
@@ -1129,7 +1162,7 @@ public final class SqliteDataStore {
     /**
      * Returns true if foreign keys are enabled.
      */
-    public synchronized boolean areForeignKeysEnabled() {
+    public boolean areForeignKeysEnabled() {
         try (Statement stmt = connection().createStatement();
              ResultSet rs = stmt.executeQuery("PRAGMA foreign_keys")) {
             if (rs.next()) {
@@ -1151,17 +1184,24 @@ public final class SqliteDataStore {
     }
 
     /**
-     * Closes every database connection (the primary and every per-thread connection in file mode).
+     * Closes every database connection: the pool's writer and readers, and every raw per-thread
+     * connection in file mode. Writes already queued are committed first.
      */
     public synchronized void close() {
-        if (inMemory) {
-            closeQuietly(connection);
+        SqliteWriteQueue queue = writeQueue;
+        if (queue != null) {
+            queue.close();
+        }
+        SqliteConnectionPool current = pool;
+        if (current != null) {
+            current.close();
         } else {
-            for (Connection conn : openConnections) {
-                closeQuietly(conn);
-            }
-            openConnections.clear();
+            closeQuietly(connection);
+        }
+        for (Connection conn : openConnections) {
+            closeQuietly(conn);
         }
+        openConnections.clear();
         LOG.info("SQLite connection(s) closed");
     }
 
@@ -1176,24 +1216,97 @@ public final class SqliteDataStore {
     }
 
     /**
-     * Returns the SQLite connection the calling thread should use. In file mode each thread gets
-     * its own connection (opened lazily) so concurrent threads never issue statements on a shared,
-     * non-thread-safe {@link Connection}; WAL mode plus {@code busy_timeout} (set on every
+     * Prepares a read on a pooled connection: a WAL reader in file mode, so reads on different
+     * threads run concurrently. The statement holds its connection until closed, and closing it
+     * returns it to that connection's statement cache. A thread holding the writer (inside
+     * {@link #executeInTransaction}) reads through the writer and sees its own uncommitted writes.
+     *
+     * <p>Package-private so collaborating repositories in this package can reach it.</p>
+     */
+    PreparedStatement prepareRead(String sql) throws SQLException {
+        return pool().prepareRead(sql);
+    }
+
+    /**
+     * Prepares a write on the single writer connection, which the calling thread holds until the
+     * statement is closed. Closing it returns it to the writer's statement cache.
+     */
+    PreparedStatement prepareWrite(String sql) throws SQLException {
+        return pool().prepareWrite(sql);
+    }
+
+    /**
+     * Queues a write for the writer thread and waits until it has committed. Writes queued by
+     * several threads around the same time share one transaction; a single thread saving in a loop
+     * still commits once per call, so such a loop should use {@link #submitWrite} and
+     * {@link #flushWrites} instead. A write that fails is rolled back on its own and its exception
+     * rethrown here. Called while holding the writer (inside {@link #executeInTransaction}), the
+     * write runs inline and joins that transaction.
+     */
+    void write(SqliteWriteQueue.Write write) throws SQLException {
+        writeQueue().await(write);
+    }
+
+    /**
+     * Queues a write without waiting for it, so a loop of saves is grouped into a few
+     * transactions. The returned future completes once the write has committed, or exceptionally
+     * with its failure; writes commit in the order they were queued.
+     */
+    CompletableFuture<Void> submitWrite(SqliteWriteQueue.Write write) {
+        return writeQueue().submit(write);
+    }
+
+    /**
+     * Waits until every write queued so far has committed, for a caller of {@link #submitWrite}
+     * that must know its writes are durable before carrying on.
+     */
+    void flushWrites() {
+        writeQueue().flush();
+    }
+
+    private SqliteWriteQueue writeQueue() {
+        pool();
+        SqliteWriteQueue current = writeQueue;
+        if (current == null) {
+            throw new IllegalStateException("The data store failed to initialise");
+        }
+        return current;
+    }
+
+    private SqliteConnectionPool pool() {
+        if (locked) {
+            throw new IllegalStateException("The data store is locked; the app must be unlocked first");
+        }
+        SqliteConnectionPool current = pool;
+        if (current == null) {
+            throw new IllegalStateException("The data store failed to initialise");
+        }
+        return current;
+    }
+
+    /**
+     * Returns a raw SQLite connection for the calling thread, for callers that need one outside
+     * {@link #prepareRead}/{@link #prepareWrite} (schema checks, tests). A thread holding the writer
+     * gets the writer, so its statements join the open transaction. Otherwise, in file mode each
+     * thread gets its own connection (opened lazily) so concurrent threads never issue statements on
+     * a shared, non-thread-safe {@link Connection}; WAL mode plus {@code busy_timeout} (set on every
      * connection) handle reader/writer concurrency across those connections. In-memory mode returns
      * the single shared connection, because a {@code :memory:} database is private per connection.
      *
-     * <p>Package-private so collaborating repositories in this package can reach it.</p>
+     * <p>Not synchronized: the per-thread lookup needs no lock, so background readers never queue on
+     * the store's monitor.</p>
      *
      * @return the connection for this thread, or null if the store failed to initialise
      */
-    synchronized Connection connection() {
+    Connection connection() {
         if (locked) {
             // Refuse loudly. Without this the lazy reopen below would open an unkeyed connection against
             // an encrypted file, and the failure would surface later as an unrelated-looking SQL error.
             throw new IllegalStateException("The data store is locked; the app must be unlocked first");
         }
-        if (inMemory || connection == null) {
-            return connection;
+        SqliteConnectionPool current = pool;
+        if (inMemory || current == null || current.holdsWriter()) {
+            return current != null ? current.writerConnection() : connection;
         }
         Connection conn = threadConnection.get();
         if (conn == null || isClosedQuietly(conn)) {
@@ -1205,25 +1318,40 @@ public final class SqliteDataStore {
     }
 
     /**
-     * Opens a fresh file-mode connection for the calling thread and applies the per-connection
-     * pragmas. WAL is a persistent database-level setting established on the primary connection, so
-     * it is not re-issued here. Falls back to the shared primary connection if opening fails.
+     * Opens a fresh file-mode connection for the calling thread. Falls back to the shared primary
+     * connection if opening fails.
      */
     private Connection openThreadConnection() {
         try {
-            Connection conn = openRawConnection();
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("PRAGMA foreign_keys = ON");
-                stmt.execute("PRAGMA synchronous = NORMAL");
-                stmt.execute("PRAGMA busy_timeout = 5000");
-            }
-            return conn;
+            return openConfiguredConnection(false);
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to open per-thread SQLite connection; using shared connection", e);
             return connection;
         }
     }
 
+    /**
+     * Opens a file-mode connection and applies the per-connection pragmas. WAL is a persistent
+     * database-level setting established on the primary connection, so it is not re-issued here.
+     * Pool readers are additionally made {@code query_only}, so a write routed to one by mistake
+     * fails instead of contending with the writer.
+     */
+    private Connection openConfiguredConnection(boolean readOnly) throws SQLException {
+        Connection conn = openRawConnection();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA busy_timeout = 5000");
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw e;
+        }
+        return conn;
+    }
+
     private static boolean isClosedQuietly(Connection conn) {
         try {
             return conn.isClosed();
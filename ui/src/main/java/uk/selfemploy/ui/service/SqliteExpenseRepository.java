@@ -3,6 +3,7 @@ package uk.selfemploy.ui.service;
 import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.core.profit.CategorySpend;
 import uk.selfemploy.ui.service.sql.NamedSql;
 
 import java.math.BigDecimal;
@@ -11,11 +12,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -36,6 +40,7 @@ public class SqliteExpenseRepository implements ExpenseRepository {
 
     private final SqliteDataStore dataStore;
     private final UUID businessId;
+    private final SqliteLedgerSummary summary;
 
     public SqliteExpenseRepository(UUID businessId) {
         this(businessId, SqliteDataStore.getInstance());
@@ -54,6 +59,7 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         }
         this.businessId = businessId;
         this.dataStore = dataStore;
+        this.summary = new SqliteLedgerSummary(dataStore);
         dataStore.ensureBusinessExists(businessId);
     }
 
@@ -62,17 +68,8 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         if (expense == null) {
             throw new IllegalArgumentException("Expense cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("insertExpense"))) {
-            pstmt.setString(1, expense.id().toString());
-            pstmt.setString(2, expense.businessId().toString());
-            pstmt.setString(3, expense.date().toString());
-            pstmt.setString(4, expense.amount().toPlainString());
-            pstmt.setString(5, expense.description());
-            pstmt.setString(6, expense.category().name());
-            pstmt.setString(7, expense.receiptPath());
-            pstmt.setString(8, expense.notes());
-            pstmt.setInt(9, expense.businessUsePercentage());
-            pstmt.executeUpdate();
+        try {
+            dataStore.write(() -> insert(expense));
             LOG.fine("Saved expense: " + expense.id());
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to save expense: " + expense.id(), e);
@@ -81,12 +78,30 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         return expense;
     }
 
+    @Override
+    public void saveAll(List<Expense> expenses) {
+        if (expenses == null || expenses.isEmpty()) {
+            return;
+        }
+        try {
+            dataStore.write(() -> {
+                for (Expense expense : expenses) {
+                    insert(expense);
+                }
+            });
+            LOG.fine("Saved " + expenses.size() + " expenses");
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to save " + expenses.size() + " expenses", e);
+            throw new DataStoreException("Failed to save expenses", e);
+        }
+    }
+
     @Override
     public Optional<Expense> findById(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("Expense ID cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("findExpenseById"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("findExpenseById"))) {
             pstmt.setString(1, id.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -101,7 +116,7 @@ public class SqliteExpenseRepository implements ExpenseRepository {
     @Override
     public List<Expense> findAll() {
         List<Expense> expenses = new ArrayList<>();
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("findExpensesByBusiness"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("findExpensesByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -128,7 +143,7 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         }
         List<Expense> expenses = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findExpensesByBusinessAndDateRange"))) {
+                 dataStore.prepareRead(SQL.get("findExpensesByBusinessAndDateRange"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setString(2, startDate.toString());
             pstmt.setString(3, endDate.toString());
@@ -152,53 +167,58 @@ public class SqliteExpenseRepository implements ExpenseRepository {
             .collect(Collectors.toList());
     }
 
+    /** Reads a total the query added up in whole pence, as pounds to two decimal places. */
+    private static BigDecimal pounds(ResultSet rs, String column) throws SQLException {
+        return BigDecimal.valueOf(rs.getLong(column), 2);
+    }
+
     /**
-     * Adds up an amount-per-row result exactly.
+     * One category and business-use share group, totalled by the query in pence.
      *
-     * <p>The amounts are stored as text because SQLite has no decimal type. Letting SQLite add them
-     * up coerces them to floating point, where three amounts of 10.10 come to 30.299999999999997 and
-     * the error grows with the number of records. These are the figures a tax return is built from,
-     * so they are added in {@link BigDecimal}.
+     * <p>The query apportions each expense and rounds it to the penny before adding, so the claim
+     * is the sum of the figures shown against the individual expenses. Whether the category may be
+     * claimed at all is the category's own answer rather than a filter in SQL; a group that may not
+     * be claimed claims nothing and every record in it counts as unclaimed.
      */
-    private static BigDecimal sumAmounts(PreparedStatement pstmt) throws SQLException {
-        BigDecimal total = BigDecimal.ZERO;
-        try (ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                String amount = rs.getString(1);
-                if (amount != null && !amount.isBlank()) {
-                    total = total.add(new BigDecimal(amount));
-                }
+    private record ClaimGroup(ExpenseCategory category, int records, BigDecimal spent,
+                              BigDecimal claimable, int claimed, int unclaimed) {
+
+        static ClaimGroup read(ResultSet rs) throws SQLException {
+            ExpenseCategory category = ExpenseCategory.valueOf(rs.getString("category"));
+            int records = rs.getInt("records");
+            BigDecimal spent = pounds(rs, "spent_pence");
+            if (!category.isAllowable()) {
+                return new ClaimGroup(category, records, spent, BigDecimal.ZERO.setScale(2), 0, records);
             }
+            return new ClaimGroup(category, records, spent, pounds(rs, "share_pence"),
+                rs.getInt("sharing_records"), rs.getInt("partial_records"));
         }
-        return total;
     }
 
     /**
-     * Adds up the claimable part of each row, as the expense itself defines it.
-     *
-     * <p>Each share is rounded to the penny before being added, so the total is the sum of the
-     * figures shown against the individual expenses; apportioning the total instead gives a number
-     * that does not match its own breakdown. Allowability is decided by the expense rather than by
-     * a category filter in SQL, because the database cannot see the business-use share and two
-     * places deciding one question is how they come to disagree.
-     *
-     * <p>A row that cannot be read - a blank amount, or a category written by a newer version - is
-     * skipped rather than thrown, so one bad row cannot take down the dashboard and the submission
-     * screen. The query this replaced behaved the same way.
+     * The claim groups of a date range. A group whose category cannot be read - one written by a
+     * newer version - is skipped rather than thrown, so one bad row cannot take down the dashboard
+     * and the submission screen.
      */
-    private BigDecimal sumBusinessUseShares(PreparedStatement pstmt) throws SQLException {
-        BigDecimal total = BigDecimal.ZERO;
-        try (ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                try {
-                    total = total.add(mapExpense(rs).allowableAmount());
-                } catch (RuntimeException unreadableRow) {
-                    LOG.log(Level.WARNING, "Skipping an unreadable expense row while totalling",
-                        unreadableRow);
+    private List<ClaimGroup> claimGroups(LocalDate startDate, LocalDate endDate) throws SQLException {
+        List<ClaimGroup> groups = new ArrayList<>();
+        try (PreparedStatement pstmt =
+                 dataStore.prepareRead(SQL.get("selectExpenseClaimPenceByBusinessAndDateRange"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.setString(2, startDate.toString());
+            pstmt.setString(3, endDate.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        groups.add(ClaimGroup.read(rs));
+                    } catch (RuntimeException unreadableGroup) {
+                        LOG.log(Level.WARNING, "Skipping an unreadable expense group while totalling",
+                            unreadableGroup);
+                    }
                 }
             }
         }
-        return total;
+        return groups;
     }
 
     @Override
@@ -214,12 +234,14 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         if (startDate == null || endDate == null) {
             throw new IllegalArgumentException("Start date and end date cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection()
-                 .prepareStatement(SQL.get("selectExpenseAmountsByBusinessAndDateRange"))) {
+        try (PreparedStatement pstmt =
+                 dataStore.prepareRead(SQL.get("selectExpenseTotalPenceByBusinessAndDateRange"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setString(2, startDate.toString());
             pstmt.setString(3, endDate.toString());
-            return sumAmounts(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? pounds(rs, "pence") : BigDecimal.ZERO;
+            }
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to calculate total expenses", e);
         }
@@ -239,12 +261,12 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         if (startDate == null || endDate == null) {
             throw new IllegalArgumentException("Start date and end date cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection()
-                 .prepareStatement(SQL.get("findExpensesByBusinessAndDateRange"))) {
-            pstmt.setString(1, businessId.toString());
-            pstmt.setString(2, startDate.toString());
-            pstmt.setString(3, endDate.toString());
-            return sumBusinessUseShares(pstmt);
+        try {
+            BigDecimal total = BigDecimal.ZERO;
+            for (ClaimGroup group : claimGroups(startDate, endDate)) {
+                total = total.add(group.claimable());
+            }
+            return total;
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to calculate allowable expenses", e);
         }
@@ -256,11 +278,167 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         if (taxYear == null) {
             throw new IllegalArgumentException("Tax year cannot be null");
         }
-        return findByTaxYear(taxYear).stream()
-            .collect(Collectors.groupingBy(
-                Expense::category,
-                        Collectors.reducing(BigDecimal.ZERO, Expense::allowableAmount, BigDecimal::add)
-            ));
+        Map<ExpenseCategory, BigDecimal> totals = new EnumMap<>(ExpenseCategory.class);
+        summary.expenses(businessId, taxYear, null)
+            .forEach((category, line) -> totals.put(category, line.claimable()));
+        return totals;
+    }
+
+    @Override
+    public Map<ExpenseCategory, CategorySpend> getCategorySpendForDateRange(LocalDate startDate,
+                                                                           LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        Map<ExpenseCategory, CategorySpend> spend = new EnumMap<>(ExpenseCategory.class);
+        try {
+            for (ClaimGroup group : claimGroups(startDate, endDate)) {
+                spend.merge(group.category(), new CategorySpend(group.spent(), group.claimable()),
+                    (existing, added) -> existing.plus(added.spent(), added.claimable()));
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to total expenses by category", e);
+        }
+        return spend;
+    }
+
+    @Override
+    public Map<YearMonth, BigDecimal> getMonthlyTotalsForDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        Map<YearMonth, BigDecimal> totals = new TreeMap<>();
+        try (PreparedStatement pstmt =
+                 dataStore.prepareRead(SQL.get("selectExpenseMonthlyPenceByBusinessAndDateRange"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.setString(2, startDate.toString());
+            pstmt.setString(3, endDate.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(YearMonth.parse(rs.getString("month")), pounds(rs, "pence"));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to total expenses by month", e);
+        }
+        return totals;
+    }
+
+    @Override
+    public List<Expense> findRecentInDateRange(LocalDate startDate, LocalDate endDate, int limit) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        List<Expense> expenses = new ArrayList<>();
+        try (PreparedStatement pstmt =
+                 dataStore.prepareRead(SQL.get("findRecentExpensesByBusinessAndDateRange"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.setString(2, startDate.toString());
+            pstmt.setString(3, endDate.toString());
+            pstmt.setInt(4, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                expenses.add(mapExpense(rs));
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to find recent expenses", e);
+        }
+        return expenses;
+    }
+
+    /**
+     * Counted from the same category and business-use groups as the category spend, with each
+     * expense's share rounded as it is claimed, so the counts agree with the money on the summary
+     * cards.
+     */
+    @Override
+    public ClaimCounts countClaimsForDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        int records = 0;
+        int claimed = 0;
+        int unclaimed = 0;
+        try {
+            for (ClaimGroup group : claimGroups(startDate, endDate)) {
+                records += group.records();
+                claimed += group.claimed();
+                unclaimed += group.unclaimed();
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to count expense claims", e);
+            return ClaimCounts.NONE;
+        }
+        return new ClaimCounts(records, claimed, unclaimed);
+    }
+
+    @Override
+    public LedgerPage<Expense> findPageInDateRange(LocalDate startDate, LocalDate endDate,
+                                                   LedgerQuery<ExpenseCategory> query, LedgerQuery.Cursor after,
+                                                   int limit) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String statement = switch (query.sort()) {
+            case DATE -> query.ascending() ? "findExpensePageByDateAsc" : "findExpensePageByDateDesc";
+            case AMOUNT -> query.ascending() ? "findExpensePageByAmountAsc" : "findExpensePageByAmountDesc";
+            case CLIENT_NAME -> throw new IllegalArgumentException("Expenses have no client to sort by");
+        };
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get(statement))) {
+            int next = bindListFilter(pstmt, startDate, endDate, query);
+            String sortKey = after != null ? after.sortKey() : null;
+            pstmt.setString(next++, sortKey);
+            pstmt.setString(next++, sortKey);
+            pstmt.setString(next++, after != null ? after.id().toString() : null);
+            pstmt.setInt(next, limit + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return LedgerPage.read(rs, limit, this::mapExpense);
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to read a page of expenses", e);
+            throw new DataStoreException("Failed to read a page of expenses", e);
+        }
+    }
+
+    @Override
+    public int countMatchingInDateRange(LocalDate startDate, LocalDate endDate,
+                                        LedgerQuery<ExpenseCategory> query) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("countExpensesMatching"))) {
+            bindListFilter(pstmt, startDate, endDate, query);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to count matching expenses", e);
+            throw new DataStoreException("Failed to count matching expenses", e);
+        }
+    }
+
+    /** Binds the parameters the list statements share; returns the index of the next one. */
+    private int bindListFilter(PreparedStatement pstmt, LocalDate startDate, LocalDate endDate,
+                               LedgerQuery<ExpenseCategory> query) throws SQLException {
+        String term = query.searchTerm();
+        String category = query.filter() != null ? query.filter().name() : null;
+        pstmt.setString(1, businessId.toString());
+        pstmt.setString(2, startDate.toString());
+        pstmt.setString(3, endDate.toString());
+        pstmt.setString(4, term);
+        pstmt.setString(5, term);
+        pstmt.setString(6, category);
+        pstmt.setString(7, category);
+        return 8;
     }
 
     @Override
@@ -268,9 +446,19 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         if (id == null) {
             throw new IllegalArgumentException("Expense ID cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("deleteExpenseById"))) {
-            pstmt.setString(1, id.toString());
-            return pstmt.executeUpdate() > 0;
+        boolean[] deleted = {false};
+        try {
+            dataStore.write(() -> {
+                Optional<Expense> previous = load(id);
+                try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("deleteExpenseById"))) {
+                    pstmt.setString(1, id.toString());
+                    deleted[0] = pstmt.executeUpdate() > 0;
+                }
+                if (deleted[0] && previous.isPresent()) {
+                    summary.removed(previous.get());
+                }
+            });
+            return deleted[0];
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to delete expense: " + id, e);
             return false;
@@ -279,7 +467,7 @@ public class SqliteExpenseRepository implements ExpenseRepository {
 
     @Override
     public long count() {
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("countExpensesByBusiness"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("countExpensesByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -296,6 +484,46 @@ public class SqliteExpenseRepository implements ExpenseRepository {
         return businessId;
     }
 
+    /**
+     * Writes one expense row and moves the ledger summary with it: a replaced row's contribution is
+     * taken off before the new one is added. Runs inside a write.
+     */
+    private void insert(Expense expense) throws SQLException {
+        Optional<Expense> previous = load(expense.id());
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("insertExpense"))) {
+            pstmt.setString(1, expense.id().toString());
+            pstmt.setString(2, expense.businessId().toString());
+            pstmt.setString(3, expense.date().toString());
+            pstmt.setString(4, expense.amount().toPlainString());
+            pstmt.setString(5, expense.description());
+            pstmt.setString(6, expense.category().name());
+            pstmt.setString(7, expense.receiptPath());
+            pstmt.setString(8, expense.notes());
+            pstmt.setInt(9, expense.businessUsePercentage());
+            pstmt.executeUpdate();
+        }
+        if (previous.isPresent()) {
+            summary.removed(previous.get());
+        }
+        summary.added(expense);
+    }
+
+    /**
+     * Reads a row on the writer, so it sees this write's own changes. A row that cannot be read was
+     * never counted in the summary, so it is treated as absent.
+     */
+    private Optional<Expense> load(UUID id) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("findExpenseById"))) {
+            pstmt.setString(1, id.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? Optional.of(mapExpense(rs)) : Optional.empty();
+            } catch (RuntimeException unreadableRow) {
+                LOG.log(Level.WARNING, "Replacing an unreadable expense row: " + id, unreadableRow);
+                return Optional.empty();
+            }
+        }
+    }
+
     private Expense mapExpense(ResultSet rs) throws SQLException {
         return new Expense(
             UUID.fromString(rs.getString("id")),
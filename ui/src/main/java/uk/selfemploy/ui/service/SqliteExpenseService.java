@@ -5,25 +5,34 @@ import uk.selfemploy.common.domain.Quarter;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.core.exception.ValidationException;
+import uk.selfemploy.core.profit.CategorySpend;
 import uk.selfemploy.core.service.ExpenseService;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * SQLite-backed implementation of ExpenseService.
  * All operations go directly to the SQLite database - no in-memory caching.
  * This ensures data is never lost.
  */
-public class SqliteExpenseService extends ExpenseService {
+public class SqliteExpenseService extends ExpenseService implements LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts> {
+
+    /** How many rows {@link #forEachInTaxYear} reads per page. */
+    static final int STREAM_PAGE_SIZE = 500;
 
     private final SqliteExpenseRepository repository;
     private final UUID businessId;
+    private final SqliteLedgerSummary summary;
+    private final SqliteLedgerSearch ledgerSearch;
 
     public SqliteExpenseService(UUID businessId) {
         super();
@@ -32,6 +41,8 @@ public class SqliteExpenseService extends ExpenseService {
         }
         this.businessId = businessId;
         this.repository = new SqliteExpenseRepository(businessId);
+        this.summary = new SqliteLedgerSummary();
+        this.ledgerSearch = new SqliteLedgerSearch();
     }
 
     @Override
@@ -46,7 +57,24 @@ public class SqliteExpenseService extends ExpenseService {
 
         Expense expense = Expense.create(businessId, date, amount, description, category, receiptPath, notes)
                 .withBusinessUsePercentage(businessUsePercentage);
-        return repository.save(expense);
+        return saved(repository.save(expense));
+    }
+
+    /**
+     * Validates every draft, then saves them in one batched write, keeping their ids.
+     */
+    @Override
+    public List<Expense> createAll(List<Expense> drafts) {
+        for (Expense draft : drafts) {
+            validateBusinessId(draft.businessId());
+            validateDate(draft.date());
+            validateAmount(draft.amount());
+            validateDescription(draft.description());
+            validateCategory(draft.category());
+        }
+        repository.saveAll(drafts);
+        drafts.forEach(SqliteExpenseService::saved);
+        return List.copyOf(drafts);
     }
 
     @Override
@@ -89,15 +117,15 @@ public class SqliteExpenseService extends ExpenseService {
                 existingExpense.businessUsePercentage()
         );
 
-        return repository.save(updatedExpense);
+        return saved(repository.save(updatedExpense));
     }
 
     @Override
     public Expense update(UUID id, LocalDate date, BigDecimal amount,
                           String description, ExpenseCategory category,
                           String receiptPath, String notes, int businessUsePercentage) {
-        return repository.save(update(id, date, amount, description, category, receiptPath, notes)
-                .withBusinessUsePercentage(businessUsePercentage));
+        return saved(repository.save(update(id, date, amount, description, category, receiptPath, notes)
+                .withBusinessUsePercentage(businessUsePercentage)));
     }
 
     @Override
@@ -105,7 +133,11 @@ public class SqliteExpenseService extends ExpenseService {
         if (id == null) {
             throw new ValidationException("id", "Expense id cannot be null");
         }
-        return repository.delete(id);
+        boolean deleted = repository.delete(id);
+        if (deleted) {
+            LedgerChangeEvents.expenseDeleted(id);
+        }
+        return deleted;
     }
 
     @Override
@@ -117,6 +149,59 @@ public class SqliteExpenseService extends ExpenseService {
         return repository.findByTaxYear(taxYear);
     }
 
+    /**
+     * Reads the tax year a page at a time through {@link #findPage}, so only one page is held.
+     */
+    @Override
+    public void forEachInTaxYear(UUID businessId, TaxYear taxYear, Consumer<? super Expense> action) {
+        validateBusinessId(businessId);
+        LedgerQuery<ExpenseCategory> oldestFirst =
+                LedgerQuery.<ExpenseCategory>newestFirst().sortedBy(LedgerQuery.Sort.DATE, true);
+        LedgerQuery.Cursor after = null;
+        do {
+            LedgerPage<Expense> page = findPage(taxYear, oldestFirst, after, STREAM_PAGE_SIZE);
+            page.items().forEach(action);
+            after = page.next();
+        } while (after != null);
+    }
+
+    /**
+     * Read from the ledger summary, whose claims were taken per expense by
+     * {@link Expense#allowableAmount(BigDecimal, ExpenseCategory, int)} as each one was saved.
+     */
+    @Override
+    public Map<ExpenseCategory, CategorySpend> getCategorySpend(UUID businessId, TaxYear taxYear) {
+        validateBusinessId(businessId);
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        Map<ExpenseCategory, CategorySpend> spend = new EnumMap<>(ExpenseCategory.class);
+        summary.expenses(this.businessId, taxYear, null)
+            .forEach((category, line) -> spend.put(category, new CategorySpend(line.amount(), line.claimable())));
+        return spend;
+    }
+
+    /**
+     * Grouped by month in SQL, so the dashboard reads one row per month, not one per record.
+     */
+    @Override
+    public Map<YearMonth, BigDecimal> getMonthlyTotals(UUID businessId, TaxYear taxYear) {
+        validateBusinessId(businessId);
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.getMonthlyTotalsForDateRange(taxYear.startDate(), taxYear.endDate());
+    }
+
+    @Override
+    public List<Expense> findRecent(UUID businessId, TaxYear taxYear, int limit) {
+        validateBusinessId(businessId);
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.findRecentInDateRange(taxYear.startDate(), taxYear.endDate(), limit);
+    }
+
     @Override
     public List<Expense> findByCategory(UUID businessId, ExpenseCategory category) {
         validateBusinessId(businessId);
@@ -160,7 +245,11 @@ public class SqliteExpenseService extends ExpenseService {
         if (quarter == null) {
             throw new ValidationException("quarter", "Quarter cannot be null");
         }
-        return repository.getAllowableTotalForDateRange(quarter.getStartDate(taxYear), quarter.getEndDate(taxYear));
+        BigDecimal total = BigDecimal.ZERO;
+        for (SqliteLedgerSummary.Line line : summary.expenses(this.businessId, taxYear, quarter).values()) {
+            total = total.add(line.claimable());
+        }
+        return total;
     }
 
     /**
@@ -202,12 +291,10 @@ public class SqliteExpenseService extends ExpenseService {
         if (quarter == null) {
             throw new ValidationException("quarter", "Quarter cannot be null");
         }
-        List<Expense> expenses = repository.findByDateRange(quarter.getStartDate(taxYear), quarter.getEndDate(taxYear));
-        return expenses.stream()
-                .collect(Collectors.groupingBy(
-                        Expense::category,
-                        Collectors.reducing(BigDecimal.ZERO, Expense::allowableAmount, BigDecimal::add)
-                ));
+        Map<ExpenseCategory, BigDecimal> totals = new EnumMap<>(ExpenseCategory.class);
+        summary.expenses(this.businessId, taxYear, quarter)
+                .forEach((category, line) -> totals.put(category, line.claimable()));
+        return totals;
     }
 
     /**
@@ -221,6 +308,50 @@ public class SqliteExpenseService extends ExpenseService {
         return repository.getTotalsByCategoryForTaxYear(taxYear);
     }
 
+    @Override
+    public LedgerPage<Expense> findPage(TaxYear taxYear, LedgerQuery<ExpenseCategory> query,
+                                        LedgerQuery.Cursor after, int limit) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.findPageInDateRange(taxYear.startDate(), taxYear.endDate(), query, after, limit);
+    }
+
+    @Override
+    public int countMatching(TaxYear taxYear, LedgerQuery<ExpenseCategory> query) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.countMatchingInDateRange(taxYear.startDate(), taxYear.endDate(), query);
+    }
+
+    /**
+     * The tax year's expenses best matching the text, from the full-text index. Each hit is read by
+     * its id, so this costs at most {@code limit} lookups by key; a record deleted since the
+     * search ran is left out.
+     */
+    @Override
+    public List<Match<Expense>> search(TaxYear taxYear, String text, int limit) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        List<Match<Expense>> matches = new ArrayList<>();
+        for (SqliteLedgerSearch.Hit hit : ledgerSearch.search(businessId, text, SqliteLedgerSearch.Ledger.EXPENSE,
+                taxYear.startDate(), taxYear.endDate(), limit)) {
+            repository.findById(hit.recordId()).ifPresent(found -> matches.add(new Match<>(found, hit.snippet())));
+        }
+        return matches;
+    }
+
+    /** How many of the tax year's expenses claim something, and how many leave something unclaimed. */
+    @Override
+    public ExpenseRepository.ClaimCounts summarise(TaxYear taxYear) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.countClaimsForDateRange(taxYear.startDate(), taxYear.endDate());
+    }
+
     /**
      * Returns the count of all expenses.
      */
@@ -235,4 +366,8 @@ public class SqliteExpenseService extends ExpenseService {
         return businessId;
     }
 
+    private static Expense saved(Expense expense) {
+        LedgerChangeEvents.expenseSaved(expense);
+        return expense;
+    }
 }
@@ -22,6 +22,11 @@ import java.util.stream.Collectors;
  */
 public class SqliteImportAuditRepository {
 
+    private static final String UPSERT_SQL = "INSERT OR REPLACE INTO import_audit "
+        + "(id, business_id, import_timestamp, file_name, file_hash, import_type, "
+        + "total_records, imported_count, skipped_count, record_ids, status, undone_at, undone_by) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final SqliteDataStore dataStore;
 
     public SqliteImportAuditRepository() {
@@ -30,11 +35,31 @@ public class SqliteImportAuditRepository {
 
     /** Inserts or replaces an audit record. */
     public void save(ImportAudit audit) {
-        String sql = "INSERT OR REPLACE INTO import_audit "
-            + "(id, business_id, import_timestamp, file_name, file_hash, import_type, "
-            + "total_records, imported_count, skipped_count, record_ids, status, undone_at, undone_by) "
-            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = dataStore.connection().prepareStatement(sql)) {
+        try {
+            dataStore.write(() -> upsert(audit));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to save import audit " + audit.id(), e);
+        }
+    }
+
+    /** Inserts or replaces several audit records in one write. */
+    public void saveAll(List<ImportAudit> audits) {
+        if (audits == null || audits.isEmpty()) {
+            return;
+        }
+        try {
+            dataStore.write(() -> {
+                for (ImportAudit audit : audits) {
+                    upsert(audit);
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to save " + audits.size() + " import audits", e);
+        }
+    }
+
+    private void upsert(ImportAudit audit) throws SQLException {
+        try (PreparedStatement ps = dataStore.prepareWrite(UPSERT_SQL)) {
             ps.setString(1, audit.id().toString());
             ps.setString(2, audit.businessId().toString());
             ps.setString(3, audit.importTimestamp().toString());
@@ -49,8 +74,6 @@ public class SqliteImportAuditRepository {
             ps.setString(12, audit.undoneAt() != null ? audit.undoneAt().toString() : null);
             ps.setString(13, audit.undoneBy());
             ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new IllegalStateException("Failed to save import audit " + audit.id(), e);
         }
     }
 
@@ -58,7 +81,7 @@ public class SqliteImportAuditRepository {
     public List<ImportAudit> findByBusinessId(UUID businessId) {
         String sql = "SELECT * FROM import_audit WHERE business_id = ? ORDER BY import_timestamp DESC";
         List<ImportAudit> results = new ArrayList<>();
-        try (PreparedStatement ps = dataStore.connection().prepareStatement(sql)) {
+        try (PreparedStatement ps = dataStore.prepareRead(sql)) {
             ps.setString(1, businessId.toString());
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
@@ -73,7 +96,7 @@ public class SqliteImportAuditRepository {
 
     public Optional<ImportAudit> findById(UUID id) {
         String sql = "SELECT * FROM import_audit WHERE id = ?";
-        try (PreparedStatement ps = dataStore.connection().prepareStatement(sql)) {
+        try (PreparedStatement ps = dataStore.prepareRead(sql)) {
             ps.setString(1, id.toString());
             try (ResultSet rs = ps.executeQuery()) {
                 return rs.next() ? Optional.of(map(rs)) : Optional.empty();
@@ -86,7 +109,7 @@ public class SqliteImportAuditRepository {
     /** Updates an import's status (e.g. to UNDONE), recording who undid it and when. */
     public boolean updateStatus(UUID id, ImportAuditStatus status, Instant undoneAt, String undoneBy) {
         String sql = "UPDATE import_audit SET status = ?, undone_at = ?, undone_by = ? WHERE id = ?";
-        try (PreparedStatement ps = dataStore.connection().prepareStatement(sql)) {
+        try (PreparedStatement ps = dataStore.prepareWrite(sql)) {
             ps.setString(1, status.name());
             ps.setString(2, undoneAt != null ? undoneAt.toString() : null);
             ps.setString(3, undoneBy);
@@ -11,9 +11,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,6 +38,7 @@ public class SqliteIncomeRepository implements IncomeRepository {
 
     private final SqliteDataStore dataStore;
     private final UUID businessId;
+    private final SqliteLedgerSummary summary;
 
     public SqliteIncomeRepository(UUID businessId) {
         if (businessId == null) {
@@ -41,6 +46,7 @@ public class SqliteIncomeRepository implements IncomeRepository {
         }
         this.businessId = businessId;
         this.dataStore = SqliteDataStore.getInstance();
+        this.summary = new SqliteLedgerSummary(dataStore);
         dataStore.ensureBusinessExists(businessId);
     }
 
@@ -49,17 +55,8 @@ public class SqliteIncomeRepository implements IncomeRepository {
         if (income == null) {
             throw new IllegalArgumentException("Income cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("insertIncome"))) {
-            pstmt.setString(1, income.id().toString());
-            pstmt.setString(2, income.businessId().toString());
-            pstmt.setString(3, income.date().toString());
-            pstmt.setString(4, income.amount().toPlainString());
-            pstmt.setString(5, income.description());
-            pstmt.setString(6, income.category().name());
-            pstmt.setString(7, income.reference());
-            pstmt.setString(8, income.clientName());
-            pstmt.setString(9, income.status() != null ? income.status().name() : IncomeStatus.PAID.name());
-            pstmt.executeUpdate();
+        try {
+            dataStore.write(() -> insert(income));
             LOG.fine("Saved income: " + income.id());
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to save income: " + income.id(), e);
@@ -68,12 +65,30 @@ public class SqliteIncomeRepository implements IncomeRepository {
         return income;
     }
 
+    @Override
+    public void saveAll(List<Income> incomes) {
+        if (incomes == null || incomes.isEmpty()) {
+            return;
+        }
+        try {
+            dataStore.write(() -> {
+                for (Income income : incomes) {
+                    insert(income);
+                }
+            });
+            LOG.fine("Saved " + incomes.size() + " income entries");
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to save " + incomes.size() + " income entries", e);
+            throw new DataStoreException("Failed to save income entries", e);
+        }
+    }
+
     @Override
     public Optional<Income> findById(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("Income ID cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("findIncomeById"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("findIncomeById"))) {
             pstmt.setString(1, id.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -88,7 +103,7 @@ public class SqliteIncomeRepository implements IncomeRepository {
     @Override
     public List<Income> findAll() {
         List<Income> result = new ArrayList<>();
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("findIncomeByBusiness"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("findIncomeByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -115,7 +130,7 @@ public class SqliteIncomeRepository implements IncomeRepository {
         }
         List<Income> result = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findIncomeByBusinessAndDateRange"))) {
+                 dataStore.prepareRead(SQL.get("findIncomeByBusinessAndDateRange"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setString(2, startDate.toString());
             pstmt.setString(3, endDate.toString());
@@ -153,25 +168,165 @@ public class SqliteIncomeRepository implements IncomeRepository {
             throw new IllegalArgumentException("Start date and end date cannot be null");
         }
         try (PreparedStatement pstmt =
-                 dataStore.connection()
-                     .prepareStatement(SQL.get("selectIncomeAmountsByBusinessAndDateRange"))) {
+                 dataStore.prepareRead(SQL.get("selectIncomeTotalPenceByBusinessAndDateRange"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.setString(2, startDate.toString());
+            pstmt.setString(3, endDate.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? pounds(rs, "pence") : BigDecimal.ZERO;
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to calculate total income", e);
+        }
+        return BigDecimal.ZERO;
+    }
+
+    @Override
+    public Map<YearMonth, BigDecimal> getMonthlyTotalsForDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        Map<YearMonth, BigDecimal> totals = new TreeMap<>();
+        try (PreparedStatement pstmt =
+                 dataStore.prepareRead(SQL.get("selectIncomeMonthlyPenceByBusinessAndDateRange"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setString(2, startDate.toString());
             pstmt.setString(3, endDate.toString());
-            BigDecimal total = BigDecimal.ZERO;
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    String amount = rs.getString(1);
-                    if (amount != null && !amount.isBlank()) {
-                        total = total.add(new BigDecimal(amount));
+                    totals.put(YearMonth.parse(rs.getString("month")), pounds(rs, "pence"));
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to total income by month", e);
+        }
+        return totals;
+    }
+
+    @Override
+    public List<Income> findRecentInDateRange(LocalDate startDate, LocalDate endDate, int limit) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        List<Income> incomes = new ArrayList<>();
+        try (PreparedStatement pstmt =
+                 dataStore.prepareRead(SQL.get("findRecentIncomeByBusinessAndDateRange"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.setString(2, startDate.toString());
+            pstmt.setString(3, endDate.toString());
+            pstmt.setInt(4, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                incomes.add(mapIncome(rs));
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to find recent income", e);
+        }
+        return incomes;
+    }
+
+    @Override
+    public Map<IncomeStatus, SqliteLedgerSummary.Line> getStatusTotalsForDateRange(LocalDate startDate,
+                                                                                  LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        Map<IncomeStatus, SqliteLedgerSummary.Line> totals = new EnumMap<>(IncomeStatus.class);
+        try (PreparedStatement pstmt =
+                 dataStore.prepareRead(SQL.get("selectIncomeStatusPenceByBusinessAndDateRange"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.setString(2, startDate.toString());
+            pstmt.setString(3, endDate.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        BigDecimal amount = pounds(rs, "pence");
+                        SqliteLedgerSummary.Line line =
+                            new SqliteLedgerSummary.Line(rs.getInt("records"), amount, amount);
+                        totals.merge(parseIncomeStatus(rs.getString("status")), line, SqliteLedgerSummary.Line::plus);
+                    } catch (RuntimeException unreadableGroup) {
+                        LOG.log(Level.WARNING, "Skipping an unreadable income status total", unreadableGroup);
                     }
                 }
             }
-            return total;
         } catch (SQLException e) {
-            LOG.log(Level.SEVERE, "Failed to calculate total income", e);
+            LOG.log(Level.SEVERE, "Failed to total income by status", e);
+        }
+        return totals;
+    }
+
+    @Override
+    public LedgerPage<Income> findPageInDateRange(LocalDate startDate, LocalDate endDate,
+                                                  LedgerQuery<IncomeStatus> query, LedgerQuery.Cursor after,
+                                                  int limit) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        String statement = switch (query.sort()) {
+            case DATE -> query.ascending() ? "findIncomePageByDateAsc" : "findIncomePageByDateDesc";
+            case AMOUNT -> query.ascending() ? "findIncomePageByAmountAsc" : "findIncomePageByAmountDesc";
+            case CLIENT_NAME -> query.ascending() ? "findIncomePageByClientAsc" : "findIncomePageByClientDesc";
+        };
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get(statement))) {
+            int next = bindListFilter(pstmt, startDate, endDate, query);
+            String sortKey = after != null ? after.sortKey() : null;
+            pstmt.setString(next++, sortKey);
+            pstmt.setString(next++, sortKey);
+            pstmt.setString(next++, after != null ? after.id().toString() : null);
+            pstmt.setInt(next, limit + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return LedgerPage.read(rs, limit, this::mapIncome);
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to read a page of income", e);
+            throw new DataStoreException("Failed to read a page of income", e);
         }
-        return BigDecimal.ZERO;
+    }
+
+    @Override
+    public int countMatchingInDateRange(LocalDate startDate, LocalDate endDate, LedgerQuery<IncomeStatus> query) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date cannot be null");
+        }
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("countIncomeMatching"))) {
+            bindListFilter(pstmt, startDate, endDate, query);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to count matching income", e);
+            throw new DataStoreException("Failed to count matching income", e);
+        }
+    }
+
+    /** Binds the parameters the list statements share; returns the index of the next one. */
+    private int bindListFilter(PreparedStatement pstmt, LocalDate startDate, LocalDate endDate,
+                               LedgerQuery<IncomeStatus> query) throws SQLException {
+        String term = query.searchTerm();
+        String status = query.filter() != null ? query.filter().name() : null;
+        pstmt.setString(1, businessId.toString());
+        pstmt.setString(2, startDate.toString());
+        pstmt.setString(3, endDate.toString());
+        pstmt.setString(4, term);
+        pstmt.setString(5, term);
+        pstmt.setString(6, term);
+        pstmt.setString(7, status);
+        pstmt.setString(8, status);
+        return 9;
+    }
+
+    /** Reads a total the query added up in whole pence, as pounds to two decimal places. */
+    private static BigDecimal pounds(ResultSet rs, String column) throws SQLException {
+        return BigDecimal.valueOf(rs.getLong(column), 2);
     }
 
     @Override
@@ -179,9 +334,19 @@ public class SqliteIncomeRepository implements IncomeRepository {
         if (id == null) {
             throw new IllegalArgumentException("Income ID cannot be null");
         }
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("deleteIncomeById"))) {
-            pstmt.setString(1, id.toString());
-            return pstmt.executeUpdate() > 0;
+        boolean[] deleted = {false};
+        try {
+            dataStore.write(() -> {
+                Optional<Income> previous = load(id);
+                try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("deleteIncomeById"))) {
+                    pstmt.setString(1, id.toString());
+                    deleted[0] = pstmt.executeUpdate() > 0;
+                }
+                if (deleted[0] && previous.isPresent()) {
+                    summary.removed(previous.get());
+                }
+            });
+            return deleted[0];
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to delete income: " + id, e);
             return false;
@@ -190,7 +355,7 @@ public class SqliteIncomeRepository implements IncomeRepository {
 
     @Override
     public long count() {
-        try (PreparedStatement pstmt = dataStore.connection().prepareStatement(SQL.get("countIncomeByBusiness"))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("countIncomeByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -207,6 +372,46 @@ public class SqliteIncomeRepository implements IncomeRepository {
         return businessId;
     }
 
+    /**
+     * Writes one income row and moves the ledger summary with it: a replaced row's contribution is
+     * taken off before the new one is added. Runs inside a write.
+     */
+    private void insert(Income income) throws SQLException {
+        Optional<Income> previous = load(income.id());
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("insertIncome"))) {
+            pstmt.setString(1, income.id().toString());
+            pstmt.setString(2, income.businessId().toString());
+            pstmt.setString(3, income.date().toString());
+            pstmt.setString(4, income.amount().toPlainString());
+            pstmt.setString(5, income.description());
+            pstmt.setString(6, income.category().name());
+            pstmt.setString(7, income.reference());
+            pstmt.setString(8, income.clientName());
+            pstmt.setString(9, income.status() != null ? income.status().name() : IncomeStatus.PAID.name());
+            pstmt.executeUpdate();
+        }
+        if (previous.isPresent()) {
+            summary.removed(previous.get());
+        }
+        summary.added(income);
+    }
+
+    /**
+     * Reads a row on the writer, so it sees this write's own changes. A row that cannot be read was
+     * never counted in the summary, so it is treated as absent.
+     */
+    private Optional<Income> load(UUID id) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("findIncomeById"))) {
+            pstmt.setString(1, id.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? Optional.of(mapIncome(rs)) : Optional.empty();
+            } catch (RuntimeException unreadableRow) {
+                LOG.log(Level.WARNING, "Replacing an unreadable income row: " + id, unreadableRow);
+                return Optional.empty();
+            }
+        }
+    }
+
     private Income mapIncome(ResultSet rs) throws SQLException {
         return new Income(
             UUID.fromString(rs.getString("id")),
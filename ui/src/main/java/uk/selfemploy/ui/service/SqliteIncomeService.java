@@ -10,19 +10,28 @@ import uk.selfemploy.core.service.IncomeService;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * SQLite-backed implementation of IncomeService.
  * All operations go directly to the SQLite database - no in-memory caching.
  * This ensures data is never lost.
  */
-public class SqliteIncomeService extends IncomeService {
+public class SqliteIncomeService extends IncomeService implements LedgerPages<Income, IncomeStatus, Map<IncomeStatus, SqliteLedgerSummary.Line>> {
+
+    /** How many rows {@link #forEachInTaxYear} reads per page. */
+    static final int STREAM_PAGE_SIZE = 500;
 
     private final SqliteIncomeRepository repository;
     private final UUID businessId;
+    private final SqliteLedgerSummary summary;
+    private final SqliteLedgerSearch ledgerSearch;
 
     public SqliteIncomeService(UUID businessId) {
         super();
@@ -31,6 +40,8 @@ public class SqliteIncomeService extends IncomeService {
         }
         this.businessId = businessId;
         this.repository = new SqliteIncomeRepository(businessId);
+        this.summary = new SqliteLedgerSummary();
+        this.ledgerSearch = new SqliteLedgerSearch();
     }
 
     @Override
@@ -45,7 +56,24 @@ public class SqliteIncomeService extends IncomeService {
 
         Income income = Income.create(businessId, date, amount, description, category, reference,
                 clientName, status);
-        return repository.save(income);
+        return saved(repository.save(income));
+    }
+
+    /**
+     * Validates every draft, then saves them in one batched write, keeping their ids.
+     */
+    @Override
+    public List<Income> createAll(List<Income> drafts) {
+        for (Income draft : drafts) {
+            validateBusinessId(draft.businessId());
+            validateDate(draft.date());
+            validateAmount(draft.amount());
+            validateDescription(draft.description());
+            validateCategory(draft.category());
+        }
+        repository.saveAll(drafts);
+        drafts.forEach(SqliteIncomeService::saved);
+        return List.copyOf(drafts);
     }
 
     @Override
@@ -88,7 +116,7 @@ public class SqliteIncomeService extends IncomeService {
                 status != null ? status : existingIncome.status()
         );
 
-        return repository.save(updatedIncome);
+        return saved(repository.save(updatedIncome));
     }
 
     @Override
@@ -96,7 +124,11 @@ public class SqliteIncomeService extends IncomeService {
         if (id == null) {
             throw new ValidationException("id", "Income id cannot be null");
         }
-        return repository.delete(id);
+        boolean deleted = repository.delete(id);
+        if (deleted) {
+            LedgerChangeEvents.incomeDeleted(id);
+        }
+        return deleted;
     }
 
     @Override
@@ -108,6 +140,43 @@ public class SqliteIncomeService extends IncomeService {
         return repository.findByTaxYear(taxYear);
     }
 
+    /**
+     * Reads the tax year a page at a time through {@link #findPage}, so only one page is held.
+     */
+    @Override
+    public void forEachInTaxYear(UUID businessId, TaxYear taxYear, Consumer<? super Income> action) {
+        validateBusinessId(businessId);
+        LedgerQuery<IncomeStatus> oldestFirst =
+                LedgerQuery.<IncomeStatus>newestFirst().sortedBy(LedgerQuery.Sort.DATE, true);
+        LedgerQuery.Cursor after = null;
+        do {
+            LedgerPage<Income> page = findPage(taxYear, oldestFirst, after, STREAM_PAGE_SIZE);
+            page.items().forEach(action);
+            after = page.next();
+        } while (after != null);
+    }
+
+    /**
+     * Grouped by month in SQL, so the dashboard reads one row per month, not one per record.
+     */
+    @Override
+    public Map<YearMonth, BigDecimal> getMonthlyTotals(UUID businessId, TaxYear taxYear) {
+        validateBusinessId(businessId);
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.getMonthlyTotalsForDateRange(taxYear.startDate(), taxYear.endDate());
+    }
+
+    @Override
+    public List<Income> findRecent(UUID businessId, TaxYear taxYear, int limit) {
+        validateBusinessId(businessId);
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.findRecentInDateRange(taxYear.startDate(), taxYear.endDate(), limit);
+    }
+
     @Override
     public List<Income> findByCategory(UUID businessId, IncomeCategory category) {
         validateBusinessId(businessId);
@@ -142,7 +211,7 @@ public class SqliteIncomeService extends IncomeService {
         if (quarter == null) {
             throw new ValidationException("quarter", "Quarter cannot be null");
         }
-        return repository.getTotalForDateRange(quarter.getStartDate(taxYear), quarter.getEndDate(taxYear));
+        return summary.income(this.businessId, taxYear, quarter).amount();
     }
 
     /**
@@ -177,7 +246,61 @@ public class SqliteIncomeService extends IncomeService {
      */
     @Override
     public int countByQuarter(UUID businessId, TaxYear taxYear, Quarter quarter) {
-        return findByQuarter(businessId, taxYear, quarter).size();
+        validateBusinessId(businessId);
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        if (quarter == null) {
+            throw new ValidationException("quarter", "Quarter cannot be null");
+        }
+        return summary.income(this.businessId, taxYear, quarter).count();
+    }
+
+    @Override
+    public LedgerPage<Income> findPage(TaxYear taxYear, LedgerQuery<IncomeStatus> query,
+                                       LedgerQuery.Cursor after, int limit) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.findPageInDateRange(taxYear.startDate(), taxYear.endDate(), query, after, limit);
+    }
+
+    @Override
+    public int countMatching(TaxYear taxYear, LedgerQuery<IncomeStatus> query) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.countMatchingInDateRange(taxYear.startDate(), taxYear.endDate(), query);
+    }
+
+    /**
+     * The tax year's income best matching the text, from the full-text index. Each hit is read by
+     * its id, so this costs at most {@code limit} lookups by key; a record deleted since the
+     * search ran is left out.
+     */
+    @Override
+    public List<Match<Income>> search(TaxYear taxYear, String text, int limit) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        List<Match<Income>> matches = new ArrayList<>();
+        for (SqliteLedgerSearch.Hit hit : ledgerSearch.search(businessId, text, SqliteLedgerSearch.Ledger.INCOME,
+                taxYear.startDate(), taxYear.endDate(), limit)) {
+            repository.findById(hit.recordId()).ifPresent(found -> matches.add(new Match<>(found, hit.snippet())));
+        }
+        return matches;
+    }
+
+    /**
+     * The tax year's income count and amount per payment status, grouped by the store, for the
+     * list's summary cards.
+     */
+    @Override
+    public Map<IncomeStatus, SqliteLedgerSummary.Line> summarise(TaxYear taxYear) {
+        if (taxYear == null) {
+            throw new ValidationException("taxYear", "Tax year cannot be null");
+        }
+        return repository.getStatusTotalsForDateRange(taxYear.startDate(), taxYear.endDate());
     }
 
     /**
@@ -194,4 +317,8 @@ public class SqliteIncomeService extends IncomeService {
         return businessId;
     }
 
+    private static Income saved(Income income) {
+        LedgerChangeEvents.incomeSaved(income);
+        return income;
+    }
 }
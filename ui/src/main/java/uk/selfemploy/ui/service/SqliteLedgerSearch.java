@@ -0,0 +1,264 @@
+package uk.selfemploy.ui.service;
+
+import uk.selfemploy.ui.service.sql.NamedSql;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Full-text search across the income, expense and bank-transaction ledgers, over every tax year.
+ *
+ * <p>The {@code ledger_search} FTS5 table holds one document per income record, expense and bank
+ * transaction that has not been deleted: the description, the client (income only) and the
+ * reference or notes. {@code search_documents} maps each record to its document. Triggers on the
+ * three tables keep both in step with every insert, replacement, update and delete in the same
+ * transaction, whichever code made the change, so nothing here has to be called on save. A search
+ * reads the index only, so it costs about the same with a few hundred records as with tens of
+ * thousands.</p>
+ *
+ * <p>Search text is split into words and each word matches as a prefix, so {@code "acm ltd"} finds
+ * "Acme Ltd". Case and accents are ignored. Hits come best first, weighing a match in the
+ * description above one in the client and that above one in the notes.</p>
+ *
+ * <p>The income and expense lists search through this, by way of {@link LedgerPages#search}, and
+ * so does the bank transaction review screen.</p>
+ */
+public class SqliteLedgerSearch {
+
+    private static final Logger LOG = Logger.getLogger(SqliteLedgerSearch.class.getName());
+
+    private static final NamedSql SQL = NamedSql.load("/sql/ledger-search.sql");
+
+    /** How many hits {@link #search(UUID, String)} returns. */
+    public static final int DEFAULT_LIMIT = 50;
+
+    private static final List<String> SCHEMA = List.of(
+        "createLedgerSearchTable",
+        "createSearchDocumentsTable",
+        "createIncomeSearchReplaceTrigger",
+        "createIncomeSearchInsertTrigger",
+        "createIncomeSearchUpdateTrigger",
+        "createIncomeSearchDeleteTrigger",
+        "createExpenseSearchReplaceTrigger",
+        "createExpenseSearchInsertTrigger",
+        "createExpenseSearchUpdateTrigger",
+        "createExpenseSearchDeleteTrigger",
+        "createBankTransactionSearchReplaceTrigger",
+        "createBankTransactionSearchInsertTrigger",
+        "createBankTransactionSearchUpdateTrigger",
+        "createBankTransactionSearchDeleteTrigger");
+
+    private static final List<String> REINDEX = List.of(
+        "clearLedgerSearch",
+        "clearSearchDocuments",
+        "numberAllRecords",
+        "indexAllIncome",
+        "indexAllExpenses",
+        "indexAllBankTransactions",
+        "optimiseLedgerSearch");
+
+    /** The ledgers a hit can come from. */
+    public enum Ledger { INCOME, EXPENSE, BANK_TRANSACTION }
+
+    /**
+     * One matching record.
+     *
+     * @param ledger   which ledger the record is in
+     * @param recordId the income, expense or bank transaction id
+     * @param date     the record's date
+     * @param amount   the record's amount, as stored
+     * @param snippet  the best-matching stretch of its text, matched words in square brackets
+     */
+    public record Hit(Ledger ledger, UUID recordId, LocalDate date, BigDecimal amount, String snippet) {
+    }
+
+    /** Where statements come from: the pool's writer at runtime, the raw connection in a migration. */
+    @FunctionalInterface
+    private interface Statements {
+        PreparedStatement prepare(String sql) throws SQLException;
+    }
+
+    private final SqliteDataStore dataStore;
+
+    public SqliteLedgerSearch() {
+        this(SqliteDataStore.getInstance());
+    }
+
+    SqliteLedgerSearch(SqliteDataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    /** The business's best {@value #DEFAULT_LIMIT} matches for the text, best first. */
+    public List<Hit> search(UUID businessId, String text) {
+        return search(businessId, text, DEFAULT_LIMIT);
+    }
+
+    /**
+     * The business's best matches for the text, best first.
+     *
+     * @return at most {@code limit} hits; empty when the text has no words to search for, or the
+     *         index could not be read
+     */
+    public List<Hit> search(UUID businessId, String text, int limit) {
+        return search(businessId, text, limit, "searchLedgers", (pstmt, match) -> {
+            pstmt.setString(1, match);
+            pstmt.setString(2, businessId.toString());
+            pstmt.setInt(3, limit);
+        });
+    }
+
+    /**
+     * The business's best matches for the text in one ledger, best first: what a list screen's
+     * search box shows.
+     *
+     * @param from the earliest date to include, or null for no lower bound
+     * @param to   the latest date to include, or null for no upper bound
+     * @return at most {@code limit} hits; empty when the text has no words to search for, or the
+     *         index could not be read
+     */
+    public List<Hit> search(UUID businessId, String text, Ledger ledger, LocalDate from, LocalDate to,
+                            int limit) {
+        if (ledger == null) {
+            throw new IllegalArgumentException("Ledger cannot be null");
+        }
+        String start = from != null ? from.toString() : null;
+        String end = to != null ? to.toString() : null;
+        return search(businessId, text, limit, "searchLedger", (pstmt, match) -> {
+            pstmt.setString(1, match);
+            pstmt.setString(2, businessId.toString());
+            pstmt.setString(3, ledger.name());
+            pstmt.setString(4, start);
+            pstmt.setString(5, start);
+            pstmt.setString(6, end);
+            pstmt.setString(7, end);
+            pstmt.setInt(8, limit);
+        });
+    }
+
+    /** Binds a search statement's parameters, given the match expression. */
+    @FunctionalInterface
+    private interface Binding {
+        void bind(PreparedStatement pstmt, String match) throws SQLException;
+    }
+
+    private List<Hit> search(UUID businessId, String text, int limit, String statement, Binding binding) {
+        if (businessId == null) {
+            throw new IllegalArgumentException("Business ID cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        String match = matchExpression(text);
+        if (match.isEmpty()) {
+            return List.of();
+        }
+        List<Hit> hits = new ArrayList<>();
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get(statement))) {
+            binding.bind(pstmt, match);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        hits.add(new Hit(
+                            Ledger.valueOf(rs.getString("ledger")),
+                            UUID.fromString(rs.getString("record_id")),
+                            LocalDate.parse(rs.getString("date")),
+                            new BigDecimal(rs.getString("amount")),
+                            rs.getString("snippet")));
+                    } catch (RuntimeException unreadableHit) {
+                        LOG.log(Level.WARNING, "Skipping an unreadable search hit", unreadableHit);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to search the ledgers", e);
+            return List.of();
+        }
+        return hits;
+    }
+
+    /**
+     * Re-indexes every record from the three ledgers, replacing the whole index, in one write.
+     * The triggers keep the index current, so this is only for repair.
+     *
+     * @throws DataStoreException if the rebuild could not be committed
+     */
+    public void rebuild() {
+        try {
+            dataStore.write(() -> reindex(dataStore::prepareWrite));
+            LOG.info("Rebuilt the ledger search index");
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to rebuild the ledger search index", e);
+            throw new DataStoreException("Failed to rebuild the ledger search index", e);
+        }
+    }
+
+    /**
+     * Migration: creates the index and its triggers and indexes the existing records, in one
+     * transaction.
+     */
+    static void install(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                for (String name : SCHEMA) {
+                    stmt.execute(SQL.get(name));
+                }
+            }
+            reindex(conn::prepareStatement);
+            conn.commit();
+            LOG.info("Built the ledger search index");
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void reindex(Statements statements) throws SQLException {
+        for (String name : REINDEX) {
+            try (PreparedStatement pstmt = statements.prepare(SQL.get(name))) {
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Turns what the user typed into an FTS5 query: each run of letters and digits becomes a quoted
+     * prefix term and the terms must all match. Punctuation and FTS5 operators are dropped, so no
+     * input can make the query invalid.
+     *
+     * @return the query, or empty if the text has no words
+     */
+    static String matchExpression(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder match = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            int c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append((char) c);
+            } else if (!word.isEmpty()) {
+                if (!match.isEmpty()) {
+                    match.append(' ');
+                }
+                match.append('"').append(word).append("\"*");
+                word.setLength(0);
+            }
+        }
+        return match.toString();
+    }
+}
@@ -0,0 +1,403 @@
+package uk.selfemploy.ui.service;
+
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+import uk.selfemploy.common.domain.Quarter;
+import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.ui.service.sql.NamedSql;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-period totals of the income and expense ledgers, held in the {@code ledger_summary} table.
+ *
+ * <p>There is one line per business, tax year, quarter, ledger and category. Each line holds how many
+ * records it covers, what they amount to and what of that may be claimed. The income and expense
+ * repositories apply every insert, replacement and delete here inside the write that changes the
+ * record, so a line commits or rolls back with it. A quarter or a tax year then reads as a few rows
+ * rather than a re-addition of every record in it.</p>
+ *
+ * <p>Amounts are added in {@link BigDecimal}, never by SQLite, and an expense's claim is taken from
+ * {@link Expense#allowableAmount()} when it is applied, so a line agrees to the penny with the records
+ * it stands for. {@link #rebuild} recomputes a business's lines from its records; {@link #verify}
+ * compares them without changing anything.</p>
+ */
+public class SqliteLedgerSummary {
+
+    private static final Logger LOG = Logger.getLogger(SqliteLedgerSummary.class.getName());
+
+    private static final NamedSql SQL = NamedSql.load("/sql/ledger-summary.sql");
+
+    static final String INCOME = "INCOME";
+    static final String EXPENSE = "EXPENSE";
+
+    /**
+     * One category's figures for a period.
+     *
+     * @param count how many records the line covers
+     * @param amount what they add up to: received for income, spent for expenses
+     * @param claimable the part that may be claimed; the whole amount for income
+     */
+    public record Line(int count, BigDecimal amount, BigDecimal claimable) {
+
+        public static final Line ZERO = new Line(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        Line plus(Line other) {
+            return new Line(count + other.count, amount.add(other.amount), claimable.add(other.claimable));
+        }
+
+        Line negated() {
+            return new Line(-count, amount.negate(), claimable.negate());
+        }
+
+        boolean sameAs(Line other) {
+            return count == other.count
+                && amount.compareTo(other.amount) == 0
+                && claimable.compareTo(other.claimable) == 0;
+        }
+    }
+
+    /** Where statements come from: the pool's writer at runtime, the raw connection in a migration. */
+    @FunctionalInterface
+    private interface Statements {
+        PreparedStatement prepare(String sql) throws SQLException;
+    }
+
+    private record Key(int taxYearStart, Quarter quarter, String ledger, String category) {
+
+        static Key of(LocalDate date, String ledger, String category) {
+            int startYear = date.getMonthValue() < 4 || (date.getMonthValue() == 4 && date.getDayOfMonth() < 6)
+                ? date.getYear() - 1
+                : date.getYear();
+            return new Key(startYear, Quarter.forDate(date), ledger, category);
+        }
+
+        @Override
+        public String toString() {
+            return taxYearStart + " " + quarter + " " + ledger + " " + category;
+        }
+    }
+
+    private final SqliteDataStore dataStore;
+
+    public SqliteLedgerSummary() {
+        this(SqliteDataStore.getInstance());
+    }
+
+    SqliteLedgerSummary(SqliteDataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    // === Maintenance: called by the repositories inside the write that changes the record ===
+
+    void added(Income income) throws SQLException {
+        apply(income.businessId(), keyOf(income), lineOf(income));
+    }
+
+    void removed(Income income) throws SQLException {
+        apply(income.businessId(), keyOf(income), lineOf(income).negated());
+    }
+
+    void added(Expense expense) throws SQLException {
+        apply(expense.businessId(), keyOf(expense), lineOf(expense));
+    }
+
+    void removed(Expense expense) throws SQLException {
+        apply(expense.businessId(), keyOf(expense), lineOf(expense).negated());
+    }
+
+    private void apply(UUID businessId, Key key, Line delta) throws SQLException {
+        Line current = Line.ZERO;
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("selectLedgerSummaryLine"))) {
+            bindKey(pstmt, businessId, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    current = readLine(rs);
+                }
+            }
+        }
+        Line updated = current.plus(delta);
+        if (updated.count() <= 0) {
+            try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("deleteLedgerSummaryLine"))) {
+                bindKey(pstmt, businessId, key);
+                pstmt.executeUpdate();
+            }
+        } else {
+            upsert(dataStore::prepareWrite, businessId, key, updated);
+        }
+    }
+
+    // === Reads ===
+
+    /**
+     * A period's expense lines per category.
+     *
+     * @param quarter the quarter to read, or null for the whole tax year
+     * @return a line per category with expenses in the period; categories without any are absent
+     */
+    public Map<ExpenseCategory, Line> expenses(UUID businessId, TaxYear taxYear, Quarter quarter) {
+        Map<ExpenseCategory, Line> lines = new EnumMap<>(ExpenseCategory.class);
+        readPeriod(businessId, taxYear, quarter, EXPENSE).forEach((category, line) -> {
+            try {
+                lines.merge(ExpenseCategory.valueOf(category), line, Line::plus);
+            } catch (IllegalArgumentException unknownCategory) {
+                LOG.warning("Skipping a summary line for an unknown expense category: " + category);
+            }
+        });
+        return lines;
+    }
+
+    /**
+     * A period's income, all categories together.
+     *
+     * @param quarter the quarter to read, or null for the whole tax year
+     */
+    public Line income(UUID businessId, TaxYear taxYear, Quarter quarter) {
+        Line total = Line.ZERO;
+        for (Line line : readPeriod(businessId, taxYear, quarter, INCOME).values()) {
+            total = total.plus(line);
+        }
+        return total;
+    }
+
+    private Map<String, Line> readPeriod(UUID businessId, TaxYear taxYear, Quarter quarter, String ledger) {
+        Map<String, Line> lines = new HashMap<>();
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get("selectLedgerSummaryForYear"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.setInt(2, taxYear.startYear());
+            pstmt.setString(3, ledger);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (quarter == null || quarter.name().equals(rs.getString("quarter"))) {
+                        lines.merge(rs.getString("category"), readLine(rs), Line::plus);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to read the ledger summary", e);
+        }
+        return lines;
+    }
+
+    // === Rebuild and verify ===
+
+    /**
+     * Recomputes a business's lines from its income and expense records, replacing whatever was
+     * there, in one write.
+     *
+     * @throws DataStoreException if the rebuild could not be committed
+     */
+    public void rebuild(UUID businessId) {
+        try {
+            dataStore.write(() -> rebuild(dataStore::prepareWrite, businessId));
+            LOG.info("Rebuilt the ledger summary for business " + businessId);
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to rebuild the ledger summary for business " + businessId, e);
+            throw new DataStoreException("Failed to rebuild the ledger summary", e);
+        }
+    }
+
+    /**
+     * Compares a business's lines with its records without changing either. Runs as a write so the
+     * records cannot change between the two reads.
+     *
+     * @return one description per line that disagrees; empty when the summary is sound
+     * @throws DataStoreException if the records or the summary could not be read
+     */
+    public List<String> verify(UUID businessId) {
+        List<String> mismatches = new ArrayList<>();
+        try {
+            dataStore.write(() -> {
+                Map<Key, Line> expected = fromLedgers(dataStore::prepareWrite, businessId);
+                Map<Key, Line> stored = stored(dataStore::prepareWrite, businessId);
+                Set<Key> keys = new HashSet<>(expected.keySet());
+                keys.addAll(stored.keySet());
+                for (Key key : keys) {
+                    Line want = expected.getOrDefault(key, Line.ZERO);
+                    Line have = stored.getOrDefault(key, Line.ZERO);
+                    if (!want.sameAs(have)) {
+                        mismatches.add(key + ": summary " + describe(have) + ", records " + describe(want));
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to verify the ledger summary for business " + businessId, e);
+            throw new DataStoreException("Failed to verify the ledger summary", e);
+        }
+        if (!mismatches.isEmpty()) {
+            LOG.warning("Ledger summary for business " + businessId + " disagrees with its records on "
+                + mismatches.size() + " line(s)");
+        }
+        return mismatches;
+    }
+
+    /**
+     * Verifies a business's lines and, if any disagree with the records, rebuilds them. This is
+     * what Settings' "Verify ledger totals" runs.
+     *
+     * @return the lines that disagreed before the rebuild; empty when nothing needed repairing
+     * @throws DataStoreException if the check or the rebuild could not be completed
+     */
+    public List<String> verifyAndRepair(UUID businessId) {
+        List<String> mismatches = verify(businessId);
+        if (!mismatches.isEmpty()) {
+            rebuild(businessId);
+        }
+        return mismatches;
+    }
+
+    /**
+     * Migration: fills the summary for every business that has records. Runs in one transaction on
+     * the raw connection, before the pool exists.
+     */
+    static void rebuildAll(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            List<UUID> businesses = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(SQL.get("selectBusinessesWithLedgerRows"));
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    businesses.add(UUID.fromString(rs.getString(1)));
+                }
+            }
+            for (UUID businessId : businesses) {
+                rebuild(conn::prepareStatement, businessId);
+            }
+            conn.commit();
+            LOG.info("Built the ledger summary for " + businesses.size() + " business(es)");
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void rebuild(Statements statements, UUID businessId) throws SQLException {
+        Map<Key, Line> lines = fromLedgers(statements, businessId);
+        try (PreparedStatement pstmt = statements.prepare(SQL.get("deleteLedgerSummaryForBusiness"))) {
+            pstmt.setString(1, businessId.toString());
+            pstmt.executeUpdate();
+        }
+        for (Map.Entry<Key, Line> line : lines.entrySet()) {
+            upsert(statements, businessId, line.getKey(), line.getValue());
+        }
+    }
+
+    /**
+     * What the lines should be, added up from the records. A record that cannot be read is skipped,
+     * as the repositories' own totals skip it.
+     */
+    private static Map<Key, Line> fromLedgers(Statements statements, UUID businessId) throws SQLException {
+        Map<Key, Line> lines = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = statements.prepare(SQL.get("selectIncomeRowsForSummary"))) {
+            pstmt.setString(1, businessId.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        BigDecimal amount = new BigDecimal(rs.getString("amount"));
+                        Key key = Key.of(LocalDate.parse(rs.getString("date")), INCOME, rs.getString("category"));
+                        lines.merge(key, new Line(1, amount, amount), Line::plus);
+                    } catch (RuntimeException unreadableRow) {
+                        LOG.log(Level.WARNING, "Skipping an unreadable income row in the summary", unreadableRow);
+                    }
+                }
+            }
+        }
+        try (PreparedStatement pstmt = statements.prepare(SQL.get("selectExpenseRowsForSummary"))) {
+            pstmt.setString(1, businessId.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        BigDecimal amount = new BigDecimal(rs.getString("amount"));
+                        ExpenseCategory category = ExpenseCategory.valueOf(rs.getString("category"));
+                        BigDecimal claim = Expense.allowableAmount(amount, category, rs.getInt("business_use_pct"));
+                        Key key = Key.of(LocalDate.parse(rs.getString("date")), EXPENSE, category.name());
+                        lines.merge(key, new Line(1, amount, claim), Line::plus);
+                    } catch (RuntimeException unreadableRow) {
+                        LOG.log(Level.WARNING, "Skipping an unreadable expense row in the summary", unreadableRow);
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static Map<Key, Line> stored(Statements statements, UUID businessId) throws SQLException {
+        Map<Key, Line> lines = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = statements.prepare(SQL.get("selectLedgerSummaryForBusiness"))) {
+            pstmt.setString(1, businessId.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Key key = new Key(rs.getInt("tax_year_start"), Quarter.valueOf(rs.getString("quarter")),
+                        rs.getString("ledger"), rs.getString("category"));
+                    lines.put(key, readLine(rs));
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static void upsert(Statements statements, UUID businessId, Key key, Line line) throws SQLException {
+        try (PreparedStatement pstmt = statements.prepare(SQL.get("upsertLedgerSummaryLine"))) {
+            bindKey(pstmt, businessId, key);
+            pstmt.setInt(6, line.count());
+            pstmt.setString(7, line.amount().toPlainString());
+            pstmt.setString(8, line.claimable().toPlainString());
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void bindKey(PreparedStatement pstmt, UUID businessId, Key key) throws SQLException {
+        pstmt.setString(1, businessId.toString());
+        pstmt.setInt(2, key.taxYearStart());
+        pstmt.setString(3, key.quarter().name());
+        pstmt.setString(4, key.ledger());
+        pstmt.setString(5, key.category());
+    }
+
+    private static Line readLine(ResultSet rs) throws SQLException {
+        return new Line(rs.getInt("record_count"),
+            new BigDecimal(rs.getString("spent")),
+            new BigDecimal(rs.getString("claimable")));
+    }
+
+    private static Key keyOf(Income income) {
+        return Key.of(income.date(), INCOME, income.category().name());
+    }
+
+    private static Key keyOf(Expense expense) {
+        return Key.of(expense.date(), EXPENSE, expense.category().name());
+    }
+
+    private static Line lineOf(Income income) {
+        return new Line(1, income.amount(), income.amount());
+    }
+
+    private static Line lineOf(Expense expense) {
+        return new Line(1, expense.amount(), expense.allowableAmount());
+    }
+
+    private static String describe(Line line) {
+        return line.count() + " record(s), " + line.amount().toPlainString()
+            + " (" + line.claimable().toPlainString() + " claimable)";
+    }
+}
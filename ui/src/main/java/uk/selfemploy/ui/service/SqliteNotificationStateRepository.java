@@ -20,26 +20,40 @@ public class SqliteNotificationStateRepository implements NotificationStateStore
         this.dataStore = SqliteDataStore.getInstance();
     }
 
+    private static final String UPSERT_SQL = "INSERT OR REPLACE INTO notification_state "
+        + "(state_key, is_read, snooze_until, updated_at) VALUES (?, ?, ?, ?)";
+
     @Override
     public void save(String key, boolean read, LocalDateTime snoozeUntil) {
-        String sql = "INSERT OR REPLACE INTO notification_state "
-            + "(state_key, is_read, snooze_until, updated_at) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement ps = dataStore.connection().prepareStatement(sql)) {
-            ps.setString(1, key);
-            ps.setInt(2, read ? 1 : 0);
-            ps.setString(3, snoozeUntil != null ? snoozeUntil.toString() : null);
-            ps.setString(4, Instant.now().toString());
-            ps.executeUpdate();
+        try {
+            dataStore.write(() -> upsert(key, new PersistedState(read, snoozeUntil), Instant.now()));
         } catch (SQLException e) {
             throw new IllegalStateException("Failed to persist notification state for " + key, e);
         }
     }
 
+    @Override
+    public void saveAll(Map<String, PersistedState> states) {
+        if (states == null || states.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        try {
+            dataStore.write(() -> {
+                for (Map.Entry<String, PersistedState> entry : states.entrySet()) {
+                    upsert(entry.getKey(), entry.getValue(), now);
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to persist " + states.size() + " notification states", e);
+        }
+    }
+
     @Override
     public Map<String, PersistedState> loadAll() {
         Map<String, PersistedState> states = new HashMap<>();
         String sql = "SELECT state_key, is_read, snooze_until FROM notification_state";
-        try (PreparedStatement ps = dataStore.connection().prepareStatement(sql);
+        try (PreparedStatement ps = dataStore.prepareRead(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 LocalDateTime snoozeUntil = rs.getString("snooze_until") != null
@@ -52,4 +66,14 @@ public class SqliteNotificationStateRepository implements NotificationStateStore
         }
         return states;
     }
+
+    private void upsert(String key, PersistedState state, Instant now) throws SQLException {
+        try (PreparedStatement ps = dataStore.prepareWrite(UPSERT_SQL)) {
+            ps.setString(1, key);
+            ps.setInt(2, state.read() ? 1 : 0);
+            ps.setString(3, state.snoozeUntil() != null ? state.snoozeUntil().toString() : null);
+            ps.setString(4, now.toString());
+            ps.executeUpdate();
+        }
+    }
 }
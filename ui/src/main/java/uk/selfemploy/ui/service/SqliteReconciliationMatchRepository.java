@@ -40,20 +40,8 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
         if (match == null) {
             throw new IllegalArgumentException("Reconciliation match cannot be null");
         }
-        try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("insertReconciliationMatch"))) {
-            pstmt.setString(1, match.id().toString());
-            pstmt.setString(2, match.bankTransactionId().toString());
-            pstmt.setString(3, match.manualTransactionId().toString());
-            pstmt.setString(4, match.manualTransactionType());
-            pstmt.setDouble(5, match.confidence());
-            pstmt.setString(6, match.matchTier().name());
-            pstmt.setString(7, match.status().name());
-            pstmt.setString(8, match.businessId().toString());
-            pstmt.setString(9, match.createdAt().toString());
-            pstmt.setString(10, match.resolvedAt() != null ? match.resolvedAt().toString() : null);
-            pstmt.setString(11, match.resolvedBy());
-            pstmt.executeUpdate();
+        try {
+            dataStore.write(() -> insert(match));
             LOG.fine("Saved reconciliation match: " + match.id());
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to save reconciliation match: " + match.id(), e);
@@ -66,17 +54,23 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
         if (matches == null || matches.isEmpty()) {
             return;
         }
-        dataStore.executeInTransaction(() -> {
-            for (ReconciliationMatch match : matches) {
-                save(match);
-            }
-        });
+        try {
+            dataStore.write(() -> {
+                for (ReconciliationMatch match : matches) {
+                    insert(match);
+                }
+            });
+            LOG.fine("Saved " + matches.size() + " reconciliation matches");
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to save " + matches.size() + " reconciliation matches", e);
+            throw new DataStoreException("Failed to save reconciliation matches", e);
+        }
     }
 
     @Override
     public Optional<ReconciliationMatch> findById(UUID id) {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findReconciliationMatchById"))) {
+                 dataStore.prepareRead(SQL.get("findReconciliationMatchById"))) {
             pstmt.setString(1, id.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -92,7 +86,7 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
     public List<ReconciliationMatch> findByBankTransactionId(UUID bankTransactionId) {
         List<ReconciliationMatch> matches = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findReconciliationMatchesByBankTransaction"))) {
+                 dataStore.prepareRead(SQL.get("findReconciliationMatchesByBankTransaction"))) {
             pstmt.setString(1, bankTransactionId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -108,7 +102,7 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
     public List<ReconciliationMatch> findByBusinessId(UUID businessId) {
         List<ReconciliationMatch> matches = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findReconciliationMatchesByBusiness"))) {
+                 dataStore.prepareRead(SQL.get("findReconciliationMatchesByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -124,7 +118,7 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
     public List<ReconciliationMatch> findUnresolvedByBusinessId(UUID businessId) {
         List<ReconciliationMatch> matches = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findUnresolvedReconciliationMatchesByBusiness"))) {
+                 dataStore.prepareRead(SQL.get("findUnresolvedReconciliationMatchesByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -139,7 +133,7 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
     @Override
     public long countUnresolvedByBusinessId(UUID businessId) {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("countUnresolvedReconciliationMatchesByBusiness"))) {
+                 dataStore.prepareRead(SQL.get("countUnresolvedReconciliationMatchesByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -154,7 +148,7 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
     @Override
     public boolean updateStatus(UUID matchId, ReconciliationStatus status, Instant resolvedAt, String resolvedBy) {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("updateReconciliationMatchStatus"))) {
+                 dataStore.prepareWrite(SQL.get("updateReconciliationMatchStatus"))) {
             pstmt.setString(1, status.name());
             pstmt.setString(2, resolvedAt != null ? resolvedAt.toString() : null);
             pstmt.setString(3, resolvedBy);
@@ -166,6 +160,23 @@ public class SqliteReconciliationMatchRepository implements ReconciliationMatchR
         }
     }
 
+    private void insert(ReconciliationMatch match) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("insertReconciliationMatch"))) {
+            pstmt.setString(1, match.id().toString());
+            pstmt.setString(2, match.bankTransactionId().toString());
+            pstmt.setString(3, match.manualTransactionId().toString());
+            pstmt.setString(4, match.manualTransactionType());
+            pstmt.setDouble(5, match.confidence());
+            pstmt.setString(6, match.matchTier().name());
+            pstmt.setString(7, match.status().name());
+            pstmt.setString(8, match.businessId().toString());
+            pstmt.setString(9, match.createdAt().toString());
+            pstmt.setString(10, match.resolvedAt() != null ? match.resolvedAt().toString() : null);
+            pstmt.setString(11, match.resolvedBy());
+            pstmt.executeUpdate();
+        }
+    }
+
     private ReconciliationMatch mapReconciliationMatch(ResultSet rs) throws SQLException {
         String resolvedAtStr = rs.getString("resolved_at");
         return new ReconciliationMatch(
@@ -68,22 +68,8 @@ public class SqliteSubmissionRepository implements SubmissionRepository {
         if (submission == null) {
             throw new IllegalArgumentException("Submission cannot be null");
         }
-        try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("insertSubmission"))) {
-            pstmt.setString(1, submission.id());
-            pstmt.setString(2, submission.businessId());
-            pstmt.setString(3, submission.type());
-            pstmt.setInt(4, submission.taxYearStart());
-            pstmt.setString(5, submission.periodStart().toString());
-            pstmt.setString(6, submission.periodEnd().toString());
-            pstmt.setString(7, submission.totalIncome().toPlainString());
-            pstmt.setString(8, submission.totalExpenses().toPlainString());
-            pstmt.setString(9, submission.netProfit().toPlainString());
-            pstmt.setString(10, submission.status());
-            pstmt.setString(11, submission.hmrcReference());
-            pstmt.setString(12, submission.errorMessage());
-            pstmt.setString(13, submission.submittedAt().toString());
-            pstmt.executeUpdate();
+        try {
+            dataStore.write(() -> insert(submission));
             LOG.fine("Saved submission: " + submission.id());
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to save submission: " + submission.id(), e);
@@ -91,11 +77,28 @@ public class SqliteSubmissionRepository implements SubmissionRepository {
         return submission;
     }
 
+    @Override
+    public void saveAll(List<SubmissionRecord> submissions) {
+        if (submissions == null || submissions.isEmpty()) {
+            return;
+        }
+        try {
+            dataStore.write(() -> {
+                for (SubmissionRecord submission : submissions) {
+                    insert(submission);
+                }
+            });
+            LOG.fine("Saved " + submissions.size() + " submissions");
+        } catch (SQLException e) {
+            LOG.log(Level.SEVERE, "Failed to save " + submissions.size() + " submissions", e);
+        }
+    }
+
     @Override
     public List<SubmissionRecord> findAll() {
         List<SubmissionRecord> submissions = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findSubmissionsByBusiness"))) {
+                 dataStore.prepareRead(SQL.get("findSubmissionsByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
@@ -113,7 +116,7 @@ public class SqliteSubmissionRepository implements SubmissionRepository {
             throw new IllegalArgumentException("Submission ID cannot be null");
         }
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findSubmissionById"))) {
+                 dataStore.prepareRead(SQL.get("findSubmissionById"))) {
             pstmt.setString(1, id);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -129,7 +132,7 @@ public class SqliteSubmissionRepository implements SubmissionRepository {
     public List<SubmissionRecord> findByTaxYear(int taxYearStart) {
         List<SubmissionRecord> submissions = new ArrayList<>();
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("findSubmissionsByBusinessAndTaxYear"))) {
+                 dataStore.prepareRead(SQL.get("findSubmissionsByBusinessAndTaxYear"))) {
             pstmt.setString(1, businessId.toString());
             pstmt.setInt(2, taxYearStart);
             ResultSet rs = pstmt.executeQuery();
@@ -148,7 +151,7 @@ public class SqliteSubmissionRepository implements SubmissionRepository {
             throw new IllegalArgumentException("Submission ID cannot be null");
         }
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("deleteSubmissionById"))) {
+                 dataStore.prepareWrite(SQL.get("deleteSubmissionById"))) {
             pstmt.setString(1, id);
             return pstmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -160,7 +163,7 @@ public class SqliteSubmissionRepository implements SubmissionRepository {
     @Override
     public long count() {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("countSubmissionsByBusiness"))) {
+                 dataStore.prepareRead(SQL.get("countSubmissionsByBusiness"))) {
             pstmt.setString(1, businessId.toString());
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
@@ -177,6 +180,25 @@ public class SqliteSubmissionRepository implements SubmissionRepository {
         return businessId;
     }
 
+    private void insert(SubmissionRecord submission) throws SQLException {
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("insertSubmission"))) {
+            pstmt.setString(1, submission.id());
+            pstmt.setString(2, submission.businessId());
+            pstmt.setString(3, submission.type());
+            pstmt.setInt(4, submission.taxYearStart());
+            pstmt.setString(5, submission.periodStart().toString());
+            pstmt.setString(6, submission.periodEnd().toString());
+            pstmt.setString(7, submission.totalIncome().toPlainString());
+            pstmt.setString(8, submission.totalExpenses().toPlainString());
+            pstmt.setString(9, submission.netProfit().toPlainString());
+            pstmt.setString(10, submission.status());
+            pstmt.setString(11, submission.hmrcReference());
+            pstmt.setString(12, submission.errorMessage());
+            pstmt.setString(13, submission.submittedAt().toString());
+            pstmt.executeUpdate();
+        }
+    }
+
     private SubmissionRecord mapSubmission(ResultSet rs) throws SQLException {
         return new SubmissionRecord(
             rs.getString("id"),
@@ -5,7 +5,6 @@ import uk.selfemploy.ui.service.sql.NamedSql;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,7 +40,7 @@ public class SqliteTermsAcceptanceRepository implements TermsAcceptanceRepositor
     public boolean save(String tosVersion, Instant acceptedAt, Instant scrollCompletedAt,
                         String applicationVersion) {
         try (PreparedStatement pstmt =
-                 dataStore.connection().prepareStatement(SQL.get("insertTermsAcceptance"))) {
+                 dataStore.prepareWrite(SQL.get("insertTermsAcceptance"))) {
             pstmt.setString(1, UUID.randomUUID().toString());
             pstmt.setString(2, tosVersion);
             pstmt.setString(3, acceptedAt.toString());
@@ -74,8 +73,8 @@ public class SqliteTermsAcceptanceRepository implements TermsAcceptanceRepositor
     }
 
     private <T> Optional<T> queryLatest(String statementName, RowMapper<T> mapper) {
-        try (Statement stmt = dataStore.connection().createStatement();
-             ResultSet rs = stmt.executeQuery(SQL.get(statementName))) {
+        try (PreparedStatement pstmt = dataStore.prepareRead(SQL.get(statementName));
+             ResultSet rs = pstmt.executeQuery()) {
             if (rs.next()) {
                 return Optional.ofNullable(mapper.map(rs));
             }
@@ -12,11 +12,9 @@ import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Base64;
@@ -75,14 +73,9 @@ public class SqliteWizardProgressRepository implements WizardProgressRepository
      * Ensures the wizard_progress table exists.
      */
     private void ensureTableExists() {
-        try {
-            Connection connection = getConnection();
-            if (connection != null) {
-                try (Statement stmt = connection.createStatement()) {
-                    stmt.execute(SQL.get("createWizardProgressTable"));
-                    LOG.fine("Ensured wizard_progress table exists");
-                }
-            }
+        try (PreparedStatement pstmt = dataStore.prepareWrite(SQL.get("createWizardProgressTable"))) {
+            pstmt.execute();
+            LOG.fine("Ensured wizard_progress table exists");
         } catch (SQLException e) {
             LOG.log(Level.SEVERE, "Failed to create wizard_progress table", e);
         }
@@ -94,12 +87,7 @@ public class SqliteWizardProgressRepository implements WizardProgressRepository
 
         String sql = SQL.get("findWizardProgressByType");
         try {
-            Connection connection = getConnection();
-            if (connection == null) {
-                return Optional.empty();
-            }
-
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = dataStore.prepareRead(sql)) {
                 pstmt.setString(1, wizardType);
                 ResultSet rs = pstmt.executeQuery();
 
@@ -122,12 +110,7 @@ public class SqliteWizardProgressRepository implements WizardProgressRepository
         String sql = SQL.get("upsertWizardProgress");
 
         try {
-            Connection connection = getConnection();
-            if (connection == null) {
-                throw new IllegalStateException("Database connection not available");
-            }
-
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = dataStore.prepareWrite(sql)) {
                 pstmt.setString(1, progress.wizardType());
                 pstmt.setInt(2, progress.currentStep());
                 pstmt.setString(3, progress.checklistState());
@@ -151,12 +134,7 @@ public class SqliteWizardProgressRepository implements WizardProgressRepository
 
         String sql = SQL.get("deleteWizardProgressByType");
         try {
-            Connection connection = getConnection();
-            if (connection == null) {
-                return false;
-            }
-
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = dataStore.prepareWrite(sql)) {
                 pstmt.setString(1, wizardType);
                 int affected = pstmt.executeUpdate();
                 if (affected > 0) {
@@ -180,12 +158,7 @@ public class SqliteWizardProgressRepository implements WizardProgressRepository
     String getRawNinoFromDatabase(String wizardType) {
         String sql = SQL.get("findWizardProgressRawNino");
         try {
-            Connection connection = getConnection();
-            if (connection == null) {
-                return null;
-            }
-
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = dataStore.prepareRead(sql)) {
                 pstmt.setString(1, wizardType);
                 ResultSet rs = pstmt.executeQuery();
 
@@ -340,8 +313,4 @@ public class SqliteWizardProgressRepository implements WizardProgressRepository
             return "selfemploy-wizard-progress".getBytes(StandardCharsets.UTF_8);
         }
     }
-
-    private Connection getConnection() {
-        return dataStore.connection();
-    }
 }
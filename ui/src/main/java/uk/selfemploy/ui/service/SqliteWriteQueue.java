@@ -0,0 +1,241 @@
+package uk.selfemploy.ui.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single-writer queue for {@link SqliteDataStore}: writes submitted from any thread are applied in
+ * order by one writer thread, which groups whatever is queued into a single transaction so a burst
+ * of saves pays for one commit instead of one each.
+ *
+ * <p>The writer takes the first queued write and keeps draining whatever else has been queued
+ * meanwhile; the group commits as soon as a drain finds the queue empty, when it reaches
+ * {@code maxBatch} writes, or when {@code linger} has passed since its first write. A lone write
+ * therefore commits straight away, and writes that arrive while a group is committing form the
+ * next one. Each write is a unit: if any write in a group fails, the
+ * group is rolled back and its writes are replayed one transaction each, so only the failing write
+ * reports the error. That includes an {@link Error} thrown by a write, which fails the write rather
+ * than the writer thread, so later writes and their waiters are never stranded.</p>
+ *
+ * <p>{@link #submit} returns once the write is queued, with a future that completes when it has
+ * committed; {@link #await} waits for that, and {@link #flush} waits for everything queued so
+ * far. A thread that already holds the writer (inside
+ * {@link SqliteDataStore#executeInTransaction}) runs its write inline instead, since the writer
+ * thread could never take the lock from it.</p>
+ */
+final class SqliteWriteQueue {
+
+    private static final Logger LOG = Logger.getLogger(SqliteWriteQueue.class.getName());
+
+    /** Most writes committed together; keeps a bulk import from holding the writer for too long. */
+    static final int DEFAULT_MAX_BATCH = 256;
+
+    /** Longest a group keeps taking writes that are still arriving before it commits. */
+    static final Duration DEFAULT_LINGER = Duration.ofMillis(2);
+
+    /** A unit of work against the writer; its statements come from {@link SqliteDataStore#prepareWrite}. */
+    @FunctionalInterface
+    interface Write {
+        void apply() throws SQLException;
+    }
+
+    private static final Pending STOP = new Pending(() -> { }, null);
+
+    private final SqliteConnectionPool pool;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+
+    private volatile boolean closed;
+
+    SqliteWriteQueue(SqliteConnectionPool pool, int maxBatch, Duration linger) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch must be at least 1");
+        }
+        this.pool = pool;
+        this.maxBatch = maxBatch;
+        this.lingerNanos = linger.toNanos();
+        this.writerThread = new Thread(this::run, "sqlite-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a write without waiting for it.
+     *
+     * @return a future completed when the write has committed, or exceptionally if it failed
+     */
+    CompletableFuture<Void> submit(Write write) {
+        if (pool.holdsWriter() || Thread.currentThread() == writerThread) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            try {
+                write.apply();
+                done.complete(null);
+            } catch (SQLException | RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+            return done;
+        }
+        Pending pending = new Pending(write, new CompletableFuture<>());
+        queue.add(pending);
+        // Lost a race with close(): take the write back unless the writer already has it
+        if (closed && queue.remove(pending)) {
+            pending.done.completeExceptionally(new SQLException("The write queue is closed"));
+        }
+        return pending.done;
+    }
+
+    /** Queues a write and waits until it has committed, rethrowing its failure. */
+    void await(Write write) throws SQLException {
+        join(submit(write));
+    }
+
+    /** Waits until every write queued before this call has committed (or failed). */
+    void flush() {
+        try {
+            join(submit(() -> { }));
+        } catch (SQLException e) {
+            LOG.log(Level.FINE, "Write queue flush ended early", e);
+        }
+    }
+
+    /** Commits the writes already queued, then stops the writer thread; later writes fail. */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(STOP);
+        if (Thread.currentThread() != writerThread) {
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Anything that slipped in after STOP is refused rather than left waiting forever
+        for (Pending pending; (pending = queue.poll()) != null; ) {
+            if (pending != STOP) {
+                pending.done.completeExceptionally(new SQLException("The write queue is closed"));
+            }
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                // Keep gathering only while writes are still arriving; a lone write commits at once
+                while (batch.size() < maxBatch && deadline - System.nanoTime() > 0) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) == 0) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Only close() stops the writer; finish what was taken and keep going
+                Thread.interrupted();
+            }
+            int stop = indexOfStop(batch);
+            if (stop >= 0) {
+                stopping = true;
+                // Writes queued after STOP are refused by close()
+                for (Pending late : batch.subList(stop + 1, batch.size())) {
+                    queue.add(late);
+                }
+                batch.subList(stop, batch.size()).clear();
+            }
+            if (!batch.isEmpty()) {
+                commitGroup(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private static int indexOfStop(List<Pending> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) == STOP) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void commitGroup(List<Pending> batch) {
+        try {
+            commit(batch);
+            for (Pending pending : batch) {
+                pending.done.complete(null);
+            }
+        } catch (Throwable e) {
+            if (batch.size() == 1) {
+                batch.get(0).done.completeExceptionally(e);
+                return;
+            }
+            LOG.log(Level.FINE, "Grouped write failed; retrying its writes one by one", e);
+            for (Pending pending : batch) {
+                commitGroup(List.of(pending));
+            }
+        }
+    }
+
+    private void commit(List<Pending> batch) throws SQLException {
+        pool.lockWriter();
+        Connection conn = pool.writerConnection();
+        try {
+            conn.setAutoCommit(false);
+            try {
+                for (Pending pending : batch) {
+                    pending.write.apply();
+                }
+                conn.commit();
+            } catch (Throwable e) {
+                // Roll back before autocommit is restored, which would otherwise commit the partial group
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    e.addSuppressed(rollbackEx);
+                }
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } finally {
+            pool.unlockWriter();
+        }
+    }
+
+    private static void join(CompletableFuture<Void> done) throws SQLException {
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sql) {
+                throw sql;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new SQLException("Queued write failed", cause);
+        }
+    }
+
+    private record Pending(Write write, CompletableFuture<Void> done) {
+    }
+}
@@ -20,6 +20,11 @@ public interface SubmissionRepository {
      */
     SubmissionRecord save(SubmissionRecord submission);
 
+    /**
+     * Saves (inserts or replaces) several submission records in one write.
+     */
+    void saveAll(List<SubmissionRecord> submissions);
+
     /**
      * Returns all submissions for this business, newest first.
      */
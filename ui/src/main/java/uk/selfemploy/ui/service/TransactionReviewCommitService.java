@@ -9,7 +9,10 @@ import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -65,22 +68,55 @@ public class TransactionReviewCommitService {
             bankTransactionService.categorizeAsIncome(tx.id(), created.id(), now);
             return created.id();
         }
-        ExpenseCategory category = tx.suggestedCategory() != null
-            ? tx.suggestedCategory()
-            : DEFAULT_EXPENSE_CATEGORY;
         Expense created = expenseService.create(
-            businessId, tx.date(), tx.absoluteAmount(), tx.description(), category, null, null);
+            businessId, tx.date(), tx.absoluteAmount(), tx.description(), expenseCategory(tx), null, null);
         bankTransactionService.categorizeAsExpense(tx.id(), created.id(), now);
         return created.id();
     }
 
     /**
-     * Commits every given transaction as a business record. Fast path for "commit all as business".
+     * Commits every given transaction as a business record. Fast path for "commit all as business":
+     * the created records, the transaction links and their audit-log entries are saved as a handful
+     * of batched writes rather than several writes per transaction. Transactions already linked to
+     * a record are skipped, as in {@link #commitAsBusiness}.
      */
     public void commitAllBusiness(List<BankTransaction> transactions, Instant now) {
+        List<BankTransaction> credits = new ArrayList<>();
+        List<Income> incomeDrafts = new ArrayList<>();
+        List<BankTransaction> debits = new ArrayList<>();
+        List<Expense> expenseDrafts = new ArrayList<>();
         for (BankTransaction tx : transactions) {
-            commitAsBusiness(tx, now);
+            if (tx.incomeId() != null || tx.expenseId() != null) {
+                continue;
+            }
+            if (tx.isIncome()) {
+                credits.add(tx);
+                incomeDrafts.add(Income.create(
+                    businessId, tx.date(), tx.absoluteAmount(), tx.description(), IncomeCategory.SALES, null));
+            } else {
+                debits.add(tx);
+                expenseDrafts.add(Expense.create(
+                    businessId, tx.date(), tx.absoluteAmount(), tx.description(), expenseCategory(tx), null, null));
+            }
         }
+        if (credits.isEmpty() && debits.isEmpty()) {
+            return;
+        }
+
+        // createAll returns the records in draft order, so position pairs each with its transaction
+        Map<UUID, UUID> recordIds = new HashMap<>();
+        List<Income> incomes = credits.isEmpty() ? List.of() : incomeService.createAll(incomeDrafts);
+        for (int i = 0; i < credits.size(); i++) {
+            recordIds.put(credits.get(i).id(), incomes.get(i).id());
+        }
+        List<Expense> expenses = debits.isEmpty() ? List.of() : expenseService.createAll(expenseDrafts);
+        for (int i = 0; i < debits.size(); i++) {
+            recordIds.put(debits.get(i).id(), expenses.get(i).id());
+        }
+
+        List<BankTransaction> committed = new ArrayList<>(credits);
+        committed.addAll(debits);
+        bankTransactionService.categorizeAll(committed, recordIds, now);
     }
 
     /**
@@ -95,4 +131,8 @@ public class TransactionReviewCommitService {
             expenseService.delete(tx.expenseId());
         }
     }
+
+    private static ExpenseCategory expenseCategory(BankTransaction tx) {
+        return tx.suggestedCategory() != null ? tx.suggestedCategory() : DEFAULT_EXPENSE_CATEGORY;
+    }
 }
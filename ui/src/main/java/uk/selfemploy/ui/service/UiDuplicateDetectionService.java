@@ -4,6 +4,7 @@ import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.core.reconciliation.MatchingUtils;
+import uk.selfemploy.core.reconciliation.NormalizedDescriptionCache;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 import uk.selfemploy.ui.viewmodel.ImportCandidateViewModel;
@@ -177,14 +178,15 @@ public class UiDuplicateDetectionService {
 
     private Optional<FuzzyMatch> findBestFuzzyMatch(LocalDate date, BigDecimal amount,
                                                      String description, List<ExistingRecord> records) {
-        String normalizedDesc = MatchingUtils.normalizeDescription(description);
+        NormalizedDescriptionCache descriptions = NormalizedDescriptionCache.shared();
+        String normalizedDesc = descriptions.normalize(description);
 
         // Find the best match by similarity among records with same date and amount
         return records.stream()
             .filter(r -> r.date().equals(date))
             .filter(r -> r.amount().compareTo(amount) == 0)
             .map(r -> new FuzzyMatch(r, MatchingUtils.calculateSimilarity(
-                normalizedDesc, MatchingUtils.normalizeDescription(r.description()))))
+                normalizedDesc, descriptions.normalize(r.description()))))
             .max(Comparator.comparingDouble(FuzzyMatch::similarity));
     }
 
@@ -13,21 +13,21 @@ import uk.selfemploy.ui.service.submission.SubmissionStrategyFactory;
 import uk.selfemploy.common.enums.SubmissionStatus;
 import uk.selfemploy.common.enums.SubmissionType;
 import uk.selfemploy.core.exception.SubmissionException;
+import uk.selfemploy.hmrc.client.HmrcTransport;
 import uk.selfemploy.hmrc.oauth.HmrcOAuthService;
 import uk.selfemploy.hmrc.oauth.dto.OAuthTokens;
 import uk.selfemploy.ui.viewmodel.CategorySummary;
 import uk.selfemploy.ui.viewmodel.QuarterlyReviewData;
 
 import java.math.BigDecimal;
-import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,8 +35,10 @@ import java.util.logging.Logger;
  * UI-layer service for submitting quarterly updates to HMRC.
  *
  * <p>This service bridges the standalone JavaFX UI to the HMRC MTD API.
- * Since the UI doesn't use Quarkus CDI, it directly uses {@link java.net.http.HttpClient}
- * for API calls and {@link OAuthServiceFactory} for OAuth tokens.</p>
+ * Since the UI doesn't use Quarkus CDI, it sends through the {@link OutboundSubmissionQueue}
+ * on the shared {@link HmrcTransport} and takes OAuth tokens from {@link OAuthServiceFactory}.
+ * An update HMRC cannot take right now is saved as {@code PENDING} and sent by the queue once
+ * HMRC is reachable; the queue's outcome then replaces the pending record.</p>
  *
  * <p>Implements the same PeriodicUpdate building logic as the core
  * {@code QuarterlySubmissionService}, mapping SA103 expense categories
@@ -46,9 +48,6 @@ public class UiQuarterlySubmissionService {
 
     private static final Logger LOG = Logger.getLogger(UiQuarterlySubmissionService.class.getName());
 
-
-    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
-
     /**
      * Returns the HMRC Accept header for the Self-Employment Business (MTD) API.
      *
@@ -67,22 +66,20 @@ public class UiQuarterlySubmissionService {
     }
 
     private final ObjectMapper objectMapper;
-    private final HttpClient httpClient;
+    private final OutboundSubmissionQueue queue;
     private final SqliteDataStore dataStore;
     private final SubmissionStrategyFactory strategyFactory;
+    private final SqliteLedgerSummary ledgerSummary;
 
     private String nino;
     private String hmrcBusinessId;
 
     /**
-     * Creates a new UiQuarterlySubmissionService with default HTTP client.
+     * Creates a new UiQuarterlySubmissionService on the app's submission queue.
      * Uses the singleton SqliteDataStore for NINO reload.
      */
     public UiQuarterlySubmissionService() {
-        this(HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build(),
-                SqliteDataStore.getInstance());
+        this(OutboundSubmissionQueue.getInstance(), SqliteDataStore.getInstance(), new SubmissionStrategyFactory());
     }
 
     /**
@@ -116,12 +113,19 @@ public class UiQuarterlySubmissionService {
      * @param strategyFactory the factory for selecting submission strategies based on tax year
      */
     UiQuarterlySubmissionService(HttpClient httpClient, SqliteDataStore dataStore, SubmissionStrategyFactory strategyFactory) {
-        this.httpClient = httpClient;
+        this(new OutboundSubmissionQueue(dataStore, new HmrcTransport(httpClient)), dataStore, strategyFactory);
+    }
+
+    private UiQuarterlySubmissionService(OutboundSubmissionQueue queue, SqliteDataStore dataStore,
+                                         SubmissionStrategyFactory strategyFactory) {
+        this.queue = queue;
         this.dataStore = dataStore;
         this.strategyFactory = strategyFactory;
+        this.ledgerSummary = new SqliteLedgerSummary(dataStore);
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        queue.onSettled(OutboundSubmissionQueue.Kind.QUARTERLY_UPDATE, this::settleQueued);
     }
 
     // ==================== NINO/Business ID Management ====================
@@ -173,10 +177,14 @@ public class UiQuarterlySubmissionService {
      *   <li>Validates NINO, business ID, and declaration info</li>
      *   <li>Gets a valid OAuth bearer token</li>
      *   <li>Builds a PeriodicUpdate DTO from the review data</li>
-     *   <li>Sends HTTP POST to HMRC Self-Employment API</li>
+     *   <li>Queues the update for HMRC and waits for the first attempt</li>
      *   <li>Parses response and returns a Submission record</li>
      * </ol>
      *
+     * <p>If HMRC cannot be reached or fails transiently, the update is saved as {@code PENDING}
+     * and a retryable {@link SubmissionException} says it will be sent automatically. Submitting
+     * the same figures again reuses the queued update rather than sending a second one.</p>
+     *
      * @param reviewData            the reviewed quarterly data
      * @param declarationAcceptedAt when the user accepted the declaration (UTC)
      * @param declarationTextHash   SHA-256 hash of the confirmation texts
@@ -205,103 +213,86 @@ public class UiQuarterlySubmissionService {
 
         // Build API URL using the strategy
         String apiBaseUrl = System.getProperty("HMRC_API_BASE_URL", "https://test-api.service.hmrc.gov.uk");
-        boolean isSandbox = apiBaseUrl.contains("test-api");
         String url = strategy.buildEndpointUrl(apiBaseUrl, nino, hmrcBusinessId, reviewData.getTaxYear());
 
+        // Fail fast without an HMRC session; nothing is queued for a user who is not connected
+        getBearerToken();
+
         LOG.info("Submitting quarterly update to HMRC: " + url);
 
-        // Try submission with automatic token refresh on 401
-        return submitWithRetry(url, jsonBody, strategy.getHttpMethod(), isSandbox,
-                reviewData, declarationAcceptedAt, declarationTextHash);
+        UUID submissionId = UUID.randomUUID();
+        OutboundSubmissionQueue.Request request = new OutboundSubmissionQueue.Request(
+                CoreServiceFactory.getDefaultBusinessId(), OutboundSubmissionQueue.Kind.QUARTERLY_UPDATE,
+                strategy.getHttpMethod(), url, getAcceptHeader(reviewData.getTaxYear()), jsonBody,
+                submissionId.toString());
+
+        OutboundSubmissionQueue.Delivery delivery;
+        try {
+            delivery = queue.enqueue(request).join();
+        } catch (CompletionException e) {
+            throw notDelivered(e.getCause(), reviewData, declarationAcceptedAt, declarationTextHash);
+        }
+        return handleResponse(delivery, reviewData, declarationAcceptedAt, declarationTextHash);
     }
 
     /**
-     * Submits the request, refreshing the access token and retrying once if HMRC answers 401.
-     *
-     * <p>Only a refresh that HMRC itself rejects means the session is gone, and
-     * {@link HmrcSessionPolicy} alone makes that call. Once a refresh has succeeded, HMRC has just
-     * honoured the grant, so a further 401 is a problem with this request — not with the stored
-     * credentials. Such a failure is reported as a request error, never as an expired session:
-     * callers treat {@code SESSION_EXPIRED} as a cue to force the user back through the browser,
-     * which would be wrong for a credential HMRC never refused.</p>
+     * Maps a first attempt that did not get HMRC's answer. A queued update is recorded as
+     * {@code PENDING} under the id its eventual outcome will be saved against.
      */
-    private Submission submitWithRetry(String url, String jsonBody, String httpMethod, boolean isSandbox,
-                                        QuarterlyReviewData reviewData, Instant declarationAcceptedAt,
-                                        String declarationTextHash) {
-        String bearerToken = getBearerToken();
-        HttpResponse<String> response = executeRequest(url, jsonBody, httpMethod, isSandbox, bearerToken, reviewData);
-
-        if (response.statusCode() == 401) {
-            LOG.info("Received 401 Unauthorized - attempting token refresh and retry");
-            try {
-                bearerToken = getBearerToken(true);
-                response = executeRequest(url, jsonBody, httpMethod, isSandbox, bearerToken, reviewData);
-
-                if (response.statusCode() == 401) {
-                    LOG.warning("Still receiving 401 after a successful token refresh");
-                    throw new SubmissionException(
-                            "HMRC refused this submission even after renewing your session. "
-                            + "You are still signed in; please try again shortly.");
-                }
-            } catch (SubmissionException e) {
-                throw e;
-            } catch (Exception e) {
-                LOG.warning("Retry after 401 failed: " + e.getMessage());
-                throw new SubmissionException(
-                        "The submission could not be retried after HMRC renewed your session: "
-                        + e.getMessage(), e);
+    private SubmissionException notDelivered(Throwable cause, QuarterlyReviewData reviewData,
+                                             Instant declarationAcceptedAt, String declarationTextHash) {
+        if (cause instanceof OutboundSubmissionQueue.NotDeliveredException notDelivered) {
+            if (!notDelivered.queued()) {
+                return new SubmissionException(notDelivered.getMessage());
             }
+            saveSubmissionToSqlite(buildSubmissionRecord(
+                    UUID.fromString(notDelivered.submissionId()), CoreServiceFactory.getDefaultBusinessId(),
+                    reviewData, SubmissionStatus.PENDING, null, null,
+                    declarationAcceptedAt, declarationTextHash));
+            LOG.info("Quarterly update queued for HMRC: " + notDelivered.getMessage());
+            return new SubmissionException(
+                    "HMRC could not take this update right now (" + notDelivered.getMessage() + "). "
+                    + "It has been saved and will be sent automatically when HMRC is available.",
+                    notDelivered, true);
         }
-
-        return handleResponse(response, reviewData, declarationAcceptedAt, declarationTextHash);
+        if (cause instanceof SubmissionException submissionException) {
+            return submissionException;
+        }
+        if (cause instanceof DataStoreException) {
+            return new SubmissionException("The update could not be queued for HMRC: " + cause.getMessage(), cause);
+        }
+        LOG.log(Level.SEVERE, "Unexpected error during HMRC submission", cause);
+        return new SubmissionException("Unexpected error: " + cause.getMessage(), cause);
     }
 
     /**
-     * Executes the HTTP request to HMRC.
+     * Applies the outcome of an update that was queued: the {@code PENDING} record it left becomes
+     * accepted, with HMRC's reference, or rejected, with the reason.
      */
-    private HttpResponse<String> executeRequest(String url, String jsonBody, String httpMethod,
-                                                 boolean isSandbox, String bearerToken,
-                                                 QuarterlyReviewData reviewData) {
-        try {
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(REQUEST_TIMEOUT)
-                    .header("Authorization", "Bearer " + bearerToken)
-                    .header("Content-Type", "application/json")
-                    .header("Accept", getAcceptHeader(reviewData.getTaxYear()));
-
-            // Add fraud prevention headers (required by HMRC for ALL MTD API calls)
-            HmrcFraudHeaders.apply(requestBuilder);
-
-            // Sandbox mode: Don't add Gov-Test-Scenario header to get default success response.
-            if (isSandbox) {
-                LOG.info("Sandbox mode: Using default success scenario (no Gov-Test-Scenario header)");
-            }
-
-            // Use HTTP method from strategy (PUT for cumulative, POST for period)
-            if ("PUT".equals(httpMethod)) {
-                requestBuilder.PUT(HttpRequest.BodyPublishers.ofString(jsonBody));
-                LOG.info("Using PUT method for cumulative endpoint (tax year 2025-26+)");
-            } else {
-                requestBuilder.POST(HttpRequest.BodyPublishers.ofString(jsonBody));
-                LOG.info("Using POST method for period endpoint (tax year 2024-25 or earlier)");
-            }
-
-            HttpRequest request = requestBuilder.build();
-            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        } catch (java.net.http.HttpTimeoutException e) {
-            LOG.log(Level.WARNING, "HMRC API request timed out", e);
-            throw new SubmissionException("HMRC API request timed out. Please try again.", e, true);
-        } catch (java.io.IOException e) {
-            LOG.log(Level.WARNING, "Network error during HMRC submission", e);
-            throw new SubmissionException("Network error: " + e.getMessage() + ". Please check your connection.", e, true);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new SubmissionException("Submission was interrupted", e, true);
-        } catch (Exception e) {
-            LOG.log(Level.SEVERE, "Unexpected error during HMRC submission", e);
-            throw new SubmissionException("Unexpected error: " + e.getMessage(), e);
+    private void settleQueued(OutboundSubmissionQueue.Request request, OutboundSubmissionQueue.Delivery delivery,
+                              String failure) {
+        SqliteSubmissionRepository repository = new SqliteSubmissionRepository(request.businessId(), dataStore);
+        Optional<SubmissionRecord> pending = repository.findById(delivery.submissionId());
+        if (pending.isEmpty()) {
+            LOG.warning("Queued update settled but its pending record is gone: id=" + delivery.submissionId());
+            return;
+        }
+        SubmissionRecord record = pending.get();
+        boolean accepted = failure == null && delivery.accepted();
+        String reference = accepted ? parseHmrcReference(delivery.body()) : null;
+        String error = accepted ? null
+                : failure != null ? failure
+                : parseErrorMessage(delivery.body(), delivery.status());
+        repository.save(new SubmissionRecord(
+                record.id(), record.businessId(), record.type(), record.taxYearStart(),
+                record.periodStart(), record.periodEnd(),
+                record.totalIncome(), record.totalExpenses(), record.netProfit(),
+                (accepted ? SubmissionStatus.ACCEPTED : SubmissionStatus.REJECTED).name(),
+                reference, error, Instant.now()));
+        LOG.info("Queued quarterly update " + (accepted ? "accepted by HMRC: reference=" + reference
+                : "not accepted by HMRC: " + error));
+        if (accepted) {
+            HmrcOverviewService.getInstance().invalidate(TaxYear.of(record.taxYearStart()));
         }
     }
 
@@ -355,6 +346,48 @@ public class UiQuarterlySubmissionService {
         );
     }
 
+    /**
+     * Summarises a quarter for review and submission from the pre-aggregated ledger summary,
+     * without loading the quarter's records.
+     *
+     * <p>Expenses carry their claimable amounts, and a category HMRC disallows contributes no line,
+     * as the quarterly payload carries claims only.</p>
+     *
+     * @throws IllegalArgumentException if any argument is null
+     */
+    public QuarterlyReviewData summariseQuarter(UUID businessId, TaxYear taxYear, Quarter quarter) {
+        if (businessId == null || taxYear == null || quarter == null) {
+            throw new IllegalArgumentException("businessId, taxYear and quarter must not be null");
+        }
+        SqliteLedgerSummary.Line income = ledgerSummary.income(businessId, taxYear, quarter);
+
+        Map<ExpenseCategory, CategorySummary> expensesByCategory = new EnumMap<>(ExpenseCategory.class);
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        int expenseTransactionCount = 0;
+        for (Map.Entry<ExpenseCategory, SqliteLedgerSummary.Line> entry
+                : ledgerSummary.expenses(businessId, taxYear, quarter).entrySet()) {
+            if (!entry.getKey().isAllowable()) {
+                continue;
+            }
+            SqliteLedgerSummary.Line line = entry.getValue();
+            expensesByCategory.put(entry.getKey(), new CategorySummary(line.claimable(), line.count()));
+            totalExpenses = totalExpenses.add(line.claimable());
+            expenseTransactionCount += line.count();
+        }
+
+        return QuarterlyReviewData.builder()
+                .quarter(quarter)
+                .taxYear(taxYear)
+                .periodStart(quarter.getStartDate(taxYear))
+                .periodEnd(quarter.getEndDate(taxYear))
+                .totalIncome(income.amount())
+                .incomeTransactionCount(income.count())
+                .expensesByCategory(expensesByCategory)
+                .totalExpenses(totalExpenses)
+                .expenseTransactionCount(expenseTransactionCount)
+                .build();
+    }
+
     /**
      * Serializes a PeriodicUpdate to JSON.
      *
@@ -369,15 +402,21 @@ public class UiQuarterlySubmissionService {
     // ==================== Response Handling ====================
 
     /**
-     * Handles the HTTP response from HMRC.
+     * Handles HMRC's answer to the update.
      * BUG-10H-001: Saves submission to SQLite for history persistence.
+     *
+     * <p>The queue has already renewed the token and retried once on a 401. Once a refresh has
+     * succeeded, HMRC has just honoured the grant, so a further 401 is a problem with this
+     * request — not with the stored credentials — and is never reported as an expired session:
+     * callers treat {@code SESSION_EXPIRED} as a cue to force the user back through the browser,
+     * which would be wrong for a credential HMRC never refused.</p>
      */
-    private Submission handleResponse(HttpResponse<String> response,
+    private Submission handleResponse(OutboundSubmissionQueue.Delivery delivery,
                                        QuarterlyReviewData reviewData,
                                        Instant declarationAcceptedAt,
                                        String declarationTextHash) {
-        int statusCode = response.statusCode();
-        String body = response.body();
+        int statusCode = delivery.status();
+        String body = delivery.body();
 
         LOG.info("HMRC response: status=" + statusCode + ", bodyLength=" + (body != null ? body.length() : 0));
 
@@ -387,17 +426,26 @@ public class UiQuarterlySubmissionService {
             LOG.info("Submission accepted by HMRC: reference=" + hmrcReference);
 
             Submission submission = buildSubmissionRecord(
-                    CoreServiceFactory.getDefaultBusinessId(), reviewData,
+                    UUID.fromString(delivery.submissionId()), CoreServiceFactory.getDefaultBusinessId(), reviewData,
                     SubmissionStatus.ACCEPTED, hmrcReference,
                     null,
                     declarationAcceptedAt, declarationTextHash
             );
 
             saveSubmissionToSqlite(submission);
+            // HMRC now holds this quarter as received; the screens must not keep showing it open.
+            HmrcOverviewService.getInstance().invalidate(reviewData.getTaxYear());
 
             return submission;
         }
 
+        if (statusCode == 401) {
+            LOG.warning("Still receiving 401 after a successful token refresh");
+            throw new SubmissionException(
+                    "HMRC refused this submission even after renewing your session. "
+                    + "You are still signed in; please try again shortly.");
+        }
+
         // Error response
         String errorMessage = parseErrorMessage(body, statusCode);
         LOG.warning("HMRC rejected submission: " + errorMessage);
@@ -514,6 +562,18 @@ public class UiQuarterlySubmissionService {
                                       String errorMessage,
                                       Instant declarationAcceptedAt,
                                       String declarationTextHash) {
+        return buildSubmissionRecord(UUID.randomUUID(), businessId, reviewData, status, hmrcReference,
+                errorMessage, declarationAcceptedAt, declarationTextHash);
+    }
+
+    private Submission buildSubmissionRecord(UUID id,
+                                              UUID businessId,
+                                              QuarterlyReviewData reviewData,
+                                              SubmissionStatus status,
+                                              String hmrcReference,
+                                              String errorMessage,
+                                              Instant declarationAcceptedAt,
+                                              String declarationTextHash) {
         Quarter quarter = reviewData.getQuarter();
         SubmissionType type = switch (quarter) {
             case Q1 -> SubmissionType.QUARTERLY_Q1;
@@ -523,7 +583,7 @@ public class UiQuarterlySubmissionService {
         };
 
         return new Submission(
-                UUID.randomUUID(),
+                id,
                 businessId,
                 type,
                 reviewData.getTaxYear(),
@@ -588,17 +648,18 @@ public class UiQuarterlySubmissionService {
      * @throws SubmissionException if not connected or tokens are expired
      */
     private String getBearerToken() {
-        return getBearerToken(false);
+        return bearerToken(false);
     }
 
     /**
-     * Gets a valid OAuth bearer token, optionally forcing a refresh.
+     * Gets a valid OAuth bearer token, optionally forcing a refresh. Also the token source of the
+     * app's {@link OutboundSubmissionQueue}, which asks for a token at each attempt.
      *
      * @param forceRefresh if true, attempts to refresh even if tokens appear valid
      * @return the access token string
      * @throws SubmissionException if not connected or tokens are expired
      */
-    private String getBearerToken(boolean forceRefresh) {
+    static String bearerToken(boolean forceRefresh) {
         try {
             HmrcOAuthService oauthService = OAuthServiceFactory.getOAuthService();
 
@@ -639,7 +700,7 @@ public class UiQuarterlySubmissionService {
      * @return the renewed tokens
      * @throws SubmissionException if the refresh fails
      */
-    private OAuthTokens refreshTokens(HmrcOAuthService oauthService) {
+    private static OAuthTokens refreshTokens(HmrcOAuthService oauthService) {
         try {
             return oauthService.refreshAccessToken().get(30, java.util.concurrent.TimeUnit.SECONDS);
 
@@ -6,13 +6,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import javax.crypto.AEADBadTagException;
 import javax.crypto.Cipher;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Objects;
 
 /**
  * Encrypts a backup file under a passphrase of the user's choosing.
@@ -25,17 +37,43 @@ import java.util.Base64;
  * fresh install — so it cannot depend on a vault that may not be there. The passphrase may well be the
  * same one the user types at startup, but the file does not know that.
  *
- * <p>The envelope mirrors {@link Vault}: a readable JSON header naming the cipher and the KDF parameters,
- * with those parameters bound in as additional authenticated data. Editing the header to claim weaker
- * parameters therefore fails the tag instead of quietly changing how the file is read.
+ * <p>Version 1 is a JSON envelope that mirrors {@link Vault}: a readable header naming the cipher and the
+ * KDF parameters, with those parameters bound in as additional authenticated data. Editing the header to
+ * claim weaker parameters therefore fails the tag instead of quietly changing how the file is read. It
+ * holds the whole backup as one Base64 ciphertext, so both ends need all of it in memory.
+ *
+ * <p>Version 2, written by {@link #encryptingStream}, is binary so that a backup can be encrypted as the
+ * export writes it and decrypted as the import reads it. A header carries the same fields as version 1,
+ * then the backup follows as AES-GCM chunks of {@link #CHUNK_SIZE} bytes, each with its own tag. A chunk's
+ * nonce is a per-file prefix, the chunk's position and whether it is the last, and every chunk binds the
+ * whole header as additional data. Chunks therefore cannot be reordered, dropped or moved between files,
+ * a file cut short after any chunk is caught because no chunk said it was the last, and the header is as
+ * tamper-evident as in version 1. Both versions are read by {@link #decrypt}.
  */
 public final class BackupEncryption {
 
     /** Marks a file as one of ours, and is what {@link #isEncrypted} looks for. */
     public static final String TYPE = "selfemploy.backup";
+    /** The JSON envelope's version. */
     public static final int VERSION = 1;
+    /** The chunked binary container's version. */
+    public static final int CHUNKED_VERSION = 2;
     public static final String CIPHER = "AES-256-GCM";
 
+    /** Plaintext bytes per chunk of a version-2 backup. */
+    public static final int CHUNK_SIZE = 64 * 1024;
+
+    /** Opens a version-2 file. Carries the type marker, so a damaged file's prefix still names it. */
+    private static final byte[] MAGIC = (TYPE + "\0").getBytes(StandardCharsets.US_ASCII);
+    private static final String KDF_ALGO = "argon2id";
+    private static final int NONCE_PREFIX_LEN = 7;
+    private static final int TAG_LEN = PassphraseCrypto.GCM_TAG_BITS / 8;
+    /** Refuses a header claiming chunks so large that reading one would itself exhaust memory. */
+    private static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    /** How much of a file is searched for the type marker; it appears near the start in both versions. */
+    private static final int MARKER_PREFIX = 512;
+
     private static final ObjectMapper MAPPER = new ObjectMapper();
     private static final SecureRandom RANDOM = new SecureRandom();
 
@@ -48,6 +86,16 @@ public final class BackupEncryption {
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record Kdf(String algo, int memoryKib, int iterations, int parallelism, String saltB64) {}
 
+    /** What a file picked for restore turns out to be. */
+    public enum FileKind {
+        /** A plain export, read as it is. */
+        EXPORT,
+        /** One of our encrypted backups, of either version. */
+        ENCRYPTED,
+        /** Carries our marker but will not parse as a backup. */
+        DAMAGED
+    }
+
     private BackupEncryption() {
     }
 
@@ -83,13 +131,18 @@ public final class BackupEncryption {
     }
 
     /**
-     * Unwraps an envelope produced by {@link #encrypt}.
+     * Unwraps a backup produced by {@link #encrypt} or {@link #encryptingStream}.
      *
      * @throws WrongPassphraseException if the passphrase is wrong, or the file has been altered — an
      *         auth-tag failure cannot tell those apart, and neither can the user do anything different
      */
     public static byte[] decrypt(byte[] envelopeBytes, char[] passphrase)
             throws WrongPassphraseException, IOException {
+        if (isChunked(envelopeBytes)) {
+            try (InputStream plaintext = decryptingStream(new ByteArrayInputStream(envelopeBytes), passphrase)) {
+                return plaintext.readAllBytes();
+            }
+        }
         Envelope envelope = MAPPER.readValue(envelopeBytes, Envelope.class);
         if (!TYPE.equals(envelope.type())
                 || envelope.kdf() == null || envelope.nonceB64() == null || envelope.ciphertextB64() == null) {
@@ -131,9 +184,13 @@ public final class BackupEncryption {
      *
      * <p>Both are JSON, so this checks the marker rather than whether parsing succeeds. Anything that is
      * not our envelope — including a plain export and any other file the user picks — reads as false, and
-     * the import path then treats it as it always did.
+     * the import path then treats it as it always did. A version-2 file is binary and is recognised by the
+     * marker and version it opens with.
      */
     public static boolean isEncrypted(byte[] fileBytes) {
+        if (isChunked(fileBytes)) {
+            return true;
+        }
         try {
             JsonNode root = MAPPER.readTree(fileBytes);
             return root != null && root.has("type") && TYPE.equals(root.get("type").asText());
@@ -152,7 +209,7 @@ public final class BackupEncryption {
      * of the file, so a prefix scan finds it even when the JSON never closes.
      */
     public static boolean looksLikeDamagedBackup(byte[] fileBytes) {
-        int prefix = Math.min(fileBytes.length, 512);
+        int prefix = Math.min(fileBytes.length, MARKER_PREFIX);
         if (!new String(fileBytes, 0, prefix, StandardCharsets.UTF_8).contains(TYPE)) {
             // Nothing claims to be ours, so there is no need to parse it. This is the ordinary path for a
             // plaintext export, which the caller has already parsed once and may be megabytes long.
@@ -161,6 +218,396 @@ public final class BackupEncryption {
         return !isEncrypted(fileBytes);   // carries the marker but will not parse: damaged
     }
 
+    /**
+     * Tells what a file is, as {@link #isEncrypted} and {@link #looksLikeDamagedBackup} do for bytes in
+     * memory, without reading a plain export or a version-2 backup whole: their opening bytes settle it.
+     * Only a file that names itself ours but is not version 2 is read in full, which a version-1 envelope
+     * has to be anyway.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public static FileKind kindOf(Path file) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = in.readNBytes(MARKER_PREFIX);
+        }
+        if (isChunked(head)) {
+            return FileKind.ENCRYPTED;
+        }
+        if (!new String(head, StandardCharsets.UTF_8).contains(TYPE)) {
+            return FileKind.EXPORT;
+        }
+        return isEncrypted(Files.readAllBytes(file)) ? FileKind.ENCRYPTED : FileKind.DAMAGED;
+    }
+
+    /**
+     * Opens a backup file of either version for reading. A version-2 file is decrypted a chunk at a time as
+     * the returned stream is read, so a restore holds one chunk at once however many years it covers. A
+     * version-1 envelope is one ciphertext, so it is decrypted whole here. Closing the stream closes the file.
+     *
+     * @param passphrase not wiped here; the caller owns it and should zero it afterwards
+     * @throws WrongPassphraseException if the passphrase is wrong, or the file has been altered
+     * @throws IOException              if the file is not a backup this app can read
+     */
+    public static InputStream decryptingStream(Path file, char[] passphrase)
+            throws WrongPassphraseException, IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file));
+        try {
+            in.mark(MAGIC.length + 1);
+            byte[] head = in.readNBytes(MAGIC.length + 1);
+            in.reset();
+            if (isChunked(head)) {
+                return decryptingStream(in, passphrase);
+            }
+            byte[] plaintext = decrypt(in.readAllBytes(), passphrase);
+            in.close();
+            return new ByteArrayInputStream(plaintext);
+        } catch (WrongPassphraseException | IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a version-2 backup on {@code out}, encrypting whatever is written to the returned stream a
+     * chunk at a time. Closing it writes the last chunk and closes {@code out}; a backup whose stream was
+     * never closed is incomplete, and {@link #decryptingStream} refuses it as such.
+     *
+     * @param passphrase not wiped here; the caller owns it and should zero it afterwards
+     * @throws IOException if the header cannot be written
+     */
+    public static OutputStream encryptingStream(OutputStream out, char[] passphrase) throws IOException {
+        byte[] salt = new byte[PassphraseCrypto.SALT_LEN];
+        RANDOM.nextBytes(salt);
+        byte[] noncePrefix = new byte[NONCE_PREFIX_LEN];
+        RANDOM.nextBytes(noncePrefix);
+
+        Kdf kdf = new Kdf(KDF_ALGO, PassphraseCrypto.ARGON2_MEMORY_KIB, PassphraseCrypto.ARGON2_ITERATIONS,
+                PassphraseCrypto.ARGON2_PARALLELISM, Base64.getEncoder().encodeToString(salt));
+        byte[] header = header(CHUNKED_VERSION, CIPHER, kdf, salt, CHUNK_SIZE, noncePrefix);
+        byte[] key = deriveKey(passphrase, kdf);
+        try {
+            out.write(header);
+        } catch (IOException e) {
+            Arrays.fill(key, (byte) 0);
+            throw e;
+        }
+        return new ChunkEncryptingStream(out, key, header, noncePrefix, CHUNK_SIZE);
+    }
+
+    /**
+     * Opens a version-2 backup for reading, decrypting it a chunk at a time as the returned stream is read.
+     * The first chunk is checked before this returns, so a wrong passphrase is reported here rather than
+     * part way through a restore. A later chunk that fails its tag, or a file that ends before its last
+     * chunk, is reported by the stream as an {@link IOException}. Closing the stream closes {@code in}, as
+     * does a failure to open it once the header has been read.
+     *
+     * @param passphrase not wiped here; the caller owns it and should zero it afterwards
+     * @throws WrongPassphraseException if the passphrase is wrong, or the first chunk has been altered
+     * @throws IOException              if {@code in} is not a version-2 backup this app can read
+     */
+    public static InputStream decryptingStream(InputStream in, char[] passphrase)
+            throws WrongPassphraseException, IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] magic = new byte[MAGIC.length];
+        try {
+            data.readFully(magic);
+        } catch (EOFException e) {
+            throw new IOException("This file is not a readable encrypted backup", e);
+        }
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("This file is not a readable encrypted backup");
+        }
+
+        byte[] header;
+        byte[] noncePrefix;
+        int chunkSize;
+        Kdf kdf;
+        try {
+            int version = data.readUnsignedByte();
+            if (version > CHUNKED_VERSION) {
+                throw new IOException("This backup was made by a newer version of the app");
+            }
+            if (version != CHUNKED_VERSION) {
+                throw new IOException("This file is not a readable encrypted backup");
+            }
+            String cipher = data.readUTF();
+            if (!CIPHER.equals(cipher)) {
+                // Checked for the same reason as in version 1: it must not become a downgrade vector.
+                throw new IOException("This backup uses an unsupported cipher: " + cipher);
+            }
+            String algo = data.readUTF();
+            int memoryKib = data.readInt();
+            int iterations = data.readInt();
+            int parallelism = data.readInt();
+            byte[] salt = new byte[data.readUnsignedByte()];
+            data.readFully(salt);
+            chunkSize = data.readInt();
+            if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+                throw new IOException("This backup is damaged and cannot be restored");
+            }
+            noncePrefix = new byte[NONCE_PREFIX_LEN];
+            data.readFully(noncePrefix);
+
+            kdf = new Kdf(algo, memoryKib, iterations, parallelism, Base64.getEncoder().encodeToString(salt));
+            header = header(version, cipher, kdf, salt, chunkSize, noncePrefix);
+        } catch (EOFException e) {
+            throw new IOException("This backup is damaged and cannot be restored", e);
+        }
+
+        byte[] key;
+        try {
+            key = deriveKey(passphrase, kdf);
+        } catch (IllegalArgumentException e) {
+            // Parameters the KDF refuses can only come from an altered header: "this did not open".
+            throw new WrongPassphraseException();
+        }
+        ChunkDecryptingStream plaintext = new ChunkDecryptingStream(data, key, header, noncePrefix, chunkSize);
+        try {
+            plaintext.openFirstChunk();
+        } catch (WrongPassphraseException | IOException | RuntimeException e) {
+            plaintext.close();
+            throw e;
+        }
+        return plaintext;
+    }
+
+    /** Whether these bytes open as a version-2 backup: the marker, then at least the version. */
+    private static boolean isChunked(byte[] fileBytes) {
+        return fileBytes.length > MAGIC.length
+                && Arrays.equals(fileBytes, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * The version-2 header, exactly as written. Also the additional data of every chunk, so no field of
+     * it can be edited without every chunk failing its tag.
+     */
+    private static byte[] header(int version, String cipher, Kdf kdf, byte[] salt, int chunkSize,
+                                 byte[] noncePrefix) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream header = new DataOutputStream(bytes)) {
+            header.write(MAGIC);
+            header.writeByte(version);
+            header.writeUTF(cipher);
+            header.writeUTF(kdf.algo());
+            header.writeInt(kdf.memoryKib());
+            header.writeInt(kdf.iterations());
+            header.writeInt(kdf.parallelism());
+            header.writeByte(salt.length);
+            header.write(salt);
+            header.writeInt(chunkSize);
+            header.write(noncePrefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the backup header", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** The nonce of one chunk: the file's prefix, the chunk's position, and whether it is the last. */
+    private static byte[] chunkNonce(byte[] noncePrefix, long index, boolean last) {
+        if (index > 0xFFFF_FFFFL) {
+            throw new IllegalStateException("The backup is too large to encrypt");
+        }
+        return ByteBuffer.allocate(PassphraseCrypto.NONCE_LEN)
+                .put(noncePrefix)
+                .putInt((int) index)
+                .put((byte) (last ? 1 : 0))
+                .array();
+    }
+
+    /**
+     * Buffers plaintext into chunks and writes each one sealed. Each chunk on disk is a flag saying
+     * whether it is the last, its sealed length, and the sealed bytes.
+     */
+    private static final class ChunkEncryptingStream extends OutputStream {
+
+        private final DataOutputStream out;
+        private final byte[] key;
+        private final byte[] header;
+        private final byte[] noncePrefix;
+        private final byte[] buffer;
+        private int buffered;
+        private long index;
+        private boolean closed;
+
+        ChunkEncryptingStream(OutputStream out, byte[] key, byte[] header, byte[] noncePrefix, int chunkSize) {
+            this.out = new DataOutputStream(out);
+            this.key = key;
+            this.header = header;
+            this.noncePrefix = noncePrefix;
+            this.buffer = new byte[chunkSize];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (closed) {
+                throw new IOException("The backup has already been closed");
+            }
+            while (len > 0) {
+                if (buffered == buffer.length) {
+                    seal(false);
+                }
+                int n = Math.min(len, buffer.length - buffered);
+                System.arraycopy(b, off, buffer, buffered, n);
+                buffered += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        /** Seals what is buffered as the last chunk, then closes the file. */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                seal(true);
+                out.flush();
+            } finally {
+                Arrays.fill(key, (byte) 0);
+                Arrays.fill(buffer, (byte) 0);
+                out.close();
+            }
+        }
+
+        private void seal(boolean last) throws IOException {
+            byte[] plaintext = Arrays.copyOf(buffer, buffered);
+            try {
+                byte[] sealed = PassphraseCrypto.gcm(
+                        Cipher.ENCRYPT_MODE, key, chunkNonce(noncePrefix, index, last), header, plaintext);
+                out.writeByte(last ? 1 : 0);
+                out.writeInt(sealed.length);
+                out.write(sealed);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to encrypt the backup", e);
+            } finally {
+                Arrays.fill(plaintext, (byte) 0);
+            }
+            index++;
+            buffered = 0;
+        }
+    }
+
+    /** Reads sealed chunks back one at a time, holding only the chunk being read. */
+    private static final class ChunkDecryptingStream extends InputStream {
+
+        private final DataInputStream in;
+        private final byte[] key;
+        private final byte[] header;
+        private final byte[] noncePrefix;
+        private final int chunkSize;
+        private byte[] chunk = new byte[0];
+        private int position;
+        private long index;
+        private boolean last;
+        private boolean closed;
+
+        ChunkDecryptingStream(DataInputStream in, byte[] key, byte[] header, byte[] noncePrefix, int chunkSize) {
+            this.in = in;
+            this.key = key;
+            this.header = header;
+            this.noncePrefix = noncePrefix;
+            this.chunkSize = chunkSize;
+        }
+
+        /** Opens the first chunk, where a failed tag means the passphrase is wrong. */
+        void openFirstChunk() throws WrongPassphraseException, IOException {
+            try {
+                nextChunk();
+            } catch (AEADBadTagException e) {
+                throw new WrongPassphraseException();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (closed) {
+                throw new IOException("The backup has already been closed");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (position == chunk.length) {
+                if (last) {
+                    return -1;
+                }
+                try {
+                    nextChunk();
+                } catch (AEADBadTagException e) {
+                    // The first chunk opened, so the passphrase is right: this one has been altered.
+                    throw new IOException("This backup is damaged and cannot be restored", e);
+                }
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Arrays.fill(key, (byte) 0);
+            Arrays.fill(chunk, (byte) 0);
+            in.close();
+        }
+
+        private void nextChunk() throws AEADBadTagException, IOException {
+            boolean sealedAsLast;
+            byte[] sealed;
+            try {
+                int flag = in.readUnsignedByte();
+                int length = in.readInt();
+                if (flag > 1 || length < TAG_LEN || length > chunkSize + TAG_LEN) {
+                    throw new IOException("This backup is damaged and cannot be restored");
+                }
+                sealedAsLast = flag == 1;
+                sealed = new byte[length];
+                in.readFully(sealed);
+            } catch (EOFException e) {
+                throw new IOException("This backup is incomplete: it ends before its last part", e);
+            }
+            Arrays.fill(chunk, (byte) 0);
+            try {
+                chunk = PassphraseCrypto.gcm(
+                        Cipher.DECRYPT_MODE, key, chunkNonce(noncePrefix, index, sealedAsLast), header, sealed);
+            } catch (AEADBadTagException e) {
+                throw e;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to decrypt the backup", e);
+            }
+            position = 0;
+            index++;
+            last = sealedAsLast;
+            if (last && in.read() != -1) {
+                throw new IOException("This backup is damaged and cannot be restored");
+            }
+        }
+    }
+
     private static byte[] deriveKey(char[] passphrase, Kdf kdf) {
         return PassphraseCrypto.deriveKey(passphrase, Base64.getDecoder().decode(kdf.saltB64()),
                 kdf.memoryKib(), kdf.iterations(), kdf.parallelism());
@@ -181,21 +181,45 @@ public final class DatabaseMigrator {
         }
     }
 
-    /** Copies every schema object and its rows from the attached {@code src} into {@code main}. */
+    /**
+     * Copies every schema object and its rows from the attached {@code src} into {@code main}.
+     *
+     * <p>A virtual table (the FTS5 search index) keeps its rows in shadow tables that creating it
+     * makes. So it is created first, its own rows are not copied, and its shadow tables are emptied
+     * and refilled verbatim, which keeps the index and its document ids exactly as they were.</p>
+     */
     private static void copySchemaAndData(Connection c, Statement s) throws SQLException {
+        Map<String, String> kinds = tableKinds(s);
+        List<Object[]> objects = objects(c, "table");
+        for (Object[] obj : objects) {
+            if ("virtual".equals(kinds.get((String) obj[0]))) {
+                s.execute((String) obj[1]);   // CREATE VIRTUAL TABLE ... and its shadow tables
+            }
+        }
         List<String> tables = new ArrayList<>();
-        for (Object[] obj : objects(c, "table")) {
+        List<String> shadowTables = new ArrayList<>();
+        for (Object[] obj : objects) {
             String name = (String) obj[0];
             if (name.startsWith("sqlite_")) {
                 continue;   // sqlite_sequence / sqlite_stat* are managed implicitly
             }
-            s.execute((String) obj[1]);   // CREATE TABLE ... in the encrypted main
-            tables.add(name);
+            String kind = kinds.getOrDefault(name, "table");
+            if (kind.equals("shadow")) {
+                shadowTables.add(name);
+            } else if (!kind.equals("virtual")) {
+                s.execute((String) obj[1]);   // CREATE TABLE ... in the encrypted main
+                tables.add(name);
+            }
         }
         for (String name : tables) {
             String q = quoteIdentifier(name);
             s.execute("INSERT INTO main." + q + " SELECT * FROM src." + q);
         }
+        for (String name : shadowTables) {
+            String q = quoteIdentifier(name);
+            s.execute("DELETE FROM main." + q);
+            s.execute("INSERT INTO main." + q + " SELECT * FROM src." + q);
+        }
         // Preserve AUTOINCREMENT counters if the source tracked any.
         if (hasTable(s, "src", "sqlite_sequence") && hasTable(s, "main", "sqlite_sequence")) {
             s.execute("DELETE FROM main.sqlite_sequence");
@@ -245,6 +269,17 @@ public final class DatabaseMigrator {
         return out;
     }
 
+    /** Each src table's kind as SQLite reports it: table, virtual, shadow or view. */
+    private static Map<String, String> tableKinds(Statement s) throws SQLException {
+        Map<String, String> kinds = new LinkedHashMap<>();
+        try (ResultSet rs = s.executeQuery("PRAGMA src.table_list")) {
+            while (rs.next()) {
+                kinds.put(rs.getString("name"), rs.getString("type"));
+            }
+        }
+        return kinds;
+    }
+
     private static boolean hasTable(Statement s, String schema, String name) throws SQLException {
         try (ResultSet rs = s.executeQuery("SELECT 1 FROM " + schema
                 + ".sqlite_master WHERE type='table' AND name='" + name + "'")) {
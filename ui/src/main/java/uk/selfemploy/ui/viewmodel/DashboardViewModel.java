@@ -317,15 +317,13 @@ public class DashboardViewModel {
         // Calculate estimated tax
         calculateEstimatedTax(taxYear);
 
-        // Load entries for monthly trends and activity
-        List<Income> incomes = incomeService.findByTaxYear(businessId, taxYear);
-        List<Expense> expenses = expenseService.findByTaxYear(businessId, taxYear);
+        // Monthly trends and recent activity come back grouped and limited by the services, so a
+        // refresh reads one row per month and a handful of records rather than the whole year.
+        calculateMonthlyTrends(incomeService.getMonthlyTotals(businessId, taxYear),
+            expenseService.getMonthlyTotals(businessId, taxYear));
 
-        // Calculate monthly trends
-        calculateMonthlyTrends(incomes, expenses);
-
-        // Load recent activity
-        loadRecentActivity(incomes, expenses);
+        loadRecentActivity(incomeService.findRecent(businessId, taxYear, MAX_RECENT_ACTIVITY),
+            expenseService.findRecent(businessId, taxYear, MAX_RECENT_ACTIVITY));
     }
 
     private void calculateEstimatedTax(TaxYear taxYear) {
@@ -345,23 +343,16 @@ public class DashboardViewModel {
         }
     }
 
-    private void calculateMonthlyTrends(List<Income> incomes, List<Expense> expenses) {
+    private void calculateMonthlyTrends(Map<YearMonth, BigDecimal> incomeByMonth,
+                                        Map<YearMonth, BigDecimal> expensesByMonth) {
         YearMonth currentMonth = YearMonth.now();
+        setIncomeThisMonth(thisMonth(incomeByMonth, currentMonth));
+        setExpensesThisMonth(thisMonth(expensesByMonth, currentMonth));
+    }
 
-        // Calculate income this month
-        BigDecimal incomeThisMonthTotal = incomes.stream()
-            .filter(i -> YearMonth.from(i.date()).equals(currentMonth))
-            .map(Income::amount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Calculate expenses this month
-        BigDecimal expensesThisMonthTotal = expenses.stream()
-            .filter(e -> YearMonth.from(e.date()).equals(currentMonth))
-            .map(Expense::amount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        setIncomeThisMonth(incomeThisMonthTotal);
-        setExpensesThisMonth(expensesThisMonthTotal);
+    private static BigDecimal thisMonth(Map<YearMonth, BigDecimal> byMonth, YearMonth month) {
+        BigDecimal total = byMonth != null ? byMonth.get(month) : null;
+        return total != null ? total : BigDecimal.ZERO;
     }
 
     private void loadRecentActivity(List<Income> incomes, List<Expense> expenses) {
@@ -387,7 +378,7 @@ public class DashboardViewModel {
             ));
         }
 
-        // Sort by date descending and limit to MAX_RECENT_ACTIVITY
+        // Each list is already the newest of its kind; merge them and keep the newest overall
         List<ActivityItem> sortedActivity = allActivity.stream()
             .sorted(Comparator.comparing(ActivityItem::date).reversed())
             .limit(MAX_RECENT_ACTIVITY)
@@ -1,30 +1,58 @@
 package uk.selfemploy.ui.viewmodel;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.util.Duration;
 import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.ReceiptStorageService;
+import uk.selfemploy.ui.service.ExpenseRepository;
+import uk.selfemploy.ui.service.LedgerPage;
+import uk.selfemploy.ui.service.LedgerPages;
+import uk.selfemploy.ui.service.LedgerQuery;
 import uk.selfemploy.ui.util.Money;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * ViewModel for the Expense List view.
  * Manages expense data, filtering, sorting, and pagination.
+ *
+ * <p>Backed by a service that implements {@link LedgerPages}, the list is paged by the database:
+ * the category filter and sort run in SQL and only the page on screen is held, fetched by keyset.
+ * A search asks the full-text index instead and lists the best matches first, each described by
+ * the stretch of its text that matched. Typing in the search waits for a pause before querying.
+ * With any other service the year's rows are held in memory.</p>
  */
 public class ExpenseListViewModel {
 
     private static final int DEFAULT_PAGE_SIZE = 10;
 
+    /** How long the search waits after the last keystroke before querying the database. */
+    static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+
+    /** The most matches a search lists; the index ranks them, so these are the best. */
+    static final int SEARCH_LIMIT = 200;
+
     private final ExpenseService expenseService;
     private ReceiptStorageService receiptStorageService;
 
+    // Set when the database pages the list; null when it is held in memory
+    private final LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts> pagedService;
+    private LedgerQuery<ExpenseCategory> query = LedgerQuery.newestFirst();
+    private final List<LedgerQuery.Cursor> pageStarts = new ArrayList<>();
+    private LedgerPage<Expense> page = LedgerPage.empty();
+    private int matchingCount;
+    // While a paged list shows search matches: each match's snippet by id; null otherwise
+    private Map<UUID, String> snippets;
+    private PauseTransition searchPause;
+    private Runnable onResultsChangedCallback;
+
     // Business context
     private UUID businessId;
     private TaxYear taxYear;
@@ -56,12 +84,27 @@ public class ExpenseListViewModel {
 
     public ExpenseListViewModel(ExpenseService expenseService) {
         this.expenseService = expenseService;
+        this.pagedService = pagesOf(expenseService);
 
         // Reset page when filters change
-        searchText.addListener((obs, oldVal, newVal) -> resetPage());
+        searchText.addListener((obs, oldVal, newVal) -> onSearchChanged());
         selectedCategory.addListener((obs, oldVal, newVal) -> resetPage());
     }
 
+    /** Whether the database pages this list, rather than it being held in memory. */
+    public boolean isPaged() {
+        return pagedService != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts> pagesOf(
+            ExpenseService expenseService) {
+        // An expense service that pages does so over expenses, by category, so the type arguments hold
+        return expenseService instanceof LedgerPages<?, ?, ?> pages
+            ? (LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts>) pages
+            : null;
+    }
+
     // === Data Loading ===
 
     /**
@@ -74,18 +117,17 @@ public class ExpenseListViewModel {
 
         loading.set(true);
         try {
+            if (isPaged()) {
+                loadPagedSummary();
+                return;
+            }
+
             // Load expenses from service
             List<Expense> expenses = expenseService.findByTaxYear(businessId, taxYear);
 
             // Convert to table rows and sort by date descending
             List<ExpenseTableRow> rows = expenses.stream()
-                .map(expense -> {
-                    int receiptCount = 0;
-                    if (receiptStorageService != null) {
-                        receiptCount = receiptStorageService.listReceipts(expense.id()).size();
-                    }
-                    return ExpenseTableRow.fromExpense(expense, receiptCount);
-                })
+                .map(this::toRow)
                 .sorted(Comparator.comparing(ExpenseTableRow::date).reversed())
                 .toList();
 
@@ -122,6 +164,34 @@ public class ExpenseListViewModel {
         }
     }
 
+    /**
+     * The summary cards and first page of a database-paged list. Totals and counts are grouped by
+     * the store; only the page's rows are loaded.
+     */
+    private void loadPagedSummary() {
+        BigDecimal total = expenseService.getTotalByTaxYear(businessId, taxYear);
+        BigDecimal allowable = expenseService.getDeductibleTotal(businessId, taxYear);
+        totalExpenses.set(total);
+        deductibleTotal.set(allowable);
+        nonDeductibleTotal.set(total.subtract(allowable));
+
+        ExpenseRepository.ClaimCounts counts = pagedService.summarise(taxYear);
+        totalCount.set(counts.records());
+        deductibleCount.set(counts.claimed());
+        nonDeductibleCount.set(counts.unclaimed());
+
+        showFirstPage();
+        emptyState.set(counts.records() == 0);
+    }
+
+    private ExpenseTableRow toRow(Expense expense) {
+        int receiptCount = 0;
+        if (receiptStorageService != null) {
+            receiptCount = receiptStorageService.listReceipts(expense.id()).size();
+        }
+        return ExpenseTableRow.fromExpense(expense, receiptCount);
+    }
+
     /**
      * Refreshes the expense list from the database.
      */
@@ -135,6 +205,9 @@ public class ExpenseListViewModel {
      * Returns filtered items based on current search text and category filter.
      */
     public List<ExpenseTableRow> getFilteredItems() {
+        if (isPaged()) {
+            return expenseItems;
+        }
         return expenseItems.stream()
             .filter(this::matchesSearchFilter)
             .filter(this::matchesCategoryFilter)
@@ -146,7 +219,7 @@ public class ExpenseListViewModel {
         if (search == null || search.isBlank()) {
             return true;
         }
-        return row.description().toLowerCase().contains(search.toLowerCase());
+        return LedgerQuery.fold(row.description()).contains(LedgerQuery.fold(search));
     }
 
     private boolean matchesCategoryFilter(ExpenseTableRow row) {
@@ -163,6 +236,9 @@ public class ExpenseListViewModel {
      * Returns the items for the current page.
      */
     public List<ExpenseTableRow> getCurrentPageItems() {
+        if (isPagedByDatabase()) {
+            return expenseItems;
+        }
         List<ExpenseTableRow> filtered = getFilteredItems();
         int start = currentPage.get() * pageSize.get();
         int end = Math.min(start + pageSize.get(), filtered.size());
@@ -179,6 +255,11 @@ public class ExpenseListViewModel {
      */
     public void nextPage() {
         if (hasNextPage()) {
+            if (isPagedByDatabase()) {
+                pageStarts.add(page.next());
+                loadPage(currentPage.get() + 1);
+                return;
+            }
             currentPage.set(currentPage.get() + 1);
         }
     }
@@ -188,6 +269,10 @@ public class ExpenseListViewModel {
      */
     public void previousPage() {
         if (hasPreviousPage()) {
+            if (isPagedByDatabase()) {
+                loadPage(currentPage.get() - 1);
+                return;
+            }
             currentPage.set(currentPage.get() - 1);
         }
     }
@@ -196,6 +281,9 @@ public class ExpenseListViewModel {
      * Returns true if there is a next page available.
      */
     public boolean hasNextPage() {
+        if (isPagedByDatabase()) {
+            return page.hasMore();
+        }
         return currentPage.get() < totalPages.get() - 1;
     }
 
@@ -210,8 +298,7 @@ public class ExpenseListViewModel {
      * Returns the result count text (e.g., "Showing 1-20 of 89 entries").
      */
     public String getResultCountText() {
-        List<ExpenseTableRow> filtered = getFilteredItems();
-        int total = filtered.size();
+        int total = isPaged() ? matchingCount : getFilteredItems().size();
 
         if (total == 0) {
             return "Showing 0 entries";
@@ -224,17 +311,119 @@ public class ExpenseListViewModel {
     }
 
     private void resetPage() {
+        if (isPaged()) {
+            query = query.withSearch(searchText.get()).withFilter(selectedCategory.get());
+            showFirstPage();
+            return;
+        }
+        currentPage.set(0);
+        updatePagination();
+    }
+
+    /**
+     * Sets a callback run when the list changes on its own, after a debounced search has queried
+     * the database, so the view can redraw the page.
+     */
+    public void setOnResultsChangedCallback(Runnable callback) {
+        this.onResultsChangedCallback = callback;
+    }
+
+    private void onSearchChanged() {
+        // Before a year is loaded there is nothing to query; the search applies when it loads
+        if (!isPaged() || taxYear == null) {
+            resetPage();
+            return;
+        }
+        if (searchPause == null) {
+            searchPause = new PauseTransition(SEARCH_DEBOUNCE);
+            searchPause.setOnFinished(event -> {
+                resetPage();
+                if (onResultsChangedCallback != null) {
+                    onResultsChangedCallback.run();
+                }
+            });
+        }
+        searchPause.playFromStart();
+    }
+
+    /** Whether the database fetches each page, rather than the pages being cut from rows held here. */
+    private boolean isPagedByDatabase() {
+        return isPaged() && snippets == null;
+    }
+
+    /** Shows the first page of the current query, or the search matches when there is a search. */
+    private void showFirstPage() {
+        String search = searchText.get();
+        if (search != null && !search.isBlank()) {
+            loadMatches(search);
+        } else {
+            loadPage(0);
+        }
+    }
+
+    /**
+     * Lists the tax year's best matches for the search, best first, filtered by category. They are
+     * held here and paged on screen; the description column shows each one's snippet.
+     */
+    private void loadMatches(String search) {
+        if (businessId == null || taxYear == null) {
+            return;
+        }
+        Map<UUID, String> found = new HashMap<>();
+        List<ExpenseTableRow> rows = new ArrayList<>();
+        for (LedgerPages.Match<Expense> match : pagedService.search(taxYear, search, SEARCH_LIMIT)) {
+            ExpenseTableRow row = toRow(match.record());
+            if (matchesCategoryFilter(row)) {
+                rows.add(row);
+                found.put(row.id(), match.snippet());
+            }
+        }
+        snippets = found;
+        page = LedgerPage.empty();
+        matchingCount = rows.size();
+        expenseItems.setAll(rows);
         currentPage.set(0);
         updatePagination();
     }
 
+    /**
+     * The text for a row's description column: while searching, the stretch of the expense's text
+     * that matched, with the matched words in square brackets; otherwise its description.
+     */
+    public String getDescriptionText(ExpenseTableRow row) {
+        String snippet = snippets != null ? snippets.get(row.id()) : null;
+        return snippet != null ? snippet : row.description();
+    }
+
+    /**
+     * Fetches page {@code index} of the current query. Page 0 also recounts the matches, as it is
+     * what a new search, filter or sort starts from; later pages follow the cursors already seen.
+     */
+    private void loadPage(int index) {
+        if (businessId == null || taxYear == null) {
+            return;
+        }
+        snippets = null;
+        if (index == 0) {
+            pageStarts.clear();
+            pageStarts.add(null);
+            matchingCount = pagedService.countMatching(taxYear, query);
+        } else {
+            pageStarts.subList(index + 1, pageStarts.size()).clear();
+        }
+        page = pagedService.findPage(taxYear, query, pageStarts.get(index), pageSize.get());
+        expenseItems.setAll(page.items().stream().map(this::toRow).toList());
+        currentPage.set(index);
+        updatePagination();
+    }
+
     private void updatePagination() {
-        int filtered = getFilteredItems().size();
+        int filtered = isPaged() ? matchingCount : getFilteredItems().size();
         int pages = (filtered + pageSize.get() - 1) / pageSize.get();
         totalPages.set(Math.max(1, pages));
 
-        // Ensure current page is valid
-        if (currentPage.get() >= totalPages.get()) {
+        // Ensure current page is valid; a paged list moves only by fetching
+        if (!isPagedByDatabase() && currentPage.get() >= totalPages.get()) {
             currentPage.set(Math.max(0, totalPages.get() - 1));
         }
     }
@@ -391,6 +580,9 @@ public class ExpenseListViewModel {
 
     public void setPageSize(int size) {
         pageSize.set(size);
+        if (isPaged()) {
+            loadPage(0);
+        }
     }
 
     public IntegerProperty pageSizeProperty() {
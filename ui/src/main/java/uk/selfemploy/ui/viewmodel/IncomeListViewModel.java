@@ -1,31 +1,64 @@
 package uk.selfemploy.ui.viewmodel;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.util.Duration;
 import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.IncomeStatus;
 import uk.selfemploy.core.service.IncomeService;
+import uk.selfemploy.ui.service.LedgerPage;
+import uk.selfemploy.ui.service.LedgerPages;
+import uk.selfemploy.ui.service.LedgerQuery;
+import uk.selfemploy.ui.service.SqliteLedgerSummary;
 import uk.selfemploy.ui.util.Money;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * ViewModel for the Income List View.
  * Manages income data, filtering, sorting, and pagination.
+ *
+ * <p>Backed by a service that implements {@link LedgerPages}, the list is paged by the database:
+ * status filter and sort run in SQL and only the page on screen is held, fetched by keyset
+ * so a page deep into a long ledger costs the same as the first. A search asks the full-text index
+ * instead and lists the best matches first, each described by the stretch of its text that matched.
+ * Typing in the search waits for a pause before querying.
+ * With any other service the year's rows are loaded and filtered in memory.</p>
  */
 public class IncomeListViewModel {
 
     private static final int DEFAULT_PAGE_SIZE = 10;
 
+    /** How long the search waits after the last keystroke before querying the database. */
+    static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+
+    /** The most matches a search lists; the index ranks them, so these are the best. */
+    static final int SEARCH_LIMIT = 200;
+
     private final IncomeService incomeService;
     private final UUID businessId;
 
+    // Set when the database pages the list; null when it is held in memory
+    private final LedgerPages<Income, IncomeStatus, Map<IncomeStatus, SqliteLedgerSummary.Line>> pagedService;
+    private LedgerQuery<IncomeStatus> query = LedgerQuery.newestFirst();
+    private final List<LedgerQuery.Cursor> pageStarts = new ArrayList<>();
+    private LedgerPage<Income> page = LedgerPage.empty();
+    private int matchingCount;
+    // While a paged list shows search matches: each match's snippet by id; null otherwise
+    private Map<UUID, String> snippets;
+    private PauseTransition searchPause;
+    private Runnable onResultsChangedCallback;
+
     // Income data
     private final ObservableList<IncomeTableRow> incomeItems = FXCollections.observableArrayList();
     private final ObservableList<IncomeTableRow> filteredItems = FXCollections.observableArrayList();
@@ -62,12 +95,27 @@ public class IncomeListViewModel {
     public IncomeListViewModel(IncomeService incomeService, UUID businessId) {
         this.incomeService = incomeService;
         this.businessId = businessId;
+        this.pagedService = pagesOf(incomeService);
 
         // Listen for filter changes
-        searchText.addListener((obs, oldVal, newVal) -> applyFilters());
+        searchText.addListener((obs, oldVal, newVal) -> onSearchChanged());
         statusFilter.addListener((obs, oldVal, newVal) -> applyFilters());
     }
 
+    /** Whether the database pages this list, rather than it being held in memory. */
+    public boolean isPaged() {
+        return pagedService != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LedgerPages<Income, IncomeStatus, Map<IncomeStatus, SqliteLedgerSummary.Line>> pagesOf(
+            IncomeService incomeService) {
+        // An income service that pages does so over income, by status, so the type arguments hold
+        return incomeService instanceof LedgerPages<?, ?, ?> pages
+            ? (LedgerPages<Income, IncomeStatus, Map<IncomeStatus, SqliteLedgerSummary.Line>>) pages
+            : null;
+    }
+
     /**
      * Loads income for the given tax year.
      *
@@ -75,6 +123,11 @@ public class IncomeListViewModel {
      */
     public void loadIncome(TaxYear taxYear) {
         this.currentTaxYear = taxYear;
+        if (isPaged()) {
+            updateSummaries(pagedService.summarise(taxYear));
+            applyFilters();
+            return;
+        }
         List<Income> incomes = incomeService.findByTaxYear(businessId, taxYear);
 
         incomeItems.clear();
@@ -97,7 +150,7 @@ public class IncomeListViewModel {
 
     /**
      * Adds an income row to the list.
-     * Used for testing and manual additions.
+     * Used for testing and manual additions to a list held in memory.
      *
      * @param row The income row to add
      */
@@ -120,6 +173,16 @@ public class IncomeListViewModel {
      * Applies current filters and updates the filtered list.
      */
     public void applyFilters() {
+        if (isPaged()) {
+            query = query.withSearch(searchText.get()).withFilter(statusFilter.get());
+            String search = searchText.get();
+            if (search != null && !search.isBlank()) {
+                loadMatches(search);
+            } else {
+                loadPage(0);
+            }
+            return;
+        }
         List<IncomeTableRow> filtered = incomeItems.stream()
             .filter(item -> item.matchesSearch(searchText.get()))
             .filter(item -> item.matchesStatus(statusFilter.get()))
@@ -137,6 +200,7 @@ public class IncomeListViewModel {
      * @param ascending True for ascending, false for descending
      */
     public void sortByDate(boolean ascending) {
+        query = query.sortedBy(LedgerQuery.Sort.DATE, ascending);
         currentComparator = ascending
             ? Comparator.comparing(IncomeTableRow::date)
             : Comparator.comparing(IncomeTableRow::date).reversed();
@@ -149,6 +213,7 @@ public class IncomeListViewModel {
      * @param ascending True for ascending, false for descending
      */
     public void sortByAmount(boolean ascending) {
+        query = query.sortedBy(LedgerQuery.Sort.AMOUNT, ascending);
         currentComparator = ascending
             ? Comparator.comparing(IncomeTableRow::amount)
             : Comparator.comparing(IncomeTableRow::amount).reversed();
@@ -161,6 +226,7 @@ public class IncomeListViewModel {
      * @param ascending True for ascending, false for descending
      */
     public void sortByClientName(boolean ascending) {
+        query = query.sortedBy(LedgerQuery.Sort.CLIENT_NAME, ascending);
         currentComparator = ascending
             ? Comparator.comparing(IncomeTableRow::clientName, String.CASE_INSENSITIVE_ORDER)
             : Comparator.comparing(IncomeTableRow::clientName, String.CASE_INSENSITIVE_ORDER).reversed();
@@ -172,6 +238,11 @@ public class IncomeListViewModel {
      */
     public void nextPage() {
         if (canGoNext()) {
+            if (isPagedByDatabase()) {
+                pageStarts.add(page.next());
+                loadPage(currentPage.get() + 1);
+                return;
+            }
             currentPage.set(currentPage.get() + 1);
         }
     }
@@ -181,6 +252,10 @@ public class IncomeListViewModel {
      */
     public void previousPage() {
         if (canGoPrevious()) {
+            if (isPagedByDatabase()) {
+                loadPage(currentPage.get() - 1);
+                return;
+            }
             currentPage.set(currentPage.get() - 1);
         }
     }
@@ -189,6 +264,9 @@ public class IncomeListViewModel {
      * Checks if navigation to next page is possible.
      */
     public boolean canGoNext() {
+        if (isPagedByDatabase()) {
+            return page.hasMore();
+        }
         return currentPage.get() < totalPages.get() - 1;
     }
 
@@ -203,6 +281,9 @@ public class IncomeListViewModel {
      * Returns the items for the current page.
      */
     public List<IncomeTableRow> getCurrentPageItems() {
+        if (isPagedByDatabase()) {
+            return filteredItems;
+        }
         int start = currentPage.get() * pageSize.get();
         int end = Math.min(start + pageSize.get(), filteredItems.size());
         if (start >= filteredItems.size()) {
@@ -215,7 +296,7 @@ public class IncomeListViewModel {
      * Returns the result count text (e.g., "Showing 1-20 of 47 entries").
      */
     public String getResultCountText() {
-        int total = filteredItems.size();
+        int total = isPaged() ? matchingCount : filteredItems.size();
         if (total == 0) {
             return "Showing 0 entries";
         }
@@ -224,8 +305,111 @@ public class IncomeListViewModel {
         return String.format("Showing %d-%d of %d entries", start, end, total);
     }
 
+    /**
+     * Sets a callback run when the list changes on its own, after a debounced search has queried
+     * the database, so the view can redraw the page.
+     */
+    public void setOnResultsChangedCallback(Runnable callback) {
+        this.onResultsChangedCallback = callback;
+    }
+
+    // === Database Paging ===
+
+    private void onSearchChanged() {
+        // Before a year is loaded there is nothing to query; the search applies when it loads
+        if (!isPaged() || currentTaxYear == null) {
+            applyFilters();
+            return;
+        }
+        if (searchPause == null) {
+            searchPause = new PauseTransition(SEARCH_DEBOUNCE);
+            searchPause.setOnFinished(event -> {
+                applyFilters();
+                if (onResultsChangedCallback != null) {
+                    onResultsChangedCallback.run();
+                }
+            });
+        }
+        searchPause.playFromStart();
+    }
+
+    /** Whether the database fetches each page, rather than the pages being cut from rows held here. */
+    private boolean isPagedByDatabase() {
+        return isPaged() && snippets == null;
+    }
+
+    /**
+     * Lists the tax year's best matches for the search, best first, filtered by status. They are
+     * held here and paged on screen; the description column shows each one's snippet.
+     */
+    private void loadMatches(String search) {
+        if (currentTaxYear == null) {
+            return;
+        }
+        Map<UUID, String> found = new HashMap<>();
+        List<IncomeTableRow> rows = new ArrayList<>();
+        for (LedgerPages.Match<Income> match : pagedService.search(currentTaxYear, search, SEARCH_LIMIT)) {
+            IncomeTableRow row = IncomeTableRow.fromIncome(match.record());
+            if (row.matchesStatus(statusFilter.get())) {
+                rows.add(row);
+                found.put(row.id(), match.snippet());
+            }
+        }
+        snippets = found;
+        page = LedgerPage.empty();
+        matchingCount = rows.size();
+        incomeItems.setAll(rows);
+        filteredItems.setAll(rows);
+        updatePagination();
+        currentPage.set(0);
+    }
+
+    /**
+     * The text for a row's description column: while searching, the stretch of the record's text
+     * that matched, with the matched words in square brackets; otherwise its description.
+     */
+    public String getDescriptionText(IncomeTableRow row) {
+        String snippet = snippets != null ? snippets.get(row.id()) : null;
+        return snippet != null ? snippet : row.description();
+    }
+
+    /**
+     * Fetches page {@code index} of the current query. Page 0 also recounts the matches, as it is
+     * what a new search, filter or sort starts from; later pages follow the cursors already seen.
+     */
+    private void loadPage(int index) {
+        if (currentTaxYear == null) {
+            return;
+        }
+        snippets = null;
+        if (index == 0) {
+            pageStarts.clear();
+            pageStarts.add(null);
+            matchingCount = pagedService.countMatching(currentTaxYear, query);
+        } else {
+            pageStarts.subList(index + 1, pageStarts.size()).clear();
+        }
+        page = pagedService.findPage(currentTaxYear, query, pageStarts.get(index), pageSize.get());
+        List<IncomeTableRow> rows = page.items().stream().map(IncomeTableRow::fromIncome).toList();
+        incomeItems.setAll(rows);
+        filteredItems.setAll(rows);
+        updatePagination();
+        currentPage.set(index);
+    }
+
     // === Summary Updates ===
 
+    private void updateSummaries(Map<IncomeStatus, SqliteLedgerSummary.Line> byStatus) {
+        SqliteLedgerSummary.Line paid = byStatus.getOrDefault(IncomeStatus.PAID, SqliteLedgerSummary.Line.ZERO);
+        SqliteLedgerSummary.Line unpaid = byStatus.getOrDefault(IncomeStatus.UNPAID, SqliteLedgerSummary.Line.ZERO);
+        totalIncome.set(paid.amount().add(unpaid.amount()));
+        paidIncome.set(paid.amount());
+        unpaidIncome.set(unpaid.amount());
+        totalCount.set(paid.count() + unpaid.count());
+        paidCount.set(paid.count());
+        unpaidCount.set(unpaid.count());
+    }
+
     private void updateSummaries() {
         BigDecimal total = BigDecimal.ZERO;
         BigDecimal paid = BigDecimal.ZERO;
@@ -253,7 +437,7 @@ public class IncomeListViewModel {
     }
 
     private void updatePagination() {
-        int total = filteredItems.size();
+        int total = isPaged() ? matchingCount : filteredItems.size();
         int pages = total == 0 ? 1 : (int) Math.ceil((double) total / pageSize.get());
         totalPages.set(pages);
     }
@@ -389,6 +573,10 @@ public class IncomeListViewModel {
 
     public void setPageSize(int size) {
         pageSize.set(size);
+        if (isPaged()) {
+            loadPage(0);
+            return;
+        }
         updatePagination();
     }
 
@@ -400,6 +588,9 @@ public class IncomeListViewModel {
      * Returns true if there are no income items at all (true empty state).
      */
     public boolean isEmptyState() {
+        if (isPaged()) {
+            return totalCount.get() == 0;
+        }
         return incomeItems.isEmpty();
     }
 
@@ -407,6 +598,9 @@ public class IncomeListViewModel {
      * Returns true if filters returned no results but there are items.
      */
     public boolean isNoResults() {
+        if (isPaged()) {
+            return totalCount.get() > 0 && matchingCount == 0;
+        }
         return !incomeItems.isEmpty() && filteredItems.isEmpty();
     }
 
@@ -3,6 +3,7 @@ package uk.selfemploy.ui.viewmodel;
 import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.enums.IncomeCategory;
 import uk.selfemploy.common.enums.IncomeStatus;
+import uk.selfemploy.ui.service.LedgerQuery;
 import uk.selfemploy.ui.util.Money;
 
 import java.math.BigDecimal;
@@ -106,9 +107,9 @@ public record IncomeTableRow(
         if (query == null || query.isBlank()) {
             return true;
         }
-        String lowerQuery = query.toLowerCase();
-        return (clientName != null && clientName.toLowerCase().contains(lowerQuery))
-            || (description != null && description.toLowerCase().contains(lowerQuery));
+        String lowerQuery = LedgerQuery.fold(query);
+        return (clientName != null && LedgerQuery.fold(clientName).contains(lowerQuery))
+            || (description != null && LedgerQuery.fold(description).contains(lowerQuery));
     }
 
     /**
@@ -38,8 +38,9 @@ public final class QuarterState {
      * Resolves the display status of a quarter from the calendar and whether the
      * quarter has any recorded data.
      *
-     * <p>Note: a passed deadline is currently reported as OVERDUE regardless of an
-     * actual HMRC submission; wiring real submission state is tracked separately.</p>
+     * <p>Note: a passed deadline is reported as OVERDUE regardless of an actual HMRC
+     * submission; the quarterly updates screen shows SUBMITTED instead for the quarters
+     * HMRC's obligations report as received.</p>
      *
      * @param quarter the quarter
      * @param taxYear the tax year being displayed
@@ -5,7 +5,10 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import uk.selfemploy.common.domain.BankTransaction;
 import uk.selfemploy.common.enums.ReviewStatus;
+import uk.selfemploy.core.bankimport.CategorizationEngine;
+import uk.selfemploy.core.bankimport.CategorizationProgress;
 import uk.selfemploy.ui.service.SqliteBankTransactionService;
+import uk.selfemploy.ui.service.SqliteLedgerSearch;
 import uk.selfemploy.ui.service.TransactionReviewCommitService;
 
 import java.io.BufferedWriter;
@@ -23,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -80,6 +85,11 @@ public class TransactionReviewViewModel {
 
     private TransactionReviewCommitService commitService;
     private UUID batchScope;
+    private CategorizationEngine categorizationEngine;
+    private SqliteLedgerSearch ledgerSearch;
+
+    // While searching through the index: each matching transaction's snippet by id; null otherwise
+    private Map<UUID, String> snippets;
 
     public TransactionReviewViewModel(SqliteBankTransactionService service) {
         this.service = service;
@@ -109,6 +119,22 @@ public class TransactionReviewViewModel {
         this.batchScope = importAuditId;
     }
 
+    /**
+     * Sets the engine that suggests categories for pending transactions. Required before
+     * {@link #suggestCategoriesForPending} is used.
+     */
+    public void setCategorizationEngine(CategorizationEngine categorizationEngine) {
+        this.categorizationEngine = categorizationEngine;
+    }
+
+    /**
+     * Sets the full-text index the search box asks. Without one the search matches descriptions
+     * by substring, in memory.
+     */
+    public void setLedgerSearch(SqliteLedgerSearch ledgerSearch) {
+        this.ledgerSearch = ledgerSearch;
+    }
+
     // === Data Loading ===
 
     /**
@@ -132,15 +158,17 @@ public class TransactionReviewViewModel {
     // === Filtering ===
 
     /**
-     * Applies all current filters and sorts the result.
+     * Applies all current filters and sorts the result. A search through the index keeps the
+     * transactions it matched, best match first.
      */
     public void applyFilters() {
+        Map<UUID, Integer> rank = searchIndex(searchText.get());
         List<TransactionReviewTableRow> filtered = allItems.stream()
-            .filter(row -> row.matchesSearch(searchText.get()))
+            .filter(row -> rank != null ? rank.containsKey(row.id()) : row.matchesSearch(searchText.get()))
             .filter(row -> row.matchesStatus(statusFilter.get()))
             .filter(row -> row.matchesDateRange(dateFrom.get(), dateTo.get()))
             .filter(row -> row.matchesAmountRange(amountMin.get(), amountMax.get()))
-            .sorted(currentComparator)
+            .sorted(rank != null ? Comparator.comparing(row -> rank.get(row.id())) : currentComparator)
             .collect(Collectors.toList());
 
         filteredItems.setAll(filtered);
@@ -148,6 +176,38 @@ public class TransactionReviewViewModel {
         currentPage.set(0);
     }
 
+    /**
+     * Asks the index for the business's transactions matching the search, keeping each one's
+     * snippet for the description column.
+     *
+     * @return each match's position, best first; null when there is no search or no index
+     */
+    private Map<UUID, Integer> searchIndex(String search) {
+        snippets = null;
+        if (ledgerSearch == null || search == null || search.isBlank() || allItems.isEmpty()) {
+            return null;
+        }
+        List<SqliteLedgerSearch.Hit> hits = ledgerSearch.search(service.getBusinessId(), search,
+            SqliteLedgerSearch.Ledger.BANK_TRANSACTION, null, null, allItems.size());
+        Map<UUID, Integer> rank = new HashMap<>();
+        Map<UUID, String> found = new HashMap<>();
+        for (SqliteLedgerSearch.Hit hit : hits) {
+            rank.put(hit.recordId(), rank.size());
+            found.put(hit.recordId(), hit.snippet());
+        }
+        snippets = found;
+        return rank;
+    }
+
+    /**
+     * The text for a row's description column: while searching, the stretch of the transaction's
+     * text that matched, with the matched words in square brackets; otherwise its description.
+     */
+    public String getDescriptionText(TransactionReviewTableRow row) {
+        String snippet = snippets != null ? snippets.get(row.id()) : null;
+        return snippet != null ? snippet : row.description();
+    }
+
     // === Sorting ===
 
     public void sortByDate(boolean ascending) {
@@ -230,12 +290,13 @@ public class TransactionReviewViewModel {
     public void batchMarkBusiness() {
         if (selectedIds.isEmpty() || commitService == null) return;
         saveUndoSnapshot();
-        Instant now = Instant.now();
+        List<BankTransaction> pending = new ArrayList<>();
         for (UUID id : selectedIds) {
             service.findById(id)
                 .filter(tx -> tx.reviewStatus() == ReviewStatus.PENDING)
-                .ifPresent(tx -> commitService.commitAsBusiness(tx, now));
+                .ifPresent(pending::add);
         }
+        commitService.commitAllBusiness(pending, Instant.now());
         clearSelection();
         loadTransactions();
     }
@@ -268,6 +329,39 @@ public class TransactionReviewViewModel {
         loadTransactions();
     }
 
+    /**
+     * Runs the categorization engine over every PENDING transaction in scope and saves the result:
+     * a suggested category, or an exclusion for transfers, cash withdrawals and the like.
+     *
+     * <p>Call on the FX thread. Like the other batch operations it saves an undo snapshot first;
+     * the transactions are then categorized in parallel and saved on the given executor, so tens of
+     * thousands of rows do not block the UI. Call {@link #loadTransactions()} on the FX thread once
+     * the returned future completes. The callback receives progress and may return false to cancel,
+     * in which case nothing is saved and the future fails with a
+     * {@link java.util.concurrent.CancellationException}.</p>
+     *
+     * @param progress progress and cancellation callback (may be null)
+     * @param executor runs the categorization and the save
+     * @return the number of transactions updated
+     */
+    public CompletableFuture<Integer> suggestCategoriesForPending(CategorizationProgress progress,
+                                                                 Executor executor) {
+        if (categorizationEngine == null) return CompletableFuture.completedFuture(0);
+        saveUndoSnapshot();
+        List<BankTransaction> pending =
+            (batchScope != null ? service.findByBatch(batchScope) : undoSnapshot).stream()
+                .filter(tx -> tx.reviewStatus() == ReviewStatus.PENDING)
+                .toList();
+
+        CategorizationEngine engine = categorizationEngine;
+        return CompletableFuture.supplyAsync(() -> {
+            List<BankTransaction> categorized = engine.applyRecommendations(pending, Instant.now(), progress);
+            service.saveAll(categorized);
+            LOG.info("Suggested categories for " + categorized.size() + " pending bank transactions");
+            return categorized.size();
+        }, executor);
+    }
+
     // === Individual Operations ===
 
     /**
@@ -362,9 +456,7 @@ public class TransactionReviewViewModel {
                 commitService.revertCommit(current);
             }
         }
-        for (BankTransaction tx : undoSnapshot) {
-            service.save(tx);
-        }
+        service.saveAll(undoSnapshot);
         undoSnapshot = null;
         canUndo.set(false);
         loadTransactions();
@@ -0,0 +1,24 @@
+-- Submissions on their way to HMRC, held until HMRC has given a definite answer. A row is keyed by
+-- an idempotency key derived from what is sent, so sending the same update again reuses its row
+-- (and, once HMRC has accepted it, its answer) instead of submitting it twice. Access tokens are
+-- never stored: each attempt is made with the token current at the time.
+CREATE TABLE IF NOT EXISTS outbound_submissions (
+    idempotency_key  TEXT PRIMARY KEY,
+    business_id      TEXT NOT NULL,
+    kind             TEXT NOT NULL,
+    http_method      TEXT NOT NULL,
+    url              TEXT NOT NULL,
+    accept           TEXT NOT NULL,
+    body             TEXT NOT NULL,
+    submission_id    TEXT NOT NULL,
+    state            TEXT NOT NULL,
+    attempts         INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at  INTEGER NOT NULL,
+    last_status      INTEGER,
+    last_error       TEXT,
+    response_body    TEXT,
+    created_at       TEXT NOT NULL,
+    updated_at       TEXT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbound_submissions_state ON outbound_submissions (state);
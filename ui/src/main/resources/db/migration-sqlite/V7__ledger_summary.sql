@@ -0,0 +1,19 @@
+-- Per-period totals of the income and expense ledgers, one row per business, tax year, quarter,
+-- ledger and category. Maintained by the repositories in the same transaction as each write to
+-- income or expenses, so screens and submissions read a handful of rows instead of re-adding the
+-- ledger. Amounts are decimal text, added in BigDecimal for the reason given in sql/expense.sql.
+-- SqliteLedgerSummary can rebuild it from the ledgers, and verify it against them.
+CREATE TABLE IF NOT EXISTS ledger_summary (
+    business_id     TEXT NOT NULL,
+    tax_year_start  INTEGER NOT NULL,
+    quarter         TEXT NOT NULL,
+    ledger          TEXT NOT NULL,
+    category        TEXT NOT NULL,
+    record_count    INTEGER NOT NULL,
+    spent           TEXT NOT NULL,
+    claimable       TEXT NOT NULL,
+    PRIMARY KEY (business_id, tax_year_start, quarter, ledger, category),
+    FOREIGN KEY (business_id) REFERENCES business(id) ON DELETE CASCADE,
+    CHECK (quarter IN ('Q1', 'Q2', 'Q3', 'Q4')),
+    CHECK (ledger IN ('INCOME', 'EXPENSE'))
+);
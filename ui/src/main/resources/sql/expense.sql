@@ -15,14 +15,100 @@ SELECT * FROM expenses WHERE business_id = ? ORDER BY date DESC;
 -- name: findExpensesByBusinessAndDateRange
 SELECT * FROM expenses WHERE business_id = ? AND date >= ? AND date <= ? ORDER BY date DESC;
 
--- name: selectExpenseAmountsByBusinessAndDateRange
--- Amounts, not a SUM: SQLite has no decimal type, so SUM() over these returns a float and
--- 10.10 three times over comes to 30.299999999999997. They are added up in BigDecimal instead.
-SELECT amount FROM expenses
+-- name: selectExpenseTotalPenceByBusinessAndDateRange
+-- Totals are added up in whole pence. SQLite has no decimal type, so SUM() over the stored text
+-- amounts is floating point and 10.10 three times over comes to 30.299999999999997; each amount
+-- is turned into an integer number of pence first, and integers add exactly. The repository
+-- divides the result by a hundred.
+SELECT coalesce(sum(CAST(round(amount * 100) AS INTEGER)), 0) AS pence FROM expenses
 WHERE business_id = ? AND date >= ? AND date <= ?;
 
+-- name: selectExpenseMonthlyPenceByBusinessAndDateRange
+-- One row per month, totalled in pence as above.
+SELECT substr(date, 1, 7) AS month, sum(CAST(round(amount * 100) AS INTEGER)) AS pence FROM expenses
+WHERE business_id = ? AND date >= ? AND date <= ?
+GROUP BY month
+ORDER BY month;
+
+-- name: selectExpenseClaimPenceByBusinessAndDateRange
+-- One row per category and business-use share, in pence. A claim is apportioned and rounded
+-- half up per expense, so the share is worked out for each row before the rows are added:
+-- (pence * pct + 50) / 100 in integer arithmetic is that rounding for a positive amount, and
+-- gives the whole amount back at 100%. Whether the category may be claimed at all is left to
+-- the repository, which asks the category. The two counts say how many rows claim something
+-- and how many claim less than they cost.
+SELECT category, business_use_pct,
+       count(*) AS records,
+       sum(pence) AS spent_pence,
+       sum(share_pence) AS share_pence,
+       count(CASE WHEN share_pence > 0 THEN 1 END) AS sharing_records,
+       count(CASE WHEN share_pence < pence THEN 1 END) AS partial_records
+FROM (SELECT category, business_use_pct,
+             CAST(round(amount * 100) AS INTEGER) AS pence,
+             (CAST(round(amount * 100) AS INTEGER) * business_use_pct + 50) / 100 AS share_pence
+      FROM expenses
+      WHERE business_id = ? AND date >= ? AND date <= ? AND amount <> '')
+GROUP BY category, business_use_pct;
+
+-- name: findRecentExpensesByBusinessAndDateRange
+SELECT * FROM expenses
+WHERE business_id = ? AND date >= ? AND date <= ?
+ORDER BY date DESC
+LIMIT ?;
+
 -- name: deleteExpenseById
 DELETE FROM expenses WHERE id = ?;
 
 -- name: countExpensesByBusiness
 SELECT COUNT(*) FROM expenses WHERE business_id = ?;
+
+-- name: countExpensesMatching
+-- The expense list: this count and the findExpensePageBy* pages below. The pages take:
+--   business_id, start date, end date,
+--   search term twice (case-folded, '' for none),
+--   category twice (NULL for all),
+--   keyset cursor: sort key twice (NULL for the first page), then id,
+--   page size.
+-- The count takes the same parameters up to the cursor. The search matches the description.
+-- Rows are ordered by the sort key and then by id, so the cursor names one position exactly;
+-- amounts sort numerically, the cast only for ordering.
+SELECT COUNT(*) FROM expenses
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR category = ?);
+
+-- name: findExpensePageByDateDesc
+SELECT *, date AS sort_key FROM expenses
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR category = ?)
+  AND (? IS NULL OR (date, id) < (?, ?))
+ORDER BY date DESC, id DESC
+LIMIT ?;
+
+-- name: findExpensePageByDateAsc
+SELECT *, date AS sort_key FROM expenses
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR category = ?)
+  AND (? IS NULL OR (date, id) > (?, ?))
+ORDER BY date ASC, id ASC
+LIMIT ?;
+
+-- name: findExpensePageByAmountDesc
+SELECT *, CAST(amount AS REAL) AS sort_key FROM expenses
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR category = ?)
+  AND (? IS NULL OR (CAST(amount AS REAL), id) < (CAST(? AS REAL), ?))
+ORDER BY CAST(amount AS REAL) DESC, id DESC
+LIMIT ?;
+
+-- name: findExpensePageByAmountAsc
+SELECT *, CAST(amount AS REAL) AS sort_key FROM expenses
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR category = ?)
+  AND (? IS NULL OR (CAST(amount AS REAL), id) > (CAST(? AS REAL), ?))
+ORDER BY CAST(amount AS REAL) ASC, id ASC
+LIMIT ?;
@@ -15,13 +15,107 @@ SELECT * FROM income WHERE business_id = ? ORDER BY date DESC;
 -- name: findIncomeByBusinessAndDateRange
 SELECT * FROM income WHERE business_id = ? AND date >= ? AND date <= ? ORDER BY date DESC;
 
--- name: selectIncomeAmountsByBusinessAndDateRange
--- Amounts, not a SUM: see the note in expense.sql - SQLite sums money as floating point.
-SELECT amount FROM income
+-- name: selectIncomeTotalPenceByBusinessAndDateRange
+-- Added up in whole pence, not SUM()med as stored: see the note in expense.sql - SQLite sums
+-- money as floating point, but adds integers exactly.
+SELECT coalesce(sum(CAST(round(amount * 100) AS INTEGER)), 0) AS pence FROM income
 WHERE business_id = ? AND date >= ? AND date <= ?;
 
+-- name: selectIncomeMonthlyPenceByBusinessAndDateRange
+-- One row per month, totalled in pence for the reason given in expense.sql.
+SELECT substr(date, 1, 7) AS month, sum(CAST(round(amount * 100) AS INTEGER)) AS pence FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+GROUP BY month
+ORDER BY month;
+
+-- name: findRecentIncomeByBusinessAndDateRange
+SELECT * FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+ORDER BY date DESC
+LIMIT ?;
+
 -- name: deleteIncomeById
 DELETE FROM income WHERE id = ?;
 
 -- name: countIncomeByBusiness
 SELECT COUNT(*) FROM income WHERE business_id = ?;
+
+-- name: selectIncomeStatusPenceByBusinessAndDateRange
+-- One row per payment status, totalled in pence for the reason given in expense.sql.
+-- A record saved before status was stored counts as paid, as it does when mapped.
+SELECT coalesce(status, 'PAID') AS status, count(*) AS records,
+       coalesce(sum(CAST(round(amount * 100) AS INTEGER)), 0) AS pence
+FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+GROUP BY coalesce(status, 'PAID');
+
+-- name: countIncomeMatching
+-- The income list: this count and the findIncomePageBy* pages below. The pages take:
+--   business_id, start date, end date,
+--   search term three times (case-folded, '' for none),
+--   status twice (NULL for all),
+--   keyset cursor: sort key twice (NULL for the first page), then id,
+--   page size.
+-- The count takes the same parameters up to the cursor.
+-- The search matches the client name or the description, as the in-memory list did. Rows are
+-- ordered by the sort key and then by id, so the cursor names one position exactly and a page
+-- never skips or repeats a row. Amounts sort numerically; the cast is only for ordering.
+SELECT COUNT(*) FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(coalesce(client_name, '')), ?) > 0 OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR coalesce(status, 'PAID') = ?);
+
+-- name: findIncomePageByDateDesc
+SELECT *, date AS sort_key FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(coalesce(client_name, '')), ?) > 0 OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR coalesce(status, 'PAID') = ?)
+  AND (? IS NULL OR (date, id) < (?, ?))
+ORDER BY date DESC, id DESC
+LIMIT ?;
+
+-- name: findIncomePageByDateAsc
+SELECT *, date AS sort_key FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(coalesce(client_name, '')), ?) > 0 OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR coalesce(status, 'PAID') = ?)
+  AND (? IS NULL OR (date, id) > (?, ?))
+ORDER BY date ASC, id ASC
+LIMIT ?;
+
+-- name: findIncomePageByAmountDesc
+SELECT *, CAST(amount AS REAL) AS sort_key FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(coalesce(client_name, '')), ?) > 0 OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR coalesce(status, 'PAID') = ?)
+  AND (? IS NULL OR (CAST(amount AS REAL), id) < (CAST(? AS REAL), ?))
+ORDER BY CAST(amount AS REAL) DESC, id DESC
+LIMIT ?;
+
+-- name: findIncomePageByAmountAsc
+SELECT *, CAST(amount AS REAL) AS sort_key FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(coalesce(client_name, '')), ?) > 0 OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR coalesce(status, 'PAID') = ?)
+  AND (? IS NULL OR (CAST(amount AS REAL), id) > (CAST(? AS REAL), ?))
+ORDER BY CAST(amount AS REAL) ASC, id ASC
+LIMIT ?;
+
+-- name: findIncomePageByClientDesc
+-- A record with no client name sorts by its description, which is what the list shows for it.
+SELECT *, casefold(coalesce(nullif(trim(client_name), ''), description)) AS sort_key FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(coalesce(client_name, '')), ?) > 0 OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR coalesce(status, 'PAID') = ?)
+  AND (? IS NULL OR (casefold(coalesce(nullif(trim(client_name), ''), description)), id) < (?, ?))
+ORDER BY casefold(coalesce(nullif(trim(client_name), ''), description)) DESC, id DESC
+LIMIT ?;
+
+-- name: findIncomePageByClientAsc
+SELECT *, casefold(coalesce(nullif(trim(client_name), ''), description)) AS sort_key FROM income
+WHERE business_id = ? AND date >= ? AND date <= ?
+  AND (? = '' OR instr(casefold(coalesce(client_name, '')), ?) > 0 OR instr(casefold(description), ?) > 0)
+  AND (? IS NULL OR coalesce(status, 'PAID') = ?)
+  AND (? IS NULL OR (casefold(coalesce(nullif(trim(client_name), ''), description)), id) > (?, ?))
+ORDER BY casefold(coalesce(nullif(trim(client_name), ''), description)) ASC, id ASC
+LIMIT ?;
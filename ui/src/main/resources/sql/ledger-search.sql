@@ -0,0 +1,176 @@
+-- Named SQL statements for SqliteLedgerSearch. Each statement is delimited by a
+-- "-- name: <key>" marker. The tables and triggers are created by migration 9.
+
+-- name: createLedgerSearchTable
+-- One document per income record, expense and live bank transaction. Only the text columns are
+-- indexed; the rest come back with a hit.
+CREATE VIRTUAL TABLE IF NOT EXISTS ledger_search USING fts5(
+    description,
+    party,
+    notes,
+    ledger UNINDEXED,
+    record_id UNINDEXED,
+    business_id UNINDEXED,
+    date UNINDEXED,
+    amount UNINDEXED,
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '2 3'
+);
+
+-- name: createSearchDocumentsTable
+-- Which document holds which record, so a trigger finds a record's document by key rather than by
+-- scanning the index. doc_id is the document's rowid in ledger_search.
+CREATE TABLE IF NOT EXISTS search_documents (
+    doc_id INTEGER PRIMARY KEY,
+    ledger TEXT NOT NULL,
+    record_id TEXT NOT NULL,
+    UNIQUE (ledger, record_id)
+);
+
+-- name: createIncomeSearchReplaceTrigger
+-- The repositories save with INSERT OR REPLACE, which removes the old row without firing its
+-- delete trigger, so the old document is dropped before the new row goes in.
+CREATE TRIGGER IF NOT EXISTS income_search_replace BEFORE INSERT ON income BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'INCOME' AND record_id = NEW.id);
+    DELETE FROM search_documents WHERE ledger = 'INCOME' AND record_id = NEW.id;
+END;
+
+-- name: createIncomeSearchInsertTrigger
+CREATE TRIGGER IF NOT EXISTS income_search_insert AFTER INSERT ON income BEGIN
+    INSERT INTO search_documents (ledger, record_id) SELECT 'INCOME', NEW.id;
+    INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+    SELECT doc_id, NEW.description, NEW.client_name, NEW.reference, 'INCOME', NEW.id, NEW.business_id, NEW.date, NEW.amount
+    FROM search_documents WHERE ledger = 'INCOME' AND record_id = NEW.id;
+END;
+
+-- name: createIncomeSearchUpdateTrigger
+CREATE TRIGGER IF NOT EXISTS income_search_update AFTER UPDATE ON income BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'INCOME' AND record_id = OLD.id);
+    DELETE FROM search_documents WHERE ledger = 'INCOME' AND record_id = OLD.id;
+    INSERT INTO search_documents (ledger, record_id) SELECT 'INCOME', NEW.id;
+    INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+    SELECT doc_id, NEW.description, NEW.client_name, NEW.reference, 'INCOME', NEW.id, NEW.business_id, NEW.date, NEW.amount
+    FROM search_documents WHERE ledger = 'INCOME' AND record_id = NEW.id;
+END;
+
+-- name: createIncomeSearchDeleteTrigger
+CREATE TRIGGER IF NOT EXISTS income_search_delete AFTER DELETE ON income BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'INCOME' AND record_id = OLD.id);
+    DELETE FROM search_documents WHERE ledger = 'INCOME' AND record_id = OLD.id;
+END;
+
+-- name: createExpenseSearchReplaceTrigger
+CREATE TRIGGER IF NOT EXISTS expense_search_replace BEFORE INSERT ON expenses BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = NEW.id);
+    DELETE FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = NEW.id;
+END;
+
+-- name: createExpenseSearchInsertTrigger
+CREATE TRIGGER IF NOT EXISTS expense_search_insert AFTER INSERT ON expenses BEGIN
+    INSERT INTO search_documents (ledger, record_id) SELECT 'EXPENSE', NEW.id;
+    INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+    SELECT doc_id, NEW.description, NULL, NEW.notes, 'EXPENSE', NEW.id, NEW.business_id, NEW.date, NEW.amount
+    FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = NEW.id;
+END;
+
+-- name: createExpenseSearchUpdateTrigger
+CREATE TRIGGER IF NOT EXISTS expense_search_update AFTER UPDATE ON expenses BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = OLD.id);
+    DELETE FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = OLD.id;
+    INSERT INTO search_documents (ledger, record_id) SELECT 'EXPENSE', NEW.id;
+    INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+    SELECT doc_id, NEW.description, NULL, NEW.notes, 'EXPENSE', NEW.id, NEW.business_id, NEW.date, NEW.amount
+    FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = NEW.id;
+END;
+
+-- name: createExpenseSearchDeleteTrigger
+CREATE TRIGGER IF NOT EXISTS expense_search_delete AFTER DELETE ON expenses BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = OLD.id);
+    DELETE FROM search_documents WHERE ledger = 'EXPENSE' AND record_id = OLD.id;
+END;
+
+-- name: createBankTransactionSearchReplaceTrigger
+CREATE TRIGGER IF NOT EXISTS bank_transaction_search_replace BEFORE INSERT ON bank_transactions BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = NEW.id);
+    DELETE FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = NEW.id;
+END;
+
+-- name: createBankTransactionSearchInsertTrigger
+CREATE TRIGGER IF NOT EXISTS bank_transaction_search_insert AFTER INSERT ON bank_transactions BEGIN
+    INSERT INTO search_documents (ledger, record_id) SELECT 'BANK_TRANSACTION', NEW.id WHERE NEW.deleted_at IS NULL;
+    INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+    SELECT doc_id, NEW.description, NULL, NULL, 'BANK_TRANSACTION', NEW.id, NEW.business_id, NEW.date, NEW.amount
+    FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = NEW.id;
+END;
+
+-- name: createBankTransactionSearchUpdateTrigger
+-- A soft-deleted bank transaction leaves the index; restoring it puts it back.
+CREATE TRIGGER IF NOT EXISTS bank_transaction_search_update AFTER UPDATE ON bank_transactions BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = OLD.id);
+    DELETE FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = OLD.id;
+    INSERT INTO search_documents (ledger, record_id) SELECT 'BANK_TRANSACTION', NEW.id WHERE NEW.deleted_at IS NULL;
+    INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+    SELECT doc_id, NEW.description, NULL, NULL, 'BANK_TRANSACTION', NEW.id, NEW.business_id, NEW.date, NEW.amount
+    FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = NEW.id;
+END;
+
+-- name: createBankTransactionSearchDeleteTrigger
+CREATE TRIGGER IF NOT EXISTS bank_transaction_search_delete AFTER DELETE ON bank_transactions BEGIN
+    DELETE FROM ledger_search WHERE rowid = (SELECT doc_id FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = OLD.id);
+    DELETE FROM search_documents WHERE ledger = 'BANK_TRANSACTION' AND record_id = OLD.id;
+END;
+
+-- name: clearLedgerSearch
+DELETE FROM ledger_search;
+
+-- name: clearSearchDocuments
+DELETE FROM search_documents;
+
+-- name: numberAllRecords
+INSERT INTO search_documents (ledger, record_id)
+SELECT 'INCOME', id FROM income
+UNION ALL SELECT 'EXPENSE', id FROM expenses
+UNION ALL SELECT 'BANK_TRANSACTION', id FROM bank_transactions WHERE deleted_at IS NULL;
+
+-- name: indexAllIncome
+INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+SELECT d.doc_id, i.description, i.client_name, i.reference, 'INCOME', i.id, i.business_id, i.date, i.amount
+FROM income i JOIN search_documents d ON d.ledger = 'INCOME' AND d.record_id = i.id;
+
+-- name: indexAllExpenses
+INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+SELECT d.doc_id, e.description, NULL, e.notes, 'EXPENSE', e.id, e.business_id, e.date, e.amount
+FROM expenses e JOIN search_documents d ON d.ledger = 'EXPENSE' AND d.record_id = e.id;
+
+-- name: indexAllBankTransactions
+INSERT INTO ledger_search (rowid, description, party, notes, ledger, record_id, business_id, date, amount)
+SELECT d.doc_id, b.description, NULL, NULL, 'BANK_TRANSACTION', b.id, b.business_id, b.date, b.amount
+FROM bank_transactions b JOIN search_documents d ON d.ledger = 'BANK_TRANSACTION' AND d.record_id = b.id;
+
+-- name: optimiseLedgerSearch
+INSERT INTO ledger_search (ledger_search) VALUES ('optimize');
+
+-- name: searchLedgers
+-- Parameters: match expression, business_id, limit. bm25 weighs a hit in the description above
+-- one in the client and that above one in the notes; lower is better. The snippet is taken from
+-- whichever text column matched best, with the matched terms in square brackets.
+SELECT ledger, record_id, date, amount,
+       snippet(ledger_search, -1, '[', ']', '…', 12) AS snippet,
+       bm25(ledger_search, 4.0, 2.0, 1.0) AS score
+FROM ledger_search
+WHERE ledger_search MATCH ? AND business_id = ?
+ORDER BY score
+LIMIT ?;
+
+-- name: searchLedger
+-- One ledger's hits, as a list screen's search box asks for them. Parameters: match expression,
+-- business_id, ledger, start date twice and end date twice (NULL for no bound), limit. Ranked and
+-- snipped as searchLedgers is.
+SELECT ledger, record_id, date, amount,
+       snippet(ledger_search, -1, '[', ']', '…', 12) AS snippet,
+       bm25(ledger_search, 4.0, 2.0, 1.0) AS score
+FROM ledger_search
+WHERE ledger_search MATCH ? AND business_id = ? AND ledger = ?
+  AND (? IS NULL OR date >= ?) AND (? IS NULL OR date <= ?)
+ORDER BY score
+LIMIT ?;
@@ -0,0 +1,37 @@
+-- SQL for SqliteLedgerSummary. Loaded by NamedSql; each block is delimited by a
+-- "-- name: <key>" marker. The ledger_summary DDL is migration V7.
+
+-- name: selectLedgerSummaryLine
+SELECT record_count, spent, claimable FROM ledger_summary
+WHERE business_id = ? AND tax_year_start = ? AND quarter = ? AND ledger = ? AND category = ?;
+
+-- name: upsertLedgerSummaryLine
+INSERT OR REPLACE INTO ledger_summary
+    (business_id, tax_year_start, quarter, ledger, category, record_count, spent, claimable)
+VALUES (?, ?, ?, ?, ?, ?, ?, ?);
+
+-- name: deleteLedgerSummaryLine
+DELETE FROM ledger_summary
+WHERE business_id = ? AND tax_year_start = ? AND quarter = ? AND ledger = ? AND category = ?;
+
+-- name: selectLedgerSummaryForYear
+SELECT quarter, category, record_count, spent, claimable FROM ledger_summary
+WHERE business_id = ? AND tax_year_start = ? AND ledger = ?;
+
+-- name: selectLedgerSummaryForBusiness
+SELECT tax_year_start, quarter, ledger, category, record_count, spent, claimable FROM ledger_summary
+WHERE business_id = ?;
+
+-- name: deleteLedgerSummaryForBusiness
+DELETE FROM ledger_summary WHERE business_id = ?;
+
+-- name: selectBusinessesWithLedgerRows
+SELECT business_id FROM income
+UNION
+SELECT business_id FROM expenses;
+
+-- name: selectIncomeRowsForSummary
+SELECT date, amount, category FROM income WHERE business_id = ?;
+
+-- name: selectExpenseRowsForSummary
+SELECT date, amount, category, business_use_pct FROM expenses WHERE business_id = ?;
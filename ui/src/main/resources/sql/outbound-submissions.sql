@@ -0,0 +1,54 @@
+-- SQL for OutboundSubmissionQueue. Loaded by NamedSql; each block is delimited by a
+-- "-- name: <key>" marker. The outbound_submissions DDL is migration V10.
+
+-- name: insertOutboundSubmission
+-- A key seen before keeps its row, unless HMRC finally refused it: then it is queued afresh.
+INSERT INTO outbound_submissions
+    (idempotency_key, business_id, kind, http_method, url, accept, body, submission_id, state,
+     attempts, next_attempt_at, created_at, updated_at)
+VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?, ?)
+ON CONFLICT (idempotency_key) DO UPDATE SET
+    submission_id = excluded.submission_id,
+    state = 'PENDING',
+    attempts = 0,
+    next_attempt_at = excluded.next_attempt_at,
+    last_status = NULL,
+    last_error = NULL,
+    response_body = NULL,
+    updated_at = excluded.updated_at
+WHERE outbound_submissions.state = 'FAILED';
+
+-- name: selectOutboundSubmission
+SELECT rowid AS sequence, * FROM outbound_submissions WHERE idempotency_key = ?;
+
+-- name: selectPendingOutboundSubmissions
+SELECT rowid AS sequence, * FROM outbound_submissions WHERE state = 'PENDING' ORDER BY rowid;
+
+-- name: countEarlierPendingOutboundSubmissions
+SELECT COUNT(*) FROM outbound_submissions
+WHERE state = 'PENDING' AND business_id = ? AND kind = ? AND rowid < ?;
+
+-- name: claimOutboundSubmission
+-- Taken before each attempt. Only the attempt that moves attempts on from the row as it read it may
+-- send, so a row delivered, given up, rescheduled or dropped since it was read is never sent again.
+UPDATE outbound_submissions
+SET attempts = attempts + 1, updated_at = ?
+WHERE idempotency_key = ? AND state = 'PENDING' AND attempts = ? AND next_attempt_at = ?;
+
+-- name: markOutboundSubmissionDelivered
+UPDATE outbound_submissions
+SET state = 'DELIVERED', attempts = ?, last_status = ?, last_error = NULL, response_body = ?, updated_at = ?
+WHERE idempotency_key = ?;
+
+-- name: markOutboundSubmissionFailed
+UPDATE outbound_submissions
+SET state = 'FAILED', attempts = ?, last_status = ?, last_error = ?, response_body = ?, updated_at = ?
+WHERE idempotency_key = ?;
+
+-- name: rescheduleOutboundSubmission
+UPDATE outbound_submissions
+SET attempts = ?, next_attempt_at = ?, last_status = ?, last_error = ?, updated_at = ?
+WHERE idempotency_key = ? AND state = 'PENDING';
+
+-- name: deleteOutboundSubmission
+DELETE FROM outbound_submissions WHERE idempotency_key = ?;
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import uk.selfemploy.ui.service.security.BackupEncryption;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,10 +29,19 @@ class SettingsBackupContentTest {
         return s.toCharArray();
     }
 
+    /** Writes the export through the stream the choice produces, as the export does. */
+    private static byte[] written(boolean encrypting, char[] passphrase) throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        try (OutputStream out = SettingsController.backupStream(encrypting, file, passphrase)) {
+            out.write(EXPORT);
+        }
+        return file.toByteArray();
+    }
+
     @Test
     @DisplayName("choosing encryption produces an envelope, not the records")
-    void encryptingProducesAnEnvelope() {
-        byte[] written = SettingsController.backupContent(true, EXPORT, pw("correct horse battery staple"));
+    void encryptingProducesAnEnvelope() throws Exception {
+        byte[] written = written(true, pw("correct horse battery staple"));
 
         assertThat(BackupEncryption.isEncrypted(written)).isTrue();
         assertThat(new String(written, StandardCharsets.UTF_8))
@@ -40,15 +52,15 @@ class SettingsBackupContentTest {
     @Test
     @DisplayName("an encrypted backup opens with the passphrase it was written under")
     void encryptedBackupOpensAgain() throws Exception {
-        byte[] written = SettingsController.backupContent(true, EXPORT, pw("correct horse battery staple"));
+        byte[] written = written(true, pw("correct horse battery staple"));
 
         assertThat(BackupEncryption.decrypt(written, pw("correct horse battery staple"))).isEqualTo(EXPORT);
     }
 
     @Test
     @DisplayName("declining encryption writes the export unchanged, which is a deliberate choice")
-    void plaintextIsWrittenAsIs() {
-        byte[] written = SettingsController.backupContent(false, EXPORT, null);
+    void plaintextIsWrittenAsIs() throws Exception {
+        byte[] written = written(false, null);
 
         assertThat(written).isEqualTo(EXPORT);
         assertThat(BackupEncryption.isEncrypted(written)).isFalse();
@@ -59,9 +71,11 @@ class SettingsBackupContentTest {
     void encryptingWithoutAPassphraseIsRefused() {
         // The failure that matters: a bug upstream that loses the passphrase must not quietly downgrade
         // an encrypted backup into a plaintext one.
-        assertThatThrownBy(() -> SettingsController.backupContent(true, EXPORT, null))
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> SettingsController.backupStream(true, file, null))
                 .isInstanceOf(IllegalArgumentException.class);
-        assertThatThrownBy(() -> SettingsController.backupContent(true, EXPORT, new char[0]))
+        assertThatThrownBy(() -> SettingsController.backupStream(true, file, new char[0]))
                 .isInstanceOf(IllegalArgumentException.class);
+        assertThat(file.size()).as("nothing may be written, in the clear or otherwise").isZero();
     }
 }
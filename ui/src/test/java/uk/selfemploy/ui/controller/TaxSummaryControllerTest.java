@@ -11,6 +11,7 @@ import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.common.enums.IncomeCategory;
+import uk.selfemploy.core.profit.ProfitTotals;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 import uk.selfemploy.ui.i18n.Messages;
@@ -103,10 +104,7 @@ class TaxSummaryControllerTest {
                 null
             );
 
-            when(incomeService.findByTaxYear(businessId, taxYear))
-                .thenReturn(List.of(income1, income2));
-            when(expenseService.findByTaxYear(businessId, taxYear))
-                .thenReturn(List.of(expense1));
+            givenYear(List.of(income1, income2), List.of(expense1));
 
             // When - initialize with dependencies and set tax year
             controller.initializeWithDependencies(incomeService, expenseService, businessId);
@@ -122,8 +120,7 @@ class TaxSummaryControllerTest {
         @DisplayName("should show empty state when the year has no income or expenses")
         void shouldShowEmptyStateWhenNoData() {
             // Given - services return nothing for the year
-            when(incomeService.findByTaxYear(businessId, taxYear)).thenReturn(List.of());
-            when(expenseService.findByTaxYear(businessId, taxYear)).thenReturn(List.of());
+            givenYear(List.of(), List.of());
 
             // When
             controller.initializeWithDependencies(incomeService, expenseService, businessId);
@@ -150,8 +147,7 @@ class TaxSummaryControllerTest {
                 null,
                 null, null, null
             );
-            when(incomeService.findByTaxYear(businessId, taxYear)).thenReturn(List.of(income));
-            when(expenseService.findByTaxYear(businessId, taxYear)).thenReturn(List.of());
+            givenYear(List.of(income), List.of());
 
             // When
             controller.initializeWithDependencies(incomeService, expenseService, businessId);
@@ -179,10 +175,7 @@ class TaxSummaryControllerTest {
                 null, null, null
             );
 
-            when(incomeService.findByTaxYear(businessId, taxYear))
-                .thenReturn(List.of(income));
-            when(expenseService.findByTaxYear(businessId, taxYear))
-                .thenReturn(List.of());
+            givenYear(List.of(income), List.of());
 
             // When
             controller.initializeWithDependencies(incomeService, expenseService, businessId);
@@ -241,10 +234,7 @@ class TaxSummaryControllerTest {
                 null
             );
 
-            when(incomeService.findByTaxYear(businessId, taxYear))
-                .thenReturn(List.of());
-            when(expenseService.findByTaxYear(businessId, taxYear))
-                .thenReturn(List.of(officeExpense, travelExpense, officeExpense2));
+            givenYear(List.of(), List.of(officeExpense, travelExpense, officeExpense2));
 
             // When
             controller.initializeWithDependencies(incomeService, expenseService, businessId);
@@ -648,4 +638,15 @@ class TaxSummaryControllerTest {
             assertThat(grandTotal).isEqualByComparingTo(expected);
         }
     }
+
+    /**
+     * Stubs the aggregates the controller reads, derived from the given records the way the
+     * services derive them.
+     */
+    private void givenYear(List<Income> incomes, List<Expense> expenses) {
+        BigDecimal turnover = incomes.stream().map(Income::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        when(incomeService.getTotalByTaxYear(businessId, taxYear)).thenReturn(turnover);
+        when(expenseService.getCategorySpend(businessId, taxYear))
+            .thenReturn(ProfitTotals.of(List.of(), expenses).byCategory());
+    }
 }
@@ -0,0 +1,252 @@
+package uk.selfemploy.ui.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import uk.selfemploy.common.domain.Quarter;
+import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.ui.service.HmrcOverviewService.HmrcOverview;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("HmrcOverviewService")
+class HmrcOverviewServiceTest {
+
+    private static final String NINO = "AA123456A";
+    private static final TaxYear TAX_YEAR = TaxYear.of(2025);
+
+    private static final String OBLIGATIONS_BODY = """
+        {
+          "obligations": [{
+            "incomeSourceType": "self-employment",
+            "incomeSourceId": "XAIS12345678901",
+            "obligationDetails": [
+              { "periodStartDate": "2025-04-06", "periodEndDate": "2025-07-05",
+                "dueDate": "2025-08-07", "receivedDate": "2025-08-01", "status": "Fulfilled" },
+              { "periodStartDate": "2025-07-01", "periodEndDate": "2025-09-30",
+                "dueDate": "2025-11-07", "status": "Fulfilled", "receivedDate": "2025-10-20" },
+              { "periodStartDate": "2025-10-06", "periodEndDate": "2026-01-05",
+                "dueDate": "2026-02-07", "status": "Open" }
+            ]
+          }]
+        }
+        """;
+
+    private HttpClient httpClient;
+    private MutableClock clock;
+    private AtomicInteger tokensIssued;
+    private HmrcOverviewService service;
+
+    @BeforeEach
+    void setUp() {
+        httpClient = mock(HttpClient.class);
+        clock = new MutableClock(Instant.parse("2025-12-01T10:00:00Z"));
+        tokensIssued = new AtomicInteger();
+        service = new HmrcOverviewService(httpClient, () -> "token-" + tokensIssued.incrementAndGet(), clock);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void answering(int status, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(body);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenAnswer(invocation -> {
+                HttpRequest request = invocation.getArgument(0);
+                return CompletableFuture.completedFuture(request.uri().getPath().contains("/obligations/")
+                    ? obligations(status) : response);
+            });
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpResponse<String> obligations(int status) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(OBLIGATIONS_BODY);
+        return response;
+    }
+
+    @Nested
+    @DisplayName("fetching")
+    class Fetching {
+
+        @Test
+        @DisplayName("issues the individual details, business details and obligations calls")
+        void issuesAllThreeCalls() {
+            answering(200, "{}");
+
+            HmrcOverview overview = service.overview(NINO, TAX_YEAR);
+
+            assertThat(overview.individualDetails().ok()).isTrue();
+            assertThat(overview.businessDetails().ok()).isTrue();
+            assertThat(overview.obligations().ok()).isTrue();
+            verify(httpClient, times(3)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        }
+
+        @Test
+        @DisplayName("reports the quarters HMRC has received, matching calendar-quarter periods too")
+        void quartersReceived() {
+            answering(200, "{}");
+
+            HmrcOverview overview = service.overview(NINO, TAX_YEAR);
+
+            assertThat(overview.quartersReceived(TAX_YEAR)).containsExactlyInAnyOrder(Quarter.Q1, Quarter.Q2);
+            assertThat(overview.openObligations()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("a call that gets no answer fails the overview")
+        void noAnswerFails() {
+            when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.failedFuture(new ConnectException("refused")));
+
+            assertThatThrownBy(() -> service.overview(NINO, TAX_YEAR))
+                .isInstanceOf(UncheckedIOException.class);
+        }
+
+        @Test
+        @DisplayName("a call that gets no answer leaves the others' answers, and the overview is not kept")
+        @SuppressWarnings("unchecked")
+        void noAnswerLeavesOthers() {
+            HttpResponse<String> businesses = mock(HttpResponse.class);
+            when(businesses.statusCode()).thenReturn(200);
+            when(businesses.body()).thenReturn("{\"listOfBusinesses\":[]}");
+            when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    HttpRequest request = invocation.getArgument(0);
+                    return request.uri().getPath().contains("/business/")
+                        ? CompletableFuture.completedFuture(businesses)
+                        : CompletableFuture.failedFuture(new ConnectException("refused"));
+                });
+
+            HmrcOverview overview = service.overview(NINO, TAX_YEAR);
+
+            assertThat(overview.businessDetails().ok()).isTrue();
+            assertThatThrownBy(overview::obligations).isInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(() -> overview.quartersReceived(TAX_YEAR)).isInstanceOf(UncheckedIOException.class);
+            service.overview(NINO, TAX_YEAR);
+            verify(httpClient, times(6)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        }
+
+        @Test
+        @DisplayName("rejects a blank NINO without calling HMRC")
+        void blankNino() {
+            assertThatThrownBy(() -> service.overview(" ", TAX_YEAR))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThat(tokensIssued).hasValue(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("caching")
+    class Caching {
+
+        @Test
+        @DisplayName("reuses a recent overview without asking for a token or calling HMRC")
+        void reusesRecentOverview() {
+            answering(200, "{}");
+
+            HmrcOverview first = service.overview(NINO, TAX_YEAR);
+            clock.advance(Duration.ofMinutes(4));
+            HmrcOverview second = service.overview(NINO, TAX_YEAR);
+
+            assertThat(second).isSameAs(first);
+            assertThat(tokensIssued).hasValue(1);
+            verify(httpClient, times(3)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        }
+
+        @Test
+        @DisplayName("asks HMRC again once the overview has expired")
+        void expires() {
+            answering(200, "{}");
+
+            service.overview(NINO, TAX_YEAR);
+            clock.advance(HmrcOverviewService.TIME_TO_LIVE.plusSeconds(1));
+            service.overview(NINO, TAX_YEAR);
+
+            verify(httpClient, times(6)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        }
+
+        @Test
+        @DisplayName("does not keep an overview holding a server error")
+        void serverErrorNotKept() {
+            answering(503, "");
+
+            service.overview(NINO, TAX_YEAR);
+            service.overview(NINO, TAX_YEAR);
+
+            verify(httpClient, times(6)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        }
+
+        @Test
+        @DisplayName("invalidating a tax year makes the next request ask HMRC")
+        void invalidate() {
+            answering(200, "{}");
+
+            service.overview(NINO, TAX_YEAR);
+            service.invalidate(TAX_YEAR);
+            service.overview(NINO, TAX_YEAR);
+
+            verify(httpClient, times(6)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        }
+
+        @Test
+        @DisplayName("refresh fetches afresh with the given token and shares the result")
+        void refreshSharesResult() {
+            answering(200, "{}");
+
+            HmrcOverview refreshed = service.refresh(NINO, TAX_YEAR, "connection-token");
+            HmrcOverview cached = service.overview(NINO, TAX_YEAR);
+
+            assertThat(cached).isSameAs(refreshed);
+            assertThat(tokensIssued).hasValue(0);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
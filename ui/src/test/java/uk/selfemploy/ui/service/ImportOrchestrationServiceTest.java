@@ -705,6 +705,11 @@ class ImportOrchestrationServiceTest {
                 return output;
             }
 
+            @Override public ImportedTransaction parseRow(String header, String line, String fileName,
+                                                          int lineNumber) {
+                throw new UnsupportedOperationException("whole-file stub");
+            }
+
             @Override public String[] getExpectedHeaders() {
                 return new String[] {"Date", "Amount"};
             }
@@ -766,6 +771,11 @@ class ImportOrchestrationServiceTest {
                     throw new CsvParseException("bad row", "statement.csv", 2, null);
                 }
 
+                @Override public ImportedTransaction parseRow(String header, String line, String fileName,
+                                                              int lineNumber) throws CsvParseException {
+                    throw new CsvParseException("bad row", fileName, lineNumber, null);
+                }
+
                 @Override public String[] getExpectedHeaders() {
                     return new String[] {"Date", "Amount"};
                 }
@@ -0,0 +1,364 @@
+package uk.selfemploy.ui.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import uk.selfemploy.hmrc.client.HmrcTransport;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for OutboundSubmissionQueue, on the in-memory database with a mocked HTTP client, a fake
+ * clock and attempts run on the calling thread.
+ */
+@DisplayName("OutboundSubmissionQueue")
+class OutboundSubmissionQueueTest {
+
+    private static final String URL =
+        "https://test-api.service.hmrc.gov.uk/individuals/business/self-employment/QQ123456C/XAIS12345678901/period";
+
+    private HttpClient httpClient;
+    private MutableClock clock;
+    private List<Boolean> tokenRequests;
+    private boolean signedOut;
+    private OutboundSubmissionQueue queue;
+    private UUID businessId;
+
+    @BeforeAll
+    static void setUpClass() {
+        SqliteTestSupport.setUpTestEnvironment();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        SqliteTestSupport.tearDownTestEnvironment();
+    }
+
+    @BeforeEach
+    void setUp() {
+        SqliteTestSupport.resetInstance();
+        httpClient = mock(HttpClient.class);
+        clock = new MutableClock(Instant.parse("2026-05-08T09:00:00Z"));
+        tokenRequests = new ArrayList<>();
+        signedOut = false;
+        businessId = UUID.randomUUID();
+        queue = queue(Runnable::run);
+    }
+
+    private OutboundSubmissionQueue queue(Executor dispatcher) {
+        return new OutboundSubmissionQueue(SqliteDataStore.getInstance(), new HmrcTransport(httpClient),
+            forceRefresh -> {
+                if (signedOut) {
+                    throw new IllegalStateException("not connected");
+                }
+                tokenRequests.add(forceRefresh);
+                return forceRefresh ? "renewed-token" : "token";
+            },
+            clock, RandomGenerator.of("L64X128MixRandom"), dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqliteTestSupport.resetTestData();
+    }
+
+    private OutboundSubmissionQueue.Request request(String body) {
+        return new OutboundSubmissionQueue.Request(businessId, OutboundSubmissionQueue.Kind.QUARTERLY_UPDATE,
+            "POST", URL, "application/vnd.hmrc.5.0+json", body, UUID.randomUUID().toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> response(int status, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(body);
+        return response;
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> future) {
+        assertThatThrownBy(future::join).isInstanceOf(CompletionException.class);
+        return future.handle((value, failure) -> failure.getCause()).join();
+    }
+
+    @Nested
+    @DisplayName("Delivering")
+    class Delivering {
+
+        @Test
+        @DisplayName("returns HMRC's answer and never sends the same submission twice")
+        void deliversOnce() throws Exception {
+            HttpResponse<String> accepted = response(200, "{\"id\":\"ref-1\"}");
+            when(httpClient.<String>send(any(HttpRequest.class), any())).thenReturn(accepted);
+            OutboundSubmissionQueue.Request request = request("{\"q\":1}");
+
+            OutboundSubmissionQueue.Delivery first = queue.enqueue(request).join();
+            OutboundSubmissionQueue.Delivery again = queue.enqueue(request("{\"q\":1}")).join();
+
+            assertThat(first.accepted()).isTrue();
+            assertThat(again.body()).isEqualTo("{\"id\":\"ref-1\"}");
+            assertThat(again.submissionId()).isEqualTo(request.submissionId());
+            verify(httpClient, times(1)).send(any(HttpRequest.class), any());
+        }
+
+        @Test
+        @DisplayName("renews the token and retries once when HMRC answers 401")
+        void renewsTokenOn401() throws Exception {
+            HttpResponse<String> unauthorised = response(401, null);
+            HttpResponse<String> accepted = response(204, null);
+            when(httpClient.<String>send(any(HttpRequest.class), any())).thenReturn(unauthorised, accepted);
+
+            assertThat(queue.enqueue(request("{}")).join().status()).isEqualTo(204);
+            assertThat(tokenRequests).containsExactly(false, true);
+        }
+
+        @Test
+        @DisplayName("drops a submission it could not send because there is no HMRC session")
+        void dropsWithoutSession() {
+            queue = new OutboundSubmissionQueue(SqliteDataStore.getInstance(), new HmrcTransport(httpClient),
+                forceRefresh -> {
+                    throw new IllegalStateException("not connected");
+                },
+                clock, RandomGenerator.of("L64X128MixRandom"), Runnable::run);
+
+            assertThat(failureOf(queue.enqueue(request("{}")))).hasMessage("not connected");
+            assertThat(queue.pendingCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Retrying")
+    class Retrying {
+
+        @Test
+        @DisplayName("keeps an unreachable submission queued and reports its outcome once sent")
+        void queuesAndDrains() throws Exception {
+            HttpResponse<String> accepted = response(200, "{\"id\":\"ref-2\"}");
+            when(httpClient.<String>send(any(HttpRequest.class), any()))
+                .thenThrow(new IOException("connection reset"))
+                .thenReturn(accepted);
+            List<OutboundSubmissionQueue.Delivery> settled = new ArrayList<>();
+            queue.onSettled(OutboundSubmissionQueue.Kind.QUARTERLY_UPDATE,
+                (request, delivery, failure) -> settled.add(delivery));
+            OutboundSubmissionQueue.Request request = request("{}");
+
+            Throwable failure = failureOf(queue.enqueue(request));
+
+            assertThat(failure).isInstanceOf(OutboundSubmissionQueue.NotDeliveredException.class);
+            assertThat(((OutboundSubmissionQueue.NotDeliveredException) failure).queued()).isTrue();
+            assertThat(queue.pendingCount()).isEqualTo(1);
+
+            queue.drainDue();
+            assertThat(settled).isEmpty();
+
+            clock.advance(OutboundSubmissionQueue.BASE_DELAY);
+            queue.drainDue();
+
+            assertThat(settled).singleElement()
+                .satisfies(delivery -> {
+                    assertThat(delivery.accepted()).isTrue();
+                    assertThat(delivery.submissionId()).isEqualTo(request.submissionId());
+                });
+            assertThat(queue.pendingCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("holds a later submission behind an earlier one still queued for the same business")
+        void keepsOrder() throws Exception {
+            when(httpClient.<String>send(any(HttpRequest.class), any()))
+                .thenThrow(new IOException("connection reset"));
+            failureOf(queue.enqueue(request("{\"quarter\":\"Q1\"}")));
+
+            Throwable failure = failureOf(queue.enqueue(request("{\"quarter\":\"Q2\"}")));
+
+            assertThat(failure).hasMessageContaining("earlier submission");
+            verify(httpClient, times(1)).send(any(HttpRequest.class), any());
+            assertThat(queue.pendingCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("does not send a row again that another drain delivered after this one read it")
+        void claimsBeforeSending() throws Exception {
+            HttpResponse<String> accepted = response(200, "{\"id\":\"ref-3\"}");
+            when(httpClient.<String>send(any(HttpRequest.class), any()))
+                .thenThrow(new IOException("connection reset"))
+                .thenReturn(accepted);
+            queue.onSettled(OutboundSubmissionQueue.Kind.QUARTERLY_UPDATE, (request, delivery, failure) -> { });
+            failureOf(queue.enqueue(request("{}")));
+            clock.advance(OutboundSubmissionQueue.BASE_DELAY);
+
+            HeldExecutor held = new HeldExecutor();
+            OutboundSubmissionQueue stale = queue(held);
+            stale.onSettled(OutboundSubmissionQueue.Kind.QUARTERLY_UPDATE, (request, delivery, failure) -> { });
+            stale.drainDue();
+            stale.drainDue();
+            assertThat(held.tasks).hasSize(1);
+
+            queue.drainDue();
+            held.release();
+
+            verify(httpClient, times(2)).send(any(HttpRequest.class), any());
+            assertThat(queue.pendingCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("keeps waiting for a signed-out user without using up attempts")
+        void waitsForSession() throws Exception {
+            when(httpClient.<String>send(any(HttpRequest.class), any()))
+                .thenThrow(new IOException("connection reset"));
+            List<String> failures = new ArrayList<>();
+            queue.onSettled(OutboundSubmissionQueue.Kind.QUARTERLY_UPDATE,
+                (request, delivery, failure) -> failures.add(failure));
+            failureOf(queue.enqueue(request("{}")));
+
+            signedOut = true;
+            for (int i = 0; i <= OutboundSubmissionQueue.MAX_ATTEMPTS; i++) {
+                clock.advance(OutboundSubmissionQueue.MAX_DELAY);
+                queue.drainDue();
+            }
+
+            assertThat(failures).isEmpty();
+            assertThat(queue.pendingCount()).isEqualTo(1);
+            verify(httpClient, times(1)).send(any(HttpRequest.class), any());
+        }
+
+        @Test
+        @DisplayName("waits between a half and the whole of a doubling delay, up to the maximum")
+        void backsOff() {
+            for (int attempts = 1; attempts <= 8; attempts++) {
+                Duration ceiling = OutboundSubmissionQueue.BASE_DELAY.multipliedBy(1L << (attempts - 1));
+                if (ceiling.compareTo(OutboundSubmissionQueue.MAX_DELAY) > 0) {
+                    ceiling = OutboundSubmissionQueue.MAX_DELAY;
+                }
+                assertThat(queue.backoff(attempts)).isBetween(ceiling.dividedBy(2), ceiling);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Circuit breaker")
+    class CircuitBreakerTests {
+
+        @Test
+        @DisplayName("stops sending to an endpoint that keeps failing until it has had time to recover")
+        void opensAfterRepeatedFailures() throws Exception {
+            HttpResponse<String> unavailable = response(503, null);
+            when(httpClient.<String>send(any(HttpRequest.class), any())).thenReturn(unavailable);
+
+            for (int i = 0; i < OutboundSubmissionQueue.CircuitBreaker.FAILURE_THRESHOLD; i++) {
+                businessId = UUID.randomUUID();
+                failureOf(queue.enqueue(request("{\"n\":" + i + "}")));
+            }
+            businessId = UUID.randomUUID();
+            failureOf(queue.enqueue(request("{\"n\":\"held\"}")));
+
+            verify(httpClient, times(OutboundSubmissionQueue.CircuitBreaker.FAILURE_THRESHOLD))
+                .send(any(HttpRequest.class), any());
+        }
+
+        @Test
+        @DisplayName("lets one attempt through once open long enough, and closes when it succeeds")
+        void halfOpenTrial() {
+            OutboundSubmissionQueue.CircuitBreaker breaker = new OutboundSubmissionQueue.CircuitBreaker(clock);
+            for (int i = 0; i < OutboundSubmissionQueue.CircuitBreaker.FAILURE_THRESHOLD; i++) {
+                breaker.failed();
+            }
+            assertThat(breaker.blockedUntil()).isNotNull();
+
+            clock.advance(OutboundSubmissionQueue.CircuitBreaker.OPEN_FOR);
+
+            assertThat(breaker.blockedUntil()).isNull();
+            assertThat(breaker.blockedUntil()).isNotNull();
+            breaker.succeeded();
+            assertThat(breaker.state()).isEqualTo(OutboundSubmissionQueue.CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("does not count a definite refusal as HMRC being down")
+        void refusalIsNotAFailure() throws Exception {
+            HttpResponse<String> refused = response(422, "{\"code\":\"RULE\",\"message\":\"bad\"}");
+            when(httpClient.<String>send(any(HttpRequest.class), any())).thenReturn(refused);
+
+            for (int i = 0; i <= OutboundSubmissionQueue.CircuitBreaker.FAILURE_THRESHOLD; i++) {
+                assertThat(queue.enqueue(request("{\"n\":" + i + "}")).join().status()).isEqualTo(422);
+            }
+            verify(httpClient, times(OutboundSubmissionQueue.CircuitBreaker.FAILURE_THRESHOLD + 1))
+                .send(any(HttpRequest.class), any());
+        }
+    }
+
+    /** Holds tasks until released, then runs them and everything after on the calling thread. */
+    private static final class HeldExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+        private boolean released;
+
+        @Override
+        public void execute(Runnable task) {
+            if (released) {
+                task.run();
+            } else {
+                tasks.add(task);
+            }
+        }
+
+        void release() {
+            released = true;
+            tasks.forEach(Runnable::run);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
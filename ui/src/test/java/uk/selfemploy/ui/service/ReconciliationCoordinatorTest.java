@@ -1,6 +1,7 @@
 package uk.selfemploy.ui.service;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -12,6 +13,7 @@ import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.common.enums.IncomeCategory;
 import uk.selfemploy.core.reconciliation.MatchTier;
 import uk.selfemploy.core.reconciliation.ReconciliationMatch;
+import uk.selfemploy.core.reconciliation.ReconciliationStatus;
 import uk.selfemploy.core.service.ExpenseService;
 import uk.selfemploy.core.service.IncomeService;
 import uk.selfemploy.ui.service.ReconciliationCoordinator.ReconciliationSummary;
@@ -23,9 +25,14 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -106,6 +113,95 @@ class ReconciliationCoordinatorTest {
         assertThat(summary.duplicateCount()).isZero();
     }
 
+    @Nested
+    @DisplayName("incremental changes")
+    class Incremental {
+
+        private final BankTransaction credit = bankCredit(new BigDecimal("1850.00"), "Client payment");
+        private final Income manualIncome = income(new BigDecimal("1850.00"), "Client payment");
+
+        @Test
+        @DisplayName("changes before the first full run are ignored")
+        void ignoresChangesBeforeFirstRun() {
+            coordinator(List.of(credit)).onIncomeSaved(manualIncome);
+
+            verifyNoInteractions(matchRepository);
+        }
+
+        @Test
+        @DisplayName("a new matching income is persisted without reloading the ledgers")
+        void persistsMatchForNewIncome() {
+            ReconciliationCoordinator coordinator = reconciled(List.of());
+            when(matchRepository.findByBankTransactionId(credit.id())).thenReturn(List.of());
+
+            coordinator.onIncomeSaved(manualIncome);
+
+            verify(matchRepository).saveAll(argThat(list -> list.size() == 1
+                && list.get(0).manualTransactionId().equals(manualIncome.id())));
+            verify(incomeService).findByTaxYear(BUSINESS_ID, TAX_YEAR);
+        }
+
+        @Test
+        @DisplayName("an unresolved match whose income moves out of the tax year is retired")
+        void retiresMatchWhenIncomeLeavesTaxYear() {
+            ReconciliationCoordinator coordinator = reconciled(List.of(manualIncome));
+            ReconciliationMatch recorded = recordedMatch();
+            when(matchRepository.findByBankTransactionId(credit.id())).thenReturn(List.of(recorded));
+
+            coordinator.onIncomeSaved(withDate(manualIncome, TAX_YEAR.endDate().plusDays(1)));
+
+            verify(matchRepository).updateStatus(eq(recorded.id()), eq(ReconciliationStatus.DISMISSED),
+                any(Instant.class), eq(ReconciliationCoordinator.RETIRED_BY));
+        }
+
+        @Test
+        @DisplayName("a match the user confirmed keeps its resolution when the income is deleted")
+        void keepsUserResolution() {
+            ReconciliationCoordinator coordinator = reconciled(List.of(manualIncome));
+            ReconciliationMatch confirmed = recordedMatch().withConfirmed(Instant.now(), "user");
+            when(matchRepository.findByBankTransactionId(credit.id())).thenReturn(List.of(confirmed));
+
+            coordinator.onIncomeDeleted(manualIncome.id());
+
+            verify(matchRepository, never()).updateStatus(any(), any(), any(), any());
+            verify(matchRepository).saveAll(argThat(List::isEmpty));
+        }
+
+        @Test
+        @DisplayName("a retired match that applies again is reopened under its original id")
+        void reopensRetiredMatch() {
+            ReconciliationCoordinator coordinator = reconciled(List.of());
+            ReconciliationMatch retired = recordedMatch()
+                .withDismissed(Instant.now(), ReconciliationCoordinator.RETIRED_BY);
+            when(matchRepository.findByBankTransactionId(credit.id())).thenReturn(List.of(retired));
+
+            coordinator.onIncomeSaved(manualIncome);
+
+            verify(matchRepository).saveAll(argThat(list -> list.size() == 1
+                && list.get(0).id().equals(retired.id()) && list.get(0).isUnresolved()));
+        }
+
+        private ReconciliationCoordinator reconciled(List<Income> incomes) {
+            when(incomeService.findByTaxYear(BUSINESS_ID, TAX_YEAR)).thenReturn(incomes);
+            when(expenseService.findByTaxYear(BUSINESS_ID, TAX_YEAR)).thenReturn(List.of());
+            when(matchRepository.findByBusinessId(BUSINESS_ID)).thenReturn(List.of());
+            ReconciliationCoordinator coordinator = coordinator(List.of(credit));
+            coordinator.reconcile(TAX_YEAR);
+            return coordinator;
+        }
+
+        private ReconciliationMatch recordedMatch() {
+            return ReconciliationMatch.create(
+                credit.id(), manualIncome.id(), "INCOME", 1.0, MatchTier.EXACT, BUSINESS_ID, Instant.now());
+        }
+
+        private Income withDate(Income income, LocalDate date) {
+            return new Income(income.id(), income.businessId(), date, income.amount(), income.description(),
+                income.category(), income.reference(), income.bankTransactionRef(), income.invoiceNumber(),
+                income.receiptPath(), income.bankTransactionId(), income.clientName(), income.status());
+        }
+    }
+
     private Income income(BigDecimal amount, String description) {
         return Income.create(BUSINESS_ID, DATE, amount, description, IncomeCategory.SALES, "ref");
     }
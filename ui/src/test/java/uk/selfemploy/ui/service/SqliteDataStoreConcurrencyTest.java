@@ -8,21 +8,27 @@ import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
- * Verifies the file-mode per-thread connection model: each thread gets its own SQLite connection so
- * concurrent read/write (e.g. a background CSV-import thread writing while the JavaFX thread reads)
- * never issues statements on a shared, non-thread-safe connection. Uses a real temporary database
- * file via the package-private path constructor, since in-memory mode deliberately keeps a single
- * shared connection.
+ * Verifies the file-mode connection model: each thread gets its own raw SQLite connection, and the
+ * pooled paths serve reads from WAL readers concurrently while writes go through the single writer,
+ * so concurrent read/write (e.g. a background CSV-import thread writing while the JavaFX thread
+ * reads) never issues statements on a shared, non-thread-safe connection. Uses a real temporary
+ * database file via the package-private path constructor, since in-memory mode deliberately keeps a
+ * single shared connection.
  */
 @DisplayName("SqliteDataStore file-mode concurrency")
 class SqliteDataStoreConcurrencyTest {
@@ -126,4 +132,149 @@ class SqliteDataStoreConcurrencyTest {
             store.close();
         }
     }
+
+    @Test
+    @DisplayName("a read held open on one thread does not block a read on another")
+    void pooledReadsDoNotBlockEachOther(@TempDir Path dir) throws Exception {
+        SqliteDataStore store = new SqliteDataStore(dir.resolve("readers.db"));
+        try {
+            store.ensureBusinessExists(UUID.randomUUID());
+            AtomicLong otherCount = new AtomicLong(-1);
+
+            try (PreparedStatement held = store.prepareRead("SELECT COUNT(*) FROM business");
+                 ResultSet rs = held.executeQuery()) {
+                rs.next();
+                Thread other = new Thread(() -> {
+                    try (PreparedStatement ps = store.prepareRead("SELECT COUNT(*) FROM business");
+                         ResultSet otherRs = ps.executeQuery()) {
+                        otherRs.next();
+                        otherCount.set(otherRs.getLong(1));
+                    } catch (Exception e) {
+                        otherCount.set(-2);
+                    }
+                });
+                other.start();
+                other.join(TimeUnit.SECONDS.toMillis(10));
+
+                assertThat(other.isAlive()).as("second reader finished while the first was open").isFalse();
+                assertThat(otherCount.get()).isEqualTo(rs.getLong(1));
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("reads inside a transaction see its uncommitted writes")
+    void readsInTransactionUseTheWriter(@TempDir Path dir) throws Exception {
+        SqliteDataStore store = new SqliteDataStore(dir.resolve("tx.db"));
+        try {
+            String id = UUID.randomUUID().toString();
+            AtomicLong seen = new AtomicLong();
+
+            boolean committed = store.executeInTransaction(() -> {
+                try (PreparedStatement insert = store.prepareWrite("INSERT INTO business (id) VALUES (?)")) {
+                    insert.setString(1, id);
+                    insert.executeUpdate();
+                    try (PreparedStatement read = store.prepareRead("SELECT COUNT(*) FROM business WHERE id = ?")) {
+                        read.setString(1, id);
+                        try (ResultSet rs = read.executeQuery()) {
+                            rs.next();
+                            seen.set(rs.getLong(1));
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(committed).isTrue();
+            assertThat(seen.get()).isEqualTo(1);
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("pooled readers refuse writes")
+    void pooledReadersAreQueryOnly(@TempDir Path dir) {
+        SqliteDataStore store = new SqliteDataStore(dir.resolve("query-only.db"));
+        try {
+            assertThatThrownBy(() -> {
+                try (PreparedStatement ps = store.prepareRead("INSERT INTO business (id) VALUES (?)")) {
+                    ps.setString(1, UUID.randomUUID().toString());
+                    ps.executeUpdate();
+                }
+            }).isInstanceOf(SQLException.class);
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("a pooled statement can be prepared again after it is closed")
+    void pooledStatementIsReusable(@TempDir Path dir) throws Exception {
+        SqliteDataStore store = new SqliteDataStore(dir.resolve("reuse.db"));
+        try {
+            for (int i = 0; i < 3; i++) {
+                String id = UUID.randomUUID().toString();
+                store.ensureBusinessExists(UUID.fromString(id));
+                try (PreparedStatement ps = store.prepareRead("SELECT id FROM business WHERE id = ?")) {
+                    ps.setString(1, id);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        assertThat(rs.next()).isTrue();
+                        assertThat(rs.getString(1)).isEqualTo(id);
+                    }
+                }
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("queued writes from several threads all commit, and a failing write fails alone")
+    void queuedWritesCommitTogether(@TempDir Path dir) throws Exception {
+        SqliteDataStore store = new SqliteDataStore(dir.resolve("queue.db"));
+        try {
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread writer = new Thread(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        try {
+                            store.write(() -> insertBusiness(store, UUID.randomUUID().toString()));
+                        } catch (Exception e) {
+                            failures.add(e);
+                        }
+                    }
+                });
+                writers.add(writer);
+                writer.start();
+            }
+            String duplicate = UUID.randomUUID().toString();
+            store.write(() -> insertBusiness(store, duplicate));
+            assertThatThrownBy(() -> store.write(() -> insertBusiness(store, duplicate)))
+                .isInstanceOf(SQLException.class);
+            for (Thread writer : writers) {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            }
+
+            assertThat(failures).isEmpty();
+            try (PreparedStatement ps = store.prepareRead("SELECT COUNT(*) FROM business");
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                assertThat(rs.getLong(1)).isEqualTo(201);
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    private static void insertBusiness(SqliteDataStore store, String id) throws SQLException {
+        try (PreparedStatement insert = store.prepareWrite("INSERT INTO business (id) VALUES (?)")) {
+            insert.setString(1, id);
+            insert.executeUpdate();
+        }
+    }
 }
@@ -4,9 +4,12 @@ import org.junit.jupiter.api.*;
 import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.core.profit.CategorySpend;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -297,6 +300,62 @@ class SqliteExpenseRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Grouped Queries")
+    class GroupedQueries {
+
+        @Test
+        @DisplayName("should total each month exactly")
+        void shouldTotalEachMonthExactly() {
+            for (int i = 0; i < 3; i++) {
+                repository.save(createTestExpenseWithDateAndAmount(LocalDate.of(2024, 5, 1 + i), new BigDecimal("10.10")));
+            }
+            repository.save(createTestExpenseWithDateAndAmount(LocalDate.of(2024, 7, 3), new BigDecimal("5.00")));
+
+            Map<YearMonth, BigDecimal> totals = repository.getMonthlyTotalsForDateRange(
+                    LocalDate.of(2024, 4, 6), LocalDate.of(2025, 4, 5));
+
+            assertThat(totals.keySet()).containsExactly(YearMonth.of(2024, 5), YearMonth.of(2024, 7));
+            assertThat(totals.get(YearMonth.of(2024, 5))).isEqualTo(new BigDecimal("30.30"));
+            assertThat(totals.get(YearMonth.of(2024, 7))).isEqualByComparingTo("5.00");
+        }
+
+        @Test
+        @DisplayName("should claim each expense by its own business-use share")
+        void shouldClaimEachExpenseByItsOwnShare() {
+            LocalDate date = LocalDate.of(2024, 6, 1);
+            repository.save(createExpenseWithCategoryAndDate(ExpenseCategory.OFFICE_COSTS, new BigDecimal("100.00"), date));
+            repository.save(createExpenseWithCategoryAndDate(ExpenseCategory.OFFICE_COSTS, new BigDecimal("33.33"), date)
+                    .withBusinessUsePercentage(50));
+            repository.save(createExpenseWithCategoryAndDate(ExpenseCategory.OFFICE_COSTS, new BigDecimal("33.33"), date)
+                    .withBusinessUsePercentage(50));
+            repository.save(createExpenseWithCategoryAndDate(ExpenseCategory.BUSINESS_ENTERTAINMENT, new BigDecimal("40.00"), date));
+
+            Map<ExpenseCategory, CategorySpend> spend = repository.getCategorySpendForDateRange(
+                    LocalDate.of(2024, 4, 6), LocalDate.of(2025, 4, 5));
+
+            // 33.33 at 50% is 16.67 each when rounded per expense, not 33.33 of the 66.66 together
+            assertThat(spend.get(ExpenseCategory.OFFICE_COSTS).spent()).isEqualByComparingTo("166.66");
+            assertThat(spend.get(ExpenseCategory.OFFICE_COSTS).claimable()).isEqualByComparingTo("133.34");
+            assertThat(spend.get(ExpenseCategory.BUSINESS_ENTERTAINMENT).spent()).isEqualByComparingTo("40.00");
+            assertThat(spend.get(ExpenseCategory.BUSINESS_ENTERTAINMENT).claimable()).isEqualByComparingTo("0");
+        }
+
+        @Test
+        @DisplayName("should return the most recent expenses first, up to the limit")
+        void shouldReturnMostRecentExpensesFirst() {
+            for (int day = 1; day <= 5; day++) {
+                repository.save(createTestExpenseWithDate(LocalDate.of(2024, 5, day)));
+            }
+
+            List<Expense> recent = repository.findRecentInDateRange(
+                    LocalDate.of(2024, 4, 6), LocalDate.of(2025, 4, 5), 3);
+
+            assertThat(recent).extracting(Expense::date).containsExactly(
+                    LocalDate.of(2024, 5, 5), LocalDate.of(2024, 5, 4), LocalDate.of(2024, 5, 3));
+        }
+    }
+
     @Nested
     @DisplayName("Delete Operations")
     class DeleteOperations {
@@ -354,6 +413,86 @@ class SqliteExpenseRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("List Pages")
+    class ListPages {
+
+        private final LocalDate start = LocalDate.of(2025, 4, 6);
+        private final LocalDate end = LocalDate.of(2026, 4, 5);
+
+        @Test
+        @DisplayName("should walk every record once across pages, oldest first")
+        void shouldWalkEveryRecordOnce() {
+            for (int i = 0; i < 5; i++) {
+                repository.save(createTestExpenseWithDate(LocalDate.of(2025, 6, 1 + i / 2)));
+            }
+            LedgerQuery<ExpenseCategory> query = LedgerQuery.<ExpenseCategory>newestFirst()
+                    .sortedBy(LedgerQuery.Sort.DATE, true);
+
+            List<Expense> seen = new ArrayList<>();
+            LedgerQuery.Cursor cursor = null;
+            do {
+                LedgerPage<Expense> page = repository.findPageInDateRange(start, end, query, cursor, 2);
+                seen.addAll(page.items());
+                cursor = page.next();
+            } while (cursor != null);
+
+            assertThat(seen).extracting(Expense::id).hasSize(5).doesNotHaveDuplicates();
+            assertThat(seen).extracting(Expense::date).isSorted();
+        }
+
+        @Test
+        @DisplayName("should search descriptions and filter by category")
+        void shouldSearchAndFilter() {
+            LocalDate date = LocalDate.of(2025, 7, 1);
+            repository.save(createExpenseWithCategoryAndDate(ExpenseCategory.TRAVEL, new BigDecimal("10.00"), date));
+            repository.save(createExpenseWithCategoryAndDate(ExpenseCategory.OFFICE_COSTS, new BigDecimal("20.00"), date));
+
+            LedgerQuery<ExpenseCategory> search = LedgerQuery.<ExpenseCategory>newestFirst().withSearch("TEST");
+
+            assertThat(repository.countMatchingInDateRange(start, end, search)).isEqualTo(2);
+            assertThat(repository.findPageInDateRange(start, end, search.withFilter(ExpenseCategory.TRAVEL), null, 10)
+                    .items()).extracting(Expense::category).containsExactly(ExpenseCategory.TRAVEL);
+            assertThat(repository.countMatchingInDateRange(start, end, search.withSearch("no such text"))).isZero();
+        }
+
+        @Test
+        @DisplayName("should match non-ASCII descriptions whatever their case, as the in-memory list does")
+        void shouldFoldNonAsciiCase() {
+            repository.save(createTestExpense("CAFÉ ÉCLAIR supplies", new BigDecimal("4.50")));
+            LocalDate today = LocalDate.now();
+
+            LedgerQuery<ExpenseCategory> search = LedgerQuery.<ExpenseCategory>newestFirst().withSearch("Café éclair");
+
+            assertThat(repository.countMatchingInDateRange(today.minusYears(1), today, search)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should reject sorting expenses by client name")
+        void shouldRejectClientNameSort() {
+            LedgerQuery<ExpenseCategory> query = LedgerQuery.<ExpenseCategory>newestFirst()
+                    .sortedBy(LedgerQuery.Sort.CLIENT_NAME, true);
+
+            assertThatThrownBy(() -> repository.findPageInDateRange(start, end, query, null, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("should count claimed and unclaimed expenses")
+        void shouldCountClaims() {
+            LocalDate date = LocalDate.of(2025, 7, 1);
+            repository.save(createExpenseWithCategoryAndDate(ExpenseCategory.TRAVEL, new BigDecimal("10.00"), date));
+            repository.save(createExpenseWithCategoryAndDate(
+                    ExpenseCategory.BUSINESS_ENTERTAINMENT, new BigDecimal("30.00"), date));
+
+            ExpenseRepository.ClaimCounts counts = repository.countClaimsForDateRange(start, end);
+
+            assertThat(counts.records()).isEqualTo(2);
+            assertThat(counts.claimed()).isEqualTo(1);
+            assertThat(counts.unclaimed()).isEqualTo(1);
+        }
+    }
+
     // === Test Helper Methods ===
 
     private Expense createTestExpense() {
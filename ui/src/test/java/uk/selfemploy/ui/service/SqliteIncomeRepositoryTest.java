@@ -4,10 +4,14 @@ import org.junit.jupiter.api.*;
 import uk.selfemploy.common.domain.Income;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.IncomeCategory;
+import uk.selfemploy.common.enums.IncomeStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -250,6 +254,42 @@ class SqliteIncomeRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Grouped Queries")
+    class GroupedQueries {
+
+        @Test
+        @DisplayName("should total each month exactly")
+        void shouldTotalEachMonthExactly() {
+            for (int i = 0; i < 3; i++) {
+                repository.save(createTestIncomeWithDateAndAmount(LocalDate.of(2024, 5, 1 + i), new BigDecimal("10.10")));
+            }
+            repository.save(createTestIncomeWithDateAndAmount(LocalDate.of(2025, 1, 10), new BigDecimal("250.00")));
+            repository.save(createTestIncomeWithDateAndAmount(LocalDate.of(2025, 4, 6), new BigDecimal("99.00")));
+
+            Map<YearMonth, BigDecimal> totals = repository.getMonthlyTotalsForDateRange(
+                    LocalDate.of(2024, 4, 6), LocalDate.of(2025, 4, 5));
+
+            assertThat(totals.keySet()).containsExactly(YearMonth.of(2024, 5), YearMonth.of(2025, 1));
+            assertThat(totals.get(YearMonth.of(2024, 5))).isEqualTo(new BigDecimal("30.30"));
+            assertThat(totals.get(YearMonth.of(2025, 1))).isEqualByComparingTo("250.00");
+        }
+
+        @Test
+        @DisplayName("should return the most recent income first, up to the limit")
+        void shouldReturnMostRecentIncomeFirst() {
+            for (int day = 1; day <= 5; day++) {
+                repository.save(createTestIncomeWithDate(LocalDate.of(2024, 5, day)));
+            }
+
+            List<Income> recent = repository.findRecentInDateRange(
+                    LocalDate.of(2024, 4, 6), LocalDate.of(2025, 4, 5), 2);
+
+            assertThat(recent).extracting(Income::date).containsExactly(
+                    LocalDate.of(2024, 5, 5), LocalDate.of(2024, 5, 4));
+        }
+    }
+
     @Nested
     @DisplayName("Delete Operations")
     class DeleteOperations {
@@ -307,6 +347,95 @@ class SqliteIncomeRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("List Pages")
+    class ListPages {
+
+        private final LocalDate start = LocalDate.of(2025, 4, 6);
+        private final LocalDate end = LocalDate.of(2026, 4, 5);
+
+        @Test
+        @DisplayName("should walk every record once across pages, including equal dates")
+        void shouldWalkEveryRecordOnce() {
+            for (int i = 0; i < 7; i++) {
+                repository.save(createTestIncomeWithDate(LocalDate.of(2025, 6, 1 + i / 2)));
+            }
+
+            List<UUID> seen = new ArrayList<>();
+            LedgerQuery.Cursor cursor = null;
+            do {
+                LedgerPage<Income> page = repository.findPageInDateRange(
+                        start, end, LedgerQuery.newestFirst(), cursor, 3);
+                page.items().forEach(income -> seen.add(income.id()));
+                cursor = page.next();
+            } while (cursor != null);
+
+            assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("should order by amount numerically, not as text")
+        void shouldOrderByAmountNumerically() {
+            repository.save(createTestIncomeWithDateAndAmount(LocalDate.of(2025, 5, 1), new BigDecimal("9.00")));
+            repository.save(createTestIncomeWithDateAndAmount(LocalDate.of(2025, 5, 2), new BigDecimal("100.00")));
+            repository.save(createTestIncomeWithDateAndAmount(LocalDate.of(2025, 5, 3), new BigDecimal("20.00")));
+
+            LedgerQuery<IncomeStatus> query = LedgerQuery.<IncomeStatus>newestFirst()
+                    .sortedBy(LedgerQuery.Sort.AMOUNT, true);
+            LedgerPage<Income> page = repository.findPageInDateRange(start, end, query, null, 10);
+
+            assertThat(page.items()).extracting(Income::amount)
+                    .usingElementComparator(BigDecimal::compareTo)
+                    .containsExactly(new BigDecimal("9.00"), new BigDecimal("20.00"), new BigDecimal("100.00"));
+            assertThat(page.hasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should search client and description and filter by status")
+        void shouldSearchAndFilter() {
+            repository.save(createIncome("Website build", "Acme Ltd", IncomeStatus.PAID));
+            repository.save(createIncome("Consulting", "ACME Ltd", IncomeStatus.UNPAID));
+            repository.save(createIncome("Acme retainer", null, IncomeStatus.PAID));
+            repository.save(createIncome("Logo design", "Other Co", IncomeStatus.PAID));
+
+            LedgerQuery<IncomeStatus> search = LedgerQuery.<IncomeStatus>newestFirst().withSearch(" acme ");
+
+            assertThat(repository.countMatchingInDateRange(start, end, search)).isEqualTo(3);
+            assertThat(repository.countMatchingInDateRange(start, end, search.withFilter(IncomeStatus.PAID)))
+                    .isEqualTo(2);
+            assertThat(repository.findPageInDateRange(start, end, search.withFilter(IncomeStatus.UNPAID), null, 10)
+                    .items()).extracting(Income::description).containsExactly("Consulting");
+        }
+
+        @Test
+        @DisplayName("should total each status over the range")
+        void shouldTotalEachStatus() {
+            repository.save(createIncome("Paid one", "A", IncomeStatus.PAID));
+            repository.save(createIncome("Unpaid one", "B", IncomeStatus.UNPAID));
+
+            Map<IncomeStatus, SqliteLedgerSummary.Line> totals = repository.getStatusTotalsForDateRange(start, end);
+
+            assertThat(totals.get(IncomeStatus.PAID).count()).isEqualTo(1);
+            assertThat(totals.get(IncomeStatus.UNPAID).amount()).isEqualByComparingTo("100.00");
+        }
+
+        private Income createIncome(String description, String clientName, IncomeStatus status) {
+            return new Income(
+                    UUID.randomUUID(),
+                    testBusinessId,
+                    LocalDate.of(2025, 7, 1),
+                    new BigDecimal("100.00"),
+                    description,
+                    IncomeCategory.SALES,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null, clientName, status
+            );
+        }
+    }
+
     // === Test Helper Methods ===
 
     private Income createTestIncome() {
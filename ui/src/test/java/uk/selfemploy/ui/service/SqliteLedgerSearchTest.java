@@ -0,0 +1,200 @@
+package uk.selfemploy.ui.service;
+
+import org.junit.jupiter.api.*;
+import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.common.enums.IncomeCategory;
+import uk.selfemploy.common.enums.IncomeStatus;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for SqliteLedgerSearch: the full-text index the ledger triggers keep in step with every
+ * write, and the ranked cross-ledger search over it.
+ */
+@DisplayName("SqliteLedgerSearch")
+class SqliteLedgerSearchTest {
+
+    private UUID businessId;
+    private SqliteIncomeRepository incomeRepository;
+    private SqliteExpenseRepository expenseRepository;
+    private SqliteBankTransactionRepository bankRepository;
+    private SqliteLedgerSearch search;
+
+    @BeforeAll
+    static void setUpClass() {
+        SqliteTestSupport.setUpTestEnvironment();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        SqliteTestSupport.tearDownTestEnvironment();
+    }
+
+    @BeforeEach
+    void setUp() {
+        SqliteTestSupport.resetInstance();
+        businessId = UUID.randomUUID();
+        SqliteDataStore.getInstance().ensureBusinessExists(businessId);
+        incomeRepository = new SqliteIncomeRepository(businessId);
+        expenseRepository = new SqliteExpenseRepository(businessId);
+        bankRepository = new SqliteBankTransactionRepository(businessId);
+        search = new SqliteLedgerSearch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqliteTestSupport.resetTestData();
+    }
+
+    @Nested
+    @DisplayName("Search")
+    class Search {
+
+        @Test
+        @DisplayName("finds records in every ledger, with the matched word marked in the snippet")
+        void findsAcrossLedgers() {
+            incomeRepository.save(income("Website build", "Harbour Design Ltd"));
+            expenseRepository.save(expense("Harbour car park", null));
+            bankRepository.save(bankTransaction("CARD PAYMENT HARBOUR CAFE"));
+            expenseRepository.save(expense("Printer paper", null));
+
+            List<SqliteLedgerSearch.Hit> hits = search.search(businessId, "harbour");
+
+            assertThat(hits).extracting(SqliteLedgerSearch.Hit::ledger).containsExactlyInAnyOrder(
+                SqliteLedgerSearch.Ledger.INCOME, SqliteLedgerSearch.Ledger.EXPENSE,
+                SqliteLedgerSearch.Ledger.BANK_TRANSACTION);
+            assertThat(hits).allSatisfy(hit -> assertThat(hit.snippet()).containsIgnoringCase("[harbour]"));
+        }
+
+        @Test
+        @DisplayName("matches every word as a prefix, ignoring case and punctuation")
+        void matchesWordPrefixes() {
+            incomeRepository.save(income("Consulting", "Acme Widgets Ltd"));
+            incomeRepository.save(income("Consulting", "Acme Holdings"));
+
+            assertThat(search.search(businessId, "ACM wid")).hasSize(1);
+            assertThat(search.search(businessId, "\"acme\" OR (")).hasSize(2);
+            assertThat(search.search(businessId, " -- ")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("ranks a match in the description above one in the notes")
+        void ranksDescriptionFirst() {
+            Expense inNotes = expense("Stationery", "bought at the Kestrel shop");
+            Expense inDescription = expense("Kestrel subscription", null);
+            expenseRepository.save(inNotes);
+            expenseRepository.save(inDescription);
+
+            assertThat(search.search(businessId, "kestrel")).extracting(SqliteLedgerSearch.Hit::recordId)
+                .containsExactly(inDescription.id(), inNotes.id());
+        }
+
+        @Test
+        @DisplayName("returns only the business's own records")
+        void scopedToBusiness() {
+            UUID otherBusiness = UUID.randomUUID();
+            SqliteDataStore.getInstance().ensureBusinessExists(otherBusiness);
+            new SqliteIncomeRepository(otherBusiness).save(Income.create(otherBusiness, LocalDate.of(2025, 6, 1),
+                new BigDecimal("10.00"), "Falcon invoice", IncomeCategory.SALES, null));
+
+            assertThat(search.search(businessId, "falcon")).isEmpty();
+            assertThat(search.search(otherBusiness, "falcon")).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("narrows to one ledger and date range when asked")
+        void narrowsToLedgerAndDates() {
+            Expense inRange = expense("Plover fuel", null);
+            expenseRepository.save(inRange);
+            expenseRepository.save(Expense.create(businessId, LocalDate.of(2024, 6, 1), new BigDecimal("20.00"),
+                "Plover fuel", ExpenseCategory.OFFICE_COSTS, null, null));
+            incomeRepository.save(income("Plover consulting", null));
+
+            List<SqliteLedgerSearch.Hit> hits = search.search(businessId, "plover", SqliteLedgerSearch.Ledger.EXPENSE,
+                LocalDate.of(2025, 4, 6), LocalDate.of(2026, 4, 5), 10);
+
+            assertThat(hits).extracting(SqliteLedgerSearch.Hit::recordId).containsExactly(inRange.id());
+            assertThat(search.search(businessId, "plover", SqliteLedgerSearch.Ledger.EXPENSE, null, null, 10))
+                .hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Kept in step")
+    class KeptInStep {
+
+        @Test
+        @DisplayName("an edited record is found by its new text only")
+        void editReplacesDocument() {
+            Income original = income("Logo design", null);
+            incomeRepository.save(original);
+
+            incomeRepository.save(new Income(original.id(), businessId, original.date(), original.amount(),
+                "Brand refresh", IncomeCategory.SALES, null, null, null, null, null, null, IncomeStatus.PAID));
+
+            assertThat(search.search(businessId, "logo")).isEmpty();
+            assertThat(search.search(businessId, "brand")).extracting(SqliteLedgerSearch.Hit::recordId)
+                .containsExactly(original.id());
+        }
+
+        @Test
+        @DisplayName("deleted and soft-deleted records leave the index")
+        void deletesLeave() {
+            Expense expense = expense("Osprey hosting", null);
+            expenseRepository.save(expense);
+            BankTransaction tx = bankTransaction("OSPREY HOSTING DD");
+            bankRepository.save(tx);
+
+            expenseRepository.delete(expense.id());
+            bankRepository.softDelete(tx.id());
+
+            assertThat(search.search(businessId, "osprey")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("rebuild restores an index that was emptied")
+        void rebuildRestores() throws Exception {
+            incomeRepository.save(income("Heron retainer", null));
+            try (Statement stmt = SqliteDataStore.getInstance().connection().createStatement()) {
+                stmt.executeUpdate("DELETE FROM ledger_search");
+            }
+            assertThat(search.search(businessId, "heron")).isEmpty();
+
+            search.rebuild();
+
+            assertThat(search.search(businessId, "heron")).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("turns typed text into quoted prefix terms")
+    void matchExpression() {
+        assertThat(SqliteLedgerSearch.matchExpression("Café  o'neil")).isEqualTo("\"Café\"* \"o\"* \"neil\"*");
+        assertThat(SqliteLedgerSearch.matchExpression(null)).isEmpty();
+    }
+
+    private Income income(String description, String clientName) {
+        return new Income(UUID.randomUUID(), businessId, LocalDate.of(2025, 6, 1), new BigDecimal("100.00"),
+            description, IncomeCategory.SALES, null, null, null, null, null, clientName, IncomeStatus.PAID);
+    }
+
+    private Expense expense(String description, String notes) {
+        return Expense.create(businessId, LocalDate.of(2025, 6, 1), new BigDecimal("20.00"), description,
+            ExpenseCategory.OFFICE_COSTS, null, notes);
+    }
+
+    private BankTransaction bankTransaction(String description) {
+        return BankTransaction.create(businessId, UUID.randomUUID(), null, LocalDate.of(2025, 6, 1),
+            new BigDecimal("-12.50"), description, null, null, UUID.randomUUID().toString(), Instant.now());
+    }
+}
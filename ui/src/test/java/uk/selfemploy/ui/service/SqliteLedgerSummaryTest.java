@@ -0,0 +1,220 @@
+package uk.selfemploy.ui.service;
+
+import org.junit.jupiter.api.*;
+import uk.selfemploy.common.domain.Expense;
+import uk.selfemploy.common.domain.Income;
+import uk.selfemploy.common.domain.Quarter;
+import uk.selfemploy.common.domain.TaxYear;
+import uk.selfemploy.common.enums.ExpenseCategory;
+import uk.selfemploy.common.enums.IncomeCategory;
+import uk.selfemploy.ui.viewmodel.QuarterlyReviewData;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for SqliteLedgerSummary: the per-period totals the repositories keep in step with every
+ * income and expense write, and the rebuild/verify commands that check them against the records.
+ */
+@DisplayName("SqliteLedgerSummary")
+class SqliteLedgerSummaryTest {
+
+    private static final TaxYear YEAR = TaxYear.of(2025);
+    private static final LocalDate IN_Q1 = LocalDate.of(2025, 5, 10);
+    private static final LocalDate IN_Q2 = LocalDate.of(2025, 8, 20);
+
+    private UUID businessId;
+    private SqliteIncomeRepository incomeRepository;
+    private SqliteExpenseRepository expenseRepository;
+    private SqliteLedgerSummary summary;
+
+    @BeforeAll
+    static void setUpClass() {
+        SqliteTestSupport.setUpTestEnvironment();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        SqliteTestSupport.tearDownTestEnvironment();
+    }
+
+    @BeforeEach
+    void setUp() {
+        SqliteTestSupport.resetInstance();
+        businessId = UUID.randomUUID();
+        incomeRepository = new SqliteIncomeRepository(businessId);
+        expenseRepository = new SqliteExpenseRepository(businessId);
+        summary = new SqliteLedgerSummary();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqliteTestSupport.resetTestData();
+    }
+
+    @Nested
+    @DisplayName("Maintained on write")
+    class MaintainedOnWrite {
+
+        @Test
+        @DisplayName("adds each saved record to its quarter and category")
+        void addsSavedRecords() {
+            incomeRepository.save(income(IN_Q1, "1000.00"));
+            incomeRepository.save(income(IN_Q1, "250.50"));
+            expenseRepository.save(expense(IN_Q1, "33.33", ExpenseCategory.OFFICE_COSTS, 50));
+            expenseRepository.save(expense(IN_Q1, "33.33", ExpenseCategory.OFFICE_COSTS, 50));
+
+            SqliteLedgerSummary.Line income = summary.income(businessId, YEAR, Quarter.Q1);
+            assertThat(income.count()).isEqualTo(2);
+            assertThat(income.amount()).isEqualByComparingTo("1250.50");
+
+            SqliteLedgerSummary.Line office = summary.expenses(businessId, YEAR, Quarter.Q1)
+                .get(ExpenseCategory.OFFICE_COSTS);
+            assertThat(office.count()).isEqualTo(2);
+            assertThat(office.amount()).isEqualByComparingTo("66.66");
+            // Claimed per expense: 16.67 twice, not half of 66.66
+            assertThat(office.claimable()).isEqualByComparingTo("33.34");
+        }
+
+        @Test
+        @DisplayName("moves an edited record to its new quarter and category")
+        void movesEditedRecord() {
+            Expense original = expense(IN_Q1, "40.00", ExpenseCategory.OFFICE_COSTS, 100);
+            expenseRepository.save(original);
+
+            expenseRepository.save(new Expense(original.id(), businessId, IN_Q2, new BigDecimal("45.00"),
+                "Moved", ExpenseCategory.TRAVEL, null, null, null, null, null, null));
+
+            assertThat(summary.expenses(businessId, YEAR, Quarter.Q1)).isEmpty();
+            SqliteLedgerSummary.Line travel = summary.expenses(businessId, YEAR, Quarter.Q2)
+                .get(ExpenseCategory.TRAVEL);
+            assertThat(travel.count()).isEqualTo(1);
+            assertThat(travel.amount()).isEqualByComparingTo("45.00");
+        }
+
+        @Test
+        @DisplayName("takes a deleted record off, dropping an emptied line")
+        void removesDeletedRecord() {
+            Income kept = income(IN_Q1, "100.00");
+            Income deleted = income(IN_Q1, "60.00");
+            incomeRepository.saveAll(List.of(kept, deleted));
+
+            assertThat(incomeRepository.delete(deleted.id())).isTrue();
+            assertThat(summary.income(businessId, YEAR, Quarter.Q1).amount()).isEqualByComparingTo("100.00");
+
+            incomeRepository.delete(kept.id());
+            assertThat(summary.income(businessId, YEAR, Quarter.Q1)).isEqualTo(SqliteLedgerSummary.Line.ZERO);
+        }
+
+        @Test
+        @DisplayName("keeps a disallowed category's spend but claims nothing for it")
+        void disallowedCategoryClaimsNothing() {
+            expenseRepository.save(expense(IN_Q1, "80.00", ExpenseCategory.BUSINESS_ENTERTAINMENT, 100));
+
+            SqliteLedgerSummary.Line line = summary.expenses(businessId, YEAR, null)
+                .get(ExpenseCategory.BUSINESS_ENTERTAINMENT);
+            assertThat(line.amount()).isEqualByComparingTo("80.00");
+            assertThat(line.claimable()).isEqualByComparingTo("0");
+        }
+    }
+
+    @Nested
+    @DisplayName("Readers")
+    class Readers {
+
+        @Test
+        @DisplayName("the whole-year category totals add every quarter")
+        void yearTotalsAddQuarters() {
+            expenseRepository.save(expense(IN_Q1, "10.00", ExpenseCategory.OFFICE_COSTS, 100));
+            expenseRepository.save(expense(IN_Q2, "15.00", ExpenseCategory.OFFICE_COSTS, 100));
+
+            Map<ExpenseCategory, BigDecimal> totals = expenseRepository.getTotalsByCategoryForTaxYear(YEAR);
+
+            assertThat(totals.get(ExpenseCategory.OFFICE_COSTS)).isEqualByComparingTo("25.00");
+        }
+
+        @Test
+        @DisplayName("a quarter's review data leaves out disallowed categories")
+        void quarterReviewDataFromSummary() {
+            incomeRepository.save(income(IN_Q1, "500.00"));
+            expenseRepository.save(expense(IN_Q1, "20.00", ExpenseCategory.OFFICE_COSTS, 100));
+            expenseRepository.save(expense(IN_Q1, "30.00", ExpenseCategory.BUSINESS_ENTERTAINMENT, 100));
+
+            QuarterlyReviewData data = new UiQuarterlySubmissionService()
+                .summariseQuarter(businessId, YEAR, Quarter.Q1);
+
+            assertThat(data.getTotalIncome()).isEqualByComparingTo("500.00");
+            assertThat(data.getIncomeTransactionCount()).isEqualTo(1);
+            assertThat(data.getExpensesByCategory()).containsOnlyKeys(ExpenseCategory.OFFICE_COSTS);
+            assertThat(data.getTotalExpenses()).isEqualByComparingTo("20.00");
+            assertThat(data.getExpenseTransactionCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebuild and verify")
+    class RebuildAndVerify {
+
+        @Test
+        @DisplayName("a maintained summary verifies clean")
+        void maintainedSummaryVerifies() {
+            incomeRepository.save(income(IN_Q1, "100.00"));
+            expenseRepository.save(expense(IN_Q2, "12.34", ExpenseCategory.TRAVEL, 75));
+
+            assertThat(summary.verify(businessId)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("verify reports a tampered line and rebuild repairs it")
+        void verifyReportsAndRebuildRepairs() throws Exception {
+            incomeRepository.save(income(IN_Q1, "100.00"));
+            try (Statement stmt = SqliteDataStore.getInstance().connection().createStatement()) {
+                stmt.executeUpdate("UPDATE ledger_summary SET spent = '999.00' WHERE ledger = 'INCOME'");
+            }
+
+            assertThat(summary.verify(businessId)).hasSize(1);
+
+            summary.rebuild(businessId);
+
+            assertThat(summary.verify(businessId)).isEmpty();
+            assertThat(summary.income(businessId, YEAR, Quarter.Q1).amount()).isEqualByComparingTo("100.00");
+        }
+
+        @Test
+        @DisplayName("verifyAndRepair rebuilds a tampered summary and reports what it fixed")
+        void verifyAndRepairFixesTamperedLine() throws Exception {
+            incomeRepository.save(income(IN_Q1, "100.00"));
+            try (Statement stmt = SqliteDataStore.getInstance().connection().createStatement()) {
+                stmt.executeUpdate("UPDATE ledger_summary SET spent = '999.00' WHERE ledger = 'INCOME'");
+            }
+
+            assertThat(summary.verifyAndRepair(businessId)).hasSize(1);
+
+            assertThat(summary.verify(businessId)).isEmpty();
+            assertThat(summary.income(businessId, YEAR, Quarter.Q1).amount()).isEqualByComparingTo("100.00");
+        }
+
+        @Test
+        @DisplayName("verifyAndRepair leaves a sound summary alone")
+        void verifyAndRepairSoundSummary() {
+            incomeRepository.save(income(IN_Q1, "100.00"));
+
+            assertThat(summary.verifyAndRepair(businessId)).isEmpty();
+        }
+    }
+
+    private Income income(LocalDate date, String amount) {
+        return Income.create(businessId, date, new BigDecimal(amount), "Invoice", IncomeCategory.SALES, null);
+    }
+
+    private Expense expense(LocalDate date, String amount, ExpenseCategory category, int businessUse) {
+        return Expense.create(businessId, date, new BigDecimal(amount), "Expense", category, null, null)
+            .withBusinessUsePercentage(businessUse);
+    }
+}
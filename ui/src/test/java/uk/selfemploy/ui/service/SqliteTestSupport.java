@@ -108,6 +108,8 @@ public final class SqliteTestSupport {
                     stmt.execute("DELETE FROM bank_transactions");
                     stmt.execute("DELETE FROM expenses");
                     stmt.execute("DELETE FROM income");
+                    stmt.execute("DELETE FROM ledger_summary");
+                    stmt.execute("DELETE FROM outbound_submissions");
                     stmt.execute("DELETE FROM settings");
                     stmt.execute("DELETE FROM business");
                     LOG.info("Cleared all data from test database");
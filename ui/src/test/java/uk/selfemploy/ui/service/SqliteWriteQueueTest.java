@@ -0,0 +1,126 @@
+package uk.selfemploy.ui.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the single-writer queue behind {@link SqliteDataStore}, on an in-memory database whose
+ * pool serves everything from the writer connection.
+ */
+@DisplayName("SqliteWriteQueue")
+class SqliteWriteQueueTest {
+
+    private SqliteConnectionPool pool;
+    private SqliteWriteQueue queue;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id TEXT PRIMARY KEY)");
+        }
+        pool = new SqliteConnectionPool(connection, 0, readOnly -> {
+            throw new SQLException("no readers in memory");
+        });
+        queue = new SqliteWriteQueue(pool, SqliteWriteQueue.DEFAULT_MAX_BATCH, Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.close();
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("close() commits writes still queued")
+    void closeCommitsQueuedWrites() throws SQLException {
+        for (int i = 0; i < 20; i++) {
+            String id = "item-" + i;
+            queue.submit(() -> insert(id));
+        }
+
+        queue.close();
+
+        assertThat(count()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("flush() returns once every write submitted before it has committed")
+    void flushCoversEarlierSubmits() throws SQLException {
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String id = "item-" + i;
+            submitted.add(queue.submit(() -> insert(id)));
+        }
+
+        queue.flush();
+
+        assertThat(submitted).allMatch(CompletableFuture::isDone);
+        assertThat(count()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("a lone write commits without waiting out the linger")
+    void loneWriteDoesNotLinger() throws SQLException {
+        queue.close();
+        queue = new SqliteWriteQueue(pool, SqliteWriteQueue.DEFAULT_MAX_BATCH, Duration.ofSeconds(30));
+
+        long start = System.nanoTime();
+        queue.await(() -> insert("alone"));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("an Error thrown by a write fails only that write and the writer keeps running")
+    void errorFailsOnlyItsWrite() throws SQLException {
+        List<CompletableFuture<Void>> group = new ArrayList<>();
+        group.add(queue.submit(() -> insert("before")));
+        group.add(queue.submit(() -> {
+            throw new AssertionError("write blew up");
+        }));
+        group.add(queue.submit(() -> insert("after")));
+
+        assertThat(group.get(0)).succeedsWithin(Duration.ofSeconds(5));
+        assertThatThrownBy(() -> group.get(1).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(AssertionError.class);
+        assertThat(group.get(2)).succeedsWithin(Duration.ofSeconds(5));
+
+        queue.await(() -> insert("later"));
+        assertThat(count()).isEqualTo(3);
+    }
+
+    private void insert(String id) throws SQLException {
+        try (PreparedStatement insert = pool.prepareWrite("INSERT INTO item (id) VALUES (?)")) {
+            insert.setString(1, id);
+            insert.executeUpdate();
+        }
+    }
+
+    private long count() throws SQLException {
+        try (PreparedStatement ps = pool.prepareRead("SELECT COUNT(*) FROM item");
+             ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import uk.selfemploy.common.enums.ReviewStatus;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -112,6 +113,33 @@ class TransactionReviewCommitServiceTest {
             .isEqualTo(ExpenseCategory.OTHER_EXPENSES);
     }
 
+    @Test
+    @DisplayName("commitAllBusiness creates and links a record for each unlinked transaction")
+    void commitsAllAsBusiness() {
+        BankTransaction credit = staged(new BigDecimal("120.00"), null);
+        BankTransaction debit = staged(new BigDecimal("-45.00"), ExpenseCategory.TRAVEL);
+        commitService.commitAsBusiness(staged(new BigDecimal("10.00"), null), Instant.now());
+        BankTransaction alreadyLinked = bankTransactionService.findAll().stream()
+            .filter(tx -> tx.incomeId() != null)
+            .findFirst().orElseThrow();
+
+        commitService.commitAllBusiness(List.of(credit, debit, alreadyLinked), Instant.now());
+
+        BankTransaction committedCredit = bankTransactionService.findById(credit.id()).orElseThrow();
+        assertThat(committedCredit.reviewStatus()).isEqualTo(ReviewStatus.CATEGORIZED);
+        assertThat(incomeService.findById(committedCredit.incomeId()).orElseThrow().amount())
+            .isEqualByComparingTo("120.00");
+
+        BankTransaction committedDebit = bankTransactionService.findById(debit.id()).orElseThrow();
+        assertThat(committedDebit.reviewStatus()).isEqualTo(ReviewStatus.CATEGORIZED);
+        assertThat(expenseService.findById(committedDebit.expenseId()).orElseThrow().category())
+            .isEqualTo(ExpenseCategory.TRAVEL);
+
+        assertThat(incomeService.count()).isEqualTo(2);
+        assertThat(bankTransactionService.findById(alreadyLinked.id()).orElseThrow().incomeId())
+            .isEqualTo(alreadyLinked.incomeId());
+    }
+
     @Test
     @DisplayName("revertCommit deletes the created income record")
     void revertDeletesCreatedRecord() {
@@ -3,10 +3,20 @@ package uk.selfemploy.ui.service.security;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Map;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -134,7 +144,7 @@ class BackupEncryptionTest {
 
         byte[] relabelled = MAPPER.writeValueAsBytes(parsed);
         assertThatThrownBy(() -> BackupEncryption.decrypt(relabelled, pw("correct horse battery staple")))
-                .isInstanceOf(java.io.IOException.class)
+                .isInstanceOf(IOException.class)
                 .hasMessageContaining("unsupported cipher");
     }
 
@@ -150,7 +160,7 @@ class BackupEncryptionTest {
         byte[] fromTheFuture = MAPPER.writeValueAsBytes(parsed);
         assertThatThrownBy(() -> BackupEncryption.decrypt(fromTheFuture, pw("correct horse battery staple")))
                 .as("sending someone to check their passphrase would point them at the wrong problem")
-                .isInstanceOf(java.io.IOException.class)
+                .isInstanceOf(IOException.class)
                 .hasMessageContaining("newer version");
     }
 
@@ -182,7 +192,7 @@ class BackupEncryptionTest {
 
         byte[] notOurs = MAPPER.writeValueAsBytes(parsed);
         assertThatThrownBy(() -> BackupEncryption.decrypt(notOurs, pw("correct horse battery staple")))
-                .isInstanceOf(java.io.IOException.class)
+                .isInstanceOf(IOException.class)
                 .hasMessageContaining("not a readable encrypted backup");
     }
 
@@ -191,7 +201,7 @@ class BackupEncryptionTest {
     void truncatedBackupIsRecognisedAsDamaged() {
         byte[] envelope = BackupEncryption.encrypt(
                 EXPORT_JSON.getBytes(StandardCharsets.UTF_8), pw("correct horse battery staple"));
-        byte[] truncated = java.util.Arrays.copyOf(envelope, envelope.length / 3);
+        byte[] truncated = Arrays.copyOf(envelope, envelope.length / 3);
 
         // It parses as neither format, so without this it would fall through to the import path and be
         // reported as an invalid export - describing the wrong problem entirely.
@@ -219,7 +229,117 @@ class BackupEncryptionTest {
 
         assertThat(BackupEncryption.isEncrypted(claimsToBeOurs)).isTrue();
         assertThatThrownBy(() -> BackupEncryption.decrypt(claimsToBeOurs, pw("correct horse battery staple")))
-                .isInstanceOf(java.io.IOException.class)
+                .isInstanceOf(IOException.class)
                 .hasMessageContaining("not a readable encrypted backup");
     }
+
+    /** Writes {@code plaintext} as a version-2 backup, the way the export does. */
+    private static byte[] chunked(byte[] plaintext, char[] passphrase) throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        try (OutputStream out = BackupEncryption.encryptingStream(file, passphrase)) {
+            out.write(plaintext);
+        }
+        return file.toByteArray();
+    }
+
+    /** Enough data to span several chunks, so chunk boundaries are exercised. */
+    private static byte[] severalChunks() {
+        byte[] plaintext = new byte[BackupEncryption.CHUNK_SIZE * 3 + 123];
+        new Random(42).nextBytes(plaintext);
+        return plaintext;
+    }
+
+    @Test
+    @DisplayName("a streamed backup spanning several chunks round-trips, as a stream and as bytes")
+    void chunkedRoundTrip() throws Exception {
+        byte[] plaintext = severalChunks();
+        byte[] file = chunked(plaintext, pw("correct horse battery staple"));
+
+        try (InputStream in = BackupEncryption.decryptingStream(
+                new ByteArrayInputStream(file), pw("correct horse battery staple"))) {
+            assertThat(in.readAllBytes()).isEqualTo(plaintext);
+        }
+        assertThat(BackupEncryption.decrypt(file, pw("correct horse battery staple"))).isEqualTo(plaintext);
+        assertThat(file.length - plaintext.length)
+                .as("binary chunks, not Base64: the file is barely larger than what it holds")
+                .isLessThan(256);
+    }
+
+    @Test
+    @DisplayName("a streamed backup is recognised as ours and does not read as damaged")
+    void chunkedBackupIsRecognised() throws Exception {
+        byte[] file = chunked(EXPORT_JSON.getBytes(StandardCharsets.UTF_8), pw("correct horse battery staple"));
+
+        assertThat(BackupEncryption.isEncrypted(file)).isTrue();
+        assertThat(BackupEncryption.looksLikeDamagedBackup(file)).isFalse();
+        assertThat(new String(file, StandardCharsets.ISO_8859_1)).doesNotContain("Client payment", "Stationery");
+    }
+
+    @Test
+    @DisplayName("a streamed backup refuses a wrong passphrase before handing back any data")
+    void chunkedWrongPassphraseIsRefused() throws Exception {
+        byte[] file = chunked(severalChunks(), pw("correct horse battery staple"));
+
+        assertThatThrownBy(() -> BackupEncryption.decryptingStream(
+                new ByteArrayInputStream(file), pw("not the passphrase")))
+                .isInstanceOf(WrongPassphraseException.class);
+    }
+
+    @Test
+    @DisplayName("a streamed backup cut short after a whole chunk is refused as incomplete")
+    void chunkedTruncationIsRefused() throws Exception {
+        byte[] file = chunked(severalChunks(), pw("correct horse battery staple"));
+        // Drop the last chunk exactly (flag, length, 123 bytes and the tag): what is left is a run of
+        // intact chunks, none of them marked as the last.
+        int lastChunk = 1 + 4 + 123 + 16;
+        byte[] truncated = Arrays.copyOf(file, file.length - lastChunk);
+
+        assertThatThrownBy(() -> BackupEncryption.decrypt(truncated, pw("correct horse battery staple")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("incomplete");
+    }
+
+    @Test
+    @DisplayName("altering a later chunk of a streamed backup is reported as damage, not a wrong passphrase")
+    void chunkedTamperingIsRefused() throws Exception {
+        byte[] file = chunked(severalChunks(), pw("correct horse battery staple"));
+        file[file.length - BackupEncryption.CHUNK_SIZE] ^= 0x01;
+
+        assertThatThrownBy(() -> BackupEncryption.decrypt(file, pw("correct horse battery staple")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("damaged");
+    }
+
+    @Test
+    @DisplayName("a streamed backup cut short inside its header is recognised as damaged")
+    void chunkedTruncatedHeaderIsRecognisedAsDamaged() throws Exception {
+        byte[] file = chunked(EXPORT_JSON.getBytes(StandardCharsets.UTF_8), pw("correct horse battery staple"));
+        byte[] truncated = Arrays.copyOf(file, BackupEncryption.TYPE.length());
+
+        assertThat(BackupEncryption.isEncrypted(truncated)).isFalse();
+        assertThat(BackupEncryption.looksLikeDamagedBackup(truncated)).isTrue();
+    }
+
+    @Test
+    @DisplayName("a backup on disk is told apart and read as a stream, whichever version wrote it")
+    void backupFilesAreReadAsStreams(@TempDir Path dir) throws Exception {
+        byte[] plaintext = severalChunks();
+        Path streamed = Files.write(dir.resolve("streamed.json"), chunked(plaintext, pw("correct horse battery staple")));
+        byte[] envelope = BackupEncryption.encrypt(plaintext, pw("correct horse battery staple"));
+        Path legacy = Files.write(dir.resolve("legacy.json"), envelope);
+        Path damaged = Files.write(dir.resolve("damaged.json"), Arrays.copyOf(envelope, envelope.length / 3));
+        Path export = Files.writeString(dir.resolve("export.json"), EXPORT_JSON);
+
+        assertThat(BackupEncryption.kindOf(streamed)).isEqualTo(BackupEncryption.FileKind.ENCRYPTED);
+        assertThat(BackupEncryption.kindOf(legacy)).isEqualTo(BackupEncryption.FileKind.ENCRYPTED);
+        assertThat(BackupEncryption.kindOf(damaged)).isEqualTo(BackupEncryption.FileKind.DAMAGED);
+        assertThat(BackupEncryption.kindOf(export)).isEqualTo(BackupEncryption.FileKind.EXPORT);
+        for (Path backup : new Path[] {streamed, legacy}) {
+            try (InputStream in = BackupEncryption.decryptingStream(backup, pw("correct horse battery staple"))) {
+                assertThat(in.readAllBytes()).isEqualTo(plaintext);
+            }
+        }
+        assertThatThrownBy(() -> BackupEncryption.decryptingStream(streamed, pw("not the passphrase")))
+                .isInstanceOf(WrongPassphraseException.class);
+    }
 }
@@ -89,6 +89,30 @@ class DatabaseMigratorTest {
         assertThat(Files.exists(bak)).isFalse();
     }
 
+    @Test
+    @DisplayName("carries a full-text index over through its shadow tables, keeping document ids")
+    void encryptsFullTextIndex() throws Exception {
+        seedPlaintext();
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + db); Statement s = c.createStatement()) {
+            s.execute("CREATE VIRTUAL TABLE notes_search USING fts5(note)");
+            s.execute("INSERT INTO notes_search (rowid, note) VALUES (7, 'office chair'), (9, 'train fare')");
+        }
+
+        DatabaseMigrator.encrypt(db, key);
+
+        try (Connection c = SqlCipherSupport.openEncrypted("jdbc:sqlite:" + db, key); Statement s = c.createStatement()) {
+            try (ResultSet rs = s.executeQuery("SELECT rowid FROM notes_search WHERE notes_search MATCH 'chair'")) {
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getInt(1)).isEqualTo(7);
+                assertThat(rs.next()).isFalse();
+            }
+            try (ResultSet rs = s.executeQuery("PRAGMA integrity_check")) {
+                rs.next();
+                assertThat(rs.getString(1)).isEqualToIgnoringCase("ok");
+            }
+        }
+    }
+
     @Test
     @DisplayName("a wrong key cannot open the encrypted database")
     void wrongKeyFails() throws Exception {
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.selfemploy.common.domain.Expense;
@@ -34,10 +35,12 @@ import static org.mockito.Mockito.when;
 @DisplayName("DashboardViewModel Data Integration (SE-207)")
 class DashboardViewModelDataIntegrationTest {
 
-    @Mock
+    // Real methods, so the services' own monthly totals and recent-item lookups run over the
+    // records stubbed into findByTaxYear rather than each being stubbed separately.
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private IncomeService incomeService;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private ExpenseService expenseService;
 
     private DashboardViewModel viewModel;
@@ -12,6 +12,9 @@ import uk.selfemploy.common.domain.Expense;
 import uk.selfemploy.common.domain.TaxYear;
 import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.core.service.ExpenseService;
+import uk.selfemploy.ui.service.ExpenseRepository;
+import uk.selfemploy.ui.service.LedgerPage;
+import uk.selfemploy.ui.service.LedgerPages;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,9 +25,13 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 /**
  * TDD tests for ExpenseListViewModel.
@@ -126,6 +133,58 @@ class ExpenseListViewModelTest {
             assertThat(viewModel.getExpenseItems()).hasSize(3);
         }
 
+        @Test
+        @DisplayName("should page through the database for any service that implements LedgerPages")
+        @SuppressWarnings("unchecked")
+        void shouldPageThroughAnyLedgerPagesService() {
+            ExpenseService pagingService = mock(ExpenseService.class, withSettings().extraInterfaces(LedgerPages.class));
+            LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts> pages =
+                (LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts>) pagingService;
+            List<Expense> expenses = createSampleExpenses();
+            when(pagingService.getTotalByTaxYear(businessId, taxYear)).thenReturn(new BigDecimal("350.00"));
+            when(pagingService.getDeductibleTotal(businessId, taxYear)).thenReturn(new BigDecimal("300.00"));
+            when(pages.summarise(taxYear)).thenReturn(new ExpenseRepository.ClaimCounts(3, 3, 0));
+            when(pages.countMatching(eq(taxYear), any())).thenReturn(3);
+            when(pages.findPage(eq(taxYear), any(), any(), anyInt())).thenReturn(new LedgerPage<>(expenses, null));
+            ExpenseListViewModel paged = new ExpenseListViewModel(pagingService);
+            paged.setBusinessId(businessId);
+            paged.setTaxYear(taxYear);
+
+            paged.loadExpenses();
+
+            assertThat(paged.isPaged()).isTrue();
+            assertThat(paged.getExpenseItems()).hasSize(3);
+            assertThat(paged.getTotalCount()).isEqualTo(3);
+            verify(pagingService, never()).findByTaxYear(any(), any());
+        }
+
+        @Test
+        @DisplayName("should list the index's matches best first, with their snippets, while searching")
+        @SuppressWarnings("unchecked")
+        void shouldListSearchMatchesBestFirst() {
+            ExpenseService pagingService = mock(ExpenseService.class, withSettings().extraInterfaces(LedgerPages.class));
+            LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts> pages =
+                (LedgerPages<Expense, ExpenseCategory, ExpenseRepository.ClaimCounts>) pagingService;
+            List<Expense> expenses = createSampleExpenses();
+            when(pagingService.getTotalByTaxYear(businessId, taxYear)).thenReturn(new BigDecimal("350.00"));
+            when(pagingService.getDeductibleTotal(businessId, taxYear)).thenReturn(new BigDecimal("300.00"));
+            when(pages.summarise(taxYear)).thenReturn(new ExpenseRepository.ClaimCounts(3, 3, 0));
+            when(pages.search(eq(taxYear), eq("client"), anyInt())).thenReturn(List.of(
+                new LedgerPages.Match<>(expenses.get(1), "Train to [client] meeting"),
+                new LedgerPages.Match<>(expenses.get(0), "Adobe Creative Cloud")));
+            ExpenseListViewModel paged = new ExpenseListViewModel(pagingService);
+            paged.setBusinessId(businessId);
+            paged.setSearchText("client");
+            paged.setTaxYear(taxYear);
+
+            paged.loadExpenses();
+
+            assertThat(paged.getExpenseItems()).extracting(ExpenseTableRow::id)
+                .containsExactly(expenses.get(1).id(), expenses.get(0).id());
+            assertThat(paged.getDescriptionText(paged.getExpenseItems().get(0))).isEqualTo("Train to [client] meeting");
+            verify(pages, never()).findPage(any(), any(), any(), anyInt());
+        }
+
         @Test
         @DisplayName("should calculate totals correctly")
         void shouldCalculateTotalsCorrectly() {
@@ -2,7 +2,12 @@ package uk.selfemploy.ui.viewmodel;
 
 import org.junit.jupiter.api.*;
 import uk.selfemploy.common.domain.BankTransaction;
+import uk.selfemploy.common.enums.ExpenseCategory;
 import uk.selfemploy.common.enums.ReviewStatus;
+import uk.selfemploy.core.bankimport.CategorizationEngine;
+import uk.selfemploy.core.bankimport.DescriptionCategorizer;
+import uk.selfemploy.core.bankimport.ExclusionRulesEngine;
+import uk.selfemploy.core.bankimport.TransactionClassificationService;
 import uk.selfemploy.ui.service.SqliteBankTransactionService;
 import uk.selfemploy.ui.service.SqliteDataStore;
 import uk.selfemploy.ui.service.SqliteExpenseService;
@@ -18,8 +23,11 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for TransactionReviewViewModel.
@@ -55,6 +63,8 @@ class TransactionReviewViewModelTest {
         viewModel = new TransactionReviewViewModel(service);
         viewModel.setCommitService(
             new TransactionReviewCommitService(service, incomeService, expenseService, businessId));
+        viewModel.setCategorizationEngine(new CategorizationEngine(
+            new TransactionClassificationService(new DescriptionCategorizer()), new ExclusionRulesEngine()));
     }
 
     @Nested
@@ -317,6 +327,46 @@ class TransactionReviewViewModelTest {
 
             assertThat(service.findAll().get(0).reviewStatus()).isEqualTo(ReviewStatus.PENDING);
         }
+
+        @Test
+        void suggestCategoriesForPending_shouldSuggestAndExclude() {
+            BankTransaction uber = saveTestTransaction("UBER LONDON", new BigDecimal("-20.00"));
+            BankTransaction atm = saveTestTransaction("ATM WITHDRAWAL", new BigDecimal("-200.00"));
+            BankTransaction skipped = saveTestTransaction("TESCO STORES", new BigDecimal("-15.00"));
+            service.skip(skipped.id(), Instant.now());
+
+            int updated = viewModel.suggestCategoriesForPending(null, Runnable::run).join();
+
+            assertThat(updated).isEqualTo(2);
+            assertThat(service.findById(uber.id()).orElseThrow().suggestedCategory()).isEqualTo(ExpenseCategory.TRAVEL);
+            assertThat(service.findById(atm.id()).orElseThrow().reviewStatus()).isEqualTo(ReviewStatus.EXCLUDED);
+            assertThat(service.findById(skipped.id()).orElseThrow().suggestedCategory()).isNull();
+        }
+
+        @Test
+        void suggestCategoriesForPending_shouldSaveNothing_whenCancelled() {
+            BankTransaction uber = saveTestTransaction("UBER LONDON", new BigDecimal("-20.00"));
+
+            assertThatThrownBy(() -> viewModel.suggestCategoriesForPending((completed, total) -> false, Runnable::run)
+                    .join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CancellationException.class);
+
+            assertThat(service.findById(uber.id()).orElseThrow().suggestedCategory()).isNull();
+        }
+
+        @Test
+        void suggestCategoriesForPending_shouldBeUndoable() {
+            BankTransaction atm = saveTestTransaction("ATM WITHDRAWAL", new BigDecimal("-200.00"));
+            viewModel.loadTransactions();
+
+            viewModel.suggestCategoriesForPending(null, Runnable::run).join();
+            assertThat(service.findById(atm.id()).orElseThrow().reviewStatus()).isEqualTo(ReviewStatus.EXCLUDED);
+            assertThat(viewModel.getCanUndo()).isTrue();
+
+            viewModel.undo();
+            assertThat(service.findById(atm.id()).orElseThrow().reviewStatus()).isEqualTo(ReviewStatus.PENDING);
+        }
     }
 
     @Nested